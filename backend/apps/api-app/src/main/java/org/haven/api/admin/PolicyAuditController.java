@@ -2,6 +2,9 @@ package org.haven.api.admin;
 
 import org.haven.readmodels.domain.PolicyDecisionLog;
 import org.haven.readmodels.infrastructure.PolicyDecisionLogRepository;
+import org.haven.shared.audit.AuditLogPage;
+import org.haven.shared.audit.AuditLogQuery;
+import org.haven.shared.audit.PrivilegedAuditService;
 import org.haven.shared.security.PolicyChangeNotificationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -24,12 +27,15 @@ public class PolicyAuditController {
 
     private final PolicyDecisionLogRepository policyDecisionLogRepository;
     private final PolicyChangeNotificationService notificationService;
+    private final PrivilegedAuditService privilegedAuditService;
 
     @Autowired
     public PolicyAuditController(PolicyDecisionLogRepository policyDecisionLogRepository,
-                                PolicyChangeNotificationService notificationService) {
+                                PolicyChangeNotificationService notificationService,
+                                PrivilegedAuditService privilegedAuditService) {
         this.policyDecisionLogRepository = policyDecisionLogRepository;
         this.notificationService = notificationService;
+        this.privilegedAuditService = privilegedAuditService;
     }
 
     /**
@@ -180,4 +186,30 @@ public class PolicyAuditController {
 
         return ResponseEntity.ok(decisions);
     }
+
+    /**
+     * Page through the audit trail, newest first.
+     * Pass the returned nextCursor as cursor to fetch the following page.
+     */
+    @GetMapping("/audit-trail")
+    public ResponseEntity<AuditLogPage> getAuditTrail(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant endDate,
+            @RequestParam(required = false) UUID resourceId,
+            @RequestParam(required = false) String resourceType,
+            @RequestParam(required = false) UUID userId,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int pageSize) {
+
+        Instant end = endDate != null ? endDate : Instant.now();
+        Instant start = startDate != null ? startDate : end.minusSeconds(604800); // Default: last week
+        AuditLogQuery query = AuditLogQuery.between(start, end)
+                .forResource(resourceId)
+                .withResourceType(resourceType)
+                .forUser(userId)
+                .withAction(action);
+
+        return ResponseEntity.ok(privilegedAuditService.queryAuditTrail(query, cursor, pageSize));
+    }
 }
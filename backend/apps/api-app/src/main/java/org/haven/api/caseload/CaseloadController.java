@@ -1,7 +1,9 @@
 package org.haven.api.caseload;
 
 import org.haven.readmodels.domain.CaseloadView;
+import org.haven.readmodels.domain.WorkerCaseloadSummary;
 import org.haven.readmodels.infrastructure.CaseloadViewRepository;
+import org.haven.readmodels.infrastructure.WorkerCaseloadSummaryRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -20,9 +22,12 @@ import java.util.stream.Collectors;
 public class CaseloadController {
     
     private final CaseloadViewRepository caseloadRepository;
+    private final WorkerCaseloadSummaryRepository summaryRepository;
     
-    public CaseloadController(CaseloadViewRepository caseloadRepository) {
+    public CaseloadController(CaseloadViewRepository caseloadRepository,
+                              WorkerCaseloadSummaryRepository summaryRepository) {
         this.caseloadRepository = caseloadRepository;
+        this.summaryRepository = summaryRepository;
     }
     
     @GetMapping
@@ -114,50 +119,32 @@ public class CaseloadController {
     @PreAuthorize("hasAnyRole('SUPERVISOR', 'ADMIN')")
     public ResponseEntity<TeamOverviewDto> getTeamOverview() {
         
-        List<CaseloadView> allCases = caseloadRepository.findAll();
-        
-        // Group by worker
-        Map<UUID, List<CaseloadView>> casesByWorker = allCases.stream()
-            .filter(c -> c.getWorkerId() != null)
-            .collect(Collectors.groupingBy(CaseloadView::getWorkerId));
+        // Per-worker counts are maintained by SimplifiedCaseloadProjection
+        List<WorkerCaseloadSummary> summaries = summaryRepository.findAllWithCases();
         
         List<WorkerCaseloadDto> workerCaseloads = new ArrayList<>();
+        int assignedCases = 0;
         
-        for (Map.Entry<UUID, List<CaseloadView>> entry : casesByWorker.entrySet()) {
+        for (WorkerCaseloadSummary summary : summaries) {
             WorkerCaseloadDto workerDto = new WorkerCaseloadDto();
-            workerDto.setWorkerId(entry.getKey().toString());
-            
-            List<CaseloadView> workerCases = entry.getValue();
-            workerDto.setTotalCases(workerCases.size());
-            
-            // Count by stage
-            Map<CaseloadView.CaseStage, Long> stageCounts = workerCases.stream()
-                .collect(Collectors.groupingBy(CaseloadView::getStage, Collectors.counting()));
-            workerDto.setIntakeCases(stageCounts.getOrDefault(CaseloadView.CaseStage.INTAKE, 0L).intValue());
-            workerDto.setActiveCases(stageCounts.getOrDefault(CaseloadView.CaseStage.ACTIVE, 0L).intValue());
-            workerDto.setHousingSearchCases(stageCounts.getOrDefault(CaseloadView.CaseStage.HOUSING_SEARCH, 0L).intValue());
-            
-            // Count high risk
-            long highRiskCount = workerCases.stream()
-                .filter(c -> c.getRiskLevel() == CaseloadView.RiskLevel.CRITICAL || 
-                            c.getRiskLevel() == CaseloadView.RiskLevel.HIGH)
-                .count();
-            workerDto.setHighRiskCases((int) highRiskCount);
-            
-            // Count requiring attention
-            long attentionCount = workerCases.stream()
-                .filter(c -> Boolean.TRUE.equals(c.getRequiresAttention()))
-                .count();
-            workerDto.setRequiringAttention((int) attentionCount);
+            workerDto.setWorkerId(summary.getWorkerId().toString());
+            workerDto.setWorkerName(summary.getWorkerName());
+            workerDto.setTotalCases(summary.getTotalCases());
+            workerDto.setIntakeCases(summary.getStageCount(CaseloadView.CaseStage.INTAKE));
+            workerDto.setActiveCases(summary.getStageCount(CaseloadView.CaseStage.ACTIVE));
+            workerDto.setHousingSearchCases(summary.getStageCount(CaseloadView.CaseStage.HOUSING_SEARCH));
+            workerDto.setHighRiskCases(summary.getHighRiskCases());
+            workerDto.setRequiringAttention(summary.getRequiringAttention());
             
             workerCaseloads.add(workerDto);
+            assignedCases += summary.getTotalCases();
         }
         
         TeamOverviewDto overview = new TeamOverviewDto();
         overview.setWorkerCaseloads(workerCaseloads);
-        overview.setTotalActiveCases(allCases.size());
+        overview.setTotalActiveCases(assignedCases);
         overview.setAverageCaseload(workerCaseloads.isEmpty() ? 0 : 
-            allCases.size() / workerCaseloads.size());
+            assignedCases / workerCaseloads.size());
         
         return ResponseEntity.ok(overview);
     }
@@ -386,4 +373,4 @@ public class CaseloadController {
         public Integer getRequiringAttention() { return requiringAttention; }
         public void setRequiringAttention(Integer requiringAttention) { this.requiringAttention = requiringAttention; }
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -2,10 +2,12 @@ package org.haven.api.client;
 
 import io.swagger.v3.oas.annotations.Operation;
 import org.haven.clientprofile.application.services.ClientAppService;
+import org.haven.clientprofile.application.services.DuplicateClientDetectionService;
 import org.haven.clientprofile.application.commands.*;
 import org.haven.clientprofile.application.queries.*;
 import org.haven.clientprofile.application.dto.ClientDto;
 import org.haven.clientprofile.domain.ClientId;
+import org.haven.clientprofile.domain.duplicates.DuplicateCandidate;
 import org.haven.api.client.dto.CreateClientRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -25,9 +27,12 @@ import java.util.UUID;
 public class ClientController {
     
     private final ClientAppService clientAppService;
+    private final DuplicateClientDetectionService duplicateDetectionService;
     
-    public ClientController(ClientAppService clientAppService) {
+    public ClientController(ClientAppService clientAppService,
+                            DuplicateClientDetectionService duplicateDetectionService) {
         this.clientAppService = clientAppService;
+        this.duplicateDetectionService = duplicateDetectionService;
     }
 
     @PostMapping
@@ -74,8 +79,10 @@ public class ClientController {
     @GetMapping
     public ResponseEntity<List<ClientDto>> searchClients(
             @RequestParam(required = false) String name,
-            @RequestParam(defaultValue = "false") boolean activeOnly) {
-        var query = new SearchClientsQuery(name, activeOnly);
+            @RequestParam(defaultValue = "false") boolean activeOnly,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "25") int size) {
+        var query = new SearchClientsQuery(name, activeOnly, page, size);
         var clients = clientAppService.handle(query);
         return ResponseEntity.ok(clients);
     }
@@ -128,6 +135,22 @@ public class ClientController {
             URI.create("/api/clients/" + id + "/household-members")).build();
     }
     
+    @Operation(
+        summary = "List unreviewed duplicate-client candidates",
+        description = "Candidate pairs from probabilistic record linkage, highest score first"
+    )
+    @GetMapping("/duplicate-candidates")
+    public ResponseEntity<List<DuplicateCandidate>> getDuplicateCandidates(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(duplicateDetectionService.findOpenCandidates(page, size));
+    }
+    
+    @GetMapping("/{id}/duplicate-candidates")
+    public ResponseEntity<List<DuplicateCandidate>> getClientDuplicateCandidates(@PathVariable UUID id) {
+        return ResponseEntity.ok(duplicateDetectionService.findCandidatesForClient(id));
+    }
+    
     @Operation(
         summary = "Get HUD element coverage for client endpoints",
         description = "Returns which HUD data elements are covered by client API endpoints"
@@ -0,0 +1,60 @@
+package org.haven.api.config;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.haven.eventstore.outbox.OutboxDelivery;
+import org.haven.eventstore.outbox.OutboxEventSink;
+import org.haven.eventstore.outbox.OutboxMessage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes outbox messages to Kafka, keyed by aggregate id so each aggregate's events stay in
+ * one partition and in order. The outbox message id travels in the {@code idempotency-key}
+ * header; the relay retries until the broker acknowledges, so consumers must deduplicate on it.
+ */
+@Component
+@ConditionalOnProperty(name = "app.kafka.enabled", havingValue = "true")
+public class KafkaOutboxSink implements OutboxEventSink {
+
+    static final String IDEMPOTENCY_KEY_HEADER = "idempotency-key";
+    static final String EVENT_TYPE_HEADER = "event-type";
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final String topic;
+    private final long sendTimeoutMs;
+
+    public KafkaOutboxSink(KafkaTemplate<String, Object> kafkaTemplate,
+                           @Value("${haven.outbox.kafka.topic:haven.domain-events}") String topic,
+                           @Value("${haven.outbox.kafka.send-timeout-ms:10000}") long sendTimeoutMs) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.topic = topic;
+        this.sendTimeoutMs = sendTimeoutMs;
+    }
+
+    @Override
+    public void publish(OutboxDelivery delivery) throws Exception {
+        OutboxMessage message = delivery.message();
+
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("messageId", message.id().toString());
+        value.put("eventType", message.eventType());
+        value.put("aggregateId", message.aggregateId() != null ? message.aggregateId().toString() : null);
+        value.put("sequence", message.aggregateSequence());
+        value.put("createdAt", message.createdAt().toString());
+        value.put("payload", message.payload());
+
+        String key = message.aggregateId() != null ? message.aggregateId().toString() : message.id().toString();
+        ProducerRecord<String, Object> record = new ProducerRecord<>(topic, key, value);
+        record.headers().add(IDEMPOTENCY_KEY_HEADER, message.id().toString().getBytes(StandardCharsets.UTF_8));
+        record.headers().add(EVENT_TYPE_HEADER, message.eventType().getBytes(StandardCharsets.UTF_8));
+
+        kafkaTemplate.send(record).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+    }
+}
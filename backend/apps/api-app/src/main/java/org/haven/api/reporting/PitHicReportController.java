@@ -24,6 +24,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -341,13 +342,17 @@ public class PitHicReportController {
             jobId = etlJobService.startPitCensusJob(
                 request.processDate(),
                 "MANUAL",
-                userId
+                userId,
+                request.continuumCodes(),
+                request.organizationIds()
             );
         } else {
             jobId = etlJobService.startHicInventoryJob(
                 request.processDate(),
                 "MANUAL",
-                userId
+                userId,
+                request.continuumCodes(),
+                request.organizationIds()
             );
         }
 
@@ -566,15 +571,41 @@ public class PitHicReportController {
         private JobType type;
         private LocalDate processDate;
         private String state;
+        private int totalCount;
         private int processedCount;
         private int errorCount;
+        private int progressPercent;
+        private LocalDateTime startTime;
+        private LocalDateTime endTime;
+        private String errorMessage;
 
         public static EtlJobStatusDto fromJobStatus(PitHicEtlJobService.JobStatus status) {
-            // Implementation
-            return new EtlJobStatusDto();
+            EtlJobStatusDto dto = new EtlJobStatusDto();
+            dto.jobId = status.getJobId();
+            dto.type = JobType.valueOf(status.getType().name());
+            dto.processDate = status.getProcessDate();
+            dto.state = status.getState().name();
+            dto.totalCount = status.getTotalCount();
+            dto.processedCount = status.getProcessedCount();
+            dto.errorCount = status.getErrorCount();
+            dto.progressPercent = status.getProgressPercent();
+            dto.startTime = status.getStartTime();
+            dto.endTime = status.getEndTime();
+            dto.errorMessage = status.getErrorMessage();
+            return dto;
         }
 
-        // Getters and setters
+        public UUID getJobId() { return jobId; }
+        public JobType getType() { return type; }
+        public LocalDate getProcessDate() { return processDate; }
+        public String getState() { return state; }
+        public int getTotalCount() { return totalCount; }
+        public int getProcessedCount() { return processedCount; }
+        public int getErrorCount() { return errorCount; }
+        public int getProgressPercent() { return progressPercent; }
+        public LocalDateTime getStartTime() { return startTime; }
+        public LocalDateTime getEndTime() { return endTime; }
+        public String getErrorMessage() { return errorMessage; }
     }
 
     public static class ValidationResultDto {
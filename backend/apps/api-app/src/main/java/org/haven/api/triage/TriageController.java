@@ -1,14 +1,17 @@
 package org.haven.api.triage;
 
 import org.haven.readmodels.domain.TriageAlert;
+import org.haven.readmodels.domain.TriageAlertSummary;
 import org.haven.readmodels.infrastructure.TriageAlertRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -27,50 +30,31 @@ public class TriageController {
     @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR', 'CASE_MANAGER')")
     public ResponseEntity<TriageDashboardDto> getTriageDashboard(
             @RequestParam(required = false) String workerId,
-            @RequestParam(defaultValue = "7") int daysAhead) {
+            @RequestParam(defaultValue = "7") int daysAhead,
+            @RequestParam(defaultValue = "50") int limit) {
         
-        LocalDate cutoffDate = LocalDate.now().plusDays(daysAhead);
+        UUID workerUuid = workerId != null ? UUID.fromString(workerId) : null;
+        LocalDate today = LocalDate.now();
+        Pageable firstPage = PageRequest.of(0, limit, TriageAlertRepository.TRIAGE_ORDER);
         
-        // Get all active alerts
-        List<TriageAlert> activeAlerts = alertRepository.findByStatusOrderBySeverityAscDueDateAsc(
-            TriageAlert.AlertStatus.ACTIVE
-        );
+        // Severity counts come from the incrementally maintained summary, not from the alert table
+        TriageAlertSummary summary = alertRepository.getSummary(workerUuid);
         
-        // Filter by worker if specified
-        if (workerId != null) {
-            UUID workerUuid = UUID.fromString(workerId);
-            activeAlerts = activeAlerts.stream()
-                .filter(a -> workerUuid.equals(a.getAssignedWorkerId()))
-                .collect(Collectors.toList());
-        }
-        
-        // Get overdue alerts
-        List<TriageAlert> overdueAlerts = alertRepository.findOverdueAlerts();
-        
-        // Count by severity
-        Map<TriageAlert.AlertSeverity, Long> severityCounts = activeAlerts.stream()
-            .collect(Collectors.groupingBy(
-                TriageAlert::getSeverity,
-                Collectors.counting()
-            ));
-        
-        // Filter upcoming alerts (within specified days)
-        List<TriageAlert> upcomingAlerts = activeAlerts.stream()
-            .filter(a -> a.getDueDate() != null && 
-                        !a.getDueDate().isAfter(cutoffDate) &&
-                        !a.getDueDate().isBefore(LocalDate.now()))
-            .collect(Collectors.toList());
+        // Due-date windows move with the calendar, so these stay as bounded index-backed queries
+        Page<TriageAlert> overdueAlerts = alertRepository.findActiveOverdue(workerUuid, today, firstPage);
+        Page<TriageAlert> upcomingAlerts = alertRepository.findActiveDueBetween(
+            workerUuid, today, today.plusDays(daysAhead), firstPage);
         
         TriageDashboardDto dashboard = new TriageDashboardDto();
-        dashboard.setCriticalCount(severityCounts.getOrDefault(TriageAlert.AlertSeverity.CRITICAL, 0L));
-        dashboard.setHighCount(severityCounts.getOrDefault(TriageAlert.AlertSeverity.HIGH, 0L));
-        dashboard.setMediumCount(severityCounts.getOrDefault(TriageAlert.AlertSeverity.MEDIUM, 0L));
-        dashboard.setLowCount(severityCounts.getOrDefault(TriageAlert.AlertSeverity.LOW, 0L));
-        dashboard.setOverdueCount((long) overdueAlerts.size());
-        dashboard.setUpcomingAlerts(upcomingAlerts.stream()
+        dashboard.setCriticalCount((long) summary.getActiveCount(TriageAlert.AlertSeverity.CRITICAL));
+        dashboard.setHighCount((long) summary.getActiveCount(TriageAlert.AlertSeverity.HIGH));
+        dashboard.setMediumCount((long) summary.getActiveCount(TriageAlert.AlertSeverity.MEDIUM));
+        dashboard.setLowCount((long) summary.getActiveCount(TriageAlert.AlertSeverity.LOW));
+        dashboard.setOverdueCount(overdueAlerts.getTotalElements());
+        dashboard.setUpcomingAlerts(upcomingAlerts.getContent().stream()
             .map(this::toAlertDto)
             .collect(Collectors.toList()));
-        dashboard.setOverdueAlerts(overdueAlerts.stream()
+        dashboard.setOverdueAlerts(overdueAlerts.getContent().stream()
             .map(this::toAlertDto)
             .collect(Collectors.toList()));
         
@@ -83,44 +67,25 @@ public class TriageController {
             @RequestParam(required = false) String severity,
             @RequestParam(required = false) String type,
             @RequestParam(required = false) String status,
-            @RequestParam(required = false) String workerId) {
-        
-        List<TriageAlert> alerts;
-        
-        if (status != null) {
-            TriageAlert.AlertStatus alertStatus = TriageAlert.AlertStatus.valueOf(status);
-            alerts = alertRepository.findByStatusOrderBySeverityAscDueDateAsc(alertStatus);
-        } else {
-            alerts = alertRepository.findAll();
-        }
-        
-        // Apply filters
-        if (severity != null) {
-            TriageAlert.AlertSeverity alertSeverity = TriageAlert.AlertSeverity.valueOf(severity);
-            alerts = alerts.stream()
-                .filter(a -> alertSeverity.equals(a.getSeverity()))
-                .collect(Collectors.toList());
-        }
-        
-        if (type != null) {
-            TriageAlert.AlertType alertType = TriageAlert.AlertType.valueOf(type);
-            alerts = alerts.stream()
-                .filter(a -> alertType.equals(a.getAlertType()))
-                .collect(Collectors.toList());
-        }
-        
-        if (workerId != null) {
-            UUID workerUuid = UUID.fromString(workerId);
-            alerts = alerts.stream()
-                .filter(a -> workerUuid.equals(a.getAssignedWorkerId()))
-                .collect(Collectors.toList());
-        }
-        
-        List<AlertDto> alertDtos = alerts.stream()
+            @RequestParam(required = false) String workerId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        
+        Page<TriageAlert> alerts = alertRepository.findFiltered(
+            status != null ? TriageAlert.AlertStatus.valueOf(status) : null,
+            severity != null ? TriageAlert.AlertSeverity.valueOf(severity) : null,
+            type != null ? TriageAlert.AlertType.valueOf(type) : null,
+            workerId != null ? UUID.fromString(workerId) : null,
+            PageRequest.of(page, size, TriageAlertRepository.TRIAGE_ORDER)
+        );
+        
+        List<AlertDto> alertDtos = alerts.getContent().stream()
             .map(this::toAlertDto)
             .collect(Collectors.toList());
         
-        return ResponseEntity.ok(alertDtos);
+        return ResponseEntity.ok()
+            .header("X-Total-Count", String.valueOf(alerts.getTotalElements()))
+            .body(alertDtos);
     }
     
     @PutMapping("/alerts/{alertId}/acknowledge")
@@ -258,4 +223,4 @@ public class TriageController {
         public Integer getDaysUntilDue() { return daysUntilDue; }
         public void setDaysUntilDue(Integer daysUntilDue) { this.daysUntilDue = daysUntilDue; }
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
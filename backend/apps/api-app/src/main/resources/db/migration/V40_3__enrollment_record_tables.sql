@@ -0,0 +1,51 @@
+-- Enrollment record tables read by the PIT/HIC census and chronic homelessness queries
+-- These were only created by Hibernate schema generation (JpaBedNightEntity, JpaDisabilityEntity,
+-- JpaDvEntity); with ddl-auto=none a fresh database needs them before V41 indexes bed_nights.
+-- Enum columns hold the Java enum names, matching @Enumerated(EnumType.STRING).
+
+CREATE TABLE IF NOT EXISTS bed_nights (
+    id UUID PRIMARY KEY,
+    enrollment_id UUID NOT NULL REFERENCES program_enrollments(id) ON DELETE CASCADE,
+    client_id UUID NOT NULL,
+    bed_night_date DATE NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    created_by VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS client_disability_records (
+    id UUID PRIMARY KEY,
+    enrollment_id UUID NOT NULL REFERENCES program_enrollments(id) ON DELETE CASCADE,
+    client_id UUID NOT NULL,
+    information_date DATE NOT NULL,
+    stage VARCHAR(50) NOT NULL,
+    disability_kind VARCHAR(50) NOT NULL,
+    has_disability VARCHAR(50) NOT NULL,
+    expected_long_term VARCHAR(50),
+    is_correction BOOLEAN NOT NULL DEFAULT FALSE,
+    corrects_record_id UUID,
+    collected_by VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX IF NOT EXISTS idx_client_disability_records_enrollment
+    ON client_disability_records(enrollment_id);
+
+CREATE TABLE IF NOT EXISTS dv_records (
+    id UUID PRIMARY KEY,
+    enrollment_id UUID NOT NULL REFERENCES program_enrollments(id) ON DELETE CASCADE,
+    client_id UUID NOT NULL,
+    information_date DATE NOT NULL,
+    stage VARCHAR(50) NOT NULL,
+    dv_history VARCHAR(50) NOT NULL,
+    currently_fleeing VARCHAR(50),
+    when_experienced VARCHAR(50),
+    is_correction BOOLEAN NOT NULL DEFAULT FALSE,
+    corrects_record_id UUID,
+    collected_by VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX IF NOT EXISTS idx_dv_records_enrollment
+    ON dv_records(enrollment_id);
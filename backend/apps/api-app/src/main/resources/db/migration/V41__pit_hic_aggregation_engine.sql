@@ -0,0 +1,35 @@
+-- PIT/HIC aggregation engine support
+-- Partition keys for continuum-level fan-out, veteran status for PIT special populations,
+-- durable job progress, and indexes for census-night enrollment lookups
+
+-- ========================================
+-- Source data columns
+-- ========================================
+
+ALTER TABLE housing_projects ADD COLUMN IF NOT EXISTS continuum_code VARCHAR(10);
+ALTER TABLE housing_projects ADD COLUMN IF NOT EXISTS target_population VARCHAR(100);
+ALTER TABLE housing_projects ADD COLUMN IF NOT EXISTS funding_source VARCHAR(100);
+
+-- HMIS 3.07 veteran status as the VeteranStatus enum name, written with the client profile
+ALTER TABLE clients ADD COLUMN IF NOT EXISTS veteran_status VARCHAR(40) DEFAULT 'DATA_NOT_COLLECTED';
+
+CREATE INDEX IF NOT EXISTS idx_housing_projects_partition
+    ON housing_projects(continuum_code, organization_id);
+CREATE INDEX IF NOT EXISTS idx_housing_projects_code ON housing_projects(project_code);
+
+-- Enrollments active on a given night: entry on/before, no exit or exit after
+CREATE INDEX IF NOT EXISTS idx_program_enrollments_program_entry
+    ON program_enrollments(program_id, enrollment_date);
+CREATE INDEX IF NOT EXISTS idx_project_exits_enrollment_date
+    ON project_exits(enrollment_id, exit_date);
+CREATE INDEX IF NOT EXISTS idx_bed_nights_enrollment_date
+    ON bed_nights(enrollment_id, bed_night_date);
+
+-- ========================================
+-- ETL job progress
+-- ========================================
+
+ALTER TABLE pit_hic_etl_jobs ADD COLUMN IF NOT EXISTS total_partitions INTEGER DEFAULT 0;
+
+COMMENT ON COLUMN pit_hic_etl_jobs.total_partitions IS
+    'Number of continuum/organization partitions the job fans out to; processed_count + error_count reach this on completion';
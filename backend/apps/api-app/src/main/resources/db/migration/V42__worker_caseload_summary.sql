@@ -0,0 +1,62 @@
+-- Per-worker caseload summary read model
+-- Maintained incrementally by SimplifiedCaseloadProjection; backs the supervisor team overview
+
+CREATE TABLE IF NOT EXISTS worker_caseload_summary (
+    worker_id UUID PRIMARY KEY,
+    worker_name VARCHAR(255),
+    total_cases INTEGER NOT NULL DEFAULT 0,
+
+    -- Counts by stage
+    intake_cases INTEGER NOT NULL DEFAULT 0,
+    active_cases INTEGER NOT NULL DEFAULT 0,
+    housing_search_cases INTEGER NOT NULL DEFAULT 0,
+    stabilization_cases INTEGER NOT NULL DEFAULT 0,
+    exit_planning_cases INTEGER NOT NULL DEFAULT 0,
+    follow_up_cases INTEGER NOT NULL DEFAULT 0,
+    closed_cases INTEGER NOT NULL DEFAULT 0,
+
+    -- Counts by risk level
+    critical_risk_cases INTEGER NOT NULL DEFAULT 0,
+    high_risk_cases INTEGER NOT NULL DEFAULT 0,
+    medium_risk_cases INTEGER NOT NULL DEFAULT 0,
+    low_risk_cases INTEGER NOT NULL DEFAULT 0,
+    stable_risk_cases INTEGER NOT NULL DEFAULT 0,
+
+    requiring_attention INTEGER NOT NULL DEFAULT 0,
+    last_updated TIMESTAMP WITH TIME ZONE
+);
+
+CREATE INDEX IF NOT EXISTS idx_worker_caseload_summary_active
+    ON worker_caseload_summary(worker_id) WHERE total_cases > 0;
+
+-- Backfill from the existing caseload view
+INSERT INTO worker_caseload_summary (
+    worker_id, worker_name, total_cases,
+    intake_cases, active_cases, housing_search_cases, stabilization_cases,
+    exit_planning_cases, follow_up_cases, closed_cases,
+    critical_risk_cases, high_risk_cases, medium_risk_cases, low_risk_cases, stable_risk_cases,
+    requiring_attention, last_updated)
+SELECT
+    worker_id,
+    MAX(worker_name),
+    COUNT(*),
+    COUNT(*) FILTER (WHERE stage = 'INTAKE'),
+    COUNT(*) FILTER (WHERE stage = 'ACTIVE'),
+    COUNT(*) FILTER (WHERE stage = 'HOUSING_SEARCH'),
+    COUNT(*) FILTER (WHERE stage = 'STABILIZATION'),
+    COUNT(*) FILTER (WHERE stage = 'EXIT_PLANNING'),
+    COUNT(*) FILTER (WHERE stage = 'FOLLOW_UP'),
+    COUNT(*) FILTER (WHERE stage = 'CLOSED'),
+    COUNT(*) FILTER (WHERE risk_level = 'CRITICAL'),
+    COUNT(*) FILTER (WHERE risk_level = 'HIGH'),
+    COUNT(*) FILTER (WHERE risk_level = 'MEDIUM'),
+    COUNT(*) FILTER (WHERE risk_level = 'LOW'),
+    COUNT(*) FILTER (WHERE risk_level = 'STABLE'),
+    COUNT(*) FILTER (WHERE requires_attention),
+    MAX(last_updated)
+FROM caseload_view
+WHERE worker_id IS NOT NULL
+GROUP BY worker_id
+ON CONFLICT (worker_id) DO NOTHING;
+
+COMMENT ON TABLE worker_caseload_summary IS 'Per-worker caseload counts by stage, risk level and attention flag';
@@ -0,0 +1,54 @@
+-- Composite indexes for filtered/paginated triage alert queries and the triage severity summary
+-- Summary rows are maintained incrementally by TriageAlertRepository.save (projection and acknowledge/resolve paths)
+
+-- Filter combinations used by /api/triage/alerts, all ending in the triage sort order
+CREATE INDEX IF NOT EXISTS idx_triage_alerts_status_severity_due
+    ON triage_alerts(status, severity, due_date);
+CREATE INDEX IF NOT EXISTS idx_triage_alerts_worker_status_severity_due
+    ON triage_alerts(assigned_worker_id, status, severity, due_date);
+CREATE INDEX IF NOT EXISTS idx_triage_alerts_type_status_severity_due
+    ON triage_alerts(alert_type, status, severity, due_date);
+
+-- Dashboard overdue/upcoming windows only ever look at active alerts
+CREATE INDEX IF NOT EXISTS idx_triage_alerts_active_due
+    ON triage_alerts(due_date, severity) WHERE status = 'ACTIVE';
+CREATE INDEX IF NOT EXISTS idx_triage_alerts_active_worker_due
+    ON triage_alerts(assigned_worker_id, due_date, severity) WHERE status = 'ACTIVE';
+
+CREATE TABLE IF NOT EXISTS triage_alert_summary (
+    -- Worker id, or the nil UUID for the organization-wide row
+    scope_id UUID PRIMARY KEY,
+    critical_active INTEGER NOT NULL DEFAULT 0,
+    high_active INTEGER NOT NULL DEFAULT 0,
+    medium_active INTEGER NOT NULL DEFAULT 0,
+    low_active INTEGER NOT NULL DEFAULT 0,
+    last_updated TIMESTAMP WITH TIME ZONE
+);
+
+-- Backfill from existing active alerts
+INSERT INTO triage_alert_summary (scope_id, critical_active, high_active, medium_active, low_active, last_updated)
+SELECT
+    assigned_worker_id,
+    COUNT(*) FILTER (WHERE severity = 'CRITICAL'),
+    COUNT(*) FILTER (WHERE severity = 'HIGH'),
+    COUNT(*) FILTER (WHERE severity = 'MEDIUM'),
+    COUNT(*) FILTER (WHERE severity = 'LOW'),
+    CURRENT_TIMESTAMP
+FROM triage_alerts
+WHERE status = 'ACTIVE' AND assigned_worker_id IS NOT NULL
+GROUP BY assigned_worker_id
+ON CONFLICT (scope_id) DO NOTHING;
+
+INSERT INTO triage_alert_summary (scope_id, critical_active, high_active, medium_active, low_active, last_updated)
+SELECT
+    '00000000-0000-0000-0000-000000000000'::uuid,
+    COUNT(*) FILTER (WHERE severity = 'CRITICAL'),
+    COUNT(*) FILTER (WHERE severity = 'HIGH'),
+    COUNT(*) FILTER (WHERE severity = 'MEDIUM'),
+    COUNT(*) FILTER (WHERE severity = 'LOW'),
+    CURRENT_TIMESTAMP
+FROM triage_alerts
+WHERE status = 'ACTIVE'
+ON CONFLICT (scope_id) DO NOTHING;
+
+COMMENT ON TABLE triage_alert_summary IS 'Active triage alert counts by severity per worker and organization-wide';
@@ -0,0 +1,41 @@
+-- Transactional outbox for domain events
+-- Rows are written in the same transaction as JpaEventStore.append (or EventPublisher.publish)
+-- and delivered after commit by OutboxRelay with at-least-once semantics
+
+CREATE TABLE IF NOT EXISTS haven.event_outbox (
+    -- Stored events use a name-based UUID of aggregate id + sequence; consumers deduplicate on it
+    id UUID PRIMARY KEY,
+    -- Global enqueue order; per-aggregate delivery follows it
+    position BIGSERIAL NOT NULL,
+    aggregate_id UUID,
+    aggregate_sequence BIGINT,
+    event_type VARCHAR(200) NOT NULL,
+    payload TEXT NOT NULL,
+    -- In-process channel the event was published to: EVENT_PUBLISHER or APPLICATION_EVENTS
+    channel VARCHAR(40) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    available_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    published_at TIMESTAMP WITH TIME ZONE,
+    failed_at TIMESTAMP WITH TIME ZONE,
+    last_error TEXT
+);
+
+-- Relay claim scan only ever touches undelivered rows
+CREATE INDEX IF NOT EXISTS idx_event_outbox_pending
+    ON haven.event_outbox(position)
+    WHERE published_at IS NULL AND failed_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_event_outbox_pending_aggregate
+    ON haven.event_outbox(aggregate_id, position)
+    WHERE published_at IS NULL AND failed_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_event_outbox_failed
+    ON haven.event_outbox(failed_at)
+    WHERE failed_at IS NOT NULL;
+
+-- Idempotency receipts for at-least-once consumers (ConsumerIdempotency)
+CREATE TABLE IF NOT EXISTS haven.outbox_consumer_receipts (
+    consumer VARCHAR(200) NOT NULL,
+    message_id UUID NOT NULL,
+    processed_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (consumer, message_id)
+);
@@ -0,0 +1,50 @@
+-- Incrementally maintained HMIS data-quality scores
+-- Written by HmisDataQualityScoringService in the same transaction as each client/enrollment save;
+-- the dashboard reads the rollups instead of rescanning clients and enrollments.
+-- Tables start empty and are filled by the service's one-off rebuild on first read.
+
+CREATE TABLE IF NOT EXISTS hmis_client_data_quality (
+    client_id UUID PRIMARY KEY,
+    hmis_compliant BOOLEAN NOT NULL,
+    score DOUBLE PRECISION NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Single organization-wide row; its presence marks the scores as built
+CREATE TABLE IF NOT EXISTS hmis_client_data_quality_summary (
+    summary_id SMALLINT PRIMARY KEY CHECK (summary_id = 1),
+    total_clients BIGINT NOT NULL DEFAULT 0,
+    compliant_clients BIGINT NOT NULL DEFAULT 0,
+    score_sum DOUBLE PRECISION NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS hmis_enrollment_data_quality (
+    enrollment_id UUID PRIMARY KEY,
+    program_id UUID,
+    continuum_code VARCHAR(20),
+    enrollment_date DATE,
+    hmis_compliant BOOLEAN NOT NULL,
+    linked BOOLEAN NOT NULL,
+    rrh_linked BOOLEAN NOT NULL,
+    rrh_linked_with_move_in BOOLEAN NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Enrollment counts per scope (ALL / PROJECT / COC) and enrollment day
+CREATE TABLE IF NOT EXISTS hmis_data_quality_rollup (
+    scope_type VARCHAR(10) NOT NULL,
+    scope_key VARCHAR(64) NOT NULL,
+    period_date DATE NOT NULL,
+    total_enrollments BIGINT NOT NULL DEFAULT 0,
+    compliant_enrollments BIGINT NOT NULL DEFAULT 0,
+    linked_enrollments BIGINT NOT NULL DEFAULT 0,
+    rrh_linked_enrollments BIGINT NOT NULL DEFAULT 0,
+    rrh_linked_with_move_in BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (scope_type, scope_key, period_date)
+);
+
+-- Window scans across every key of a scope (per-project / per-CoC listings)
+CREATE INDEX IF NOT EXISTS idx_hmis_data_quality_rollup_period
+    ON hmis_data_quality_rollup(scope_type, period_date);
@@ -0,0 +1,16 @@
+-- Blind index for client name search
+-- Each row is one HMAC-keyed token (exact name part, Soundex code or trigram) for one client.
+-- Tokens are maintained by ClientNameIndexHandler on client save; no plaintext names are stored here.
+-- The table is backfilled at application start when empty.
+
+CREATE TABLE IF NOT EXISTS client_name_blind_index (
+    token BIGINT NOT NULL,
+    client_id UUID NOT NULL,
+    -- 1 = exact name part, 2 = phonetic, 3 = trigram
+    token_kind SMALLINT NOT NULL,
+    PRIMARY KEY (token, client_id)
+);
+
+-- Re-indexing and removal replace all tokens of one client
+CREATE INDEX IF NOT EXISTS idx_client_name_blind_index_client
+    ON client_name_blind_index(client_id);
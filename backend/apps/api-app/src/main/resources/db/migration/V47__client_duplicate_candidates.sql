@@ -0,0 +1,46 @@
+-- Probabilistic duplicate-client detection
+-- Match features are keyed hashes of name, date-of-birth and SSN fragments; no plaintext is stored.
+-- Maintained by DuplicateClientDetectionService on client create/demographics update and by its batch run.
+
+CREATE TABLE IF NOT EXISTS client_match_features (
+    client_id UUID PRIMARY KEY,
+    first_name_hash VARCHAR(32),
+    first_name_phonetic_hash VARCHAR(32),
+    last_name_hash VARCHAR(32),
+    last_name_phonetic_hash VARCHAR(32),
+    birth_date_hash VARCHAR(32),
+    birth_year_hash VARCHAR(32),
+    birth_month_day_hash VARCHAR(32),
+    ssn_hash VARCHAR(32),
+    ssn_last4_hash VARCHAR(32),
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Only clients sharing a blocking key are compared
+CREATE TABLE IF NOT EXISTS client_match_blocking_keys (
+    block_key VARCHAR(32) NOT NULL,
+    client_id UUID NOT NULL,
+    PRIMARY KEY (block_key, client_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_client_match_blocking_keys_client
+    ON client_match_blocking_keys(client_id);
+
+-- Candidate pair read model; client_id_a < client_id_b so each pair has one row
+CREATE TABLE IF NOT EXISTS client_duplicate_candidates (
+    client_id_a UUID NOT NULL,
+    client_id_b UUID NOT NULL,
+    score DOUBLE PRECISION NOT NULL,
+    matched_fields VARCHAR(200),
+    -- OPEN, CONFIRMED_DUPLICATE or NOT_DUPLICATE; reviewed pairs survive re-matching
+    status VARCHAR(30) NOT NULL DEFAULT 'OPEN',
+    detected_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (client_id_a, client_id_b),
+    CHECK (client_id_a < client_id_b)
+);
+
+CREATE INDEX IF NOT EXISTS idx_client_duplicate_candidates_review
+    ON client_duplicate_candidates(status, score DESC);
+CREATE INDEX IF NOT EXISTS idx_client_duplicate_candidates_b
+    ON client_duplicate_candidates(client_id_b);
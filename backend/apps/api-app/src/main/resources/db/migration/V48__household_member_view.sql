@@ -0,0 +1,60 @@
+-- Denormalized household member read model
+-- One row per membership record plus one head-of-household row per composition, carrying the
+-- member's display fields so household screens need no per-member client lookups.
+-- Maintained by HouseholdMemberViewProjection from household and client save events.
+
+CREATE TABLE IF NOT EXISTS haven.household_member_view (
+    -- membership_id for member rows, the composition id for the head-of-household row
+    row_id UUID PRIMARY KEY,
+    composition_id UUID NOT NULL,
+    membership_id UUID,
+    member_id UUID NOT NULL,
+    is_head_of_household BOOLEAN NOT NULL DEFAULT false,
+    first_name VARCHAR(100),
+    last_name VARCHAR(100),
+    full_name VARCHAR(200),
+    date_of_birth DATE,
+    relationship_code VARCHAR(50),
+    relationship_display VARCHAR(200),
+    effective_from DATE,
+    effective_to DATE,
+    recorded_by VARCHAR(100),
+    reason VARCHAR(1000),
+    recorded_at TIMESTAMP WITH TIME ZONE,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_household_member_view_composition
+    ON haven.household_member_view(composition_id, is_head_of_household DESC);
+CREATE INDEX IF NOT EXISTS idx_household_member_view_member
+    ON haven.household_member_view(member_id);
+
+-- Backfill from the household tables when they exist
+DO $$
+BEGIN
+    IF to_regclass('haven.household_compositions') IS NOT NULL THEN
+        INSERT INTO haven.household_member_view (
+            row_id, composition_id, membership_id, member_id, is_head_of_household,
+            first_name, last_name, full_name, date_of_birth, relationship_code, relationship_display,
+            effective_from, effective_to, recorded_by, reason, recorded_at)
+        SELECT hc.id, hc.id, NULL, hc.head_of_household_id, true,
+               c.first_name, c.last_name, concat_ws(' ', c.first_name, c.last_name), c.date_of_birth,
+               'HEAD_OF_HOUSEHOLD', 'Head of Household',
+               hc.composition_date, NULL, 'system', 'Household composition created', hc.created_at
+        FROM haven.household_compositions hc
+        LEFT JOIN haven.clients c ON c.id = hc.head_of_household_id
+        ON CONFLICT (row_id) DO NOTHING;
+
+        INSERT INTO haven.household_member_view (
+            row_id, composition_id, membership_id, member_id, is_head_of_household,
+            first_name, last_name, full_name, date_of_birth, relationship_code, relationship_display,
+            effective_from, effective_to, recorded_by, reason, recorded_at)
+        SELECT m.membership_id, m.composition_id, m.membership_id, m.member_id, false,
+               c.first_name, c.last_name, concat_ws(' ', c.first_name, c.last_name), c.date_of_birth,
+               m.relationship_code, m.relationship_display,
+               m.effective_from, m.effective_to, m.recorded_by, m.reason, m.recorded_at
+        FROM haven.household_memberships m
+        LEFT JOIN haven.clients c ON c.id = m.member_id
+        ON CONFLICT (row_id) DO NOTHING;
+    END IF;
+END $$;
@@ -0,0 +1,92 @@
+-- Append-only audit event store
+-- Monthly range partitions on event_time (UTC). Rows are written in batches by PartitionedAuditLogStore,
+-- which numbers each partition's rows and links them in a SHA-256 hash chain; the chain head per partition
+-- lives in audit.audit_event_chain. Retention is handled by detaching whole partitions, never by DELETE.
+
+CREATE TABLE IF NOT EXISTS audit.audit_event_log (
+    audit_id UUID NOT NULL,
+    event_time TIMESTAMP WITH TIME ZONE NOT NULL,
+    -- Position in the partition's hash chain, starting at 1
+    partition_sequence BIGINT NOT NULL,
+    resource_id UUID,
+    resource_type VARCHAR(100),
+    action VARCHAR(100) NOT NULL,
+    user_id UUID NOT NULL,
+    details TEXT,
+    ip_address VARCHAR(45),
+    session_id VARCHAR(255),
+    component VARCHAR(100),
+    severity VARCHAR(20),
+    result VARCHAR(50),
+    previous_hash CHAR(64) NOT NULL,
+    entry_hash CHAR(64) NOT NULL,
+    recorded_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (event_time, audit_id)
+) PARTITION BY RANGE (event_time);
+
+-- Compliance queries filter by one of these and a time range, newest first
+CREATE INDEX IF NOT EXISTS idx_audit_event_log_resource
+    ON audit.audit_event_log(resource_id, event_time DESC, audit_id DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_event_log_user
+    ON audit.audit_event_log(user_id, event_time DESC, audit_id DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_event_log_action
+    ON audit.audit_event_log(action, event_time DESC, audit_id DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_event_log_resource_type
+    ON audit.audit_event_log(resource_type, event_time DESC, audit_id DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_event_log_audit_id
+    ON audit.audit_event_log(audit_id);
+
+CREATE TABLE IF NOT EXISTS audit.audit_event_chain (
+    -- First day of the partition's month
+    partition_month DATE PRIMARY KEY,
+    last_sequence BIGINT NOT NULL,
+    last_hash CHAR(64) NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE OR REPLACE FUNCTION audit.reject_audit_event_change() RETURNS trigger AS $$
+BEGIN
+    RAISE EXCEPTION 'audit.audit_event_log is append-only: % rejected', TG_OP;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS audit_event_log_append_only ON audit.audit_event_log;
+CREATE TRIGGER audit_event_log_append_only
+    BEFORE UPDATE OR DELETE ON audit.audit_event_log
+    FOR EACH ROW EXECUTE FUNCTION audit.reject_audit_event_change();
+
+DROP TRIGGER IF EXISTS audit_event_log_no_truncate ON audit.audit_event_log;
+CREATE TRIGGER audit_event_log_no_truncate
+    BEFORE TRUNCATE ON audit.audit_event_log
+    FOR EACH STATEMENT EXECUTE FUNCTION audit.reject_audit_event_change();
+
+-- Creates the partition holding p_month (any day in the month); safe to call concurrently
+CREATE OR REPLACE FUNCTION audit.ensure_audit_event_partition(p_month DATE) RETURNS VOID AS $$
+DECLARE
+    month_start DATE := date_trunc('month', p_month)::DATE;
+    partition_name TEXT := format('audit_event_log_p%s', to_char(month_start, 'YYYY_MM'));
+BEGIN
+    IF to_regclass(format('audit.%I', partition_name)) IS NOT NULL THEN
+        RETURN;
+    END IF;
+
+    EXECUTE format(
+        'CREATE TABLE audit.%I PARTITION OF audit.audit_event_log FOR VALUES FROM (%L) TO (%L)',
+        partition_name,
+        month_start::TIMESTAMP AT TIME ZONE 'UTC',
+        (month_start + INTERVAL '1 month')::TIMESTAMP AT TIME ZONE 'UTC');
+    EXECUTE format('CREATE UNIQUE INDEX %I ON audit.%I(partition_sequence)',
+        partition_name || '_sequence', partition_name);
+    -- Statement triggers are not inherited, so each partition rejects TRUNCATE itself
+    EXECUTE format(
+        'CREATE TRIGGER %I BEFORE TRUNCATE ON audit.%I FOR EACH STATEMENT EXECUTE FUNCTION audit.reject_audit_event_change()',
+        partition_name || '_no_truncate', partition_name);
+EXCEPTION
+    WHEN duplicate_table OR duplicate_object THEN
+        -- Another writer created it first
+        NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT audit.ensure_audit_event_partition(CURRENT_DATE);
+SELECT audit.ensure_audit_event_partition((CURRENT_DATE + INTERVAL '1 month')::DATE);
@@ -0,0 +1,11 @@
+-- Street outreach projects in the housing project catalogue
+-- The PIT census counts clients enrolled in street outreach on the census night as unsheltered,
+-- and chronic homelessness counts their outreach nights; V31's CHECK did not allow the type.
+
+ALTER TABLE housing_projects DROP CONSTRAINT IF EXISTS chk_project_type;
+
+ALTER TABLE housing_projects ADD CONSTRAINT chk_project_type CHECK (project_type IN (
+    'EMERGENCY_SHELTER', 'TRANSITIONAL_HOUSING', 'PERMANENT_SUPPORTIVE_HOUSING',
+    'RAPID_REHOUSING', 'SAFE_HAVEN', 'HOMELESSNESS_PREVENTION',
+    'COORDINATED_ENTRY', 'SERVICES_ONLY', 'STREET_OUTREACH', 'OTHER'
+));
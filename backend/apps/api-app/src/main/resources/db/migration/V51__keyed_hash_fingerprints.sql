@@ -0,0 +1,10 @@
+-- Fingerprints of the keys behind keyed-hash read models
+-- Each row records which key built a read model (client_name_blind_index, client_match_features).
+-- A fingerprint is an HMAC of a fixed label under the key, so it identifies the key without revealing it.
+-- At startup a read model whose fingerprint no longer matches the configured key is rebuilt.
+
+CREATE TABLE IF NOT EXISTS keyed_hash_fingerprints (
+    purpose VARCHAR(100) PRIMARY KEY,
+    fingerprint VARCHAR(64) NOT NULL,
+    recorded_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
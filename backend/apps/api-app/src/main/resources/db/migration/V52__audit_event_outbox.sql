@@ -0,0 +1,21 @@
+-- Staging table for audit entries written in the caller's transaction
+-- PartitionedAuditLogStore inserts here without taking any shared lock, so audited writes do not
+-- serialize on a partition's chain head. After commit its chainer moves rows into audit.audit_event_log
+-- in outbox_id order, assigning sequence numbers and hashes, and deletes them from here.
+
+CREATE TABLE IF NOT EXISTS audit.audit_event_outbox (
+    outbox_id BIGSERIAL PRIMARY KEY,
+    audit_id UUID NOT NULL,
+    event_time TIMESTAMP WITH TIME ZONE NOT NULL,
+    resource_id UUID,
+    resource_type VARCHAR(100),
+    action VARCHAR(100) NOT NULL,
+    user_id UUID NOT NULL,
+    details TEXT,
+    ip_address VARCHAR(45),
+    session_id VARCHAR(255),
+    component VARCHAR(100),
+    severity VARCHAR(20),
+    result VARCHAR(50),
+    staged_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,125 @@
+package org.haven.api.audit;
+
+import org.flywaydb.core.Flyway;
+import org.haven.shared.audit.AuditChainVerification;
+import org.haven.shared.audit.AuditLogEntity;
+import org.haven.shared.audit.PartitionedAuditLogStore;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the audit log store against a PostgreSQL database built by the Flyway migrations:
+ * entries staged in open transactions do not wait on each other, commit with their transaction
+ * and are chained into the log afterwards.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Audit log store against the migrated schema")
+class AuditLogStoreIntegrationTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine")
+        .withDatabaseName("haven")
+        .withUsername("haven")
+        .withPassword("haven");
+
+    private static JdbcTemplate jdbcTemplate;
+    private static TransactionTemplate transaction;
+    private static PartitionedAuditLogStore store;
+
+    @BeforeAll
+    static void migrate() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        Flyway.configure()
+            .dataSource(dataSource)
+            .locations("classpath:db/migration")
+            .outOfOrder(true)
+            .load()
+            .migrate();
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        transaction = new TransactionTemplate(transactionManager);
+        // Not started, so committed entries are chained on the committing thread
+        store = new PartitionedAuditLogStore(jdbcTemplate, transactionManager, false, 200, 200, 10_000);
+    }
+
+    @Test
+    @DisplayName("An open audited transaction does not block another one appending to the same partition")
+    void testConcurrentAppendsDoNotWaitOnChainHead() throws Exception {
+        YearMonth partition = YearMonth.of(2024, 3);
+        CountDownLatch staged = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Void> slow = CompletableFuture.runAsync(() -> transaction.executeWithoutResult(status -> {
+            store.append(entry(partition));
+            staged.countDown();
+            await(release);
+        }));
+        assertTrue(staged.await(10, TimeUnit.SECONDS));
+
+        CompletableFuture<Void> fast = CompletableFuture.runAsync(() ->
+            transaction.executeWithoutResult(status -> store.append(entry(partition))));
+        fast.get(10, TimeUnit.SECONDS);
+
+        release.countDown();
+        slow.get(10, TimeUnit.SECONDS);
+
+        AuditChainVerification verification = store.verifyPartition(partition);
+        assertTrue(verification.intact(), verification.reason());
+        assertEquals(2, verification.entriesChecked());
+        assertEquals(0, outboxSize());
+    }
+
+    @Test
+    @DisplayName("An entry staged in a rolled-back transaction never reaches the log")
+    void testRollbackDiscardsEntry() {
+        AuditLogEntity entry = entry(YearMonth.of(2024, 4));
+
+        transaction.executeWithoutResult(status -> {
+            store.append(entry);
+            status.setRollbackOnly();
+        });
+
+        assertTrue(store.findByAuditId(entry.getAuditId()).isEmpty());
+        assertEquals(0, outboxSize());
+    }
+
+    private static AuditLogEntity entry(YearMonth partition) {
+        Instant timestamp = partition.atDay(10).atStartOfDay(ZoneOffset.UTC).toInstant();
+        return new AuditLogEntity(UUID.randomUUID(), UUID.randomUUID(), "Client", "CLIENT_VIEWED",
+            UUID.randomUUID(), timestamp, "integration test", "127.0.0.1", "session", "test", "INFO", "SUCCESS");
+    }
+
+    private static int outboxSize() {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit.audit_event_outbox", Integer.class);
+        return count != null ? count : 0;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package org.haven.api.client;
+
+import org.flywaydb.core.Flyway;
+import org.haven.clientprofile.domain.Client;
+import org.haven.clientprofile.domain.ClientId;
+import org.haven.clientprofile.infrastructure.persistence.BlindIndexClientNameIndex;
+import org.haven.clientprofile.infrastructure.security.ClientNameBlindIndexer;
+import org.haven.clientprofile.infrastructure.security.PIIEncryptionService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the client name blind index against a PostgreSQL database built by the Flyway migrations:
+ * the active-client filter is applied before paging, and a key change is detected and rebuilt.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Client name blind index against the migrated schema")
+class ClientNameIndexIntegrationTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine")
+        .withDatabaseName("haven")
+        .withUsername("haven")
+        .withPassword("haven");
+
+    private static JdbcTemplate jdbcTemplate;
+
+    private static List<Client> marias;
+    private static Set<ClientId> activeMarias;
+
+    @BeforeAll
+    static void migrateAndSeed() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        Flyway.configure()
+            .dataSource(dataSource)
+            .locations("classpath:db/migration")
+            .outOfOrder(true)
+            .load()
+            .migrate();
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        marias = List.of(
+            client("Maria", "Lopez", "INACTIVE"),
+            client("Maria", "Garcia", "INACTIVE"),
+            client("Maria", "Santos", "ACTIVE"),
+            client("Maria", "Reyes", "ACTIVE"));
+        activeMarias = Set.of(marias.get(2).getId(), marias.get(3).getId());
+    }
+
+    @Test
+    @DisplayName("Active-only search filters before the page is cut, so the first page is full")
+    void testActiveOnlyPaging() {
+        BlindIndexClientNameIndex index = index("name-index-key-a");
+        index.rebuild(marias);
+
+        List<ClientId> activePage = index.search("Maria", true, 0, 2);
+        assertEquals(activeMarias, Set.copyOf(activePage));
+        assertTrue(index.search("Maria", true, 1, 2).isEmpty());
+        assertEquals(4, index.search("Maria", false, 0, 10).size());
+    }
+
+    @Test
+    @DisplayName("An index built under another key is reported stale and rebuilt under the current key")
+    void testRebuildAfterKeyChange() {
+        BlindIndexClientNameIndex before = index("name-index-key-a");
+        before.rebuild(marias);
+        assertTrue(before.isCurrent());
+
+        BlindIndexClientNameIndex after = index("name-index-key-b");
+        assertFalse(after.isCurrent());
+        assertTrue(after.search("Santos", false, 0, 10).isEmpty());
+
+        after.rebuild(marias);
+        assertTrue(after.isCurrent());
+        assertFalse(before.isCurrent());
+        assertEquals(List.of(marias.get(2).getId()), after.search("Santos", false, 0, 10));
+    }
+
+    private static BlindIndexClientNameIndex index(String key) {
+        String base64Key = Base64.getEncoder().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+        ClientNameBlindIndexer indexer = new ClientNameBlindIndexer(new PIIEncryptionService(""), base64Key);
+        return new BlindIndexClientNameIndex(jdbcTemplate, indexer);
+    }
+
+    private static Client client(String firstName, String lastName, String status) {
+        Client client = Client.create(firstName, lastName);
+        jdbcTemplate.update("""
+            INSERT INTO clients (id, client_number, first_name, last_name, status)
+            VALUES (?, ?, ?, ?, ?::client_status)
+            """, client.getId().value(), "C-" + client.getId().value(), firstName, lastName, status);
+        return client;
+    }
+}
@@ -0,0 +1,118 @@
+package org.haven.api.enrollments;
+
+import org.flywaydb.core.Flyway;
+import org.haven.programenrollment.domain.chronic.EnrollmentHistory;
+import org.haven.programenrollment.infrastructure.persistence.JdbcEnrollmentHistoryRepository;
+import org.haven.shared.vo.hmis.HmisProjectType;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the enrollment history queries used by chronic homelessness against a PostgreSQL database
+ * built by the Flyway migrations, so street outreach projects pass the housing project constraint
+ * and come back with their project type.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Enrollment history queries against the migrated schema")
+class EnrollmentHistoryRepositoryIntegrationTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine")
+        .withDatabaseName("haven")
+        .withUsername("haven")
+        .withPassword("haven");
+
+    private static JdbcTemplate jdbcTemplate;
+    private static JdbcEnrollmentHistoryRepository repository;
+
+    private static UUID client;
+    private static UUID outreachEnrollment;
+    private static UUID shelterEnrollment;
+
+    @BeforeAll
+    static void migrateAndSeed() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        Flyway.configure()
+            .dataSource(dataSource)
+            .locations("classpath:db/migration")
+            .outOfOrder(true)
+            .load()
+            .migrate();
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        repository = new JdbcEnrollmentHistoryRepository(jdbcTemplate);
+
+        UUID outreach = project("SO-1", "STREET_OUTREACH");
+        UUID shelter = project("ES-1", "EMERGENCY_SHELTER");
+
+        client = UUID.randomUUID();
+        jdbcTemplate.update("""
+            INSERT INTO clients (id, client_number, first_name, last_name)
+            VALUES (?, ?, 'Test', 'Client')
+            """, client, "C-" + client);
+        outreachEnrollment = enroll(outreach, LocalDate.of(2024, 11, 1));
+        shelterEnrollment = enroll(shelter, LocalDate.of(2025, 1, 5));
+        jdbcTemplate.update("""
+            INSERT INTO bed_nights (id, enrollment_id, client_id, bed_night_date, created_by)
+            VALUES (?, ?, ?, ?, 'test')
+            """, UUID.randomUUID(), shelterEnrollment, client, LocalDate.of(2025, 1, 5));
+    }
+
+    @Test
+    @DisplayName("Street outreach enrollments are read with the STREET_OUTREACH project type")
+    void testStreetOutreachProjectType() {
+        Map<UUID, EnrollmentHistory> histories = repository.findByClientIds(List.of(client)).stream()
+            .collect(Collectors.toMap(EnrollmentHistory::enrollmentId, history -> history));
+
+        assertEquals(HmisProjectType.STREET_OUTREACH, histories.get(outreachEnrollment).projectType());
+        assertEquals(HmisProjectType.EMERGENCY_SHELTER, histories.get(shelterEnrollment).projectType());
+        assertArrayEquals(new int[]{Math.toIntExact(LocalDate.of(2025, 1, 5).toEpochDay())},
+            histories.get(shelterEnrollment).bedNights());
+    }
+
+    @Test
+    @DisplayName("Reading all histories returns the same project types")
+    void testFindAll() {
+        Map<UUID, HmisProjectType> projectTypes = repository.findAll().stream()
+            .collect(Collectors.toMap(EnrollmentHistory::enrollmentId, EnrollmentHistory::projectType));
+
+        assertEquals(HmisProjectType.STREET_OUTREACH, projectTypes.get(outreachEnrollment));
+        assertEquals(HmisProjectType.EMERGENCY_SHELTER, projectTypes.get(shelterEnrollment));
+    }
+
+    private static UUID project(String code, String projectType) {
+        UUID programId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO programs (id, program_code, name) VALUES (?, ?, ?)",
+            programId, code, "Program " + code);
+        jdbcTemplate.update("""
+            INSERT INTO housing_projects (project_id, project_name, project_code, project_type,
+                organization_id, continuum_code, created_by)
+            VALUES (?, ?, ?, ?, 'ORG-1', 'CA-600', 'test')
+            """, code, "Project " + code, code, projectType);
+        return programId;
+    }
+
+    private static UUID enroll(UUID programId, LocalDate entryDate) {
+        UUID enrollmentId = UUID.randomUUID();
+        jdbcTemplate.update("""
+            INSERT INTO program_enrollments (id, client_id, program_id, enrollment_date, household_id)
+            VALUES (?, ?, ?, ?, ?)
+            """, enrollmentId, client, programId, entryDate, "HH-" + enrollmentId);
+        return enrollmentId;
+    }
+}
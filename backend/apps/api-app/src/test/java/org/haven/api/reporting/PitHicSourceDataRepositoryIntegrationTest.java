@@ -0,0 +1,178 @@
+package org.haven.api.reporting;
+
+import org.flywaydb.core.Flyway;
+import org.haven.reporting.domain.pithic.PitCensusStay;
+import org.haven.reporting.infrastructure.persistence.JdbcPitHicSourceDataRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the PIT/HIC source queries against a PostgreSQL database built by the Flyway migrations,
+ * so the rendered SQL, the migrated tables and the housing project constraints are all exercised.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("PIT/HIC source data queries against the migrated schema")
+class PitHicSourceDataRepositoryIntegrationTest {
+
+    private static final LocalDate CENSUS_NIGHT = LocalDate.of(2025, 1, 29);
+    private static final String CONTINUUM = "CA-600";
+    private static final String ORGANIZATION = "ORG-1";
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine")
+        .withDatabaseName("haven")
+        .withUsername("haven")
+        .withPassword("haven");
+
+    private static JdbcTemplate jdbcTemplate;
+    private static JdbcPitHicSourceDataRepository repository;
+
+    private static UUID shelteredWithBedNight;
+    private static UUID transitionalVeteran;
+    private static UUID streetOutreach;
+
+    @BeforeAll
+    static void migrateAndSeed() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        Flyway.configure()
+            .dataSource(dataSource)
+            .locations("classpath:db/migration")
+            .outOfOrder(true)
+            .load()
+            .migrate();
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        repository = new JdbcPitHicSourceDataRepository(jdbcTemplate);
+
+        UUID shelter = project("ES-1", "EMERGENCY_SHELTER", CONTINUUM);
+        UUID transitional = project("TH-1", "TRANSITIONAL_HOUSING", CONTINUUM);
+        UUID outreach = project("SO-1", "STREET_OUTREACH", CONTINUUM);
+        UUID otherContinuum = project("ES-2", "EMERGENCY_SHELTER", "CA-601");
+
+        // Night-by-night shelter: only the stay with a bed night on the census date counts
+        shelteredWithBedNight = client("NO");
+        bedNight(enroll(shelteredWithBedNight, shelter, LocalDate.of(2025, 1, 20)), CENSUS_NIGHT);
+        UUID shelteredElsewhere = client("NO");
+        bedNight(enroll(shelteredElsewhere, shelter, LocalDate.of(2025, 1, 20)), CENSUS_NIGHT.minusDays(1));
+
+        // Exited on the census date, so not in the project that night
+        UUID exited = client("NO");
+        exit(enroll(exited, transitional, LocalDate.of(2024, 12, 1)), CENSUS_NIGHT);
+
+        transitionalVeteran = client("YES");
+        UUID veteranEnrollment = enroll(transitionalVeteran, transitional, LocalDate.of(2025, 1, 1));
+        jdbcTemplate.update("""
+            INSERT INTO client_disability_records (id, enrollment_id, client_id, information_date, stage,
+                disability_kind, has_disability, collected_by)
+            VALUES (?, ?, ?, ?, 'PROJECT_START', 'PHYSICAL', 'YES', 'test')
+            """, UUID.randomUUID(), veteranEnrollment, transitionalVeteran, LocalDate.of(2025, 1, 1));
+        jdbcTemplate.update("""
+            INSERT INTO dv_records (id, enrollment_id, client_id, information_date, stage,
+                dv_history, currently_fleeing, collected_by)
+            VALUES (?, ?, ?, ?, 'PROJECT_START', 'YES', 'YES', 'test')
+            """, UUID.randomUUID(), veteranEnrollment, transitionalVeteran, LocalDate.of(2025, 1, 1));
+
+        streetOutreach = client("NO");
+        enroll(streetOutreach, outreach, LocalDate.of(2025, 1, 10));
+
+        enroll(client("NO"), otherContinuum, LocalDate.of(2025, 1, 10));
+    }
+
+    @Test
+    @DisplayName("Census-night stays are the open sheltered and street outreach enrollments of the partition")
+    void testCensusNightStays() {
+        Map<UUID, PitCensusStay> stays = repository.findCensusNightStays(CENSUS_NIGHT, CONTINUUM, ORGANIZATION)
+            .stream()
+            .collect(Collectors.toMap(PitCensusStay::clientId, stay -> stay));
+
+        assertEquals(Set.of(shelteredWithBedNight, transitionalVeteran, streetOutreach), stays.keySet());
+        assertEquals("EMERGENCY_SHELTER", stays.get(shelteredWithBedNight).projectType());
+        assertEquals("STREET_OUTREACH", stays.get(streetOutreach).projectType());
+
+        PitCensusStay veteran = stays.get(transitionalVeteran);
+        assertEquals("TRANSITIONAL_HOUSING", veteran.projectType());
+        assertTrue(veteran.veteran());
+        assertTrue(veteran.disablingCondition());
+        assertTrue(veteran.currentlyFleeingDv());
+        assertTrue(veteran.isHeadOfHousehold());
+        assertFalse(stays.get(streetOutreach).veteran());
+    }
+
+    @Test
+    @DisplayName("HIC occupancy counts persons per project type on the inventory date")
+    void testOccupiedByProjectType() {
+        Map<String, Integer> occupied = repository.countOccupiedByProjectType(CENSUS_NIGHT, CONTINUUM, ORGANIZATION);
+
+        assertEquals(Map.of(
+            "EMERGENCY_SHELTER", 1,
+            "TRANSITIONAL_HOUSING", 1,
+            "STREET_OUTREACH", 1), occupied);
+    }
+
+    @Test
+    @DisplayName("The housing project type constraint accepts street outreach and still rejects unknown types")
+    void testProjectTypeConstraint() {
+        assertDoesNotThrow(() -> project("SO-2", "STREET_OUTREACH", CONTINUUM));
+        assertThrows(DataIntegrityViolationException.class, () -> project("XX-1", "DROP_IN_CENTER", CONTINUUM));
+    }
+
+    private static UUID project(String code, String projectType, String continuum) {
+        UUID programId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO programs (id, program_code, name) VALUES (?, ?, ?)",
+            programId, code, "Program " + code);
+        jdbcTemplate.update("""
+            INSERT INTO housing_projects (project_id, project_name, project_code, project_type,
+                organization_id, continuum_code, created_by)
+            VALUES (?, ?, ?, ?, ?, ?, 'test')
+            """, code, "Project " + code, code, projectType, ORGANIZATION, continuum);
+        return programId;
+    }
+
+    private static UUID client(String veteranStatus) {
+        UUID clientId = UUID.randomUUID();
+        jdbcTemplate.update("""
+            INSERT INTO clients (id, client_number, first_name, last_name, veteran_status)
+            VALUES (?, ?, 'Test', 'Client', ?)
+            """, clientId, "C-" + clientId, veteranStatus);
+        return clientId;
+    }
+
+    private static UUID enroll(UUID clientId, UUID programId, LocalDate entryDate) {
+        UUID enrollmentId = UUID.randomUUID();
+        jdbcTemplate.update("""
+            INSERT INTO program_enrollments (id, client_id, program_id, enrollment_date, household_id)
+            VALUES (?, ?, ?, ?, ?)
+            """, enrollmentId, clientId, programId, entryDate, "HH-" + enrollmentId);
+        return enrollmentId;
+    }
+
+    private static void exit(UUID enrollmentId, LocalDate exitDate) {
+        jdbcTemplate.update("""
+            INSERT INTO project_exits (enrollment_id, exit_date, destination)
+            VALUES (?, ?, 'EMERGENCY_SHELTER')
+            """, enrollmentId, exitDate);
+    }
+
+    private static void bedNight(UUID enrollmentId, LocalDate night) {
+        jdbcTemplate.update("""
+            INSERT INTO bed_nights (id, enrollment_id, client_id, bed_night_date, created_by)
+            SELECT ?, id, client_id, ?, 'test' FROM program_enrollments WHERE id = ?
+            """, UUID.randomUUID(), night, enrollmentId);
+    }
+}
@@ -19,8 +19,23 @@ subprojects {
     options.release.set(17) // Java 17 LTS (compatible with current Gradle setup)
   }
 
+  // Timing benchmarks are tagged "benchmark": `test` skips them, `benchmark` runs only them
   tasks.withType<Test> {
-    useJUnitPlatform()
+    val benchmarks = name == "benchmark"
+    useJUnitPlatform {
+      if (benchmarks) includeTags("benchmark") else excludeTags("benchmark")
+    }
+  }
+
+  plugins.withType<JavaPlugin> {
+    tasks.register<Test>("benchmark") {
+      group = "verification"
+      description = "Runs the timing benchmarks tagged \"benchmark\""
+      val testSourceSet = project.extensions.getByType<SourceSetContainer>()["test"]
+      testClassesDirs = testSourceSet.output.classesDirs
+      classpath = testSourceSet.runtimeClasspath
+      shouldRunAfter(tasks.named("test"))
+    }
   }
 }
 
@@ -3,11 +3,13 @@ package org.haven.eventstore.infrastructure;
 import org.haven.shared.events.DomainEvent;
 import org.haven.eventstore.EventEnvelope;
 import org.haven.eventstore.EventStore;
+import org.haven.eventstore.outbox.EventOutbox;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -17,11 +19,14 @@ public class JpaEventStore implements EventStore {
     
     private final JpaEventStoreRepository repository;
     private final EventSerializer serializer;
+    private final EventOutbox outbox;
     
     public JpaEventStore(JpaEventStoreRepository repository, 
-                        @Qualifier("consentEventSerializer") EventSerializer serializer) {
+                        @Qualifier("consentEventSerializer") EventSerializer serializer,
+                        EventOutbox outbox) {
         this.repository = repository;
         this.serializer = serializer;
+        this.outbox = outbox;
     }
     
     @Override
@@ -43,8 +48,10 @@ public class JpaEventStore implements EventStore {
         
         // Append events with sequential numbering
         long nextSequence = currentVersion + 1;
+        List<String> payloads = new ArrayList<>(events.size());
         for (EV event : events) {
             String eventData = serializer.serialize(event);
+            payloads.add(eventData);
             JpaEventStoreEntity entity = new JpaEventStoreEntity(
                 aggregateId,
                 nextSequence,
@@ -56,6 +63,9 @@ public class JpaEventStore implements EventStore {
             repository.save(entity);
             nextSequence++;
         }
+        
+        // Same transaction as the events: handlers are driven by the outbox relay after commit
+        outbox.enqueueStored(aggregateId, currentVersion + 1, events, payloads);
     }
     
     @Override
@@ -81,4 +91,4 @@ public class JpaEventStore implements EventStore {
             super(message);
         }
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,32 @@
+package org.haven.eventstore.outbox;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Receipt table for at-least-once consumers. A consumer records the message id in the same
+ * transaction as its side effect and skips the work when the receipt already exists.
+ */
+@Component
+public class ConsumerIdempotency {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ConsumerIdempotency(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @return true the first time this consumer sees the message, false on redelivery
+     */
+    public boolean firstDelivery(String consumer, UUID messageId) {
+        int inserted = jdbcTemplate.update("""
+            INSERT INTO outbox_consumer_receipts (consumer, message_id, processed_at)
+            VALUES (?, ?, CURRENT_TIMESTAMP)
+            ON CONFLICT (consumer, message_id) DO NOTHING
+            """, consumer, messageId);
+        return inserted == 1;
+    }
+}
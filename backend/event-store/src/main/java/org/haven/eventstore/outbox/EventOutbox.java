@@ -0,0 +1,106 @@
+package org.haven.eventstore.outbox;
+
+import org.haven.eventstore.infrastructure.EventSerializer;
+import org.haven.shared.events.DomainEvent;
+import org.haven.shared.events.DomainEventOutbox;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes domain events to the outbox table in the caller's transaction.
+ *
+ * The original event objects are kept in a bounded local cache until the relay delivers them,
+ * so in-process handlers receive the same instance and never depend on event deserialization.
+ * After commit the relay is woken so delivery latency does not wait for the next poll.
+ */
+@Component
+public class EventOutbox implements DomainEventOutbox {
+
+    static final int LOCAL_CACHE_LIMIT = 10_000;
+
+    private final OutboxRepository repository;
+    private final EventSerializer serializer;
+    private final Map<UUID, DomainEvent> localEvents = new ConcurrentHashMap<>();
+    private volatile Runnable commitListener = () -> { };
+
+    public EventOutbox(OutboxRepository repository,
+                       @Qualifier("consentEventSerializer") EventSerializer serializer) {
+        this.repository = repository;
+        this.serializer = serializer;
+    }
+
+    /**
+     * Enqueue an event that is published without being stored in the event store
+     */
+    @Override
+    public void enqueue(DomainEvent event) {
+        OutboxMessage message = new OutboxMessage(UUID.randomUUID(), event.getAggregateId(), null,
+                event.eventType(), serializer.serialize(event), OutboxMessage.Channel.EVENT_PUBLISHER, Instant.now(), 0);
+        enqueue(List.of(message), List.of(event));
+    }
+
+    /**
+     * Enqueue events just appended to the event store, numbered from firstSequence
+     */
+    public void enqueueStored(UUID aggregateId, long firstSequence, List<? extends DomainEvent> events,
+                              List<String> payloads) {
+        Instant now = Instant.now();
+        List<OutboxMessage> messages = new ArrayList<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            long sequence = firstSequence + i;
+            messages.add(new OutboxMessage(OutboxMessage.idForStoredEvent(aggregateId, sequence), aggregateId,
+                    sequence, events.get(i).eventType(), payloads.get(i), OutboxMessage.Channel.APPLICATION_EVENTS, now, 0));
+        }
+        enqueue(messages, events);
+    }
+
+    /**
+     * Delivery view of a claimed message, using the cached original event when present
+     */
+    OutboxDelivery delivery(OutboxMessage message) {
+        return new OutboxDelivery(message, localEvents.get(message.id()), serializer);
+    }
+
+    void delivered(UUID messageId) {
+        localEvents.remove(messageId);
+    }
+
+    void onCommit(Runnable listener) {
+        this.commitListener = listener;
+    }
+
+    private void enqueue(List<OutboxMessage> messages, List<? extends DomainEvent> events) {
+        repository.enqueue(messages);
+
+        List<UUID> ids = messages.stream().map(OutboxMessage::id).toList();
+        if (localEvents.size() + ids.size() <= LOCAL_CACHE_LIMIT) {
+            for (int i = 0; i < ids.size(); i++) {
+                localEvents.put(ids.get(i), events.get(i));
+            }
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        commitListener.run();
+                    } else {
+                        ids.forEach(localEvents::remove);
+                    }
+                }
+            });
+        } else {
+            commitListener.run();
+        }
+    }
+}
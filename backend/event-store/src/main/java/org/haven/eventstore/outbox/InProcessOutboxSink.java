@@ -0,0 +1,34 @@
+package org.haven.eventstore.outbox;
+
+import org.haven.shared.events.DomainEvent;
+import org.haven.shared.events.EventPublisher;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Delivers outbox messages to in-process consumers on the channel they were published to:
+ * {@link EventPublisher} handlers or Spring {@code @EventListener}s, never both.
+ * Handlers can read the message id from {@link OutboxDeliveryContext}.
+ */
+@Component
+public class InProcessOutboxSink implements OutboxEventSink {
+
+    private final EventPublisher eventPublisher;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public InProcessOutboxSink(EventPublisher eventPublisher, ApplicationEventPublisher applicationEventPublisher) {
+        this.eventPublisher = eventPublisher;
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    @Override
+    public void publish(OutboxDelivery delivery) throws Exception {
+        DomainEvent event = delivery.event();
+        OutboxDeliveryContext.run(delivery.messageId(), () -> {
+            switch (delivery.message().channel()) {
+                case EVENT_PUBLISHER -> eventPublisher.dispatch(event);
+                case APPLICATION_EVENTS -> applicationEventPublisher.publishEvent(event);
+            }
+        });
+    }
+}
@@ -0,0 +1,39 @@
+package org.haven.eventstore.outbox;
+
+import org.haven.eventstore.infrastructure.EventSerializer;
+import org.haven.shared.events.DomainEvent;
+
+/**
+ * One delivery attempt of an outbox message. The event object is the original instance when
+ * the message was enqueued by this process, and is deserialized from the payload otherwise.
+ */
+public final class OutboxDelivery {
+
+    private final OutboxMessage message;
+    private final EventSerializer serializer;
+    private DomainEvent event;
+
+    OutboxDelivery(OutboxMessage message, DomainEvent localEvent, EventSerializer serializer) {
+        this.message = message;
+        this.event = localEvent;
+        this.serializer = serializer;
+    }
+
+    public OutboxMessage message() {
+        return message;
+    }
+
+    /**
+     * Idempotency key for consumers
+     */
+    public java.util.UUID messageId() {
+        return message.id();
+    }
+
+    public DomainEvent event() {
+        if (event == null) {
+            event = serializer.deserialize(message.payload(), message.eventType());
+        }
+        return event;
+    }
+}
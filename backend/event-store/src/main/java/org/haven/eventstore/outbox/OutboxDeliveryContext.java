@@ -0,0 +1,39 @@
+package org.haven.eventstore.outbox;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Exposes the outbox message id to in-process handlers while the relay dispatches it,
+ * so handlers with side effects can deduplicate through {@link ConsumerIdempotency}.
+ */
+public final class OutboxDeliveryContext {
+
+    private static final ThreadLocal<UUID> CURRENT_MESSAGE = new ThreadLocal<>();
+
+    private OutboxDeliveryContext() {
+    }
+
+    public static Optional<UUID> currentMessageId() {
+        return Optional.ofNullable(CURRENT_MESSAGE.get());
+    }
+
+    static void run(UUID messageId, ThrowingRunnable action) throws Exception {
+        UUID previous = CURRENT_MESSAGE.get();
+        CURRENT_MESSAGE.set(messageId);
+        try {
+            action.run();
+        } finally {
+            if (previous == null) {
+                CURRENT_MESSAGE.remove();
+            } else {
+                CURRENT_MESSAGE.set(previous);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
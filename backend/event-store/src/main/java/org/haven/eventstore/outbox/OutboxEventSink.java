@@ -0,0 +1,10 @@
+package org.haven.eventstore.outbox;
+
+/**
+ * Destination the relay publishes outbox messages to. A message is only marked published
+ * once every sink has accepted it, so sinks must tolerate redelivery (at-least-once).
+ */
+public interface OutboxEventSink {
+
+    void publish(OutboxDelivery delivery) throws Exception;
+}
@@ -0,0 +1,39 @@
+package org.haven.eventstore.outbox;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A domain event waiting in the transactional outbox.
+ *
+ * @param id Message id; also the idempotency key consumers deduplicate on
+ * @param aggregateSequence Event store sequence, or null for events that are published but not stored
+ * @param payload Serialized event JSON
+ * @param channel In-process channel the event is delivered on, the one it was originally published to
+ */
+public record OutboxMessage(
+        UUID id,
+        UUID aggregateId,
+        Long aggregateSequence,
+        String eventType,
+        String payload,
+        Channel channel,
+        Instant createdAt,
+        int attempts
+) {
+
+    public enum Channel {
+        /** {@link org.haven.shared.events.EventPublisher} handlers, for events sent through EventPublisher.publish */
+        EVENT_PUBLISHER,
+        /** Spring {@code @EventListener}s, for events appended to the event store */
+        APPLICATION_EVENTS
+    }
+
+    /**
+     * Deterministic id for a stored event, so re-appending the same aggregate version can never
+     * produce a second message for it
+     */
+    public static UUID idForStoredEvent(UUID aggregateId, long sequence) {
+        return UUID.nameUUIDFromBytes((aggregateId + ":" + sequence).getBytes(java.nio.charset.StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,204 @@
+package org.haven.eventstore.outbox;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Relays outbox messages to the registered sinks with at-least-once delivery.
+ *
+ * Messages are claimed in batches with row locks that other relay instances skip, and each
+ * delivery runs in its own transaction so a failing handler only rolls back its own work.
+ * Failed messages are retried with exponential backoff and parked as failed after
+ * max-attempts; later messages for the same aggregate wait until the earlier one is resolved.
+ *
+ * Runs on its own thread (polling plus an immediate wake-up after each committing transaction)
+ * rather than through application-wide scheduling.
+ */
+@Component
+public class OutboxRelay implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(10);
+
+    private final EventOutbox outbox;
+    private final OutboxRepository repository;
+    private final List<OutboxEventSink> sinks;
+    private final TransactionTemplate batchTransaction;
+    private final TransactionTemplate deliveryTransaction;
+    private final boolean enabled;
+    private final long pollIntervalMs;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration baseBackoff;
+
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+    private volatile ScheduledExecutorService executor;
+    private volatile boolean running;
+
+    public OutboxRelay(EventOutbox outbox,
+                       OutboxRepository repository,
+                       List<OutboxEventSink> sinks,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${haven.outbox.relay.enabled:true}") boolean enabled,
+                       @Value("${haven.outbox.relay.poll-interval-ms:1000}") long pollIntervalMs,
+                       @Value("${haven.outbox.relay.batch-size:100}") int batchSize,
+                       @Value("${haven.outbox.relay.max-attempts:10}") int maxAttempts,
+                       @Value("${haven.outbox.relay.base-backoff-ms:1000}") long baseBackoffMs) {
+        this.outbox = outbox;
+        this.repository = repository;
+        this.sinks = List.copyOf(sinks);
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.deliveryTransaction = new TransactionTemplate(transactionManager);
+        this.deliveryTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.pollIntervalMs = pollIntervalMs;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoff = Duration.ofMillis(baseBackoffMs);
+    }
+
+    @Override
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::drain, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+        outbox.onCommit(this::wakeUp);
+        running = true;
+        logger.info("Outbox relay started: batch size {}, poll interval {} ms, {} sink(s)",
+                batchSize, pollIntervalMs, sinks.size());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        outbox.onCommit(() -> { });
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Request an immediate drain; coalesces with a drain that is already queued
+     */
+    void wakeUp() {
+        if (running && wakeUpPending.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                wakeUpPending.set(false);
+                drain();
+            });
+        }
+    }
+
+    /**
+     * Relay batches until nothing is claimable. A short batch does not mean the outbox is
+     * drained: the next message of an aggregate only becomes claimable once the batch that
+     * published its predecessor has committed.
+     */
+    void drain() {
+        try {
+            while (relayBatch() > 0) {
+                // keep draining while messages are claimed
+            }
+        } catch (Exception e) {
+            logger.error("Outbox relay batch failed", e);
+        }
+    }
+
+    /**
+     * Claim and deliver one batch
+     *
+     * @return number of messages claimed
+     */
+    int relayBatch() {
+        Integer claimed = batchTransaction.execute(status -> {
+            List<OutboxMessage> batch = repository.claimBatch(batchSize, Instant.now());
+            Set<UUID> blockedAggregates = new HashSet<>();
+            for (OutboxMessage message : batch) {
+                if (message.aggregateId() != null && blockedAggregates.contains(message.aggregateId())) {
+                    continue;
+                }
+                if (!deliver(message) && message.aggregateId() != null) {
+                    blockedAggregates.add(message.aggregateId());
+                }
+            }
+            return batch.size();
+        });
+        return claimed != null ? claimed : 0;
+    }
+
+    private boolean deliver(OutboxMessage message) {
+        OutboxDelivery delivery = outbox.delivery(message);
+        try {
+            deliveryTransaction.executeWithoutResult(status -> {
+                for (OutboxEventSink sink : sinks) {
+                    try {
+                        sink.publish(delivery);
+                    } catch (RuntimeException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        throw new OutboxDeliveryException(sink, e);
+                    }
+                }
+            });
+            repository.markPublished(message.id(), Instant.now());
+            outbox.delivered(message.id());
+            return true;
+        } catch (Exception e) {
+            int attempts = message.attempts() + 1;
+            String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+            if (attempts >= maxAttempts) {
+                logger.error("Outbox message {} ({}) failed after {} attempts", message.id(), message.eventType(), attempts, e);
+                repository.markFailed(message.id(), attempts, Instant.now(), error);
+                outbox.delivered(message.id());
+            } else {
+                logger.warn("Outbox message {} ({}) failed on attempt {}: {}", message.id(), message.eventType(), attempts, error);
+                repository.scheduleRetry(message.id(), attempts, Instant.now().plus(backoff(attempts)), error);
+            }
+            return false;
+        }
+    }
+
+    Duration backoff(int attempts) {
+        Duration delay = baseBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+
+    static class OutboxDeliveryException extends RuntimeException {
+        OutboxDeliveryException(OutboxEventSink sink, Exception cause) {
+            super(sink.getClass().getSimpleName() + " rejected message: " + cause.getMessage(), cause);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package org.haven.eventstore.outbox;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Storage for outbox messages. Enqueue must join the caller's transaction;
+ * claim must run inside a transaction that also records the outcome.
+ */
+public interface OutboxRepository {
+
+    void enqueue(List<OutboxMessage> messages);
+
+    /**
+     * Lock up to limit deliverable messages, oldest first, skipping rows locked by other relays.
+     * A message is deliverable only when no earlier message of its aggregate is still pending.
+     */
+    List<OutboxMessage> claimBatch(int limit, Instant now);
+
+    void markPublished(UUID id, Instant publishedAt);
+
+    void scheduleRetry(UUID id, int attempts, Instant availableAt, String error);
+
+    void markFailed(UUID id, int attempts, Instant failedAt, String error);
+}
@@ -0,0 +1,59 @@
+package org.haven.eventstore.outbox;
+
+import org.haven.eventstore.infrastructure.EventSerializer;
+import org.haven.shared.events.DomainEvent;
+import org.haven.shared.events.EventPublisher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+
+class InProcessOutboxSinkTest {
+
+    private EventPublisher eventPublisher;
+    private ApplicationEventPublisher applicationEventPublisher;
+    private InProcessOutboxSink sink;
+
+    @BeforeEach
+    void setUp() {
+        eventPublisher = mock(EventPublisher.class);
+        applicationEventPublisher = mock(ApplicationEventPublisher.class);
+        sink = new InProcessOutboxSink(eventPublisher, applicationEventPublisher);
+    }
+
+    @Test
+    void shouldDispatchPublishedEventsOnlyToEventPublisherHandlers() throws Exception {
+        TestEvent event = new TestEvent();
+
+        sink.publish(delivery(event, OutboxMessage.Channel.EVENT_PUBLISHER));
+
+        verify(eventPublisher).dispatch(event);
+        verifyNoInteractions(applicationEventPublisher);
+    }
+
+    @Test
+    void shouldPublishStoredEventsOnlyAsApplicationEvents() throws Exception {
+        TestEvent event = new TestEvent();
+
+        sink.publish(delivery(event, OutboxMessage.Channel.APPLICATION_EVENTS));
+
+        verify(applicationEventPublisher).publishEvent(event);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    private static OutboxDelivery delivery(TestEvent event, OutboxMessage.Channel channel) {
+        OutboxMessage message = new OutboxMessage(UUID.randomUUID(), event.getAggregateId(), null,
+                event.eventType(), "{}", channel, Instant.now(), 0);
+        return new OutboxDelivery(message, event, new EventSerializer());
+    }
+
+    static class TestEvent extends DomainEvent {
+        TestEvent() {
+            super(UUID.randomUUID(), Instant.now());
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package org.haven.eventstore.outbox;
+
+import org.haven.eventstore.infrastructure.EventSerializer;
+import org.haven.shared.events.DomainEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboxRelayTest {
+
+    private InMemoryOutboxRepository repository;
+    private EventOutbox outbox;
+    private RecordingSink sink;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryOutboxRepository();
+        outbox = new EventOutbox(repository, new EventSerializer());
+        sink = new RecordingSink();
+    }
+
+    @Test
+    void shouldDeliverEnqueuedEventsToSinksAndMarkPublished() {
+        UUID aggregateId = UUID.randomUUID();
+        TestEvent first = new TestEvent(aggregateId);
+        TestEvent second = new TestEvent(aggregateId);
+        outbox.enqueueStored(aggregateId, 1, List.of(first, second), List.of("{}", "{}"));
+
+        relay(3).drain();
+
+        assertEquals(2, sink.events.size());
+        assertSame(first, sink.events.get(0), "local event instance should be delivered without deserialization");
+        assertSame(second, sink.events.get(1));
+        assertEquals(OutboxMessage.idForStoredEvent(aggregateId, 1), sink.messageIds.get(0));
+        assertTrue(repository.pending().isEmpty());
+        assertEquals(0, relay(3).relayBatch());
+    }
+
+    @Test
+    void shouldUseDeterministicIdsForStoredEvents() {
+        UUID aggregateId = UUID.randomUUID();
+        outbox.enqueueStored(aggregateId, 7, List.of(new TestEvent(aggregateId)), List.of("{}"));
+        outbox.enqueueStored(aggregateId, 7, List.of(new TestEvent(aggregateId)), List.of("{}"));
+
+        assertEquals(1, repository.rows.size());
+    }
+
+    @Test
+    void shouldNotLetSecondRelayOvertakeMessageLockedByFirst() {
+        UUID aggregateId = UUID.randomUUID();
+        outbox.enqueueStored(aggregateId, 1, List.of(new TestEvent(aggregateId), new TestEvent(aggregateId)),
+                List.of("{}", "{}"));
+        List<OutboxMessage> deliveries = new ArrayList<>();
+        RecordingSink firstSink = new RecordingSink(deliveries);
+        RecordingSink secondSink = new RecordingSink(deliveries);
+        OutboxRelay firstRelay = relay(3, firstSink);
+        OutboxRelay secondRelay = relay(3, secondSink);
+        // The second relay polls while the first still holds the lock on the aggregate's first message
+        firstSink.duringFirstDelivery = secondRelay::relayBatch;
+
+        firstRelay.relayBatch();
+
+        assertTrue(secondSink.events.isEmpty(), "second message must wait for the locked first message");
+        assertEquals(0, repository.rows.get(OutboxMessage.idForStoredEvent(aggregateId, 2)).attempts);
+
+        secondRelay.drain();
+
+        assertEquals(List.of(1L, 2L), deliveries.stream().map(OutboxMessage::aggregateSequence).toList());
+        assertEquals(1, secondSink.events.size());
+        assertTrue(repository.pending().isEmpty());
+    }
+
+    @Test
+    void shouldRetryFailedDeliveryAndHoldBackLaterEventsOfSameAggregate() {
+        UUID failing = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        outbox.enqueueStored(failing, 1, List.of(new TestEvent(failing), new TestEvent(failing)), List.of("{}", "{}"));
+        outbox.enqueueStored(other, 1, List.of(new TestEvent(other)), List.of("{}"));
+        sink.failFor = failing;
+
+        relay(3).relayBatch();
+
+        assertEquals(List.of(other), sink.events.stream().map(DomainEvent::getAggregateId).toList());
+        Row first = repository.rows.get(OutboxMessage.idForStoredEvent(failing, 1));
+        assertEquals(1, first.attempts);
+        assertNotNull(first.lastError);
+        assertTrue(first.availableAt.isAfter(Instant.now()));
+        Row second = repository.rows.get(OutboxMessage.idForStoredEvent(failing, 2));
+        assertEquals(0, second.attempts, "later event of the failing aggregate must not be attempted");
+        assertNull(second.publishedAt);
+    }
+
+    @Test
+    void shouldParkMessageAfterMaxAttempts() {
+        UUID aggregateId = UUID.randomUUID();
+        outbox.enqueueStored(aggregateId, 1, List.of(new TestEvent(aggregateId)), List.of("{}"));
+        sink.failFor = aggregateId;
+        OutboxRelay relay = relay(1);
+
+        relay.relayBatch();
+
+        Row row = repository.rows.get(OutboxMessage.idForStoredEvent(aggregateId, 1));
+        assertNotNull(row.failedAt);
+        assertTrue(repository.pending().isEmpty());
+    }
+
+    @Test
+    void shouldBackOffExponentiallyUpToCap() {
+        OutboxRelay relay = relay(10);
+
+        assertEquals(Duration.ofSeconds(1), relay.backoff(1));
+        assertEquals(Duration.ofSeconds(8), relay.backoff(4));
+        assertEquals(Duration.ofMinutes(10), relay.backoff(30));
+    }
+
+    private OutboxRelay relay(int maxAttempts) {
+        return relay(maxAttempts, sink);
+    }
+
+    private OutboxRelay relay(int maxAttempts, OutboxEventSink relaySink) {
+        return new OutboxRelay(outbox, repository, List.of(relaySink), repository.transactionManager(),
+                true, 1000, 100, maxAttempts, 1000);
+    }
+
+    static class TestEvent extends DomainEvent {
+        TestEvent(UUID aggregateId) {
+            super(aggregateId, Instant.now());
+        }
+    }
+
+    static class RecordingSink implements OutboxEventSink {
+        final List<DomainEvent> events = new ArrayList<>();
+        final List<UUID> messageIds = new ArrayList<>();
+        final List<OutboxMessage> deliveries;
+        UUID failFor;
+        Runnable duringFirstDelivery;
+
+        RecordingSink() {
+            this(new ArrayList<>());
+        }
+
+        RecordingSink(List<OutboxMessage> deliveries) {
+            this.deliveries = deliveries;
+        }
+
+        @Override
+        public void publish(OutboxDelivery delivery) {
+            if (delivery.event().getAggregateId().equals(failFor)) {
+                throw new IllegalStateException("broker unavailable");
+            }
+            if (duringFirstDelivery != null) {
+                Runnable action = duringFirstDelivery;
+                duringFirstDelivery = null;
+                action.run();
+            }
+            events.add(delivery.event());
+            messageIds.add(delivery.messageId());
+            deliveries.add(delivery.message());
+        }
+    }
+
+    static class Row {
+        final OutboxMessage message;
+        int attempts;
+        Instant availableAt;
+        Instant publishedAt;
+        Instant failedAt;
+        String lastError;
+
+        Row(OutboxMessage message) {
+            this.message = message;
+            this.availableAt = message.createdAt();
+        }
+    }
+
+    /**
+     * Outbox table with the claim rules of JdbcOutboxRepository: rows locked by an open transaction
+     * are skipped, and a row waits while any earlier row of its aggregate is pending. Claim locks
+     * are held until the claiming transaction completes.
+     */
+    static class InMemoryOutboxRepository implements OutboxRepository {
+        final Map<UUID, Row> rows = new LinkedHashMap<>();
+        private final Deque<Set<UUID>> openTransactions = new ArrayDeque<>();
+
+        @Override
+        public void enqueue(List<OutboxMessage> messages) {
+            messages.forEach(message -> rows.putIfAbsent(message.id(), new Row(message)));
+        }
+
+        @Override
+        public List<OutboxMessage> claimBatch(int limit, Instant now) {
+            Set<UUID> locked = new HashSet<>();
+            openTransactions.forEach(locked::addAll);
+            List<Row> pending = pending();
+            List<OutboxMessage> claimed = new ArrayList<>();
+            for (int i = 0; i < pending.size() && claimed.size() < limit; i++) {
+                Row row = pending.get(i);
+                UUID aggregateId = row.message.aggregateId();
+                boolean waiting = aggregateId != null && pending.subList(0, i).stream()
+                        .anyMatch(earlier -> aggregateId.equals(earlier.message.aggregateId()));
+                if (waiting || locked.contains(row.message.id()) || row.availableAt.isAfter(now)) {
+                    continue;
+                }
+                claimed.add(new OutboxMessage(row.message.id(), aggregateId,
+                        row.message.aggregateSequence(), row.message.eventType(), row.message.payload(),
+                        row.message.channel(), row.message.createdAt(), row.attempts));
+            }
+            if (!openTransactions.isEmpty()) {
+                claimed.forEach(message -> openTransactions.peek().add(message.id()));
+            }
+            return claimed;
+        }
+
+        @Override
+        public void markPublished(UUID id, Instant publishedAt) {
+            rows.get(id).publishedAt = publishedAt;
+        }
+
+        @Override
+        public void scheduleRetry(UUID id, int attempts, Instant availableAt, String error) {
+            Row row = rows.get(id);
+            row.attempts = attempts;
+            row.availableAt = availableAt;
+            row.lastError = error;
+        }
+
+        @Override
+        public void markFailed(UUID id, int attempts, Instant failedAt, String error) {
+            Row row = rows.get(id);
+            row.attempts = attempts;
+            row.failedAt = failedAt;
+            row.lastError = error;
+        }
+
+        List<Row> pending() {
+            return rows.values().stream()
+                    .filter(row -> row.publishedAt == null && row.failedAt == null)
+                    .toList();
+        }
+
+        /**
+         * Every transaction, including each relay's batch and delivery transactions, gets its own
+         * lock set so a nested relay sees the outer relay's claims as locked
+         */
+        PlatformTransactionManager transactionManager() {
+            return new PlatformTransactionManager() {
+                @Override
+                public TransactionStatus getTransaction(TransactionDefinition definition) {
+                    openTransactions.push(new HashSet<>());
+                    return new SimpleTransactionStatus();
+                }
+
+                @Override
+                public void commit(TransactionStatus status) {
+                    openTransactions.pop();
+                }
+
+                @Override
+                public void rollback(TransactionStatus status) {
+                    openTransactions.pop();
+                }
+            };
+        }
+    }
+}
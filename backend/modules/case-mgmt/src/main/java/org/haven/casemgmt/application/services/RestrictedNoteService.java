@@ -3,10 +3,12 @@ package org.haven.casemgmt.application.services;
 import org.haven.casemgmt.domain.RestrictedNote;
 import org.haven.casemgmt.domain.RestrictedNoteId;
 import org.haven.casemgmt.domain.RestrictedNoteRepository;
+import org.haven.casemgmt.domain.RestrictedNoteSummary;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -108,6 +110,17 @@ public class RestrictedNoteService {
         return restrictedNoteRepository.findByClientIdAccessibleToUser(clientId, userId, userRoles);
     }
     
+    /**
+     * Get summaries of accessible notes for many clients with a single read-model query
+     */
+    public List<RestrictedNoteSummary> getAccessibleNoteSummariesForClients(Collection<UUID> clientIds, UUID userId,
+                                                                           List<String> userRoles) {
+        if (clientIds.isEmpty()) {
+            return List.of();
+        }
+        return restrictedNoteRepository.findSummariesByClientIdsAccessibleToUser(clientIds, userId, userRoles);
+    }
+    
     /**
      * Check if user has access to a specific note
      */
@@ -219,4 +232,4 @@ public class RestrictedNoteService {
             createdByUserId, createdByName, null, "LEGAL_TEAM"
         );
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
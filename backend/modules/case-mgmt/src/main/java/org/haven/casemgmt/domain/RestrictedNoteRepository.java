@@ -1,6 +1,7 @@
 package org.haven.casemgmt.domain;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -35,5 +36,11 @@ public interface RestrictedNoteRepository {
     
     List<RestrictedNote> findByCaseIdAccessibleToUser(UUID caseId, UUID userId, List<String> userRoles);
     
+    /**
+     * Summaries of the notes accessible to the user across many clients, in one read-model pass
+     */
+    List<RestrictedNoteSummary> findSummariesByClientIdsAccessibleToUser(Collection<UUID> clientIds, UUID userId,
+                                                                         List<String> userRoles);
+    
     boolean hasValidAccess(UUID noteId, UUID userId, List<String> userRoles);
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package org.haven.casemgmt.domain;
+
+import java.util.UUID;
+
+/**
+ * Classification fields of a restricted note, read from the read model without rehydrating
+ * the aggregate; used where many clients' notes are screened at once, such as export filtering
+ */
+public record RestrictedNoteSummary(
+    UUID noteId,
+    UUID clientId,
+    RestrictedNote.NoteType noteType,
+    RestrictedNote.VisibilityScope visibilityScope,
+    boolean sealed,
+    String content
+) {
+}
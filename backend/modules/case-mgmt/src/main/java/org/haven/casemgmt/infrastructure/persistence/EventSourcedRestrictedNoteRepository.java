@@ -3,6 +3,7 @@ package org.haven.casemgmt.infrastructure.persistence;
 import org.haven.casemgmt.domain.RestrictedNote;
 import org.haven.casemgmt.domain.RestrictedNoteId;
 import org.haven.casemgmt.domain.RestrictedNoteRepository;
+import org.haven.casemgmt.domain.RestrictedNoteSummary;
 import org.haven.eventstore.EventEnvelope;
 import org.haven.eventstore.EventStore;
 import org.haven.shared.audit.*;
@@ -11,11 +12,11 @@ import org.haven.shared.security.AccessContext;
 import org.haven.shared.security.ConfidentialityPolicyService;
 import org.haven.shared.security.PolicyDecision;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -26,19 +27,16 @@ public class EventSourcedRestrictedNoteRepository implements RestrictedNoteRepos
     
     private final EventStore eventStore;
     private final RestrictedNoteReadModelRepository readModelRepository;
-    private final ApplicationEventPublisher eventPublisher;
     private final ConfidentialityPolicyService policyService;
     private final PrivilegedAuditService privilegedAuditService;
 
     @Autowired
     public EventSourcedRestrictedNoteRepository(EventStore eventStore,
                                                RestrictedNoteReadModelRepository readModelRepository,
-                                               ApplicationEventPublisher eventPublisher,
                                                ConfidentialityPolicyService policyService,
                                                PrivilegedAuditService privilegedAuditService) {
         this.eventStore = eventStore;
         this.readModelRepository = readModelRepository;
-        this.eventPublisher = eventPublisher;
         this.policyService = policyService;
         this.privilegedAuditService = privilegedAuditService;
     }
@@ -64,13 +62,9 @@ public class EventSourcedRestrictedNoteRepository implements RestrictedNoteRepos
         List<DomainEvent> pendingEvents = aggregate.getPendingEvents();
 
         if (!pendingEvents.isEmpty()) {
+            // Projection handlers receive these from the outbox relay after commit
             eventStore.append(aggregate.getId().value(), aggregate.getVersion() - pendingEvents.size(), pendingEvents);
 
-            // Publish events for projection handlers
-            for (DomainEvent event : pendingEvents) {
-                eventPublisher.publishEvent(event);
-            }
-
             // Emit privileged audit events for DV note operations
             auditDomainEvents(aggregate, pendingEvents);
 
@@ -197,6 +191,30 @@ public class EventSourcedRestrictedNoteRepository implements RestrictedNoteRepos
             .collect(Collectors.toList());
     }
     
+    @Override
+    public List<RestrictedNoteSummary> findSummariesByClientIdsAccessibleToUser(Collection<UUID> clientIds, UUID userId,
+                                                                                List<String> userRoles) {
+        List<RestrictedNoteReadModel.VisibilityScope> allowedScopes = getAllowedScopes(userRoles);
+        List<UUID> ids = clientIds.stream().distinct().toList();
+        List<RestrictedNoteSummary> summaries = new ArrayList<>();
+        // Chunked to keep IN lists under the driver's bind parameter limit
+        for (int from = 0; from < ids.size(); from += 1000) {
+            readModelRepository.findByClientIdInAndVisibilityScopeIn(
+                    ids.subList(from, Math.min(from + 1000, ids.size())), allowedScopes)
+                .stream()
+                .filter(readModel -> isAccessible(readModel, userId, userRoles, allowedScopes))
+                .map(readModel -> new RestrictedNoteSummary(
+                    readModel.getNoteId(),
+                    readModel.getClientId(),
+                    RestrictedNote.NoteType.valueOf(readModel.getNoteType().name()),
+                    RestrictedNote.VisibilityScope.valueOf(readModel.getVisibilityScope().name()),
+                    readModel.isSealed(),
+                    readModel.getContent()))
+                .forEach(summaries::add);
+        }
+        return summaries;
+    }
+    
     @Override
     public boolean hasValidAccess(UUID noteId, UUID userId, List<String> userRoles) {
         Optional<RestrictedNote> note = findById(RestrictedNoteId.of(noteId));
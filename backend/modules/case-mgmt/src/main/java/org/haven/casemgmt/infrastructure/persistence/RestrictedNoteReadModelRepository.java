@@ -6,6 +6,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -29,6 +30,9 @@ public interface RestrictedNoteReadModelRepository extends JpaRepository<Restric
     @Query("SELECT n FROM RestrictedNoteReadModel n WHERE n.clientId = :clientId AND n.visibilityScope IN :allowedScopes ORDER BY n.createdAt DESC")
     List<RestrictedNoteReadModel> findByClientIdAndVisibilityScopeIn(@Param("clientId") UUID clientId, @Param("allowedScopes") List<RestrictedNoteReadModel.VisibilityScope> allowedScopes);
     
+    @Query("SELECT n FROM RestrictedNoteReadModel n WHERE n.clientId IN :clientIds AND n.visibilityScope IN :allowedScopes")
+    List<RestrictedNoteReadModel> findByClientIdInAndVisibilityScopeIn(@Param("clientIds") Collection<UUID> clientIds, @Param("allowedScopes") List<RestrictedNoteReadModel.VisibilityScope> allowedScopes);
+    
     @Query("SELECT n FROM RestrictedNoteReadModel n WHERE n.caseId = :caseId AND n.visibilityScope IN :allowedScopes ORDER BY n.createdAt DESC")
     List<RestrictedNoteReadModel> findByCaseIdAndVisibilityScopeIn(@Param("caseId") UUID caseId, @Param("allowedScopes") List<RestrictedNoteReadModel.VisibilityScope> allowedScopes);
     
@@ -43,4 +47,4 @@ public interface RestrictedNoteReadModelRepository extends JpaRepository<Restric
     
     @Query("SELECT n FROM RestrictedNoteReadModel n WHERE n.clientId = :clientId AND n.isSealed = :isSealed AND n.visibilityScope IN :allowedScopes ORDER BY n.createdAt DESC")
     List<RestrictedNoteReadModel> findByClientIdAndSealedStatusAndVisibilityScope(@Param("clientId") UUID clientId, @Param("isSealed") boolean isSealed, @Param("allowedScopes") List<RestrictedNoteReadModel.VisibilityScope> allowedScopes);
-}
\ No newline at end of file
+}
\ No newline at end of file
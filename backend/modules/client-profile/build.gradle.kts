@@ -31,6 +31,9 @@ dependencies {
     // JSON handling
     implementation("com.fasterxml.jackson.core:jackson-databind")
 
+    // Consent decision cache
+    implementation("com.github.ben-manes.caffeine:caffeine")
+
     // PostgreSQL JDBC
     implementation("org.postgresql:postgresql")
 
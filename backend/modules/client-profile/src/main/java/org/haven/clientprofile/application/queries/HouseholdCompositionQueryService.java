@@ -5,14 +5,22 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Query service for household composition read models
- * Provides optimized queries for household member information
+ * Member details come from the denormalized household_member_view, so a household screen costs
+ * one composition query plus one member query regardless of household size. Compositions with no
+ * view rows yet are built from their membership records with a single bulk client lookup.
  */
 @Service
 @Transactional(readOnly = true)
@@ -20,12 +28,15 @@ public class HouseholdCompositionQueryService {
     
     private final HouseholdCompositionRepository householdRepository;
     private final ClientRepository clientRepository;
+    private final HouseholdMemberViewRepository memberViewRepository;
     
     public HouseholdCompositionQueryService(
             HouseholdCompositionRepository householdRepository,
-            ClientRepository clientRepository) {
+            ClientRepository clientRepository,
+            HouseholdMemberViewRepository memberViewRepository) {
         this.householdRepository = householdRepository;
         this.clientRepository = clientRepository;
+        this.memberViewRepository = memberViewRepository;
     }
     
     /**
@@ -33,16 +44,22 @@ public class HouseholdCompositionQueryService {
      */
     public Optional<HouseholdCompositionReadModel> getHouseholdComposition(HouseholdCompositionId compositionId) {
         return householdRepository.findById(compositionId)
-            .map(this::buildCompleteReadModel);
+            .map(composition -> buildCompleteReadModels(List.of(composition)).get(0));
     }
     
     /**
      * Get active household members as of a specific date
      */
     public List<HouseholdMemberReadModel> getActiveHouseholdMembers(HouseholdCompositionId compositionId, LocalDate asOfDate) {
-        return householdRepository.findById(compositionId)
-            .map(composition -> buildActiveMemberReadModels(composition, asOfDate))
-            .orElse(List.of());
+        List<HouseholdMemberReadModel> members = memberViewRepository.findByCompositionIds(List.of(compositionId.getValue()));
+        if (members.isEmpty()) {
+            members = householdRepository.findById(compositionId)
+                .map(composition -> buildMembersFromCompositions(List.of(composition)))
+                .orElse(List.of());
+        }
+        return members.stream()
+            .filter(member -> isActiveMemberOn(member, asOfDate))
+            .toList();
     }
     
     /**
@@ -50,72 +67,85 @@ public class HouseholdCompositionQueryService {
      */
     public Optional<HouseholdCompositionReadModel> getActiveHouseholdForClient(ClientId clientId, LocalDate asOfDate) {
         return householdRepository.findActiveHouseholdForClient(clientId, asOfDate)
-            .map(this::buildCompleteReadModel);
+            .map(composition -> buildCompleteReadModels(List.of(composition)).get(0));
     }
     
     /**
      * Get households by head of household with summary information
      */
     public List<HouseholdCompositionReadModel> getHouseholdsByHeadOfHousehold(ClientId headOfHouseholdId) {
-        return householdRepository.findByHeadOfHouseholdId(headOfHouseholdId)
-            .stream()
-            .map(this::buildCompleteReadModel)
-            .toList();
+        return buildCompleteReadModels(householdRepository.findByHeadOfHouseholdId(headOfHouseholdId));
     }
     
     /**
      * Get households where client is a member with summary information
      */
     public List<HouseholdCompositionReadModel> getHouseholdsByMember(ClientId memberId) {
-        return householdRepository.findByMemberId(memberId)
-            .stream()
-            .map(this::buildCompleteReadModel)
-            .toList();
+        return buildCompleteReadModels(householdRepository.findByMemberId(memberId));
     }
     
     /**
      * Get household composition history for a client
      */
     public List<HouseholdMemberReadModel> getClientHouseholdHistory(ClientId clientId) {
-        List<HouseholdComposition> compositions = householdRepository.findByMemberId(clientId);
+        List<HouseholdMemberReadModel> history = memberViewRepository.findMembershipsOfClient(clientId.value());
+        if (!history.isEmpty()) {
+            return history;
+        }
         
-        return compositions.stream()
-            .flatMap(composition -> composition.getMembershipHistory().stream()
-                .filter(membership -> membership.getMemberId().equals(clientId))
-                .map(membership -> buildMemberReadModel(composition, membership)))
+        return buildMembersFromCompositions(householdRepository.findByMemberId(clientId)).stream()
+            .filter(member -> !member.isHeadOfHousehold() && member.memberId().equals(clientId.value()))
             .collect(Collectors.toList());
     }
     
     /**
-     * Build complete read model with all member details
+     * Build complete read models, loading the members of all compositions together
+     */
+    private List<HouseholdCompositionReadModel> buildCompleteReadModels(List<HouseholdComposition> compositions) {
+        if (compositions.isEmpty()) {
+            return List.of();
+        }
+        
+        Map<UUID, List<HouseholdMemberReadModel>> membersByComposition = groupByComposition(
+            memberViewRepository.findByCompositionIds(
+                compositions.stream().map(composition -> composition.getId().getValue()).toList()));
+        
+        List<HouseholdComposition> notProjected = compositions.stream()
+            .filter(composition -> !membersByComposition.containsKey(composition.getId().getValue()))
+            .toList();
+        if (!notProjected.isEmpty()) {
+            membersByComposition.putAll(groupByComposition(buildMembersFromCompositions(notProjected)));
+        }
+        
+        return compositions.stream()
+            .map(composition -> buildCompleteReadModel(composition,
+                membersByComposition.getOrDefault(composition.getId().getValue(), List.of())))
+            .toList();
+    }
+    
+    /**
+     * Build complete read model from the composition and its member rows
      */
-    private HouseholdCompositionReadModel buildCompleteReadModel(HouseholdComposition composition) {
+    private HouseholdCompositionReadModel buildCompleteReadModel(HouseholdComposition composition,
+                                                                 List<HouseholdMemberReadModel> allMembers) {
         LocalDate today = LocalDate.now();
         
-        // Get head of household information
-        Client headOfHousehold = clientRepository.findById(composition.getHeadOfHouseholdId())
+        HouseholdMemberReadModel headOfHousehold = allMembers.stream()
+            .filter(HouseholdMemberReadModel::isHeadOfHousehold)
+            .findFirst()
             .orElse(null);
         
-        // Build member read models including head of household
-        List<HouseholdMemberReadModel> allMembers = buildAllMemberReadModels(composition);
         List<HouseholdMemberReadModel> activeMembers = allMembers.stream()
             .filter(member -> isActiveMemberOn(member, today))
             .toList();
         
-        // Build custody change models
-        List<HouseholdCompositionReadModel.CustodyChangeReadModel> custodyChanges = 
-            buildCustodyChangeReadModels(composition);
-        
         return new HouseholdCompositionReadModel(
             composition.getId().getValue(),
             composition.getHeadOfHouseholdId().value(),
-            headOfHousehold != null && headOfHousehold.getPrimaryName() != null && !headOfHousehold.getPrimaryName().given().isEmpty() ? 
-                headOfHousehold.getPrimaryName().given().get(0) : "Unknown",
-            headOfHousehold != null && headOfHousehold.getPrimaryName() != null ? 
-                headOfHousehold.getPrimaryName().family() : "Unknown",
-            headOfHousehold != null && headOfHousehold.getPrimaryName() != null ? 
-                headOfHousehold.getPrimaryName().text() : "Unknown",
-            headOfHousehold != null ? headOfHousehold.getBirthDate() : null,
+            headOfHousehold != null ? headOfHousehold.memberFirstName() : "Unknown",
+            headOfHousehold != null ? headOfHousehold.memberLastName() : "Unknown",
+            headOfHousehold != null ? headOfHousehold.memberFullName() : "Unknown",
+            headOfHousehold != null ? headOfHousehold.memberDateOfBirth() : null,
             composition.getCompositionDate(),
             composition.getHouseholdType(),
             composition.getNotes(),
@@ -125,69 +155,58 @@ public class HouseholdCompositionQueryService {
             (int) activeMembers.stream().filter(this::isChildRelationship).count(),
             allMembers,
             activeMembers,
-            custodyChanges
+            buildCustodyChangeReadModels(allMembers)
         );
     }
     
     /**
-     * Build all member read models including head of household
+     * Build member read models, head of household first, from membership records when the
+     * compositions have no view rows; all heads and members are resolved in one client query
      */
-    private List<HouseholdMemberReadModel> buildAllMemberReadModels(HouseholdComposition composition) {
-        List<HouseholdMemberReadModel> members = composition.getMembershipHistory()
-            .stream()
-            .map(membership -> buildMemberReadModel(composition, membership))
-            .collect(Collectors.toList());
+    private List<HouseholdMemberReadModel> buildMembersFromCompositions(Collection<HouseholdComposition> compositions) {
+        Set<ClientId> clientIds = compositions.stream()
+            .flatMap(composition -> Stream.concat(
+                Stream.of(composition.getHeadOfHouseholdId()),
+                composition.getMembershipHistory().stream().map(HouseholdMembershipRecord::getMemberId)))
+            .collect(Collectors.toSet());
+        Map<ClientId, ClientSummary> summaries = clientRepository.findSummariesByIds(clientIds);
         
-        // Add head of household
-        Client headOfHousehold = clientRepository.findById(composition.getHeadOfHouseholdId())
-            .orElse(null);
-        
-        if (headOfHousehold != null) {
-            HouseholdMemberReadModel headReadModel = HouseholdMemberReadModel.forHeadOfHousehold(
-                composition.getId().getValue(),
-                composition.getHeadOfHouseholdId().value(),
-                headOfHousehold.getPrimaryName() != null && !headOfHousehold.getPrimaryName().given().isEmpty() ? 
-                    headOfHousehold.getPrimaryName().given().get(0) : "Unknown",
-                headOfHousehold.getPrimaryName() != null ? 
-                    headOfHousehold.getPrimaryName().family() : "Unknown",
-                headOfHousehold.getPrimaryName() != null ? 
-                    headOfHousehold.getPrimaryName().text() : "Unknown",
-                headOfHousehold.getBirthDate(),
-                composition.getCompositionDate(),
-                composition.getCreatedAt()
-            );
-            members.add(0, headReadModel); // Add head of household first
+        List<HouseholdMemberReadModel> members = new ArrayList<>();
+        for (HouseholdComposition composition : compositions) {
+            ClientSummary head = summaries.get(composition.getHeadOfHouseholdId());
+            if (head != null) {
+                members.add(HouseholdMemberReadModel.forHeadOfHousehold(
+                    composition.getId().getValue(),
+                    composition.getHeadOfHouseholdId().value(),
+                    displayFirstName(head),
+                    displayLastName(head),
+                    displayFullName(head),
+                    head.birthDate(),
+                    composition.getCompositionDate(),
+                    composition.getCreatedAt()
+                ));
+            }
+            for (HouseholdMembershipRecord membership : composition.getMembershipHistory()) {
+                members.add(buildMemberReadModel(composition, membership, summaries.get(membership.getMemberId())));
+            }
         }
-        
         return members;
     }
     
-    /**
-     * Build active member read models for a specific date
-     */
-    private List<HouseholdMemberReadModel> buildActiveMemberReadModels(HouseholdComposition composition, LocalDate asOfDate) {
-        return buildAllMemberReadModels(composition).stream()
-            .filter(member -> isActiveMemberOn(member, asOfDate))
-            .toList();
-    }
-    
     /**
      * Build member read model from membership record
      */
-    private HouseholdMemberReadModel buildMemberReadModel(HouseholdComposition composition, HouseholdMembershipRecord membership) {
-        Client member = clientRepository.findById(membership.getMemberId()).orElse(null);
-        
+    private HouseholdMemberReadModel buildMemberReadModel(HouseholdComposition composition,
+                                                          HouseholdMembershipRecord membership,
+                                                          ClientSummary member) {
         return new HouseholdMemberReadModel(
             membership.getMembershipId(),
             composition.getId().getValue(),
             membership.getMemberId().value(),
-            member != null && member.getPrimaryName() != null && !member.getPrimaryName().given().isEmpty() ? 
-                member.getPrimaryName().given().get(0) : "Unknown",
-            member != null && member.getPrimaryName() != null ? 
-                member.getPrimaryName().family() : "Unknown",
-            member != null && member.getPrimaryName() != null ? 
-                member.getPrimaryName().text() : "Unknown",
-            member != null ? member.getBirthDate() : null,
+            displayFirstName(member),
+            displayLastName(member),
+            displayFullName(member),
+            member != null ? member.birthDate() : null,
             membership.getRelationship().coding().isEmpty() ? null : 
                 membership.getRelationship().coding().get(0).code(),
             membership.getRelationship().coding().isEmpty() ? null : 
@@ -206,32 +225,45 @@ public class HouseholdCompositionQueryService {
     /**
      * Build custody change read models
      */
-    private List<HouseholdCompositionReadModel.CustodyChangeReadModel> buildCustodyChangeReadModels(HouseholdComposition composition) {
-        return composition.getMembershipHistory().stream()
-            .filter(membership -> membership.getReason() != null && 
-                   (membership.getReason().toLowerCase().contains("custody") || 
-                    membership.getReason().toLowerCase().contains("court order")))
-            .map(membership -> {
-                Client child = clientRepository.findById(membership.getMemberId()).orElse(null);
-                return new HouseholdCompositionReadModel.CustodyChangeReadModel(
-                    membership.getMembershipId(),
-                    membership.getMemberId().value(),
-                    child != null && child.getPrimaryName() != null && !child.getPrimaryName().given().isEmpty() ? 
-                        child.getPrimaryName().given().get(0) : "Unknown",
-                    child != null && child.getPrimaryName() != null ? 
-                        child.getPrimaryName().family() : "Unknown",
-                    null, // Previous relationship would need to be tracked separately
-                    membership.getRelationship().coding().isEmpty() ? null : 
-                        membership.getRelationship().coding().get(0).code(),
-                    membership.getStartDate(),
-                    extractCourtOrderFromReason(membership.getReason()),
-                    membership.getRecordedBy(),
-                    membership.getRecordedAt()
-                );
-            })
+    private List<HouseholdCompositionReadModel.CustodyChangeReadModel> buildCustodyChangeReadModels(
+            List<HouseholdMemberReadModel> members) {
+        return members.stream()
+            .filter(member -> !member.isHeadOfHousehold())
+            .filter(member -> member.reason() != null && 
+                   (member.reason().toLowerCase().contains("custody") || 
+                    member.reason().toLowerCase().contains("court order")))
+            .map(member -> new HouseholdCompositionReadModel.CustodyChangeReadModel(
+                member.membershipId(),
+                member.memberId(),
+                member.memberFirstName(),
+                member.memberLastName(),
+                null, // Previous relationship would need to be tracked separately
+                member.relationshipCode(),
+                member.membershipStartDate(),
+                extractCourtOrderFromReason(member.reason()),
+                member.recordedBy(),
+                member.recordedAt()
+            ))
             .toList();
     }
     
+    private Map<UUID, List<HouseholdMemberReadModel>> groupByComposition(List<HouseholdMemberReadModel> members) {
+        return members.stream().collect(Collectors.groupingBy(
+            HouseholdMemberReadModel::householdCompositionId, LinkedHashMap::new, Collectors.toList()));
+    }
+    
+    private String displayFirstName(ClientSummary client) {
+        return client != null && client.firstName() != null ? client.firstName() : "Unknown";
+    }
+    
+    private String displayLastName(ClientSummary client) {
+        return client != null && client.lastName() != null ? client.lastName() : "Unknown";
+    }
+    
+    private String displayFullName(ClientSummary client) {
+        return client != null && client.fullName() != null ? client.fullName() : "Unknown";
+    }
+    
     private boolean isActiveMemberOn(HouseholdMemberReadModel member, LocalDate date) {
         if (member.isHeadOfHousehold()) {
             return true; // Head of household is always active
@@ -265,4 +297,4 @@ public class HouseholdCompositionQueryService {
         }
         return reason;
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package org.haven.clientprofile.application.queries;
+
+import org.haven.clientprofile.domain.ClientSummary;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Storage for the denormalized household member read model: one row per membership record
+ * plus one head-of-household row per composition, each carrying the member's display fields
+ */
+public interface HouseholdMemberViewRepository {
+    
+    /**
+     * Rows of all given compositions, heads of household first
+     */
+    List<HouseholdMemberReadModel> findByCompositionIds(Collection<UUID> compositionIds);
+    
+    /**
+     * Membership rows of a client across every household, excluding head-of-household rows
+     */
+    List<HouseholdMemberReadModel> findMembershipsOfClient(UUID memberId);
+    
+    /**
+     * Insert a row, replacing any row with the same membership (or head of the same composition)
+     */
+    void save(HouseholdMemberReadModel member);
+    
+    void endMembership(UUID membershipId, LocalDate endDate, String endedBy, String endReason, Instant recordedAt);
+    
+    /**
+     * Refresh the denormalized display fields on every row of the client
+     */
+    void updateMemberDetails(ClientSummary summary);
+}
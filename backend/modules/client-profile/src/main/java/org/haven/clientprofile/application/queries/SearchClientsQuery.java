@@ -2,5 +2,13 @@ package org.haven.clientprofile.application.queries;
 
 public record SearchClientsQuery(
     String name,
-    boolean activeOnly
-) {}
\ No newline at end of file
+    boolean activeOnly,
+    int page,
+    int size
+) {
+    public static final int DEFAULT_PAGE_SIZE = 25;
+
+    public SearchClientsQuery(String name, boolean activeOnly) {
+        this(name, activeOnly, 0, DEFAULT_PAGE_SIZE);
+    }
+}
\ No newline at end of file
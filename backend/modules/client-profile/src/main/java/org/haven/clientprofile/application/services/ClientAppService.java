@@ -16,10 +16,13 @@ public class ClientAppService {
     
     private final ClientRepository clientRepository;
     private final ClientDomainService clientDomainService;
+    private final ClientNameIndex clientNameIndex;
     
-    public ClientAppService(ClientRepository clientRepository, ClientDomainService clientDomainService) {
+    public ClientAppService(ClientRepository clientRepository, ClientDomainService clientDomainService,
+                            ClientNameIndex clientNameIndex) {
         this.clientRepository = clientRepository;
         this.clientDomainService = clientDomainService;
+        this.clientNameIndex = clientNameIndex;
     }
     
     public ClientId handle(CreateClientCmd cmd) {
@@ -95,8 +98,12 @@ public class ClientAppService {
     @Transactional(readOnly = true)
     public List<ClientDto> handle(SearchClientsQuery query) {
         if (query.name() != null) {
-            return clientRepository.findByNameContaining(query.name())
-                .stream().map(this::toDto).toList();
+            // Ranked page of ids from the blind index, filtered before paging; only that page of clients is loaded
+            return clientNameIndex.search(query.name(), query.activeOnly(), query.page(), query.size()).stream()
+                .map(clientRepository::findById)
+                .flatMap(Optional::stream)
+                .map(this::toDto)
+                .toList();
         }
         
         if (query.activeOnly()) {
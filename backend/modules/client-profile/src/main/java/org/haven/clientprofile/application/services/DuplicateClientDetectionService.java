@@ -0,0 +1,198 @@
+package org.haven.clientprofile.application.services;
+
+import org.haven.clientprofile.domain.Client;
+import org.haven.clientprofile.domain.ClientRepository;
+import org.haven.clientprofile.domain.duplicates.ClientMatchFeatures;
+import org.haven.clientprofile.domain.duplicates.DuplicateCandidate;
+import org.haven.clientprofile.domain.duplicates.DuplicateCandidateRepository;
+import org.haven.clientprofile.domain.duplicates.DuplicateClientScorer;
+import org.haven.clientprofile.infrastructure.security.ClientMatchFeatureExtractor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Probabilistic duplicate-client detection
+ * Clients are reduced to keyed-hash match features and grouped by blocking keys; only
+ * clients sharing a block are scored, so each save compares against a handful of
+ * neighbours instead of the whole client base. Pairs at or above the configured score
+ * are kept in the client_duplicate_candidates read model for review.
+ */
+@Service
+public class DuplicateClientDetectionService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DuplicateClientDetectionService.class);
+    
+    private final DuplicateCandidateRepository repository;
+    private final ClientMatchFeatureExtractor featureExtractor;
+    private final ClientRepository clientRepository;
+    private final DuplicateClientScorer scorer = new DuplicateClientScorer();
+    private final double minScore;
+    private final int maxBlockSize;
+    private final int batchParallelism;
+    
+    public DuplicateClientDetectionService(
+            DuplicateCandidateRepository repository,
+            ClientMatchFeatureExtractor featureExtractor,
+            @Lazy ClientRepository clientRepository,
+            @Value("${haven.clients.duplicates.min-score:12.0}") double minScore,
+            @Value("${haven.clients.duplicates.max-block-size:500}") int maxBlockSize,
+            @Value("${haven.clients.duplicates.batch-parallelism:0}") int batchParallelism) {
+        this.repository = repository;
+        this.featureExtractor = featureExtractor;
+        this.clientRepository = clientRepository;
+        this.minScore = minScore;
+        this.maxBlockSize = maxBlockSize;
+        this.batchParallelism = batchParallelism > 0 ? batchParallelism : Runtime.getRuntime().availableProcessors();
+    }
+    
+    /**
+     * Re-match one client after it was created or its demographics changed
+     * Skips all matching work when the client's match features are unchanged
+     */
+    @Transactional
+    public void detect(Client client) {
+        ClientMatchFeatures stored = repository.findFeatures(client.getId().value()).orElse(null);
+        ClientMatchFeatures features = featureExtractor.extract(client, stored);
+        if (features.equals(stored)) {
+            return;
+        }
+        repository.saveFeatures(List.of(features));
+        
+        Instant now = Instant.now();
+        List<DuplicateCandidate> candidates = new ArrayList<>();
+        for (ClientMatchFeatures neighbour : repository.findBlockNeighbours(features.clientId(), features.blockingKeys(), maxBlockSize)) {
+            DuplicateClientScorer.MatchScore match = scorer.score(features, neighbour);
+            if (match.score() >= minScore) {
+                candidates.add(DuplicateCandidate.open(features.clientId(), neighbour.clientId(), match, now));
+            }
+        }
+        repository.deleteOpenCandidatesExcept(features.clientId(), candidates.stream()
+            .map(c -> c.otherClient(features.clientId()))
+            .collect(Collectors.toSet()));
+        repository.upsertCandidates(candidates);
+    }
+    
+    /**
+     * Remove a deleted client from matching and from every candidate pair
+     */
+    @Transactional
+    public void remove(UUID clientId) {
+        repository.deleteClient(clientId);
+    }
+    
+    /**
+     * Full pass over the client base: refresh every client's features, then score all pairs
+     * within each block in parallel and replace the unreviewed candidate set. Reviewed pairs
+     * keep their decision.
+     * @return number of candidate pairs found
+     */
+    @Transactional
+    public int runBatch() {
+        return batch(keyUnchanged());
+    }
+    
+    /**
+     * Re-run the batch when the stored features were hashed under another key, or the key was never recorded
+     * Without a configured haven.clients.duplicates.hash-salt or PII encryption key the key is generated
+     * per start, so this happens on every start
+     * @return whether the batch ran
+     */
+    @Transactional
+    public boolean runBatchIfKeyChanged() {
+        if (keyUnchanged()) {
+            return false;
+        }
+        logger.warn("Client match features were hashed under another key; recomputing them for every client");
+        batch(false);
+        return true;
+    }
+    
+    private boolean keyUnchanged() {
+        return repository.findKeyFingerprint().filter(featureExtractor.keyFingerprint()::equals).isPresent();
+    }
+    
+    /**
+     * @param keepStored Reuse stored SSN hashes for clients without an SSN; hashes from another key match nothing
+     */
+    private int batch(boolean keepStored) {
+        long started = System.currentTimeMillis();
+        Map<UUID, ClientMatchFeatures> stored = keepStored
+            ? repository.findAllFeatures().stream()
+                .collect(Collectors.toMap(ClientMatchFeatures::clientId, Function.identity()))
+            : Map.of();
+        List<ClientMatchFeatures> features = clientRepository.findActiveClients().stream()
+            .map(client -> featureExtractor.extract(client, stored.get(client.getId().value())))
+            .toList();
+        repository.saveFeatures(features.stream()
+            .filter(f -> !f.equals(stored.get(f.clientId())))
+            .toList());
+        repository.saveKeyFingerprint(featureExtractor.keyFingerprint());
+        
+        Map<String, List<ClientMatchFeatures>> blocks = new HashMap<>();
+        for (ClientMatchFeatures f : features) {
+            for (String key : f.blockingKeys()) {
+                blocks.computeIfAbsent(key, k -> new ArrayList<>()).add(f);
+            }
+        }
+        
+        Instant now = Instant.now();
+        Map<List<UUID>, DuplicateCandidate> candidates = new ConcurrentHashMap<>();
+        ForkJoinPool pool = new ForkJoinPool(batchParallelism);
+        try {
+            pool.submit(() -> blocks.values().parallelStream()
+                .filter(block -> block.size() > 1 && block.size() <= maxBlockSize)
+                .forEach(block -> scoreBlock(block, now, candidates)))
+                .get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Duplicate detection batch interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Duplicate detection batch failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        
+        repository.deleteAllOpenCandidates();
+        repository.upsertCandidates(candidates.values());
+        logger.info("Duplicate detection batch scored {} clients in {} blocks: {} candidate pairs in {} ms",
+            features.size(), blocks.size(), candidates.size(), System.currentTimeMillis() - started);
+        return candidates.size();
+    }
+    
+    @Transactional(readOnly = true)
+    public List<DuplicateCandidate> findCandidatesForClient(UUID clientId) {
+        return repository.findCandidatesForClient(clientId);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<DuplicateCandidate> findOpenCandidates(int page, int size) {
+        return repository.findOpenCandidates(minScore, page, size);
+    }
+    
+    private void scoreBlock(List<ClientMatchFeatures> block, Instant now, Map<List<UUID>, DuplicateCandidate> candidates) {
+        for (int i = 0; i < block.size(); i++) {
+            for (int j = i + 1; j < block.size(); j++) {
+                ClientMatchFeatures a = block.get(i);
+                ClientMatchFeatures b = block.get(j);
+                DuplicateClientScorer.MatchScore match = scorer.score(a, b);
+                if (match.score() >= minScore) {
+                    DuplicateCandidate candidate = DuplicateCandidate.open(a.clientId(), b.clientId(), match, now);
+                    // The same pair can meet in several blocks; its score is the same in each
+                    candidates.putIfAbsent(List.of(candidate.clientIdA(), candidate.clientIdB()), candidate);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package org.haven.clientprofile.domain;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Privacy-preserving name search index for clients.
+ * Holds keyed hashes of name tokens only, so names can be searched without decrypting client rows.
+ */
+public interface ClientNameIndex {
+
+    /**
+     * Replace the indexed tokens for a client with those of its current names
+     */
+    void index(Client client);
+
+    void remove(ClientId clientId);
+
+    /**
+     * Clients matching the query, best match first
+     * @param activeOnly Restrict to active clients before the page is cut, so every page is full
+     */
+    List<ClientId> search(String name, boolean activeOnly, int page, int size);
+
+    /**
+     * Whether the index was built under the current index key; tokens from another key match nothing
+     */
+    boolean isCurrent();
+
+    /**
+     * Drop every token and index the given clients under the current key
+     */
+    void rebuild(Collection<Client> clients);
+}
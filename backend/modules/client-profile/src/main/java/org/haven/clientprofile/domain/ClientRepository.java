@@ -3,7 +3,9 @@ package org.haven.clientprofile.domain;
 import org.haven.shared.domain.Repository;
 import org.haven.shared.vo.HumanName;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface ClientRepository extends Repository<Client, ClientId> {
@@ -14,4 +16,9 @@ public interface ClientRepository extends Repository<Client, ClientId> {
     
     // Additional methods for reporting
     List<Client> findByCreatedAtBetween(Instant startDate, Instant endDate);
+    
+    /**
+     * Display fields for many clients in bulk; clients that do not exist are absent from the map
+     */
+    Map<ClientId, ClientSummary> findSummariesByIds(Collection<ClientId> clientIds);
 }
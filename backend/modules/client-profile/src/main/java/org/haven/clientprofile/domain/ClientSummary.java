@@ -0,0 +1,16 @@
+package org.haven.clientprofile.domain;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Display fields of a client, loaded without materializing the full aggregate
+ */
+public record ClientSummary(UUID clientId, String firstName, String lastName, LocalDate birthDate) {
+
+    public String fullName() {
+        if (firstName == null) return lastName;
+        if (lastName == null) return firstName;
+        return firstName + " " + lastName;
+    }
+}
@@ -4,7 +4,9 @@ import org.haven.clientprofile.domain.ClientId;
 import org.haven.shared.domain.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -17,6 +19,12 @@ public interface ConsentRepository extends Repository<Consent, ConsentId> {
      */
     List<Consent> findActiveConsentsForClient(ClientId clientId);
     
+    /**
+     * Find all active consents for many clients at once, keyed by client;
+     * clients without active consents map to an empty list
+     */
+    Map<ClientId, List<Consent>> findActiveConsentsForClients(Collection<ClientId> clientIds);
+    
     /**
      * Find specific consent type for a client
      */
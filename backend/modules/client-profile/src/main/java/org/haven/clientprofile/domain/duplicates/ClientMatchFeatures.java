@@ -0,0 +1,29 @@
+package org.haven.clientprofile.domain.duplicates;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Keyed hashes of the identifying fields of one client, used for record linkage.
+ * Only hashes are held, so two clients can be compared field by field for equality
+ * without either record's names, date of birth or SSN being stored alongside.
+ * Any hash may be null when the client has no value for that field.
+ */
+public record ClientMatchFeatures(
+    UUID clientId,
+    String firstNameHash,
+    String firstNamePhoneticHash,
+    String lastNameHash,
+    String lastNamePhoneticHash,
+    String birthDateHash,
+    String birthYearHash,
+    String birthMonthDayHash,
+    String ssnHash,
+    String ssnLast4Hash,
+    Set<String> blockingKeys
+) {
+    
+    public ClientMatchFeatures {
+        blockingKeys = blockingKeys != null ? Set.copyOf(blockingKeys) : Set.of();
+    }
+}
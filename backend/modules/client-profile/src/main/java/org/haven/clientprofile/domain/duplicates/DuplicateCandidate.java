@@ -0,0 +1,37 @@
+package org.haven.clientprofile.domain.duplicates;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A pair of clients that may be the same person, with the linkage score and the
+ * fields that agreed. Pairs are stored with the lower client id first so each pair
+ * has exactly one row.
+ */
+public record DuplicateCandidate(
+    UUID clientIdA,
+    UUID clientIdB,
+    double score,
+    List<String> matchedFields,
+    ReviewStatus status,
+    Instant detectedAt
+) {
+    
+    public enum ReviewStatus {
+        OPEN,
+        CONFIRMED_DUPLICATE,
+        NOT_DUPLICATE
+    }
+    
+    public static DuplicateCandidate open(UUID first, UUID second, DuplicateClientScorer.MatchScore match, Instant detectedAt) {
+        // Compare as text: UUID.compareTo is signed and disagrees with the database's byte order
+        boolean ordered = first.toString().compareTo(second.toString()) < 0;
+        return new DuplicateCandidate(ordered ? first : second, ordered ? second : first,
+            match.score(), List.copyOf(match.matchedFields()), ReviewStatus.OPEN, detectedAt);
+    }
+    
+    public UUID otherClient(UUID clientId) {
+        return clientId.equals(clientIdA) ? clientIdB : clientIdA;
+    }
+}
@@ -0,0 +1,56 @@
+package org.haven.clientprofile.domain.duplicates;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Storage for client match features, their blocking keys and the duplicate-candidate read model
+ */
+public interface DuplicateCandidateRepository {
+    
+    Optional<ClientMatchFeatures> findFeatures(UUID clientId);
+    
+    /**
+     * Insert or replace features and blocking keys for each client
+     */
+    void saveFeatures(Collection<ClientMatchFeatures> features);
+    
+    List<ClientMatchFeatures> findAllFeatures();
+    
+    /**
+     * Clients sharing at least one blocking key with the given keys, excluding the client
+     * itself; blocks larger than maxBlockSize are skipped as too unselective
+     */
+    List<ClientMatchFeatures> findBlockNeighbours(UUID clientId, Set<String> blockingKeys, int maxBlockSize);
+    
+    /**
+     * Insert candidates or refresh their score; the review status of existing pairs is kept
+     */
+    void upsertCandidates(Collection<DuplicateCandidate> candidates);
+    
+    /**
+     * Drop unreviewed pairs involving the client whose other side is not in stillMatching
+     */
+    void deleteOpenCandidatesExcept(UUID clientId, Set<UUID> stillMatching);
+    
+    void deleteAllOpenCandidates();
+    
+    List<DuplicateCandidate> findCandidatesForClient(UUID clientId);
+    
+    List<DuplicateCandidate> findOpenCandidates(double minScore, int page, int size);
+    
+    /**
+     * Remove a client's features, blocking keys and candidate pairs
+     */
+    void deleteClient(UUID clientId);
+    
+    /**
+     * Fingerprint of the key the stored features were hashed under, if recorded
+     */
+    Optional<String> findKeyFingerprint();
+    
+    void saveKeyFingerprint(String fingerprint);
+}
@@ -0,0 +1,106 @@
+package org.haven.clientprofile.domain.duplicates;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Fellegi-Sunter style pairwise scorer for client record linkage.
+ * Each compared field adds its agreement weight or subtracts its disagreement weight
+ * (roughly log2 of how much more likely the outcome is for true matches than for
+ * random pairs); fields missing on either side contribute nothing.
+ */
+public class DuplicateClientScorer {
+    
+    static final double SSN_AGREE = 12.0;
+    static final double SSN_DISAGREE = -10.0;
+    static final double SSN_LAST4_AGREE = 5.0;
+    static final double SSN_LAST4_DISAGREE = -3.0;
+    static final double BIRTH_DATE_AGREE = 9.0;
+    static final double BIRTH_DATE_TRANSPOSED = 4.0;
+    static final double BIRTH_DATE_DISAGREE = -4.0;
+    static final double LAST_NAME_AGREE = 6.0;
+    static final double LAST_NAME_PHONETIC = 3.0;
+    static final double LAST_NAME_DISAGREE = -3.0;
+    static final double FIRST_NAME_AGREE = 5.0;
+    static final double FIRST_NAME_PHONETIC = 2.5;
+    static final double FIRST_NAME_DISAGREE = -2.5;
+    static final double NAMES_SWAPPED = 8.0;
+    
+    public record MatchScore(double score, List<String> matchedFields) {}
+    
+    public MatchScore score(ClientMatchFeatures a, ClientMatchFeatures b) {
+        List<String> matched = new ArrayList<>();
+        double score = scoreNames(a, b, matched) + scoreBirthDate(a, b, matched) + scoreSsn(a, b, matched);
+        return new MatchScore(score, matched);
+    }
+    
+    private double scoreNames(ClientMatchFeatures a, ClientMatchFeatures b, List<String> matched) {
+        if (bothPresent(a.firstNameHash(), b.lastNameHash()) && bothPresent(a.lastNameHash(), b.firstNameHash())
+                && a.firstNameHash().equals(b.lastNameHash()) && a.lastNameHash().equals(b.firstNameHash())
+                && !a.firstNameHash().equals(a.lastNameHash())) {
+            matched.add("name_swapped");
+            return NAMES_SWAPPED;
+        }
+        return compare(a.lastNameHash(), b.lastNameHash(), a.lastNamePhoneticHash(), b.lastNamePhoneticHash(),
+                LAST_NAME_AGREE, LAST_NAME_PHONETIC, LAST_NAME_DISAGREE, "last_name", matched)
+            + compare(a.firstNameHash(), b.firstNameHash(), a.firstNamePhoneticHash(), b.firstNamePhoneticHash(),
+                FIRST_NAME_AGREE, FIRST_NAME_PHONETIC, FIRST_NAME_DISAGREE, "first_name", matched);
+    }
+    
+    private double scoreBirthDate(ClientMatchFeatures a, ClientMatchFeatures b, List<String> matched) {
+        if (!bothPresent(a.birthDateHash(), b.birthDateHash())) {
+            return 0.0;
+        }
+        if (a.birthDateHash().equals(b.birthDateHash())) {
+            matched.add("birth_date");
+            return BIRTH_DATE_AGREE;
+        }
+        // Same year with day and month swapped is a common keying error
+        if (Objects.equals(a.birthYearHash(), b.birthYearHash())
+                && Objects.equals(a.birthMonthDayHash(), b.birthMonthDayHash())) {
+            matched.add("birth_date_transposed");
+            return BIRTH_DATE_TRANSPOSED;
+        }
+        return BIRTH_DATE_DISAGREE;
+    }
+    
+    private double scoreSsn(ClientMatchFeatures a, ClientMatchFeatures b, List<String> matched) {
+        if (bothPresent(a.ssnHash(), b.ssnHash())) {
+            if (a.ssnHash().equals(b.ssnHash())) {
+                matched.add("ssn");
+                return SSN_AGREE;
+            }
+            return SSN_DISAGREE;
+        }
+        if (bothPresent(a.ssnLast4Hash(), b.ssnLast4Hash())) {
+            if (a.ssnLast4Hash().equals(b.ssnLast4Hash())) {
+                matched.add("ssn_last4");
+                return SSN_LAST4_AGREE;
+            }
+            return SSN_LAST4_DISAGREE;
+        }
+        return 0.0;
+    }
+    
+    private static double compare(String exactA, String exactB, String phoneticA, String phoneticB,
+                                  double agree, double phonetic, double disagree,
+                                  String field, List<String> matched) {
+        if (!bothPresent(exactA, exactB)) {
+            return 0.0;
+        }
+        if (exactA.equals(exactB)) {
+            matched.add(field);
+            return agree;
+        }
+        if (bothPresent(phoneticA, phoneticB) && phoneticA.equals(phoneticB)) {
+            matched.add(field + "_phonetic");
+            return phonetic;
+        }
+        return disagree;
+    }
+    
+    private static boolean bothPresent(String a, String b) {
+        return a != null && b != null;
+    }
+}
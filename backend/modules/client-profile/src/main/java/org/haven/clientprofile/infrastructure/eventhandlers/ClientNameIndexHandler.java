@@ -0,0 +1,61 @@
+package org.haven.clientprofile.infrastructure.eventhandlers;
+
+import org.haven.clientprofile.domain.Client;
+import org.haven.clientprofile.domain.ClientId;
+import org.haven.clientprofile.domain.ClientNameIndex;
+import org.haven.clientprofile.domain.ClientRepository;
+import org.haven.clientprofile.infrastructure.persistence.ClientPersisted;
+import org.haven.clientprofile.infrastructure.persistence.ClientRemoved;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Keeps the client name blind index in step with client saves
+ * Runs in the saving transaction so the index never lists a client that was rolled back
+ */
+@Component
+@Transactional
+public class ClientNameIndexHandler {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ClientNameIndexHandler.class);
+    
+    private final ClientNameIndex nameIndex;
+    private final ClientRepository clientRepository;
+    
+    public ClientNameIndexHandler(ClientNameIndex nameIndex, @Lazy ClientRepository clientRepository) {
+        this.nameIndex = nameIndex;
+        this.clientRepository = clientRepository;
+    }
+    
+    @EventListener
+    public void on(ClientPersisted event) {
+        nameIndex.index(event.client());
+    }
+    
+    @EventListener
+    public void on(ClientRemoved event) {
+        nameIndex.remove(new ClientId(event.clientId()));
+    }
+    
+    /**
+     * Rebuild the index when it was never built or was built under another key
+     * When neither haven.security.pii.blind-index.key nor haven.security.pii.encryption.key is set
+     * the key is generated per start, so the index is rebuilt on every start
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfStale() {
+        if (nameIndex.isCurrent()) {
+            return;
+        }
+        List<Client> clients = clientRepository.findActiveClients();
+        nameIndex.rebuild(clients);
+        logger.info("Rebuilt client name blind index for {} clients under the current index key", clients.size());
+    }
+}
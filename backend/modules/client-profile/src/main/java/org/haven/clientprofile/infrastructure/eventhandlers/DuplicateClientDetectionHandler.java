@@ -0,0 +1,44 @@
+package org.haven.clientprofile.infrastructure.eventhandlers;
+
+import org.haven.clientprofile.application.services.DuplicateClientDetectionService;
+import org.haven.clientprofile.domain.events.ClientCreated;
+import org.haven.clientprofile.domain.events.ClientDemographicsUpdated;
+import org.haven.clientprofile.infrastructure.persistence.ClientPersisted;
+import org.haven.clientprofile.infrastructure.persistence.ClientRemoved;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs incremental duplicate detection when a client is saved with a ClientCreated or
+ * ClientDemographicsUpdated event pending, inside the saving transaction, and recomputes
+ * all match features at startup when the hashing key changed
+ */
+@Component
+public class DuplicateClientDetectionHandler {
+    
+    private final DuplicateClientDetectionService detectionService;
+    
+    public DuplicateClientDetectionHandler(DuplicateClientDetectionService detectionService) {
+        this.detectionService = detectionService;
+    }
+    
+    @EventListener
+    public void on(ClientPersisted event) {
+        boolean demographicsChanged = event.client().getPendingEvents().stream()
+            .anyMatch(e -> e instanceof ClientCreated || e instanceof ClientDemographicsUpdated);
+        if (demographicsChanged) {
+            detectionService.detect(event.client());
+        }
+    }
+    
+    @EventListener
+    public void on(ClientRemoved event) {
+        detectionService.remove(event.clientId());
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rehashIfKeyChanged() {
+        detectionService.runBatchIfKeyChanged();
+    }
+}
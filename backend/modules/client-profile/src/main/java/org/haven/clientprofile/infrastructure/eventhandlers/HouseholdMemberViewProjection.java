@@ -0,0 +1,129 @@
+package org.haven.clientprofile.infrastructure.eventhandlers;
+
+import org.haven.clientprofile.application.queries.HouseholdMemberReadModel;
+import org.haven.clientprofile.application.queries.HouseholdMemberViewRepository;
+import org.haven.clientprofile.domain.Client;
+import org.haven.clientprofile.domain.ClientId;
+import org.haven.clientprofile.domain.ClientRepository;
+import org.haven.clientprofile.domain.ClientSummary;
+import org.haven.clientprofile.domain.events.ClientCreated;
+import org.haven.clientprofile.domain.events.ClientDemographicsUpdated;
+import org.haven.clientprofile.domain.events.CustodyChangeRecorded;
+import org.haven.clientprofile.domain.events.HouseholdCompositionCreated;
+import org.haven.clientprofile.domain.events.HouseholdMemberAdded;
+import org.haven.clientprofile.domain.events.HouseholdMemberRemoved;
+import org.haven.clientprofile.infrastructure.persistence.ClientPersisted;
+import org.haven.shared.vo.CodeableConcept;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Maintains household_member_view from household composition events, published inside the
+ * saving transaction, and refreshes members' display fields when their demographics change
+ */
+@Component
+public class HouseholdMemberViewProjection {
+
+    private final HouseholdMemberViewRepository viewRepository;
+    private final ClientRepository clientRepository;
+
+    public HouseholdMemberViewProjection(HouseholdMemberViewRepository viewRepository,
+                                         ClientRepository clientRepository) {
+        this.viewRepository = viewRepository;
+        this.clientRepository = clientRepository;
+    }
+
+    @EventListener
+    public void on(HouseholdCompositionCreated event) {
+        ClientSummary head = summaryOf(event.headOfHouseholdId());
+        viewRepository.save(HouseholdMemberReadModel.forHeadOfHousehold(
+            event.compositionId(),
+            event.headOfHouseholdId(),
+            firstName(head),
+            lastName(head),
+            fullName(head),
+            head != null ? head.birthDate() : null,
+            event.effectiveDate(),
+            event.occurredAt()
+        ));
+    }
+
+    @EventListener
+    public void on(HouseholdMemberAdded event) {
+        ClientSummary member = summaryOf(event.memberId());
+        CodeableConcept relationship = event.relationship();
+        boolean coded = relationship != null && !relationship.coding().isEmpty();
+        viewRepository.save(new HouseholdMemberReadModel(
+            event.membershipId(),
+            event.compositionId(),
+            event.memberId(),
+            firstName(member),
+            lastName(member),
+            fullName(member),
+            member != null ? member.birthDate() : null,
+            coded ? relationship.coding().get(0).code() : null,
+            coded ? relationship.coding().get(0).display() : null,
+            event.effectiveFrom(),
+            event.effectiveTo(),
+            event.effectiveTo() == null || event.effectiveTo().isAfter(LocalDate.now()),
+            false,
+            event.recordedBy(),
+            event.reason(),
+            event.occurredAt(),
+            0
+        ));
+    }
+
+    @EventListener
+    public void on(HouseholdMemberRemoved event) {
+        viewRepository.endMembership(event.membershipId(), event.effectiveDate(), event.recordedBy(),
+            event.reason(), event.occurredAt());
+    }
+
+    /**
+     * The membership rows themselves come from the HouseholdMemberRemoved/Added pair that follows
+     * the custody event; the child's display fields are refreshed so the custody record shows
+     * the current name and date of birth
+     */
+    @EventListener
+    public void on(CustodyChangeRecorded event) {
+        ClientSummary child = summaryOf(event.childId());
+        if (child != null) {
+            viewRepository.updateMemberDetails(child);
+        }
+    }
+
+    @EventListener
+    public void on(ClientPersisted event) {
+        Client client = event.client();
+        boolean demographicsChanged = client.getPendingEvents().stream()
+            .anyMatch(e -> e instanceof ClientCreated || e instanceof ClientDemographicsUpdated);
+        if (demographicsChanged) {
+            ClientSummary summary = summaryOf(client.getId().value());
+            if (summary != null) {
+                viewRepository.updateMemberDetails(summary);
+            }
+        }
+    }
+
+    private ClientSummary summaryOf(UUID clientId) {
+        ClientId id = new ClientId(clientId);
+        return clientRepository.findSummariesByIds(List.of(id)).get(id);
+    }
+
+    private static String firstName(ClientSummary summary) {
+        return summary != null && summary.firstName() != null ? summary.firstName() : "Unknown";
+    }
+
+    private static String lastName(ClientSummary summary) {
+        return summary != null && summary.lastName() != null ? summary.lastName() : "Unknown";
+    }
+
+    private static String fullName(ClientSummary summary) {
+        return summary != null && summary.fullName() != null ? summary.fullName() : "Unknown";
+    }
+}
@@ -0,0 +1,140 @@
+package org.haven.clientprofile.infrastructure.persistence;
+
+import org.haven.clientprofile.domain.Client;
+import org.haven.clientprofile.domain.ClientId;
+import org.haven.clientprofile.domain.ClientNameIndex;
+import org.haven.clientprofile.infrastructure.security.ClientNameBlindIndexer;
+import org.haven.clientprofile.infrastructure.security.ClientNameBlindIndexer.BlindIndexToken;
+import org.haven.clientprofile.infrastructure.security.ClientNameBlindIndexer.NameQuery;
+import org.haven.clientprofile.infrastructure.security.ClientNameBlindIndexer.TokenKind;
+import org.haven.shared.vo.HumanName;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * {@link ClientNameIndex} over the client_name_blind_index postings table.
+ * Ranking: exact name part 10, phonetic match 4, each matching trigram 1.
+ * The fingerprint of the key that built the tokens is kept in keyed_hash_fingerprints.
+ */
+@Repository
+public class BlindIndexClientNameIndex implements ClientNameIndex {
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ClientNameBlindIndexer indexer;
+
+    public BlindIndexClientNameIndex(JdbcTemplate jdbcTemplate, ClientNameBlindIndexer indexer) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.indexer = indexer;
+    }
+
+    @Override
+    public void index(Client client) {
+        jdbcTemplate.update("DELETE FROM client_name_blind_index WHERE client_id = ?", client.getId().value());
+        insertTokens(tokenRows(client));
+    }
+
+    @Override
+    public void remove(ClientId clientId) {
+        jdbcTemplate.update("DELETE FROM client_name_blind_index WHERE client_id = ?", clientId.value());
+    }
+
+    @Override
+    public List<ClientId> search(String name, boolean activeOnly, int page, int size) {
+        NameQuery query = indexer.queryTokens(name);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int offset = Math.max(0, page) * limit;
+        Long[] tokens = query.tokens().stream().map(BlindIndexToken::value).toArray(Long[]::new);
+
+        return jdbcTemplate.query("""
+            SELECT client_id,
+                   SUM(CASE token_kind WHEN ? THEN 10 WHEN ? THEN 4 ELSE 1 END) AS score
+            FROM client_name_blind_index
+            WHERE token = ANY (?)
+              AND (? OR EXISTS (SELECT 1 FROM clients c
+                                WHERE c.id = client_name_blind_index.client_id AND c.status = 'ACTIVE'))
+            GROUP BY client_id
+            HAVING COUNT(*) FILTER (WHERE token_kind = ?) >= ?
+                OR BOOL_OR(token_kind <> ?)
+            ORDER BY score DESC, client_id
+            LIMIT ? OFFSET ?
+            """,
+            ps -> {
+                Array tokenArray = ps.getConnection().createArrayOf("bigint", tokens);
+                ps.setInt(1, TokenKind.EXACT.code());
+                ps.setInt(2, TokenKind.PHONETIC.code());
+                ps.setArray(3, tokenArray);
+                ps.setBoolean(4, !activeOnly);
+                ps.setInt(5, TokenKind.TRIGRAM.code());
+                ps.setInt(6, query.requiredTrigrams());
+                ps.setInt(7, TokenKind.TRIGRAM.code());
+                ps.setInt(8, limit);
+                ps.setInt(9, offset);
+            },
+            (rs, rowNum) -> new ClientId(rs.getObject("client_id", UUID.class)));
+    }
+
+    @Override
+    public boolean isCurrent() {
+        List<String> stored = jdbcTemplate.queryForList(
+            "SELECT fingerprint FROM keyed_hash_fingerprints WHERE purpose = ?",
+            String.class, ClientNameBlindIndexer.KEY_PURPOSE);
+        return stored.size() == 1 && stored.get(0).equals(indexer.keyFingerprint());
+    }
+
+    @Override
+    public void rebuild(Collection<Client> clients) {
+        jdbcTemplate.update("DELETE FROM client_name_blind_index");
+        List<Object[]> rows = new ArrayList<>();
+        for (Client client : clients) {
+            rows.addAll(tokenRows(client));
+            if (rows.size() >= BATCH_SIZE) {
+                insertTokens(rows);
+                rows.clear();
+            }
+        }
+        insertTokens(rows);
+        jdbcTemplate.update("""
+            INSERT INTO keyed_hash_fingerprints (purpose, fingerprint, recorded_at)
+            VALUES (?, ?, CURRENT_TIMESTAMP)
+            ON CONFLICT (purpose) DO UPDATE
+                SET fingerprint = EXCLUDED.fingerprint, recorded_at = EXCLUDED.recorded_at
+            """,
+            ClientNameBlindIndexer.KEY_PURPOSE, indexer.keyFingerprint());
+    }
+
+    private List<Object[]> tokenRows(Client client) {
+        List<String> names = new ArrayList<>();
+        for (HumanName name : client.getNames()) {
+            names.addAll(name.given());
+            names.add(name.family());
+        }
+        Set<BlindIndexToken> tokens = indexer.indexTokens(names);
+        UUID clientId = client.getId().value();
+        return tokens.stream().map(t -> new Object[]{t.value(), clientId, t.kind().code()}).toList();
+    }
+
+    private void insertTokens(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("""
+            INSERT INTO client_name_blind_index (token, client_id, token_kind)
+            VALUES (?, ?, ?)
+            ON CONFLICT DO NOTHING
+            """,
+            rows);
+    }
+}
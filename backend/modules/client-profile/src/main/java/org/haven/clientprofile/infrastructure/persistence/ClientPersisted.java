@@ -0,0 +1,10 @@
+package org.haven.clientprofile.infrastructure.persistence;
+
+import org.haven.clientprofile.domain.Client;
+
+/**
+ * Published after a client is written through {@link JpaClientRepository#save(Client)},
+ * inside the saving transaction, so derived read models can update incrementally
+ */
+public record ClientPersisted(Client client) {
+}
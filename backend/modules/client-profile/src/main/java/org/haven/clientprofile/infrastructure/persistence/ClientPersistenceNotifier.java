@@ -0,0 +1,16 @@
+package org.haven.clientprofile.infrastructure.persistence;
+
+import org.haven.clientprofile.domain.Client;
+
+import java.util.UUID;
+
+/**
+ * Spring Data fragment that lets the {@link JpaClientRepository} default save method
+ * publish {@link ClientPersisted} and {@link ClientRemoved}
+ */
+public interface ClientPersistenceNotifier {
+
+    void clientPersisted(Client client);
+
+    void clientRemoved(UUID clientId);
+}
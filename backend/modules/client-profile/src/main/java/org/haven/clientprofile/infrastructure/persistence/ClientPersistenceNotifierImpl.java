@@ -0,0 +1,25 @@
+package org.haven.clientprofile.infrastructure.persistence;
+
+import org.haven.clientprofile.domain.Client;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.UUID;
+
+class ClientPersistenceNotifierImpl implements ClientPersistenceNotifier {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    ClientPersistenceNotifierImpl(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void clientPersisted(Client client) {
+        eventPublisher.publishEvent(new ClientPersisted(client));
+    }
+
+    @Override
+    public void clientRemoved(UUID clientId) {
+        eventPublisher.publishEvent(new ClientRemoved(clientId));
+    }
+}
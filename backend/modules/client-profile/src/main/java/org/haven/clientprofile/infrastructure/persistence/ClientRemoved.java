@@ -0,0 +1,9 @@
+package org.haven.clientprofile.infrastructure.persistence;
+
+import java.util.UUID;
+
+/**
+ * Published after a client is deleted through {@link JpaClientRepository}, inside the deleting transaction
+ */
+public record ClientRemoved(UUID clientId) {
+}
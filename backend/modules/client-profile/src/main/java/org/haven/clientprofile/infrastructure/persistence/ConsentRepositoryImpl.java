@@ -6,12 +6,16 @@ import org.haven.eventstore.EventEnvelope;
 import org.haven.eventstore.EventStore;
 import org.haven.shared.events.DomainEvent;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Repository implementation for Consent aggregate with event sourcing
@@ -19,15 +23,16 @@ import java.util.Optional;
 @Component
 public class ConsentRepositoryImpl implements ConsentRepository {
     
+    // Keeps IN lists well under the driver's bind parameter limit
+    private static final int CLIENT_BATCH_SIZE = 1000;
+    
     private final JpaConsentRepository jpaRepository;
     private final EventStore eventStore;
-    private final ApplicationEventPublisher eventPublisher;
     
     @Autowired
-    public ConsentRepositoryImpl(JpaConsentRepository jpaRepository, EventStore eventStore, ApplicationEventPublisher eventPublisher) {
+    public ConsentRepositoryImpl(JpaConsentRepository jpaRepository, EventStore eventStore) {
         this.jpaRepository = jpaRepository;
         this.eventStore = eventStore;
-        this.eventPublisher = eventPublisher;
     }
     
     @Override
@@ -53,14 +58,10 @@ public class ConsentRepositoryImpl implements ConsentRepository {
         List<DomainEvent> pendingEvents = aggregate.getPendingEvents();
         
         if (!pendingEvents.isEmpty()) {
-            // Save events to event store with optimistic concurrency control
+            // Save events to event store with optimistic concurrency control;
+            // projection handlers receive them from the outbox relay after commit
             eventStore.append(aggregate.getId().value(), aggregate.getVersion() - pendingEvents.size(), pendingEvents);
             
-            // Publish events for projection handlers
-            for (DomainEvent event : pendingEvents) {
-                eventPublisher.publishEvent(event);
-            }
-            
             // Clear pending events after successful save
             aggregate.clearPendingEvents();
         }
@@ -93,6 +94,27 @@ public class ConsentRepositoryImpl implements ConsentRepository {
             .toList();
     }
     
+    @Override
+    public Map<ClientId, List<Consent>> findActiveConsentsForClients(Collection<ClientId> clientIds) {
+        Map<ClientId, List<Consent>> result = new LinkedHashMap<>();
+        for (ClientId clientId : clientIds) {
+            result.put(clientId, new ArrayList<>());
+        }
+        
+        List<UUID> ids = clientIds.stream().map(ClientId::value).distinct().toList();
+        Instant now = Instant.now();
+        for (int from = 0; from < ids.size(); from += CLIENT_BATCH_SIZE) {
+            List<JpaConsentEntity> entities = jpaRepository.findActiveConsentsByClientIdIn(
+                ids.subList(from, Math.min(from + CLIENT_BATCH_SIZE, ids.size())), ConsentStatus.GRANTED, now
+            );
+            for (JpaConsentEntity entity : entities) {
+                findById(new ConsentId(entity.getId()))
+                    .ifPresent(consent -> result.get(new ClientId(entity.getClientId())).add(consent));
+            }
+        }
+        return result;
+    }
+    
     @Override
     public Optional<Consent> findActiveConsentByType(ClientId clientId, ConsentType consentType) {
         Optional<JpaConsentEntity> entity = jpaRepository.findActiveConsentByClientIdAndType(
@@ -185,4 +207,4 @@ public class ConsentRepositoryImpl implements ConsentRepository {
     public List<JpaConsentEntity> findVAWAProtectedConsents() {
         return jpaRepository.findByIsVAWAProtectedTrue();
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
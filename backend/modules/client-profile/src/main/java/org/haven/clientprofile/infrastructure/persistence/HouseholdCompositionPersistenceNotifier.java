@@ -0,0 +1,12 @@
+package org.haven.clientprofile.infrastructure.persistence;
+
+import org.haven.clientprofile.domain.HouseholdComposition;
+
+/**
+ * Spring Data fragment that lets the {@link JpaHouseholdCompositionRepository} default save method
+ * publish the composition's pending domain events
+ */
+public interface HouseholdCompositionPersistenceNotifier {
+
+    void householdPersisted(HouseholdComposition composition);
+}
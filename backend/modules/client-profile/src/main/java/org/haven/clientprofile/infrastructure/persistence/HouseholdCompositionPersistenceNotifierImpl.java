@@ -0,0 +1,25 @@
+package org.haven.clientprofile.infrastructure.persistence;
+
+import org.haven.clientprofile.domain.HouseholdComposition;
+import org.haven.shared.events.DomainEvent;
+import org.springframework.context.ApplicationEventPublisher;
+
+class HouseholdCompositionPersistenceNotifierImpl implements HouseholdCompositionPersistenceNotifier {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    HouseholdCompositionPersistenceNotifierImpl(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Publishes pending events in order, inside the saving transaction, then clears them
+     */
+    @Override
+    public void householdPersisted(HouseholdComposition composition) {
+        for (DomainEvent event : composition.getPendingEvents()) {
+            eventPublisher.publishEvent(event);
+        }
+        composition.clearPendingEvents();
+    }
+}
@@ -0,0 +1,251 @@
+package org.haven.clientprofile.infrastructure.persistence;
+
+import org.haven.clientprofile.domain.duplicates.ClientMatchFeatures;
+import org.haven.clientprofile.domain.duplicates.DuplicateCandidate;
+import org.haven.clientprofile.domain.duplicates.DuplicateCandidate.ReviewStatus;
+import org.haven.clientprofile.domain.duplicates.DuplicateCandidateRepository;
+import org.haven.clientprofile.infrastructure.security.ClientMatchFeatureExtractor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.*;
+
+/**
+ * PostgreSQL implementation of {@link DuplicateCandidateRepository} over client_match_features,
+ * client_match_blocking_keys and the client_duplicate_candidates read model; the hashing key
+ * fingerprint is kept in keyed_hash_fingerprints
+ */
+@Repository
+public class JdbcDuplicateCandidateRepository implements DuplicateCandidateRepository {
+    
+    private static final int BATCH_SIZE = 1000;
+    
+    private static final RowMapper<DuplicateCandidate> CANDIDATE_MAPPER = (rs, rowNum) -> new DuplicateCandidate(
+        rs.getObject("client_id_a", UUID.class),
+        rs.getObject("client_id_b", UUID.class),
+        rs.getDouble("score"),
+        splitFields(rs.getString("matched_fields")),
+        ReviewStatus.valueOf(rs.getString("status")),
+        rs.getTimestamp("detected_at").toInstant());
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    public JdbcDuplicateCandidateRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    @Override
+    public Optional<ClientMatchFeatures> findFeatures(UUID clientId) {
+        return jdbcTemplate.query("""
+            SELECT f.*, ARRAY(SELECT k.block_key FROM client_match_blocking_keys k
+                              WHERE k.client_id = f.client_id) AS blocking_keys
+            FROM client_match_features f
+            WHERE f.client_id = ?
+            """,
+            (rs, rowNum) -> mapFeatures(rs, true), clientId).stream().findFirst();
+    }
+    
+    @Override
+    public void saveFeatures(Collection<ClientMatchFeatures> features) {
+        List<ClientMatchFeatures> all = List.copyOf(features);
+        for (int from = 0; from < all.size(); from += BATCH_SIZE) {
+            List<ClientMatchFeatures> chunk = all.subList(from, Math.min(all.size(), from + BATCH_SIZE));
+            jdbcTemplate.batchUpdate("""
+                INSERT INTO client_match_features (
+                    client_id, first_name_hash, first_name_phonetic_hash, last_name_hash, last_name_phonetic_hash,
+                    birth_date_hash, birth_year_hash, birth_month_day_hash, ssn_hash, ssn_last4_hash)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                ON CONFLICT (client_id) DO UPDATE SET
+                    first_name_hash = EXCLUDED.first_name_hash,
+                    first_name_phonetic_hash = EXCLUDED.first_name_phonetic_hash,
+                    last_name_hash = EXCLUDED.last_name_hash,
+                    last_name_phonetic_hash = EXCLUDED.last_name_phonetic_hash,
+                    birth_date_hash = EXCLUDED.birth_date_hash,
+                    birth_year_hash = EXCLUDED.birth_year_hash,
+                    birth_month_day_hash = EXCLUDED.birth_month_day_hash,
+                    ssn_hash = EXCLUDED.ssn_hash,
+                    ssn_last4_hash = EXCLUDED.ssn_last4_hash,
+                    updated_at = CURRENT_TIMESTAMP
+                """,
+                chunk.stream().map(f -> new Object[]{
+                    f.clientId(), f.firstNameHash(), f.firstNamePhoneticHash(), f.lastNameHash(),
+                    f.lastNamePhoneticHash(), f.birthDateHash(), f.birthYearHash(), f.birthMonthDayHash(),
+                    f.ssnHash(), f.ssnLast4Hash()}).toList());
+            jdbcTemplate.batchUpdate("DELETE FROM client_match_blocking_keys WHERE client_id = ?",
+                chunk.stream().map(f -> new Object[]{f.clientId()}).toList());
+            jdbcTemplate.batchUpdate("""
+                INSERT INTO client_match_blocking_keys (block_key, client_id)
+                VALUES (?, ?)
+                ON CONFLICT DO NOTHING
+                """,
+                chunk.stream()
+                    .flatMap(f -> f.blockingKeys().stream().map(key -> new Object[]{key, f.clientId()}))
+                    .toList());
+        }
+    }
+    
+    @Override
+    public List<ClientMatchFeatures> findAllFeatures() {
+        return jdbcTemplate.query("""
+            SELECT f.*, COALESCE(k.blocking_keys, ARRAY[]::VARCHAR[]) AS blocking_keys
+            FROM client_match_features f
+            LEFT JOIN (
+                SELECT client_id, ARRAY_AGG(block_key) AS blocking_keys
+                FROM client_match_blocking_keys
+                GROUP BY client_id
+            ) k ON k.client_id = f.client_id
+            """,
+            (rs, rowNum) -> mapFeatures(rs, true));
+    }
+    
+    @Override
+    public List<ClientMatchFeatures> findBlockNeighbours(UUID clientId, Set<String> blockingKeys, int maxBlockSize) {
+        if (blockingKeys.isEmpty()) {
+            return List.of();
+        }
+        String[] keys = blockingKeys.toArray(String[]::new);
+        return jdbcTemplate.query("""
+            WITH selective_blocks AS (
+                SELECT block_key
+                FROM client_match_blocking_keys
+                WHERE block_key = ANY (?)
+                GROUP BY block_key
+                HAVING COUNT(*) <= ?
+            )
+            SELECT f.*
+            FROM client_match_features f
+            WHERE f.client_id IN (
+                SELECT k.client_id
+                FROM client_match_blocking_keys k
+                JOIN selective_blocks b ON b.block_key = k.block_key
+            )
+            AND f.client_id <> ?
+            """,
+            ps -> {
+                Array keyArray = ps.getConnection().createArrayOf("varchar", keys);
+                ps.setArray(1, keyArray);
+                ps.setInt(2, maxBlockSize);
+                ps.setObject(3, clientId);
+            },
+            (rs, rowNum) -> mapFeatures(rs, false));
+    }
+    
+    @Override
+    public void upsertCandidates(Collection<DuplicateCandidate> candidates) {
+        List<DuplicateCandidate> all = List.copyOf(candidates);
+        for (int from = 0; from < all.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate("""
+                INSERT INTO client_duplicate_candidates (
+                    client_id_a, client_id_b, score, matched_fields, status, detected_at)
+                VALUES (?, ?, ?, ?, ?, ?)
+                ON CONFLICT (client_id_a, client_id_b) DO UPDATE SET
+                    score = EXCLUDED.score,
+                    matched_fields = EXCLUDED.matched_fields,
+                    updated_at = CURRENT_TIMESTAMP
+                """,
+                all.subList(from, Math.min(all.size(), from + BATCH_SIZE)).stream()
+                    .map(c -> new Object[]{c.clientIdA(), c.clientIdB(), c.score(),
+                        String.join(",", c.matchedFields()), c.status().name(), Timestamp.from(c.detectedAt())})
+                    .toList());
+        }
+    }
+    
+    @Override
+    public void deleteOpenCandidatesExcept(UUID clientId, Set<UUID> stillMatching) {
+        UUID[] keep = stillMatching.toArray(UUID[]::new);
+        jdbcTemplate.update(con -> {
+            var ps = con.prepareStatement("""
+                DELETE FROM client_duplicate_candidates
+                WHERE status = 'OPEN'
+                  AND (client_id_a = ? OR client_id_b = ?)
+                  AND NOT (CASE WHEN client_id_a = ? THEN client_id_b ELSE client_id_a END = ANY (?))
+                """);
+            ps.setObject(1, clientId);
+            ps.setObject(2, clientId);
+            ps.setObject(3, clientId);
+            ps.setArray(4, con.createArrayOf("uuid", keep));
+            return ps;
+        });
+    }
+    
+    @Override
+    public void deleteAllOpenCandidates() {
+        jdbcTemplate.update("DELETE FROM client_duplicate_candidates WHERE status = 'OPEN'");
+    }
+    
+    @Override
+    public List<DuplicateCandidate> findCandidatesForClient(UUID clientId) {
+        return jdbcTemplate.query("""
+            SELECT * FROM client_duplicate_candidates
+            WHERE client_id_a = ? OR client_id_b = ?
+            ORDER BY score DESC
+            """,
+            CANDIDATE_MAPPER, clientId, clientId);
+    }
+    
+    @Override
+    public List<DuplicateCandidate> findOpenCandidates(double minScore, int page, int size) {
+        return jdbcTemplate.query("""
+            SELECT * FROM client_duplicate_candidates
+            WHERE status = 'OPEN' AND score >= ?
+            ORDER BY score DESC, client_id_a, client_id_b
+            LIMIT ? OFFSET ?
+            """,
+            CANDIDATE_MAPPER, minScore, size, page * size);
+    }
+    
+    @Override
+    public void deleteClient(UUID clientId) {
+        jdbcTemplate.update("DELETE FROM client_duplicate_candidates WHERE client_id_a = ? OR client_id_b = ?",
+            clientId, clientId);
+        jdbcTemplate.update("DELETE FROM client_match_blocking_keys WHERE client_id = ?", clientId);
+        jdbcTemplate.update("DELETE FROM client_match_features WHERE client_id = ?", clientId);
+    }
+    
+    @Override
+    public Optional<String> findKeyFingerprint() {
+        return jdbcTemplate.queryForList(
+            "SELECT fingerprint FROM keyed_hash_fingerprints WHERE purpose = ?",
+            String.class, ClientMatchFeatureExtractor.KEY_PURPOSE).stream().findFirst();
+    }
+    
+    @Override
+    public void saveKeyFingerprint(String fingerprint) {
+        jdbcTemplate.update("""
+            INSERT INTO keyed_hash_fingerprints (purpose, fingerprint, recorded_at)
+            VALUES (?, ?, CURRENT_TIMESTAMP)
+            ON CONFLICT (purpose) DO UPDATE
+                SET fingerprint = EXCLUDED.fingerprint, recorded_at = EXCLUDED.recorded_at
+            """,
+            ClientMatchFeatureExtractor.KEY_PURPOSE, fingerprint);
+    }
+    
+    private static ClientMatchFeatures mapFeatures(ResultSet rs, boolean withBlockingKeys) throws SQLException {
+        Set<String> blockingKeys = Set.of();
+        if (withBlockingKeys) {
+            Array keys = rs.getArray("blocking_keys");
+            blockingKeys = keys != null ? Set.of((String[]) keys.getArray()) : Set.of();
+        }
+        return new ClientMatchFeatures(
+            rs.getObject("client_id", UUID.class),
+            rs.getString("first_name_hash"),
+            rs.getString("first_name_phonetic_hash"),
+            rs.getString("last_name_hash"),
+            rs.getString("last_name_phonetic_hash"),
+            rs.getString("birth_date_hash"),
+            rs.getString("birth_year_hash"),
+            rs.getString("birth_month_day_hash"),
+            rs.getString("ssn_hash"),
+            rs.getString("ssn_last4_hash"),
+            blockingKeys);
+    }
+    
+    private static List<String> splitFields(String fields) {
+        return fields == null || fields.isEmpty() ? List.of() : List.of(fields.split(","));
+    }
+}
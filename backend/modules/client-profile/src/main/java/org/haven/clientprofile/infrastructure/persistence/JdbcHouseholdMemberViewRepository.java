@@ -0,0 +1,174 @@
+package org.haven.clientprofile.infrastructure.persistence;
+
+import org.haven.clientprofile.application.queries.HouseholdMemberReadModel;
+import org.haven.clientprofile.application.queries.HouseholdMemberViewRepository;
+import org.haven.clientprofile.domain.ClientSummary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.*;
+
+/**
+ * PostgreSQL implementation of {@link HouseholdMemberViewRepository} over household_member_view.
+ * Activity and duration depend on the current date, so they are derived when rows are read.
+ */
+@Repository
+public class JdbcHouseholdMemberViewRepository implements HouseholdMemberViewRepository {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final RowMapper<HouseholdMemberReadModel> MEMBER_MAPPER = (rs, rowNum) -> mapMember(rs);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcHouseholdMemberViewRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<HouseholdMemberReadModel> findByCompositionIds(Collection<UUID> compositionIds) {
+        List<UUID> ids = List.copyOf(new LinkedHashSet<>(compositionIds));
+        List<HouseholdMemberReadModel> members = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            List<UUID> chunk = ids.subList(from, Math.min(ids.size(), from + BATCH_SIZE));
+            members.addAll(jdbcTemplate.query("""
+                SELECT * FROM haven.household_member_view
+                WHERE composition_id = ANY (?)
+                ORDER BY composition_id, is_head_of_household DESC, effective_from, recorded_at
+                """,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", chunk.toArray())),
+                MEMBER_MAPPER));
+        }
+        return members;
+    }
+
+    @Override
+    public List<HouseholdMemberReadModel> findMembershipsOfClient(UUID memberId) {
+        return jdbcTemplate.query("""
+            SELECT * FROM haven.household_member_view
+            WHERE member_id = ? AND NOT is_head_of_household
+            ORDER BY effective_from, recorded_at
+            """,
+            MEMBER_MAPPER, memberId);
+    }
+
+    @Override
+    public void save(HouseholdMemberReadModel member) {
+        UUID rowId = member.isHeadOfHousehold() ? member.householdCompositionId() : member.membershipId();
+        jdbcTemplate.update("""
+            INSERT INTO haven.household_member_view (
+                row_id, composition_id, membership_id, member_id, is_head_of_household,
+                first_name, last_name, full_name, date_of_birth, relationship_code, relationship_display,
+                effective_from, effective_to, recorded_by, reason, recorded_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (row_id) DO UPDATE SET
+                member_id = EXCLUDED.member_id,
+                first_name = EXCLUDED.first_name,
+                last_name = EXCLUDED.last_name,
+                full_name = EXCLUDED.full_name,
+                date_of_birth = EXCLUDED.date_of_birth,
+                relationship_code = EXCLUDED.relationship_code,
+                relationship_display = EXCLUDED.relationship_display,
+                effective_from = EXCLUDED.effective_from,
+                effective_to = EXCLUDED.effective_to,
+                recorded_by = EXCLUDED.recorded_by,
+                reason = EXCLUDED.reason,
+                recorded_at = EXCLUDED.recorded_at,
+                updated_at = CURRENT_TIMESTAMP
+            """,
+            rowId, member.householdCompositionId(), member.membershipId(), member.memberId(),
+            member.isHeadOfHousehold(), member.memberFirstName(), member.memberLastName(),
+            member.memberFullName(), toDate(member.memberDateOfBirth()), member.relationshipCode(),
+            member.relationshipDisplay(), toDate(member.membershipStartDate()),
+            toDate(member.membershipEndDate()), member.recordedBy(), member.reason(),
+            toTimestamp(member.recordedAt()));
+    }
+
+    @Override
+    public void endMembership(UUID membershipId, LocalDate endDate, String endedBy, String endReason,
+                              Instant recordedAt) {
+        // Mirrors HouseholdMembershipRecord.endMembership
+        jdbcTemplate.update("""
+            UPDATE haven.household_member_view
+            SET effective_to = ?, recorded_by = ?, reason = concat(reason, ' | Ended: ', ?::text),
+                recorded_at = ?, updated_at = CURRENT_TIMESTAMP
+            WHERE row_id = ?
+            """,
+            toDate(endDate), endedBy, endReason, toTimestamp(recordedAt), membershipId);
+    }
+
+    @Override
+    public void updateMemberDetails(ClientSummary summary) {
+        jdbcTemplate.update("""
+            UPDATE haven.household_member_view
+            SET first_name = ?, last_name = ?, full_name = ?, date_of_birth = ?, updated_at = CURRENT_TIMESTAMP
+            WHERE member_id = ?
+            """,
+            summary.firstName(), summary.lastName(), summary.fullName(), toDate(summary.birthDate()),
+            summary.clientId());
+    }
+
+    private static HouseholdMemberReadModel mapMember(ResultSet rs) throws SQLException {
+        boolean head = rs.getBoolean("is_head_of_household");
+        LocalDate start = toLocalDate(rs.getDate("effective_from"));
+        LocalDate end = toLocalDate(rs.getDate("effective_to"));
+        Timestamp recordedAt = rs.getTimestamp("recorded_at");
+        return new HouseholdMemberReadModel(
+            rs.getObject("membership_id", UUID.class),
+            rs.getObject("composition_id", UUID.class),
+            rs.getObject("member_id", UUID.class),
+            rs.getString("first_name"),
+            rs.getString("last_name"),
+            rs.getString("full_name"),
+            toLocalDate(rs.getDate("date_of_birth")),
+            rs.getString("relationship_code"),
+            rs.getString("relationship_display"),
+            start,
+            end,
+            head || isActive(start, end),
+            head,
+            rs.getString("recorded_by"),
+            rs.getString("reason"),
+            recordedAt != null ? recordedAt.toInstant() : null,
+            head ? 0 : durationDays(start, end));
+    }
+
+    // Same rules as HouseholdMembershipRecord, whose period bounds are the dates at UTC midnight
+    private static boolean isActive(LocalDate start, LocalDate end) {
+        Instant now = Instant.now();
+        return (start == null || !atStartOfDay(start).isAfter(now))
+            && (end == null || !atStartOfDay(end).isBefore(now));
+    }
+
+    private static long durationDays(LocalDate start, LocalDate end) {
+        if (start == null) {
+            return 0;
+        }
+        return Duration.between(atStartOfDay(start), end != null ? atStartOfDay(end) : Instant.now()).toDays();
+    }
+
+    private static Instant atStartOfDay(LocalDate date) {
+        return date.atStartOfDay().toInstant(ZoneOffset.UTC);
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        return date != null ? date.toLocalDate() : null;
+    }
+
+    private static Date toDate(LocalDate date) {
+        return date != null ? Date.valueOf(date) : null;
+    }
+
+    private static Timestamp toTimestamp(Instant instant) {
+        return instant != null ? Timestamp.from(instant) : null;
+    }
+}
@@ -49,6 +49,10 @@ public class JpaClientEntity {
     
     @Column(name = "safe_at_home_participant")
     private Boolean safeAtHomeParticipant = false;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "veteran_status", length = 40)
+    private org.haven.shared.vo.hmis.VeteranStatus veteranStatus;
     
     @Column(name = "is_confidential_location")
     private Boolean isConfidentialLocation = false;
@@ -145,6 +149,7 @@ public class JpaClientEntity {
         entity.dataSystem = client.getDataSystem();
         entity.hmisClientKey = client.getHmisClientKey();
         entity.safeAtHomeParticipant = client.isSafeAtHomeParticipant();
+        entity.veteranStatus = client.getVeteranStatus();
 
         // Map contact safety preferences
         if (client.getContactSafetyPrefs() != null) {
@@ -226,6 +231,9 @@ public class JpaClientEntity {
         client.setAliasName(this.aliasName);
         client.setDataSystem(this.dataSystem);
         client.setHmisClientKey(this.hmisClientKey);
+        if (this.veteranStatus != null) {
+            client.updateVeteranStatus(this.veteranStatus);
+        }
 
         // Reconstruct contact safety preferences
         if (this.okToText != null || this.okToVoicemail != null || this.contactCodeWord != null) {
@@ -322,6 +330,9 @@ public class JpaClientEntity {
     
     public Boolean getSafeAtHomeParticipant() { return safeAtHomeParticipant; }
     public void setSafeAtHomeParticipant(Boolean safeAtHomeParticipant) { this.safeAtHomeParticipant = safeAtHomeParticipant; }
+
+    public org.haven.shared.vo.hmis.VeteranStatus getVeteranStatus() { return veteranStatus; }
+    public void setVeteranStatus(org.haven.shared.vo.hmis.VeteranStatus veteranStatus) { this.veteranStatus = veteranStatus; }
     
     public Boolean getIsConfidentialLocation() { return isConfidentialLocation; }
     public void setIsConfidentialLocation(Boolean isConfidentialLocation) { this.isConfidentialLocation = isConfidentialLocation; }
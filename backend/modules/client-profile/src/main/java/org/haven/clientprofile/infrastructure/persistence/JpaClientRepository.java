@@ -3,23 +3,28 @@ package org.haven.clientprofile.infrastructure.persistence;
 import org.haven.clientprofile.domain.Client;
 import org.haven.clientprofile.domain.ClientId;
 import org.haven.clientprofile.domain.ClientRepository;
+import org.haven.clientprofile.domain.ClientSummary;
 import org.haven.shared.vo.HumanName;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Repository
-public interface JpaClientRepository extends JpaRepository<JpaClientEntity, UUID>, ClientRepository {
+public interface JpaClientRepository extends JpaRepository<JpaClientEntity, UUID>, ClientRepository, ClientPersistenceNotifier {
     
     @Override
     default void save(Client client) {
         JpaClientEntity entity = JpaClientEntity.fromDomain(client);
         save(entity);
+        clientPersisted(client);
     }
     
     @Override
@@ -61,9 +66,27 @@ public interface JpaClientRepository extends JpaRepository<JpaClientEntity, UUID
         return Optional.empty();
     }
     
+    @Override
+    default Map<ClientId, ClientSummary> findSummariesByIds(Collection<ClientId> clientIds) {
+        List<UUID> ids = clientIds.stream().map(ClientId::value).distinct().toList();
+        Map<ClientId, ClientSummary> summaries = new HashMap<>();
+        // Chunked to keep IN lists under the driver's bind parameter limit
+        for (int from = 0; from < ids.size(); from += 1000) {
+            for (ClientSummary summary : findSummariesByIdIn(ids.subList(from, Math.min(from + 1000, ids.size())))) {
+                summaries.put(new ClientId(summary.clientId()), summary);
+            }
+        }
+        return summaries;
+    }
+    
+    @Query("SELECT new org.haven.clientprofile.domain.ClientSummary(c.id, c.firstName, c.lastName, c.birthDate) " +
+           "FROM JpaClientEntity c WHERE c.id IN :ids")
+    List<ClientSummary> findSummariesByIdIn(@Param("ids") Collection<UUID> ids);
+    
     @Override
     default void delete(Client client) {
         deleteById(client.getId().value());
+        clientRemoved(client.getId().value());
     }
     
     @Override
@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -31,6 +32,14 @@ public interface JpaConsentRepository extends JpaRepository<JpaConsentEntity, UU
                                                        @Param("grantedStatus") ConsentStatus grantedStatus,
                                                        @Param("currentTime") Instant currentTime);
     
+    /**
+     * Find active consents for a set of clients
+     */
+    @Query("SELECT c FROM JpaConsentEntity c WHERE c.clientId IN :clientIds AND c.status = :grantedStatus AND (c.expiresAt IS NULL OR c.expiresAt > :currentTime)")
+    List<JpaConsentEntity> findActiveConsentsByClientIdIn(@Param("clientIds") Collection<UUID> clientIds,
+                                                         @Param("grantedStatus") ConsentStatus grantedStatus,
+                                                         @Param("currentTime") Instant currentTime);
+    
     /**
      * Find specific consent type for a client
      */
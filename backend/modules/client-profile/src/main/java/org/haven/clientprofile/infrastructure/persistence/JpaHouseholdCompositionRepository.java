@@ -12,12 +12,14 @@ import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface JpaHouseholdCompositionRepository extends JpaRepository<JpaHouseholdCompositionEntity, UUID>, HouseholdCompositionRepository {
+public interface JpaHouseholdCompositionRepository extends JpaRepository<JpaHouseholdCompositionEntity, UUID>, HouseholdCompositionRepository,
+        HouseholdCompositionPersistenceNotifier {
     
     @Override
     default void save(HouseholdComposition composition) {
         JpaHouseholdCompositionEntity entity = JpaHouseholdCompositionEntity.fromDomain(composition);
         save(entity);
+        householdPersisted(composition);
     }
     
     @Override
@@ -140,4 +142,4 @@ public interface JpaHouseholdCompositionRepository extends JpaRepository<JpaHous
     default HouseholdCompositionId nextId() {
         return HouseholdCompositionId.from(java.util.UUID.randomUUID());
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
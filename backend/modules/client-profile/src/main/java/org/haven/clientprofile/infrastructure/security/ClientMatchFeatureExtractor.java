@@ -0,0 +1,136 @@
+package org.haven.clientprofile.infrastructure.security;
+
+import org.haven.clientprofile.domain.Client;
+import org.haven.clientprofile.domain.duplicates.ClientMatchFeatures;
+import org.haven.shared.security.DeterministicIdGenerator;
+import org.haven.shared.vo.HumanName;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Turns a client into keyed-hash match features and blocking keys for duplicate detection
+ * Names are normalized the same way as the name blind index and hashed under one field label,
+ * so a first name can be compared with a last name to catch swaps; SSN fragments and
+ * date-of-birth parts are hashed separately so partial agreement can still be scored
+ */
+@Component
+public class ClientMatchFeatureExtractor {
+    
+    public static final String KEY_PURPOSE = "client-match-features-v1";
+    
+    private final DeterministicIdGenerator hasher;
+    
+    @Autowired
+    public ClientMatchFeatureExtractor(PIIEncryptionService encryptionService,
+                                       @Value("${haven.clients.duplicates.hash-salt:}") String salt) {
+        this(new DeterministicIdGenerator(salt != null && !salt.isBlank()
+            ? salt
+            : Base64.getEncoder().encodeToString(encryptionService.deriveKey(KEY_PURPOSE))));
+    }
+    
+    ClientMatchFeatureExtractor(DeterministicIdGenerator hasher) {
+        this.hasher = hasher;
+    }
+    
+    /**
+     * Identifies the hashing key without revealing it
+     * Stored beside the features so features hashed under an earlier key are detected and recomputed
+     */
+    public String keyFingerprint() {
+        return hasher.generateKeyedHash("key_fingerprint", KEY_PURPOSE);
+    }
+    
+    /**
+     * Features for the client's current state
+     * @param stored Previously stored features; their SSN hashes are kept when the client carries no SSN,
+     *               because the SSN is only present on the aggregate in the session that captured it
+     */
+    public ClientMatchFeatures extract(Client client, ClientMatchFeatures stored) {
+        HumanName name = client.getPrimaryName();
+        String first = name != null ? joinParts(name.getFirstName()) : null;
+        String last = name != null ? joinParts(name.getLastName()) : null;
+        LocalDate birthDate = client.getBirthDate();
+        
+        String ssnHash = null;
+        String ssnLast4Hash = null;
+        String ssn = client.getSocialSecurityNumber() != null
+            ? client.getSocialSecurityNumber().replaceAll("[^0-9]", "") : "";
+        if (ssn.length() == 9 && !ssn.startsWith("000") && !ssn.equals("999999999")) {
+            ssnHash = hasher.generateKeyedHash("ssn", ssn);
+            ssnLast4Hash = hasher.generateKeyedHash("ssn_last4", ssn.substring(5));
+        } else if (ssn.length() == 4) {
+            ssnLast4Hash = hasher.generateKeyedHash("ssn_last4", ssn);
+        } else if (stored != null) {
+            ssnHash = stored.ssnHash();
+            ssnLast4Hash = stored.ssnLast4Hash();
+        }
+        
+        String firstPhonetic = hasher.generateKeyedHash("name_phonetic", ClientNameBlindIndexer.soundex(first));
+        String lastPhonetic = hasher.generateKeyedHash("name_phonetic", ClientNameBlindIndexer.soundex(last));
+        String birthYear = birthDate != null ? hasher.generateKeyedHash("birth_year", String.valueOf(birthDate.getYear())) : null;
+        String birthDateHash = birthDate != null ? hasher.generateKeyedHash("birth_date", birthDate.toString()) : null;
+        String birthMonthDay = null;
+        if (birthDate != null) {
+            int low = Math.min(birthDate.getMonthValue(), birthDate.getDayOfMonth());
+            int high = Math.max(birthDate.getMonthValue(), birthDate.getDayOfMonth());
+            birthMonthDay = hasher.generateKeyedHash("birth_month_day", low + "-" + high);
+        }
+        
+        return new ClientMatchFeatures(
+            client.getId().value(),
+            hasher.generateKeyedHash("name", first),
+            firstPhonetic,
+            hasher.generateKeyedHash("name", last),
+            lastPhonetic,
+            birthDateHash,
+            birthYear,
+            birthMonthDay,
+            ssnHash,
+            ssnLast4Hash,
+            blockingKeys(firstPhonetic, lastPhonetic, birthDateHash, birthYear, ssnHash, ssnLast4Hash));
+    }
+    
+    /**
+     * Blocking keys: only pairs sharing at least one are compared
+     * - full SSN
+     * - date of birth
+     * - last-name sound + birth year
+     * - both name sounds, order-insensitive so swapped first/last names still meet
+     * - SSN last four + birth year
+     */
+    private Set<String> blockingKeys(String firstPhonetic, String lastPhonetic, String birthDate,
+                                     String birthYear, String ssn, String ssnLast4) {
+        Set<String> keys = new HashSet<>();
+        addKey(keys, "ssn", ssn);
+        addKey(keys, "dob", birthDate);
+        if (lastPhonetic != null && birthYear != null) {
+            addKey(keys, "last_year", lastPhonetic + birthYear);
+        }
+        if (firstPhonetic != null && lastPhonetic != null) {
+            addKey(keys, "names", firstPhonetic.compareTo(lastPhonetic) < 0
+                ? firstPhonetic + lastPhonetic : lastPhonetic + firstPhonetic);
+        }
+        if (ssnLast4 != null && birthYear != null) {
+            addKey(keys, "ssn4_year", ssnLast4 + birthYear);
+        }
+        return keys;
+    }
+    
+    private void addKey(Set<String> keys, String kind, String value) {
+        if (value != null) {
+            keys.add(hasher.generateKeyedHash("block_" + kind, value));
+        }
+    }
+    
+    private static String joinParts(String namePart) {
+        List<String> parts = ClientNameBlindIndexer.normalizeParts(namePart);
+        return parts.isEmpty() ? null : String.join("", parts);
+    }
+}
@@ -0,0 +1,196 @@
+package org.haven.clientprofile.infrastructure.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.*;
+
+/**
+ * Derives HMAC-keyed blind index tokens for client names
+ * Names are normalized, split into parts and turned into exact, phonetic (Soundex) and
+ * trigram tokens; only the keyed hashes are stored, so the index reveals nothing about a
+ * name without the key and search never needs to decrypt client rows
+ */
+@Component
+public class ClientNameBlindIndexer {
+    
+    public static final String KEY_PURPOSE = "client-name-blind-index-v1";
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    
+    /**
+     * Token kinds; the kind is part of the hashed input so tokens of different kinds never collide
+     */
+    public enum TokenKind {
+        EXACT(1), PHONETIC(2), TRIGRAM(3);
+        
+        private final int code;
+        
+        TokenKind(int code) {
+            this.code = code;
+        }
+        
+        public int code() {
+            return code;
+        }
+    }
+    
+    public record BlindIndexToken(long value, TokenKind kind) {}
+    
+    /**
+     * Tokens for one search; a client matches when it carries every trigram or any exact/phonetic token
+     */
+    public record NameQuery(List<BlindIndexToken> tokens, int requiredTrigrams) {
+        public boolean isEmpty() {
+            return tokens.isEmpty();
+        }
+    }
+    
+    private final SecretKeySpec indexKey;
+    
+    @Autowired
+    public ClientNameBlindIndexer(PIIEncryptionService encryptionService,
+                                  @Value("${haven.security.pii.blind-index.key:}") String base64Key) {
+        this(base64Key != null && !base64Key.isBlank()
+            ? Base64.getDecoder().decode(base64Key)
+            : encryptionService.deriveKey(KEY_PURPOSE));
+    }
+    
+    ClientNameBlindIndexer(byte[] key) {
+        this.indexKey = new SecretKeySpec(key, HMAC_ALGORITHM);
+    }
+    
+    /**
+     * Identifies the index key without revealing it
+     * Stored beside the index so tokens built under an earlier key are detected and rebuilt
+     */
+    public String keyFingerprint() {
+        byte[] digest = newMac().doFinal("key-fingerprint".getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest, 0, 16);
+    }
+    
+    /**
+     * Tokens to store for a client, across every name it is known by
+     */
+    public Set<BlindIndexToken> indexTokens(Collection<String> names) {
+        Mac mac = newMac();
+        Set<BlindIndexToken> tokens = new LinkedHashSet<>();
+        for (String name : names) {
+            for (String part : normalizeParts(name)) {
+                tokens.add(token(mac, TokenKind.EXACT, part));
+                String phonetic = soundex(part);
+                if (phonetic != null) {
+                    tokens.add(token(mac, TokenKind.PHONETIC, phonetic));
+                }
+                String padded = "^" + part + "$";
+                for (int i = 0; i + 3 <= padded.length(); i++) {
+                    tokens.add(token(mac, TokenKind.TRIGRAM, padded.substring(i, i + 3)));
+                }
+            }
+        }
+        return tokens;
+    }
+    
+    /**
+     * Tokens to look up for a free-text name search
+     * Query parts may be partial, so trigrams are taken without the end marker;
+     * two-letter parts only match as a name prefix
+     */
+    public NameQuery queryTokens(String query) {
+        Mac mac = newMac();
+        Set<BlindIndexToken> tokens = new LinkedHashSet<>();
+        Set<BlindIndexToken> trigrams = new LinkedHashSet<>();
+        for (String part : normalizeParts(query)) {
+            tokens.add(token(mac, TokenKind.EXACT, part));
+            if (part.length() >= 3) {
+                tokens.add(token(mac, TokenKind.PHONETIC, soundex(part)));
+                for (int i = 0; i + 3 <= part.length(); i++) {
+                    trigrams.add(token(mac, TokenKind.TRIGRAM, part.substring(i, i + 3)));
+                }
+            } else if (part.length() == 2) {
+                trigrams.add(token(mac, TokenKind.TRIGRAM, "^" + part));
+            }
+        }
+        tokens.addAll(trigrams);
+        return new NameQuery(List.copyOf(tokens), trigrams.size());
+    }
+    
+    /**
+     * Lower-case ASCII name parts with accents, apostrophes and punctuation removed
+     */
+    static List<String> normalizeParts(String name) {
+        if (name == null || name.isBlank()) {
+            return List.of();
+        }
+        String folded = Normalizer.normalize(name, Normalizer.Form.NFD)
+            .replaceAll("\\p{M}", "")
+            .replaceAll("['’]", "")
+            .toLowerCase(Locale.ROOT);
+        List<String> parts = new ArrayList<>();
+        for (String part : folded.split("[^a-z]+")) {
+            if (!part.isEmpty()) {
+                parts.add(part);
+            }
+        }
+        return parts;
+    }
+    
+    /**
+     * American Soundex code (letter + three digits), or null for an empty part
+     */
+    static String soundex(String part) {
+        if (part == null || part.isEmpty()) {
+            return null;
+        }
+        StringBuilder code = new StringBuilder(4).append(Character.toUpperCase(part.charAt(0)));
+        char previous = soundexDigit(part.charAt(0));
+        for (int i = 1; i < part.length() && code.length() < 4; i++) {
+            char c = part.charAt(i);
+            char digit = soundexDigit(c);
+            if (digit != '0' && digit != previous) {
+                code.append(digit);
+            }
+            // 'h' and 'w' do not separate letters with the same code; vowels do
+            if (c != 'h' && c != 'w') {
+                previous = digit;
+            }
+        }
+        while (code.length() < 4) {
+            code.append('0');
+        }
+        return code.toString();
+    }
+    
+    private static char soundexDigit(char c) {
+        return switch (c) {
+            case 'b', 'f', 'p', 'v' -> '1';
+            case 'c', 'g', 'j', 'k', 'q', 's', 'x', 'z' -> '2';
+            case 'd', 't' -> '3';
+            case 'l' -> '4';
+            case 'm', 'n' -> '5';
+            case 'r' -> '6';
+            default -> '0';
+        };
+    }
+    
+    private static BlindIndexToken token(Mac mac, TokenKind kind, String text) {
+        byte[] digest = mac.doFinal((kind.code() + ":" + text).getBytes(StandardCharsets.UTF_8));
+        // 64 bits keeps the postings index compact; collisions only add candidates to rank
+        return new BlindIndexToken(ByteBuffer.wrap(digest, 0, Long.BYTES).getLong(), kind);
+    }
+    
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(indexKey);
+            return mac;
+        } catch (Exception e) {
+            throw new PIIEncryptionService.PIIEncryptionException("Failed to initialize blind index HMAC", e);
+        }
+    }
+}
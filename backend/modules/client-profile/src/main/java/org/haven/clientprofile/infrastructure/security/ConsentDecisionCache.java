@@ -0,0 +1,198 @@
+package org.haven.clientprofile.infrastructure.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.haven.clientprofile.domain.consent.Consent;
+import org.haven.clientprofile.domain.consent.ConsentType;
+import org.haven.clientprofile.domain.consent.events.ConsentExpired;
+import org.haven.clientprofile.domain.consent.events.ConsentExtended;
+import org.haven.clientprofile.domain.consent.events.ConsentGranted;
+import org.haven.clientprofile.domain.consent.events.ConsentRevoked;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded per-client cache of consent decisions used by {@link ConsentEnforcementService}
+ *
+ * Each entry holds one client's active consents, loaded once, and the decisions already
+ * evaluated against them keyed by (consent type, recipient organization, operation).
+ * An entry is only served until the earliest expiresAt among those consents, so no cached
+ * decision outlives the consent that granted it, and never longer than the maximum TTL.
+ * ConsentGranted, ConsentRevoked, ConsentExtended and ConsentExpired drop the client's entry;
+ * the TTL bounds staleness on nodes that did not relay the event.
+ */
+@Component
+public class ConsentDecisionCache {
+
+    private final Cache<UUID, ClientConsents> clients;
+    private final Duration maxTtl;
+    private final Clock clock;
+
+    // Bumped on every invalidation so a load that raced with one is returned but not cached
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Autowired
+    public ConsentDecisionCache(MeterRegistry meterRegistry,
+                                @Value("${haven.consent.decision-cache.max-clients:50000}") long maxClients,
+                                @Value("${haven.consent.decision-cache.max-ttl-seconds:30}") long maxTtlSeconds) {
+        this(maxClients, Duration.ofSeconds(maxTtlSeconds), Clock.systemUTC());
+        CaffeineCacheMetrics.monitor(meterRegistry, clients, "consent.decisions");
+    }
+
+    ConsentDecisionCache(long maxClients, Duration maxTtl, Clock clock) {
+        this.maxTtl = maxTtl;
+        this.clock = clock;
+        this.clients = Caffeine.newBuilder()
+            .maximumSize(maxClients)
+            .expireAfterWrite(maxTtl)
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Cached consents for a client, loading them on a miss or once the entry has expired
+     */
+    public ClientConsents get(UUID clientId, Function<UUID, List<Consent>> loader) {
+        Instant now = clock.instant();
+        ClientConsents cached = clients.getIfPresent(clientId);
+        if (cached != null && cached.isFresh(now)) {
+            return cached;
+        }
+
+        long generation = invalidations.get();
+        ClientConsents loaded = new ClientConsents(loader.apply(clientId), now.plus(maxTtl));
+        if (invalidations.get() == generation) {
+            clients.put(clientId, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * Cached consents for many clients, in input order; all misses are loaded with one loader call
+     */
+    public Map<UUID, ClientConsents> getAll(Collection<UUID> clientIds,
+                                            Function<Collection<UUID>, Map<UUID, List<Consent>>> loader) {
+        Instant now = clock.instant();
+        Map<UUID, ClientConsents> result = new LinkedHashMap<>();
+        List<UUID> misses = new ArrayList<>();
+        for (UUID clientId : clientIds) {
+            ClientConsents cached = clients.getIfPresent(clientId);
+            if (cached != null && cached.isFresh(now)) {
+                result.put(clientId, cached);
+            } else {
+                result.put(clientId, null);
+                misses.add(clientId);
+            }
+        }
+        if (misses.isEmpty()) {
+            return result;
+        }
+
+        long generation = invalidations.get();
+        Map<UUID, List<Consent>> loaded = loader.apply(misses);
+        boolean cacheable = invalidations.get() == generation;
+        for (UUID clientId : misses) {
+            ClientConsents consents = new ClientConsents(loaded.getOrDefault(clientId, List.of()), now.plus(maxTtl));
+            if (cacheable) {
+                clients.put(clientId, consents);
+            }
+            result.put(clientId, consents);
+        }
+        return result;
+    }
+
+    public void invalidate(UUID clientId) {
+        invalidations.incrementAndGet();
+        clients.invalidate(clientId);
+    }
+
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        clients.invalidateAll();
+    }
+
+    @EventListener
+    public void on(ConsentGranted event) {
+        invalidate(event.clientId());
+    }
+
+    @EventListener
+    public void on(ConsentRevoked event) {
+        invalidate(event.clientId());
+    }
+
+    @EventListener
+    public void on(ConsentExtended event) {
+        invalidate(event.clientId());
+    }
+
+    @EventListener
+    public void on(ConsentExpired event) {
+        invalidate(event.clientId());
+    }
+
+    /**
+     * Snapshot of one client's active consents with memoized authorization decisions
+     */
+    public static final class ClientConsents {
+        private final List<Consent> activeConsents;
+        private final boolean vawaProtected;
+        private final Instant validUntil;
+        private final Map<DecisionKey, Boolean> decisions = new ConcurrentHashMap<>();
+
+        ClientConsents(List<Consent> activeConsents, Instant ttlLimit) {
+            this.activeConsents = List.copyOf(activeConsents);
+            this.vawaProtected = activeConsents.stream().anyMatch(Consent::isVAWAProtected);
+
+            Instant earliestExpiry = ttlLimit;
+            for (Consent consent : activeConsents) {
+                if (consent.getExpiresAt() != null && consent.getExpiresAt().isBefore(earliestExpiry)) {
+                    earliestExpiry = consent.getExpiresAt();
+                }
+            }
+            this.validUntil = earliestExpiry;
+        }
+
+        /**
+         * Whether an active consent of the given type authorizes the operation for the recipient
+         */
+        public boolean authorizes(ConsentType consentType, String operation, String recipientOrganization) {
+            return decisions.computeIfAbsent(new DecisionKey(consentType, recipientOrganization, operation),
+                key -> activeConsents.stream()
+                    .filter(consent -> consent.getConsentType() == consentType)
+                    .filter(Consent::isValidForUse)
+                    .anyMatch(consent -> consent.authorizes(operation, recipientOrganization)));
+        }
+
+        public boolean hasVAWAProtectedConsents() {
+            return vawaProtected;
+        }
+
+        public List<Consent> getActiveConsents() {
+            return activeConsents;
+        }
+
+        boolean isFresh(Instant now) {
+            return now.isBefore(validUntil);
+        }
+    }
+
+    private record DecisionKey(ConsentType consentType, String recipientOrganization, String operation) {}
+}
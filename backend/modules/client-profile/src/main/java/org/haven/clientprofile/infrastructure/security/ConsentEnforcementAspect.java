@@ -3,16 +3,22 @@ package org.haven.clientprofile.infrastructure.security;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.haven.clientprofile.domain.ClientId;
 import org.haven.clientprofile.domain.consent.ConsentType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.stereotype.Component;
 
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.lang.reflect.Method;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
 
 /**
  * Aspect for enforcing consent requirements on data sharing operations
@@ -22,7 +28,11 @@ import java.util.UUID;
 @Component
 public class ConsentEnforcementAspect {
     
+    private static final ParameterNameDiscoverer PARAMETER_NAMES = new DefaultParameterNameDiscoverer();
+    
     private final ConsentEnforcementService consentEnforcementService;
+    // Where each advised method carries its client ID, resolved on first call
+    private final ConcurrentHashMap<Method, ClientIdLocator> clientIdLocators = new ConcurrentHashMap<>();
     
     @Autowired
     public ConsentEnforcementAspect(ConsentEnforcementService consentEnforcementService) {
@@ -65,41 +75,52 @@ public class ConsentEnforcementAspect {
      * Looks for UUID parameter named 'clientId' or ClientId type parameter
      */
     private UUID extractClientId(ProceedingJoinPoint joinPoint) {
-        Object[] args = joinPoint.getArgs();
-        String[] paramNames = getParameterNames(joinPoint);
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        return clientIdLocators.computeIfAbsent(method, ClientIdLocator::of).locate(joinPoint.getArgs());
+    }
+    
+    /**
+     * Argument positions that can carry the client ID, in lookup order:
+     * a UUID parameter named 'clientId', then ClientId parameters, then any UUID parameter.
+     * Parameter names are only available for classes compiled with -parameters.
+     */
+    record ClientIdLocator(int namedIndex, int[] clientIdIndexes, int[] uuidIndexes) {
         
-        // Look for parameter named 'clientId'
-        for (int i = 0; i < args.length && i < paramNames.length; i++) {
-            if ("clientId".equals(paramNames[i]) && args[i] instanceof UUID) {
-                return (UUID) args[i];
+        static ClientIdLocator of(Method method) {
+            Class<?>[] types = method.getParameterTypes();
+            String[] names = PARAMETER_NAMES.getParameterNames(method);
+            int namedIndex = -1;
+            if (names != null) {
+                for (int i = 0; i < names.length && i < types.length; i++) {
+                    if ("clientId".equals(names[i]) && types[i].isAssignableFrom(UUID.class)) {
+                        namedIndex = i;
+                        break;
+                    }
+                }
             }
+            return new ClientIdLocator(
+                namedIndex,
+                IntStream.range(0, types.length).filter(i -> types[i].isAssignableFrom(ClientId.class)).toArray(),
+                IntStream.range(0, types.length).filter(i -> types[i].isAssignableFrom(UUID.class)).toArray());
         }
         
-        // Look for ClientId type parameter
-        for (Object arg : args) {
-            if (arg instanceof ClientId) {
-                return ((ClientId) arg).value();
+        UUID locate(Object[] args) {
+            if (namedIndex >= 0 && namedIndex < args.length && args[namedIndex] instanceof UUID id) {
+                return id;
             }
-        }
-        
-        // Look for UUID type parameter (assume first UUID is client ID)
-        for (Object arg : args) {
-            if (arg instanceof UUID) {
-                return (UUID) arg;
+            for (int index : clientIdIndexes) {
+                if (index < args.length && args[index] instanceof ClientId clientId) {
+                    return clientId.value();
+                }
             }
+            // Assume the first UUID is the client ID
+            for (int index : uuidIndexes) {
+                if (index < args.length && args[index] instanceof UUID id) {
+                    return id;
+                }
+            }
+            return null;
         }
-        
-        return null;
-    }
-    
-    /**
-     * Get parameter names from method signature
-     * In production, this would use reflection or compile-time parameter name retention
-     */
-    private String[] getParameterNames(ProceedingJoinPoint joinPoint) {
-        // Simplified implementation - in real scenario would use reflection
-        // or Spring's parameter name discovery
-        return new String[]{"clientId", "data", "context", "exportType"};
     }
     
     /**
@@ -7,24 +7,33 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Service for enforcing consent requirements in data sharing operations
  * Ensures all data access and sharing complies with client consent
+ * Decisions are served from {@link ConsentDecisionCache}, so repeated checks for the same client
+ * (aspect-guarded batch operations, household and export loops) load its consents once
  */
 @Service
 public class ConsentEnforcementService {
     
     private final ConsentRepository consentRepository;
     private final ConsentLedgerRepository ledgerRepository;
+    private final ConsentDecisionCache decisionCache;
     
     @Autowired
     public ConsentEnforcementService(ConsentRepository consentRepository, 
-                                   ConsentLedgerRepository ledgerRepository) {
+                                   ConsentLedgerRepository ledgerRepository,
+                                   ConsentDecisionCache decisionCache) {
         this.consentRepository = consentRepository;
         this.ledgerRepository = ledgerRepository;
+        this.decisionCache = decisionCache;
     }
     
     /**
@@ -44,16 +53,40 @@ public class ConsentEnforcementService {
             return ConsentValidationResult.allowed("No consent required");
         }
         
-        List<Consent> activeConsents = consentRepository.findActiveConsentsForClient(clientId);
+        return evaluate(activeConsents(clientId), operation, recipientOrganization, requiredConsentTypes);
+    }
+    
+    /**
+     * Validate the same operation for many clients, e.g. every member of a household or every
+     * client in an export. Clients not already cached are loaded with a single repository call.
+     * @return Validation result per client, in input order
+     */
+    public Map<ClientId, ConsentValidationResult> validateOperations(Collection<ClientId> clientIds, String operation,
+                                                                   String recipientOrganization,
+                                                                   ConsentType... requiredConsentTypes) {
+        Map<ClientId, ConsentValidationResult> results = new LinkedHashMap<>();
+        if (requiredConsentTypes.length == 0) {
+            for (ClientId clientId : clientIds) {
+                results.put(clientId, ConsentValidationResult.allowed("No consent required"));
+            }
+            return results;
+        }
         
+        Map<UUID, ConsentDecisionCache.ClientConsents> consents = decisionCache.getAll(
+            clientIds.stream().map(ClientId::value).toList(),
+            this::loadActiveConsents
+        );
+        for (ClientId clientId : clientIds) {
+            results.put(clientId, evaluate(consents.get(clientId.value()), operation, recipientOrganization,
+                                           requiredConsentTypes));
+        }
+        return results;
+    }
+    
+    private ConsentValidationResult evaluate(ConsentDecisionCache.ClientConsents consents, String operation,
+                                             String recipientOrganization, ConsentType... requiredConsentTypes) {
         for (ConsentType requiredType : requiredConsentTypes) {
-            Optional<Consent> matchingConsent = activeConsents.stream()
-                .filter(consent -> consent.getConsentType() == requiredType)
-                .filter(consent -> consent.isValidForUse())
-                .filter(consent -> consent.authorizes(operation, recipientOrganization))
-                .findFirst();
-            
-            if (matchingConsent.isEmpty()) {
+            if (!consents.authorizes(requiredType, operation, recipientOrganization)) {
                 return ConsentValidationResult.denied(
                     String.format("Missing valid consent for %s to %s", 
                                 requiredType.getDisplayName(), recipientOrganization),
@@ -145,9 +178,18 @@ public class ConsentEnforcementService {
      * Check if client has any VAWA-protected consents
      */
     public boolean hasVAWAProtectedConsents(ClientId clientId) {
-        return consentRepository.findActiveConsentsForClient(clientId)
-            .stream()
-            .anyMatch(Consent::isVAWAProtected);
+        return activeConsents(clientId).hasVAWAProtectedConsents();
+    }
+    
+    private ConsentDecisionCache.ClientConsents activeConsents(ClientId clientId) {
+        return decisionCache.get(clientId.value(),
+            id -> consentRepository.findActiveConsentsForClient(new ClientId(id)));
+    }
+    
+    private Map<UUID, List<Consent>> loadActiveConsents(Collection<UUID> clientIds) {
+        return consentRepository.findActiveConsentsForClients(clientIds.stream().map(ClientId::new).toList())
+            .entrySet().stream()
+            .collect(Collectors.toMap(entry -> entry.getKey().value(), Map.Entry::getValue));
     }
     
     /**
@@ -10,6 +10,9 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
 import java.util.List;
 import java.util.UUID;
 
@@ -21,6 +24,23 @@ import java.util.UUID;
 @Component
 public class DataSystemBoundaryEnforcer {
     
+    /**
+     * Getter for each argument type's own clientId field, looked up once per type (null when absent)
+     */
+    private static final ClassValue<MethodHandle> CLIENT_ID_GETTER = new ClassValue<>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+            try {
+                Field field = type.getDeclaredField("clientId");
+                field.setAccessible(true);
+                return MethodHandles.lookup().unreflectGetter(field);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // Field doesn't exist or not accessible
+                return null;
+            }
+        }
+    };
+    
     /**
      * Annotation to mark methods that require data system boundary checks
      */
@@ -113,15 +133,16 @@ public class DataSystemBoundaryEnforcer {
             }
             // Check for client ID in common parameter objects
             if (arg != null) {
-                try {
-                    var clientIdField = arg.getClass().getDeclaredField("clientId");
-                    clientIdField.setAccessible(true);
-                    Object value = clientIdField.get(arg);
-                    if (value instanceof UUID) {
-                        return (UUID) value;
+                MethodHandle clientIdGetter = CLIENT_ID_GETTER.get(arg.getClass());
+                if (clientIdGetter != null) {
+                    try {
+                        Object value = clientIdGetter.invoke(arg);
+                        if (value instanceof UUID) {
+                            return (UUID) value;
+                        }
+                    } catch (Throwable e) {
+                        // Not readable, continue
                     }
-                } catch (Exception e) {
-                    // Field doesn't exist or not accessible, continue
                 }
             }
         }
@@ -1,16 +1,20 @@
 package org.haven.clientprofile.infrastructure.security;
 
+import org.haven.shared.security.ThreadLocalCipher;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.Cipher;
 import javax.crypto.KeyGenerator;
+import javax.crypto.Mac;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.List;
 
 /**
  * AES-GCM encryption service for PII data protection
@@ -26,6 +30,7 @@ public class PIIEncryptionService {
     
     private final SecretKey encryptionKey;
     private final SecureRandom secureRandom;
+    private final ThreadLocalCipher ciphers = new ThreadLocalCipher(TRANSFORMATION);
     
     public PIIEncryptionService(@Value("${haven.security.pii.encryption.key:}") String base64Key) {
         this.secureRandom = new SecureRandom();
@@ -50,23 +55,36 @@ public class PIIEncryptionService {
             return plaintext;
         }
         
+        return encrypt(ciphers.get(), plaintext);
+    }
+    
+    /**
+     * Encrypts a column of values, e.g. one field across an import batch
+     * @param plaintexts Values to encrypt; null and blank entries are returned unchanged
+     * @return Encrypted values in input order
+     */
+    public List<String> encryptAll(List<String> plaintexts) {
+        Cipher cipher = ciphers.get();
+        List<String> encrypted = new ArrayList<>(plaintexts.size());
+        for (String plaintext : plaintexts) {
+            encrypted.add(plaintext == null || plaintext.trim().isEmpty() ? plaintext : encrypt(cipher, plaintext));
+        }
+        return encrypted;
+    }
+    
+    private String encrypt(Cipher cipher, String plaintext) {
         try {
-            // Generate random IV
+            byte[] input = plaintext.getBytes(StandardCharsets.UTF_8);
+            
             byte[] iv = new byte[GCM_IV_LENGTH];
             secureRandom.nextBytes(iv);
             
-            // Initialize cipher
-            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
-            GCMParameterSpec gcmSpec = new GCMParameterSpec(GCM_TAG_LENGTH * 8, iv);
-            cipher.init(Cipher.ENCRYPT_MODE, encryptionKey, gcmSpec);
-            
-            // Encrypt data
-            byte[] encryptedData = cipher.doFinal(plaintext.getBytes(StandardCharsets.UTF_8));
-            
-            // Combine IV + encrypted data
-            byte[] encryptedWithIv = new byte[GCM_IV_LENGTH + encryptedData.length];
+            // Output is IV followed by ciphertext and tag; the cipher writes straight after the IV
+            byte[] encryptedWithIv = new byte[GCM_IV_LENGTH + input.length + GCM_TAG_LENGTH];
             System.arraycopy(iv, 0, encryptedWithIv, 0, GCM_IV_LENGTH);
-            System.arraycopy(encryptedData, 0, encryptedWithIv, GCM_IV_LENGTH, encryptedData.length);
+            GCMParameterSpec gcmSpec = new GCMParameterSpec(GCM_TAG_LENGTH * 8, encryptedWithIv, 0, GCM_IV_LENGTH);
+            cipher.init(Cipher.ENCRYPT_MODE, encryptionKey, gcmSpec);
+            cipher.doFinal(input, 0, input.length, encryptedWithIv, GCM_IV_LENGTH);
             
             return Base64.getEncoder().encodeToString(encryptedWithIv);
             
@@ -85,6 +103,25 @@ public class PIIEncryptionService {
             return encryptedData;
         }
         
+        return decrypt(ciphers.get(), encryptedData);
+    }
+    
+    /**
+     * Decrypts a column of values, e.g. one field across every row of an export
+     * @param encryptedValues Values to decrypt; null and blank entries are returned unchanged
+     * @return Decrypted values in input order
+     */
+    public List<String> decryptAll(List<String> encryptedValues) {
+        Cipher cipher = ciphers.get();
+        List<String> decrypted = new ArrayList<>(encryptedValues.size());
+        for (String encryptedData : encryptedValues) {
+            decrypted.add(encryptedData == null || encryptedData.trim().isEmpty()
+                ? encryptedData : decrypt(cipher, encryptedData));
+        }
+        return decrypted;
+    }
+    
+    private String decrypt(Cipher cipher, String encryptedData) {
         try {
             // Decode from Base64
             byte[] encryptedWithIv = Base64.getDecoder().decode(encryptedData);
@@ -93,19 +130,10 @@ public class PIIEncryptionService {
                 throw new PIIEncryptionException("Invalid encrypted data format");
             }
             
-            // Extract IV and encrypted data
-            byte[] iv = new byte[GCM_IV_LENGTH];
-            byte[] encrypted = new byte[encryptedWithIv.length - GCM_IV_LENGTH];
-            System.arraycopy(encryptedWithIv, 0, iv, 0, GCM_IV_LENGTH);
-            System.arraycopy(encryptedWithIv, GCM_IV_LENGTH, encrypted, 0, encrypted.length);
-            
-            // Initialize cipher for decryption
-            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
-            GCMParameterSpec gcmSpec = new GCMParameterSpec(GCM_TAG_LENGTH * 8, iv);
+            // IV and ciphertext are read in place rather than copied out
+            GCMParameterSpec gcmSpec = new GCMParameterSpec(GCM_TAG_LENGTH * 8, encryptedWithIv, 0, GCM_IV_LENGTH);
             cipher.init(Cipher.DECRYPT_MODE, encryptionKey, gcmSpec);
-            
-            // Decrypt data
-            byte[] decryptedData = cipher.doFinal(encrypted);
+            byte[] decryptedData = cipher.doFinal(encryptedWithIv, GCM_IV_LENGTH, encryptedWithIv.length - GCM_IV_LENGTH);
             
             return new String(decryptedData, StandardCharsets.UTF_8);
             
@@ -185,6 +213,22 @@ public class PIIEncryptionService {
         }
     }
     
+    /**
+     * Derives a purpose-specific key from the encryption key (HMAC-SHA256 of the purpose label),
+     * so keyed hashes such as blind indexes never reuse the encryption key directly
+     * @param purpose Stable label naming what the derived key is used for
+     * @return 32-byte derived key
+     */
+    public byte[] deriveKey(String purpose) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(encryptionKey.getEncoded(), "HmacSHA256"));
+            return mac.doFinal(purpose.getBytes(StandardCharsets.UTF_8));
+        } catch (Exception e) {
+            throw new PIIEncryptionException("Failed to derive key for " + purpose, e);
+        }
+    }
+    
     /**
      * Generates a new AES-256 key
      * @return Generated secret key
@@ -11,6 +11,8 @@ import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import java.lang.reflect.Field;
 import java.util.*;
@@ -24,6 +26,7 @@ import java.util.*;
 public class PIIRedactionService {
 
     private static final Logger log = LoggerFactory.getLogger(PIIRedactionService.class);
+    private static final String REQUEST_PERMISSIONS_ATTRIBUTE = PIIRedactionService.class.getName() + ".permissions";
 
     private final KeycloakTokenVerificationService tokenVerificationService;
     private final DeterministicIdGenerator idGenerator;
@@ -44,7 +47,51 @@ public class PIIRedactionService {
      * @throws TokenAuthenticationException if token is invalid
      */
     public <T> T applyRedactionWithToken(T data, String token, UUID clientId) {
-        // Verify token
+        return applyRedactionWithPermission(data, resolvePermission(token), clientId);
+    }
+
+    /**
+     * Apply token-based redaction to every item of a list.
+     * The token is verified and the permission resolved once for the whole list.
+     */
+    public <T> List<T> applyRedactionToAllWithToken(List<T> items, String token, UUID clientId) {
+        RedactionPermission permission = resolvePermission(token);
+        List<T> redacted = new ArrayList<>(items.size());
+        for (T item : items) {
+            redacted.add(applyRedactionWithPermission(item, permission, clientId));
+        }
+        return redacted;
+    }
+
+    /**
+     * Resolve the redaction permission for a JWT.
+     * Within an HTTP request the result is kept in request scope, so repeated per-item calls
+     * reuse it instead of re-verifying the token and re-extracting roles and scopes.
+     * @throws TokenAuthenticationException if token is invalid
+     */
+    public RedactionPermission resolvePermission(String token) {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request == null) {
+            return verifyAndBuildPermission(token);
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, RedactionPermission> permissions = (Map<String, RedactionPermission>)
+                request.getAttribute(REQUEST_PERMISSIONS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (permissions == null) {
+            permissions = new HashMap<>(2);
+            request.setAttribute(REQUEST_PERMISSIONS_ATTRIBUTE, permissions, RequestAttributes.SCOPE_REQUEST);
+        }
+        RedactionPermission permission = permissions.get(token);
+        if (permission == null) {
+            permission = verifyAndBuildPermission(token);
+            permissions.put(token, permission);
+        }
+        return permission;
+    }
+
+    private RedactionPermission verifyAndBuildPermission(String token) {
+        // Verify token (served from the verification cache for recently seen tokens)
         KeycloakTokenVerificationService.TokenVerificationResult result = tokenVerificationService.verifyToken(token);
 
         if (!result.isValid()) {
@@ -71,14 +118,13 @@ public class PIIRedactionService {
         // Create redaction permission
         RedactionPermission permission = RedactionPermission.from(userRoles, consentScopes);
 
-        log.info("Applying redaction for user {} with roles {} and scopes {} (default level: {})",
+        log.info("Resolved redaction permission for user {} with roles {} and scopes {} (default level: {})",
                 tokenVerificationService.extractUsername(jwt),
                 userRoles,
                 consentScopes,
                 permission.getDefaultRedactionLevel());
 
-        // Apply redaction based on permission
-        return applyRedactionWithPermission(data, permission, clientId);
+        return permission;
     }
 
     /**
@@ -219,6 +265,7 @@ public class PIIRedactionService {
      */
     @CacheEvict(value = "redactionPermissions", allEntries = true)
     public void invalidateAllPermissionCaches() {
+        tokenVerificationService.invalidateVerificationCache();
         log.info("Invalidated all redaction permission caches");
     }
 
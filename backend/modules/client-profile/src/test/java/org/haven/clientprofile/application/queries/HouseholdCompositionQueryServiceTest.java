@@ -0,0 +1,515 @@
+package org.haven.clientprofile.application.queries;
+
+import org.haven.clientprofile.domain.*;
+import org.haven.clientprofile.domain.events.CustodyChangeRecorded;
+import org.haven.clientprofile.domain.events.HouseholdCompositionCreated;
+import org.haven.clientprofile.domain.events.HouseholdMemberAdded;
+import org.haven.clientprofile.domain.events.HouseholdMemberRemoved;
+import org.haven.clientprofile.infrastructure.eventhandlers.HouseholdMemberViewProjection;
+import org.haven.shared.events.DomainEvent;
+import org.haven.shared.vo.CodeableConcept;
+import org.haven.shared.vo.HumanName;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for household_member_view and the household queries that read it.
+ * Events of real compositions run through HouseholdMemberViewProjection into an in-memory view
+ * that derives activity and duration at read time like JdbcHouseholdMemberViewRepository.
+ * The member-per-lookup implementation the queries replaced is kept here as the reference.
+ */
+class HouseholdCompositionQueryServiceTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 15);
+
+    private final Map<ClientId, Client> clients = new HashMap<>();
+    private final Map<HouseholdCompositionId, HouseholdComposition> compositions = new LinkedHashMap<>();
+    private final AtomicInteger summaryLookups = new AtomicInteger();
+    private final AtomicInteger clientLoads = new AtomicInteger();
+
+    private InMemoryHouseholdMemberViewRepository viewRepository;
+    private HouseholdMemberViewProjection projection;
+    private HouseholdCompositionQueryService queryService;
+
+    @BeforeEach
+    void setUp() {
+        ClientRepository clientRepository = mock(ClientRepository.class);
+        doAnswer(invocation -> {
+            summaryLookups.incrementAndGet();
+            Map<ClientId, ClientSummary> summaries = new HashMap<>();
+            for (ClientId id : invocation.<Collection<ClientId>>getArgument(0)) {
+                Client client = clients.get(id);
+                if (client != null) {
+                    summaries.put(id, summaryOf(client));
+                }
+            }
+            return summaries;
+        }).when(clientRepository).findSummariesByIds(any());
+        doAnswer(invocation -> {
+            clientLoads.incrementAndGet();
+            return Optional.ofNullable(clients.get(invocation.<ClientId>getArgument(0)));
+        }).when(clientRepository).findById(any());
+
+        HouseholdCompositionRepository householdRepository = mock(HouseholdCompositionRepository.class);
+        doAnswer(invocation -> Optional.ofNullable(compositions.get(invocation.<HouseholdCompositionId>getArgument(0))))
+            .when(householdRepository).findById(any());
+        doAnswer(invocation -> compositions.values().stream()
+            .filter(composition -> composition.getHeadOfHouseholdId().equals(invocation.getArgument(0)))
+            .toList())
+            .when(householdRepository).findByHeadOfHouseholdId(any());
+        doAnswer(invocation -> compositions.values().stream()
+            .filter(composition -> composition.getMembershipHistory().stream()
+                .anyMatch(membership -> membership.getMemberId().equals(invocation.getArgument(0))))
+            .toList())
+            .when(householdRepository).findByMemberId(any());
+
+        viewRepository = new InMemoryHouseholdMemberViewRepository();
+        projection = new HouseholdMemberViewProjection(viewRepository, clientRepository);
+        queryService = new HouseholdCompositionQueryService(householdRepository, clientRepository, viewRepository);
+    }
+
+    @Test
+    @DisplayName("Creating a household and adding members writes a view row per member with display fields")
+    void testMemberAdded() {
+        Client head = client("Dana", "Reyes", LocalDate.of(1985, 4, 2));
+        Client partner = client("Sam", "Reyes", LocalDate.of(1987, 9, 12));
+        Client child = client("Ava", "Reyes", LocalDate.of(2015, 6, 30));
+        HouseholdComposition household = household(head);
+        household.addMember(partner.getId(), relationship("SPOUSE", "Spouse"), START, "intake", "Joined at intake");
+        household.addMember(child.getId(), relationship("CHILD", "Child"), START, "intake", "Joined at intake");
+        save(household);
+
+        List<HouseholdMemberReadModel> rows = viewRepository.findByCompositionIds(List.of(household.getId().getValue()));
+
+        assertEquals(3, rows.size());
+        assertTrue(rows.get(0).isHeadOfHousehold());
+        assertEquals("Dana Reyes", rows.get(0).memberFullName());
+        HouseholdMemberReadModel childRow = rowOf(rows, child);
+        assertEquals("Ava", childRow.memberFirstName());
+        assertEquals("Reyes", childRow.memberLastName());
+        assertEquals(LocalDate.of(2015, 6, 30), childRow.memberDateOfBirth());
+        assertEquals("CHILD", childRow.relationshipCode());
+        assertEquals(START, childRow.membershipStartDate());
+        assertNull(childRow.membershipEndDate());
+        assertTrue(childRow.isActive());
+        assertEquals("SPOUSE", rowOf(rows, partner).relationshipCode());
+    }
+
+    @Test
+    @DisplayName("Removing a member ends its view row with the removal date, recorder and reason")
+    void testMemberRemoved() {
+        Client head = client("Dana", "Reyes", LocalDate.of(1985, 4, 2));
+        Client partner = client("Sam", "Reyes", LocalDate.of(1987, 9, 12));
+        HouseholdComposition household = household(head);
+        household.addMember(partner.getId(), relationship("SPOUSE", "Spouse"), START, "intake", "Joined at intake");
+        save(household);
+
+        household.removeMember(partner.getId(), START.plusMonths(6), "case-worker", "Moved out");
+        save(household);
+
+        HouseholdMemberReadModel row = rowOf(viewRepository.findByCompositionIds(List.of(household.getId().getValue())), partner);
+        assertEquals(START.plusMonths(6), row.membershipEndDate());
+        assertEquals("case-worker", row.recordedBy());
+        assertEquals("Joined at intake | Ended: Moved out", row.reason());
+        assertFalse(row.isActive());
+        assertEquals(Duration.between(START.atStartOfDay(), START.plusMonths(6).atStartOfDay()).toDays(),
+            row.membershipDurationDays());
+    }
+
+    @Test
+    @DisplayName("A relationship change ends the old row and adds a row with the new relationship")
+    void testRelationshipChange() {
+        Client head = client("Dana", "Reyes", LocalDate.of(1985, 4, 2));
+        Client child = client("Ava", "Reyes", LocalDate.of(2015, 6, 30));
+        HouseholdComposition household = household(head);
+        household.addMember(child.getId(), relationship("CHILD", "Child"), START, "intake", "Joined at intake");
+        save(household);
+
+        LocalDate changed = START.plusMonths(3);
+        household.updateMemberRelationship(child.getId(), relationship("STEPCHILD", "Stepchild"), changed,
+            "case-worker", "Remarriage");
+        save(household);
+
+        List<HouseholdMemberReadModel> history = queryService.getClientHouseholdHistory(child.getId());
+        assertEquals(2, history.size());
+        assertEquals("CHILD", history.get(0).relationshipCode());
+        assertEquals(changed.minusDays(1), history.get(0).membershipEndDate());
+        assertEquals("Joined at intake | Ended: Relationship change: Remarriage", history.get(0).reason());
+        assertEquals("STEPCHILD", history.get(1).relationshipCode());
+        assertEquals(changed, history.get(1).membershipStartDate());
+        assertNull(history.get(1).membershipEndDate());
+        assertTrue(history.get(1).isActive());
+        assertEquals(0, clientLoads.get());
+    }
+
+    @Test
+    @DisplayName("View-backed and fallback queries match the per-member aggregate-loading reference")
+    void testParityWithAggregateLoadingPath() {
+        Random random = new Random(40L);
+        List<Client> heads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            heads.add(client("Head" + i, "Family" + i, LocalDate.of(1980 + i, 1, 1)));
+        }
+        Client shared = client("Jordan", "Lee", LocalDate.of(2010, 3, 3));
+        for (int i = 0; i < 8; i++) {
+            HouseholdComposition household = household(heads.get(i % heads.size()));
+            household.addMember(shared.getId(), relationship("CHILD", "Child"), START.minusYears(1), START.minusDays(1),
+                "intake", "Previous placement");
+            for (int m = 0; m < 3; m++) {
+                Client member = client("Member" + i + m, "Family" + i, LocalDate.of(2000 + m, 5, 5));
+                household.addMember(member.getId(), relationship(m == 0 ? "SPOUSE" : "CHILD", "Member"),
+                    START.plusDays(random.nextInt(30)), "intake", "Joined at intake");
+                switch (random.nextInt(3)) {
+                    case 0 -> household.removeMember(member.getId(), START.plusMonths(2), "case-worker", "Moved out");
+                    case 1 -> household.recordCustodyChange(member.getId(), relationship("FOSTER_CHILD", "Foster child"),
+                        START.plusMonths(4), "2024-FC-" + i + m, "case-worker");
+                    default -> { }
+                }
+            }
+            save(household);
+        }
+        // A client missing from the store resolves to "Unknown" on every path
+        HouseholdComposition household = household(heads.get(0));
+        household.addMember(ClientId.generate(), relationship("OTHER", "Other"), START, "intake", "Unregistered");
+        save(household);
+
+        for (HouseholdComposition composition : compositions.values()) {
+            HouseholdCompositionReadModel expected = referenceReadModel(composition);
+            assertMatchesReference(expected, queryService.getHouseholdComposition(composition.getId()).orElseThrow());
+        }
+        for (Client head : heads) {
+            List<HouseholdCompositionReadModel> expected = compositions.values().stream()
+                .filter(composition -> composition.getHeadOfHouseholdId().equals(head.getId()))
+                .map(this::referenceReadModel)
+                .toList();
+            List<HouseholdCompositionReadModel> actual = queryService.getHouseholdsByHeadOfHousehold(head.getId());
+            assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertMatchesReference(expected.get(i), actual.get(i));
+            }
+        }
+        assertEquals(referenceHistory(shared.getId()).size(), queryService.getClientHouseholdHistory(shared.getId()).size());
+        assertEquals(0, clientLoads.get(), "queries must not load client aggregates");
+
+        // Compositions without view rows are built from their membership records instead
+        viewRepository.rows.clear();
+        for (HouseholdComposition composition : compositions.values()) {
+            assertEquals(referenceReadModel(composition),
+                queryService.getHouseholdComposition(composition.getId()).orElseThrow());
+        }
+        assertEquals(referenceHistory(shared.getId()), queryService.getClientHouseholdHistory(shared.getId()));
+    }
+
+    @Test
+    @DisplayName("List queries resolve members of all non-projected compositions with one bulk lookup")
+    void testFallbackUsesOneBulkLookup() {
+        Client head = client("Dana", "Reyes", LocalDate.of(1985, 4, 2));
+        for (int i = 0; i < 5; i++) {
+            HouseholdComposition household = household(head);
+            household.addMember(client("Member" + i, "Reyes", LocalDate.of(2012, 1, 1)).getId(),
+                relationship("CHILD", "Child"), START, "intake", "Joined at intake");
+            save(household);
+        }
+        viewRepository.rows.clear();
+        summaryLookups.set(0);
+
+        List<HouseholdCompositionReadModel> households = queryService.getHouseholdsByHeadOfHousehold(head.getId());
+
+        assertEquals(5, households.size());
+        households.forEach(household -> assertEquals(2, household.totalMembersCount()));
+        assertEquals(1, summaryLookups.get());
+        assertEquals(0, clientLoads.get());
+    }
+
+    private Client client(String firstName, String lastName, LocalDate birthDate) {
+        HumanName name = new HumanName(HumanName.NameUse.OFFICIAL, lastName, List.of(firstName), List.of(), List.of(),
+            firstName + " " + lastName);
+        Client client = Client.create(name, Client.AdministrativeGender.UNKNOWN, birthDate);
+        clients.put(client.getId(), client);
+        return client;
+    }
+
+    private static HouseholdComposition household(Client head) {
+        return HouseholdComposition.create(head.getId(), START, HouseholdComposition.HouseholdType.FAMILY_WITH_CHILDREN,
+            "intake");
+    }
+
+    private static CodeableConcept relationship(String code, String display) {
+        return new CodeableConcept(List.of(new CodeableConcept.Coding("urn:haven:relationship", null, code, display, null)),
+            display);
+    }
+
+    /**
+     * Publishes pending household events to the projection, as JpaHouseholdCompositionRepository.save does
+     */
+    private void save(HouseholdComposition composition) {
+        compositions.put(composition.getId(), composition);
+        for (DomainEvent event : composition.getPendingEvents()) {
+            if (event instanceof HouseholdCompositionCreated created) {
+                projection.on(created);
+            } else if (event instanceof HouseholdMemberAdded added) {
+                projection.on(added);
+            } else if (event instanceof HouseholdMemberRemoved removed) {
+                projection.on(removed);
+            } else if (event instanceof CustodyChangeRecorded custody) {
+                projection.on(custody);
+            }
+        }
+        composition.clearPendingEvents();
+    }
+
+    private static ClientSummary summaryOf(Client client) {
+        return new ClientSummary(client.getId().value(), client.getPrimaryName().getFirstName(),
+            client.getPrimaryName().getLastName(), client.getBirthDate());
+    }
+
+    private static HouseholdMemberReadModel rowOf(List<HouseholdMemberReadModel> rows, Client client) {
+        return rows.stream()
+            .filter(row -> !row.isHeadOfHousehold() && row.memberId().equals(client.getId().value()))
+            .findFirst()
+            .orElseThrow();
+    }
+
+    /**
+     * The view orders members by start date and stamps an ended row with its removal event's time,
+     * where the aggregate keeps history order and stamps the record when it applies the event
+     */
+    private static void assertMatchesReference(HouseholdCompositionReadModel expected, HouseholdCompositionReadModel actual) {
+        Comparator<HouseholdMemberReadModel> byRow = Comparator
+            .comparing((HouseholdMemberReadModel member) -> !member.isHeadOfHousehold())
+            .thenComparing(member -> String.valueOf(member.membershipId()));
+        assertEquals(withoutMembers(expected), withoutMembers(actual));
+        assertMembersMatch(sorted(expected.allMembers(), byRow), sorted(actual.allMembers(), byRow));
+        assertMembersMatch(sorted(expected.activeMembers(), byRow), sorted(actual.activeMembers(), byRow));
+
+        Comparator<HouseholdCompositionReadModel.CustodyChangeReadModel> byMembership =
+            Comparator.comparing(change -> change.membershipId().toString());
+        List<HouseholdCompositionReadModel.CustodyChangeReadModel> expectedChanges = sorted(expected.custodyChanges(), byMembership);
+        List<HouseholdCompositionReadModel.CustodyChangeReadModel> actualChanges = sorted(actual.custodyChanges(), byMembership);
+        assertEquals(expectedChanges.size(), actualChanges.size());
+        for (int i = 0; i < expectedChanges.size(); i++) {
+            assertEquals(expectedChanges.get(i).membershipId(), actualChanges.get(i).membershipId());
+            assertEquals(expectedChanges.get(i).childFirstName(), actualChanges.get(i).childFirstName());
+            assertEquals(expectedChanges.get(i).newRelationshipCode(), actualChanges.get(i).newRelationshipCode());
+            assertEquals(expectedChanges.get(i).courtOrderReference(), actualChanges.get(i).courtOrderReference());
+        }
+    }
+
+    private static void assertMembersMatch(List<HouseholdMemberReadModel> expected, List<HouseholdMemberReadModel> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            HouseholdMemberReadModel want = expected.get(i);
+            HouseholdMemberReadModel got = actual.get(i);
+            assertTrue(Duration.between(want.recordedAt(), got.recordedAt()).abs().compareTo(Duration.ofSeconds(1)) < 0,
+                "recorded at of " + want.membershipId());
+            assertEquals(withRecordedAt(want, null), withRecordedAt(got, null));
+        }
+    }
+
+    private static HouseholdCompositionReadModel withoutMembers(HouseholdCompositionReadModel model) {
+        return new HouseholdCompositionReadModel(model.id(), model.headOfHouseholdId(), model.headOfHouseholdFirstName(),
+            model.headOfHouseholdLastName(), model.headOfHouseholdFullName(), model.headOfHouseholdDateOfBirth(),
+            model.compositionDate(), model.householdType(), model.notes(), model.createdAt(),
+            model.currentHouseholdSize(), model.totalMembersCount(), model.activeChildrenCount(),
+            List.of(), List.of(), List.of());
+    }
+
+    private static HouseholdMemberReadModel withRecordedAt(HouseholdMemberReadModel member, Instant recordedAt) {
+        return new HouseholdMemberReadModel(member.membershipId(), member.householdCompositionId(), member.memberId(),
+            member.memberFirstName(), member.memberLastName(), member.memberFullName(), member.memberDateOfBirth(),
+            member.relationshipCode(), member.relationshipDisplay(), member.membershipStartDate(),
+            member.membershipEndDate(), member.isActive(), member.isHeadOfHousehold(), member.recordedBy(),
+            member.reason(), recordedAt, member.membershipDurationDays());
+    }
+
+    private static <T> List<T> sorted(List<T> items, Comparator<? super T> order) {
+        return items.stream().sorted(order).toList();
+    }
+
+    // Previous implementation: one client load per member, head of household and custody child
+
+    private HouseholdCompositionReadModel referenceReadModel(HouseholdComposition composition) {
+        LocalDate today = LocalDate.now();
+        Client head = clients.get(composition.getHeadOfHouseholdId());
+        List<HouseholdMemberReadModel> allMembers = composition.getMembershipHistory().stream()
+            .map(membership -> referenceMember(composition, membership))
+            .collect(Collectors.toList());
+        if (head != null) {
+            allMembers.add(0, HouseholdMemberReadModel.forHeadOfHousehold(
+                composition.getId().getValue(), composition.getHeadOfHouseholdId().value(),
+                head.getPrimaryName().given().get(0), head.getPrimaryName().family(), head.getPrimaryName().text(),
+                head.getBirthDate(), composition.getCompositionDate(), composition.getCreatedAt()));
+        }
+        List<HouseholdMemberReadModel> activeMembers = allMembers.stream()
+            .filter(member -> member.isHeadOfHousehold() || isActiveOn(member, today))
+            .toList();
+        List<HouseholdCompositionReadModel.CustodyChangeReadModel> custodyChanges = composition.getMembershipHistory().stream()
+            .filter(membership -> membership.getReason() != null
+                && (membership.getReason().toLowerCase().contains("custody")
+                    || membership.getReason().toLowerCase().contains("court order")))
+            .map(membership -> {
+                Client child = clients.get(membership.getMemberId());
+                String reason = membership.getReason();
+                String[] parts = reason.split("court order:");
+                return new HouseholdCompositionReadModel.CustodyChangeReadModel(
+                    membership.getMembershipId(), membership.getMemberId().value(),
+                    child != null ? child.getPrimaryName().given().get(0) : "Unknown",
+                    child != null ? child.getPrimaryName().family() : "Unknown",
+                    null,
+                    membership.getRelationship().coding().isEmpty() ? null : membership.getRelationship().coding().get(0).code(),
+                    membership.getStartDate(),
+                    parts.length > 1 ? parts[1].trim() : reason,
+                    membership.getRecordedBy(),
+                    membership.getRecordedAt());
+            })
+            .toList();
+        return new HouseholdCompositionReadModel(
+            composition.getId().getValue(),
+            composition.getHeadOfHouseholdId().value(),
+            head != null ? head.getPrimaryName().given().get(0) : "Unknown",
+            head != null ? head.getPrimaryName().family() : "Unknown",
+            head != null ? head.getPrimaryName().text() : "Unknown",
+            head != null ? head.getBirthDate() : null,
+            composition.getCompositionDate(),
+            composition.getHouseholdType(),
+            composition.getNotes(),
+            composition.getCreatedAt(),
+            composition.getHouseholdSizeOn(today),
+            allMembers.size(),
+            (int) activeMembers.stream().filter(HouseholdCompositionQueryServiceTest::isChild).count(),
+            allMembers,
+            activeMembers,
+            custodyChanges);
+    }
+
+    private List<HouseholdMemberReadModel> referenceHistory(ClientId clientId) {
+        return compositions.values().stream()
+            .filter(composition -> composition.getMembershipHistory().stream()
+                .anyMatch(membership -> membership.getMemberId().equals(clientId)))
+            .flatMap(composition -> composition.getMembershipHistory().stream()
+                .filter(membership -> membership.getMemberId().equals(clientId))
+                .map(membership -> referenceMember(composition, membership)))
+            .toList();
+    }
+
+    private HouseholdMemberReadModel referenceMember(HouseholdComposition composition, HouseholdMembershipRecord membership) {
+        Client member = clients.get(membership.getMemberId());
+        List<CodeableConcept.Coding> coding = membership.getRelationship().coding();
+        return new HouseholdMemberReadModel(
+            membership.getMembershipId(),
+            composition.getId().getValue(),
+            membership.getMemberId().value(),
+            member != null ? member.getPrimaryName().given().get(0) : "Unknown",
+            member != null ? member.getPrimaryName().family() : "Unknown",
+            member != null ? member.getPrimaryName().text() : "Unknown",
+            member != null ? member.getBirthDate() : null,
+            coding.isEmpty() ? null : coding.get(0).code(),
+            coding.isEmpty() ? null : coding.get(0).display(),
+            membership.getStartDate(),
+            membership.getEndDate(),
+            membership.isActive(),
+            false,
+            membership.getRecordedBy(),
+            membership.getReason(),
+            membership.getRecordedAt(),
+            membership.getDurationDays());
+    }
+
+    private static boolean isActiveOn(HouseholdMemberReadModel member, LocalDate date) {
+        LocalDate start = member.membershipStartDate();
+        LocalDate end = member.membershipEndDate();
+        return (start == null || !date.isBefore(start)) && (end == null || !date.isAfter(end));
+    }
+
+    private static boolean isChild(HouseholdMemberReadModel member) {
+        String code = member.relationshipCode();
+        return code != null && (code.toLowerCase().contains("child") || code.toLowerCase().contains("son")
+            || code.toLowerCase().contains("daughter"));
+    }
+
+    /**
+     * household_member_view in memory, with the read-time rules of JdbcHouseholdMemberViewRepository
+     */
+    static class InMemoryHouseholdMemberViewRepository implements HouseholdMemberViewRepository {
+        final Map<UUID, HouseholdMemberReadModel> rows = new LinkedHashMap<>();
+
+        @Override
+        public List<HouseholdMemberReadModel> findByCompositionIds(Collection<UUID> compositionIds) {
+            return rows.values().stream()
+                .filter(row -> compositionIds.contains(row.householdCompositionId()))
+                .sorted(Comparator.comparing(HouseholdMemberReadModel::householdCompositionId)
+                    .thenComparing(row -> !row.isHeadOfHousehold())
+                    .thenComparing(HouseholdMemberReadModel::membershipStartDate)
+                    .thenComparing(HouseholdMemberReadModel::recordedAt))
+                .map(InMemoryHouseholdMemberViewRepository::derived)
+                .toList();
+        }
+
+        @Override
+        public List<HouseholdMemberReadModel> findMembershipsOfClient(UUID memberId) {
+            return rows.values().stream()
+                .filter(row -> !row.isHeadOfHousehold() && row.memberId().equals(memberId))
+                .sorted(Comparator.comparing(HouseholdMemberReadModel::membershipStartDate)
+                    .thenComparing(HouseholdMemberReadModel::recordedAt))
+                .map(InMemoryHouseholdMemberViewRepository::derived)
+                .toList();
+        }
+
+        @Override
+        public void save(HouseholdMemberReadModel member) {
+            rows.put(member.isHeadOfHousehold() ? member.householdCompositionId() : member.membershipId(), member);
+        }
+
+        @Override
+        public void endMembership(UUID membershipId, LocalDate endDate, String endedBy, String endReason,
+                                  Instant recordedAt) {
+            HouseholdMemberReadModel row = rows.get(membershipId);
+            if (row != null) {
+                rows.put(membershipId, new HouseholdMemberReadModel(row.membershipId(), row.householdCompositionId(),
+                    row.memberId(), row.memberFirstName(), row.memberLastName(), row.memberFullName(),
+                    row.memberDateOfBirth(), row.relationshipCode(), row.relationshipDisplay(),
+                    row.membershipStartDate(), endDate, row.isActive(), false, endedBy,
+                    row.reason() + " | Ended: " + endReason, recordedAt, 0));
+            }
+        }
+
+        @Override
+        public void updateMemberDetails(ClientSummary summary) {
+            rows.replaceAll((rowId, row) -> !row.memberId().equals(summary.clientId()) ? row
+                : new HouseholdMemberReadModel(row.membershipId(), row.householdCompositionId(), row.memberId(),
+                    summary.firstName(), summary.lastName(), summary.fullName(), summary.birthDate(),
+                    row.relationshipCode(), row.relationshipDisplay(), row.membershipStartDate(),
+                    row.membershipEndDate(), row.isActive(), row.isHeadOfHousehold(), row.recordedBy(),
+                    row.reason(), row.recordedAt(), row.membershipDurationDays()));
+        }
+
+        private static HouseholdMemberReadModel derived(HouseholdMemberReadModel row) {
+            if (row.isHeadOfHousehold()) {
+                return row;
+            }
+            Instant now = Instant.now();
+            Instant start = row.membershipStartDate().atStartOfDay().toInstant(ZoneOffset.UTC);
+            Instant end = row.membershipEndDate() != null
+                ? row.membershipEndDate().atStartOfDay().toInstant(ZoneOffset.UTC) : null;
+            boolean active = !start.isAfter(now) && (end == null || !end.isBefore(now));
+            long days = Duration.between(start, end != null ? end : now).toDays();
+            return new HouseholdMemberReadModel(row.membershipId(), row.householdCompositionId(), row.memberId(),
+                row.memberFirstName(), row.memberLastName(), row.memberFullName(), row.memberDateOfBirth(),
+                row.relationshipCode(), row.relationshipDisplay(), row.membershipStartDate(),
+                row.membershipEndDate(), active, false, row.recordedBy(), row.reason(), row.recordedAt(), days);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package org.haven.clientprofile.application.services;
+
+import org.haven.clientprofile.domain.Client;
+import org.haven.clientprofile.domain.ClientRepository;
+import org.haven.clientprofile.domain.duplicates.ClientMatchFeatures;
+import org.haven.clientprofile.domain.duplicates.DuplicateCandidateRepository;
+import org.haven.clientprofile.infrastructure.security.ClientMatchFeatureExtractor;
+import org.haven.clientprofile.infrastructure.security.PIIEncryptionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for recomputing match features at startup when the hashing key changed.
+ */
+class DuplicateClientDetectionServiceTest {
+
+    private final ClientMatchFeatureExtractor extractor =
+        new ClientMatchFeatureExtractor(new PIIEncryptionService(""), "duplicate-detection-test-salt");
+
+    private DuplicateCandidateRepository repository;
+    private ClientRepository clientRepository;
+    private List<ClientMatchFeatures> savedFeatures;
+    private DuplicateClientDetectionService service;
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(DuplicateCandidateRepository.class);
+        clientRepository = mock(ClientRepository.class);
+        savedFeatures = new ArrayList<>();
+        doAnswer(invocation -> savedFeatures.addAll(invocation.<Collection<ClientMatchFeatures>>getArgument(0)))
+            .when(repository).saveFeatures(any());
+
+        client = Client.create("Ana", "Diaz");
+        when(clientRepository.findActiveClients()).thenReturn(List.of(client));
+        service = new DuplicateClientDetectionService(repository, extractor, clientRepository, 12.0, 500, 1);
+    }
+
+    @Test
+    @DisplayName("Nothing is recomputed while the stored key fingerprint matches")
+    void testKeyUnchanged() {
+        when(repository.findKeyFingerprint()).thenReturn(Optional.of(extractor.keyFingerprint()));
+
+        assertFalse(service.runBatchIfKeyChanged());
+        verify(clientRepository, never()).findActiveClients();
+        verify(repository, never()).saveKeyFingerprint(anyString());
+    }
+
+    @Test
+    @DisplayName("A key change recomputes every client's features without reusing stored hashes")
+    void testKeyChanged() {
+        when(repository.findKeyFingerprint()).thenReturn(Optional.of("fingerprint-of-an-earlier-key"));
+
+        assertTrue(service.runBatchIfKeyChanged());
+        verify(repository, never()).findAllFeatures();
+        assertEquals(List.of(extractor.extract(client, null)), savedFeatures);
+        verify(repository).saveKeyFingerprint(extractor.keyFingerprint());
+    }
+
+    @Test
+    @DisplayName("Features stored before any fingerprint was recorded are recomputed once")
+    void testNoFingerprintRecorded() {
+        when(repository.findKeyFingerprint()).thenReturn(Optional.empty());
+
+        assertTrue(service.runBatchIfKeyChanged());
+        verify(repository).saveKeyFingerprint(extractor.keyFingerprint());
+    }
+}
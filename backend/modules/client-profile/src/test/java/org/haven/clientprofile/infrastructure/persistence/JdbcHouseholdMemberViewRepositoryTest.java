@@ -0,0 +1,87 @@
+package org.haven.clientprofile.infrastructure.persistence;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for chunking composition ids into ANY (?) array parameters.
+ * Each query's statement setter is run against a mocked connection that records the bound arrays.
+ */
+class JdbcHouseholdMemberViewRepositoryTest {
+
+    private List<List<Object>> boundArrays;
+    private JdbcHouseholdMemberViewRepository repository;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        boundArrays = new ArrayList<>();
+        Connection connection = mock(Connection.class);
+        doAnswer(invocation -> {
+            assertEquals("uuid", invocation.getArgument(0));
+            boundArrays.add(Arrays.asList(invocation.<Object[]>getArgument(1)));
+            return mock(Array.class);
+        }).when(connection).createArrayOf(anyString(), any());
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(statement.getConnection()).thenReturn(connection);
+
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        doAnswer(invocation -> {
+            invocation.<PreparedStatementSetter>getArgument(1).setValues(statement);
+            return List.of();
+        }).when(jdbcTemplate).query(anyString(), any(PreparedStatementSetter.class), any(RowMapper.class));
+
+        repository = new JdbcHouseholdMemberViewRepository(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Exactly one chunk of composition ids is bound as a single array")
+    void testSingleFullChunk() {
+        repository.findByCompositionIds(compositionIds(1000));
+
+        assertEquals(List.of(1000), boundArrays.stream().map(List::size).toList());
+    }
+
+    @Test
+    @DisplayName("One id past the chunk size is bound in a second query, keeping request order")
+    void testChunkBoundary() {
+        List<UUID> ids = compositionIds(1001);
+
+        repository.findByCompositionIds(ids);
+
+        assertEquals(List.of(1000, 1), boundArrays.stream().map(List::size).toList());
+        List<Object> bound = new ArrayList<>();
+        boundArrays.forEach(bound::addAll);
+        assertEquals(ids, bound);
+    }
+
+    @Test
+    @DisplayName("Duplicate composition ids are bound once")
+    void testDuplicateIds() {
+        List<UUID> ids = new ArrayList<>(compositionIds(1000));
+        ids.addAll(ids.subList(0, 5));
+
+        repository.findByCompositionIds(ids);
+
+        assertEquals(List.of(1000), boundArrays.stream().map(List::size).toList());
+    }
+
+    private static List<UUID> compositionIds(int count) {
+        return IntStream.range(0, count)
+            .mapToObj(i -> new UUID(0L, i + 1L))
+            .toList();
+    }
+}
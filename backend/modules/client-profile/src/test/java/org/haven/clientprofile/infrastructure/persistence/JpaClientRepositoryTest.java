@@ -0,0 +1,90 @@
+package org.haven.clientprofile.infrastructure.persistence;
+
+import org.haven.clientprofile.domain.ClientId;
+import org.haven.clientprofile.domain.ClientSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for the chunked bulk summary lookup. The IN query is answered from the
+ * requested ids, so each test can check both the chunk sizes and the merged result.
+ */
+class JpaClientRepositoryTest {
+
+    private List<List<UUID>> queries;
+    private JpaClientRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        queries = new ArrayList<>();
+        repository = mock(JpaClientRepository.class, CALLS_REAL_METHODS);
+        doAnswer(invocation -> {
+            List<UUID> ids = new ArrayList<>(invocation.<Collection<UUID>>getArgument(0));
+            queries.add(ids);
+            return ids.stream()
+                .map(id -> new ClientSummary(id, "First", "Last", LocalDate.of(1990, 1, 1)))
+                .toList();
+        }).when(repository).findSummariesByIdIn(any());
+    }
+
+    @Test
+    @DisplayName("Exactly one chunk of ids is loaded with a single query")
+    void testSingleFullChunk() {
+        List<ClientId> ids = clientIds(1000);
+
+        Map<ClientId, ClientSummary> summaries = repository.findSummariesByIds(ids);
+
+        assertEquals(1, queries.size());
+        assertEquals(1000, queries.get(0).size());
+        assertEquals(Set.copyOf(ids), summaries.keySet());
+    }
+
+    @Test
+    @DisplayName("One id past the chunk size spills into a second query")
+    void testChunkBoundary() {
+        List<ClientId> ids = clientIds(1001);
+
+        Map<ClientId, ClientSummary> summaries = repository.findSummariesByIds(ids);
+
+        assertEquals(List.of(1000, 1), queries.stream().map(List::size).toList());
+        assertEquals(ids.get(1000).value(), queries.get(1).get(0));
+        assertEquals(Set.copyOf(ids), summaries.keySet());
+        summaries.forEach((id, summary) -> assertEquals(id.value(), summary.clientId()));
+    }
+
+    @Test
+    @DisplayName("Duplicate ids are looked up once and do not push the lookup into another chunk")
+    void testDuplicateIds() {
+        List<ClientId> ids = clientIds(1000);
+        List<ClientId> requested = new ArrayList<>(ids);
+        requested.addAll(ids.subList(0, 10));
+
+        Map<ClientId, ClientSummary> summaries = repository.findSummariesByIds(requested);
+
+        assertEquals(1, queries.size());
+        assertEquals(1000, new HashSet<>(queries.get(0)).size());
+        assertEquals(1000, summaries.size());
+    }
+
+    @Test
+    @DisplayName("An empty id list does not query")
+    void testEmpty() {
+        assertTrue(repository.findSummariesByIds(List.of()).isEmpty());
+        assertTrue(queries.isEmpty());
+    }
+
+    private static List<ClientId> clientIds(int count) {
+        return IntStream.range(0, count)
+            .mapToObj(i -> new ClientId(new UUID(0L, i + 1L)))
+            .toList();
+    }
+}
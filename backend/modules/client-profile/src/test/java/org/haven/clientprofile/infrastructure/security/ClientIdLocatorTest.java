@@ -0,0 +1,70 @@
+package org.haven.clientprofile.infrastructure.security;
+
+import org.haven.clientprofile.domain.ClientId;
+import org.haven.clientprofile.infrastructure.security.ConsentEnforcementAspect.ClientIdLocator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the per-method client ID lookup used by ConsentEnforcementAspect
+ */
+class ClientIdLocatorTest {
+
+    @SuppressWarnings("unused")
+    static class AdvisedService {
+        void export(UUID clientId, String exportType) {
+        }
+
+        void share(UUID enrollmentId, ClientId clientId) {
+        }
+
+        void note(String text, Object reference) {
+        }
+
+        void purge(String reason) {
+        }
+    }
+
+    @Test
+    @DisplayName("A UUID argument is taken as the client ID")
+    void testUuidArgument() throws Exception {
+        ClientIdLocator locator = ClientIdLocator.of(method("export", UUID.class, String.class));
+        UUID clientId = UUID.randomUUID();
+
+        assertEquals(clientId, locator.locate(new Object[]{clientId, "HMIS"}));
+        assertNull(locator.locate(new Object[]{null, "HMIS"}));
+    }
+
+    @Test
+    @DisplayName("A ClientId argument takes precedence over other UUID arguments")
+    void testClientIdArgument() throws Exception {
+        ClientIdLocator locator = ClientIdLocator.of(method("share", UUID.class, ClientId.class));
+        UUID enrollmentId = UUID.randomUUID();
+        ClientId clientId = ClientId.generate();
+
+        assertEquals(clientId.value(), locator.locate(new Object[]{enrollmentId, clientId}));
+        assertEquals(enrollmentId, locator.locate(new Object[]{enrollmentId, null}));
+    }
+
+    @Test
+    @DisplayName("Object parameters are checked at runtime and other parameter types are skipped")
+    void testParameterTypes() throws Exception {
+        ClientIdLocator object = ClientIdLocator.of(method("note", String.class, Object.class));
+        UUID clientId = UUID.randomUUID();
+        assertEquals(clientId, object.locate(new Object[]{"text", clientId}));
+        assertNull(object.locate(new Object[]{"text", "not a UUID"}));
+
+        ClientIdLocator none = ClientIdLocator.of(method("purge", String.class));
+        assertEquals(0, none.uuidIndexes().length);
+        assertNull(none.locate(new Object[]{"retention"}));
+    }
+
+    private static Method method(String name, Class<?>... parameterTypes) throws NoSuchMethodException {
+        return AdvisedService.class.getDeclaredMethod(name, parameterTypes);
+    }
+}
@@ -0,0 +1,121 @@
+package org.haven.clientprofile.infrastructure.security;
+
+import org.haven.clientprofile.domain.Client;
+import org.haven.clientprofile.domain.duplicates.ClientMatchFeatures;
+import org.haven.clientprofile.domain.duplicates.DuplicateCandidate;
+import org.haven.clientprofile.domain.duplicates.DuplicateClientScorer;
+import org.haven.shared.security.DeterministicIdGenerator;
+import org.haven.shared.vo.HumanName;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for keyed-hash match features and how the scorer ranks common duplicate patterns
+ */
+class ClientMatchFeatureExtractorTest {
+    
+    private static final double MIN_SCORE = 12.0;
+    
+    private final ClientMatchFeatureExtractor extractor =
+        new ClientMatchFeatureExtractor(new DeterministicIdGenerator("duplicate-detection-test-salt"));
+    private final DuplicateClientScorer scorer = new DuplicateClientScorer();
+    
+    @Test
+    @DisplayName("Spelling variants with the same date of birth are candidates")
+    void testSpellingVariantMatches() {
+        ClientMatchFeatures a = features("Jon", "Smith", LocalDate.of(1985, 3, 14), null);
+        ClientMatchFeatures b = features("John", "Smyth", LocalDate.of(1985, 3, 14), null);
+        
+        DuplicateClientScorer.MatchScore match = scorer.score(a, b);
+        assertTrue(match.score() >= MIN_SCORE, "score " + match.score());
+        assertEquals(List.of("last_name_phonetic", "first_name_phonetic", "birth_date"), match.matchedFields());
+        assertFalse(intersect(a, b).isEmpty(), "variants must share a blocking key");
+    }
+    
+    @Test
+    @DisplayName("Swapped names and transposed day/month are recognized")
+    void testSwappedNamesAndTransposedDate() {
+        ClientMatchFeatures a = features("Maria", "Lopez", LocalDate.of(1990, 4, 7), null);
+        ClientMatchFeatures b = features("Lopez", "Maria", LocalDate.of(1990, 7, 4), null);
+        
+        DuplicateClientScorer.MatchScore match = scorer.score(a, b);
+        assertEquals(List.of("name_swapped", "birth_date_transposed"), match.matchedFields());
+        assertTrue(match.score() >= MIN_SCORE);
+        assertFalse(intersect(a, b).isEmpty());
+    }
+    
+    @Test
+    @DisplayName("A shared common name alone is not enough; a conflicting SSN vetoes the pair")
+    void testNameOnlyAndSsnConflict() {
+        ClientMatchFeatures a = features("James", "Brown", LocalDate.of(1970, 1, 1), "123-45-6789");
+        ClientMatchFeatures b = features("James", "Brown", LocalDate.of(1982, 9, 23), null);
+        ClientMatchFeatures c = features("James", "Brown", LocalDate.of(1970, 1, 1), "987-65-4321");
+        
+        assertTrue(scorer.score(a, b).score() < MIN_SCORE);
+        assertTrue(scorer.score(a, c).score() < MIN_SCORE);
+    }
+    
+    @Test
+    @DisplayName("Stored SSN hashes are kept when the reloaded client has no SSN")
+    void testSsnFallback() {
+        Client client = client("Ana", "Diaz", LocalDate.of(2001, 12, 2), "111-22-3333");
+        ClientMatchFeatures withSsn = extractor.extract(client, null);
+        Client reloaded = client("Ana", "Diaz", LocalDate.of(2001, 12, 2), null);
+        
+        ClientMatchFeatures merged = extractor.extract(reloaded, withSsn);
+        assertEquals(withSsn.ssnHash(), merged.ssnHash());
+        assertEquals(withSsn.ssnLast4Hash(), merged.ssnLast4Hash());
+        assertNull(extractor.extract(reloaded, null).ssnHash());
+    }
+    
+    @Test
+    @DisplayName("Key fingerprint is stable for a key and changes with it")
+    void testKeyFingerprint() {
+        ClientMatchFeatureExtractor sameKey =
+            new ClientMatchFeatureExtractor(new DeterministicIdGenerator("duplicate-detection-test-salt"));
+        ClientMatchFeatureExtractor otherKey =
+            new ClientMatchFeatureExtractor(new DeterministicIdGenerator("another-duplicate-detection-salt"));
+        
+        assertEquals(extractor.keyFingerprint(), sameKey.keyFingerprint());
+        assertNotEquals(extractor.keyFingerprint(), otherKey.keyFingerprint());
+    }
+    
+    @Test
+    @DisplayName("Candidate pairs are ordered the way the database orders UUIDs")
+    void testCandidateOrdering() {
+        UUID low = UUID.fromString("7fffffff-0000-0000-0000-000000000000");
+        UUID high = UUID.fromString("80000000-0000-0000-0000-000000000000");
+        DuplicateCandidate candidate = DuplicateCandidate.open(high, low,
+            new DuplicateClientScorer.MatchScore(20.0, List.of("ssn")), Instant.now());
+        
+        assertEquals(low, candidate.clientIdA());
+        assertEquals(high, candidate.clientIdB());
+    }
+    
+    private ClientMatchFeatures features(String first, String last, LocalDate birthDate, String ssn) {
+        return extractor.extract(client(first, last, birthDate, ssn), null);
+    }
+    
+    private static Client client(String first, String last, LocalDate birthDate, String ssn) {
+        Client client = Client.create(
+            new HumanName(HumanName.NameUse.OFFICIAL, last, List.of(first), List.of(), List.of(), null),
+            Client.AdministrativeGender.UNKNOWN, birthDate);
+        if (ssn != null) {
+            client.updateSocialSecurityNumber(ssn);
+        }
+        return client;
+    }
+    
+    private static java.util.Set<String> intersect(ClientMatchFeatures a, ClientMatchFeatures b) {
+        java.util.Set<String> shared = new java.util.HashSet<>(a.blockingKeys());
+        shared.retainAll(b.blockingKeys());
+        return shared;
+    }
+}
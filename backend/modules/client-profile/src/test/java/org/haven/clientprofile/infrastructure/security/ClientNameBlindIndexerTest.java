@@ -0,0 +1,96 @@
+package org.haven.clientprofile.infrastructure.security;
+
+import org.haven.clientprofile.infrastructure.security.ClientNameBlindIndexer.BlindIndexToken;
+import org.haven.clientprofile.infrastructure.security.ClientNameBlindIndexer.NameQuery;
+import org.haven.clientprofile.infrastructure.security.ClientNameBlindIndexer.TokenKind;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for blind index token derivation: matching behaviour of exact, phonetic and
+ * trigram tokens, and that tokens depend on the key
+ */
+class ClientNameBlindIndexerTest {
+    
+    private final ClientNameBlindIndexer indexer =
+        new ClientNameBlindIndexer("blind-index-test-key-0123456789ab".getBytes(StandardCharsets.UTF_8));
+    
+    @Test
+    @DisplayName("Soundex codes group spellings of the same name")
+    void testSoundex() {
+        assertEquals("R163", ClientNameBlindIndexer.soundex("robert"));
+        assertEquals("R163", ClientNameBlindIndexer.soundex("rupert"));
+        assertEquals("A261", ClientNameBlindIndexer.soundex("ashcraft"));
+        assertEquals("T522", ClientNameBlindIndexer.soundex("tymczak"));
+        assertEquals("P236", ClientNameBlindIndexer.soundex("pfister"));
+    }
+    
+    @Test
+    @DisplayName("Accents, case and punctuation are normalized away")
+    void testNormalization() {
+        assertEquals(List.of("jose", "garcia", "lopez"), ClientNameBlindIndexer.normalizeParts("José García-López"));
+        assertEquals(List.of("obrien"), ClientNameBlindIndexer.normalizeParts("O'Brien"));
+        assertEquals(indexer.indexTokens(List.of("JOSÉ")), indexer.indexTokens(List.of("jose")));
+    }
+    
+    @Test
+    @DisplayName("Substring queries require every trigram; misspellings match phonetically")
+    void testQueryMatching() {
+        Set<BlindIndexToken> johnathan = indexer.indexTokens(List.of("Johnathan", "Smith"));
+        
+        NameQuery partial = indexer.queryTokens("nath");
+        assertEquals(2, partial.requiredTrigrams());
+        assertEquals(2, matching(johnathan, partial, TokenKind.TRIGRAM));
+        
+        NameQuery misspelled = indexer.queryTokens("Smyth");
+        assertEquals(1, matching(johnathan, misspelled, TokenKind.PHONETIC));
+        assertEquals(0, matching(johnathan, misspelled, TokenKind.EXACT));
+        
+        NameQuery prefix = indexer.queryTokens("jo");
+        assertEquals(1, matching(johnathan, prefix, TokenKind.TRIGRAM));
+        assertEquals(0, matching(indexer.indexTokens(List.of("Bojan")), prefix, TokenKind.TRIGRAM));
+    }
+    
+    @Test
+    @DisplayName("Tokens are keyed; another key produces unrelated tokens")
+    void testTokensDependOnKey() {
+        ClientNameBlindIndexer otherKey =
+            new ClientNameBlindIndexer("another-blind-index-key-987654321".getBytes(StandardCharsets.UTF_8));
+        Set<Long> tokens = values(indexer.indexTokens(List.of("Maria")));
+        Set<Long> otherTokens = values(otherKey.indexTokens(List.of("Maria")));
+        
+        assertEquals(tokens.size(), otherTokens.size());
+        assertTrue(tokens.stream().noneMatch(otherTokens::contains));
+    }
+    
+    @Test
+    @DisplayName("Key fingerprint is stable for a key and changes with it")
+    void testKeyFingerprint() {
+        ClientNameBlindIndexer sameKey =
+            new ClientNameBlindIndexer("blind-index-test-key-0123456789ab".getBytes(StandardCharsets.UTF_8));
+        ClientNameBlindIndexer otherKey =
+            new ClientNameBlindIndexer("another-blind-index-key-987654321".getBytes(StandardCharsets.UTF_8));
+        
+        assertEquals(32, indexer.keyFingerprint().length());
+        assertEquals(indexer.keyFingerprint(), sameKey.keyFingerprint());
+        assertNotEquals(indexer.keyFingerprint(), otherKey.keyFingerprint());
+    }
+    
+    private static long matching(Set<BlindIndexToken> indexed, NameQuery query, TokenKind kind) {
+        return query.tokens().stream()
+            .filter(t -> t.kind() == kind)
+            .filter(indexed::contains)
+            .count();
+    }
+    
+    private static Set<Long> values(Set<BlindIndexToken> tokens) {
+        return tokens.stream().map(BlindIndexToken::value).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,147 @@
+package org.haven.clientprofile.infrastructure.security;
+
+import org.haven.clientprofile.domain.ClientId;
+import org.haven.clientprofile.domain.consent.Consent;
+import org.haven.clientprofile.domain.consent.ConsentId;
+import org.haven.clientprofile.domain.consent.ConsentType;
+import org.haven.clientprofile.domain.consent.events.ConsentRevoked;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the consent decision cache: reuse of loaded consents, expiry at the earliest
+ * consent expiresAt, event-driven invalidation and batched loading of misses
+ */
+class ConsentDecisionCacheTest {
+
+    private final MutableClock clock = new MutableClock(Instant.now());
+    private final ConsentDecisionCache cache = new ConsentDecisionCache(100, Duration.ofHours(1), clock);
+
+    @Test
+    @DisplayName("Consents are loaded once and decisions are served from the cached entry")
+    void testLoadsOnce() {
+        UUID clientId = UUID.randomUUID();
+        Consent consent = grant(clientId, ConsentType.INFORMATION_SHARING, "Shelter A", 12);
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 5; i++) {
+            ConsentDecisionCache.ClientConsents consents = cache.get(clientId, id -> {
+                loads.incrementAndGet();
+                return List.of(consent);
+            });
+            assertTrue(consents.authorizes(ConsentType.INFORMATION_SHARING, "export", "Shelter A"));
+            assertFalse(consents.authorizes(ConsentType.INFORMATION_SHARING, "export", "Shelter B"));
+            assertFalse(consents.authorizes(ConsentType.HMIS_PARTICIPATION, "hmis", "Shelter A"));
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Entries end at the earliest consent expiry even when the TTL is longer")
+    void testExpiresWithConsent() {
+        ConsentDecisionCache longTtl = new ConsentDecisionCache(100, Duration.ofDays(365), clock);
+        UUID clientId = UUID.randomUUID();
+        Consent consent = grant(clientId, ConsentType.INFORMATION_SHARING, null, 1);
+        AtomicInteger loads = new AtomicInteger();
+
+        longTtl.get(clientId, id -> {
+            loads.incrementAndGet();
+            return List.of(consent);
+        });
+        clock.advance(Duration.between(clock.instant(), consent.getExpiresAt()).minusSeconds(1));
+        longTtl.get(clientId, id -> fail("Should be cached until the consent expires"));
+
+        clock.advance(Duration.ofSeconds(1));
+        longTtl.get(clientId, id -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Consent events drop only the affected client's entry")
+    void testEventInvalidation() {
+        UUID revokedClient = UUID.randomUUID();
+        UUID otherClient = UUID.randomUUID();
+        cache.get(revokedClient, id -> List.of(grant(id, ConsentType.HMIS_PARTICIPATION, null, null)));
+        cache.get(otherClient, id -> List.of(grant(id, ConsentType.HMIS_PARTICIPATION, null, null)));
+
+        cache.on(new ConsentRevoked(UUID.randomUUID(), revokedClient, ConsentType.HMIS_PARTICIPATION,
+            UUID.randomUUID(), "Client request", clock.instant()));
+
+        ConsentDecisionCache.ClientConsents reloaded = cache.get(revokedClient, id -> List.of());
+        assertFalse(reloaded.authorizes(ConsentType.HMIS_PARTICIPATION, "hmis report", "CoC"));
+        ConsentDecisionCache.ClientConsents untouched = cache.get(otherClient, id -> fail("Should be cached"));
+        assertTrue(untouched.authorizes(ConsentType.HMIS_PARTICIPATION, "hmis report", "CoC"));
+    }
+
+    @Test
+    @DisplayName("Bulk lookups load every miss with one loader call and keep input order")
+    void testGetAll() {
+        UUID cached = UUID.randomUUID();
+        UUID missA = UUID.randomUUID();
+        UUID missB = UUID.randomUUID();
+        cache.get(cached, id -> List.of());
+
+        AtomicInteger loaderCalls = new AtomicInteger();
+        Map<UUID, ConsentDecisionCache.ClientConsents> result = cache.getAll(List.of(missA, cached, missB), ids -> {
+            loaderCalls.incrementAndGet();
+            assertEquals(List.of(missA, missB), List.copyOf(ids));
+            Map<UUID, List<Consent>> loaded = new HashMap<>();
+            loaded.put(missA, List.of(grant(missA, ConsentType.REFERRAL_SHARING, null, null)));
+            return loaded;
+        });
+
+        assertEquals(1, loaderCalls.get());
+        assertEquals(List.of(missA, cached, missB), List.copyOf(result.keySet()));
+        assertTrue(result.get(missA).authorizes(ConsentType.REFERRAL_SHARING, "referral", "Agency"));
+        assertTrue(result.get(missB).getActiveConsents().isEmpty());
+    }
+
+    private Consent grant(UUID clientId, ConsentType type, String recipient, Integer durationMonths) {
+        return Consent.grant(new ConsentId(UUID.randomUUID()), new ClientId(clientId), type, "Services", recipient,
+            null, UUID.randomUUID(), durationMonths, null);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now.truncatedTo(ChronoUnit.MILLIS);
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
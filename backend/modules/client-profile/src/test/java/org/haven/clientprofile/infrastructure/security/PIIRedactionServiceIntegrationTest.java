@@ -316,6 +316,36 @@ class PIIRedactionServiceIntegrationTest {
         assertNull(result.dvConfidentialNote);
     }
 
+    @Test
+    @DisplayName("Redacting a list verifies the token once and reuses cached verification")
+    void testListRedactionVerifiesTokenOnce() {
+        String token = "list-jwt-token";
+        Jwt jwt = createJwt(
+                "user-456",
+                List.of("CASE_MANAGER"),
+                List.of(),
+                Instant.now().plusSeconds(3600)
+        );
+        when(jwtDecoder.decode(token)).thenReturn(jwt);
+
+        List<TestDataWithDVNote> items = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            TestDataWithDVNote item = new TestDataWithDVNote();
+            item.dvConfidentialNote = "Sensitive " + i;
+            items.add(item);
+        }
+
+        List<TestDataWithDVNote> redacted = redactionService.applyRedactionToAllWithToken(items, token, UUID.randomUUID());
+        TestDataWithDVNote single = redactionService.applyRedactionWithToken(items.get(0), token, UUID.randomUUID());
+
+        assertEquals(25, redacted.size());
+        assertTrue(redacted.stream().allMatch(item -> item.dvConfidentialNote == null));
+        assertNull(single.dvConfidentialNote);
+        verify(jwtDecoder, times(1)).decode(token);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "jwt.verification").tag("result", "hit")
+                .functionCounter().count());
+    }
+
     // Helper method to create JWT for testing
     private Jwt createJwt(String subject, List<String> roles, List<String> consentScopes, Instant expiresAt) {
         Map<String, Object> headers = new HashMap<>();
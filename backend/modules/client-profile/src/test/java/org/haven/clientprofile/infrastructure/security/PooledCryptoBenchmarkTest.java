@@ -0,0 +1,71 @@
+package org.haven.clientprofile.infrastructure.security;
+
+import org.haven.shared.security.DeterministicIdGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Times pooled Mac/Cipher bulk hashing and decryption against the per-call reference
+ * implementations in {@link PooledCryptoTest}. Runs with the benchmark task only.
+ */
+@Tag("benchmark")
+class PooledCryptoBenchmarkTest {
+
+    private static final int EXPORT_ROWS = 1_000_000;
+
+    private final DeterministicIdGenerator generator = new DeterministicIdGenerator(PooledCryptoTest.SALT);
+    private final PIIEncryptionService encryptionService = new PIIEncryptionService(PooledCryptoTest.KEY);
+
+    @Test
+    @DisplayName("Bulk hashing and decryption of a 1M-row export column against per-call instances (timings printed)")
+    void benchmarkExportColumn() {
+        List<UUID> clientIds = PooledCryptoTest.clientIds(EXPORT_ROWS);
+        List<String> encryptedNames = encryptionService.encryptAll(PooledCryptoTest.names(EXPORT_ROWS));
+
+        long[] hashing = compare(
+            () -> clientIds.stream().map(PooledCryptoTest::referenceHash).toList(),
+            () -> generator.generateHashedPersonalIds(clientIds));
+        long[] decryption = compare(
+            () -> encryptedNames.stream().map(PooledCryptoTest::referenceDecrypt).toList(),
+            () -> encryptionService.decryptAll(encryptedNames));
+
+        System.out.printf("PersonalID hashing over %d rows: per-call %d ms, pooled bulk %d ms (%.1fx)%n",
+            EXPORT_ROWS, hashing[0] / 1_000_000, hashing[1] / 1_000_000, (double) hashing[0] / hashing[1]);
+        System.out.printf("Name decryption over %d rows: per-call %d ms, pooled bulk %d ms (%.1fx)%n",
+            EXPORT_ROWS, decryption[0] / 1_000_000, decryption[1] / 1_000_000, (double) decryption[0] / decryption[1]);
+    }
+
+    /**
+     * Best-of-three timings for the reference and pooled paths after a warm-up round,
+     * asserting both produce the same column
+     */
+    private static long[] compare(Supplier<List<String>> reference, Supplier<List<String>> pooled) {
+        // Warm up both paths so the comparison is not dominated by JIT compilation
+        reference.get();
+        pooled.get();
+
+        long referenceNanos = Long.MAX_VALUE;
+        long pooledNanos = Long.MAX_VALUE;
+        List<String> expected = null;
+        List<String> actual = null;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            expected = reference.get();
+            referenceNanos = Math.min(referenceNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            actual = pooled.get();
+            pooledNanos = Math.min(pooledNanos, System.nanoTime() - start);
+        }
+
+        assertEquals(expected, actual);
+        return new long[]{referenceNanos, pooledNanos};
+    }
+}
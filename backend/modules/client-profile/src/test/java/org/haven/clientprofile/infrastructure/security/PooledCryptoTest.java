@@ -0,0 +1,151 @@
+package org.haven.clientprofile.infrastructure.security;
+
+import org.haven.shared.security.DeterministicIdGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for pooled Mac/Cipher instances and the column-at-a-time hashing and decryption APIs.
+ * The per-call getInstance implementations they replaced are kept here as the reference;
+ * {@link PooledCryptoBenchmarkTest} times the two against each other.
+ */
+class PooledCryptoTest {
+
+    static final String SALT = "pooled-crypto-test-salt";
+    static final String KEY = Base64.getEncoder().encodeToString(
+        "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8));
+
+    private final DeterministicIdGenerator generator = new DeterministicIdGenerator(SALT);
+    private final PIIEncryptionService encryptionService = new PIIEncryptionService(KEY);
+
+    @Test
+    @DisplayName("Pooled and bulk PersonalID hashing match the per-call reference, across threads")
+    void testHashingMatchesReference() {
+        List<UUID> clientIds = clientIds(10_000);
+        List<String> expected = clientIds.stream().map(PooledCryptoTest::referenceHash).toList();
+
+        assertEquals(expected, generator.generateHashedPersonalIds(clientIds));
+        assertEquals(expected, clientIds.stream().map(generator::generateHashedPersonalId).toList());
+        assertEquals(expected, clientIds.parallelStream().map(generator::generateHashedPersonalId).toList());
+    }
+
+    @Test
+    @DisplayName("Pooled cipher output stays readable by the previous implementation and vice versa")
+    void testCiphertextCompatibility() {
+        List<String> names = List.of("Maria", "José García-López", "O'Brien", "李小龙");
+
+        List<String> encrypted = encryptionService.encryptAll(names);
+        assertEquals(names, encrypted.stream().map(PooledCryptoTest::referenceDecrypt).toList());
+
+        List<String> legacy = names.stream().map(PooledCryptoTest::referenceEncrypt).toList();
+        assertEquals(names, encryptionService.decryptAll(legacy));
+        assertEquals(names, legacy.parallelStream().map(encryptionService::decrypt).toList());
+
+        List<String> withBlanks = new ArrayList<>();
+        withBlanks.add(null);
+        withBlanks.add("");
+        withBlanks.add(encrypted.get(0));
+        assertEquals(List.of("Maria"), encryptionService.decryptAll(withBlanks).subList(2, 3));
+        assertNull(encryptionService.decryptAll(withBlanks).get(0));
+        assertEquals("", encryptionService.decryptAll(withBlanks).get(1));
+    }
+
+    @Test
+    @DisplayName("Tampered ciphertext still fails authentication through the bulk path")
+    void testTamperedCiphertextRejected() {
+        byte[] raw = Base64.getDecoder().decode(encryptionService.encrypt("Maria"));
+        raw[raw.length - 1] ^= 0x01;
+        List<String> tampered = List.of(Base64.getEncoder().encodeToString(raw));
+
+        assertThrows(PIIEncryptionService.PIIEncryptionException.class, () -> encryptionService.decryptAll(tampered));
+    }
+
+    static List<UUID> clientIds(int count) {
+        Random random = new Random(38L);
+        List<UUID> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(new UUID(random.nextLong(), random.nextLong()));
+        }
+        return ids;
+    }
+
+    static List<String> names(int count) {
+        String[] first = {"Maria", "James", "Aisha", "Wei", "Olga", "Carlos", "Fatima", "Liam"};
+        String[] last = {"Garcia", "Smith", "Okafor", "Chen", "Ivanova", "Lopez", "Haddad", "Murphy"};
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            names.add(first[i % first.length] + " " + last[(i / first.length) % last.length]);
+        }
+        return names;
+    }
+
+    // Previous per-call implementations, kept as the regression oracle
+
+    static String referenceHash(UUID clientId) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(SALT.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            byte[] hashBytes = mac.doFinal(clientId.toString().getBytes(StandardCharsets.UTF_8));
+            StringBuilder hexString = new StringBuilder();
+            for (int i = 0; i < 16; i++) {
+                String hex = Integer.toHexString(0xff & hashBytes[i]);
+                if (hex.length() == 1) {
+                    hexString.append('0');
+                }
+                hexString.append(hex);
+            }
+            return hexString.toString().toUpperCase();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String referenceEncrypt(String plaintext) {
+        try {
+            byte[] iv = new byte[12];
+            new SecureRandom().nextBytes(iv);
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, referenceKey(), new GCMParameterSpec(128, iv));
+            byte[] encryptedData = cipher.doFinal(plaintext.getBytes(StandardCharsets.UTF_8));
+            byte[] encryptedWithIv = new byte[iv.length + encryptedData.length];
+            System.arraycopy(iv, 0, encryptedWithIv, 0, iv.length);
+            System.arraycopy(encryptedData, 0, encryptedWithIv, iv.length, encryptedData.length);
+            return Base64.getEncoder().encodeToString(encryptedWithIv);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static String referenceDecrypt(String encryptedData) {
+        try {
+            byte[] encryptedWithIv = Base64.getDecoder().decode(encryptedData);
+            byte[] iv = new byte[12];
+            byte[] encrypted = new byte[encryptedWithIv.length - 12];
+            System.arraycopy(encryptedWithIv, 0, iv, 0, 12);
+            System.arraycopy(encryptedWithIv, 12, encrypted, 0, encrypted.length);
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.DECRYPT_MODE, referenceKey(), new GCMParameterSpec(128, iv));
+            return new String(cipher.doFinal(encrypted), StandardCharsets.UTF_8);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static SecretKeySpec referenceKey() {
+        return new SecretKeySpec(Base64.getDecoder().decode(KEY), "AES");
+    }
+}
@@ -0,0 +1,142 @@
+package org.haven.programenrollment.application.aspects;
+
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.haven.programenrollment.application.security.HmisDataSecurityService.DvDataSensitivityLevel;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * What {@link HmisValidationAspect} needs to know about an advised method, resolved on first use.
+ *
+ * Per method: the operation name, which argument positions can hold a UUID and the DV sensitivity
+ * implied by the method name. Per class: the HMIS data type implied by a controller or service name
+ * and a getter handle for a result type's {@code recordId} field. After the first call each piece
+ * is a map lookup instead of class-name parsing, argument scanning or field reflection.
+ */
+final class HmisAdviceMetadata {
+
+    private static final ConcurrentHashMap<Method, HmisAdviceMetadata> BY_METHOD = new ConcurrentHashMap<>();
+
+    private static final ClassValue<String> DATA_TYPE = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            return dataTypeFromName(type.getSimpleName());
+        }
+    };
+
+    private static final ClassValue<MethodHandle> RECORD_ID_GETTER = new ClassValue<>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+            try {
+                Field field = type.getDeclaredField("recordId");
+                field.setAccessible(true);
+                return MethodHandles.lookup().unreflectGetter(field);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // No accessible recordId field on this type
+                return null;
+            }
+        }
+    };
+
+    private final String operation;
+    private final boolean firstArgumentMayBeUuid;
+    private final int[] uuidArgumentIndexes;
+    private final DvDataSensitivityLevel dvSensitivityLevel;
+
+    private HmisAdviceMetadata(Method method) {
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        this.operation = method.getName();
+        // Only parameters whose declared type can hold a UUID ever need an instanceof check
+        this.uuidArgumentIndexes = IntStream.range(0, parameterTypes.length)
+            .filter(i -> parameterTypes[i].isAssignableFrom(UUID.class))
+            .toArray();
+        this.firstArgumentMayBeUuid = uuidArgumentIndexes.length > 0 && uuidArgumentIndexes[0] == 0;
+        this.dvSensitivityLevel = dvSensitivityFromOperation(operation);
+    }
+
+    static HmisAdviceMetadata of(JoinPoint joinPoint) {
+        return of(((MethodSignature) joinPoint.getSignature()).getMethod());
+    }
+
+    static HmisAdviceMetadata of(Method method) {
+        return BY_METHOD.computeIfAbsent(method, HmisAdviceMetadata::new);
+    }
+
+    String operation() {
+        return operation;
+    }
+
+    DvDataSensitivityLevel dvSensitivityLevel() {
+        return dvSensitivityLevel;
+    }
+
+    /**
+     * The first argument, when it is a UUID (enrollment endpoints take the enrollment ID first)
+     */
+    UUID enrollmentId(Object[] args) {
+        return firstArgumentMayBeUuid && args.length > 0 && args[0] instanceof UUID id ? id : null;
+    }
+
+    /**
+     * The first UUID among the arguments
+     */
+    UUID firstUuid(Object[] args) {
+        for (int index : uuidArgumentIndexes) {
+            if (index < args.length && args[index] instanceof UUID id) {
+                return id;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * HMIS data type named by a controller or service class, or UNKNOWN
+     */
+    static String dataTypeOf(Object target) {
+        return target != null ? DATA_TYPE.get(target.getClass()) : "UNKNOWN";
+    }
+
+    /**
+     * The UUID in a result's own {@code recordId} field, or null
+     */
+    static UUID recordIdOf(Object result) {
+        if (result == null) {
+            return null;
+        }
+        MethodHandle getter = RECORD_ID_GETTER.get(result.getClass());
+        if (getter == null) {
+            return null;
+        }
+        try {
+            return getter.invoke(result) instanceof UUID id ? id : null;
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    static String dataTypeFromName(String className) {
+        if (className.contains("Disability")) return "DISABILITY";
+        if (className.contains("Dv")) return "DOMESTIC_VIOLENCE";
+        if (className.contains("CurrentLivingSituation")) return "CURRENT_LIVING_SITUATION";
+        if (className.contains("DateOfEngagement")) return "DATE_OF_ENGAGEMENT";
+        if (className.contains("BedNight")) return "BED_NIGHT";
+        return "UNKNOWN";
+    }
+
+    static DvDataSensitivityLevel dvSensitivityFromOperation(String operation) {
+        if (operation.contains("SafetyAssessment")) {
+            return DvDataSensitivityLevel.SAFETY_ASSESSMENT;
+        }
+        if (operation.contains("create") || operation.contains("update") || operation.contains("correct")) {
+            return DvDataSensitivityLevel.DETAILED_HISTORY;
+        }
+        return DvDataSensitivityLevel.BASIC_STATUS;
+    }
+}
@@ -47,8 +47,7 @@ public class HmisValidationAspect {
     public void validatePostMappingAccess(JoinPoint joinPoint) {
         UUID enrollmentId = extractEnrollmentId(joinPoint);
         String operation = extractOperation(joinPoint);
-        String controllerName = joinPoint.getTarget().getClass().getSimpleName();
-        String dataType = extractDataTypeFromController(controllerName);
+        String dataType = extractDataType(joinPoint);
 
         switch (dataType) {
             case "DISABILITY" -> {
@@ -58,7 +57,7 @@ public class HmisValidationAspect {
             }
             case "DOMESTIC_VIOLENCE" -> {
                 HmisDataSecurityService.DvDataSensitivityLevel sensitivityLevel =
-                    determineDvSensitivityLevel(operation);
+                    HmisAdviceMetadata.of(joinPoint).dvSensitivityLevel();
                 if (!securityService.canAccessDvData(enrollmentId, operation, sensitivityLevel)) {
                     throw new AccessDeniedException("Insufficient permissions for DV data access");
                 }
@@ -89,8 +88,7 @@ public class HmisValidationAspect {
      */
     @Before("execution(* *..*Service.create*CorrectionRecord(..))")
     public void validateDataCorrectionAccess(JoinPoint joinPoint) {
-        String serviceName = joinPoint.getTarget().getClass().getSimpleName();
-        String dataType = extractDataTypeFromService(serviceName);
+        String dataType = extractDataType(joinPoint);
         UUID recordId = extractRecordId(joinPoint);
         
         if (!securityService.canPerformDataCorrections(dataType, recordId)) {
@@ -129,9 +127,8 @@ public class HmisValidationAspect {
      */
     @AfterReturning(pointcut = "within(@org.springframework.web.bind.annotation.RestController *)", returning = "result")
     public void logSuccessfulOperation(JoinPoint joinPoint, Object result) {
-        String controllerName = joinPoint.getTarget().getClass().getSimpleName();
         String operation = joinPoint.getSignature().getName();
-        String dataType = extractDataTypeFromController(controllerName);
+        String dataType = extractDataType(joinPoint);
         UUID resourceId = extractResourceId(joinPoint);
         
         auditLogger.logDataAccess(dataType, resourceId, operation, getCurrentUsername());
@@ -142,9 +139,8 @@ public class HmisValidationAspect {
      */
     @AfterThrowing(pointcut = "within(@org.springframework.web.bind.annotation.RestController *)", throwing = "exception")
     public void logFailedOperation(JoinPoint joinPoint, Exception exception) {
-        String controllerName = joinPoint.getTarget().getClass().getSimpleName();
         String operation = joinPoint.getSignature().getName();
-        String dataType = extractDataTypeFromController(controllerName);
+        String dataType = extractDataType(joinPoint);
         UUID resourceId = extractResourceId(joinPoint);
         
         if (exception instanceof AccessDeniedException) {
@@ -161,8 +157,7 @@ public class HmisValidationAspect {
      */
     @AfterReturning(pointcut = "execution(* *..*Service.create*(..) || * *..*Service.update*(..))", returning = "result")
     public void logDataModification(JoinPoint joinPoint, Object result) {
-        String serviceName = joinPoint.getTarget().getClass().getSimpleName();
-        String dataType = extractDataTypeFromService(serviceName);
+        String dataType = extractDataType(joinPoint);
         String operation = joinPoint.getSignature().getName();
         
         // Extract resource ID from result if possible
@@ -176,8 +171,7 @@ public class HmisValidationAspect {
      */
     @AfterReturning(pointcut = "execution(* *..*Service.create*CorrectionRecord(..))", returning = "result")
     public void logDataCorrection(JoinPoint joinPoint, Object result) {
-        String serviceName = joinPoint.getTarget().getClass().getSimpleName();
-        String dataType = extractDataTypeFromService(serviceName);
+        String dataType = extractDataType(joinPoint);
         
         // Extract original record ID and correction details from arguments
         Object[] args = joinPoint.getArgs();
@@ -211,8 +205,7 @@ public class HmisValidationAspect {
     @AfterReturning(pointcut = "execution(* *..*Controller.*Bulk*(..))", returning = "result")
     public void logBulkOperation(JoinPoint joinPoint, Object result) {
         String operation = joinPoint.getSignature().getName();
-        String controllerName = joinPoint.getTarget().getClass().getSimpleName();
-        String dataType = extractDataTypeFromController(controllerName);
+        String dataType = extractDataType(joinPoint);
         
         // Extract counts from result (this would need to be adapted based on actual response structure)
         int totalCount = extractTotalCountFromBulkResult(result);
@@ -222,24 +215,15 @@ public class HmisValidationAspect {
         auditLogger.logBulkOperation(operation, dataType, totalCount, successCount, failureCount, getCurrentUsername());
     }
     
-    // Helper methods
+    // Helper methods - argument positions, data types and result getters are resolved
+    // once per method or class by HmisAdviceMetadata
     
     private UUID extractEnrollmentId(JoinPoint joinPoint) {
-        Object[] args = joinPoint.getArgs();
-        if (args.length > 0 && args[0] instanceof UUID) {
-            return (UUID) args[0];
-        }
-        return null;
+        return HmisAdviceMetadata.of(joinPoint).enrollmentId(joinPoint.getArgs());
     }
     
     private UUID extractRecordId(JoinPoint joinPoint) {
-        Object[] args = joinPoint.getArgs();
-        for (Object arg : args) {
-            if (arg instanceof UUID) {
-                return (UUID) arg;
-            }
-        }
-        return null;
+        return HmisAdviceMetadata.of(joinPoint).firstUuid(joinPoint.getArgs());
     }
     
     private UUID extractResourceId(JoinPoint joinPoint) {
@@ -247,49 +231,19 @@ public class HmisValidationAspect {
     }
     
     private UUID extractResourceIdFromResult(Object result) {
-        if (result != null) {
-            try {
-                // Use reflection to find ID field in response objects
-                var recordIdField = result.getClass().getDeclaredField("recordId");
-                recordIdField.setAccessible(true);
-                return (UUID) recordIdField.get(result);
-            } catch (Exception e) {
-                // Ignore and return null
-            }
-        }
-        return null;
+        // Response objects carrying a recordId field
+        return HmisAdviceMetadata.recordIdOf(result);
     }
     
     private String extractOperation(JoinPoint joinPoint) {
-        return joinPoint.getSignature().getName();
-    }
-    
-    private String extractDataTypeFromController(String controllerName) {
-        if (controllerName.contains("Disability")) return "DISABILITY";
-        if (controllerName.contains("Dv")) return "DOMESTIC_VIOLENCE";
-        if (controllerName.contains("CurrentLivingSituation")) return "CURRENT_LIVING_SITUATION";
-        if (controllerName.contains("DateOfEngagement")) return "DATE_OF_ENGAGEMENT";
-        if (controllerName.contains("BedNight")) return "BED_NIGHT";
-        return "UNKNOWN";
-    }
-    
-    private String extractDataTypeFromService(String serviceName) {
-        if (serviceName.contains("Disability")) return "DISABILITY";
-        if (serviceName.contains("Dv")) return "DOMESTIC_VIOLENCE";
-        if (serviceName.contains("CurrentLivingSituation")) return "CURRENT_LIVING_SITUATION";
-        if (serviceName.contains("DateOfEngagement")) return "DATE_OF_ENGAGEMENT";
-        if (serviceName.contains("BedNight")) return "BED_NIGHT";
-        return "UNKNOWN";
+        return HmisAdviceMetadata.of(joinPoint).operation();
     }
     
-    private HmisDataSecurityService.DvDataSensitivityLevel determineDvSensitivityLevel(String operation) {
-        if (operation.contains("SafetyAssessment")) {
-            return HmisDataSecurityService.DvDataSensitivityLevel.SAFETY_ASSESSMENT;
-        }
-        if (operation.contains("create") || operation.contains("update") || operation.contains("correct")) {
-            return HmisDataSecurityService.DvDataSensitivityLevel.DETAILED_HISTORY;
-        }
-        return HmisDataSecurityService.DvDataSensitivityLevel.BASIC_STATUS;
+    /**
+     * HMIS data type named by the advised controller or service class
+     */
+    private String extractDataType(JoinPoint joinPoint) {
+        return HmisAdviceMetadata.dataTypeOf(joinPoint.getTarget());
     }
     
     private String getCurrentUsername() {
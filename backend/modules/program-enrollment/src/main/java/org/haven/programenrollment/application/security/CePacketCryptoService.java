@@ -7,6 +7,7 @@ import org.haven.programenrollment.domain.ProgramEnrollmentId;
 import org.haven.programenrollment.domain.ce.CeHashAlgorithm;
 import org.haven.programenrollment.domain.ce.CePacket;
 import org.haven.programenrollment.domain.ce.CeShareScope;
+import org.haven.shared.security.ThreadLocalDigest;
 import org.springframework.security.crypto.bcrypt.BCrypt;
 import org.springframework.stereotype.Service;
 
@@ -34,6 +35,8 @@ public class CePacketCryptoService {
 
     private final SecureRandom secureRandom = new SecureRandom();
     private final HexFormat hex = HexFormat.of();
+    // Iterated hashing resets the digest each round, so one instance per thread is enough
+    private final ThreadLocalDigest sha256 = new ThreadLocalDigest("SHA-256");
 
     public CePacket createPacket(ClientId clientId,
                                  ProgramEnrollmentId enrollmentId,
@@ -97,22 +100,18 @@ public class CePacketCryptoService {
     }
 
     private String hashWithSha256(String personalId, byte[] salt, int iterations) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] input = personalId.getBytes(StandardCharsets.UTF_8);
-            byte[] hash = new byte[salt.length + input.length];
-            System.arraycopy(salt, 0, hash, 0, salt.length);
-            System.arraycopy(input, 0, hash, salt.length, input.length);
-
-            for (int i = 0; i < iterations; i++) {
-                digest.reset();
-                digest.update(salt);
-                hash = digest.digest(hash);
-            }
-            return hex.formatHex(hash);
-        } catch (NoSuchAlgorithmException ex) {
-            throw new IllegalStateException("SHA-256 algorithm unavailable", ex);
+        MessageDigest digest = sha256.get();
+        byte[] input = personalId.getBytes(StandardCharsets.UTF_8);
+        byte[] hash = new byte[salt.length + input.length];
+        System.arraycopy(salt, 0, hash, 0, salt.length);
+        System.arraycopy(input, 0, hash, salt.length, input.length);
+
+        for (int i = 0; i < iterations; i++) {
+            digest.reset();
+            digest.update(salt);
+            hash = digest.digest(hash);
         }
+        return hex.formatHex(hash);
     }
 
     private Map<String, String> enrichMetadata(Map<String, String> metadata,
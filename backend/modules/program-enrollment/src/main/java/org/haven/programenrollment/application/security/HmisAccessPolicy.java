@@ -0,0 +1,189 @@
+package org.haven.programenrollment.application.security;
+
+import org.haven.programenrollment.application.security.HmisDataSecurityService.DvDataSensitivityLevel;
+
+import static org.haven.programenrollment.application.security.HmisRole.*;
+
+/**
+ * Role requirements for HMIS data access, compiled into a flat table of role masks.
+ *
+ * Every (operation, data type, sensitivity) combination is resolved once when the table is built,
+ * falling back from a specific sensitivity to the data type's general rule and from a data type to
+ * {@link DataType#OTHER}. A check is then an array lookup and a bitwise test against the
+ * principal's role mask.
+ */
+public final class HmisAccessPolicy {
+
+    public enum Operation {
+        DATA_ACCESS,
+        CORRECTION,
+        BULK_OPERATION,
+        REPORTING,
+        OFF_HOURS_ACCESS
+    }
+
+    public enum DataType {
+        DISABILITY,
+        DOMESTIC_VIOLENCE,
+        CURRENT_LIVING_SITUATION,
+        DATE_OF_ENGAGEMENT,
+        BED_NIGHT,
+        OTHER;
+
+        public static DataType fromName(String name) {
+            for (DataType type : values()) {
+                if (type.name().equals(name)) {
+                    return type;
+                }
+            }
+            return OTHER;
+        }
+    }
+
+    /**
+     * Granted when the principal holds at least one role of {@code anyOf} and every role of {@code allOf}
+     */
+    public record Rule(long anyOf, long allOf) {
+
+        static final Rule DENY = new Rule(0L, 0L);
+
+        public boolean permits(long roleMask) {
+            return (roleMask & anyOf) != 0 && (roleMask & allOf) == allOf;
+        }
+
+        /**
+         * Whether the role alternatives are met, regardless of the additional required roles
+         */
+        public boolean grantsRole(long roleMask) {
+            return (roleMask & anyOf) != 0;
+        }
+    }
+
+    private static final int OPERATIONS = Operation.values().length;
+    private static final int DATA_TYPES = DataType.values().length;
+    // Slot 0 holds the rule for "no particular sensitivity"
+    private static final int SENSITIVITIES = DvDataSensitivityLevel.values().length + 1;
+
+    private static final HmisAccessPolicy STANDARD = builder()
+        .allow(Operation.DATA_ACCESS, DataType.DISABILITY, null,
+            CASE_MANAGER, ADMIN, DATA_ENTRY_SPECIALIST, PROGRAM_COORDINATOR)
+        .allow(Operation.DATA_ACCESS, DataType.DOMESTIC_VIOLENCE, DvDataSensitivityLevel.BASIC_STATUS,
+            CASE_MANAGER, ADMIN, DV_SPECIALIST, PROGRAM_COORDINATOR)
+        .allow(Operation.DATA_ACCESS, DataType.DOMESTIC_VIOLENCE, DvDataSensitivityLevel.DETAILED_HISTORY,
+            DV_SPECIALIST, ADMIN, SAFETY_COORDINATOR)
+        .allow(Operation.DATA_ACCESS, DataType.DOMESTIC_VIOLENCE, DvDataSensitivityLevel.SAFETY_ASSESSMENT,
+            DV_SPECIALIST, ADMIN, SAFETY_COORDINATOR)
+        .require(Operation.DATA_ACCESS, DataType.DOMESTIC_VIOLENCE, DvDataSensitivityLevel.SAFETY_ASSESSMENT,
+            DV_CERTIFIED)
+        .allow(Operation.DATA_ACCESS, DataType.CURRENT_LIVING_SITUATION, null,
+            CASE_MANAGER, ADMIN, OUTREACH_WORKER, PROGRAM_COORDINATOR, DATA_ENTRY_SPECIALIST)
+        .allow(Operation.DATA_ACCESS, DataType.DATE_OF_ENGAGEMENT, null,
+            CASE_MANAGER, ADMIN, PROGRAM_COORDINATOR, SERVICE_PROVIDER)
+        .allow(Operation.DATA_ACCESS, DataType.BED_NIGHT, null,
+            CASE_MANAGER, ADMIN, SHELTER_STAFF, PROGRAM_COORDINATOR, DATA_ENTRY_SPECIALIST)
+        .allow(Operation.CORRECTION, DataType.OTHER, null,
+            ADMIN, DATA_QUALITY_MANAGER, PROGRAM_COORDINATOR)
+        .allow(Operation.CORRECTION, DataType.DOMESTIC_VIOLENCE, null,
+            ADMIN, DV_SPECIALIST)
+        .allow(Operation.BULK_OPERATION, DataType.OTHER, null,
+            ADMIN, DATA_MANAGER, SYSTEM_ADMINISTRATOR)
+        .allow(Operation.REPORTING, DataType.OTHER, null,
+            ADMIN, PROGRAM_COORDINATOR, DATA_ANALYST, REPORTING_MANAGER)
+        .allow(Operation.REPORTING, DataType.DOMESTIC_VIOLENCE, null,
+            ADMIN, DV_SPECIALIST, SAFETY_COORDINATOR)
+        .allow(Operation.OFF_HOURS_ACCESS, DataType.OTHER, null,
+            ADMIN, EMERGENCY_CONTACT, ON_CALL_COORDINATOR)
+        .compile();
+
+    private final Rule[] rules;
+
+    private HmisAccessPolicy(Rule[] rules) {
+        this.rules = rules;
+    }
+
+    /**
+     * The HMIS access rules enforced by {@link HmisDataSecurityService}
+     */
+    public static HmisAccessPolicy standard() {
+        return STANDARD;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public Rule rule(Operation operation, DataType dataType, DvDataSensitivityLevel sensitivity) {
+        return rules[index(operation, dataType, sensitivity)];
+    }
+
+    public boolean permits(HmisPrincipal principal, Operation operation, DataType dataType,
+                           DvDataSensitivityLevel sensitivity) {
+        return rule(operation, dataType, sensitivity).permits(principal.getRoleMask());
+    }
+
+    private static int index(Operation operation, DataType dataType, DvDataSensitivityLevel sensitivity) {
+        int sensitivitySlot = sensitivity == null ? 0 : sensitivity.ordinal() + 1;
+        return (operation.ordinal() * DATA_TYPES + dataType.ordinal()) * SENSITIVITIES + sensitivitySlot;
+    }
+
+    public static final class Builder {
+
+        private final long[] anyOf = new long[OPERATIONS * DATA_TYPES * SENSITIVITIES];
+        private final long[] allOf = new long[anyOf.length];
+
+        private Builder() {
+        }
+
+        /**
+         * Grant {@code operation} on {@code dataType} to any of {@code roles}; a null sensitivity
+         * covers every sensitivity without a rule of its own
+         */
+        public Builder allow(Operation operation, DataType dataType, DvDataSensitivityLevel sensitivity,
+                             HmisRole... roles) {
+            anyOf[index(operation, dataType, sensitivity)] |= HmisRole.maskOf(roles);
+            return this;
+        }
+
+        /**
+         * Additionally require all of {@code roles} for an already allowed combination
+         */
+        public Builder require(Operation operation, DataType dataType, DvDataSensitivityLevel sensitivity,
+                               HmisRole... roles) {
+            int index = index(operation, dataType, sensitivity);
+            if (anyOf[index] == 0L) {
+                throw new IllegalStateException("No roles allowed for " + operation + "/" + dataType + "/" + sensitivity);
+            }
+            allOf[index] |= HmisRole.maskOf(roles);
+            return this;
+        }
+
+        public HmisAccessPolicy compile() {
+            Rule[] rules = new Rule[anyOf.length];
+            for (Operation operation : Operation.values()) {
+                for (DataType dataType : DataType.values()) {
+                    rules[index(operation, dataType, null)] = resolve(operation, dataType, null);
+                    for (DvDataSensitivityLevel sensitivity : DvDataSensitivityLevel.values()) {
+                        rules[index(operation, dataType, sensitivity)] = resolve(operation, dataType, sensitivity);
+                    }
+                }
+            }
+            return new HmisAccessPolicy(rules);
+        }
+
+        private Rule resolve(Operation operation, DataType dataType, DvDataSensitivityLevel sensitivity) {
+            Rule rule = explicit(operation, dataType, sensitivity);
+            if (rule == null && sensitivity != null) {
+                rule = explicit(operation, dataType, null);
+            }
+            if (rule == null && dataType != DataType.OTHER) {
+                rule = resolve(operation, DataType.OTHER, sensitivity);
+            }
+            return rule != null ? rule : Rule.DENY;
+        }
+
+        private Rule explicit(Operation operation, DataType dataType, DvDataSensitivityLevel sensitivity) {
+            int index = index(operation, dataType, sensitivity);
+            return anyOf[index] != 0L ? new Rule(anyOf[index], allOf[index]) : null;
+        }
+    }
+}
@@ -1,21 +1,24 @@
 package org.haven.programenrollment.application.security;
 
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.haven.programenrollment.application.security.HmisAccessPolicy.DataType;
+import org.haven.programenrollment.application.security.HmisAccessPolicy.Operation;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Set;
 import java.util.UUID;
 
 /**
  * Security service for HMIS data access control
  * Implements role-based access control with enhanced privacy protections
  * for sensitive data elements like DV, disabilities, and client information
+ *
+ * Roles are resolved once per request into a bitmask (HmisPrincipal) and checked against
+ * the precompiled HmisAccessPolicy table, so each decision is a single bitwise test.
  */
 @Service
 public class HmisDataSecurityService {
     
+    private static final HmisAccessPolicy POLICY = HmisAccessPolicy.standard();
+    
     private final HmisAuditLogger auditLogger;
     
     public HmisDataSecurityService(HmisAuditLogger auditLogger) {
@@ -26,26 +29,21 @@ public class HmisDataSecurityService {
      * Check if user can access disability data
      */
     public boolean canAccessDisabilityData(UUID enrollmentId, String operation) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        HmisPrincipal principal = HmisPrincipal.current();
         
-        if (auth == null || !auth.isAuthenticated()) {
+        if (principal == null || !principal.isAuthenticated()) {
             auditLogger.logUnauthorizedAccess("DISABILITY", enrollmentId, operation, "Not authenticated");
             return false;
         }
         
-        Set<String> userRoles = extractRoles(auth);
-        
         // Basic disability data access
-        boolean hasAccess = userRoles.contains("CASE_MANAGER") || 
-                           userRoles.contains("ADMIN") ||
-                           userRoles.contains("DATA_ENTRY_SPECIALIST") ||
-                           userRoles.contains("PROGRAM_COORDINATOR");
+        boolean hasAccess = POLICY.permits(principal, Operation.DATA_ACCESS, DataType.DISABILITY, null);
         
         if (hasAccess) {
-            auditLogger.logDataAccess("DISABILITY", enrollmentId, operation, auth.getName());
+            auditLogger.logDataAccess("DISABILITY", enrollmentId, operation, principal.getName());
         } else {
             auditLogger.logUnauthorizedAccess("DISABILITY", enrollmentId, operation, 
-                "Insufficient role permissions: " + String.join(", ", userRoles));
+                "Insufficient role permissions: " + String.join(", ", principal.roleNames()));
         }
         
         return hasAccess;
@@ -55,45 +53,25 @@ public class HmisDataSecurityService {
      * Check if user can access domestic violence data (enhanced security)
      */
     public boolean canAccessDvData(UUID enrollmentId, String operation, DvDataSensitivityLevel sensitivityLevel) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        HmisPrincipal principal = HmisPrincipal.current();
         
-        if (auth == null || !auth.isAuthenticated()) {
+        if (principal == null || !principal.isAuthenticated()) {
             auditLogger.logUnauthorizedAccess("DOMESTIC_VIOLENCE", enrollmentId, operation, "Not authenticated");
             return false;
         }
         
-        Set<String> userRoles = extractRoles(auth);
-        boolean hasAccess = false;
-        
-        switch (sensitivityLevel) {
-            case BASIC_STATUS -> {
-                // Basic DV status (has history yes/no) - broader access
-                hasAccess = userRoles.contains("CASE_MANAGER") || 
-                           userRoles.contains("ADMIN") ||
-                           userRoles.contains("DV_SPECIALIST") ||
-                           userRoles.contains("PROGRAM_COORDINATOR");
-            }
-            case DETAILED_HISTORY -> {
-                // Detailed DV information - restricted access
-                hasAccess = userRoles.contains("DV_SPECIALIST") || 
-                           userRoles.contains("ADMIN") ||
-                           userRoles.contains("SAFETY_COORDINATOR");
-            }
-            case SAFETY_ASSESSMENT -> {
-                // Safety assessment and high-risk information - most restricted
-                hasAccess = userRoles.contains("DV_SPECIALIST") || 
-                           userRoles.contains("ADMIN") ||
-                           userRoles.contains("SAFETY_COORDINATOR");
-                
-                // Additional validation for safety assessment access
-                if (hasAccess && sensitivityLevel == DvDataSensitivityLevel.SAFETY_ASSESSMENT) {
-                    hasAccess = validateSafetyAssessmentAccess(auth, enrollmentId);
-                }
-            }
+        // BASIC_STATUS (has history yes/no) has broader access; DETAILED_HISTORY and
+        // SAFETY_ASSESSMENT are restricted, and safety assessments also require DV certification
+        HmisAccessPolicy.Rule rule = POLICY.rule(Operation.DATA_ACCESS, DataType.DOMESTIC_VIOLENCE, sensitivityLevel);
+        boolean hasAccess = rule.permits(principal.getRoleMask());
+        
+        if (!hasAccess && rule.grantsRole(principal.getRoleMask())) {
+            auditLogger.logUnauthorizedAccess("DOMESTIC_VIOLENCE", enrollmentId, "SAFETY_ASSESSMENT", 
+                "Missing required DV certification");
         }
         
         if (hasAccess) {
-            auditLogger.logDataAccess("DOMESTIC_VIOLENCE", enrollmentId, operation, auth.getName(), 
+            auditLogger.logDataAccess("DOMESTIC_VIOLENCE", enrollmentId, operation, principal.getName(), 
                 sensitivityLevel.toString());
         } else {
             auditLogger.logUnauthorizedAccess("DOMESTIC_VIOLENCE", enrollmentId, operation, 
@@ -107,23 +85,17 @@ public class HmisDataSecurityService {
      * Check if user can access current living situation data
      */
     public boolean canAccessCurrentLivingSituationData(UUID enrollmentId, String operation) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        HmisPrincipal principal = HmisPrincipal.current();
         
-        if (auth == null || !auth.isAuthenticated()) {
+        if (principal == null || !principal.isAuthenticated()) {
             return false;
         }
         
-        Set<String> userRoles = extractRoles(auth);
-        
         // Street outreach and CLS data access
-        boolean hasAccess = userRoles.contains("CASE_MANAGER") || 
-                           userRoles.contains("ADMIN") ||
-                           userRoles.contains("OUTREACH_WORKER") ||
-                           userRoles.contains("PROGRAM_COORDINATOR") ||
-                           userRoles.contains("DATA_ENTRY_SPECIALIST");
+        boolean hasAccess = POLICY.permits(principal, Operation.DATA_ACCESS, DataType.CURRENT_LIVING_SITUATION, null);
         
         if (hasAccess) {
-            auditLogger.logDataAccess("CURRENT_LIVING_SITUATION", enrollmentId, operation, auth.getName());
+            auditLogger.logDataAccess("CURRENT_LIVING_SITUATION", enrollmentId, operation, principal.getName());
         }
         
         return hasAccess;
@@ -133,22 +105,17 @@ public class HmisDataSecurityService {
      * Check if user can access date of engagement data
      */
     public boolean canAccessDateOfEngagementData(UUID enrollmentId, String operation) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        HmisPrincipal principal = HmisPrincipal.current();
         
-        if (auth == null || !auth.isAuthenticated()) {
+        if (principal == null || !principal.isAuthenticated()) {
             return false;
         }
         
-        Set<String> userRoles = extractRoles(auth);
-        
         // Engagement data access
-        boolean hasAccess = userRoles.contains("CASE_MANAGER") || 
-                           userRoles.contains("ADMIN") ||
-                           userRoles.contains("PROGRAM_COORDINATOR") ||
-                           userRoles.contains("SERVICE_PROVIDER");
+        boolean hasAccess = POLICY.permits(principal, Operation.DATA_ACCESS, DataType.DATE_OF_ENGAGEMENT, null);
         
         if (hasAccess) {
-            auditLogger.logDataAccess("DATE_OF_ENGAGEMENT", enrollmentId, operation, auth.getName());
+            auditLogger.logDataAccess("DATE_OF_ENGAGEMENT", enrollmentId, operation, principal.getName());
         }
         
         return hasAccess;
@@ -158,23 +125,17 @@ public class HmisDataSecurityService {
      * Check if user can access bed night data
      */
     public boolean canAccessBedNightData(UUID enrollmentId, String operation) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        HmisPrincipal principal = HmisPrincipal.current();
         
-        if (auth == null || !auth.isAuthenticated()) {
+        if (principal == null || !principal.isAuthenticated()) {
             return false;
         }
         
-        Set<String> userRoles = extractRoles(auth);
-        
         // Bed night tracking access
-        boolean hasAccess = userRoles.contains("CASE_MANAGER") || 
-                           userRoles.contains("ADMIN") ||
-                           userRoles.contains("SHELTER_STAFF") ||
-                           userRoles.contains("PROGRAM_COORDINATOR") ||
-                           userRoles.contains("DATA_ENTRY_SPECIALIST");
+        boolean hasAccess = POLICY.permits(principal, Operation.DATA_ACCESS, DataType.BED_NIGHT, null);
         
         if (hasAccess) {
-            auditLogger.logDataAccess("BED_NIGHT", enrollmentId, operation, auth.getName());
+            auditLogger.logDataAccess("BED_NIGHT", enrollmentId, operation, principal.getName());
         }
         
         return hasAccess;
@@ -184,26 +145,17 @@ public class HmisDataSecurityService {
      * Check if user can perform corrections on HMIS data
      */
     public boolean canPerformDataCorrections(String dataType, UUID recordId) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        HmisPrincipal principal = HmisPrincipal.current();
         
-        if (auth == null || !auth.isAuthenticated()) {
+        if (principal == null || !principal.isAuthenticated()) {
             return false;
         }
         
-        Set<String> userRoles = extractRoles(auth);
-        
-        // Data correction permissions - more restrictive
-        boolean hasAccess = userRoles.contains("ADMIN") ||
-                           userRoles.contains("DATA_QUALITY_MANAGER") ||
-                           userRoles.contains("PROGRAM_COORDINATOR");
-        
-        // Special case for DV corrections - only DV specialists and admins
-        if ("DOMESTIC_VIOLENCE".equals(dataType)) {
-            hasAccess = userRoles.contains("ADMIN") || userRoles.contains("DV_SPECIALIST");
-        }
+        // Data correction permissions - more restrictive; DV corrections only for DV specialists and admins
+        boolean hasAccess = POLICY.permits(principal, Operation.CORRECTION, DataType.fromName(dataType), null);
         
         if (hasAccess) {
-            auditLogger.logDataAccess(dataType + "_CORRECTION", recordId, "CORRECT", auth.getName());
+            auditLogger.logDataAccess(dataType + "_CORRECTION", recordId, "CORRECT", principal.getName());
         }
         
         return hasAccess;
@@ -213,21 +165,17 @@ public class HmisDataSecurityService {
      * Check if user can access bulk operations
      */
     public boolean canPerformBulkOperations(String operationType) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        HmisPrincipal principal = HmisPrincipal.current();
         
-        if (auth == null || !auth.isAuthenticated()) {
+        if (principal == null || !principal.isAuthenticated()) {
             return false;
         }
         
-        Set<String> userRoles = extractRoles(auth);
-        
         // Bulk operations - restricted to admin and data managers
-        boolean hasAccess = userRoles.contains("ADMIN") ||
-                           userRoles.contains("DATA_MANAGER") ||
-                           userRoles.contains("SYSTEM_ADMINISTRATOR");
+        boolean hasAccess = POLICY.permits(principal, Operation.BULK_OPERATION, DataType.OTHER, null);
         
         if (hasAccess) {
-            auditLogger.logSystemAccess("BULK_" + operationType, auth.getName());
+            auditLogger.logSystemAccess("BULK_" + operationType, principal.getName());
         }
         
         return hasAccess;
@@ -237,29 +185,20 @@ public class HmisDataSecurityService {
      * Check if user can access HMIS reporting data
      */
     public boolean canAccessReportingData(String reportType, LocalDateTime startDate, LocalDateTime endDate) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        HmisPrincipal principal = HmisPrincipal.current();
         
-        if (auth == null || !auth.isAuthenticated()) {
+        if (principal == null || !principal.isAuthenticated()) {
             return false;
         }
         
-        Set<String> userRoles = extractRoles(auth);
-        
-        // Reporting access
-        boolean hasAccess = userRoles.contains("ADMIN") ||
-                           userRoles.contains("PROGRAM_COORDINATOR") ||
-                           userRoles.contains("DATA_ANALYST") ||
-                           userRoles.contains("REPORTING_MANAGER");
-        
-        // Enhanced restrictions for sensitive reports
-        if (reportType.contains("DV") || reportType.contains("DOMESTIC_VIOLENCE")) {
-            hasAccess = userRoles.contains("ADMIN") || 
-                       userRoles.contains("DV_SPECIALIST") ||
-                       userRoles.contains("SAFETY_COORDINATOR");
-        }
+        // Reporting access, with enhanced restrictions for sensitive reports
+        DataType reportData = reportType.contains("DV") || reportType.contains("DOMESTIC_VIOLENCE")
+            ? DataType.DOMESTIC_VIOLENCE
+            : DataType.OTHER;
+        boolean hasAccess = POLICY.permits(principal, Operation.REPORTING, reportData, null);
         
         if (hasAccess) {
-            auditLogger.logReportAccess(reportType, startDate, endDate, auth.getName());
+            auditLogger.logReportAccess(reportType, startDate, endDate, principal.getName());
         }
         
         return hasAccess;
@@ -269,9 +208,9 @@ public class HmisDataSecurityService {
      * Validate time-based access restrictions
      */
     public boolean validateTimeBasedAccess(String operation, UUID resourceId) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        HmisPrincipal principal = HmisPrincipal.current();
         
-        if (auth == null) return false;
+        if (principal == null) return false;
         
         LocalDateTime now = LocalDateTime.now();
         int hour = now.getHour();
@@ -279,12 +218,8 @@ public class HmisDataSecurityService {
         // Business hours: 6 AM to 10 PM
         boolean isBusinessHours = hour >= 6 && hour <= 22;
         
-        Set<String> userRoles = extractRoles(auth);
-        
         // Admins and emergency personnel can access 24/7
-        boolean hasUnrestrictedAccess = userRoles.contains("ADMIN") ||
-                                       userRoles.contains("EMERGENCY_CONTACT") ||
-                                       userRoles.contains("ON_CALL_COORDINATOR");
+        boolean hasUnrestrictedAccess = POLICY.permits(principal, Operation.OFF_HOURS_ACCESS, DataType.OTHER, null);
         
         if (!isBusinessHours && !hasUnrestrictedAccess) {
             auditLogger.logUnauthorizedAccess("TIME_RESTRICTED", resourceId, operation, 
@@ -311,30 +246,6 @@ public class HmisDataSecurityService {
         return true;
     }
     
-    private boolean validateSafetyAssessmentAccess(Authentication auth, UUID enrollmentId) {
-        // Additional validation for safety assessment access
-        // Could include recent training verification, supervisor approval, etc.
-        
-        Set<String> userRoles = extractRoles(auth);
-        
-        // Require specific DV training certification
-        if (!userRoles.contains("DV_CERTIFIED")) {
-            auditLogger.logUnauthorizedAccess("DOMESTIC_VIOLENCE", enrollmentId, "SAFETY_ASSESSMENT", 
-                "Missing required DV certification");
-            return false;
-        }
-        
-        return true;
-    }
-    
-    private Set<String> extractRoles(Authentication auth) {
-        return auth.getAuthorities().stream()
-            .map(authority -> authority.getAuthority())
-            .filter(role -> role.startsWith("ROLE_"))
-            .map(role -> role.substring(5)) // Remove "ROLE_" prefix
-            .collect(java.util.stream.Collectors.toSet());
-    }
-    
     private boolean isSecureNetworkIp(String ipAddress) {
         // Placeholder - would validate against approved IP ranges
         // For demo purposes, assume validation passes
@@ -0,0 +1,96 @@
+package org.haven.programenrollment.application.security;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.List;
+
+/**
+ * The current user's HMIS roles, resolved once per request into a bitmask of {@link HmisRole}.
+ *
+ * The resolved principal is kept as a request attribute and reused for every access check in the
+ * same request as long as the security context still holds the same Authentication. Outside a
+ * web request (schedulers, async work) it is resolved on each call.
+ */
+public final class HmisPrincipal {
+
+    private static final String REQUEST_ATTRIBUTE = HmisPrincipal.class.getName();
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private final Authentication authentication;
+    private final long roleMask;
+
+    private HmisPrincipal(Authentication authentication, long roleMask) {
+        this.authentication = authentication;
+        this.roleMask = roleMask;
+    }
+
+    /**
+     * Principal for the current security context, or null when there is no authentication
+     */
+    public static HmisPrincipal current() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null) {
+            return null;
+        }
+
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            Object cached = request.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (cached instanceof HmisPrincipal principal && principal.authentication == auth) {
+                return principal;
+            }
+        }
+
+        HmisPrincipal principal = of(auth);
+        if (request != null) {
+            request.setAttribute(REQUEST_ATTRIBUTE, principal, RequestAttributes.SCOPE_REQUEST);
+        }
+        return principal;
+    }
+
+    static HmisPrincipal of(Authentication auth) {
+        long mask = 0L;
+        for (GrantedAuthority authority : auth.getAuthorities()) {
+            String name = authority.getAuthority();
+            if (name != null && name.startsWith(ROLE_PREFIX)) {
+                HmisRole role = HmisRole.fromName(name.substring(ROLE_PREFIX.length()));
+                if (role != null) {
+                    mask |= role.bit();
+                }
+            }
+        }
+        return new HmisPrincipal(auth, mask);
+    }
+
+    public boolean isAuthenticated() {
+        return authentication.isAuthenticated();
+    }
+
+    public String getName() {
+        return authentication.getName();
+    }
+
+    public long getRoleMask() {
+        return roleMask;
+    }
+
+    public boolean hasRole(HmisRole role) {
+        return (roleMask & role.bit()) != 0;
+    }
+
+    /**
+     * All granted role names without the ROLE_ prefix, for denial messages
+     */
+    public List<String> roleNames() {
+        return authentication.getAuthorities().stream()
+            .map(GrantedAuthority::getAuthority)
+            .filter(role -> role != null && role.startsWith(ROLE_PREFIX))
+            .map(role -> role.substring(ROLE_PREFIX.length()))
+            .distinct()
+            .toList();
+    }
+}
@@ -0,0 +1,55 @@
+package org.haven.programenrollment.application.security;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Roles that HMIS data access decisions depend on, each with a fixed bit in a role mask.
+ * Granted authorities are named {@code ROLE_<name>}; roles not listed here carry no HMIS access.
+ */
+public enum HmisRole {
+    ADMIN,
+    CASE_MANAGER,
+    DATA_ENTRY_SPECIALIST,
+    PROGRAM_COORDINATOR,
+    DV_SPECIALIST,
+    SAFETY_COORDINATOR,
+    DV_CERTIFIED,
+    OUTREACH_WORKER,
+    SERVICE_PROVIDER,
+    SHELTER_STAFF,
+    DATA_QUALITY_MANAGER,
+    DATA_MANAGER,
+    SYSTEM_ADMINISTRATOR,
+    DATA_ANALYST,
+    REPORTING_MANAGER,
+    EMERGENCY_CONTACT,
+    ON_CALL_COORDINATOR;
+
+    private static final Map<String, HmisRole> BY_NAME = new HashMap<>();
+
+    static {
+        for (HmisRole role : values()) {
+            BY_NAME.put(role.name(), role);
+        }
+    }
+
+    public long bit() {
+        return 1L << ordinal();
+    }
+
+    /**
+     * Role for a name without the ROLE_ prefix, or null if it has no HMIS meaning
+     */
+    public static HmisRole fromName(String name) {
+        return BY_NAME.get(name);
+    }
+
+    public static long maskOf(HmisRole... roles) {
+        long mask = 0L;
+        for (HmisRole role : roles) {
+            mask |= role.bit();
+        }
+        return mask;
+    }
+}
@@ -36,7 +36,9 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -46,6 +48,7 @@ public class CeExportService {
     private static final DateTimeFormatter FILE_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
     private static final int GCM_TAG_LENGTH = 128;
     private static final int GCM_IV_LENGTH = 12;
+    private static final int PARALLEL_THRESHOLD = 2_000;
 
     private final CeAssessmentService assessmentService;
     private final CeEventService eventService;
@@ -90,8 +93,8 @@ public class CeExportService {
         StringBuilder csv = new StringBuilder();
         csv.append(buildCsvHeader()).append("\n");
 
-        for (ExportRecord record : records) {
-            csv.append(buildCsvRow(record)).append("\n");
+        for (String row : mapInOrder(records, this::buildCsvRow)) {
+            csv.append(row).append("\n");
         }
 
         byte[] encryptedData = encrypt(csv.toString().getBytes(StandardCharsets.UTF_8), request);
@@ -186,58 +189,75 @@ public class CeExportService {
     }
 
     private List<ExportRecord> gatherRecords(ExportRequest request) {
-        List<ExportRecord> records = new ArrayList<>();
+        List<CeAssessment> assessments = List.of();
+        List<CeEvent> events = List.of();
+        List<CeReferral> referrals = List.of();
 
-        // Gather assessments
         if (request.includeAssessments()) {
-            List<CeAssessment> assessments = request.enrollmentIds().stream()
+            assessments = request.enrollmentIds().stream()
                 .flatMap(enrollmentId -> assessmentService.getAssessmentsForEnrollment(enrollmentId).stream())
                 .filter(a -> isInDateRange(a.getAssessmentDate(), request.startDate(), request.endDate()))
                 .collect(Collectors.toList());
-
-            for (CeAssessment assessment : assessments) {
-                CePacket packet = packetRepository.findById(assessment.getPacketId())
-                    .orElseThrow(() -> new IllegalStateException("Packet not found for assessment"));
-                records.add(ExportRecord.fromAssessment(assessment, packet));
-            }
         }
 
-        // Gather events
         if (request.includeEvents()) {
-            List<CeEvent> events = request.enrollmentIds().stream()
+            events = request.enrollmentIds().stream()
                 .flatMap(enrollmentId -> eventService.getEventsForEnrollment(enrollmentId).stream())
                 .filter(e -> isInDateRange(e.getEventDate(), request.startDate(), request.endDate()))
                 .collect(Collectors.toList());
-
-            for (CeEvent event : events) {
-                CePacket packet = packetRepository.findById(event.getPacketId())
-                    .orElseThrow(() -> new IllegalStateException("Packet not found for event"));
-                records.add(ExportRecord.fromEvent(event, packet));
-            }
         }
 
-        // Gather referrals
         if (request.includeReferrals()) {
-            List<CeReferral> referrals = request.enrollmentIds().stream()
+            referrals = request.enrollmentIds().stream()
                 .flatMap(enrollmentId -> referralService.getReferralsForEnrollment(
                     enrollmentId, true, null).stream())
                 .filter(r -> isInDateRange(r.getReferralDate().toLocalDate(), request.startDate(), request.endDate()))
                 .collect(Collectors.toList());
-
-            for (CeReferral referral : referrals) {
-                CePacket packet = packetRepository.findById(referral.getPacketId())
-                    .orElseThrow(() -> new IllegalStateException("Packet not found for referral"));
-                records.add(ExportRecord.fromReferral(referral, packet));
-            }
         }
 
+        // Many records share a packet, so each packet is loaded once for the whole export
+        Set<CePacketId> packetIds = new LinkedHashSet<>();
+        assessments.forEach(a -> packetIds.add(a.getPacketId()));
+        events.forEach(e -> packetIds.add(e.getPacketId()));
+        referrals.forEach(r -> packetIds.add(r.getPacketId()));
+        Map<CePacketId, ExportPacket> packets = packetRepository.findAllById(packetIds).stream()
+            .collect(Collectors.toMap(CePacket::getPacketId, ExportPacket::new, (first, second) -> first));
+
+        List<ExportRecord> records = new ArrayList<>(assessments.size() + events.size() + referrals.size());
+        records.addAll(mapInOrder(assessments, assessment -> ExportRecord.fromAssessment(
+            assessment, packet(packets, assessment.getPacketId(), "assessment"))));
+        records.addAll(mapInOrder(events, event -> ExportRecord.fromEvent(
+            event, packet(packets, event.getPacketId(), "event"))));
+        records.addAll(mapInOrder(referrals, referral -> ExportRecord.fromReferral(
+            referral, packet(packets, referral.getPacketId(), "referral"))));
         return records;
     }
 
+    private ExportPacket packet(Map<CePacketId, ExportPacket> packets, CePacketId packetId, String recordType) {
+        ExportPacket packet = packetId != null ? packets.get(packetId) : null;
+        if (packet == null) {
+            throw new IllegalStateException("Packet not found for " + recordType);
+        }
+        return packet;
+    }
+
+    /**
+     * Maps rows in parallel once there are enough of them; output keeps input order
+     */
+    private <T, R> List<R> mapInOrder(List<T> rows, Function<T, R> mapper) {
+        Stream<T> stream = rows.size() >= PARALLEL_THRESHOLD ? rows.parallelStream() : rows.stream();
+        return stream.map(mapper).toList();
+    }
+
     private void validateConsentScopes(List<ExportRecord> records, Set<CeShareScope> requiredScopes) {
+        // Scopes belong to the packet, so each packet is checked against its first record only
+        Set<ExportPacket> checked = Collections.newSetFromMap(new IdentityHashMap<>());
         for (ExportRecord record : records) {
+            if (!checked.add(record.packet)) {
+                continue;
+            }
             for (CeShareScope scope : requiredScopes) {
-                if (!record.packet.allowsScope(scope)) {
+                if (!record.packet.packet.allowsScope(scope)) {
                     throw new IllegalStateException(
                         String.format("Record %s does not allow required scope %s", record.recordId, scope)
                     );
@@ -256,17 +276,17 @@ public class CeExportService {
             record.recordType,
             record.recordId.toString(),
             record.enrollmentId.toString(),
-            record.packet.getClientHash(),
+            record.packet.clientHash,
             record.date.toString(),
             record.type != null ? record.type : "",
             record.status != null ? record.status : "",
             record.result != null ? record.result : "",
             record.score != null ? record.score.toString() : "",
             record.prioritizationStatus != null ? record.prioritizationStatus : "",
-            String.valueOf(record.packet.getConsentVersion()),
-            record.packet.getAllowedShareScopes().stream().map(Enum::name).collect(Collectors.joining(";")),
-            record.packet.getHashAlgorithm().name(),
-            record.packet.getEncryptionKeyId()
+            record.packet.consentVersion,
+            record.packet.shareScopes,
+            record.packet.hashAlgorithm,
+            record.packet.encryptionKeyId
         );
     }
 
@@ -286,15 +306,15 @@ public class CeExportService {
             Element recordElement = doc.createElement(record.recordType);
             recordElement.setAttribute("RecordId", record.recordId.toString());
             recordElement.setAttribute("EnrollmentId", record.enrollmentId.toString());
-            recordElement.setAttribute("ClientHash", record.packet.getClientHash());
+            recordElement.setAttribute("ClientHash", record.packet.clientHash);
             recordElement.setAttribute("Date", record.date.toString());
             if (record.type != null) recordElement.setAttribute("Type", record.type);
             if (record.status != null) recordElement.setAttribute("Status", record.status);
             if (record.result != null) recordElement.setAttribute("Result", record.result);
             if (record.score != null) recordElement.setAttribute("Score", record.score.toString());
-            recordElement.setAttribute("ConsentVersion", String.valueOf(record.packet.getConsentVersion()));
-            recordElement.setAttribute("HashAlgorithm", record.packet.getHashAlgorithm().name());
-            recordElement.setAttribute("EncryptionKeyId", record.packet.getEncryptionKeyId());
+            recordElement.setAttribute("ConsentVersion", record.packet.consentVersion);
+            recordElement.setAttribute("HashAlgorithm", record.packet.hashAlgorithm);
+            recordElement.setAttribute("EncryptionKeyId", record.packet.encryptionKeyId);
             root.appendChild(recordElement);
         }
 
@@ -306,24 +326,24 @@ public class CeExportService {
         node.put("recordType", record.recordType);
         node.put("recordId", record.recordId.toString());
         node.put("enrollmentId", record.enrollmentId.toString());
-        node.put("clientHash", record.packet.getClientHash());
+        node.put("clientHash", record.packet.clientHash);
         node.put("date", record.date.toString());
         if (record.type != null) node.put("type", record.type);
         if (record.status != null) node.put("status", record.status);
         if (record.result != null) node.put("result", record.result);
         if (record.score != null) node.put("score", record.score);
         if (record.prioritizationStatus != null) node.put("prioritizationStatus", record.prioritizationStatus);
-        node.put("consentVersion", record.packet.getConsentVersion());
-        node.put("hashAlgorithm", record.packet.getHashAlgorithm().name());
-        node.put("encryptionKeyId", record.packet.getEncryptionKeyId());
+        node.put("consentVersion", record.packet.packet.getConsentVersion());
+        node.put("hashAlgorithm", record.packet.hashAlgorithm);
+        node.put("encryptionKeyId", record.packet.encryptionKeyId);
 
         ArrayNode scopesArray = node.putArray("shareScopes");
-        for (CeShareScope scope : record.packet.getAllowedShareScopes()) {
+        for (CeShareScope scope : record.packet.packet.getAllowedShareScopes()) {
             scopesArray.add(scope.name());
         }
 
         ObjectNode encryptionMetadata = node.putObject("encryptionMetadata");
-        for (Map.Entry<String, String> entry : record.packet.getEncryptionMetadata().entrySet()) {
+        for (Map.Entry<String, String> entry : record.packet.packet.getEncryptionMetadata().entrySet()) {
             encryptionMetadata.put(entry.getKey(), entry.getValue());
         }
 
@@ -469,6 +489,29 @@ public class CeExportService {
         String format
     ) {}
 
+    /**
+     * Packet columns rendered once per packet and shared by all of its records
+     */
+    private static final class ExportPacket {
+        final CePacket packet;
+        final String clientHash;
+        final String consentVersion;
+        final String shareScopes;
+        final String hashAlgorithm;
+        final String encryptionKeyId;
+
+        ExportPacket(CePacket packet) {
+            this.packet = packet;
+            this.clientHash = packet.getClientHash();
+            this.consentVersion = String.valueOf(packet.getConsentVersion());
+            this.shareScopes = packet.getAllowedShareScopes().stream()
+                .map(Enum::name)
+                .collect(Collectors.joining(";"));
+            this.hashAlgorithm = packet.getHashAlgorithm().name();
+            this.encryptionKeyId = packet.getEncryptionKeyId();
+        }
+    }
+
     private static class ExportRecord {
         final String recordType;
         final UUID recordId;
@@ -479,11 +522,11 @@ public class CeExportService {
         final String result;
         final Double score;
         final String prioritizationStatus;
-        final CePacket packet;
+        final ExportPacket packet;
 
         ExportRecord(String recordType, UUID recordId, UUID enrollmentId, Object date,
                     String type, String status, String result, Double score,
-                    String prioritizationStatus, CePacket packet) {
+                    String prioritizationStatus, ExportPacket packet) {
             this.recordType = recordType;
             this.recordId = recordId;
             this.enrollmentId = enrollmentId;
@@ -496,7 +539,7 @@ public class CeExportService {
             this.packet = packet;
         }
 
-        static ExportRecord fromAssessment(CeAssessment assessment, CePacket packet) {
+        static ExportRecord fromAssessment(CeAssessment assessment, ExportPacket packet) {
             return new ExportRecord(
                 "Assessment",
                 assessment.getRecordId(),
@@ -511,7 +554,7 @@ public class CeExportService {
             );
         }
 
-        static ExportRecord fromEvent(CeEvent event, CePacket packet) {
+        static ExportRecord fromEvent(CeEvent event, ExportPacket packet) {
             return new ExportRecord(
                 "Event",
                 event.getRecordId(),
@@ -526,7 +569,7 @@ public class CeExportService {
             );
         }
 
-        static ExportRecord fromReferral(CeReferral referral, CePacket packet) {
+        static ExportRecord fromReferral(CeReferral referral, ExportPacket packet) {
             return new ExportRecord(
                 "Referral",
                 referral.getReferralId(),
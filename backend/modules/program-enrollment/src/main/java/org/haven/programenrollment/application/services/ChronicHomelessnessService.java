@@ -0,0 +1,156 @@
+package org.haven.programenrollment.application.services;
+
+import org.haven.programenrollment.domain.ChronicallyHomelessDetermination;
+import org.haven.programenrollment.domain.chronic.ChronicHomelessnessEngine;
+import org.haven.programenrollment.domain.chronic.EnrollmentHistory;
+import org.haven.programenrollment.domain.chronic.EnrollmentHistoryRepository;
+import org.haven.programenrollment.infrastructure.persistence.ProgramEnrollmentPersisted;
+import org.haven.programenrollment.infrastructure.persistence.ProgramEnrollmentRemoved;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * HUD chronic homelessness determinations for single clients and for whole report populations.
+ *
+ * Every client's homeless history is built from the database on first use. Committed enrollment saves
+ * and deletes, which include recorded bed nights and exits, mark the client as changed; changed clients
+ * are reloaded together before the next determination. Saves made on other nodes are picked up when
+ * the histories are rebuilt after the maximum age.
+ */
+@Service
+public class ChronicHomelessnessService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChronicHomelessnessService.class);
+
+    private final EnrollmentHistoryRepository repository;
+    private final Duration maxAge;
+    private final Clock clock;
+
+    private final Set<UUID> changedClients = ConcurrentHashMap.newKeySet();
+    private final Object rebuildLock = new Object();
+
+    private volatile Histories histories;
+
+    @Autowired
+    public ChronicHomelessnessService(EnrollmentHistoryRepository repository,
+                                      @Value("${haven.chronic-homelessness.max-age-minutes:60}") long maxAgeMinutes) {
+        this(repository, Duration.ofMinutes(maxAgeMinutes), Clock.systemUTC());
+    }
+
+    ChronicHomelessnessService(EnrollmentHistoryRepository repository, Duration maxAge, Clock clock) {
+        this.repository = repository;
+        this.maxAge = maxAge;
+        this.clock = clock;
+    }
+
+    public ChronicallyHomelessDetermination determine(UUID clientId, LocalDate asOf) {
+        return current().determine(clientId, asOf);
+    }
+
+    /**
+     * Determinations for every client with enrollment history
+     */
+    public Map<UUID, ChronicallyHomelessDetermination> determineAll(LocalDate asOf) {
+        return current().determineAll(asOf);
+    }
+
+    /**
+     * Determinations for a report population, e.g. the clients served in the reporting period
+     */
+    public Map<UUID, ChronicallyHomelessDetermination> determineAll(Collection<UUID> clientIds, LocalDate asOf) {
+        return current().determineAll(clientIds, asOf);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEnrollmentPersisted(ProgramEnrollmentPersisted event) {
+        if (event.enrollment().getClientId() != null) {
+            changedClients.add(event.enrollment().getClientId().value());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEnrollmentRemoved(ProgramEnrollmentRemoved event) {
+        // Before the first build there is nothing to update; the build reads the committed state
+        Histories current = histories;
+        if (current != null) {
+            current.engine.clientOf(event.enrollmentId()).ifPresent(changedClients::add);
+        }
+    }
+
+    /**
+     * Discard all histories; the next determination rebuilds them
+     */
+    public void invalidate() {
+        histories = null;
+    }
+
+    private ChronicHomelessnessEngine current() {
+        Histories current = histories;
+        if (current == null || current.isExpired(clock.instant())) {
+            synchronized (rebuildLock) {
+                current = histories;
+                if (current == null || current.isExpired(clock.instant())) {
+                    current = rebuild();
+                }
+            }
+        }
+        if (!changedClients.isEmpty()) {
+            synchronized (rebuildLock) {
+                reloadChangedClients(current.engine);
+            }
+        }
+        return current.engine;
+    }
+
+    private Histories rebuild() {
+        long started = System.currentTimeMillis();
+        // Clients changed while the database is read stay marked and are reloaded afterwards
+        changedClients.clear();
+        List<EnrollmentHistory> enrollments = repository.findAll();
+        Histories built = new Histories(clock.instant().plus(maxAge), ChronicHomelessnessEngine.of(enrollments));
+        histories = built;
+        logger.info("Built homeless histories for {} clients from {} enrollments in {} ms",
+            built.engine.size(), enrollments.size(), System.currentTimeMillis() - started);
+        return built;
+    }
+
+    private void reloadChangedClients(ChronicHomelessnessEngine engine) {
+        Set<UUID> clients = new HashSet<>(changedClients);
+        if (clients.isEmpty()) {
+            return;
+        }
+        changedClients.removeAll(clients);
+        try {
+            Map<UUID, List<EnrollmentHistory>> byClient = repository.findByClientIds(clients).stream()
+                .collect(Collectors.groupingBy(EnrollmentHistory::clientId));
+            clients.forEach(clientId -> engine.replace(clientId, byClient.getOrDefault(clientId, List.of())));
+        } catch (RuntimeException e) {
+            changedClients.addAll(clients);
+            throw e;
+        }
+    }
+
+    private record Histories(Instant expiresAt, ChronicHomelessnessEngine engine) {
+
+        boolean isExpired(Instant now) {
+            return !now.isBefore(expiresAt);
+        }
+    }
+}
@@ -22,12 +22,15 @@ public class CurrentLivingSituationService {
     
     private final JpaProgramEnrollmentRepository enrollmentRepository;
     private final JpaCurrentLivingSituationRepository clsRepository;
+    private final ChronicHomelessnessService chronicHomelessnessService;
     
     public CurrentLivingSituationService(
             @Lazy JpaProgramEnrollmentRepository enrollmentRepository,
-            @Lazy JpaCurrentLivingSituationRepository clsRepository) {
+            @Lazy JpaCurrentLivingSituationRepository clsRepository,
+            @Lazy ChronicHomelessnessService chronicHomelessnessService) {
         this.enrollmentRepository = enrollmentRepository;
         this.clsRepository = clsRepository;
+        this.chronicHomelessnessService = chronicHomelessnessService;
     }
     
     /**
@@ -245,15 +248,15 @@ public class CurrentLivingSituationService {
     }
     
     /**
-     * Get chronically homeless determination based on CLS history
+     * Get chronically homeless determination for the enrolled client as of today,
+     * based on their homeless history across all enrollments
      */
     @Transactional(readOnly = true)
     public ChronicallyHomelessDetermination getChronicallyHomelessDetermination(UUID enrollmentId) {
         JpaProgramEnrollmentEntity enrollmentEntity = enrollmentRepository.findById(enrollmentId)
             .orElseThrow(() -> new IllegalArgumentException("Enrollment not found: " + enrollmentId));
         
-        ProgramEnrollment enrollment = enrollmentEntity.toDomainObject();
-        return enrollment.getChronicallyHomelessDetermination();
+        return chronicHomelessnessService.determine(enrollmentEntity.getClientId(), LocalDate.now());
     }
     
     /**
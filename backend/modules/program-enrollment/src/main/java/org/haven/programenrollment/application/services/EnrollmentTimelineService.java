@@ -0,0 +1,231 @@
+package org.haven.programenrollment.application.services;
+
+import org.haven.programenrollment.domain.timeline.DailyCensus;
+import org.haven.programenrollment.domain.timeline.EnrollmentPeriod;
+import org.haven.programenrollment.domain.timeline.EnrollmentPeriodRepository;
+import org.haven.programenrollment.domain.timeline.EnrollmentTimeline;
+import org.haven.programenrollment.infrastructure.persistence.ProgramEnrollmentPersisted;
+import org.haven.programenrollment.infrastructure.persistence.ProgramEnrollmentRemoved;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Point-in-time and overlap queries over enrollment periods, per project and per Continuum of Care.
+ *
+ * The timelines are built from the database on first use with one lightweight query and kept in
+ * sync from committed enrollment saves and deletes, which carry entries and exits alike. Saves made
+ * on other nodes are picked up when the timelines are rebuilt after the maximum age.
+ */
+@Service
+public class EnrollmentTimelineService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EnrollmentTimelineService.class);
+
+    private final EnrollmentPeriodRepository repository;
+    private final Duration maxAge;
+    private final Clock clock;
+
+    private final Map<UUID, Optional<String>> continuumCodes = new ConcurrentHashMap<>();
+    private final Object rebuildLock = new Object();
+    private final Object changeLock = new Object();
+
+    private volatile Timelines timelines;
+    // Changes committed while a rebuild is reading the database, replayed onto its result; guarded by changeLock
+    private List<EnrollmentPeriodChange> changesDuringRebuild;
+
+    @Autowired
+    public EnrollmentTimelineService(EnrollmentPeriodRepository repository,
+                                     @Value("${haven.enrollment.timeline.max-age-minutes:15}") long maxAgeMinutes) {
+        this(repository, Duration.ofMinutes(maxAgeMinutes), Clock.systemUTC());
+    }
+
+    EnrollmentTimelineService(EnrollmentPeriodRepository repository, Duration maxAge, Clock clock) {
+        this.repository = repository;
+        this.maxAge = maxAge;
+        this.clock = clock;
+    }
+
+    /**
+     * Enrollment periods of one project (program)
+     */
+    public EnrollmentTimeline forProject(UUID programId) {
+        EnrollmentTimeline timeline = current().byProject.get(programId);
+        return timeline != null ? timeline : new EnrollmentTimeline();
+    }
+
+    /**
+     * Enrollment periods of every project in a Continuum of Care
+     */
+    public EnrollmentTimeline forContinuum(String continuumCode) {
+        EnrollmentTimeline timeline = current().byContinuum.get(continuumCode);
+        return timeline != null ? timeline : new EnrollmentTimeline();
+    }
+
+    public List<EnrollmentPeriod> activeOn(UUID programId, LocalDate night) {
+        return forProject(programId).activeOn(night);
+    }
+
+    public List<EnrollmentPeriod> overlapping(UUID programId, LocalDate from, LocalDate to) {
+        return forProject(programId).overlapping(from, to);
+    }
+
+    public DailyCensus dailyCensus(UUID programId, LocalDate from, LocalDate to) {
+        return forProject(programId).dailyCensus(from, to);
+    }
+
+    public DailyCensus continuumDailyCensus(String continuumCode, LocalDate from, LocalDate to) {
+        return forContinuum(continuumCode).dailyCensus(from, to);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEnrollmentPersisted(ProgramEnrollmentPersisted event) {
+        UUID programId = event.enrollment().getProgramId();
+        String continuumCode = programId == null ? null
+            : continuumCodes.computeIfAbsent(programId, repository::findContinuumCode).orElse(null);
+        EnrollmentPeriod period = EnrollmentPeriod.of(event.enrollment(), continuumCode);
+        apply(new EnrollmentPeriodChange(period.enrollmentId(), period));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEnrollmentRemoved(ProgramEnrollmentRemoved event) {
+        apply(new EnrollmentPeriodChange(event.enrollmentId(), null));
+    }
+
+    /**
+     * Discard the timelines; the next query reloads them
+     */
+    public void invalidate() {
+        synchronized (changeLock) {
+            timelines = null;
+        }
+    }
+
+    private void apply(EnrollmentPeriodChange change) {
+        synchronized (changeLock) {
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+            // Nothing to update before the first query; the build reads the committed state
+            if (timelines != null) {
+                timelines.apply(change);
+            }
+        }
+    }
+
+    private Timelines current() {
+        Timelines current = timelines;
+        if (current != null && !current.isExpired(clock.instant())) {
+            return current;
+        }
+        synchronized (rebuildLock) {
+            current = timelines;
+            if (current != null && !current.isExpired(clock.instant())) {
+                return current;
+            }
+            return rebuild();
+        }
+    }
+
+    private Timelines rebuild() {
+        long started = System.currentTimeMillis();
+        synchronized (changeLock) {
+            changesDuringRebuild = new ArrayList<>();
+        }
+        continuumCodes.clear();
+
+        Timelines built;
+        try {
+            List<EnrollmentPeriod> periods = repository.findAll();
+            built = new Timelines(clock.instant().plus(maxAge), periods);
+            logger.info("Built enrollment timelines for {} enrollments in {} projects in {} ms",
+                periods.size(), built.byProject.size(), System.currentTimeMillis() - started);
+        } catch (RuntimeException e) {
+            synchronized (changeLock) {
+                changesDuringRebuild = null;
+            }
+            throw e;
+        }
+
+        synchronized (changeLock) {
+            // Replaying is idempotent: each change sets or clears one enrollment's period
+            changesDuringRebuild.forEach(built::apply);
+            changesDuringRebuild = null;
+            timelines = built;
+        }
+        return built;
+    }
+
+    private record EnrollmentPeriodChange(UUID enrollmentId, EnrollmentPeriod period) {
+    }
+
+    /**
+     * One generation of timelines; placements are guarded by the service's change lock
+     */
+    private static final class Timelines {
+
+        private final Instant expiresAt;
+        private final Map<UUID, EnrollmentTimeline> byProject = new ConcurrentHashMap<>();
+        private final Map<String, EnrollmentTimeline> byContinuum = new ConcurrentHashMap<>();
+        private final Map<UUID, EnrollmentPeriod> placements = new HashMap<>();
+
+        Timelines(Instant expiresAt, List<EnrollmentPeriod> periods) {
+            this.expiresAt = expiresAt;
+            Map<UUID, List<EnrollmentPeriod>> projectPeriods = new HashMap<>();
+            Map<String, List<EnrollmentPeriod>> continuumPeriods = new HashMap<>();
+            for (EnrollmentPeriod period : periods) {
+                placements.put(period.enrollmentId(), period);
+                if (period.programId() != null) {
+                    projectPeriods.computeIfAbsent(period.programId(), id -> new ArrayList<>()).add(period);
+                }
+                if (period.continuumCode() != null) {
+                    continuumPeriods.computeIfAbsent(period.continuumCode(), code -> new ArrayList<>()).add(period);
+                }
+            }
+            projectPeriods.forEach((programId, list) -> byProject.put(programId, new EnrollmentTimeline(list)));
+            continuumPeriods.forEach((code, list) -> byContinuum.put(code, new EnrollmentTimeline(list)));
+        }
+
+        boolean isExpired(Instant now) {
+            return !now.isBefore(expiresAt);
+        }
+
+        void apply(EnrollmentPeriodChange change) {
+            EnrollmentPeriod before = change.period() != null
+                ? placements.put(change.enrollmentId(), change.period())
+                : placements.remove(change.enrollmentId());
+            if (before != null) {
+                if (before.programId() != null) {
+                    byProject.get(before.programId()).remove(before.enrollmentId());
+                }
+                if (before.continuumCode() != null) {
+                    byContinuum.get(before.continuumCode()).remove(before.enrollmentId());
+                }
+            }
+            EnrollmentPeriod after = change.period();
+            if (after != null) {
+                if (after.programId() != null) {
+                    byProject.computeIfAbsent(after.programId(), id -> new EnrollmentTimeline()).put(after);
+                }
+                if (after.continuumCode() != null) {
+                    byContinuum.computeIfAbsent(after.continuumCode(), code -> new EnrollmentTimeline()).put(after);
+                }
+            }
+        }
+    }
+}
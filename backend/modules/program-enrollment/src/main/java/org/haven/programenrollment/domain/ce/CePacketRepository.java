@@ -3,6 +3,7 @@ package org.haven.programenrollment.domain.ce;
 import org.haven.clientprofile.domain.ClientId;
 import org.haven.clientprofile.domain.consent.ConsentId;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -13,6 +14,8 @@ public interface CePacketRepository {
 
     Optional<CePacket> findById(CePacketId packetId);
 
+    List<CePacket> findAllById(Collection<CePacketId> packetIds);
+
     Optional<CePacket> findActiveByConsent(ConsentId consentId);
 
     List<CePacket> findByClient(ClientId clientId);
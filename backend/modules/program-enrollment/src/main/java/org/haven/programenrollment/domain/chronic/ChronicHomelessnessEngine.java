@@ -0,0 +1,101 @@
+package org.haven.programenrollment.domain.chronic;
+
+import org.haven.programenrollment.domain.ChronicallyHomelessDetermination;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Chronic homelessness determinations for a whole client population.
+ *
+ * Holds one {@link HomelessHistory} per client. Histories are built and evaluated in parallel, and a
+ * client's history is replaced on its own when one of their enrollments changes, so SAGE, APR and
+ * SPM runs all read the same determinations without re-reading enrollment history per client.
+ *
+ * Thread-safe: replacements are serialized, determinations read the current histories.
+ */
+public final class ChronicHomelessnessEngine {
+
+    private final Map<UUID, HomelessHistory> histories = new ConcurrentHashMap<>();
+    private final Map<UUID, UUID> clientsByEnrollment = new ConcurrentHashMap<>();
+
+    public ChronicHomelessnessEngine() {
+    }
+
+    /**
+     * Build the histories of every client in the given enrollments, one client per task
+     */
+    public static ChronicHomelessnessEngine of(Collection<EnrollmentHistory> enrollments) {
+        ChronicHomelessnessEngine engine = new ChronicHomelessnessEngine();
+        enrollments.stream()
+            .collect(Collectors.groupingBy(EnrollmentHistory::clientId))
+            .entrySet()
+            .parallelStream()
+            .map(client -> HomelessHistory.of(client.getKey(), client.getValue()))
+            .forEach(engine::put);
+        return engine;
+    }
+
+    /**
+     * Replace one client's history with their current enrollments; no enrollments removes the client
+     */
+    public synchronized void replace(UUID clientId, Collection<EnrollmentHistory> enrollments) {
+        HomelessHistory previous = histories.remove(clientId);
+        if (previous != null) {
+            previous.enrollmentIds().forEach(enrollmentId -> clientsByEnrollment.remove(enrollmentId, clientId));
+        }
+        if (!enrollments.isEmpty()) {
+            put(HomelessHistory.of(clientId, enrollments));
+        }
+    }
+
+    private void put(HomelessHistory history) {
+        histories.put(history.clientId(), history);
+        history.enrollmentIds().forEach(enrollmentId -> clientsByEnrollment.put(enrollmentId, history.clientId()));
+    }
+
+    public Optional<HomelessHistory> historyOf(UUID clientId) {
+        return Optional.ofNullable(histories.get(clientId));
+    }
+
+    public Optional<UUID> clientOf(UUID enrollmentId) {
+        return Optional.ofNullable(clientsByEnrollment.get(enrollmentId));
+    }
+
+    public int size() {
+        return histories.size();
+    }
+
+    public ChronicallyHomelessDetermination determine(UUID clientId, LocalDate asOf) {
+        HomelessHistory history = histories.get(clientId);
+        if (history == null) {
+            return new ChronicallyHomelessDetermination(false, 0, 0, false, asOf,
+                "No enrollment history recorded", List.of());
+        }
+        return history.determine(asOf);
+    }
+
+    /**
+     * Determinations for every client with enrollment history, computed in parallel
+     */
+    public Map<UUID, ChronicallyHomelessDetermination> determineAll(LocalDate asOf) {
+        return histories.values().parallelStream()
+            .collect(Collectors.toConcurrentMap(HomelessHistory::clientId, history -> history.determine(asOf)));
+    }
+
+    /**
+     * Determinations for the given clients, computed in parallel
+     */
+    public Map<UUID, ChronicallyHomelessDetermination> determineAll(Collection<UUID> clientIds, LocalDate asOf) {
+        return clientIds.parallelStream()
+            .distinct()
+            .collect(Collectors.toConcurrentMap(Function.identity(), clientId -> determine(clientId, asOf)));
+    }
+}
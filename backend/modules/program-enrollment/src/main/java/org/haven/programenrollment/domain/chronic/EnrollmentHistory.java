@@ -0,0 +1,41 @@
+package org.haven.programenrollment.domain.chronic;
+
+import org.haven.shared.vo.hmis.HmisProjectType;
+import org.haven.shared.vo.hmis.LengthOfStay;
+import org.haven.shared.vo.hmis.PriorLivingSituation;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * What one enrollment contributes to a client's homeless history: the project stay itself, the
+ * self-reported living situation before entry (3.917) and the disabling condition recorded at entry.
+ *
+ * @param exitDate null while the enrollment is open
+ * @param bedNights night-by-night shelter stays as ascending epoch days, empty when none were recorded
+ */
+public record EnrollmentHistory(
+    UUID enrollmentId,
+    UUID clientId,
+    HmisProjectType projectType,
+    LocalDate entryDate,
+    LocalDate exitDate,
+    PriorLivingSituation priorLivingSituation,
+    LengthOfStay lengthOfStay,
+    boolean disablingCondition,
+    int[] bedNights
+) {
+
+    public EnrollmentHistory {
+        if (enrollmentId == null || clientId == null || entryDate == null) {
+            throw new IllegalArgumentException("Enrollment ID, client ID and entry date are required");
+        }
+        if (bedNights == null) {
+            bedNights = new int[0];
+        }
+    }
+
+    public boolean isOpen() {
+        return exitDate == null;
+    }
+}
@@ -0,0 +1,18 @@
+package org.haven.programenrollment.domain.chronic;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Read-only access to what each enrollment contributes to a client's homeless history
+ */
+public interface EnrollmentHistoryRepository {
+
+    List<EnrollmentHistory> findAll();
+
+    /**
+     * Every enrollment of the given clients
+     */
+    List<EnrollmentHistory> findByClientIds(Collection<UUID> clientIds);
+}
@@ -0,0 +1,271 @@
+package org.haven.programenrollment.domain.chronic;
+
+import org.haven.programenrollment.domain.ChronicallyHomelessDetermination;
+import org.haven.shared.vo.hmis.HmisProjectType;
+import org.haven.shared.vo.hmis.PriorLivingSituation;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Night-by-night homeless history of one client across all of their enrollments.
+ *
+ * Every night since the earliest one any enrollment reports is one bit. A night is homeless when the
+ * client stayed in an emergency shelter, safe haven or street outreach project, or reported staying
+ * on the street, in a shelter or in a safe haven before entering any project. Shelter enrollments
+ * with bed nights count those nights only. Institutional stays of less than 90 days are kept in a
+ * second bitset: a night there counts as homeless when the night before it does, so a short stay
+ * entered from homelessness neither breaks nor ends it. Enrollments that are still open count up to the determination date.
+ *
+ * HUD's chronic homelessness test then reads the three years before the determination date: a break
+ * of seven or more nights separates occasions, and months are the calendar months with at least one
+ * homeless night.
+ *
+ * Immutable; the history is rebuilt whenever one of the client's enrollments changes.
+ */
+public final class HomelessHistory {
+
+    static final int OCCASION_BREAK_NIGHTS = 7;
+    static final int CONTINUOUS_NIGHTS = 365;
+    static final int REQUIRED_OCCASIONS = 4;
+    static final int REQUIRED_MONTHS = 12;
+
+    private static final int INSTITUTIONAL_STAY_LIMIT = 90;
+    private static final long NOT_OPEN = Long.MAX_VALUE;
+
+    private static final Set<HmisProjectType> HOMELESS_PROJECTS = EnumSet.of(
+        HmisProjectType.EMERGENCY_SHELTER, HmisProjectType.SAFE_HAVEN, HmisProjectType.STREET_OUTREACH);
+
+    // Transitional housing is literally homeless but does not count toward chronic homelessness
+    private static final Set<PriorLivingSituation> HOMELESS_SITUATIONS = EnumSet.of(
+        PriorLivingSituation.EMERGENCY_SHELTER, PriorLivingSituation.SAFE_HAVEN,
+        PriorLivingSituation.PLACE_NOT_MEANT_FOR_HABITATION);
+
+    private final UUID clientId;
+    private final List<UUID> enrollmentIds;
+    // Epoch day of bit 0
+    private final long origin;
+    private final BitSet homeless;
+    private final BitSet institutional;
+    // Earliest entry of an open shelter, safe haven or outreach enrollment, or NOT_OPEN
+    private final long openSince;
+    // Entry days ascending, with the disabling condition recorded at each entry
+    private final long[] entryDays;
+    private final boolean[] disablingAtEntry;
+
+    private HomelessHistory(UUID clientId, List<EnrollmentHistory> enrollments) {
+        this.clientId = clientId;
+        this.enrollmentIds = enrollments.stream().map(EnrollmentHistory::enrollmentId).toList();
+        this.entryDays = new long[enrollments.size()];
+        this.disablingAtEntry = new boolean[enrollments.size()];
+
+        // Self-reported stays reach back at most a year before entry
+        long earliest = Long.MAX_VALUE;
+        for (int i = 0; i < enrollments.size(); i++) {
+            EnrollmentHistory enrollment = enrollments.get(i);
+            entryDays[i] = enrollment.entryDate().toEpochDay();
+            disablingAtEntry[i] = enrollment.disablingCondition();
+            earliest = Math.min(earliest, entryDays[i] - CONTINUOUS_NIGHTS);
+            if (enrollment.bedNights().length > 0) {
+                earliest = Math.min(earliest, enrollment.bedNights()[0]);
+            }
+        }
+        this.origin = earliest;
+        this.homeless = new BitSet();
+        this.institutional = new BitSet();
+
+        long open = NOT_OPEN;
+        for (EnrollmentHistory enrollment : enrollments) {
+            long entry = enrollment.entryDate().toEpochDay();
+            HmisProjectType projectType = enrollment.projectType();
+            if (projectType != null && HOMELESS_PROJECTS.contains(projectType)) {
+                if (projectType == HmisProjectType.EMERGENCY_SHELTER && enrollment.bedNights().length > 0) {
+                    for (int night : enrollment.bedNights()) {
+                        homeless.set(bit(night));
+                    }
+                } else if (enrollment.isOpen()) {
+                    open = Math.min(open, entry);
+                } else if (enrollment.exitDate().toEpochDay() > entry) {
+                    homeless.set(bit(entry), bit(enrollment.exitDate().toEpochDay()));
+                }
+            }
+            markPriorLivingSituation(enrollment, entry);
+        }
+        this.openSince = open;
+    }
+
+    /**
+     * Build the history of one client from all of their enrollments
+     */
+    public static HomelessHistory of(UUID clientId, Collection<EnrollmentHistory> enrollments) {
+        if (enrollments.isEmpty()) {
+            throw new IllegalArgumentException("No enrollments for client " + clientId);
+        }
+        List<EnrollmentHistory> ordered = new ArrayList<>(enrollments);
+        ordered.sort(Comparator.comparing(EnrollmentHistory::entryDate));
+        return new HomelessHistory(clientId, ordered);
+    }
+
+    private void markPriorLivingSituation(EnrollmentHistory enrollment, long entry) {
+        PriorLivingSituation situation = enrollment.priorLivingSituation();
+        Integer minimumNights = enrollment.lengthOfStay() != null ? enrollment.lengthOfStay().getMinimumDays() : null;
+        if (situation == null || minimumNights == null) {
+            return;
+        }
+        // Only the minimum of the reported range is certain; "one night or less" is the night before entry
+        long from = entry - Math.max(1, minimumNights);
+        if (HOMELESS_SITUATIONS.contains(situation)) {
+            homeless.set(bit(from), bit(entry));
+        } else if (situation.isInstitutional()) {
+            Integer maximumNights = enrollment.lengthOfStay().getMaximumDays();
+            if (maximumNights != null && maximumNights < INSTITUTIONAL_STAY_LIMIT) {
+                institutional.set(bit(from), bit(entry));
+            }
+        }
+    }
+
+    private int bit(long epochDay) {
+        return Math.toIntExact(epochDay - origin);
+    }
+
+    public UUID clientId() {
+        return clientId;
+    }
+
+    public List<UUID> enrollmentIds() {
+        return enrollmentIds;
+    }
+
+    /**
+     * Homeless nights, occasions and months in the three years before {@code asOf}
+     */
+    public Summary summarize(LocalDate asOf) {
+        long windowStart = asOf.minusYears(3).toEpochDay();
+        long windowEnd = asOf.toEpochDay();
+        if (windowEnd <= origin) {
+            return Summary.EMPTY;
+        }
+        int lo = (int) Math.max(0, windowStart - origin);
+        int hi = bit(windowEnd);
+
+        // Nights before the window are kept until the institutional stays are resolved
+        BitSet counted = homeless.get(0, hi);
+        if (openSince < windowEnd) {
+            counted.set(bit(openSince), hi);
+        }
+        // An institutional night counts when the night before it counts, so within each stay
+        // every night after the first counted one counts
+        for (int start = institutional.nextSetBit(0); start >= 0 && start < hi; ) {
+            int end = Math.min(institutional.nextClearBit(start), hi);
+            int firstCounted = counted.nextSetBit(Math.max(0, start - 1));
+            if (firstCounted >= 0 && firstCounted < end) {
+                counted.set(firstCounted, end);
+            }
+            start = institutional.nextSetBit(end);
+        }
+        counted.clear(0, lo);
+
+        int nights = 0;
+        int months = 0;
+        int occasions = 0;
+        int longestOccasion = 0;
+        int occasionStart = -1;
+        int previousEnd = -1;
+        long previousMonth = Long.MIN_VALUE;
+        for (int start = counted.nextSetBit(lo); start >= 0; start = counted.nextSetBit(previousEnd)) {
+            int end = counted.nextClearBit(start);
+            nights += end - start;
+            if (occasionStart < 0 || start - previousEnd >= OCCASION_BREAK_NIGHTS) {
+                occasions++;
+                occasionStart = start;
+            }
+            longestOccasion = Math.max(longestOccasion, end - occasionStart);
+            previousEnd = end;
+
+            long firstMonth = monthOf(origin + start);
+            long lastMonth = monthOf(origin + end - 1);
+            months += (int) (lastMonth - Math.max(firstMonth, previousMonth + 1) + 1);
+            previousMonth = lastMonth;
+        }
+        return new Summary(nights, months, occasions, longestOccasion);
+    }
+
+    /**
+     * Disabling condition recorded at the latest entry on or before {@code asOf}
+     */
+    public boolean hasDisablingCondition(LocalDate asOf) {
+        long day = asOf.toEpochDay();
+        boolean disabling = false;
+        for (int i = 0; i < entryDays.length && entryDays[i] <= day; i++) {
+            disabling = disablingAtEntry[i];
+        }
+        return disabling;
+    }
+
+    /**
+     * HUD chronic homelessness as of {@code asOf}: a disabling condition and either twelve continuous
+     * months homeless, or four occasions adding up to twelve months, in the last three years
+     */
+    public ChronicallyHomelessDetermination determine(LocalDate asOf) {
+        Summary summary = summarize(asOf);
+        boolean disabling = hasDisablingCondition(asOf);
+        boolean continuous = summary.longestOccasionNights() >= CONTINUOUS_NIGHTS;
+        boolean occasional = summary.occasions() >= REQUIRED_OCCASIONS && summary.months() >= REQUIRED_MONTHS;
+
+        List<String> factors = new ArrayList<>();
+        if (disabling) {
+            factors.add("Disabling condition");
+        }
+        if (continuous) {
+            factors.add("Homeless continuously for " + summary.longestOccasionNights() + " nights");
+        }
+        if (occasional) {
+            factors.add("Homeless on " + summary.occasions() + " occasions totalling "
+                + summary.months() + " months in the last three years");
+        }
+
+        String reason;
+        if (disabling && (continuous || occasional)) {
+            reason = "Meets HUD chronic homelessness definition";
+        } else if (!disabling) {
+            reason = "No disabling condition recorded";
+        } else if (summary.occasions() >= REQUIRED_OCCASIONS) {
+            reason = "Homeless on " + summary.occasions() + " occasions but only "
+                + summary.months() + " months in the last three years";
+        } else {
+            reason = "Homeless " + summary.months() + " months on " + summary.occasions()
+                + " occasions in the last three years, without twelve continuous months";
+        }
+
+        return new ChronicallyHomelessDetermination(
+            disabling && (continuous || occasional),
+            summary.months(),
+            summary.occasions(),
+            disabling,
+            asOf,
+            reason,
+            List.copyOf(factors));
+    }
+
+    private static long monthOf(long epochDay) {
+        LocalDate night = LocalDate.ofEpochDay(epochDay);
+        return night.getYear() * 12L + night.getMonthValue() - 1;
+    }
+
+    /**
+     * Homelessness within the three-year look-back window
+     *
+     * @param longestOccasionNights nights from the first to the last homeless night of the longest occasion
+     */
+    public record Summary(int nights, int months, int occasions, int longestOccasionNights) {
+
+        static final Summary EMPTY = new Summary(0, 0, 0, 0);
+    }
+}
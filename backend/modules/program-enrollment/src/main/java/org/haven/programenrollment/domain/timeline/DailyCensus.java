@@ -0,0 +1,45 @@
+package org.haven.programenrollment.domain.timeline;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Distinct persons enrolled on each night of an inclusive date range; {@code persons[0]} is {@code from}
+ */
+public record DailyCensus(LocalDate from, int[] persons) {
+
+    public LocalDate to() {
+        return from.plusDays(persons.length - 1L);
+    }
+
+    public int days() {
+        return persons.length;
+    }
+
+    public int on(LocalDate night) {
+        long offset = ChronoUnit.DAYS.between(from, night);
+        if (offset < 0 || offset >= persons.length) {
+            throw new IllegalArgumentException(night + " is outside " + from + ".." + to());
+        }
+        return persons[(int) offset];
+    }
+
+    public int peak() {
+        int peak = 0;
+        for (int count : persons) {
+            peak = Math.max(peak, count);
+        }
+        return peak;
+    }
+
+    /**
+     * Person-nights over the range, the numerator of bed utilization
+     */
+    public long personNights() {
+        long total = 0;
+        for (int count : persons) {
+            total += count;
+        }
+        return total;
+    }
+}
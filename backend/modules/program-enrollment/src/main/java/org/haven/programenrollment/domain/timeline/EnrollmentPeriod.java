@@ -0,0 +1,47 @@
+package org.haven.programenrollment.domain.timeline;
+
+import org.haven.programenrollment.domain.ProgramEnrollment;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * The nights an enrollment covers: from the entry date up to, but not including, the exit date.
+ * A person who exits on a date is not counted as enrolled that night, matching the PIT/HIC
+ * census rule; an enrollment without an exit date is open.
+ */
+public record EnrollmentPeriod(
+    UUID enrollmentId,
+    UUID clientId,
+    UUID programId,
+    String continuumCode,
+    LocalDate entryDate,
+    LocalDate exitDate
+) {
+
+    public static EnrollmentPeriod of(ProgramEnrollment enrollment, String continuumCode) {
+        return new EnrollmentPeriod(
+            enrollment.getId().value(),
+            enrollment.getClientId() != null ? enrollment.getClientId().value() : null,
+            enrollment.getProgramId(),
+            continuumCode,
+            enrollment.getEnrollmentDate(),
+            enrollment.getExitDate());
+    }
+
+    public boolean isOpen() {
+        return exitDate == null;
+    }
+
+    public boolean isActiveOn(LocalDate night) {
+        return entryDate != null && !entryDate.isAfter(night) && (exitDate == null || exitDate.isAfter(night));
+    }
+
+    /**
+     * Whether the enrollment covers at least one night; same-day exits and exits recorded
+     * before entry cover none
+     */
+    public boolean coversAnyNight() {
+        return entryDate != null && (exitDate == null || exitDate.isAfter(entryDate));
+    }
+}
@@ -0,0 +1,21 @@
+package org.haven.programenrollment.domain.timeline;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Lightweight enrollment periods for building {@link EnrollmentTimeline}s without loading aggregates
+ */
+public interface EnrollmentPeriodRepository {
+
+    /**
+     * Every enrollment with its earliest exit date and its project's continuum code
+     */
+    List<EnrollmentPeriod> findAll();
+
+    /**
+     * Continuum of Care code of the housing project a program reports as
+     */
+    Optional<String> findContinuumCode(UUID programId);
+}
@@ -0,0 +1,256 @@
+package org.haven.programenrollment.domain.timeline;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.IntConsumer;
+
+/**
+ * Interval index over the enrollment periods of one project or continuum.
+ *
+ * Periods are kept by enrollment ID and indexed on demand: sorted by entry date with an implicit
+ * tree of maximum exit dates over that order, plus the exit dates in sorted order. Point-in-time
+ * and overlap queries descend the tree and skip every subtree whose enrollments all ended before
+ * the range, so they cost O((k + 1) log n) for k matches. A daily census over a range is a single
+ * sweep over the entry and exit endpoints. Any change marks the index stale; the next query
+ * rebuilds it in O(n log n).
+ *
+ * Thread-safe: changes are serialized and queries read an immutable index.
+ */
+public final class EnrollmentTimeline {
+
+    private final Map<UUID, EnrollmentPeriod> periods = new HashMap<>();
+    private volatile Index index;
+
+    public EnrollmentTimeline() {
+    }
+
+    public EnrollmentTimeline(Collection<EnrollmentPeriod> periods) {
+        periods.forEach(period -> this.periods.put(period.enrollmentId(), period));
+    }
+
+    /**
+     * Add or replace the period for an enrollment
+     */
+    public synchronized void put(EnrollmentPeriod period) {
+        periods.put(period.enrollmentId(), period);
+        index = null;
+    }
+
+    public synchronized void remove(UUID enrollmentId) {
+        if (periods.remove(enrollmentId) != null) {
+            index = null;
+        }
+    }
+
+    public synchronized int size() {
+        return periods.size();
+    }
+
+    /**
+     * Enrollments active on the night of {@code night}, in entry-date order
+     */
+    public List<EnrollmentPeriod> activeOn(LocalDate night) {
+        return overlapping(night, night);
+    }
+
+    /**
+     * Enrollments active on at least one night of the inclusive range, in entry-date order
+     */
+    public List<EnrollmentPeriod> overlapping(LocalDate from, LocalDate to) {
+        requireRange(from, to);
+        Index index = index();
+        List<EnrollmentPeriod> result = new ArrayList<>();
+        index.forEachOverlapping(from.toEpochDay(), to.toEpochDay(), position -> result.add(index.periods[position]));
+        return result;
+    }
+
+    public int countActiveOn(LocalDate night) {
+        requireRange(night, night);
+        Index index = index();
+        int[] count = new int[1];
+        index.forEachOverlapping(night.toEpochDay(), night.toEpochDay(), position -> count[0]++);
+        return count[0];
+    }
+
+    /**
+     * Distinct persons enrolled on each night of the inclusive range, computed in one sweep
+     */
+    public DailyCensus dailyCensus(LocalDate from, LocalDate to) {
+        requireRange(from, to);
+        return new DailyCensus(from, index().census(from.toEpochDay(), to.toEpochDay()));
+    }
+
+    private Index index() {
+        Index current = index;
+        if (current == null) {
+            synchronized (this) {
+                current = index;
+                if (current == null) {
+                    current = new Index(periods.values());
+                    index = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private static void requireRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new IllegalArgumentException("Invalid date range: " + from + ".." + to);
+        }
+    }
+
+    /**
+     * Immutable snapshot of the periods that cover at least one night, as epoch days
+     */
+    private static final class Index {
+
+        private static final long OPEN = Long.MAX_VALUE;
+
+        private final int size;
+        private final EnrollmentPeriod[] periods;
+        private final long[] entries;
+        private final long[] exits;
+        private final int[] persons;
+        private final int personCount;
+        // Implicit binary tree over entry order: maxExit[node] is the latest exit in its subtree
+        private final long[] maxExit;
+        // Exit dates ascending, with the entry-order position each one belongs to
+        private final long[] sortedExits;
+        private final int[] exitPositions;
+
+        Index(Collection<EnrollmentPeriod> all) {
+            this.periods = all.stream()
+                .filter(EnrollmentPeriod::coversAnyNight)
+                .sorted(Comparator.comparing(EnrollmentPeriod::entryDate))
+                .toArray(EnrollmentPeriod[]::new);
+            this.size = periods.length;
+            this.entries = new long[size];
+            this.exits = new long[size];
+            this.persons = new int[size];
+
+            Map<UUID, Integer> personIndexes = new HashMap<>();
+            int nextPerson = 0;
+            for (int i = 0; i < size; i++) {
+                EnrollmentPeriod period = periods[i];
+                entries[i] = period.entryDate().toEpochDay();
+                exits[i] = period.isOpen() ? OPEN : period.exitDate().toEpochDay();
+                // Without a client ID each enrollment counts as its own person
+                Integer person = period.clientId() != null ? personIndexes.get(period.clientId()) : null;
+                if (person == null) {
+                    person = nextPerson++;
+                    if (period.clientId() != null) {
+                        personIndexes.put(period.clientId(), person);
+                    }
+                }
+                persons[i] = person;
+            }
+            this.personCount = nextPerson;
+
+            this.maxExit = new long[Math.max(1, 4 * size)];
+            if (size > 0) {
+                buildMaxExit(1, 0, size);
+            }
+
+            Integer[] byExit = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                byExit[i] = i;
+            }
+            Arrays.sort(byExit, Comparator.comparingLong(position -> exits[position]));
+            this.sortedExits = new long[size];
+            this.exitPositions = new int[size];
+            for (int i = 0; i < size; i++) {
+                exitPositions[i] = byExit[i];
+                sortedExits[i] = exits[byExit[i]];
+            }
+        }
+
+        private long buildMaxExit(int node, int lo, int hi) {
+            if (hi - lo == 1) {
+                return maxExit[node] = exits[lo];
+            }
+            int mid = (lo + hi) >>> 1;
+            return maxExit[node] = Math.max(buildMaxExit(2 * node, lo, mid), buildMaxExit(2 * node + 1, mid, hi));
+        }
+
+        /**
+         * Positions of periods with entry <= to and exit > from, in entry order
+         */
+        void forEachOverlapping(long from, long to, IntConsumer action) {
+            int limit = firstAfter(entries, to);
+            if (limit > 0) {
+                collect(1, 0, size, limit, from, action);
+            }
+        }
+
+        private void collect(int node, int lo, int hi, int limit, long from, IntConsumer action) {
+            if (lo >= limit || maxExit[node] <= from) {
+                return;
+            }
+            if (hi - lo == 1) {
+                action.accept(lo);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            collect(2 * node, lo, mid, limit, from, action);
+            collect(2 * node + 1, mid, hi, limit, from, action);
+        }
+
+        int[] census(long from, long to) {
+            int[] counts = new int[Math.toIntExact(to - from + 1)];
+            int[] enrollmentsPerPerson = new int[personCount];
+            int[] active = new int[1];
+
+            // Enrollments already open on the first night
+            forEachOverlapping(from, from, position -> {
+                if (enrollmentsPerPerson[persons[position]]++ == 0) {
+                    active[0]++;
+                }
+            });
+
+            // Every later entry and exit in the range is applied on its own night; entry precedes
+            // exit for each period, so an exit always removes a period that was counted
+            int nextEntry = firstAfter(entries, from);
+            int nextExit = firstAfter(sortedExits, from);
+            for (int day = 0; day < counts.length; day++) {
+                long night = from + day;
+                while (nextExit < size && sortedExits[nextExit] <= night) {
+                    if (--enrollmentsPerPerson[persons[exitPositions[nextExit++]]] == 0) {
+                        active[0]--;
+                    }
+                }
+                while (nextEntry < size && entries[nextEntry] <= night) {
+                    if (enrollmentsPerPerson[persons[nextEntry++]]++ == 0) {
+                        active[0]++;
+                    }
+                }
+                counts[day] = active[0];
+            }
+            return counts;
+        }
+
+        /**
+         * Index of the first value greater than {@code key} in an ascending array
+         */
+        private int firstAfter(long[] values, long key) {
+            int lo = 0;
+            int hi = size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (values[mid] <= key) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+}
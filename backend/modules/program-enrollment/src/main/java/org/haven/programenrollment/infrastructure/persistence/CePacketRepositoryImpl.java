@@ -9,6 +9,8 @@ import org.haven.programenrollment.domain.ce.CePacketRepository;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -16,6 +18,8 @@ import java.util.UUID;
 @Repository
 public class CePacketRepositoryImpl implements CePacketRepository {
 
+    private static final int BATCH_SIZE = 1000;
+
     private final JpaCePacketSpringRepository repository;
 
     public CePacketRepositoryImpl(JpaCePacketSpringRepository repository) {
@@ -34,6 +38,22 @@ public class CePacketRepositoryImpl implements CePacketRepository {
         return repository.findById(packetId.value()).map(JpaCePacketEntity::toDomain);
     }
 
+    @Override
+    public List<CePacket> findAllById(Collection<CePacketId> packetIds) {
+        if (packetIds.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> ids = packetIds.stream().map(CePacketId::value).distinct().toList();
+        List<CePacket> packets = new ArrayList<>(ids.size());
+        // Chunked to keep IN lists under the driver's bind parameter limit
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            repository.findAllById(ids.subList(from, Math.min(ids.size(), from + BATCH_SIZE))).stream()
+                .map(JpaCePacketEntity::toDomain)
+                .forEach(packets::add);
+        }
+        return packets;
+    }
+
     @Override
     public Optional<CePacket> findActiveByConsent(ConsentId consentId) {
         return repository.findFirstByConsentIdAndConsentStatusOrderByUpdatedAtDesc(consentId.value(), ConsentStatus.GRANTED)
@@ -0,0 +1,181 @@
+package org.haven.programenrollment.infrastructure.persistence;
+
+import org.haven.programenrollment.domain.chronic.EnrollmentHistory;
+import org.haven.programenrollment.domain.chronic.EnrollmentHistoryRepository;
+import org.haven.shared.vo.hmis.HmisProjectType;
+import org.haven.shared.vo.hmis.LengthOfStay;
+import org.haven.shared.vo.hmis.PriorLivingSituation;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Reads enrollment history with two queries, one for the enrollments and one for their bed nights.
+ * Project types come from the housing project of each program, as in the PIT/HIC census queries.
+ */
+@Repository
+public class JdbcEnrollmentHistoryRepository implements EnrollmentHistoryRepository {
+
+    private static final int BATCH_SIZE = 1000;
+
+    // The earliest exit ends the enrollment
+    private static final String ENROLLMENTS = """
+        SELECT DISTINCT ON (pe.id)
+            pe.id,
+            pe.client_id,
+            pe.enrollment_date,
+            px.exit_date,
+            hp.project_type,
+            pe.residence_prior_to_entry::text AS residence_prior_to_entry,
+            pe.length_of_stay_prior_to_entry::text AS length_of_stay_prior_to_entry,
+            EXISTS (
+                SELECT 1 FROM client_disability_records d
+                WHERE d.enrollment_id = pe.id AND d.has_disability = 'YES') AS disabling_condition
+        FROM program_enrollments pe
+        LEFT JOIN project_exits px ON px.enrollment_id = pe.id
+        LEFT JOIN programs p ON p.id = pe.program_id
+        LEFT JOIN housing_projects hp ON hp.project_code = p.program_code
+        WHERE pe.enrollment_date IS NOT NULL %s
+        ORDER BY pe.id, px.exit_date, hp.project_type
+        """;
+
+    private static final String BED_NIGHTS = """
+        SELECT bn.enrollment_id, bn.bed_night_date
+        FROM bed_nights bn %s
+        ORDER BY bn.enrollment_id, bn.bed_night_date
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcEnrollmentHistoryRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<EnrollmentHistory> findAll() {
+        return read(ENROLLMENTS.formatted(""), BED_NIGHTS.formatted(""), ps -> { });
+    }
+
+    @Override
+    public List<EnrollmentHistory> findByClientIds(Collection<UUID> clientIds) {
+        List<UUID> ids = List.copyOf(new LinkedHashSet<>(clientIds));
+        List<EnrollmentHistory> enrollments = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            List<UUID> chunk = ids.subList(from, Math.min(ids.size(), from + BATCH_SIZE));
+            enrollments.addAll(read(
+                ENROLLMENTS.formatted("AND pe.client_id = ANY (?)"),
+                BED_NIGHTS.formatted("JOIN program_enrollments pe ON pe.id = bn.enrollment_id WHERE pe.client_id = ANY (?)"),
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", chunk.toArray()))));
+        }
+        return enrollments;
+    }
+
+    private List<EnrollmentHistory> read(String enrollmentSql, String bedNightSql, PreparedStatementSetter clients) {
+        BedNightCollector collector = new BedNightCollector();
+        jdbcTemplate.query(bedNightSql, clients, collector);
+        Map<UUID, int[]> bedNights = collector.finish();
+        return jdbcTemplate.query(enrollmentSql, clients, (rs, rowNum) -> mapEnrollment(rs, bedNights));
+    }
+
+    private static EnrollmentHistory mapEnrollment(ResultSet rs, Map<UUID, int[]> bedNights) throws SQLException {
+        UUID enrollmentId = rs.getObject("id", UUID.class);
+        return new EnrollmentHistory(
+            enrollmentId,
+            rs.getObject("client_id", UUID.class),
+            projectType(rs.getString("project_type")),
+            rs.getObject("enrollment_date", LocalDate.class),
+            rs.getObject("exit_date", LocalDate.class),
+            priorLivingSituation(rs.getString("residence_prior_to_entry")),
+            lengthOfStay(rs.getString("length_of_stay_prior_to_entry")),
+            rs.getBoolean("disabling_condition"),
+            bedNights.get(enrollmentId));
+    }
+
+    private static HmisProjectType projectType(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return HmisProjectType.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // Same defaults as ProgramEnrollmentAssembler for the coarse categories stored on the enrollment
+
+    private static PriorLivingSituation priorLivingSituation(String value) {
+        if (value == null) {
+            return null;
+        }
+        return switch (value) {
+            case "HOMELESS_SITUATION" -> PriorLivingSituation.PLACE_NOT_MEANT_FOR_HABITATION;
+            case "INSTITUTIONAL_SETTING" -> PriorLivingSituation.PSYCHIATRIC_HOSPITAL;
+            case "HOUSED" -> PriorLivingSituation.RENTAL_HOUSING;
+            default -> null;
+        };
+    }
+
+    private static LengthOfStay lengthOfStay(String value) {
+        if (value == null) {
+            return null;
+        }
+        return switch (value) {
+            case "ONE_WEEK_OR_LESS" -> LengthOfStay.TWO_TO_SIX_NIGHTS;
+            case "MORE_THAN_ONE_WEEK_BUT_LESS_THAN_ONE_MONTH" -> LengthOfStay.ONE_WEEK_TO_LESS_THAN_ONE_MONTH;
+            case "ONE_TO_THREE_MONTHS" -> LengthOfStay.ONE_MONTH_TO_LESS_THAN_THREE_MONTHS;
+            case "MORE_THAN_THREE_MONTHS_BUT_LESS_THAN_ONE_YEAR" -> LengthOfStay.THREE_MONTHS_TO_LESS_THAN_ONE_YEAR;
+            case "ONE_YEAR_OR_LONGER" -> LengthOfStay.ONE_YEAR_OR_LONGER;
+            default -> null;
+        };
+    }
+
+    /**
+     * Groups bed nights, read in enrollment order, into ascending epoch-day arrays per enrollment
+     */
+    private static final class BedNightCollector implements RowCallbackHandler {
+
+        private final Map<UUID, int[]> bedNights = new HashMap<>();
+        private UUID current;
+        private int[] nights = new int[16];
+        private int count;
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            UUID enrollmentId = rs.getObject("enrollment_id", UUID.class);
+            if (!enrollmentId.equals(current)) {
+                flush();
+                current = enrollmentId;
+            }
+            if (count == nights.length) {
+                nights = Arrays.copyOf(nights, count * 2);
+            }
+            nights[count++] = Math.toIntExact(rs.getObject("bed_night_date", LocalDate.class).toEpochDay());
+        }
+
+        Map<UUID, int[]> finish() {
+            flush();
+            return bedNights;
+        }
+
+        private void flush() {
+            if (current != null && count > 0) {
+                bedNights.put(current, Arrays.copyOf(nights, count));
+            }
+            count = 0;
+        }
+    }
+}
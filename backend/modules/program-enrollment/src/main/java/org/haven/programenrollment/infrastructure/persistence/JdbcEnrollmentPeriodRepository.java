@@ -0,0 +1,66 @@
+package org.haven.programenrollment.infrastructure.persistence;
+
+import org.haven.programenrollment.domain.timeline.EnrollmentPeriod;
+import org.haven.programenrollment.domain.timeline.EnrollmentPeriodRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Reads enrollment periods straight from the enrollment and exit tables.
+ * Programs are tied to housing projects through {@code housing_projects.project_code = programs.program_code}.
+ */
+@Repository
+public class JdbcEnrollmentPeriodRepository implements EnrollmentPeriodRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcEnrollmentPeriodRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<EnrollmentPeriod> findAll() {
+        // The earliest exit ends the enrollment, as in the PIT/HIC census queries
+        String sql = """
+            SELECT DISTINCT ON (pe.id)
+                pe.id,
+                pe.client_id,
+                pe.program_id,
+                pe.enrollment_date,
+                px.exit_date,
+                hp.continuum_code
+            FROM program_enrollments pe
+            LEFT JOIN project_exits px ON px.enrollment_id = pe.id
+            LEFT JOIN programs p ON p.id = pe.program_id
+            LEFT JOIN housing_projects hp ON hp.project_code = p.program_code AND hp.continuum_code IS NOT NULL
+            WHERE pe.enrollment_date IS NOT NULL
+            ORDER BY pe.id, px.exit_date, hp.continuum_code
+            """;
+
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new EnrollmentPeriod(
+            rs.getObject("id", UUID.class),
+            rs.getObject("client_id", UUID.class),
+            rs.getObject("program_id", UUID.class),
+            rs.getString("continuum_code"),
+            rs.getObject("enrollment_date", LocalDate.class),
+            rs.getObject("exit_date", LocalDate.class)));
+    }
+
+    @Override
+    public Optional<String> findContinuumCode(UUID programId) {
+        return jdbcTemplate.queryForList("""
+            SELECT hp.continuum_code
+            FROM programs p
+            JOIN housing_projects hp ON hp.project_code = p.program_code
+            WHERE p.id = ? AND hp.continuum_code IS NOT NULL
+            ORDER BY hp.continuum_code
+            LIMIT 1
+            """,
+            String.class, programId).stream().findFirst();
+    }
+}
@@ -5,6 +5,7 @@ import org.haven.programenrollment.domain.ProgramEnrollment;
 import org.haven.programenrollment.domain.ProgramEnrollmentId;
 import org.haven.programenrollment.domain.ProgramEnrollmentRepository;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Repository;
 import org.springframework.context.annotation.Lazy;
@@ -28,12 +29,15 @@ public class ProgramEnrollmentJpaRepositoryAdapter implements ProgramEnrollmentR
     
     private final JpaProgramEnrollmentRepository jpaRepository;
     private final ProgramEnrollmentAssembler assembler;
+    private final ApplicationEventPublisher eventPublisher;
     
     public ProgramEnrollmentJpaRepositoryAdapter(
             JpaProgramEnrollmentRepository jpaRepository,
-            ProgramEnrollmentAssembler assembler) {
+            ProgramEnrollmentAssembler assembler,
+            ApplicationEventPublisher eventPublisher) {
         this.jpaRepository = jpaRepository;
         this.assembler = assembler;
+        this.eventPublisher = eventPublisher;
     }
     
     @Override
@@ -119,11 +123,13 @@ public class ProgramEnrollmentJpaRepositoryAdapter implements ProgramEnrollmentR
     public void save(ProgramEnrollment enrollment) {
         JpaProgramEnrollmentEntity entity = assembler.toEntity(enrollment);
         jpaRepository.save(entity);
+        eventPublisher.publishEvent(new ProgramEnrollmentPersisted(enrollment));
     }
     
     @Override
     public void delete(ProgramEnrollment enrollment) {
         jpaRepository.deleteById(enrollment.getId().value());
+        eventPublisher.publishEvent(new ProgramEnrollmentRemoved(enrollment.getId().value()));
     }
     
     @Override
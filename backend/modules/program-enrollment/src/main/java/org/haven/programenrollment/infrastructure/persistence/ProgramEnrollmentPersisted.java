@@ -0,0 +1,10 @@
+package org.haven.programenrollment.infrastructure.persistence;
+
+import org.haven.programenrollment.domain.ProgramEnrollment;
+
+/**
+ * Published after an enrollment is written through the JPA adapter, inside the saving
+ * transaction, so derived read models can update incrementally
+ */
+public record ProgramEnrollmentPersisted(ProgramEnrollment enrollment) {
+}
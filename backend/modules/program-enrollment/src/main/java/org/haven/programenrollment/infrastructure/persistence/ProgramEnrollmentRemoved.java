@@ -0,0 +1,9 @@
+package org.haven.programenrollment.infrastructure.persistence;
+
+import java.util.UUID;
+
+/**
+ * Published after an enrollment is deleted through the JPA adapter, inside the deleting transaction
+ */
+public record ProgramEnrollmentRemoved(UUID enrollmentId) {
+}
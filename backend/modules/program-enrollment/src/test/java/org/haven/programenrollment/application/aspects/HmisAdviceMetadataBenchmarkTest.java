@@ -0,0 +1,74 @@
+package org.haven.programenrollment.application.aspects;
+
+import org.haven.programenrollment.application.aspects.HmisAdviceMetadataTest.CorrectionResponse;
+import org.haven.programenrollment.application.aspects.HmisAdviceMetadataTest.DisabilityController;
+import org.haven.programenrollment.application.aspects.HmisAdviceMetadataTest.StatusResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Times the cached advice metadata against the per-call reflection and parsing kept as the
+ * reference in {@link HmisAdviceMetadataTest}. Runs with the benchmark task only.
+ */
+@Tag("benchmark")
+class HmisAdviceMetadataBenchmarkTest {
+
+    private static final int CALLS = 1_000_000;
+
+    @Test
+    @DisplayName("Per-advice metadata: reflection and parsing per call vs cached lookups (timings printed)")
+    void benchmarkAdviceOverhead() throws Exception {
+        Method method = DisabilityController.class.getDeclaredMethod("createDisabilityRecord", UUID.class, String.class);
+        DisabilityController controller = new DisabilityController();
+        Object[] args = {UUID.randomUUID(), "payload"};
+        // Most advised methods return something without a recordId field
+        Object[] results = {new CorrectionResponse(UUID.randomUUID()), new StatusResponse()};
+
+        long reference = bestOfThree(() -> {
+            int found = 0;
+            for (int i = 0; i < CALLS; i++) {
+                // logSuccessfulOperation + logDataModification, as previously implemented
+                String dataType = HmisAdviceMetadataTest.referenceDataType(controller.getClass().getSimpleName());
+                UUID resourceId = HmisAdviceMetadataTest.referenceEnrollmentId(args);
+                UUID resultId = HmisAdviceMetadataTest.referenceRecordIdFromResult(results[i & 1]);
+                if (dataType.length() > 0 && resourceId != null && (resultId != null) == ((i & 1) == 0)) found++;
+            }
+            return found;
+        });
+        long cached = bestOfThree(() -> {
+            int found = 0;
+            for (int i = 0; i < CALLS; i++) {
+                String dataType = HmisAdviceMetadata.dataTypeOf(controller);
+                UUID resourceId = HmisAdviceMetadata.of(method).enrollmentId(args);
+                UUID resultId = HmisAdviceMetadata.recordIdOf(results[i & 1]);
+                if (dataType.length() > 0 && resourceId != null && (resultId != null) == ((i & 1) == 0)) found++;
+            }
+            return found;
+        });
+
+        System.out.printf("Advice metadata over %d calls: per-call reflection %d ms, cached %d ms (%.1fx)%n",
+            CALLS, reference / 1_000_000, cached / 1_000_000, (double) reference / cached);
+    }
+
+    private interface Counted {
+        int run();
+    }
+
+    private static long bestOfThree(Counted run) {
+        // Warm-up round so the comparison is not dominated by JIT compilation
+        assertEquals(CALLS, run.run());
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            assertEquals(CALLS, run.run());
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,168 @@
+package org.haven.programenrollment.application.aspects;
+
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.haven.programenrollment.application.security.HmisDataSecurityService.DvDataSensitivityLevel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the cached advice metadata used by HmisValidationAspect.
+ * The per-call reflection and parsing it replaced is kept here as the reference.
+ */
+class HmisAdviceMetadataTest {
+
+    @Test
+    @DisplayName("Cached argument, data type and result lookups match the per-call implementation")
+    void testMatchesReference() throws Exception {
+        UUID enrollmentId = UUID.randomUUID();
+        UUID recordId = UUID.randomUUID();
+        DisabilityController controller = new DisabilityController();
+
+        Object[][] argumentSets = {
+            {enrollmentId, "payload"},
+            {"payload", recordId},
+            {null, null},
+            {enrollmentId, recordId}
+        };
+
+        for (Method method : DisabilityController.class.getDeclaredMethods()) {
+            JoinPoint joinPoint = joinPoint(method);
+            HmisAdviceMetadata metadata = HmisAdviceMetadata.of(joinPoint);
+            assertSame(metadata, HmisAdviceMetadata.of(method));
+            assertEquals(method.getName(), metadata.operation());
+            assertEquals(referenceSensitivity(method.getName()), metadata.dvSensitivityLevel());
+
+            for (Object[] args : argumentSets) {
+                if (args.length != method.getParameterCount() || !assignable(method, args)) {
+                    continue;
+                }
+                assertEquals(referenceEnrollmentId(args), metadata.enrollmentId(args));
+                assertEquals(referenceRecordId(args), metadata.firstUuid(args));
+            }
+        }
+
+        for (Object target : List.of(controller, new DvSafetyService(), new BedNightController(), "other")) {
+            assertEquals(referenceDataType(target.getClass().getSimpleName()), HmisAdviceMetadata.dataTypeOf(target));
+        }
+
+        for (Object result : new Object[]{new CorrectionResponse(recordId), new WrongTypeResponse(), new StatusResponse(), null}) {
+            assertEquals(referenceRecordIdFromResult(result), HmisAdviceMetadata.recordIdOf(result));
+        }
+        assertEquals(recordId, HmisAdviceMetadata.recordIdOf(new CorrectionResponse(recordId)));
+    }
+
+    private static JoinPoint joinPoint(Method method) {
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getMethod()).thenReturn(method);
+        JoinPoint joinPoint = mock(JoinPoint.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        return joinPoint;
+    }
+
+    private static boolean assignable(Method method, Object[] args) {
+        Class<?>[] types = method.getParameterTypes();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i] != null && !types[i].isInstance(args[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Advised types
+
+    static class DisabilityController {
+        public void createDisabilityRecord(UUID enrollmentId, String payload) {
+        }
+
+        public void updateSafetyAssessment(Object enrollmentId, Object recordId) {
+        }
+
+        public void listRecords(String filter, UUID recordId) {
+        }
+
+        public void bulkImport() {
+        }
+    }
+
+    static class DvSafetyService {
+    }
+
+    static class BedNightController {
+    }
+
+    static class CorrectionResponse {
+        private final UUID recordId;
+
+        CorrectionResponse(UUID recordId) {
+            this.recordId = recordId;
+        }
+    }
+
+    static class StatusResponse {
+        private final String status = "OK";
+    }
+
+    static class WrongTypeResponse {
+        private final String recordId = "not-a-uuid";
+    }
+
+    // Previous per-call implementations, kept as the regression oracle
+
+    static UUID referenceEnrollmentId(Object[] args) {
+        if (args.length > 0 && args[0] instanceof UUID) {
+            return (UUID) args[0];
+        }
+        return null;
+    }
+
+    static UUID referenceRecordId(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof UUID) {
+                return (UUID) arg;
+            }
+        }
+        return null;
+    }
+
+    static UUID referenceRecordIdFromResult(Object result) {
+        if (result != null) {
+            try {
+                var recordIdField = result.getClass().getDeclaredField("recordId");
+                recordIdField.setAccessible(true);
+                return (UUID) recordIdField.get(result);
+            } catch (Exception e) {
+                // Ignore and return null
+            }
+        }
+        return null;
+    }
+
+    static String referenceDataType(String className) {
+        if (className.contains("Disability")) return "DISABILITY";
+        if (className.contains("Dv")) return "DOMESTIC_VIOLENCE";
+        if (className.contains("CurrentLivingSituation")) return "CURRENT_LIVING_SITUATION";
+        if (className.contains("DateOfEngagement")) return "DATE_OF_ENGAGEMENT";
+        if (className.contains("BedNight")) return "BED_NIGHT";
+        return "UNKNOWN";
+    }
+
+    private static DvDataSensitivityLevel referenceSensitivity(String operation) {
+        if (operation.contains("SafetyAssessment")) {
+            return DvDataSensitivityLevel.SAFETY_ASSESSMENT;
+        }
+        if (operation.contains("create") || operation.contains("update") || operation.contains("correct")) {
+            return DvDataSensitivityLevel.DETAILED_HISTORY;
+        }
+        return DvDataSensitivityLevel.BASIC_STATUS;
+    }
+}
@@ -0,0 +1,81 @@
+package org.haven.programenrollment.application.security;
+
+import org.haven.programenrollment.application.security.HmisAccessPolicy.DataType;
+import org.haven.programenrollment.application.security.HmisAccessPolicy.Operation;
+import org.haven.programenrollment.application.security.HmisDataSecurityService.DvDataSensitivityLevel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.Authentication;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Times the resolved role mask against the per-call role-set checks kept as the reference
+ * in {@link HmisAccessPolicyTest}. Runs with the benchmark task only.
+ */
+@Tag("benchmark")
+class HmisAccessPolicyBenchmarkTest {
+
+    private static final int REQUESTS = 200_000;
+
+    @Test
+    @DisplayName("Five access checks per request: per-call role sets vs resolved role mask (timings printed)")
+    void benchmarkAccessChecks() {
+        List<Authentication> requests = new ArrayList<>();
+        String[][] roleSets = {
+            {"CASE_MANAGER", "DATA_ENTRY_SPECIALIST", "USER"},
+            {"DV_SPECIALIST", "DV_CERTIFIED", "SAFETY_COORDINATOR"},
+            {"ADMIN"},
+            {"VOLUNTEER", "SHELTER_STAFF", "OFFLINE_ACCESS", "UMA_AUTHORIZATION"}
+        };
+        for (int i = 0; i < 64; i++) {
+            requests.add(HmisAccessPolicyTest.authentication(Set.of(roleSets[i % roleSets.length])));
+        }
+
+        long reference = bestOfThree(() -> {
+            int granted = 0;
+            for (int i = 0; i < REQUESTS; i++) {
+                Authentication auth = requests.get(i & 63);
+                if (HmisAccessPolicyTest.referenceDisability(HmisAccessPolicyTest.extractRoles(auth))) granted++;
+                if (HmisAccessPolicyTest.referenceDv(HmisAccessPolicyTest.extractRoles(auth), DvDataSensitivityLevel.DETAILED_HISTORY)) granted++;
+                if (HmisAccessPolicyTest.referenceCls(HmisAccessPolicyTest.extractRoles(auth))) granted++;
+                if (HmisAccessPolicyTest.referenceBedNight(HmisAccessPolicyTest.extractRoles(auth))) granted++;
+                if (HmisAccessPolicyTest.referenceOffHours(HmisAccessPolicyTest.extractRoles(auth))) granted++;
+            }
+            return granted > 0;
+        });
+        long compiled = bestOfThree(() -> {
+            int granted = 0;
+            for (int i = 0; i < REQUESTS; i++) {
+                HmisPrincipal principal = HmisPrincipal.of(requests.get(i & 63));
+                if (HmisAccessPolicyTest.POLICY.permits(principal, Operation.DATA_ACCESS, DataType.DISABILITY, null)) granted++;
+                if (HmisAccessPolicyTest.POLICY.permits(principal, Operation.DATA_ACCESS, DataType.DOMESTIC_VIOLENCE, DvDataSensitivityLevel.DETAILED_HISTORY)) granted++;
+                if (HmisAccessPolicyTest.POLICY.permits(principal, Operation.DATA_ACCESS, DataType.CURRENT_LIVING_SITUATION, null)) granted++;
+                if (HmisAccessPolicyTest.POLICY.permits(principal, Operation.DATA_ACCESS, DataType.BED_NIGHT, null)) granted++;
+                if (HmisAccessPolicyTest.POLICY.permits(principal, Operation.OFF_HOURS_ACCESS, DataType.OTHER, null)) granted++;
+            }
+            return granted > 0;
+        });
+
+        System.out.printf("Access checks over %d requests: per-call role sets %d ms, resolved role mask %d ms (%.1fx)%n",
+            REQUESTS, reference / 1_000_000, compiled / 1_000_000, (double) reference / compiled);
+    }
+
+    private static long bestOfThree(BooleanSupplier run) {
+        // Warm-up round so the comparison is not dominated by JIT compilation
+        assertTrue(run.getAsBoolean());
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            assertTrue(run.getAsBoolean());
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
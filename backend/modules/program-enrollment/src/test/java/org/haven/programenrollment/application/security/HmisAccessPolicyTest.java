@@ -0,0 +1,192 @@
+package org.haven.programenrollment.application.security;
+
+import org.haven.programenrollment.application.security.HmisAccessPolicy.DataType;
+import org.haven.programenrollment.application.security.HmisAccessPolicy.Operation;
+import org.haven.programenrollment.application.security.HmisDataSecurityService.DvDataSensitivityLevel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for the compiled role-mask access policy and request-scoped principal.
+ * The per-call Set<String> role checks they replaced are kept here as the reference.
+ */
+class HmisAccessPolicyTest {
+
+    static final HmisAccessPolicy POLICY = HmisAccessPolicy.standard();
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("Compiled policy matches the previous role checks for every combination of HMIS roles")
+    void testPolicyMatchesReference() {
+        HmisRole[] roles = HmisRole.values();
+        for (long mask = 0; mask < (1L << roles.length); mask++) {
+            Set<String> names = new HashSet<>();
+            for (HmisRole role : roles) {
+                if ((mask & role.bit()) != 0) {
+                    names.add(role.name());
+                }
+            }
+            HmisPrincipal principal = HmisPrincipal.of(authentication(names));
+            assertEquals(mask, principal.getRoleMask());
+
+            assertEquals(referenceDisability(names), POLICY.permits(principal, Operation.DATA_ACCESS, DataType.DISABILITY, null));
+            for (DvDataSensitivityLevel level : DvDataSensitivityLevel.values()) {
+                assertEquals(referenceDv(names, level),
+                    POLICY.permits(principal, Operation.DATA_ACCESS, DataType.DOMESTIC_VIOLENCE, level));
+            }
+            assertEquals(referenceCls(names), POLICY.permits(principal, Operation.DATA_ACCESS, DataType.CURRENT_LIVING_SITUATION, null));
+            assertEquals(referenceEngagement(names), POLICY.permits(principal, Operation.DATA_ACCESS, DataType.DATE_OF_ENGAGEMENT, null));
+            assertEquals(referenceBedNight(names), POLICY.permits(principal, Operation.DATA_ACCESS, DataType.BED_NIGHT, null));
+            assertEquals(referenceCorrection(names, "DISABILITY"), POLICY.permits(principal, Operation.CORRECTION, DataType.DISABILITY, null));
+            assertEquals(referenceCorrection(names, "DOMESTIC_VIOLENCE"), POLICY.permits(principal, Operation.CORRECTION, DataType.DOMESTIC_VIOLENCE, null));
+            assertEquals(referenceBulk(names), POLICY.permits(principal, Operation.BULK_OPERATION, DataType.OTHER, null));
+            assertEquals(referenceReporting(names, "APR"), POLICY.permits(principal, Operation.REPORTING, DataType.OTHER, null));
+            assertEquals(referenceReporting(names, "DV_SUMMARY"), POLICY.permits(principal, Operation.REPORTING, DataType.DOMESTIC_VIOLENCE, null));
+            assertEquals(referenceOffHours(names), POLICY.permits(principal, Operation.OFF_HOURS_ACCESS, DataType.OTHER, null));
+        }
+    }
+
+    @Test
+    @DisplayName("Roles without the ROLE_ prefix or HMIS meaning add nothing to the mask")
+    void testUnknownRolesIgnored() {
+        Authentication auth = new UsernamePasswordAuthenticationToken("user", "n/a", List.of(
+            new SimpleGrantedAuthority("ROLE_VOLUNTEER"),
+            new SimpleGrantedAuthority("CASE_MANAGER"),
+            new SimpleGrantedAuthority("ROLE_DV_SPECIALIST")));
+
+        HmisPrincipal principal = HmisPrincipal.of(auth);
+
+        assertEquals(HmisRole.DV_SPECIALIST.bit(), principal.getRoleMask());
+        assertEquals(List.of("VOLUNTEER", "DV_SPECIALIST"), principal.roleNames());
+    }
+
+    @Test
+    @DisplayName("The principal is resolved once per request and again when the authentication changes")
+    void testPrincipalCachedPerRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        SecurityContextHolder.getContext().setAuthentication(authentication(Set.of("CASE_MANAGER")));
+
+        HmisPrincipal first = HmisPrincipal.current();
+        assertSame(first, HmisPrincipal.current());
+
+        SecurityContextHolder.getContext().setAuthentication(authentication(Set.of("ADMIN")));
+        HmisPrincipal second = HmisPrincipal.current();
+        assertNotSame(first, second);
+        assertTrue(second.hasRole(HmisRole.ADMIN));
+
+        SecurityContextHolder.clearContext();
+        assertNull(HmisPrincipal.current());
+    }
+
+    @Test
+    @DisplayName("Service decisions come from the compiled policy")
+    void testServiceDecisions() {
+        HmisDataSecurityService service = new HmisDataSecurityService(mock(HmisAuditLogger.class));
+        UUID enrollmentId = UUID.randomUUID();
+
+        SecurityContextHolder.getContext().setAuthentication(authentication(Set.of("DV_SPECIALIST")));
+        assertTrue(service.canAccessDvData(enrollmentId, "read", DvDataSensitivityLevel.DETAILED_HISTORY));
+        assertFalse(service.canAccessDvData(enrollmentId, "read", DvDataSensitivityLevel.SAFETY_ASSESSMENT));
+        assertFalse(service.canAccessDisabilityData(enrollmentId, "read"));
+        assertTrue(service.canPerformDataCorrections("DOMESTIC_VIOLENCE", enrollmentId));
+        assertFalse(service.canPerformDataCorrections("DISABILITY", enrollmentId));
+
+        SecurityContextHolder.getContext().setAuthentication(authentication(Set.of("DV_SPECIALIST", "DV_CERTIFIED")));
+        assertTrue(service.canAccessDvData(enrollmentId, "read", DvDataSensitivityLevel.SAFETY_ASSESSMENT));
+
+        SecurityContextHolder.getContext().setAuthentication(
+            UsernamePasswordAuthenticationToken.unauthenticated("anonymous", "n/a"));
+        assertFalse(service.canAccessBedNightData(enrollmentId, "read"));
+    }
+
+    static Authentication authentication(Set<String> roles) {
+        return new UsernamePasswordAuthenticationToken("user", "n/a",
+            roles.stream().map(role -> new SimpleGrantedAuthority("ROLE_" + role)).toList());
+    }
+
+    // Previous per-call implementation, kept as the regression oracle
+
+    static Set<String> extractRoles(Authentication auth) {
+        return auth.getAuthorities().stream()
+            .map(authority -> authority.getAuthority())
+            .filter(role -> role.startsWith("ROLE_"))
+            .map(role -> role.substring(5))
+            .collect(Collectors.toSet());
+    }
+
+    static boolean referenceDisability(Set<String> roles) {
+        return roles.contains("CASE_MANAGER") || roles.contains("ADMIN")
+            || roles.contains("DATA_ENTRY_SPECIALIST") || roles.contains("PROGRAM_COORDINATOR");
+    }
+
+    static boolean referenceDv(Set<String> roles, DvDataSensitivityLevel level) {
+        return switch (level) {
+            case BASIC_STATUS -> roles.contains("CASE_MANAGER") || roles.contains("ADMIN")
+                || roles.contains("DV_SPECIALIST") || roles.contains("PROGRAM_COORDINATOR");
+            case DETAILED_HISTORY -> roles.contains("DV_SPECIALIST") || roles.contains("ADMIN")
+                || roles.contains("SAFETY_COORDINATOR");
+            case SAFETY_ASSESSMENT -> (roles.contains("DV_SPECIALIST") || roles.contains("ADMIN")
+                || roles.contains("SAFETY_COORDINATOR")) && roles.contains("DV_CERTIFIED");
+        };
+    }
+
+    static boolean referenceCls(Set<String> roles) {
+        return roles.contains("CASE_MANAGER") || roles.contains("ADMIN") || roles.contains("OUTREACH_WORKER")
+            || roles.contains("PROGRAM_COORDINATOR") || roles.contains("DATA_ENTRY_SPECIALIST");
+    }
+
+    static boolean referenceEngagement(Set<String> roles) {
+        return roles.contains("CASE_MANAGER") || roles.contains("ADMIN")
+            || roles.contains("PROGRAM_COORDINATOR") || roles.contains("SERVICE_PROVIDER");
+    }
+
+    static boolean referenceBedNight(Set<String> roles) {
+        return roles.contains("CASE_MANAGER") || roles.contains("ADMIN") || roles.contains("SHELTER_STAFF")
+            || roles.contains("PROGRAM_COORDINATOR") || roles.contains("DATA_ENTRY_SPECIALIST");
+    }
+
+    static boolean referenceCorrection(Set<String> roles, String dataType) {
+        if ("DOMESTIC_VIOLENCE".equals(dataType)) {
+            return roles.contains("ADMIN") || roles.contains("DV_SPECIALIST");
+        }
+        return roles.contains("ADMIN") || roles.contains("DATA_QUALITY_MANAGER") || roles.contains("PROGRAM_COORDINATOR");
+    }
+
+    static boolean referenceBulk(Set<String> roles) {
+        return roles.contains("ADMIN") || roles.contains("DATA_MANAGER") || roles.contains("SYSTEM_ADMINISTRATOR");
+    }
+
+    static boolean referenceReporting(Set<String> roles, String reportType) {
+        if (reportType.contains("DV") || reportType.contains("DOMESTIC_VIOLENCE")) {
+            return roles.contains("ADMIN") || roles.contains("DV_SPECIALIST") || roles.contains("SAFETY_COORDINATOR");
+        }
+        return roles.contains("ADMIN") || roles.contains("PROGRAM_COORDINATOR")
+            || roles.contains("DATA_ANALYST") || roles.contains("REPORTING_MANAGER");
+    }
+
+    static boolean referenceOffHours(Set<String> roles) {
+        return roles.contains("ADMIN") || roles.contains("EMERGENCY_CONTACT") || roles.contains("ON_CALL_COORDINATOR");
+    }
+}
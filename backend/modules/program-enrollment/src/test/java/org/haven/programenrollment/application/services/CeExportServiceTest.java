@@ -0,0 +1,281 @@
+package org.haven.programenrollment.application.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.haven.clientprofile.domain.ClientId;
+import org.haven.clientprofile.domain.consent.ConsentId;
+import org.haven.clientprofile.domain.consent.ConsentStatus;
+import org.haven.programenrollment.application.security.CePacketCryptoService;
+import org.haven.programenrollment.domain.ProgramEnrollmentId;
+import org.haven.programenrollment.domain.ce.*;
+import org.haven.programenrollment.infrastructure.persistence.JpaCeExportReceiptRepository;
+import org.haven.shared.audit.AuditService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for loading CE packets once per export. Packets live in an in-memory store; every
+ * export is decrypted and compared with a reference that loads the packet of each record
+ * with findById, as exports did before the bulk load.
+ */
+class CeExportServiceTest {
+
+    private static final String KEY_ID = "export-key";
+
+    private final CePacketCryptoService cryptoService = new CePacketCryptoService();
+
+    private Map<CePacketId, CePacket> packetStore;
+    private Map<UUID, List<CeAssessment>> assessments;
+    private Map<UUID, List<CeEvent>> events;
+    private Map<UUID, List<CeReferral>> referrals;
+    private List<Collection<CePacketId>> bulkLoads;
+    private CePacketRepository packetRepository;
+    private CeExportService service;
+
+    @BeforeEach
+    void setUp() {
+        packetStore = new HashMap<>();
+        assessments = new HashMap<>();
+        events = new HashMap<>();
+        referrals = new HashMap<>();
+        bulkLoads = new ArrayList<>();
+
+        CeAssessmentService assessmentService = mock(CeAssessmentService.class);
+        when(assessmentService.getAssessmentsForEnrollment(any()))
+            .thenAnswer(invocation -> assessments.getOrDefault(invocation.<UUID>getArgument(0), List.of()));
+        CeEventService eventService = mock(CeEventService.class);
+        when(eventService.getEventsForEnrollment(any()))
+            .thenAnswer(invocation -> events.getOrDefault(invocation.<UUID>getArgument(0), List.of()));
+        CeReferralService referralService = mock(CeReferralService.class);
+        when(referralService.getReferralsForEnrollment(any(), anyBoolean(), any()))
+            .thenAnswer(invocation -> referrals.getOrDefault(invocation.<UUID>getArgument(0), List.of()));
+
+        packetRepository = mock(CePacketRepository.class);
+        when(packetRepository.findById(any()))
+            .thenAnswer(invocation -> Optional.ofNullable(packetStore.get(invocation.<CePacketId>getArgument(0))));
+        when(packetRepository.findAllById(any())).thenAnswer(invocation -> {
+            Collection<CePacketId> ids = new ArrayList<>(invocation.getArgument(0));
+            bulkLoads.add(ids);
+            return ids.stream().map(packetStore::get).filter(Objects::nonNull).toList();
+        });
+
+        JpaCeExportReceiptRepository receiptRepository = mock(JpaCeExportReceiptRepository.class);
+        when(receiptRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        service = new CeExportService(assessmentService, eventService, referralService, packetRepository,
+            cryptoService, receiptRepository, mock(ConsentLedgerUpdatePublisher.class), mock(AuditService.class),
+            new ObjectMapper());
+    }
+
+    @Test
+    @DisplayName("A mixed export loads its packets once and matches the per-record packet lookups")
+    void testMatchesPerRecordLookups() {
+        List<CePacket> packets = packets(7);
+        List<UUID> enrollments = records(12, packets);
+
+        String csv = exportCsv(enrollments);
+
+        assertEquals(referenceCsv(enrollments), csv);
+        assertEquals(1, bulkLoads.size());
+        assertEquals(packets.stream().map(CePacket::getPacketId).collect(Collectors.toSet()),
+            new HashSet<>(bulkLoads.get(0)));
+        verify(packetRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Exports above the parallel threshold keep the per-record order and contents")
+    void testParallelExportKeepsOrder() {
+        List<UUID> enrollments = records(2_100, packets(40));
+
+        String csv = exportCsv(enrollments);
+
+        assertEquals(3 * 2_100 + 1, csv.lines().count());
+        assertEquals(referenceCsv(enrollments), csv);
+        assertEquals(1, bulkLoads.size());
+    }
+
+    @Test
+    @DisplayName("A record whose packet is missing from the store fails the export as before")
+    void testMissingPacket() {
+        List<UUID> enrollments = records(3, packets(2));
+        CePacketId missing = CePacketId.newId();
+        UUID enrollmentId = enrollments.get(1);
+        events.get(enrollmentId).add(event(enrollmentId, missing, 99));
+
+        CeExportService.ExportRequest request = request(enrollments);
+        IllegalStateException expected = assertThrows(IllegalStateException.class, () -> referenceCsv(enrollments));
+        IllegalStateException actual = assertThrows(IllegalStateException.class, () -> service.exportHudCsv(request));
+
+        assertEquals(expected.getMessage(), actual.getMessage());
+        assertTrue(bulkLoads.get(0).contains(missing));
+    }
+
+    private String exportCsv(List<UUID> enrollments) {
+        CeExportService.CeExportResult result = service.exportHudCsv(request(enrollments));
+        return decrypt(result.encryptedData());
+    }
+
+    private static CeExportService.ExportRequest request(List<UUID> enrollments) {
+        return new CeExportService.ExportRequest("CA-600", enrollments, null, null,
+            CeExportService.ExportType.ALL_RECORDS, Set.of(CeShareScope.COC_COORDINATED_ENTRY), KEY_ID, "tester");
+    }
+
+    private String decrypt(byte[] data) {
+        try {
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.DECRYPT_MODE, new SecretKeySpec(cryptoService.getEncryptionKey(KEY_ID), "AES"),
+                new GCMParameterSpec(128, data, 0, 12));
+            return new String(cipher.doFinal(data, 12, data.length - 12), StandardCharsets.UTF_8);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private List<CePacket> packets(int count) {
+        List<CePacket> packets = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            CePacket packet = CePacket.builder()
+                .packetId(CePacketId.newId())
+                .clientId(new ClientId(UUID.randomUUID()))
+                .enrollmentId(new ProgramEnrollmentId(UUID.randomUUID()))
+                .consentId(ConsentId.fromString(UUID.randomUUID().toString()))
+                .consentStatus(ConsentStatus.GRANTED)
+                .consentVersion(1 + i % 3)
+                .consentEffectiveAt(Instant.parse("2024-01-01T00:00:00Z"))
+                .clientHash("hash-" + i)
+                .hashAlgorithm(i % 2 == 0 ? CeHashAlgorithm.SHA256_SALT : CeHashAlgorithm.BCRYPT)
+                .hashSalt(new byte[16])
+                .hashIterations(1000)
+                .allowedShareScopes(i % 2 == 0
+                    ? Set.of(CeShareScope.COC_COORDINATED_ENTRY)
+                    : Set.of(CeShareScope.COC_COORDINATED_ENTRY, CeShareScope.HMIS_PARTICIPATION))
+                .encryptionScheme("AES-256-GCM")
+                .encryptionKeyId("key-" + i % 4)
+                .packetChecksum("checksum-" + i)
+                .build();
+            packetStore.put(packet.getPacketId(), packet);
+            packets.add(packet);
+        }
+        return packets;
+    }
+
+    /**
+     * One assessment, one event and one referral per enrollment, with packets shared across enrollments
+     */
+    private List<UUID> records(int enrollmentCount, List<CePacket> packets) {
+        List<UUID> enrollments = new ArrayList<>();
+        for (int i = 0; i < enrollmentCount; i++) {
+            UUID enrollmentId = UUID.randomUUID();
+            enrollments.add(enrollmentId);
+            CePacketId packetId = packets.get(i % packets.size()).getPacketId();
+            assessments.put(enrollmentId, new ArrayList<>(List.of(CeAssessment.reconstruct(
+                UUID.randomUUID(), new ProgramEnrollmentId(enrollmentId), new ClientId(UUID.randomUUID()),
+                LocalDate.of(2024, 3, 1).plusDays(i % 200), CeAssessmentType.values()[i % 3],
+                i % 4 == 0 ? null : CeAssessmentLevel.FULL_ASSESSMENT, "VI-SPDAT",
+                i % 5 == 0 ? null : BigDecimal.valueOf(i % 17), CePrioritizationStatus.PRIORITIZED, "Main Office",
+                "tester", Instant.now(), Instant.now(), packetId, null,
+                EnumSet.of(CeShareScope.COC_COORDINATED_ENTRY)))));
+            events.put(enrollmentId, new ArrayList<>(List.of(event(enrollmentId, packetId, i))));
+            referrals.put(enrollmentId, new ArrayList<>(List.of(CeReferral.builder()
+                .referralId(UUID.randomUUID())
+                .enrollmentId(new ProgramEnrollmentId(enrollmentId))
+                .clientId(new ClientId(UUID.randomUUID()))
+                .referralDate(LocalDateTime.of(2024, 4, 1, 9, 0).plusHours(i))
+                .referredProjectId(UUID.randomUUID())
+                .referredProjectName("Rapid Rehousing")
+                .referredOrganization("Housing Partner")
+                .referralType(CeEventType.values()[i % 3])
+                .status(CeReferralStatus.PENDING)
+                .vulnerabilityScore(i % 3 == 0 ? null : i / 10.0)
+                .createdBy("tester")
+                .packetId(packetId)
+                .build())));
+        }
+        return enrollments;
+    }
+
+    private static CeEvent event(UUID enrollmentId, CePacketId packetId, int i) {
+        return CeEvent.reconstruct(UUID.randomUUID(), new ProgramEnrollmentId(enrollmentId),
+            new ClientId(UUID.randomUUID()), LocalDate.of(2024, 3, 15).plusDays(i % 100),
+            CeEventType.values()[i % 3], i % 2 == 0 ? null : CeEventResult.CLIENT_ACCEPTED,
+            CeEventStatus.values()[i % 3], null, null, "tester", Instant.now(), Instant.now(), packetId, null,
+            EnumSet.of(CeShareScope.COC_COORDINATED_ENTRY));
+    }
+
+    /**
+     * The CSV as exports produced it when each record looked up its own packet
+     */
+    private String referenceCsv(List<UUID> enrollments) {
+        StringBuilder csv = new StringBuilder();
+        csv.append("RecordType,RecordId,EnrollmentId,ClientHash,Date,Type,Status,Result,Score,")
+            .append("PrioritizationStatus,ConsentVersion,ShareScopes,HashAlgorithm,EncryptionKeyId\n");
+        for (UUID enrollmentId : enrollments) {
+            for (CeAssessment assessment : assessments.getOrDefault(enrollmentId, List.of())) {
+                CePacket packet = referencePacket(assessment.getPacketId(), "assessment");
+                csv.append(referenceRow("Assessment", assessment.getRecordId(), enrollmentId, packet,
+                    assessment.getAssessmentDate(), assessment.getAssessmentType().name(),
+                    assessment.getAssessmentLevel() != null ? assessment.getAssessmentLevel().name() : null, null,
+                    assessment.getScore() != null ? assessment.getScore().doubleValue() : null,
+                    assessment.getPrioritizationStatus() != null ? assessment.getPrioritizationStatus().name() : null));
+            }
+        }
+        for (UUID enrollmentId : enrollments) {
+            for (CeEvent event : events.getOrDefault(enrollmentId, List.of())) {
+                CePacket packet = referencePacket(event.getPacketId(), "event");
+                csv.append(referenceRow("Event", event.getRecordId(), enrollmentId, packet, event.getEventDate(),
+                    event.getEventType().name(), event.getStatus().name(),
+                    event.getResult() != null ? event.getResult().name() : null, null, null));
+            }
+        }
+        for (UUID enrollmentId : enrollments) {
+            for (CeReferral referral : referrals.getOrDefault(enrollmentId, List.of())) {
+                CePacket packet = referencePacket(referral.getPacketId(), "referral");
+                csv.append(referenceRow("Referral", referral.getReferralId(), enrollmentId, packet,
+                    referral.getReferralDate(), referral.getReferralType().name(), referral.getStatus().name(),
+                    referral.getResult() != null ? referral.getResult().name() : null,
+                    referral.getVulnerabilityScore(), null));
+            }
+        }
+        return csv.toString();
+    }
+
+    private CePacket referencePacket(CePacketId packetId, String recordType) {
+        return Optional.ofNullable(packetStore.get(packetId))
+            .orElseThrow(() -> new IllegalStateException("Packet not found for " + recordType));
+    }
+
+    private static String referenceRow(String recordType, UUID recordId, UUID enrollmentId, CePacket packet,
+                                       Object date, String type, String status, String result, Double score,
+                                       String prioritizationStatus) {
+        return String.join(",",
+            recordType,
+            recordId.toString(),
+            enrollmentId.toString(),
+            packet.getClientHash(),
+            date.toString(),
+            type != null ? type : "",
+            status != null ? status : "",
+            result != null ? result : "",
+            score != null ? score.toString() : "",
+            prioritizationStatus != null ? prioritizationStatus : "",
+            String.valueOf(packet.getConsentVersion()),
+            packet.getAllowedShareScopes().stream().map(Enum::name).collect(Collectors.joining(";")),
+            packet.getHashAlgorithm().name(),
+            packet.getEncryptionKeyId()) + "\n";
+    }
+}
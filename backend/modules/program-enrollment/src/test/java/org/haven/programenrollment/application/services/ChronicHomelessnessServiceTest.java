@@ -0,0 +1,156 @@
+package org.haven.programenrollment.application.services;
+
+import org.haven.clientprofile.domain.ClientId;
+import org.haven.programenrollment.domain.ProgramEnrollment;
+import org.haven.programenrollment.domain.chronic.EnrollmentHistory;
+import org.haven.programenrollment.domain.chronic.EnrollmentHistoryRepository;
+import org.haven.programenrollment.infrastructure.persistence.ProgramEnrollmentPersisted;
+import org.haven.programenrollment.infrastructure.persistence.ProgramEnrollmentRemoved;
+import org.haven.shared.vo.hmis.HmisProjectType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for keeping chronic homelessness determinations in sync with enrollment saves and deletes
+ */
+class ChronicHomelessnessServiceTest {
+
+    private static final LocalDate AS_OF = LocalDate.of(2025, 1, 1);
+
+    private final UUID clientId = UUID.randomUUID();
+    private StubHistoryRepository repository;
+    private MutableClock clock;
+    private ChronicHomelessnessService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = new StubHistoryRepository();
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        service = new ChronicHomelessnessService(repository, Duration.ofMinutes(60), clock);
+    }
+
+    @Test
+    @DisplayName("Histories are built from the stored enrollments on first use")
+    void testBuildsOnFirstUse() {
+        repository.enrollments.add(shelter(clientId, LocalDate.of(2023, 6, 1), LocalDate.of(2024, 9, 1)));
+        repository.enrollments.add(shelter(UUID.randomUUID(), LocalDate.of(2024, 6, 1), LocalDate.of(2024, 9, 1)));
+
+        assertTrue(service.determine(clientId, AS_OF).isChronicallyHomeless());
+        assertEquals(2, service.determineAll(AS_OF).size());
+        assertEquals(1, service.determineAll(List.of(clientId), AS_OF).size());
+        assertEquals(1, repository.loads.get());
+    }
+
+    @Test
+    @DisplayName("A saved enrollment reloads only its client before the next determination")
+    void testReloadsChangedClient() {
+        repository.enrollments.add(shelter(clientId, LocalDate.of(2024, 6, 1), LocalDate.of(2024, 9, 1)));
+        assertFalse(service.determine(clientId, AS_OF).isChronicallyHomeless());
+
+        repository.enrollments.add(shelter(clientId, LocalDate.of(2023, 6, 1), LocalDate.of(2024, 6, 1)));
+        service.onEnrollmentPersisted(new ProgramEnrollmentPersisted(enrollment(clientId)));
+
+        assertTrue(service.determine(clientId, AS_OF).isChronicallyHomeless());
+        assertEquals(List.of(Set.of(clientId)), repository.reloadedClients);
+        assertEquals(1, repository.loads.get());
+    }
+
+    @Test
+    @DisplayName("A deleted enrollment reloads the client it belonged to")
+    void testReloadsAfterRemoval() {
+        EnrollmentHistory only = shelter(clientId, LocalDate.of(2023, 6, 1), LocalDate.of(2024, 9, 1));
+        repository.enrollments.add(only);
+        assertTrue(service.determine(clientId, AS_OF).isChronicallyHomeless());
+
+        repository.enrollments.remove(only);
+        service.onEnrollmentRemoved(new ProgramEnrollmentRemoved(only.enrollmentId()));
+
+        assertEquals("No enrollment history recorded", service.determine(clientId, AS_OF).determinationReason());
+        assertTrue(service.determineAll(AS_OF).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Histories are rebuilt after the maximum age to pick up saves from other nodes")
+    void testRebuildsAfterMaxAge() {
+        assertFalse(service.determine(clientId, AS_OF).isChronicallyHomeless());
+        repository.enrollments.add(shelter(clientId, LocalDate.of(2023, 6, 1), LocalDate.of(2024, 9, 1)));
+
+        clock.advance(Duration.ofMinutes(59));
+        assertFalse(service.determine(clientId, AS_OF).isChronicallyHomeless());
+
+        clock.advance(Duration.ofMinutes(1));
+        assertTrue(service.determine(clientId, AS_OF).isChronicallyHomeless());
+        assertEquals(2, repository.loads.get());
+    }
+
+    private static EnrollmentHistory shelter(UUID clientId, LocalDate entry, LocalDate exit) {
+        return new EnrollmentHistory(UUID.randomUUID(), clientId, HmisProjectType.EMERGENCY_SHELTER,
+            entry, exit, null, null, true, null);
+    }
+
+    private static ProgramEnrollment enrollment(UUID clientId) {
+        return ProgramEnrollment.create(new ClientId(clientId), UUID.randomUUID(), LocalDate.of(2023, 6, 1), null, null, "test");
+    }
+
+    private static final class StubHistoryRepository implements EnrollmentHistoryRepository {
+
+        final List<EnrollmentHistory> enrollments = new ArrayList<>();
+        final List<Set<UUID>> reloadedClients = new ArrayList<>();
+        final AtomicInteger loads = new AtomicInteger();
+
+        @Override
+        public List<EnrollmentHistory> findAll() {
+            loads.incrementAndGet();
+            return List.copyOf(enrollments);
+        }
+
+        @Override
+        public List<EnrollmentHistory> findByClientIds(Collection<UUID> clientIds) {
+            reloadedClients.add(Set.copyOf(clientIds));
+            return enrollments.stream().filter(enrollment -> clientIds.contains(enrollment.clientId())).toList();
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package org.haven.programenrollment.application.services;
+
+import org.haven.clientprofile.domain.ClientId;
+import org.haven.programenrollment.domain.ProgramEnrollment;
+import org.haven.programenrollment.domain.timeline.EnrollmentPeriod;
+import org.haven.programenrollment.domain.timeline.EnrollmentPeriodRepository;
+import org.haven.programenrollment.infrastructure.persistence.ProgramEnrollmentPersisted;
+import org.haven.programenrollment.infrastructure.persistence.ProgramEnrollmentRemoved;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for keeping project and continuum timelines in sync with enrollment saves and deletes
+ */
+class EnrollmentTimelineServiceTest {
+
+    private static final String CONTINUUM = "CA-600";
+    private static final LocalDate NIGHT = LocalDate.of(2024, 1, 24);
+
+    private final UUID programId = UUID.randomUUID();
+    private final UUID otherProgramId = UUID.randomUUID();
+    private StubPeriodRepository repository;
+    private MutableClock clock;
+    private EnrollmentTimelineService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = new StubPeriodRepository();
+        clock = new MutableClock(Instant.parse("2024-02-01T00:00:00Z"));
+        service = new EnrollmentTimelineService(repository, Duration.ofMinutes(15), clock);
+    }
+
+    @Test
+    @DisplayName("Timelines are built from the stored periods on first use, per project and per continuum")
+    void testBuildsOnFirstQuery() {
+        repository.periods.add(new EnrollmentPeriod(UUID.randomUUID(), UUID.randomUUID(), programId, CONTINUUM,
+            LocalDate.of(2024, 1, 1), null));
+        repository.periods.add(new EnrollmentPeriod(UUID.randomUUID(), UUID.randomUUID(), otherProgramId, CONTINUUM,
+            LocalDate.of(2024, 1, 10), LocalDate.of(2024, 1, 30)));
+
+        assertEquals(1, service.activeOn(programId, NIGHT).size());
+        assertEquals(2, service.forContinuum(CONTINUUM).countActiveOn(NIGHT));
+        assertEquals(0, service.forContinuum("CA-999").countActiveOn(NIGHT));
+        assertEquals(1, repository.loads.get());
+    }
+
+    @Test
+    @DisplayName("Entries and exits saved after the build update the timelines without reloading")
+    void testAppliesEntriesAndExits() {
+        assertTrue(service.activeOn(programId, NIGHT).isEmpty());
+
+        ProgramEnrollment enrollment = enrollment(programId, LocalDate.of(2024, 1, 2));
+        service.onEnrollmentPersisted(new ProgramEnrollmentPersisted(enrollment));
+        assertEquals(1, service.activeOn(programId, NIGHT).size());
+        assertEquals(1, service.continuumDailyCensus(CONTINUUM, NIGHT, NIGHT).on(NIGHT));
+
+        enrollment.exitProgram(LocalDate.of(2024, 1, 20), null, null, "tester");
+        service.onEnrollmentPersisted(new ProgramEnrollmentPersisted(enrollment));
+        assertTrue(service.activeOn(programId, NIGHT).isEmpty());
+        assertEquals(1, service.activeOn(programId, LocalDate.of(2024, 1, 19)).size());
+
+        service.onEnrollmentRemoved(new ProgramEnrollmentRemoved(enrollment.getId().value()));
+        assertTrue(service.overlapping(programId, LocalDate.of(2024, 1, 1), NIGHT).isEmpty());
+        assertEquals(1, repository.loads.get());
+    }
+
+    @Test
+    @DisplayName("An enrollment saved while the timelines are loading is applied to the loaded timelines")
+    void testKeepsChangesDuringLoad() {
+        ProgramEnrollment enrollment = enrollment(programId, LocalDate.of(2024, 1, 2));
+        repository.duringLoad = () -> service.onEnrollmentPersisted(new ProgramEnrollmentPersisted(enrollment));
+
+        assertEquals(1, service.activeOn(programId, NIGHT).size());
+        assertEquals(1, service.forContinuum(CONTINUUM).countActiveOn(NIGHT));
+    }
+
+    @Test
+    @DisplayName("Timelines are rebuilt after the maximum age to pick up saves from other nodes")
+    void testRebuildsAfterMaxAge() {
+        assertTrue(service.activeOn(programId, NIGHT).isEmpty());
+        repository.periods.add(new EnrollmentPeriod(UUID.randomUUID(), UUID.randomUUID(), programId, CONTINUUM,
+            LocalDate.of(2024, 1, 1), null));
+
+        clock.advance(Duration.ofMinutes(14));
+        assertTrue(service.activeOn(programId, NIGHT).isEmpty());
+
+        clock.advance(Duration.ofMinutes(1));
+        assertEquals(1, service.activeOn(programId, NIGHT).size());
+        assertEquals(2, repository.loads.get());
+    }
+
+    private ProgramEnrollment enrollment(UUID programId, LocalDate entryDate) {
+        return ProgramEnrollment.create(new ClientId(UUID.randomUUID()), programId, entryDate, null, null, "test");
+    }
+
+    private final class StubPeriodRepository implements EnrollmentPeriodRepository {
+
+        final List<EnrollmentPeriod> periods = new ArrayList<>();
+        final AtomicInteger loads = new AtomicInteger();
+        Runnable duringLoad = () -> { };
+
+        @Override
+        public List<EnrollmentPeriod> findAll() {
+            loads.incrementAndGet();
+            List<EnrollmentPeriod> loaded = List.copyOf(periods);
+            duringLoad.run();
+            return loaded;
+        }
+
+        @Override
+        public Optional<String> findContinuumCode(UUID programId) {
+            return programId.equals(EnrollmentTimelineServiceTest.this.programId) ? Optional.of(CONTINUUM) : Optional.empty();
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package org.haven.programenrollment.domain.chronic;
+
+import org.haven.programenrollment.domain.ChronicallyHomelessDetermination;
+import org.haven.shared.vo.hmis.HmisProjectType;
+import org.haven.shared.vo.hmis.LengthOfStay;
+import org.haven.shared.vo.hmis.PriorLivingSituation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for HUD chronic homelessness determinations over day-level homeless histories,
+ * checked against a night-by-night scan of the same enrollments
+ */
+class ChronicHomelessnessEngineTest {
+
+    private static final LocalDate AS_OF = LocalDate.of(2025, 1, 1);
+
+    private final UUID clientId = UUID.randomUUID();
+
+    @Test
+    @DisplayName("Twelve continuous months in shelter with a disabling condition is chronic")
+    void testContinuousYear() {
+        EnrollmentHistory shelter = stay(HmisProjectType.EMERGENCY_SHELTER, AS_OF.minusDays(400), AS_OF.minusDays(20), true);
+
+        ChronicallyHomelessDetermination determination = HomelessHistory.of(clientId, List.of(shelter)).determine(AS_OF);
+
+        assertTrue(determination.isChronicallyHomeless());
+        assertEquals(1, determination.timesHomelessInThreeYears());
+        assertEquals(AS_OF, determination.determinationDate());
+        assertTrue(determination.qualifyingFactors().contains("Homeless continuously for 380 nights"));
+
+        EnrollmentHistory withoutDisability = stay(HmisProjectType.EMERGENCY_SHELTER, AS_OF.minusDays(400), AS_OF.minusDays(20), false);
+        ChronicallyHomelessDetermination notDisabled = HomelessHistory.of(clientId, List.of(withoutDisability)).determine(AS_OF);
+        assertFalse(notDisabled.isChronicallyHomeless());
+        assertEquals("No disabling condition recorded", notDisabled.determinationReason());
+    }
+
+    @Test
+    @DisplayName("Breaks of seven nights separate occasions; shorter breaks do not")
+    void testOccasions() {
+        // Four three-month stays, each followed by a month housed
+        List<EnrollmentHistory> stays = new ArrayList<>();
+        LocalDate entry = LocalDate.of(2022, 3, 1);
+        for (int i = 0; i < 4; i++) {
+            stays.add(stay(HmisProjectType.SAFE_HAVEN, entry, entry.plusMonths(3), true));
+            entry = entry.plusMonths(4);
+        }
+        HomelessHistory history = HomelessHistory.of(clientId, stays);
+        HomelessHistory.Summary summary = history.summarize(AS_OF);
+
+        assertEquals(4, summary.occasions());
+        assertEquals(12, summary.months());
+        assertTrue(history.determine(AS_OF).isChronicallyHomeless());
+
+        // Six nights between two stays keep them one occasion
+        HomelessHistory bridged = HomelessHistory.of(clientId, List.of(
+            stay(HmisProjectType.EMERGENCY_SHELTER, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 10), true),
+            stay(HmisProjectType.EMERGENCY_SHELTER, LocalDate.of(2024, 1, 16), LocalDate.of(2024, 1, 20), true),
+            stay(HmisProjectType.EMERGENCY_SHELTER, LocalDate.of(2024, 1, 27), LocalDate.of(2024, 2, 1), true)));
+        HomelessHistory.Summary twoOccasions = bridged.summarize(AS_OF);
+        assertEquals(2, twoOccasions.occasions());
+        assertEquals(18, twoOccasions.nights());
+        assertEquals(19, twoOccasions.longestOccasionNights());
+    }
+
+    @Test
+    @DisplayName("Night-by-night shelter enrollments count their bed nights only")
+    void testBedNights() {
+        LocalDate entry = LocalDate.of(2024, 6, 1);
+        int[] bedNights = {
+            (int) entry.toEpochDay(), (int) entry.plusDays(1).toEpochDay(), (int) entry.plusDays(30).toEpochDay()};
+        EnrollmentHistory shelter = new EnrollmentHistory(UUID.randomUUID(), clientId, HmisProjectType.EMERGENCY_SHELTER,
+            entry, null, null, null, true, bedNights);
+
+        HomelessHistory.Summary summary = HomelessHistory.of(clientId, List.of(shelter)).summarize(AS_OF);
+
+        assertEquals(3, summary.nights());
+        assertEquals(2, summary.occasions());
+        assertEquals(2, summary.months());
+    }
+
+    @Test
+    @DisplayName("A year on the street reported at entry counts, transitional housing does not")
+    void testPriorLivingSituation() {
+        LocalDate entry = LocalDate.of(2024, 12, 1);
+        EnrollmentHistory fromStreet = new EnrollmentHistory(UUID.randomUUID(), clientId,
+            HmisProjectType.PERMANENT_HOUSING_WITH_SERVICES, entry, null,
+            PriorLivingSituation.PLACE_NOT_MEANT_FOR_HABITATION, LengthOfStay.ONE_YEAR_OR_LONGER, true, null);
+        ChronicallyHomelessDetermination atEntry = HomelessHistory.of(clientId, List.of(fromStreet)).determine(entry);
+        assertTrue(atEntry.isChronicallyHomeless());
+        assertEquals(12, atEntry.monthsHomelessInThreeYears());
+
+        EnrollmentHistory fromTransitional = new EnrollmentHistory(UUID.randomUUID(), clientId,
+            HmisProjectType.PERMANENT_HOUSING_WITH_SERVICES, entry, null,
+            PriorLivingSituation.TRANSITIONAL_HOUSING, LengthOfStay.ONE_YEAR_OR_LONGER, true, null);
+        assertEquals(0, HomelessHistory.of(clientId, List.of(fromTransitional)).summarize(entry).nights());
+    }
+
+    @Test
+    @DisplayName("A short institutional stay entered from the street continues the occasion")
+    void testInstitutionalStay() {
+        LocalDate released = LocalDate.of(2024, 3, 1);
+        EnrollmentHistory before = stay(HmisProjectType.STREET_OUTREACH, LocalDate.of(2023, 11, 1), LocalDate.of(2024, 1, 15), true);
+        // Entered from jail after one to three months there, i.e. at least the 30 nights before entry
+        EnrollmentHistory after = new EnrollmentHistory(UUID.randomUUID(), clientId, HmisProjectType.EMERGENCY_SHELTER,
+            released, LocalDate.of(2024, 5, 1), PriorLivingSituation.JAIL_PRISON,
+            LengthOfStay.ONE_MONTH_TO_LESS_THAN_THREE_MONTHS, true, null);
+
+        HomelessHistory.Summary withStreet = HomelessHistory.of(clientId, List.of(before, after)).summarize(AS_OF);
+        assertEquals(2, withStreet.occasions());
+
+        EnrollmentHistory continued = stay(HmisProjectType.STREET_OUTREACH, LocalDate.of(2023, 11, 1), released.minusDays(30), true);
+        HomelessHistory.Summary bridged = HomelessHistory.of(clientId, List.of(continued, after)).summarize(AS_OF);
+        assertEquals(1, bridged.occasions());
+        assertEquals(ChronoUnit.DAYS.between(LocalDate.of(2023, 11, 1), LocalDate.of(2024, 5, 1)), bridged.nights());
+
+        // Without a homeless night before it the stay counts for nothing
+        HomelessHistory.Summary alone = HomelessHistory.of(clientId, List.of(after)).summarize(AS_OF);
+        assertEquals(ChronoUnit.DAYS.between(released, LocalDate.of(2024, 5, 1)), alone.nights());
+    }
+
+    @Test
+    @DisplayName("Open enrollments count up to the determination date; later history is ignored")
+    void testOpenEnrollmentAndWindow() {
+        EnrollmentHistory open = stay(HmisProjectType.EMERGENCY_SHELTER, LocalDate.of(2024, 12, 1), null, true);
+        HomelessHistory history = HomelessHistory.of(clientId, List.of(open));
+
+        assertEquals(31, history.summarize(AS_OF).nights());
+        assertEquals(0, history.summarize(LocalDate.of(2024, 12, 1)).nights());
+        assertEquals(365, history.summarize(LocalDate.of(2025, 12, 1)).nights());
+        assertTrue(history.determine(LocalDate.of(2025, 12, 1)).isChronicallyHomeless());
+        assertFalse(history.hasDisablingCondition(LocalDate.of(2024, 11, 30)));
+    }
+
+    @Test
+    @DisplayName("Replacing a client's enrollments updates their determination and enrollment lookup")
+    void testReplace() {
+        EnrollmentHistory first = stay(HmisProjectType.EMERGENCY_SHELTER, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 1), true);
+        ChronicHomelessnessEngine engine = ChronicHomelessnessEngine.of(List.of(first));
+        assertEquals(1, engine.size());
+        assertEquals(clientId, engine.clientOf(first.enrollmentId()).orElseThrow());
+        assertFalse(engine.determine(clientId, AS_OF).isChronicallyHomeless());
+
+        EnrollmentHistory longer = stay(HmisProjectType.EMERGENCY_SHELTER, LocalDate.of(2023, 1, 1), LocalDate.of(2024, 2, 1), true);
+        engine.replace(clientId, List.of(longer));
+        assertTrue(engine.determine(clientId, AS_OF).isChronicallyHomeless());
+        assertTrue(engine.clientOf(first.enrollmentId()).isEmpty());
+
+        engine.replace(clientId, List.of());
+        assertEquals(0, engine.size());
+        assertEquals("No enrollment history recorded", engine.determine(clientId, AS_OF).determinationReason());
+    }
+
+    @Test
+    @DisplayName("Summaries and population determinations match a night-by-night scan")
+    void testMatchesNightlyScan() {
+        Random random = new Random(50);
+        List<EnrollmentHistory> enrollments = randomEnrollments(random, 1_500);
+        Map<UUID, List<EnrollmentHistory>> byClient = enrollments.stream()
+            .collect(Collectors.groupingBy(EnrollmentHistory::clientId));
+        ChronicHomelessnessEngine engine = ChronicHomelessnessEngine.of(enrollments);
+
+        for (Map.Entry<UUID, List<EnrollmentHistory>> client : byClient.entrySet()) {
+            HomelessHistory history = engine.historyOf(client.getKey()).orElseThrow();
+            for (int i = 0; i < 4; i++) {
+                LocalDate asOf = AS_OF.minusDays(random.nextInt(1_500));
+                assertEquals(scanSummary(client.getValue(), asOf), history.summarize(asOf), "summary as of " + asOf);
+            }
+        }
+
+        Map<UUID, ChronicallyHomelessDetermination> all = engine.determineAll(AS_OF);
+        assertEquals(byClient.size(), all.size());
+        byClient.forEach((id, clientEnrollments) ->
+            assertEquals(scanIsChronic(clientEnrollments, AS_OF), all.get(id).isChronicallyHomeless()));
+        assertEquals(all.get(byClient.keySet().iterator().next()),
+            engine.determineAll(List.of(byClient.keySet().iterator().next()), AS_OF).values().iterator().next());
+    }
+
+    private EnrollmentHistory stay(HmisProjectType projectType, LocalDate entry, LocalDate exit, boolean disabling) {
+        return new EnrollmentHistory(UUID.randomUUID(), clientId, projectType, entry, exit, null, null, disabling, null);
+    }
+
+    private static final HmisProjectType[] PROJECT_TYPES = {
+        HmisProjectType.EMERGENCY_SHELTER, HmisProjectType.EMERGENCY_SHELTER, HmisProjectType.SAFE_HAVEN,
+        HmisProjectType.STREET_OUTREACH, HmisProjectType.TRANSITIONAL_HOUSING,
+        HmisProjectType.PERMANENT_HOUSING_WITH_SERVICES, null};
+
+    private static final PriorLivingSituation[] PRIOR_SITUATIONS = {
+        PriorLivingSituation.PLACE_NOT_MEANT_FOR_HABITATION, PriorLivingSituation.EMERGENCY_SHELTER,
+        PriorLivingSituation.SAFE_HAVEN, PriorLivingSituation.TRANSITIONAL_HOUSING, PriorLivingSituation.JAIL_PRISON,
+        PriorLivingSituation.HOSPITAL, PriorLivingSituation.RENTAL_HOUSING, PriorLivingSituation.DATA_NOT_COLLECTED, null};
+
+    private static List<EnrollmentHistory> randomEnrollments(Random random, int clients) {
+        LengthOfStay[] lengths = LengthOfStay.values();
+        List<EnrollmentHistory> enrollments = new ArrayList<>();
+        for (int c = 0; c < clients; c++) {
+            UUID clientId = UUID.randomUUID();
+            LocalDate entry = AS_OF.minusDays(1_800).plusDays(random.nextInt(400));
+            int count = 1 + random.nextInt(8);
+            for (int i = 0; i < count; i++) {
+                HmisProjectType projectType = PROJECT_TYPES[random.nextInt(PROJECT_TYPES.length)];
+                // Mostly short stays, some long or still open, a few same-day exits
+                LocalDate exit = switch (random.nextInt(10)) {
+                    case 0 -> null;
+                    case 1 -> entry;
+                    case 2 -> entry.plusDays(120 + random.nextInt(400));
+                    default -> entry.plusDays(1 + random.nextInt(90));
+                };
+                int[] bedNights = null;
+                if (projectType == HmisProjectType.EMERGENCY_SHELTER && random.nextBoolean()) {
+                    int firstNight = (int) entry.toEpochDay();
+                    bedNights = random.ints(random.nextInt(60), 0, 120)
+                        .map(night -> firstNight + night).sorted().distinct().toArray();
+                }
+                enrollments.add(new EnrollmentHistory(UUID.randomUUID(), clientId, projectType, entry, exit,
+                    PRIOR_SITUATIONS[random.nextInt(PRIOR_SITUATIONS.length)],
+                    random.nextInt(8) == 0 ? null : lengths[random.nextInt(lengths.length)],
+                    random.nextInt(3) > 0, bedNights));
+                entry = (exit != null ? exit : entry).plusDays(random.nextInt(60));
+            }
+        }
+        return enrollments;
+    }
+
+    // Night-by-night scan over sets of dates, kept as the regression oracle
+
+    private static HomelessHistory.Summary scanSummary(List<EnrollmentHistory> enrollments, LocalDate asOf) {
+        Set<LocalDate> homeless = new HashSet<>();
+        Set<LocalDate> institutional = new HashSet<>();
+        List<LocalDate> openSince = new ArrayList<>();
+        LocalDate earliest = asOf.minusYears(3);
+        for (EnrollmentHistory enrollment : enrollments) {
+            HmisProjectType type = enrollment.projectType();
+            if (type == HmisProjectType.EMERGENCY_SHELTER || type == HmisProjectType.SAFE_HAVEN
+                    || type == HmisProjectType.STREET_OUTREACH) {
+                if (type == HmisProjectType.EMERGENCY_SHELTER && enrollment.bedNights().length > 0) {
+                    for (int night : enrollment.bedNights()) {
+                        homeless.add(LocalDate.ofEpochDay(night));
+                    }
+                } else if (enrollment.isOpen()) {
+                    openSince.add(enrollment.entryDate());
+                } else {
+                    for (LocalDate d = enrollment.entryDate(); d.isBefore(enrollment.exitDate()); d = d.plusDays(1)) {
+                        homeless.add(d);
+                    }
+                }
+            }
+            PriorLivingSituation situation = enrollment.priorLivingSituation();
+            LengthOfStay length = enrollment.lengthOfStay();
+            if (situation != null && length != null && length.getMinimumDays() != null) {
+                LocalDate from = enrollment.entryDate().minusDays(Math.max(1, length.getMinimumDays()));
+                boolean street = situation == PriorLivingSituation.PLACE_NOT_MEANT_FOR_HABITATION
+                    || situation == PriorLivingSituation.EMERGENCY_SHELTER || situation == PriorLivingSituation.SAFE_HAVEN;
+                boolean shortInstitutional = situation.isInstitutional()
+                    && length.getMaximumDays() != null && length.getMaximumDays() < 90;
+                for (LocalDate d = from; d.isBefore(enrollment.entryDate()); d = d.plusDays(1)) {
+                    if (street) {
+                        homeless.add(d);
+                    } else if (shortInstitutional) {
+                        institutional.add(d);
+                    }
+                }
+                if (from.isBefore(earliest)) {
+                    earliest = from;
+                }
+            }
+            for (int night : enrollment.bedNights()) {
+                if (LocalDate.ofEpochDay(night).isBefore(earliest)) {
+                    earliest = LocalDate.ofEpochDay(night);
+                }
+            }
+        }
+
+        LocalDate windowStart = asOf.minusYears(3);
+        int nights = 0;
+        int occasions = 0;
+        int longest = 0;
+        Set<YearMonth> months = new HashSet<>();
+        LocalDate occasionStart = null;
+        LocalDate last = null;
+        boolean previous = false;
+        for (LocalDate d = earliest; d.isBefore(asOf); d = d.plusDays(1)) {
+            LocalDate night = d;
+            boolean counted = homeless.contains(night)
+                || openSince.stream().anyMatch(entry -> !entry.isAfter(night))
+                || (institutional.contains(night) && previous);
+            previous = counted;
+            if (!counted || night.isBefore(windowStart)) {
+                continue;
+            }
+            nights++;
+            months.add(YearMonth.from(night));
+            if (last == null || ChronoUnit.DAYS.between(last, night) - 1 >= 7) {
+                occasions++;
+                occasionStart = night;
+            }
+            longest = Math.max(longest, (int) ChronoUnit.DAYS.between(occasionStart, night) + 1);
+            last = night;
+        }
+        return new HomelessHistory.Summary(nights, months.size(), occasions, longest);
+    }
+
+    private static boolean scanIsChronic(List<EnrollmentHistory> enrollments, LocalDate asOf) {
+        HomelessHistory.Summary summary = scanSummary(enrollments, asOf);
+        Map<LocalDate, Boolean> disablingByEntry = new HashMap<>();
+        LocalDate latest = null;
+        for (EnrollmentHistory enrollment : enrollments) {
+            if (!enrollment.entryDate().isAfter(asOf) && (latest == null || !enrollment.entryDate().isBefore(latest))) {
+                latest = enrollment.entryDate();
+                disablingByEntry.put(latest, enrollment.disablingCondition());
+            }
+        }
+        boolean disabling = latest != null && disablingByEntry.get(latest);
+        return disabling && (summary.longestOccasionNights() >= 365 || (summary.occasions() >= 4 && summary.months() >= 12));
+    }
+}
@@ -0,0 +1,192 @@
+package org.haven.programenrollment.domain.timeline;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the enrollment interval index: point-in-time, overlap and daily census queries
+ * against a linear scan over the same periods
+ */
+class EnrollmentTimelineTest {
+
+    private static final LocalDate YEAR_START = LocalDate.of(2024, 1, 1);
+    private static final LocalDate YEAR_END = LocalDate.of(2024, 12, 31);
+
+    @Test
+    @DisplayName("An enrollment counts from its entry night up to, but not including, its exit date")
+    void testNightBoundaries() {
+        EnrollmentTimeline timeline = new EnrollmentTimeline();
+        EnrollmentPeriod stay = period(UUID.randomUUID(), LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 5));
+        timeline.put(stay);
+
+        assertTrue(timeline.activeOn(LocalDate.of(2024, 2, 29)).isEmpty());
+        assertEquals(List.of(stay), timeline.activeOn(LocalDate.of(2024, 3, 1)));
+        assertEquals(List.of(stay), timeline.activeOn(LocalDate.of(2024, 3, 4)));
+        assertTrue(timeline.activeOn(LocalDate.of(2024, 3, 5)).isEmpty());
+
+        assertEquals(List.of(stay), timeline.overlapping(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 3, 1)));
+        assertTrue(timeline.overlapping(LocalDate.of(2024, 3, 5), LocalDate.of(2024, 4, 1)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Open enrollments stay active, same-day exits cover no night")
+    void testOpenAndEmptyPeriods() {
+        EnrollmentTimeline timeline = new EnrollmentTimeline();
+        EnrollmentPeriod open = period(UUID.randomUUID(), LocalDate.of(2020, 6, 1), null);
+        EnrollmentPeriod sameDay = period(UUID.randomUUID(), LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 1));
+        timeline.put(open);
+        timeline.put(sameDay);
+
+        assertEquals(2, timeline.size());
+        assertEquals(List.of(open), timeline.activeOn(LocalDate.of(2024, 5, 1)));
+        assertEquals(List.of(open), timeline.activeOn(LocalDate.of(2099, 1, 1)));
+        assertEquals(1, timeline.countActiveOn(LocalDate.of(2030, 1, 1)));
+    }
+
+    @Test
+    @DisplayName("Updates and removals are visible to the next query")
+    void testIncrementalChanges() {
+        EnrollmentTimeline timeline = new EnrollmentTimeline();
+        UUID clientId = UUID.randomUUID();
+        EnrollmentPeriod entered = period(clientId, LocalDate.of(2024, 1, 10), null);
+        timeline.put(entered);
+        assertEquals(1, timeline.countActiveOn(LocalDate.of(2024, 2, 1)));
+
+        EnrollmentPeriod exited = new EnrollmentPeriod(entered.enrollmentId(), clientId, entered.programId(),
+            null, entered.entryDate(), LocalDate.of(2024, 1, 20));
+        timeline.put(exited);
+        assertEquals(0, timeline.countActiveOn(LocalDate.of(2024, 2, 1)));
+        assertEquals(List.of(exited), timeline.activeOn(LocalDate.of(2024, 1, 19)));
+
+        timeline.remove(entered.enrollmentId());
+        assertEquals(0, timeline.size());
+        assertTrue(timeline.activeOn(LocalDate.of(2024, 1, 19)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Daily census counts a person with overlapping enrollments once")
+    void testCensusCountsDistinctPersons() {
+        UUID clientId = UUID.randomUUID();
+        EnrollmentTimeline timeline = new EnrollmentTimeline(List.of(
+            period(clientId, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 10)),
+            period(clientId, LocalDate.of(2024, 1, 5), LocalDate.of(2024, 1, 15)),
+            period(UUID.randomUUID(), LocalDate.of(2024, 1, 8), LocalDate.of(2024, 1, 9))));
+
+        DailyCensus census = timeline.dailyCensus(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 20));
+
+        assertEquals(20, census.days());
+        assertEquals(1, census.on(LocalDate.of(2024, 1, 1)));
+        assertEquals(1, census.on(LocalDate.of(2024, 1, 6)));
+        assertEquals(2, census.on(LocalDate.of(2024, 1, 8)));
+        assertEquals(1, census.on(LocalDate.of(2024, 1, 14)));
+        assertEquals(0, census.on(LocalDate.of(2024, 1, 15)));
+        assertEquals(2, census.peak());
+        assertEquals(15, census.personNights());
+        assertThrows(IllegalArgumentException.class, () -> census.on(LocalDate.of(2024, 1, 21)));
+        assertThrows(IllegalArgumentException.class,
+            () -> timeline.dailyCensus(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 1)));
+    }
+
+    @Test
+    @DisplayName("Point-in-time, overlap and census queries match a linear scan")
+    void testMatchesLinearScan() {
+        Random random = new Random(49);
+        List<EnrollmentPeriod> periods = randomPeriods(random, 3_000, 800);
+        EnrollmentTimeline timeline = new EnrollmentTimeline(periods);
+
+        for (int i = 0; i < 300; i++) {
+            LocalDate from = YEAR_START.minusDays(400).plusDays(random.nextInt(1_200));
+            LocalDate to = from.plusDays(random.nextInt(60));
+            assertSamePeriods(scanOverlapping(periods, from, to), timeline.overlapping(from, to));
+            assertSamePeriods(scanOverlapping(periods, from, from), timeline.activeOn(from));
+        }
+
+        DailyCensus census = timeline.dailyCensus(YEAR_START, YEAR_END);
+        for (LocalDate night = YEAR_START; !night.isAfter(YEAR_END); night = night.plusDays(1)) {
+            assertEquals(scanPersons(periods, night), census.on(night), "census on " + night);
+        }
+
+        // Exits and re-entries applied incrementally keep the index consistent
+        for (int i = 0; i < 200; i++) {
+            EnrollmentPeriod changed = periods.get(random.nextInt(periods.size()));
+            EnrollmentPeriod replacement = new EnrollmentPeriod(changed.enrollmentId(), changed.clientId(),
+                changed.programId(), null, changed.entryDate(), changed.entryDate().plusDays(1 + random.nextInt(30)));
+            periods.set(periods.indexOf(changed), replacement);
+            timeline.put(replacement);
+        }
+        LocalDate night = YEAR_START.plusDays(100);
+        assertSamePeriods(scanOverlapping(periods, night, night), timeline.activeOn(night));
+        assertEquals(scanPersons(periods, night), timeline.dailyCensus(night, night).on(night));
+    }
+
+    private static List<EnrollmentPeriod> randomPeriods(Random random, int count, int clients) {
+        List<UUID> clientIds = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            clientIds.add(UUID.randomUUID());
+        }
+        List<EnrollmentPeriod> periods = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            LocalDate entry = YEAR_START.minusDays(365).plusDays(random.nextInt(730));
+            // Mostly short shelter stays, some long or still open, a few same-day exits
+            LocalDate exit = switch (random.nextInt(10)) {
+                case 0 -> null;
+                case 1 -> entry;
+                case 2 -> entry.plusDays(90 + random.nextInt(400));
+                default -> entry.plusDays(1 + random.nextInt(45));
+            };
+            periods.add(period(clientIds.get(random.nextInt(clients)), entry, exit));
+        }
+        return periods;
+    }
+
+    private static EnrollmentPeriod period(UUID clientId, LocalDate entry, LocalDate exit) {
+        return new EnrollmentPeriod(UUID.randomUUID(), clientId, UUID.randomUUID(), null, entry, exit);
+    }
+
+    // Linear scans, kept as the regression oracle
+
+    private static List<EnrollmentPeriod> scanOverlapping(List<EnrollmentPeriod> periods, LocalDate from, LocalDate to) {
+        List<EnrollmentPeriod> result = new ArrayList<>();
+        for (EnrollmentPeriod period : periods) {
+            if (!period.entryDate().isAfter(to)
+                    && (period.exitDate() == null || period.exitDate().isAfter(from))
+                    && period.coversAnyNight()) {
+                result.add(period);
+            }
+        }
+        return result;
+    }
+
+    private static int scanPersons(List<EnrollmentPeriod> periods, LocalDate night) {
+        Set<UUID> persons = new HashSet<>();
+        for (EnrollmentPeriod period : periods) {
+            if (period.isActiveOn(night)) {
+                persons.add(period.clientId());
+            }
+        }
+        return persons.size();
+    }
+
+    /**
+     * Same periods, with the index returning them in entry-date order; the order of equal entry dates is unspecified
+     */
+    private static void assertSamePeriods(List<EnrollmentPeriod> expected, List<EnrollmentPeriod> actual) {
+        for (int i = 1; i < actual.size(); i++) {
+            assertFalse(actual.get(i).entryDate().isBefore(actual.get(i - 1).entryDate()), "entry-date order");
+        }
+        Comparator<EnrollmentPeriod> order = Comparator.comparing(EnrollmentPeriod::entryDate)
+            .thenComparing(EnrollmentPeriod::enrollmentId);
+        assertEquals(expected.stream().sorted(order).toList(), actual.stream().sorted(order).toList());
+    }
+}
@@ -0,0 +1,102 @@
+package org.haven.programenrollment.infrastructure.persistence;
+
+import org.haven.clientprofile.domain.ClientId;
+import org.haven.clientprofile.domain.consent.ConsentId;
+import org.haven.clientprofile.domain.consent.ConsentStatus;
+import org.haven.programenrollment.domain.ProgramEnrollmentId;
+import org.haven.programenrollment.domain.ce.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for chunking bulk packet loads. The Spring Data lookup is answered from an in-memory
+ * table and records the ids of each query.
+ */
+class CePacketRepositoryImplTest {
+
+    private Map<UUID, JpaCePacketEntity> table;
+    private List<List<UUID>> queries;
+    private CePacketRepositoryImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        table = new HashMap<>();
+        queries = new ArrayList<>();
+        JpaCePacketSpringRepository springRepository = mock(JpaCePacketSpringRepository.class);
+        doAnswer(invocation -> {
+            List<UUID> ids = new ArrayList<>();
+            invocation.<Iterable<UUID>>getArgument(0).forEach(ids::add);
+            queries.add(ids);
+            return ids.stream().map(table::get).filter(Objects::nonNull).toList();
+        }).when(springRepository).findAllById(any());
+        repository = new CePacketRepositoryImpl(springRepository);
+    }
+
+    @Test
+    @DisplayName("One id past the chunk size spills into a second query and every stored packet is returned")
+    void testChunkBoundary() {
+        List<CePacketId> ids = storePackets(1001);
+
+        List<CePacket> packets = repository.findAllById(ids);
+
+        assertEquals(List.of(1000, 1), queries.stream().map(List::size).toList());
+        assertEquals(new HashSet<>(ids), packets.stream().map(CePacket::getPacketId).collect(Collectors.toSet()));
+    }
+
+    @Test
+    @DisplayName("Duplicate and unknown ids are queried once; unknown ids are simply absent from the result")
+    void testDuplicateAndUnknownIds() {
+        List<CePacketId> ids = new ArrayList<>(storePackets(999));
+        ids.addAll(ids.subList(0, 20));
+        CePacketId unknown = CePacketId.newId();
+        ids.add(unknown);
+
+        List<CePacket> packets = repository.findAllById(ids);
+
+        assertEquals(List.of(1000), queries.stream().map(List::size).toList());
+        assertEquals(999, packets.size());
+        assertTrue(queries.get(0).contains(unknown.value()));
+    }
+
+    @Test
+    @DisplayName("An empty id list does not query")
+    void testEmpty() {
+        assertTrue(repository.findAllById(List.of()).isEmpty());
+        assertTrue(queries.isEmpty());
+    }
+
+    private List<CePacketId> storePackets(int count) {
+        List<CePacketId> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            CePacket packet = CePacket.builder()
+                .packetId(CePacketId.newId())
+                .clientId(new ClientId(UUID.randomUUID()))
+                .enrollmentId(new ProgramEnrollmentId(UUID.randomUUID()))
+                .consentId(ConsentId.fromString(UUID.randomUUID().toString()))
+                .consentStatus(ConsentStatus.GRANTED)
+                .consentVersion(1)
+                .consentEffectiveAt(Instant.parse("2024-01-01T00:00:00Z"))
+                .clientHash("hash-" + i)
+                .hashAlgorithm(CeHashAlgorithm.SHA256_SALT)
+                .hashSalt(new byte[16])
+                .hashIterations(1000)
+                .allowedShareScopes(Set.of(CeShareScope.COC_COORDINATED_ENTRY))
+                .encryptionScheme("AES-256-GCM")
+                .encryptionKeyId("test-key")
+                .packetChecksum("checksum-" + i)
+                .build();
+            table.put(packet.getPacketId().value(), new JpaCePacketEntity(packet));
+            ids.add(packet.getPacketId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,82 @@
+package org.haven.readmodels.domain;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Active triage alert counts by severity for one scope: a single worker, or the whole
+ * organization under {@link #ALL_WORKERS}. Maintained incrementally as alerts are saved
+ * so the triage dashboard never has to scan alert history.
+ */
+public class TriageAlertSummary {
+
+    /**
+     * Scope key for the organization-wide row
+     */
+    public static final UUID ALL_WORKERS = new UUID(0L, 0L);
+
+    private UUID scopeId;
+    private final Map<TriageAlert.AlertSeverity, Integer> activeCounts = new EnumMap<>(TriageAlert.AlertSeverity.class);
+    private Instant lastUpdated;
+
+    /**
+     * The part of an alert that contributes to the summaries. Only ACTIVE alerts are counted.
+     */
+    public record Contribution(UUID workerId, TriageAlert.AlertSeverity severity, boolean active) {
+
+        public static Contribution of(TriageAlert alert) {
+            return new Contribution(alert.getAssignedWorkerId(), alert.getSeverity(),
+                alert.getStatus() == TriageAlert.AlertStatus.ACTIVE);
+        }
+
+        public boolean isCounted() {
+            return active && severity != null;
+        }
+    }
+
+    public TriageAlertSummary() {}
+
+    public TriageAlertSummary(UUID scopeId) {
+        this.scopeId = scopeId;
+    }
+
+    public void add(Contribution contribution, Instant occurredAt) {
+        apply(contribution, 1, occurredAt);
+    }
+
+    public void remove(Contribution contribution, Instant occurredAt) {
+        apply(contribution, -1, occurredAt);
+    }
+
+    private void apply(Contribution contribution, int delta, Instant occurredAt) {
+        if (!contribution.isCounted()) {
+            return;
+        }
+        activeCounts.merge(contribution.severity(), delta, Integer::sum);
+        lastUpdated = occurredAt;
+    }
+
+    public int getActiveCount(TriageAlert.AlertSeverity severity) {
+        return activeCounts.getOrDefault(severity, 0);
+    }
+
+    public int getTotalActive() {
+        return activeCounts.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    public boolean isOrganizationWide() {
+        return ALL_WORKERS.equals(scopeId);
+    }
+
+    // Getters and Setters
+    public UUID getScopeId() { return scopeId; }
+    public void setScopeId(UUID scopeId) { this.scopeId = scopeId; }
+
+    public Map<TriageAlert.AlertSeverity, Integer> getActiveCounts() { return activeCounts; }
+    public void setActiveCount(TriageAlert.AlertSeverity severity, int count) { activeCounts.put(severity, count); }
+
+    public Instant getLastUpdated() { return lastUpdated; }
+    public void setLastUpdated(Instant lastUpdated) { this.lastUpdated = lastUpdated; }
+}
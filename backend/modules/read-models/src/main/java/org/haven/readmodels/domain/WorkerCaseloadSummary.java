@@ -0,0 +1,113 @@
+package org.haven.readmodels.domain;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Per-worker caseload counts by stage, risk level and attention flag.
+ * Maintained incrementally from {@link CaseloadView} changes so the team overview
+ * never has to scan individual cases.
+ */
+public class WorkerCaseloadSummary {
+    private UUID workerId;
+    private String workerName;
+    private int totalCases;
+    private final Map<CaseloadView.CaseStage, Integer> stageCounts = new EnumMap<>(CaseloadView.CaseStage.class);
+    private final Map<CaseloadView.RiskLevel, Integer> riskCounts = new EnumMap<>(CaseloadView.RiskLevel.class);
+    private int requiringAttention;
+    private Instant lastUpdated;
+
+    /**
+     * The part of a case that contributes to its worker's summary
+     */
+    public record Contribution(UUID workerId,
+                               String workerName,
+                               CaseloadView.CaseStage stage,
+                               CaseloadView.RiskLevel riskLevel,
+                               boolean requiresAttention) {
+
+        public static Contribution of(CaseloadView view) {
+            return new Contribution(view.getWorkerId(), view.getWorkerName(), view.getStage(),
+                view.getRiskLevel(), Boolean.TRUE.equals(view.getRequiresAttention()));
+        }
+
+        public boolean isAssigned() {
+            return workerId != null;
+        }
+    }
+
+    public WorkerCaseloadSummary() {}
+
+    public WorkerCaseloadSummary(UUID workerId) {
+        this.workerId = workerId;
+    }
+
+    public void add(Contribution contribution, Instant occurredAt) {
+        apply(contribution, 1, occurredAt);
+    }
+
+    public void remove(Contribution contribution, Instant occurredAt) {
+        apply(contribution, -1, occurredAt);
+    }
+
+    private void apply(Contribution contribution, int delta, Instant occurredAt) {
+        if (!Objects.equals(workerId, contribution.workerId())) {
+            throw new IllegalArgumentException("Contribution belongs to worker " + contribution.workerId());
+        }
+        if (delta > 0 && contribution.workerName() != null) {
+            workerName = contribution.workerName();
+        }
+        totalCases += delta;
+        if (contribution.stage() != null) {
+            stageCounts.merge(contribution.stage(), delta, Integer::sum);
+        }
+        if (contribution.riskLevel() != null) {
+            riskCounts.merge(contribution.riskLevel(), delta, Integer::sum);
+        }
+        if (contribution.requiresAttention()) {
+            requiringAttention += delta;
+        }
+        lastUpdated = occurredAt;
+    }
+
+    public int getStageCount(CaseloadView.CaseStage stage) {
+        return stageCounts.getOrDefault(stage, 0);
+    }
+
+    public int getRiskCount(CaseloadView.RiskLevel riskLevel) {
+        return riskCounts.getOrDefault(riskLevel, 0);
+    }
+
+    public int getHighRiskCases() {
+        return getRiskCount(CaseloadView.RiskLevel.CRITICAL) + getRiskCount(CaseloadView.RiskLevel.HIGH);
+    }
+
+    public boolean isEmpty() {
+        return totalCases <= 0;
+    }
+
+    // Getters and Setters
+    public UUID getWorkerId() { return workerId; }
+    public void setWorkerId(UUID workerId) { this.workerId = workerId; }
+
+    public String getWorkerName() { return workerName; }
+    public void setWorkerName(String workerName) { this.workerName = workerName; }
+
+    public int getTotalCases() { return totalCases; }
+    public void setTotalCases(int totalCases) { this.totalCases = totalCases; }
+
+    public Map<CaseloadView.CaseStage, Integer> getStageCounts() { return stageCounts; }
+    public void setStageCount(CaseloadView.CaseStage stage, int count) { stageCounts.put(stage, count); }
+
+    public Map<CaseloadView.RiskLevel, Integer> getRiskCounts() { return riskCounts; }
+    public void setRiskCount(CaseloadView.RiskLevel riskLevel, int count) { riskCounts.put(riskLevel, count); }
+
+    public int getRequiringAttention() { return requiringAttention; }
+    public void setRequiringAttention(int requiringAttention) { this.requiringAttention = requiringAttention; }
+
+    public Instant getLastUpdated() { return lastUpdated; }
+    public void setLastUpdated(Instant lastUpdated) { this.lastUpdated = lastUpdated; }
+}
@@ -2,6 +2,7 @@ package org.haven.readmodels.infrastructure;
 
 import org.haven.readmodels.domain.TriageAlert;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -12,7 +13,8 @@ import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface JpaTriageAlertRepository extends JpaRepository<JpaTriageAlertEntity, UUID> {
+public interface JpaTriageAlertRepository extends JpaRepository<JpaTriageAlertEntity, UUID>,
+        JpaSpecificationExecutor<JpaTriageAlertEntity> {
     
     Optional<JpaTriageAlertEntity> findByClientIdAndAlertType(UUID clientId, TriageAlert.AlertType alertType);
     
@@ -37,4 +39,4 @@ public interface JpaTriageAlertRepository extends JpaRepository<JpaTriageAlertEn
     
     @Query("SELECT a FROM JpaTriageAlertEntity a WHERE a.status = 'ACTIVE' AND a.dueDate < CURRENT_DATE")
     List<JpaTriageAlertEntity> findOverdueAlerts();
-}
\ No newline at end of file
+}
\ No newline at end of file
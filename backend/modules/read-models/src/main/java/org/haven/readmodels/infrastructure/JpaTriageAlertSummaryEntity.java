@@ -0,0 +1,48 @@
+package org.haven.readmodels.infrastructure;
+
+import org.haven.readmodels.domain.TriageAlert.AlertSeverity;
+import org.haven.readmodels.domain.TriageAlertSummary;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "triage_alert_summary")
+public class JpaTriageAlertSummaryEntity {
+
+    @Id
+    @Column(name = "scope_id")
+    private UUID scopeId;
+
+    @Column(name = "critical_active", nullable = false)
+    private int criticalActive;
+
+    @Column(name = "high_active", nullable = false)
+    private int highActive;
+
+    @Column(name = "medium_active", nullable = false)
+    private int mediumActive;
+
+    @Column(name = "low_active", nullable = false)
+    private int lowActive;
+
+    @Column(name = "last_updated")
+    private Instant lastUpdated;
+
+    // Default constructor for JPA
+    public JpaTriageAlertSummaryEntity() {}
+
+    // Convert to domain object
+    public TriageAlertSummary toDomain() {
+        TriageAlertSummary summary = new TriageAlertSummary(scopeId);
+        summary.setActiveCount(AlertSeverity.CRITICAL, criticalActive);
+        summary.setActiveCount(AlertSeverity.HIGH, highActive);
+        summary.setActiveCount(AlertSeverity.MEDIUM, mediumActive);
+        summary.setActiveCount(AlertSeverity.LOW, lowActive);
+        summary.setLastUpdated(lastUpdated);
+        return summary;
+    }
+
+    public UUID getScopeId() { return scopeId; }
+}
@@ -0,0 +1,38 @@
+package org.haven.readmodels.infrastructure;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Repository
+public interface JpaTriageAlertSummaryRepository extends JpaRepository<JpaTriageAlertSummaryEntity, UUID> {
+
+    /**
+     * Add count deltas to a scope's row, creating it on the scope's first active alert.
+     * A single statement, so concurrent alert saves for the same scope cannot lose updates.
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO triage_alert_summary (
+            scope_id, critical_active, high_active, medium_active, low_active, last_updated)
+        VALUES (
+            :scopeId, :criticalActive, :highActive, :mediumActive, :lowActive, :lastUpdated)
+        ON CONFLICT (scope_id) DO UPDATE SET
+            critical_active = triage_alert_summary.critical_active + EXCLUDED.critical_active,
+            high_active = triage_alert_summary.high_active + EXCLUDED.high_active,
+            medium_active = triage_alert_summary.medium_active + EXCLUDED.medium_active,
+            low_active = triage_alert_summary.low_active + EXCLUDED.low_active,
+            last_updated = EXCLUDED.last_updated
+        """, nativeQuery = true)
+    void upsertDelta(@Param("scopeId") UUID scopeId,
+                     @Param("criticalActive") int criticalActive,
+                     @Param("highActive") int highActive,
+                     @Param("mediumActive") int mediumActive,
+                     @Param("lowActive") int lowActive,
+                     @Param("lastUpdated") Instant lastUpdated);
+}
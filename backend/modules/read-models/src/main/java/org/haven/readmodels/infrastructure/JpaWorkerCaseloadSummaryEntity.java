@@ -0,0 +1,94 @@
+package org.haven.readmodels.infrastructure;
+
+import org.haven.readmodels.domain.CaseloadView.CaseStage;
+import org.haven.readmodels.domain.CaseloadView.RiskLevel;
+import org.haven.readmodels.domain.WorkerCaseloadSummary;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "worker_caseload_summary")
+public class JpaWorkerCaseloadSummaryEntity {
+
+    @Id
+    @Column(name = "worker_id")
+    private UUID workerId;
+
+    @Column(name = "worker_name")
+    private String workerName;
+
+    @Column(name = "total_cases", nullable = false)
+    private int totalCases;
+
+    @Column(name = "intake_cases", nullable = false)
+    private int intakeCases;
+
+    @Column(name = "active_cases", nullable = false)
+    private int activeCases;
+
+    @Column(name = "housing_search_cases", nullable = false)
+    private int housingSearchCases;
+
+    @Column(name = "stabilization_cases", nullable = false)
+    private int stabilizationCases;
+
+    @Column(name = "exit_planning_cases", nullable = false)
+    private int exitPlanningCases;
+
+    @Column(name = "follow_up_cases", nullable = false)
+    private int followUpCases;
+
+    @Column(name = "closed_cases", nullable = false)
+    private int closedCases;
+
+    @Column(name = "critical_risk_cases", nullable = false)
+    private int criticalRiskCases;
+
+    @Column(name = "high_risk_cases", nullable = false)
+    private int highRiskCases;
+
+    @Column(name = "medium_risk_cases", nullable = false)
+    private int mediumRiskCases;
+
+    @Column(name = "low_risk_cases", nullable = false)
+    private int lowRiskCases;
+
+    @Column(name = "stable_risk_cases", nullable = false)
+    private int stableRiskCases;
+
+    @Column(name = "requiring_attention", nullable = false)
+    private int requiringAttention;
+
+    @Column(name = "last_updated")
+    private Instant lastUpdated;
+
+    // Default constructor for JPA
+    public JpaWorkerCaseloadSummaryEntity() {}
+
+    // Convert to domain object
+    public WorkerCaseloadSummary toDomain() {
+        WorkerCaseloadSummary summary = new WorkerCaseloadSummary(workerId);
+        summary.setWorkerName(workerName);
+        summary.setTotalCases(totalCases);
+        summary.setStageCount(CaseStage.INTAKE, intakeCases);
+        summary.setStageCount(CaseStage.ACTIVE, activeCases);
+        summary.setStageCount(CaseStage.HOUSING_SEARCH, housingSearchCases);
+        summary.setStageCount(CaseStage.STABILIZATION, stabilizationCases);
+        summary.setStageCount(CaseStage.EXIT_PLANNING, exitPlanningCases);
+        summary.setStageCount(CaseStage.FOLLOW_UP, followUpCases);
+        summary.setStageCount(CaseStage.CLOSED, closedCases);
+        summary.setRiskCount(RiskLevel.CRITICAL, criticalRiskCases);
+        summary.setRiskCount(RiskLevel.HIGH, highRiskCases);
+        summary.setRiskCount(RiskLevel.MEDIUM, mediumRiskCases);
+        summary.setRiskCount(RiskLevel.LOW, lowRiskCases);
+        summary.setRiskCount(RiskLevel.STABLE, stableRiskCases);
+        summary.setRequiringAttention(requiringAttention);
+        summary.setLastUpdated(lastUpdated);
+        return summary;
+    }
+
+    public UUID getWorkerId() { return workerId; }
+    public int getTotalCases() { return totalCases; }
+}
@@ -0,0 +1,72 @@
+package org.haven.readmodels.infrastructure;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface JpaWorkerCaseloadSummaryRepository extends JpaRepository<JpaWorkerCaseloadSummaryEntity, UUID> {
+
+    @Query("SELECT s FROM JpaWorkerCaseloadSummaryEntity s WHERE s.totalCases > 0 ORDER BY s.workerId")
+    List<JpaWorkerCaseloadSummaryEntity> findAllWithCases();
+
+    /**
+     * Add count deltas to a worker's row, creating it on the worker's first case.
+     * A single statement, so concurrent case events for the same worker cannot lose updates.
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO worker_caseload_summary (
+            worker_id, worker_name, total_cases,
+            intake_cases, active_cases, housing_search_cases, stabilization_cases,
+            exit_planning_cases, follow_up_cases, closed_cases,
+            critical_risk_cases, high_risk_cases, medium_risk_cases, low_risk_cases, stable_risk_cases,
+            requiring_attention, last_updated)
+        VALUES (
+            :workerId, :workerName, :totalCases,
+            :intakeCases, :activeCases, :housingSearchCases, :stabilizationCases,
+            :exitPlanningCases, :followUpCases, :closedCases,
+            :criticalRiskCases, :highRiskCases, :mediumRiskCases, :lowRiskCases, :stableRiskCases,
+            :requiringAttention, :lastUpdated)
+        ON CONFLICT (worker_id) DO UPDATE SET
+            worker_name = COALESCE(EXCLUDED.worker_name, worker_caseload_summary.worker_name),
+            total_cases = worker_caseload_summary.total_cases + EXCLUDED.total_cases,
+            intake_cases = worker_caseload_summary.intake_cases + EXCLUDED.intake_cases,
+            active_cases = worker_caseload_summary.active_cases + EXCLUDED.active_cases,
+            housing_search_cases = worker_caseload_summary.housing_search_cases + EXCLUDED.housing_search_cases,
+            stabilization_cases = worker_caseload_summary.stabilization_cases + EXCLUDED.stabilization_cases,
+            exit_planning_cases = worker_caseload_summary.exit_planning_cases + EXCLUDED.exit_planning_cases,
+            follow_up_cases = worker_caseload_summary.follow_up_cases + EXCLUDED.follow_up_cases,
+            closed_cases = worker_caseload_summary.closed_cases + EXCLUDED.closed_cases,
+            critical_risk_cases = worker_caseload_summary.critical_risk_cases + EXCLUDED.critical_risk_cases,
+            high_risk_cases = worker_caseload_summary.high_risk_cases + EXCLUDED.high_risk_cases,
+            medium_risk_cases = worker_caseload_summary.medium_risk_cases + EXCLUDED.medium_risk_cases,
+            low_risk_cases = worker_caseload_summary.low_risk_cases + EXCLUDED.low_risk_cases,
+            stable_risk_cases = worker_caseload_summary.stable_risk_cases + EXCLUDED.stable_risk_cases,
+            requiring_attention = worker_caseload_summary.requiring_attention + EXCLUDED.requiring_attention,
+            last_updated = EXCLUDED.last_updated
+        """, nativeQuery = true)
+    void upsertDelta(@Param("workerId") UUID workerId,
+                     @Param("workerName") String workerName,
+                     @Param("totalCases") int totalCases,
+                     @Param("intakeCases") int intakeCases,
+                     @Param("activeCases") int activeCases,
+                     @Param("housingSearchCases") int housingSearchCases,
+                     @Param("stabilizationCases") int stabilizationCases,
+                     @Param("exitPlanningCases") int exitPlanningCases,
+                     @Param("followUpCases") int followUpCases,
+                     @Param("closedCases") int closedCases,
+                     @Param("criticalRiskCases") int criticalRiskCases,
+                     @Param("highRiskCases") int highRiskCases,
+                     @Param("mediumRiskCases") int mediumRiskCases,
+                     @Param("lowRiskCases") int lowRiskCases,
+                     @Param("stableRiskCases") int stableRiskCases,
+                     @Param("requiringAttention") int requiringAttention,
+                     @Param("lastUpdated") Instant lastUpdated);
+}
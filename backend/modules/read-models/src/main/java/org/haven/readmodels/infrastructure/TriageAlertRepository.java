@@ -1,8 +1,15 @@
 package org.haven.readmodels.infrastructure;
 
 import org.haven.readmodels.domain.TriageAlert;
+import org.haven.readmodels.domain.TriageAlertSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -12,10 +19,18 @@ import java.util.stream.Collectors;
 @Repository
 public class TriageAlertRepository {
     
+    /**
+     * Triage order: severity, then soonest due. Matches the leading columns of the composite indexes.
+     */
+    public static final Sort TRIAGE_ORDER = Sort.by(Sort.Order.asc("severity"), Sort.Order.asc("dueDate"));
+    
     private final JpaTriageAlertRepository jpaRepository;
+    private final TriageAlertSummaryRepository summaryRepository;
     
-    public TriageAlertRepository(JpaTriageAlertRepository jpaRepository) {
+    public TriageAlertRepository(JpaTriageAlertRepository jpaRepository,
+                                 TriageAlertSummaryRepository summaryRepository) {
         this.jpaRepository = jpaRepository;
+        this.summaryRepository = summaryRepository;
     }
     
     public Optional<TriageAlert> findByClientIdAndAlertType(UUID clientId, TriageAlert.AlertType alertType) {
@@ -76,13 +91,79 @@ public class TriageAlertRepository {
             .map(JpaTriageAlertEntity::toDomain);
     }
     
+    /**
+     * Page of alerts matching every supplied filter; null filters are ignored.
+     * Only the non-null predicates are rendered so the planner can pick the matching composite index.
+     */
+    public Page<TriageAlert> findFiltered(TriageAlert.AlertStatus status,
+                                          TriageAlert.AlertSeverity severity,
+                                          TriageAlert.AlertType alertType,
+                                          UUID workerId,
+                                          Pageable pageable) {
+        Specification<JpaTriageAlertEntity> spec = Specification.allOf(
+            equalTo("status", status),
+            equalTo("severity", severity),
+            equalTo("alertType", alertType),
+            equalTo("assignedWorkerId", workerId));
+        return jpaRepository.findAll(spec, pageable)
+            .map(JpaTriageAlertEntity::toDomain);
+    }
+    
+    /**
+     * Active alerts due between from and to inclusive, optionally for one worker
+     */
+    public Page<TriageAlert> findActiveDueBetween(UUID workerId, LocalDate from, LocalDate to, Pageable pageable) {
+        Specification<JpaTriageAlertEntity> spec = Specification.allOf(
+            equalTo("status", TriageAlert.AlertStatus.ACTIVE),
+            equalTo("assignedWorkerId", workerId),
+            (root, query, cb) -> cb.between(root.get("dueDate"), from, to));
+        return jpaRepository.findAll(spec, pageable)
+            .map(JpaTriageAlertEntity::toDomain);
+    }
+    
+    /**
+     * Active alerts due before the given date, optionally for one worker
+     */
+    public Page<TriageAlert> findActiveOverdue(UUID workerId, LocalDate today, Pageable pageable) {
+        Specification<JpaTriageAlertEntity> spec = Specification.allOf(
+            equalTo("status", TriageAlert.AlertStatus.ACTIVE),
+            equalTo("assignedWorkerId", workerId),
+            (root, query, cb) -> cb.lessThan(root.get("dueDate"), today));
+        return jpaRepository.findAll(spec, pageable)
+            .map(JpaTriageAlertEntity::toDomain);
+    }
+    
+    /**
+     * Active counts by severity for one worker, or organization-wide when workerId is null
+     */
+    public TriageAlertSummary getSummary(UUID workerId) {
+        return summaryRepository.findByWorkerId(workerId);
+    }
+    
+    /**
+     * Saves the alert and moves its contribution in the severity summaries, so every writer
+     * (projections and acknowledge/resolve) keeps the dashboard counts consistent.
+     */
+    @Transactional
     public TriageAlert save(TriageAlert alert) {
-        JpaTriageAlertEntity entity = jpaRepository.findById(alert.getId())
-            .orElse(new JpaTriageAlertEntity(alert));
+        if (alert.getId() == null) {
+            alert.setId(UUID.randomUUID());
+        }
+        if (alert.getCreatedAt() == null) {
+            alert.setCreatedAt(Instant.now());
+        }
+        Optional<JpaTriageAlertEntity> existing = jpaRepository.findById(alert.getId());
+        TriageAlertSummary.Contribution before = existing
+            .map(e -> TriageAlertSummary.Contribution.of(e.toDomain()))
+            .orElse(null);
         
+        JpaTriageAlertEntity entity = existing.orElseGet(() -> new JpaTriageAlertEntity(alert));
         entity.updateFrom(alert);
         JpaTriageAlertEntity saved = jpaRepository.save(entity);
-        return saved.toDomain();
+        
+        TriageAlert result = saved.toDomain();
+        summaryRepository.applyTransition(before, TriageAlertSummary.Contribution.of(result), Instant.now());
+        return result;
     }
     
     public List<TriageAlert> findAll() {
@@ -91,4 +172,8 @@ public class TriageAlertRepository {
             .map(JpaTriageAlertEntity::toDomain)
             .collect(Collectors.toList());
     }
+    
+    private static Specification<JpaTriageAlertEntity> equalTo(String attribute, Object value) {
+        return value == null ? null : (root, query, cb) -> cb.equal(root.get(attribute), value);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,72 @@
+package org.haven.readmodels.infrastructure;
+
+import org.haven.readmodels.domain.TriageAlert.AlertSeverity;
+import org.haven.readmodels.domain.TriageAlertSummary;
+import org.haven.readmodels.domain.TriageAlertSummary.Contribution;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.UUID;
+
+@Repository
+public class TriageAlertSummaryRepository {
+
+    private final JpaTriageAlertSummaryRepository jpaRepository;
+
+    public TriageAlertSummaryRepository(JpaTriageAlertSummaryRepository jpaRepository) {
+        this.jpaRepository = jpaRepository;
+    }
+
+    /**
+     * Summary for one worker, or the organization-wide summary when workerId is null.
+     * Returns an empty summary for scopes that have never had an alert.
+     */
+    public TriageAlertSummary findByWorkerId(UUID workerId) {
+        UUID scopeId = workerId != null ? workerId : TriageAlertSummary.ALL_WORKERS;
+        return jpaRepository.findById(scopeId)
+            .map(JpaTriageAlertSummaryEntity::toDomain)
+            .orElseGet(() -> new TriageAlertSummary(scopeId));
+    }
+
+    /**
+     * Move an alert's contribution from its previous worker/severity/status to its current one.
+     * Must run in the same transaction as the alert update.
+     */
+    public void applyTransition(Contribution before, Contribution after, Instant occurredAt) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        // One delta per scope, upserted in scope id order (organization-wide row first)
+        // so concurrent transitions always lock rows in the same order
+        Map<UUID, TriageAlertSummary> deltas = new TreeMap<>();
+        if (before != null && before.isCounted()) {
+            scopesOf(before, deltas).forEach(delta -> delta.remove(before, occurredAt));
+        }
+        if (after != null && after.isCounted()) {
+            scopesOf(after, deltas).forEach(delta -> delta.add(after, occurredAt));
+        }
+        deltas.values().forEach(this::upsert);
+    }
+
+    private static List<TriageAlertSummary> scopesOf(Contribution contribution, Map<UUID, TriageAlertSummary> deltas) {
+        TriageAlertSummary organization = deltas.computeIfAbsent(TriageAlertSummary.ALL_WORKERS, TriageAlertSummary::new);
+        if (contribution.workerId() == null) {
+            return List.of(organization);
+        }
+        return List.of(organization, deltas.computeIfAbsent(contribution.workerId(), TriageAlertSummary::new));
+    }
+
+    private void upsert(TriageAlertSummary delta) {
+        jpaRepository.upsertDelta(
+            delta.getScopeId(),
+            delta.getActiveCount(AlertSeverity.CRITICAL),
+            delta.getActiveCount(AlertSeverity.HIGH),
+            delta.getActiveCount(AlertSeverity.MEDIUM),
+            delta.getActiveCount(AlertSeverity.LOW),
+            delta.getLastUpdated());
+    }
+}
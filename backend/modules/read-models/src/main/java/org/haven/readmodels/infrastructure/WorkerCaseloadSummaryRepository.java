@@ -0,0 +1,79 @@
+package org.haven.readmodels.infrastructure;
+
+import org.haven.readmodels.domain.CaseloadView.CaseStage;
+import org.haven.readmodels.domain.CaseloadView.RiskLevel;
+import org.haven.readmodels.domain.WorkerCaseloadSummary;
+import org.haven.readmodels.domain.WorkerCaseloadSummary.Contribution;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Repository
+public class WorkerCaseloadSummaryRepository {
+
+    private final JpaWorkerCaseloadSummaryRepository jpaRepository;
+
+    public WorkerCaseloadSummaryRepository(JpaWorkerCaseloadSummaryRepository jpaRepository) {
+        this.jpaRepository = jpaRepository;
+    }
+
+    public Optional<WorkerCaseloadSummary> findByWorkerId(UUID workerId) {
+        return jpaRepository.findById(workerId)
+            .map(JpaWorkerCaseloadSummaryEntity::toDomain);
+    }
+
+    public List<WorkerCaseloadSummary> findAllWithCases() {
+        return jpaRepository.findAllWithCases()
+            .stream()
+            .map(JpaWorkerCaseloadSummaryEntity::toDomain)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Move a case's contribution from its previous worker/stage/risk to its current one.
+     * Must run in the same transaction as the caseload view update.
+     */
+    public void applyTransition(Contribution before, Contribution after, Instant occurredAt) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        // One delta per worker, upserted in worker id order so a reassignment and the
+        // opposite reassignment cannot lock the same two rows in reverse order
+        Map<UUID, WorkerCaseloadSummary> deltas = new TreeMap<>();
+        if (before != null && before.isAssigned()) {
+            deltas.computeIfAbsent(before.workerId(), WorkerCaseloadSummary::new).remove(before, occurredAt);
+        }
+        if (after != null && after.isAssigned()) {
+            deltas.computeIfAbsent(after.workerId(), WorkerCaseloadSummary::new).add(after, occurredAt);
+        }
+        deltas.values().forEach(this::upsert);
+    }
+
+    private void upsert(WorkerCaseloadSummary delta) {
+        jpaRepository.upsertDelta(
+            delta.getWorkerId(),
+            delta.getWorkerName(),
+            delta.getTotalCases(),
+            delta.getStageCount(CaseStage.INTAKE),
+            delta.getStageCount(CaseStage.ACTIVE),
+            delta.getStageCount(CaseStage.HOUSING_SEARCH),
+            delta.getStageCount(CaseStage.STABILIZATION),
+            delta.getStageCount(CaseStage.EXIT_PLANNING),
+            delta.getStageCount(CaseStage.FOLLOW_UP),
+            delta.getStageCount(CaseStage.CLOSED),
+            delta.getRiskCount(RiskLevel.CRITICAL),
+            delta.getRiskCount(RiskLevel.HIGH),
+            delta.getRiskCount(RiskLevel.MEDIUM),
+            delta.getRiskCount(RiskLevel.LOW),
+            delta.getRiskCount(RiskLevel.STABLE),
+            delta.getRequiringAttention(),
+            delta.getLastUpdated());
+    }
+}
@@ -3,7 +3,9 @@ package org.haven.readmodels.projections;
 import org.axonframework.eventhandling.EventHandler;
 import org.haven.casemgmt.domain.events.*;
 import org.haven.readmodels.domain.CaseloadView;
+import org.haven.readmodels.domain.WorkerCaseloadSummary.Contribution;
 import org.haven.readmodels.infrastructure.CaseloadViewRepository;
+import org.haven.readmodels.infrastructure.WorkerCaseloadSummaryRepository;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,9 +17,12 @@ import java.util.ArrayList;
 public class SimplifiedCaseloadProjection {
     
     private final CaseloadViewRepository caseloadRepository;
+    private final WorkerCaseloadSummaryRepository summaryRepository;
     
-    public SimplifiedCaseloadProjection(CaseloadViewRepository caseloadRepository) {
+    public SimplifiedCaseloadProjection(CaseloadViewRepository caseloadRepository,
+                                        WorkerCaseloadSummaryRepository summaryRepository) {
         this.caseloadRepository = caseloadRepository;
+        this.summaryRepository = summaryRepository;
     }
     
     @EventHandler
@@ -36,19 +41,23 @@ public class SimplifiedCaseloadProjection {
         view.setRiskLevel(CaseloadView.RiskLevel.LOW); // Default risk
         
         caseloadRepository.save(view);
+        summaryRepository.applyTransition(null, Contribution.of(view), event.occurredAt());
     }
     
     @EventHandler
     public void on(CaseAssigned event) {
         caseloadRepository.findByCaseId(event.caseId())
             .ifPresent(view -> {
+                Contribution before = Contribution.of(view);
                 try {
                     view.setWorkerId(java.util.UUID.fromString(event.assigneeId()));
+                    view.setWorkerName(event.assigneeName());
                 } catch (IllegalArgumentException e) {
                     // If assigneeId is not a valid UUID, skip setting it
                 }
                 view.setLastUpdated(event.occurredAt());
                 caseloadRepository.save(view);
+                summaryRepository.applyTransition(before, Contribution.of(view), event.occurredAt());
             });
     }
     
@@ -56,11 +65,13 @@ public class SimplifiedCaseloadProjection {
     public void on(CaseClosed event) {
         caseloadRepository.findByCaseId(event.caseId())
             .ifPresent(view -> {
+                Contribution before = Contribution.of(view);
                 view.setStage(CaseloadView.CaseStage.CLOSED);
                 view.setStatus(CaseloadView.CaseStatus.CLOSED);
                 view.setRequiresAttention(false);
                 view.setLastUpdated(event.occurredAt());
                 caseloadRepository.save(view);
+                summaryRepository.applyTransition(before, Contribution.of(view), event.occurredAt());
             });
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
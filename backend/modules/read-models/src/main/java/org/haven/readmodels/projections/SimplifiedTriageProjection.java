@@ -9,6 +9,10 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 
+/**
+ * Raises triage alerts from case events. Saving through {@link TriageAlertRepository}
+ * also moves the alert's contribution in the dashboard severity summary within the same transaction.
+ */
 @Component
 @Transactional
 public class SimplifiedTriageProjection {
@@ -51,4 +55,4 @@ public class SimplifiedTriageProjection {
         
         alertRepository.save(alert);
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
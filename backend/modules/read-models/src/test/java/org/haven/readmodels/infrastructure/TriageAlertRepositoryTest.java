@@ -0,0 +1,193 @@
+package org.haven.readmodels.infrastructure;
+
+import org.haven.readmodels.domain.TriageAlert;
+import org.haven.readmodels.domain.TriageAlert.AlertSeverity;
+import org.haven.readmodels.domain.TriageAlert.AlertStatus;
+import org.haven.readmodels.domain.TriageAlertSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for keeping the triage severity summary in step with alert saves.
+ * Alerts and summary rows live in in-memory tables; the summary upsert has the same
+ * insert-or-add semantics as the ON CONFLICT statement. Every test checks the
+ * organization-wide and per-worker rows against a recount of the stored alerts.
+ */
+class TriageAlertRepositoryTest {
+
+    private final UUID workerA = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+    private final UUID workerB = UUID.fromString("00000000-0000-0000-0000-00000000000b");
+
+    private Map<UUID, JpaTriageAlertEntity> alertTable;
+    private Map<UUID, TriageAlertSummary> summaryTable;
+    private JpaTriageAlertSummaryRepository jpaSummaryRepository;
+    private TriageAlertRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        alertTable = new LinkedHashMap<>();
+        summaryTable = new HashMap<>();
+
+        JpaTriageAlertRepository jpaAlertRepository = mock(JpaTriageAlertRepository.class);
+        doAnswer(invocation -> Optional.ofNullable(alertTable.get(invocation.<UUID>getArgument(0))))
+            .when(jpaAlertRepository).findById(any());
+        doAnswer(invocation -> {
+            JpaTriageAlertEntity entity = invocation.getArgument(0);
+            alertTable.put(entity.getId(), entity);
+            return entity;
+        }).when(jpaAlertRepository).save(any());
+
+        jpaSummaryRepository = mock(JpaTriageAlertSummaryRepository.class);
+        doAnswer(invocation -> {
+            TriageAlertSummary row = summaryTable.computeIfAbsent(invocation.getArgument(0), TriageAlertSummary::new);
+            AlertSeverity[] severities = {AlertSeverity.CRITICAL, AlertSeverity.HIGH, AlertSeverity.MEDIUM, AlertSeverity.LOW};
+            for (int i = 0; i < severities.length; i++) {
+                row.setActiveCount(severities[i], row.getActiveCount(severities[i]) + (int) invocation.getArgument(1 + i));
+            }
+            row.setLastUpdated(invocation.getArgument(5));
+            return null;
+        }).when(jpaSummaryRepository).upsertDelta(any(), anyInt(), anyInt(), anyInt(), anyInt(), any());
+
+        repository = new TriageAlertRepository(jpaAlertRepository, new TriageAlertSummaryRepository(jpaSummaryRepository));
+    }
+
+    @Test
+    @DisplayName("Creating active alerts counts them for the worker and organization-wide")
+    void testCreate() {
+        repository.save(alert(workerA, AlertSeverity.CRITICAL));
+        repository.save(alert(workerA, AlertSeverity.MEDIUM));
+        repository.save(alert(null, AlertSeverity.MEDIUM));
+
+        assertEquals(1, summaryTable.get(workerA).getActiveCount(AlertSeverity.CRITICAL));
+        assertEquals(1, summaryTable.get(workerA).getActiveCount(AlertSeverity.MEDIUM));
+        assertEquals(2, summaryTable.get(TriageAlertSummary.ALL_WORKERS).getActiveCount(AlertSeverity.MEDIUM));
+        assertEquals(3, summaryTable.get(TriageAlertSummary.ALL_WORKERS).getTotalActive());
+        assertMatchesRecount();
+    }
+
+    @Test
+    @DisplayName("Acknowledging and resolving alerts removes them from the active counts")
+    void testAcknowledgeAndResolve() {
+        TriageAlert acknowledged = repository.save(alert(workerA, AlertSeverity.HIGH));
+        TriageAlert resolved = repository.save(alert(workerA, AlertSeverity.HIGH));
+        repository.save(alert(workerB, AlertSeverity.HIGH));
+
+        acknowledged.acknowledge(UUID.randomUUID());
+        repository.save(acknowledged);
+        resolved.resolve();
+        repository.save(resolved);
+
+        assertEquals(0, summaryTable.get(workerA).getTotalActive());
+        assertEquals(1, summaryTable.get(workerB).getActiveCount(AlertSeverity.HIGH));
+        assertEquals(1, summaryTable.get(TriageAlertSummary.ALL_WORKERS).getActiveCount(AlertSeverity.HIGH));
+        assertMatchesRecount();
+    }
+
+    @Test
+    @DisplayName("Saving an unchanged or already inactive alert again leaves the counts unchanged")
+    void testRepeatedSaves() {
+        TriageAlert active = repository.save(alert(workerA, AlertSeverity.LOW));
+        TriageAlert resolved = repository.save(alert(workerA, AlertSeverity.LOW));
+        resolved.resolve();
+        repository.save(resolved);
+        clearInvocations(jpaSummaryRepository);
+
+        active.setDescription("Updated description");
+        repository.save(active);
+        repository.save(active);
+        repository.save(resolved);
+        resolved.setSeverity(AlertSeverity.CRITICAL);
+        repository.save(resolved);
+
+        verifyNoInteractions(jpaSummaryRepository);
+        assertEquals(1, summaryTable.get(workerA).getActiveCount(AlertSeverity.LOW));
+        assertMatchesRecount();
+    }
+
+    @Test
+    @DisplayName("Severity and worker changes move an active alert between summary rows")
+    void testSeverityAndWorkerChange() {
+        TriageAlert alert = repository.save(alert(workerA, AlertSeverity.MEDIUM));
+
+        alert.setSeverity(AlertSeverity.CRITICAL);
+        repository.save(alert);
+        alert.setAssignedWorkerId(workerB);
+        repository.save(alert);
+
+        assertEquals(0, summaryTable.get(workerA).getTotalActive());
+        assertEquals(1, summaryTable.get(workerB).getActiveCount(AlertSeverity.CRITICAL));
+        assertEquals(1, summaryTable.get(TriageAlertSummary.ALL_WORKERS).getTotalActive());
+        assertMatchesRecount();
+    }
+
+    @Test
+    @DisplayName("A mixed sequence of creates, status changes and repeated saves stays equal to a recount")
+    void testMixedSequence() {
+        Random random = new Random(29L);
+        UUID[] workers = {workerA, workerB, null};
+        AlertSeverity[] severities = AlertSeverity.values();
+        List<TriageAlert> alerts = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            int action = alerts.isEmpty() ? 0 : random.nextInt(5);
+            if (action == 0) {
+                alerts.add(repository.save(alert(workers[random.nextInt(3)], severities[random.nextInt(4)])));
+                continue;
+            }
+            TriageAlert alert = alerts.get(random.nextInt(alerts.size()));
+            switch (action) {
+                case 1 -> alert.acknowledge(UUID.randomUUID());
+                case 2 -> alert.resolve();
+                case 3 -> alert.setSeverity(severities[random.nextInt(4)]);
+                default -> alert.setAssignedWorkerId(workers[random.nextInt(3)]);
+            }
+            repository.save(alert);
+        }
+
+        assertMatchesRecount();
+    }
+
+    private static TriageAlert alert(UUID workerId, AlertSeverity severity) {
+        TriageAlert alert = new TriageAlert();
+        alert.setClientId(UUID.randomUUID());
+        alert.setAlertType(TriageAlert.AlertType.SAFETY_CHECK_NEEDED);
+        alert.setSeverity(severity);
+        alert.setDescription("Safety check");
+        alert.setDueDate(LocalDate.of(2025, 3, 1));
+        alert.setStatus(AlertStatus.ACTIVE);
+        alert.setAssignedWorkerId(workerId);
+        return alert;
+    }
+
+    private void assertMatchesRecount() {
+        Map<UUID, Map<AlertSeverity, Integer>> recount = new HashMap<>();
+        for (JpaTriageAlertEntity entity : alertTable.values()) {
+            TriageAlert alert = entity.toDomain();
+            if (alert.getStatus() != AlertStatus.ACTIVE) {
+                continue;
+            }
+            recount.computeIfAbsent(TriageAlertSummary.ALL_WORKERS, id -> new EnumMap<>(AlertSeverity.class))
+                .merge(alert.getSeverity(), 1, Integer::sum);
+            if (alert.getAssignedWorkerId() != null) {
+                recount.computeIfAbsent(alert.getAssignedWorkerId(), id -> new EnumMap<>(AlertSeverity.class))
+                    .merge(alert.getSeverity(), 1, Integer::sum);
+            }
+        }
+        Set<UUID> scopes = new HashSet<>(summaryTable.keySet());
+        scopes.addAll(recount.keySet());
+        for (UUID scope : scopes) {
+            TriageAlertSummary row = summaryTable.getOrDefault(scope, new TriageAlertSummary(scope));
+            for (AlertSeverity severity : AlertSeverity.values()) {
+                int expected = recount.getOrDefault(scope, Map.of()).getOrDefault(severity, 0);
+                assertEquals(expected, row.getActiveCount(severity), severity + " active for scope " + scope);
+            }
+        }
+    }
+}
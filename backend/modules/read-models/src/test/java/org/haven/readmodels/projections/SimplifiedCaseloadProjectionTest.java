@@ -0,0 +1,229 @@
+package org.haven.readmodels.projections;
+
+import org.haven.casemgmt.domain.CaseAssignment.AssignmentType;
+import org.haven.casemgmt.domain.events.CaseAssigned;
+import org.haven.casemgmt.domain.events.CaseClosed;
+import org.haven.casemgmt.domain.events.CaseOpened;
+import org.haven.readmodels.domain.CaseloadView;
+import org.haven.readmodels.domain.WorkerCaseloadSummary;
+import org.haven.readmodels.domain.WorkerCaseloadSummary.Contribution;
+import org.haven.readmodels.infrastructure.CaseloadViewRepository;
+import org.haven.readmodels.infrastructure.JpaWorkerCaseloadSummaryRepository;
+import org.haven.readmodels.infrastructure.WorkerCaseloadSummaryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.time.Instant;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for keeping the per-worker caseload summary in step with the caseload view.
+ * The summary upsert is backed by an in-memory table with the same insert-or-add semantics
+ * as the ON CONFLICT statement; every test checks the rows against a recount of the views.
+ */
+class SimplifiedCaseloadProjectionTest {
+
+    private static final Instant NOW = Instant.parse("2025-03-01T12:00:00Z");
+
+    private final UUID workerA = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+    private final UUID workerB = UUID.fromString("00000000-0000-0000-0000-00000000000b");
+
+    private InMemoryCaseloadViewRepository caseloadRepository;
+    private Map<UUID, WorkerCaseloadSummary> summaryTable;
+    private JpaWorkerCaseloadSummaryRepository jpaSummaryRepository;
+    private SimplifiedCaseloadProjection projection;
+
+    @BeforeEach
+    void setUp() {
+        caseloadRepository = new InMemoryCaseloadViewRepository();
+        summaryTable = new HashMap<>();
+        jpaSummaryRepository = mock(JpaWorkerCaseloadSummaryRepository.class);
+        doAnswer(invocation -> {
+            UUID workerId = invocation.getArgument(0);
+            WorkerCaseloadSummary row = summaryTable.computeIfAbsent(workerId, WorkerCaseloadSummary::new);
+            if (invocation.getArgument(1) != null) {
+                row.setWorkerName(invocation.getArgument(1));
+            }
+            row.setTotalCases(row.getTotalCases() + (int) invocation.getArgument(2));
+            CaseloadView.CaseStage[] stages = {
+                CaseloadView.CaseStage.INTAKE, CaseloadView.CaseStage.ACTIVE,
+                CaseloadView.CaseStage.HOUSING_SEARCH, CaseloadView.CaseStage.STABILIZATION,
+                CaseloadView.CaseStage.EXIT_PLANNING, CaseloadView.CaseStage.FOLLOW_UP,
+                CaseloadView.CaseStage.CLOSED};
+            for (int i = 0; i < stages.length; i++) {
+                row.setStageCount(stages[i], row.getStageCount(stages[i]) + (int) invocation.getArgument(3 + i));
+            }
+            CaseloadView.RiskLevel[] risks = {
+                CaseloadView.RiskLevel.CRITICAL, CaseloadView.RiskLevel.HIGH, CaseloadView.RiskLevel.MEDIUM,
+                CaseloadView.RiskLevel.LOW, CaseloadView.RiskLevel.STABLE};
+            for (int i = 0; i < risks.length; i++) {
+                row.setRiskCount(risks[i], row.getRiskCount(risks[i]) + (int) invocation.getArgument(10 + i));
+            }
+            row.setRequiringAttention(row.getRequiringAttention() + (int) invocation.getArgument(15));
+            row.setLastUpdated(invocation.getArgument(16));
+            return null;
+        }).when(jpaSummaryRepository).upsertDelta(any(), any(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt(),
+            anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), any());
+
+        projection = new SimplifiedCaseloadProjection(caseloadRepository,
+            new WorkerCaseloadSummaryRepository(jpaSummaryRepository));
+    }
+
+    @Test
+    @DisplayName("Opening an unassigned case leaves the summary untouched")
+    void testOpenUnassigned() {
+        open();
+
+        assertTrue(summaryTable.isEmpty());
+        verifyNoInteractions(jpaSummaryRepository);
+    }
+
+    @Test
+    @DisplayName("Assigning cases creates the worker row on the first case and adds to it afterwards")
+    void testAssign() {
+        UUID first = open();
+        UUID second = open();
+
+        assign(first, workerA, "Alex Rivera");
+        assign(second, workerA, "Alex Rivera");
+
+        WorkerCaseloadSummary summary = summaryTable.get(workerA);
+        assertEquals(2, summary.getTotalCases());
+        assertEquals(2, summary.getStageCount(CaseloadView.CaseStage.INTAKE));
+        assertEquals(2, summary.getRiskCount(CaseloadView.RiskLevel.LOW));
+        assertEquals("Alex Rivera", summary.getWorkerName());
+        assertMatchesRecount();
+    }
+
+    @Test
+    @DisplayName("Reassigning a case moves its counts to the new worker in worker id order")
+    void testReassign() {
+        UUID caseId = open();
+        open();
+        assign(caseId, workerB, "Blair Chen");
+
+        assign(caseId, workerA, "Alex Rivera");
+
+        assertEquals(0, summaryTable.get(workerB).getTotalCases());
+        assertEquals(0, summaryTable.get(workerB).getStageCount(CaseloadView.CaseStage.INTAKE));
+        assertEquals(1, summaryTable.get(workerA).getTotalCases());
+        assertEquals("Blair Chen", summaryTable.get(workerB).getWorkerName());
+        assertMatchesRecount();
+
+        InOrder order = inOrder(jpaSummaryRepository);
+        order.verify(jpaSummaryRepository).upsertDelta(eq(workerA), any(), eq(1), anyInt(), anyInt(), anyInt(),
+            anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), any());
+        order.verify(jpaSummaryRepository).upsertDelta(eq(workerB), isNull(), eq(-1), anyInt(), anyInt(), anyInt(),
+            anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Reassigning to the same worker does not touch the summary")
+    void testReassignSameWorker() {
+        UUID caseId = open();
+        assign(caseId, workerA, "Alex Rivera");
+        clearInvocations(jpaSummaryRepository);
+
+        assign(caseId, workerA, "Alex Rivera");
+
+        verifyNoInteractions(jpaSummaryRepository);
+        assertMatchesRecount();
+    }
+
+    @Test
+    @DisplayName("Closing a case moves it from its stage to closed for the same worker")
+    void testClose() {
+        UUID closed = open();
+        UUID open = open();
+        assign(closed, workerA, "Alex Rivera");
+        assign(open, workerA, "Alex Rivera");
+
+        projection.on(new CaseClosed(closed, "Goals met", NOW));
+
+        WorkerCaseloadSummary summary = summaryTable.get(workerA);
+        assertEquals(2, summary.getTotalCases());
+        assertEquals(1, summary.getStageCount(CaseloadView.CaseStage.INTAKE));
+        assertEquals(1, summary.getStageCount(CaseloadView.CaseStage.CLOSED));
+        assertEquals(NOW, summary.getLastUpdated());
+        assertMatchesRecount();
+    }
+
+    @Test
+    @DisplayName("Assign, reassign and close sequences across workers stay equal to a recount")
+    void testMixedTransitions() {
+        List<UUID> cases = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            cases.add(open());
+        }
+        for (int i = 0; i < cases.size(); i++) {
+            assign(cases.get(i), i % 2 == 0 ? workerA : workerB, i % 2 == 0 ? "Alex Rivera" : "Blair Chen");
+        }
+        for (int i = 0; i < cases.size(); i += 3) {
+            assign(cases.get(i), workerB, "Blair Chen");
+        }
+        for (int i = 0; i < cases.size(); i += 4) {
+            projection.on(new CaseClosed(cases.get(i), "Exited", NOW));
+        }
+
+        assertMatchesRecount();
+    }
+
+    private UUID open() {
+        UUID caseId = UUID.randomUUID();
+        projection.on(new CaseOpened(caseId, UUID.randomUUID(), null, null, "Intake", NOW));
+        return caseId;
+    }
+
+    private void assign(UUID caseId, UUID workerId, String workerName) {
+        projection.on(new CaseAssigned(caseId, UUID.randomUUID(), workerId.toString(), workerName, null,
+            AssignmentType.PRIMARY, "Caseload balancing", "supervisor", true, NOW));
+    }
+
+    private void assertMatchesRecount() {
+        Map<UUID, WorkerCaseloadSummary> recount = new HashMap<>();
+        for (CaseloadView view : caseloadRepository.views.values()) {
+            if (view.getWorkerId() != null) {
+                recount.computeIfAbsent(view.getWorkerId(), WorkerCaseloadSummary::new)
+                    .add(Contribution.of(view), NOW);
+            }
+        }
+        for (UUID workerId : summaryTable.keySet()) {
+            WorkerCaseloadSummary expected = recount.getOrDefault(workerId, new WorkerCaseloadSummary(workerId));
+            WorkerCaseloadSummary actual = summaryTable.get(workerId);
+            assertEquals(expected.getTotalCases(), actual.getTotalCases(), "total cases of " + workerId);
+            for (CaseloadView.CaseStage stage : CaseloadView.CaseStage.values()) {
+                assertEquals(expected.getStageCount(stage), actual.getStageCount(stage), stage + " cases of " + workerId);
+            }
+            for (CaseloadView.RiskLevel risk : CaseloadView.RiskLevel.values()) {
+                assertEquals(expected.getRiskCount(risk), actual.getRiskCount(risk), risk + " cases of " + workerId);
+            }
+            assertEquals(expected.getRequiringAttention(), actual.getRequiringAttention(), "attention of " + workerId);
+        }
+        assertTrue(summaryTable.keySet().containsAll(recount.keySet()));
+    }
+
+    private static class InMemoryCaseloadViewRepository extends CaseloadViewRepository {
+        final Map<UUID, CaseloadView> views = new LinkedHashMap<>();
+
+        InMemoryCaseloadViewRepository() {
+            super(null);
+        }
+
+        @Override
+        public Optional<CaseloadView> findByCaseId(UUID caseId) {
+            return Optional.ofNullable(views.get(caseId));
+        }
+
+        @Override
+        public CaseloadView save(CaseloadView view) {
+            views.put(view.getCaseId(), view);
+            return view;
+        }
+    }
+}
@@ -44,6 +44,9 @@ dependencies {
     implementation("org.apache.poi:poi:5.2.4")
     implementation("org.apache.poi:poi-ooxml:5.2.4")
 
+    // Streaming ZIP64 packaging with parallel per-entry compression
+    implementation("org.apache.commons:commons-compress:1.24.0")
+
     // Jakarta Mail for email notifications
     implementation("jakarta.mail:jakarta.mail-api:2.1.2")
     implementation("org.eclipse.angus:angus-mail:2.0.2")
@@ -95,4 +98,4 @@ tasks.register<Exec>("validateComplianceMatrix") {
 // Temporarily disabled due to compilation errors
 // tasks.named("build") {
 //     dependsOn("validateComplianceMatrix")
-// }
\ No newline at end of file
+// }
\ No newline at end of file
@@ -75,7 +75,7 @@ public class AggregationService {
     public Map<String, Object> computeCoCAPRQ7(Set<String> projectIds, ExportPeriod period) {
         String sql = """
             SELECT
-                COALESCE(c.veteran_status, 0) as is_veteran,
+                CASE WHEN c.veteran_status = 'YES' THEN 1 ELSE 0 END as is_veteran,
                 COUNT(DISTINCT e.personal_id) as client_count
             FROM enrollments e
             JOIN clients c ON e.personal_id = c.personal_id
@@ -1,11 +1,14 @@
 package org.haven.reporting.application.services;
 
+import org.apache.poi.ss.SpreadsheetVersion;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.springframework.stereotype.Component;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
@@ -13,68 +16,107 @@ import java.util.*;
 /**
  * Excel export strategy using Apache POI.
  * Creates separate sheets per CSV section with formatted headers.
+ *
+ * Sheets are written with SXSSF: only the last {@value #ROW_ACCESS_WINDOW} rows of a sheet stay
+ * in memory, older rows are flushed to compressed POI temp files that are deleted once the
+ * workbook has been written. Sections longer than an Excel sheet continue on further sheets.
  */
 @Component
 public class ExcelExportStrategy implements HUDExportFormatter.FormatStrategy {
 
+    static final int ROW_ACCESS_WINDOW = 500;
+
+    private static final int MAX_SHEET_NAME_LENGTH = 31;
+
+    // Rows per sheet after the header row
+    private final int maxDataRowsPerSheet;
+
+    public ExcelExportStrategy() {
+        this(SpreadsheetVersion.EXCEL2007.getMaxRows() - 1);
+    }
+
+    ExcelExportStrategy(int maxDataRowsPerSheet) {
+        this.maxDataRowsPerSheet = maxDataRowsPerSheet;
+    }
+
     @Override
     public byte[] format(Map<String, List<Map<String, Object>>> sections) {
-        try (Workbook workbook = new XSSFWorkbook()) {
+        return format(HudRowBuffer.fromSections(sections));
+    }
+
+    @Override
+    public byte[] format(List<HudRowBuffer> sections) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        format(sections, baos);
+        return baos.toByteArray();
+    }
 
+    @Override
+    public void format(List<HudRowBuffer> sections, OutputStream out) {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_ACCESS_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try {
             // Create styles
             CellStyle headerStyle = createHeaderStyle(workbook);
             CellStyle dateStyle = createDateStyle(workbook);
 
-            for (Map.Entry<String, List<Map<String, Object>>> section : sections.entrySet()) {
-                String sectionName = sanitizeSheetName(section.getKey());
-                List<Map<String, Object>> rows = section.getValue();
-
+            for (HudRowBuffer rows : sections) {
                 if (rows.isEmpty()) {
                     continue;
                 }
 
-                Sheet sheet = workbook.createSheet(sectionName);
-
                 // Get columns (maintain consistent order)
-                List<String> columns = new ArrayList<>(rows.get(0).keySet());
+                List<String> columns = new ArrayList<>(rows.columns());
                 Collections.sort(columns);
+                int[] sourceColumns = columns.stream().mapToInt(rows::columnIndex).toArray();
+
+                int part = 1;
+                for (int firstRow = 0; firstRow < rows.rowCount(); firstRow += maxDataRowsPerSheet, part++) {
+                    int lastRow = Math.min(rows.rowCount(), firstRow + maxDataRowsPerSheet);
+                    SXSSFSheet sheet = workbook.createSheet(sheetName(rows.sectionName(), part));
+                    // Widths are measured as rows are written, before they leave the window
+                    sheet.trackAllColumnsForAutoSizing();
+
+                    // Create header row
+                    Row headerRow = sheet.createRow(0);
+                    for (int i = 0; i < columns.size(); i++) {
+                        Cell cell = headerRow.createCell(i);
+                        cell.setCellValue(columns.get(i));
+                        cell.setCellStyle(headerStyle);
+                    }
 
-                // Create header row
-                Row headerRow = sheet.createRow(0);
-                for (int i = 0; i < columns.size(); i++) {
-                    Cell cell = headerRow.createCell(i);
-                    cell.setCellValue(columns.get(i));
-                    cell.setCellStyle(headerStyle);
-                }
-
-                // Create data rows
-                for (int rowIdx = 0; rowIdx < rows.size(); rowIdx++) {
-                    Map<String, Object> rowData = rows.get(rowIdx);
-                    Row dataRow = sheet.createRow(rowIdx + 1);
+                    // Create data rows
+                    for (int rowIdx = firstRow; rowIdx < lastRow; rowIdx++) {
+                        Row dataRow = sheet.createRow(rowIdx - firstRow + 1);
 
-                    for (int colIdx = 0; colIdx < columns.size(); colIdx++) {
-                        String columnName = columns.get(colIdx);
-                        Object value = rowData.get(columnName);
+                        for (int colIdx = 0; colIdx < columns.size(); colIdx++) {
+                            Object value = rows.get(rowIdx, sourceColumns[colIdx]);
 
-                        Cell cell = dataRow.createCell(colIdx);
-                        setCellValue(cell, value, dateStyle);
+                            Cell cell = dataRow.createCell(colIdx);
+                            setCellValue(cell, value, dateStyle);
+                        }
                     }
-                }
 
-                // Auto-size columns
-                for (int i = 0; i < columns.size(); i++) {
-                    sheet.autoSizeColumn(i);
+                    // Auto-size columns
+                    for (int i = 0; i < columns.size(); i++) {
+                        sheet.autoSizeColumn(i);
+                    }
                 }
             }
 
-            // Write to byte array
-            try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-                workbook.write(baos);
-                return baos.toByteArray();
-            }
+            workbook.write(out);
+            out.flush();
 
         } catch (IOException e) {
             throw new RuntimeException("Failed to generate Excel export", e);
+        } finally {
+            // Removes the temp files holding flushed rows
+            workbook.dispose();
+            try {
+                workbook.close();
+            } catch (IOException e) {
+                // Nothing left to release once the temp files are gone
+            }
         }
     }
 
@@ -115,11 +157,23 @@ public class ExcelExportStrategy implements HUDExportFormatter.FormatStrategy {
         }
     }
 
+    /**
+     * Sheet name for one part of a section; continuation sheets get a " (n)" suffix
+     */
+    private String sheetName(String sectionName, int part) {
+        String suffix = part > 1 ? " (" + part + ")" : "";
+        String name = sanitizeSheetName(sectionName);
+        if (name.length() + suffix.length() > MAX_SHEET_NAME_LENGTH) {
+            name = name.substring(0, MAX_SHEET_NAME_LENGTH - suffix.length());
+        }
+        return name + suffix;
+    }
+
     private String sanitizeSheetName(String name) {
         // Excel sheet names must be <= 31 chars and cannot contain: \ / ? * [ ]
         String sanitized = name.replaceAll("[\\\\/?\\*\\[\\]]", "_");
-        if (sanitized.length() > 31) {
-            sanitized = sanitized.substring(0, 31);
+        if (sanitized.length() > MAX_SHEET_NAME_LENGTH) {
+            sanitized = sanitized.substring(0, MAX_SHEET_NAME_LENGTH);
         }
         return sanitized;
     }
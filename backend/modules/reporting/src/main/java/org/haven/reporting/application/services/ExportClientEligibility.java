@@ -0,0 +1,48 @@
+package org.haven.reporting.application.services;
+
+import org.haven.shared.vo.hmis.HmisPersonalId;
+
+import java.util.Map;
+
+/**
+ * Per-export table of client export decisions, computed once by
+ * {@link RestrictedNoteExportFilterService#computeEligibility} and shared by every section filter.
+ * Clients missing from the table are not exportable.
+ */
+public final class ExportClientEligibility {
+
+    static final ClientExportProfile DENIED =
+        new ClientExportProfile(false, false, false, false, false, false);
+
+    private final Map<String, ClientExportProfile> profilesByPersonalId;
+
+    ExportClientEligibility(Map<String, ClientExportProfile> profilesByPersonalId) {
+        this.profilesByPersonalId = Map.copyOf(profilesByPersonalId);
+    }
+
+    public ClientExportProfile profileFor(HmisPersonalId personalId) {
+        return personalId == null ? DENIED : profilesByPersonalId.getOrDefault(personalId.value(), DENIED);
+    }
+
+    public boolean isAllowed(HmisPersonalId personalId) {
+        return profileFor(personalId).allowed();
+    }
+
+    public int size() {
+        return profilesByPersonalId.size();
+    }
+
+    /**
+     * Whether a client's rows may be exported and which redactions apply to them,
+     * already resolved against the exporter's roles
+     */
+    public record ClientExportProfile(
+        boolean allowed,
+        boolean redactLocation,
+        boolean redactName,
+        boolean redactPriorLiving,
+        boolean redactHealthInfo,
+        boolean redactDvInfo
+    ) {
+    }
+}
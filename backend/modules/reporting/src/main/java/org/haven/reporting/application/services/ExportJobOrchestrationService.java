@@ -12,9 +12,6 @@ import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.security.NoSuchAlgorithmException;
 import java.time.LocalDate;
 import java.util.*;
@@ -179,60 +176,65 @@ public class ExportJobOrchestrationService {
                     exportJob.getReportingPeriodEnd()
             );
 
-            Map<String, List<Map<String, Object>>> sections = materializeViews(exportJob, period);
+            List<HudRowBuffer> sections = materializeViews(exportJob, period);
 
             // Validate with CSV guardrails
             CsvValidationLogger validationLogger = new CsvValidationLogger(exportJobId.toString());
 
             Map<String, byte[]> csvFiles = new LinkedHashMap<>();
-            for (Map.Entry<String, List<Map<String, Object>>> section : sections.entrySet()) {
-                Map<String, List<Map<String, Object>>> singleSection = Map.of(section.getKey(), section.getValue());
-
+            for (HudRowBuffer section : sections) {
                 byte[] csv = csvExportStrategy.formatWithValidation(
-                        singleSection,
+                        List.of(section),
                         period,
                         exportJobId.toString(),
                         validationLogger
                 );
 
-                csvFiles.put(section.getKey() + ".csv", csv);
+                csvFiles.put(section.sectionName() + ".csv", csv);
             }
 
-            long recordCount = sections.values().stream().mapToLong(List::size).sum();
+            long recordCount = sections.stream().mapToLong(HudRowBuffer::rowCount).sum();
 
             exportJob.startValidation(recordCount);
             exportJobRepository.save(exportJob);
 
-            // ========== PHASE 2: Packaging ==========
-            logger.info("Packaging CSV bundle for export job: {}", exportJobId);
+            // ========== PHASE 2-4: Packaging, Encryption and Storage ==========
+            // The ZIP is streamed through segment encryption straight into storage, so the
+            // archive and its ciphertext are never held in memory
+            logger.info("Packaging and storing export bundle for export job: {}", exportJobId);
 
-            ExportPackage exportPackage = packagingService.packageWithManifest(
-                    new ExportJobId(exportJobId),
-                    csvFiles,
-                    ExportFormat.CSV,
-                    false  // Don't encrypt in packaging (handled separately)
-            );
+            List<ExportPackagingService.PackageEntry> entries = new ArrayList<>();
+            csvFiles.forEach((name, content) -> entries.add(ExportPackagingService.PackageEntry.of(name, content)));
 
-            // ========== PHASE 3: Encryption ==========
+            StreamedExportPackage[] packaged = new StreamedExportPackage[1];
             String kmsKeyId = null;
-            byte[] finalBundle = exportPackage.zipArchive();
+            String storageLocation;
 
             if (encryptAtRest) {
                 logger.info("Encrypting bundle with KMS for export job: {}", exportJobId);
 
-                KmsEncryptionService.EncryptedBundle encryptedBundle =
-                        encryptionService.encrypt(exportPackage.zipArchive(), exportJobId);
-
-                finalBundle = encryptedBundle.toStorageFormat();
-                kmsKeyId = encryptedBundle.kmsKeyId();
-
-                logger.info("Bundle encrypted - KMS Key: {}", kmsKeyId);
+                KmsEncryptionService.StreamingEncryptionResult[] encryption =
+                        new KmsEncryptionService.StreamingEncryptionResult[1];
+                storageLocation = blobStorageService.writeBundle(exportJobId, "enc", out -> {
+                    KmsEncryptionService.EncryptingOutputStream encrypting =
+                            encryptionService.openEncryptingStream(out, exportJobId);
+                    try (encrypting) {
+                        packaged[0] = packagingService.packageTo(
+                                new ExportJobId(exportJobId), entries, ExportFormat.CSV, encrypting);
+                    }
+                    encryption[0] = encrypting.getResult();
+                }).toString();
+                kmsKeyId = encryption[0].kmsKeyId();
+
+                logger.info("Bundle encrypted - KMS Key: {}, Segments: {}", kmsKeyId, encryption[0].segmentCount());
+            } else {
+                storageLocation = blobStorageService.writeBundle(exportJobId, "zip", out ->
+                        packaged[0] = packagingService.packageTo(
+                                new ExportJobId(exportJobId), entries, ExportFormat.CSV, out)
+                ).toString();
             }
 
-            // ========== PHASE 4: Storage ==========
-            logger.info("Storing export bundle in secure location: {}", exportJobId);
-
-            String storageLocation = storeEncryptedBundle(exportJobId, finalBundle);
+            StreamedExportPackage exportPackage = packaged[0];
 
             // ========== PHASE 5: Consent Ledger ==========
             logger.info("Emitting consent ledger entry for export job: {}", exportJobId);
@@ -327,50 +329,44 @@ public class ExportJobOrchestrationService {
 
     // Private helper methods
 
-    private Map<String, List<Map<String, Object>>> materializeViews(
+    private List<HudRowBuffer> materializeViews(
             ExportJobAggregate exportJob,
             ExportPeriod period) {
 
         logger.info("Materializing views for export job: {}", exportJob.getId().value());
 
-        Map<String, List<Map<String, Object>>> sections = new LinkedHashMap<>();
+        List<HudRowBuffer> sections = new ArrayList<>();
 
         // Generate required CSV sections
-        sections.put("Client", viewGenerator.generateClientCsv(
+        sections.add(viewGenerator.generateClientSection(
                 period, exportJob.getIncludedProjectIds(), exportJob.getCocCode()));
 
-        sections.put("Enrollment", viewGenerator.generateEnrollmentCsv(
+        sections.add(viewGenerator.generateEnrollmentSection(
                 period, exportJob.getIncludedProjectIds(), exportJob.getCocCode()));
 
-        sections.put("Services", viewGenerator.generateServicesCsv(
+        sections.add(viewGenerator.generateServicesSection(
                 period, exportJob.getIncludedProjectIds(), exportJob.getCocCode()));
 
         logger.info("Materialized {} sections", sections.size());
         return sections;
     }
 
-    private String storeEncryptedBundle(UUID exportJobId, byte[] bundle) throws IOException {
-        // Write to secure storage location
-        java.nio.file.Path storagePath = Paths.get(
-                "./data/exports/encrypted/" + exportJobId + ".enc"
-        );
-
-        Files.createDirectories(storagePath.getParent());
-        Files.write(storagePath, bundle);
-
-        logger.info("Encrypted bundle stored at: {}", storagePath.toAbsolutePath());
-        return storagePath.toAbsolutePath().toString();
-    }
-
-    private List<String> extractDataSubjects(Map<String, List<Map<String, Object>>> sections) {
+    private List<String> extractDataSubjects(List<HudRowBuffer> sections) {
         // Extract unique PersonalIDs from Client section
-        List<Map<String, Object>> clients = sections.getOrDefault("Client", List.of());
-
-        return clients.stream()
-                .map(client -> (String) client.get("PersonalID"))
-                .filter(Objects::nonNull)
-                .distinct()
-                .toList();
+        Set<String> personalIds = new LinkedHashSet<>();
+        for (HudRowBuffer section : sections) {
+            int personalIdColumn = section.columnIndex("PersonalID");
+            if (!section.sectionName().equals("Client") || personalIdColumn < 0) {
+                continue;
+            }
+            for (int row = 0; row < section.rowCount(); row++) {
+                Object personalId = section.get(row, personalIdColumn);
+                if (personalId != null) {
+                    personalIds.add((String) personalId);
+                }
+            }
+        }
+        return List.copyOf(personalIds);
     }
 
     private void createAuditMetadata(
@@ -1,9 +1,17 @@
 package org.haven.reporting.application.services;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.compress.archivers.zip.ScatterZipOutputStream;
+import org.apache.commons.compress.archivers.zip.Zip64Mode;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntryRequest;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
 import org.haven.reporting.domain.ExportFormat;
 import org.haven.reporting.domain.ExportJobId;
 import org.haven.reporting.domain.ExportPackage;
+import org.haven.reporting.domain.StreamedExportPackage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -12,21 +20,32 @@ import javax.crypto.Mac;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.zip.Deflater;
 import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
 
 /**
  * Packages export data into secure, tamper-evident archives.
  * Supports:
- * - ZIP archive creation with multiple files
- * - SHA-256 manifest generation
+ * - ZIP archive creation with multiple files, streamed to any output (ZIP64 as needed)
+ * - SHA-256 manifest generation, hashed while entries are written
+ * - Per-entry compression level and concurrent compression of independent sections
  * - HMAC-SHA256 digital signatures
  * - AES-256-GCM encryption for secure transport
  */
@@ -40,12 +59,20 @@ public class ExportPackagingService {
 
     private final ObjectMapper objectMapper;
     private final byte[] signingKey;
+    private final Executor compressionExecutor;
 
+    public ExportPackagingService(ObjectMapper objectMapper, String signingKeyHex) {
+        this(objectMapper, signingKeyHex, null);
+    }
+
+    @Autowired
     public ExportPackagingService(
             ObjectMapper objectMapper,
-            @Value("${haven.export.signing-key:0000000000000000000000000000000000000000000000000000000000000000}") String signingKeyHex) {
+            @Value("${haven.export.signing-key:0000000000000000000000000000000000000000000000000000000000000000}") String signingKeyHex,
+            @Qualifier("exportPackagingExecutor") Executor compressionExecutor) {
         this.objectMapper = objectMapper;
         this.signingKey = hexToBytes(signingKeyHex);
+        this.compressionExecutor = compressionExecutor;
     }
 
     /**
@@ -58,14 +85,15 @@ public class ExportPackagingService {
             boolean encrypt) {
 
         try {
-            // Create ZIP archive
-            byte[] zipData = createZipArchive(files);
-
-            // Calculate file hashes
-            Map<String, String> fileHashes = new HashMap<>();
-            for (Map.Entry<String, byte[]> file : files.entrySet()) {
-                fileHashes.put(file.getKey(), calculateSHA256(file.getValue()));
+            // Create ZIP archive, hashing each file as it is written
+            Map<String, String> fileHashes = new LinkedHashMap<>();
+            ByteArrayOutputStream zipBuffer = new ByteArrayOutputStream();
+            try (ZipArchiveOutputStream zip = newZipStream(zipBuffer)) {
+                for (PackageEntry entry : PackageEntry.fromFiles(files)) {
+                    fileHashes.put(entry.name(), writeEntry(zip, entry));
+                }
             }
+            byte[] zipData = zipBuffer.toByteArray();
 
             // Generate manifest
             Map<String, Object> manifest = new HashMap<>();
@@ -116,6 +144,7 @@ public class ExportPackagingService {
 
     /**
      * Create a complete package with manifest and signature files included in ZIP.
+     * Buffers the archive in memory; prefer {@link #packageTo} for large exports.
      */
     public ExportPackage packageWithManifest(
             ExportJobId exportJobId,
@@ -123,67 +152,283 @@ public class ExportPackagingService {
             ExportFormat format,
             boolean encrypt) {
 
-        // Create base package
-        ExportPackage basePackage = packageExport(exportJobId, files, format, false);
+        ByteArrayOutputStream zipBuffer = new ByteArrayOutputStream();
+        StreamedExportPackage streamed = packageTo(exportJobId, PackageEntry.fromFiles(files), format, zipBuffer);
 
-        // Add manifest.json to files
-        Map<String, Object> manifestContent = new HashMap<>();
-        manifestContent.put("exportJobId", exportJobId.value());
-        manifestContent.put("generatedAt", basePackage.generatedAt().toString());
-        manifestContent.put("files", basePackage.fileHashes());
-        manifestContent.put("manifestHash", basePackage.manifestHash());
-        manifestContent.put("signature", basePackage.digitalSignature());
+        byte[] zipData = zipBuffer.toByteArray();
+        String encryptionAlg = "none";
+        if (encrypt) {
+            zipData = encryptData(zipData);
+            encryptionAlg = ENCRYPTION_ALGORITHM;
+        }
+
+        ExportPackage.PackageMetadata metadata = new ExportPackage.PackageMetadata(
+                streamed.metadata().sourceSystem(),
+                streamed.metadata().exportPeriod(),
+                streamed.metadata().fileCount(),
+                zipData.length,
+                encrypt,
+                encryptionAlg
+        );
+
+        return new ExportPackage(
+                exportJobId,
+                zipData,
+                streamed.fileHashes(),
+                streamed.manifestHash(),
+                streamed.digitalSignature(),
+                streamed.generatedAt(),
+                metadata
+        );
+    }
+
+    /**
+     * Stream a complete package (entries, then manifest.json, manifest.sha256 and signature.txt)
+     * to the given output without buffering the archive. Per-file SHA-256 hashes are computed
+     * as each entry is compressed. With more than one entry and a compression executor
+     * configured, sections are compressed concurrently into temp files and then appended in
+     * order; otherwise entries are compressed straight into the output.
+     *
+     * @param out Destination (file, storage channel, encrypting stream); finished but not closed
+     */
+    public StreamedExportPackage packageTo(
+            ExportJobId exportJobId,
+            List<PackageEntry> entries,
+            ExportFormat format,
+            OutputStream out) {
+
+        LocalDateTime generatedAt = LocalDateTime.now();
+
+        try (ZipArchiveOutputStream zip = newZipStream(new NonClosingOutputStream(out))) {
+            Map<String, String> fileHashes = new LinkedHashMap<>();
+            if (compressionExecutor != null && entries.size() > 1) {
+                writeEntriesConcurrently(zip, entries, fileHashes);
+            } else {
+                for (PackageEntry entry : entries) {
+                    fileHashes.put(entry.name(), writeEntry(zip, entry));
+                }
+            }
+
+            // Manifest covers the data files; it is signed, then embedded with its hash
+            Map<String, Object> manifest = new LinkedHashMap<>();
+            manifest.put("exportJobId", exportJobId.value());
+            manifest.put("generatedAt", generatedAt.toString());
+            manifest.put("files", new LinkedHashMap<>(fileHashes));
+            manifest.put("format", format.name());
+            manifest.put("encrypted", false);
+
+            byte[] manifestBytes = objectMapper.writeValueAsBytes(manifest);
+            String manifestHash = calculateSHA256(manifestBytes);
+            String signature = signData(manifestBytes);
+
+            Map<String, Object> manifestContent = new LinkedHashMap<>();
+            manifestContent.put("exportJobId", exportJobId.value());
+            manifestContent.put("generatedAt", generatedAt.toString());
+            manifestContent.put("files", manifest.get("files"));
+            manifestContent.put("manifestHash", manifestHash);
+            manifestContent.put("signature", signature);
+
+            byte[] manifestJson = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(manifestContent);
+            for (PackageEntry entry : List.of(
+                    PackageEntry.of("manifest.json", manifestJson),
+                    PackageEntry.of("manifest.sha256", manifestHash.getBytes(StandardCharsets.UTF_8)),
+                    PackageEntry.of("signature.txt", signature.getBytes(StandardCharsets.UTF_8)))) {
+                fileHashes.put(entry.name(), writeEntry(zip, entry));
+            }
+
+            zip.finish();
+
+            ExportPackage.PackageMetadata metadata = new ExportPackage.PackageMetadata(
+                    "Haven HMIS",
+                    generatedAt.toString(),
+                    fileHashes.size(),
+                    zip.getBytesWritten(),
+                    false,
+                    "none"
+            );
+
+            return new StreamedExportPackage(
+                    exportJobId,
+                    Collections.unmodifiableMap(fileHashes),
+                    manifestHash,
+                    signature,
+                    generatedAt,
+                    metadata
+            );
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to package export", e);
+        }
+    }
+
+    /**
+     * Compress and hash one entry straight into the archive.
+     */
+    private String writeEntry(ZipArchiveOutputStream zip, PackageEntry entry) throws IOException {
+        MessageDigest digest = newSha256();
+        zip.setLevel(entry.compressionLevel());
+        zip.putArchiveEntry(newArchiveEntry(entry));
+        try (InputStream in = new DigestInputStream(entry.source().open(), digest)) {
+            in.transferTo(zip);
+        }
+        zip.closeArchiveEntry();
+        return bytesToHex(digest.digest());
+    }
+
+    /**
+     * Compress each section on the executor into its own temp file, then append the
+     * pre-compressed entries to the archive in the original order.
+     */
+    private void writeEntriesConcurrently(ZipArchiveOutputStream zip,
+                                          List<PackageEntry> entries,
+                                          Map<String, String> fileHashes) throws IOException {
+        List<CompletableFuture<CompressedSection>> sections = entries.stream()
+                .map(entry -> CompletableFuture.supplyAsync(() -> compressSection(entry), compressionExecutor))
+                .toList();
+
+        try {
+            for (CompletableFuture<CompressedSection> future : sections) {
+                CompressedSection section = future.join();
+                section.scatter().writeTo(zip);
+                fileHashes.put(section.name(), section.sha256());
+            }
+        } catch (java.util.concurrent.CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw e;
+        } finally {
+            for (CompletableFuture<CompressedSection> future : sections) {
+                future.thenAccept(CompressedSection::close);
+            }
+        }
+    }
 
+    private CompressedSection compressSection(PackageEntry entry) {
         try {
-            String manifestJson = objectMapper.writerWithDefaultPrettyPrinter()
-                    .writeValueAsString(manifestContent);
+            Path spool = Files.createTempFile("export-section-", ".scatter");
+            ScatterZipOutputStream scatter = ScatterZipOutputStream.fileBased(spool.toFile(), entry.compressionLevel());
+            MessageDigest digest = newSha256();
+            try {
+                scatter.addArchiveEntry(ZipArchiveEntryRequest.createZipArchiveEntryRequest(
+                        newArchiveEntry(entry),
+                        () -> {
+                            try {
+                                return new DigestInputStream(entry.source().open(), digest);
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        }));
+            } catch (IOException | RuntimeException e) {
+                scatter.close();
+                throw e;
+            }
+            return new CompressedSection(entry.name(), scatter, bytesToHex(digest.digest()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compress " + entry.name(), e);
+        }
+    }
 
-            // Create new ZIP with manifest and signature files
-            Map<String, byte[]> allFiles = new HashMap<>(files);
-            allFiles.put("manifest.json", manifestJson.getBytes(StandardCharsets.UTF_8));
-            allFiles.put("manifest.sha256", basePackage.manifestHash().getBytes(StandardCharsets.UTF_8));
-            allFiles.put("signature.txt", basePackage.digitalSignature().getBytes(StandardCharsets.UTF_8));
+    private static ZipArchiveOutputStream newZipStream(OutputStream out) {
+        ZipArchiveOutputStream zip = new ZipArchiveOutputStream(out);
+        zip.setUseZip64(Zip64Mode.AsNeeded);
+        return zip;
+    }
 
-            // Recreate package with all files
-            return packageExport(exportJobId, allFiles, format, encrypt);
+    private static ZipArchiveEntry newArchiveEntry(PackageEntry entry) {
+        ZipArchiveEntry archiveEntry = new ZipArchiveEntry(entry.name());
+        archiveEntry.setMethod(ZipEntry.DEFLATED);
+        archiveEntry.setTime(System.currentTimeMillis());
+        if (entry.size() >= 0) {
+            archiveEntry.setSize(entry.size());
+        }
+        return archiveEntry;
+    }
 
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
         } catch (Exception e) {
-            throw new RuntimeException("Failed to create manifest", e);
+            throw new RuntimeException("Failed to calculate SHA-256", e);
         }
     }
 
     /**
-     * Create ZIP archive from files.
+     * One file in an export package.
+     *
+     * @param size Uncompressed size if known up front, otherwise -1
+     * @param compressionLevel Deflate level 0-9, or {@link Deflater#DEFAULT_COMPRESSION}
      */
-    private byte[] createZipArchive(Map<String, byte[]> files) throws IOException {
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-
-        try (ZipOutputStream zos = new ZipOutputStream(baos)) {
-            zos.setLevel(9); // Maximum compression
-
-            for (Map.Entry<String, byte[]> file : files.entrySet()) {
-                ZipEntry entry = new ZipEntry(file.getKey());
-                entry.setTime(System.currentTimeMillis());
-                zos.putNextEntry(entry);
-                zos.write(file.getValue());
-                zos.closeEntry();
+    public record PackageEntry(String name, EntrySource source, long size, int compressionLevel) {
+
+        public PackageEntry {
+            if (compressionLevel != Deflater.DEFAULT_COMPRESSION
+                    && (compressionLevel < Deflater.NO_COMPRESSION || compressionLevel > Deflater.BEST_COMPRESSION)) {
+                throw new IllegalArgumentException("Invalid compression level for " + name + ": " + compressionLevel);
             }
         }
 
-        return baos.toByteArray();
+        public static PackageEntry of(String name, byte[] content) {
+            return of(name, content, Deflater.BEST_COMPRESSION);
+        }
+
+        public static PackageEntry of(String name, byte[] content, int compressionLevel) {
+            return new PackageEntry(name, () -> new ByteArrayInputStream(content), content.length, compressionLevel);
+        }
+
+        public static PackageEntry of(String name, Path file, int compressionLevel) throws IOException {
+            return new PackageEntry(name, () -> Files.newInputStream(file), Files.size(file), compressionLevel);
+        }
+
+        static List<PackageEntry> fromFiles(Map<String, byte[]> files) {
+            List<PackageEntry> entries = new ArrayList<>(files.size());
+            files.forEach((name, content) -> entries.add(of(name, content)));
+            return entries;
+        }
+    }
+
+    /**
+     * Opens a fresh stream over an entry's content
+     */
+    @FunctionalInterface
+    public interface EntrySource {
+        InputStream open() throws IOException;
+    }
+
+    private record CompressedSection(String name, ScatterZipOutputStream scatter, String sha256) {
+        void close() {
+            try {
+                scatter.close();
+            } catch (IOException e) {
+                // Spool file cleanup is best effort
+            }
+        }
+    }
+
+    /**
+     * Lets the archive be finished without closing the caller's stream.
+     */
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+        NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
     }
 
     /**
      * Calculate SHA-256 hash of data.
      */
     private String calculateSHA256(byte[] data) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(data);
-            return bytesToHex(hash);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to calculate SHA-256", e);
-        }
+        return bytesToHex(newSha256().digest(data));
     }
 
     /**
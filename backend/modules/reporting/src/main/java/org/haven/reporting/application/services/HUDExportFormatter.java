@@ -5,6 +5,8 @@ import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
@@ -44,6 +46,29 @@ public class HUDExportFormatter {
         };
     }
 
+    /**
+     * Format typed section buffers into the specified format, in list order.
+     */
+    public byte[] format(List<HudRowBuffer> sections, ExportFormat format) {
+        return switch (format) {
+            case CSV -> csvStrategy.format(sections);
+            case XML -> xmlStrategy.format(sections);
+            case EXCEL -> excelStrategy.format(sections);
+        };
+    }
+
+    /**
+     * Stream typed section buffers in the specified format to {@code out}, which is flushed
+     * but not closed. XML and Excel output is written incrementally rather than built in memory.
+     */
+    public void format(List<HudRowBuffer> sections, ExportFormat format, OutputStream out) {
+        switch (format) {
+            case CSV -> csvStrategy.format(sections, out);
+            case XML -> xmlStrategy.format(sections, out);
+            case EXCEL -> excelStrategy.format(sections, out);
+        }
+    }
+
     /**
      * Format a single section into the specified format.
      */
@@ -56,5 +81,26 @@ public class HUDExportFormatter {
      */
     public interface FormatStrategy {
         byte[] format(Map<String, List<Map<String, Object>>> sections);
+
+        /**
+         * Formats typed section buffers. Strategies that read columns directly override this;
+         * the default goes through the map form.
+         */
+        default byte[] format(List<HudRowBuffer> sections) {
+            return format(HudRowBuffer.toSections(sections));
+        }
+
+        /**
+         * Writes formatted sections to {@code out}, flushed but not closed. The default
+         * formats in memory first; streaming strategies override it.
+         */
+        default void format(List<HudRowBuffer> sections, OutputStream out) {
+            try {
+                out.write(format(sections));
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write export", e);
+            }
+        }
     }
 }
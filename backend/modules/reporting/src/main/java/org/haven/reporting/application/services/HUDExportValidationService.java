@@ -41,16 +41,23 @@ public class HUDExportValidationService {
      * Validate complete export package
      */
     public ValidationResult validateExport(Map<String, List<Map<String, Object>>> sections) {
+        return validateExport(HudRowBuffer.fromSections(sections));
+    }
+
+    /**
+     * Validate complete export package from typed section buffers
+     */
+    public ValidationResult validateExport(List<HudRowBuffer> sections) {
         logger.info("Starting HUD export validation");
 
         ValidationResult result = new ValidationResult();
 
         // Extract sections
-        List<Map<String, Object>> clients = sections.getOrDefault("Client", Collections.emptyList());
-        List<Map<String, Object>> enrollments = sections.getOrDefault("Enrollment", Collections.emptyList());
-        List<Map<String, Object>> exits = sections.getOrDefault("Exit", Collections.emptyList());
-        List<Map<String, Object>> projects = sections.getOrDefault("Project", Collections.emptyList());
-        List<Map<String, Object>> services = sections.getOrDefault("Services", Collections.emptyList());
+        HudRowBuffer clients = section(sections, "Client");
+        HudRowBuffer enrollments = section(sections, "Enrollment");
+        HudRowBuffer exits = section(sections, "Exit");
+        HudRowBuffer projects = section(sections, "Project");
+        HudRowBuffer services = section(sections, "Services");
 
         // 1. Universal Data Element validation
         validateClients(clients, result);
@@ -68,7 +75,7 @@ public class HUDExportValidationService {
         validateDateSequencing(enrollments, exits, result);
 
         // 6. Completeness rates
-        validateCompletenessRates(sections, result);
+        validateCompletenessRates(clients, enrollments, result);
 
         logger.info("Validation complete: {} errors, {} warnings",
                 result.getErrorCount(), result.getWarningCount());
@@ -79,17 +86,28 @@ public class HUDExportValidationService {
     /**
      * Validate Client.csv records
      */
-    private void validateClients(List<Map<String, Object>> clients, ValidationResult result) {
-        logger.info("Validating {} client records", clients.size());
-
-        for (int i = 0; i < clients.size(); i++) {
-            Map<String, Object> client = clients.get(i);
-            String personalId = getString(client, "PersonalID");
+    private void validateClients(HudRowBuffer clients, ValidationResult result) {
+        logger.info("Validating {} client records", clients.rowCount());
+
+        int personalIdCol = clients.columnIndex("PersonalID");
+        int ssnCol = clients.columnIndex("SSN");
+        int ssnDataQualityCol = clients.columnIndex("SSNDataQuality");
+        int dobCol = clients.columnIndex("DOB");
+        int dobDataQualityCol = clients.columnIndex("DOBDataQuality");
+        int firstNameCol = clients.columnIndex("FirstName");
+        int lastNameCol = clients.columnIndex("LastName");
+        int nameDataQualityCol = clients.columnIndex("NameDataQuality");
+        int[] raceCols = columnIndexes(clients,
+                "AmIndAKNative", "Asian", "BlackAfAmerican", "NativeHIPacific", "White", "RaceNone");
+        int[] genderCols = columnIndexes(clients, "Woman", "Man", "NonBinary", "GenderNone");
+
+        for (int i = 0; i < clients.rowCount(); i++) {
+            String personalId = getString(clients, i, personalIdCol);
             String context = "Client row " + (i + 1) + " (PersonalID=" + personalId + ")";
 
             // SSN validation
-            String ssn = getString(client, "SSN");
-            Integer ssnDataQuality = getInteger(client, "SSNDataQuality");
+            String ssn = getString(clients, i, ssnCol);
+            Integer ssnDataQuality = getInteger(clients, i, ssnDataQualityCol);
 
             if (ssn != null && !ssn.isEmpty()) {
                 if (!SSN_PATTERN.matcher(ssn).matches()) {
@@ -102,8 +120,8 @@ public class HUDExportValidationService {
             }
 
             // DOB validation
-            LocalDate dob = getDate(client, "DOB");
-            Integer dobDataQuality = getInteger(client, "DOBDataQuality");
+            LocalDate dob = getDate(clients, i, dobCol);
+            Integer dobDataQuality = getInteger(clients, i, dobDataQualityCol);
 
             if (dob != null) {
                 int age = Period.between(dob, LocalDate.now()).getYears();
@@ -115,9 +133,9 @@ public class HUDExportValidationService {
             }
 
             // Name validation
-            String firstName = getString(client, "FirstName");
-            String lastName = getString(client, "LastName");
-            Integer nameDataQuality = getInteger(client, "NameDataQuality");
+            String firstName = getString(clients, i, firstNameCol);
+            String lastName = getString(clients, i, lastNameCol);
+            Integer nameDataQuality = getInteger(clients, i, nameDataQualityCol);
 
             if ((firstName == null || firstName.isEmpty()) &&
                 (lastName == null || lastName.isEmpty()) &&
@@ -126,36 +144,12 @@ public class HUDExportValidationService {
             }
 
             // Race/Ethnicity - at least one required
-            Boolean amIndAKNative = getBoolean(client, "AmIndAKNative");
-            Boolean asian = getBoolean(client, "Asian");
-            Boolean blackAfAmerican = getBoolean(client, "BlackAfAmerican");
-            Boolean nativeHIPacific = getBoolean(client, "NativeHIPacific");
-            Boolean white = getBoolean(client, "White");
-            Boolean raceNone = getBoolean(client, "RaceNone");
-
-            boolean hasRace = (amIndAKNative != null && amIndAKNative) ||
-                    (asian != null && asian) ||
-                    (blackAfAmerican != null && blackAfAmerican) ||
-                    (nativeHIPacific != null && nativeHIPacific) ||
-                    (white != null && white) ||
-                    (raceNone != null && raceNone);
-
-            if (!hasRace) {
+            if (!anyTrue(clients, i, raceCols)) {
                 result.addError(context, "At least one race category required");
             }
 
             // Gender - at least one required
-            Boolean woman = getBoolean(client, "Woman");
-            Boolean man = getBoolean(client, "Man");
-            Boolean nonBinary = getBoolean(client, "NonBinary");
-            Boolean genderNone = getBoolean(client, "GenderNone");
-
-            boolean hasGender = (woman != null && woman) ||
-                    (man != null && man) ||
-                    (nonBinary != null && nonBinary) ||
-                    (genderNone != null && genderNone);
-
-            if (!hasGender) {
+            if (!anyTrue(clients, i, genderCols)) {
                 result.addError(context, "At least one gender category required");
             }
         }
@@ -164,44 +158,53 @@ public class HUDExportValidationService {
     /**
      * Validate Enrollment.csv records
      */
-    private void validateEnrollments(List<Map<String, Object>> enrollments, ValidationResult result) {
-        logger.info("Validating {} enrollment records", enrollments.size());
-
-        for (int i = 0; i < enrollments.size(); i++) {
-            Map<String, Object> enrollment = enrollments.get(i);
-            String enrollmentId = getString(enrollment, "EnrollmentID");
+    private void validateEnrollments(HudRowBuffer enrollments, ValidationResult result) {
+        logger.info("Validating {} enrollment records", enrollments.rowCount());
+
+        int enrollmentIdCol = enrollments.columnIndex("EnrollmentID");
+        int personalIdCol = enrollments.columnIndex("PersonalID");
+        int projectIdCol = enrollments.columnIndex("ProjectID");
+        int entryDateCol = enrollments.columnIndex("EntryDate");
+        int householdIdCol = enrollments.columnIndex("HouseholdID");
+        int relationshipCol = enrollments.columnIndex("RelationshipToHoH");
+        int disablingConditionCol = enrollments.columnIndex("DisablingCondition");
+        int livingSituationCol = enrollments.columnIndex("LivingSituation");
+
+        for (int i = 0; i < enrollments.rowCount(); i++) {
+            String enrollmentId = getString(enrollments, i, enrollmentIdCol);
             String context = "Enrollment row " + (i + 1) + " (EnrollmentID=" + enrollmentId + ")";
 
             // Required fields
-            if (getString(enrollment, "PersonalID") == null) {
+            if (getString(enrollments, i, personalIdCol) == null) {
                 result.addError(context, "PersonalID is required");
             }
-            if (getString(enrollment, "ProjectID") == null) {
+            if (getString(enrollments, i, projectIdCol) == null) {
                 result.addError(context, "ProjectID is required");
             }
-            if (getDate(enrollment, "EntryDate") == null) {
+            if (getDate(enrollments, i, entryDateCol) == null) {
                 result.addError(context, "EntryDate is required");
             }
-            if (getString(enrollment, "HouseholdID") == null) {
+            if (getString(enrollments, i, householdIdCol) == null) {
                 result.addError(context, "HouseholdID is required");
             }
 
             // RelationshipToHoH validation
-            Integer relationshipToHoH = getInteger(enrollment, "RelationshipToHoH");
+            Integer relationshipToHoH = getInteger(enrollments, i, relationshipCol);
             if (relationshipToHoH == null) {
                 result.addError(context, "RelationshipToHoH is required");
-            } else if (!isValidCodeListValue(relationshipToHoH, 1, 5)) {
+            } else if (!isValidCode(enrollments, i, relationshipCol, relationshipToHoH, 1, 2, 3, 4, 5)) {
                 result.addError(context, "RelationshipToHoH invalid value: " + relationshipToHoH);
             }
 
             // DisablingCondition
-            Integer disablingCondition = getInteger(enrollment, "DisablingCondition");
-            if (disablingCondition != null && !isValidCodeListValue(disablingCondition, 0, 1, 8, 9, 99)) {
+            Integer disablingCondition = getInteger(enrollments, i, disablingConditionCol);
+            if (disablingCondition != null
+                    && !isValidCode(enrollments, i, disablingConditionCol, disablingCondition, 0, 1, 8, 9, 99)) {
                 result.addError(context, "DisablingCondition invalid value: " + disablingCondition);
             }
 
             // LivingSituation (at entry)
-            Integer livingSituation = getInteger(enrollment, "LivingSituation");
+            Integer livingSituation = getInteger(enrollments, i, livingSituationCol);
             if (livingSituation == null) {
                 result.addError(context, "LivingSituation is required");
             }
@@ -211,24 +214,28 @@ public class HUDExportValidationService {
     /**
      * Validate Exit.csv records
      */
-    private void validateExits(List<Map<String, Object>> exits, ValidationResult result) {
-        logger.info("Validating {} exit records", exits.size());
+    private void validateExits(HudRowBuffer exits, ValidationResult result) {
+        logger.info("Validating {} exit records", exits.rowCount());
+
+        int exitIdCol = exits.columnIndex("ExitID");
+        int enrollmentIdCol = exits.columnIndex("EnrollmentID");
+        int exitDateCol = exits.columnIndex("ExitDate");
+        int destinationCol = exits.columnIndex("Destination");
 
-        for (int i = 0; i < exits.size(); i++) {
-            Map<String, Object> exit = exits.get(i);
-            String exitId = getString(exit, "ExitID");
+        for (int i = 0; i < exits.rowCount(); i++) {
+            String exitId = getString(exits, i, exitIdCol);
             String context = "Exit row " + (i + 1) + " (ExitID=" + exitId + ")";
 
             // Required fields
-            if (getString(exit, "EnrollmentID") == null) {
+            if (getString(exits, i, enrollmentIdCol) == null) {
                 result.addError(context, "EnrollmentID is required");
             }
-            if (getDate(exit, "ExitDate") == null) {
+            if (getDate(exits, i, exitDateCol) == null) {
                 result.addError(context, "ExitDate is required");
             }
 
             // Destination validation
-            Integer destination = getInteger(exit, "Destination");
+            Integer destination = getInteger(exits, i, destinationCol);
             if (destination == null) {
                 result.addError(context, "Destination is required");
             } else if (!isValidDestination(destination)) {
@@ -241,11 +248,11 @@ public class HUDExportValidationService {
      * Validate referential integrity across files
      */
     private void validateReferentialIntegrity(
-            List<Map<String, Object>> clients,
-            List<Map<String, Object>> enrollments,
-            List<Map<String, Object>> exits,
-            List<Map<String, Object>> projects,
-            List<Map<String, Object>> services,
+            HudRowBuffer clients,
+            HudRowBuffer enrollments,
+            HudRowBuffer exits,
+            HudRowBuffer projects,
+            HudRowBuffer services,
             ValidationResult result) {
 
         logger.info("Validating referential integrity");
@@ -255,38 +262,46 @@ public class HUDExportValidationService {
         Set<String> enrollmentIds = buildIdSet(enrollments, "EnrollmentID");
         Set<String> projectIds = buildIdSet(projects, "ProjectID");
 
+        int enrollmentIdCol = enrollments.columnIndex("EnrollmentID");
+        int enrollmentPersonalIdCol = enrollments.columnIndex("PersonalID");
+        int enrollmentProjectIdCol = enrollments.columnIndex("ProjectID");
+
         // Validate Enrollment → Client references
-        for (Map<String, Object> enrollment : enrollments) {
-            String personalId = getString(enrollment, "PersonalID");
+        for (int i = 0; i < enrollments.rowCount(); i++) {
+            String personalId = getString(enrollments, i, enrollmentPersonalIdCol);
             if (personalId != null && !personalIds.contains(personalId)) {
-                result.addError("Enrollment EnrollmentID=" + getString(enrollment, "EnrollmentID"),
+                result.addError("Enrollment EnrollmentID=" + getString(enrollments, i, enrollmentIdCol),
                         "PersonalID not found in Client.csv: " + personalId);
             }
         }
 
         // Validate Enrollment → Project references
-        for (Map<String, Object> enrollment : enrollments) {
-            String projectId = getString(enrollment, "ProjectID");
+        for (int i = 0; i < enrollments.rowCount(); i++) {
+            String projectId = getString(enrollments, i, enrollmentProjectIdCol);
             if (projectId != null && !projectIds.contains(projectId)) {
-                result.addError("Enrollment EnrollmentID=" + getString(enrollment, "EnrollmentID"),
+                result.addError("Enrollment EnrollmentID=" + getString(enrollments, i, enrollmentIdCol),
                         "ProjectID not found in Project.csv: " + projectId);
             }
         }
 
         // Validate Exit → Enrollment references
-        for (Map<String, Object> exit : exits) {
-            String enrollmentId = getString(exit, "EnrollmentID");
+        int exitIdCol = exits.columnIndex("ExitID");
+        int exitEnrollmentIdCol = exits.columnIndex("EnrollmentID");
+        for (int i = 0; i < exits.rowCount(); i++) {
+            String enrollmentId = getString(exits, i, exitEnrollmentIdCol);
             if (enrollmentId != null && !enrollmentIds.contains(enrollmentId)) {
-                result.addError("Exit ExitID=" + getString(exit, "ExitID"),
+                result.addError("Exit ExitID=" + getString(exits, i, exitIdCol),
                         "EnrollmentID not found in Enrollment.csv: " + enrollmentId);
             }
         }
 
         // Validate Services → Enrollment references
-        for (Map<String, Object> service : services) {
-            String enrollmentId = getString(service, "EnrollmentID");
+        int servicesIdCol = services.columnIndex("ServicesID");
+        int serviceEnrollmentIdCol = services.columnIndex("EnrollmentID");
+        for (int i = 0; i < services.rowCount(); i++) {
+            String enrollmentId = getString(services, i, serviceEnrollmentIdCol);
             if (enrollmentId != null && !enrollmentIds.contains(enrollmentId)) {
-                result.addError("Service ServicesID=" + getString(service, "ServicesID"),
+                result.addError("Service ServicesID=" + getString(services, i, servicesIdCol),
                         "EnrollmentID not found in Enrollment.csv: " + enrollmentId);
             }
         }
@@ -296,43 +311,50 @@ public class HUDExportValidationService {
      * Validate date sequencing (entry before exit, etc.)
      */
     private void validateDateSequencing(
-            List<Map<String, Object>> enrollments,
-            List<Map<String, Object>> exits,
+            HudRowBuffer enrollments,
+            HudRowBuffer exits,
             ValidationResult result) {
 
         logger.info("Validating date sequencing");
 
+        int enrollmentIdCol = enrollments.columnIndex("EnrollmentID");
+        int entryDateCol = enrollments.columnIndex("EntryDate");
+        int moveInDateCol = enrollments.columnIndex("MoveInDate");
+
         // Build enrollment date map
         Map<String, LocalDate> enrollmentDates = new HashMap<>();
-        for (Map<String, Object> enrollment : enrollments) {
-            String enrollmentId = getString(enrollment, "EnrollmentID");
-            LocalDate entryDate = getDate(enrollment, "EntryDate");
+        for (int i = 0; i < enrollments.rowCount(); i++) {
+            String enrollmentId = getString(enrollments, i, enrollmentIdCol);
+            LocalDate entryDate = getDate(enrollments, i, entryDateCol);
             if (enrollmentId != null && entryDate != null) {
                 enrollmentDates.put(enrollmentId, entryDate);
             }
         }
 
         // Validate exit dates
-        for (Map<String, Object> exit : exits) {
-            String enrollmentId = getString(exit, "EnrollmentID");
-            LocalDate exitDate = getDate(exit, "ExitDate");
+        int exitIdCol = exits.columnIndex("ExitID");
+        int exitEnrollmentIdCol = exits.columnIndex("EnrollmentID");
+        int exitDateCol = exits.columnIndex("ExitDate");
+        for (int i = 0; i < exits.rowCount(); i++) {
+            String enrollmentId = getString(exits, i, exitEnrollmentIdCol);
+            LocalDate exitDate = getDate(exits, i, exitDateCol);
 
             if (enrollmentId != null && exitDate != null) {
                 LocalDate entryDate = enrollmentDates.get(enrollmentId);
                 if (entryDate != null && exitDate.isBefore(entryDate)) {
-                    result.addError("Exit ExitID=" + getString(exit, "ExitID"),
+                    result.addError("Exit ExitID=" + getString(exits, i, exitIdCol),
                             "ExitDate (" + exitDate + ") before EntryDate (" + entryDate + ")");
                 }
             }
         }
 
         // Validate move-in dates
-        for (Map<String, Object> enrollment : enrollments) {
-            LocalDate entryDate = getDate(enrollment, "EntryDate");
-            LocalDate moveInDate = getDate(enrollment, "MoveInDate");
+        for (int i = 0; i < enrollments.rowCount(); i++) {
+            LocalDate entryDate = getDate(enrollments, i, entryDateCol);
+            LocalDate moveInDate = getDate(enrollments, i, moveInDateCol);
 
             if (entryDate != null && moveInDate != null && moveInDate.isBefore(entryDate)) {
-                result.addError("Enrollment EnrollmentID=" + getString(enrollment, "EnrollmentID"),
+                result.addError("Enrollment EnrollmentID=" + getString(enrollments, i, enrollmentIdCol),
                         "MoveInDate (" + moveInDate + ") before EntryDate (" + entryDate + ")");
             }
         }
@@ -342,14 +364,12 @@ public class HUDExportValidationService {
      * Validate completeness rates for required data elements
      */
     private void validateCompletenessRates(
-            Map<String, List<Map<String, Object>>> sections,
+            HudRowBuffer clients,
+            HudRowBuffer enrollments,
             ValidationResult result) {
 
         logger.info("Validating completeness rates");
 
-        List<Map<String, Object>> clients = sections.getOrDefault("Client", Collections.emptyList());
-        List<Map<String, Object>> enrollments = sections.getOrDefault("Enrollment", Collections.emptyList());
-
         if (!clients.isEmpty()) {
             // Universal DEs: Name, SSN, DOB, Race, Gender
             double ssnComplete = calculateCompleteness(clients, "SSN");
@@ -395,10 +415,24 @@ public class HUDExportValidationService {
 
     // Helper methods
 
-    private Set<String> buildIdSet(List<Map<String, Object>> records, String idField) {
+    private HudRowBuffer section(List<HudRowBuffer> sections, String sectionName) {
+        for (HudRowBuffer section : sections) {
+            if (section.sectionName().equals(sectionName)) {
+                return section;
+            }
+        }
+        return HudRowBuffer.fromMaps(sectionName, Collections.emptyList());
+    }
+
+    private int[] columnIndexes(HudRowBuffer rows, String... columns) {
+        return Arrays.stream(columns).mapToInt(rows::columnIndex).toArray();
+    }
+
+    private Set<String> buildIdSet(HudRowBuffer records, String idField) {
+        int column = records.columnIndex(idField);
         Set<String> ids = new HashSet<>();
-        for (Map<String, Object> record : records) {
-            String id = getString(record, idField);
+        for (int i = 0; i < records.rowCount(); i++) {
+            String id = getString(records, i, column);
             if (id != null) {
                 ids.add(id);
             }
@@ -406,29 +440,58 @@ public class HUDExportValidationService {
         return ids;
     }
 
-    private double calculateCompleteness(List<Map<String, Object>> records, String field) {
+    private double calculateCompleteness(HudRowBuffer records, String field) {
         if (records.isEmpty()) return 1.0;
 
-        long nonNullCount = records.stream()
-                .filter(r -> r.get(field) != null && !r.get(field).toString().isEmpty())
-                .count();
+        int column = records.columnIndex(field);
+        long nonNullCount = 0;
+        for (int i = 0; i < records.rowCount(); i++) {
+            if (isPresent(records, i, column)) {
+                nonNullCount++;
+            }
+        }
 
-        return (double) nonNullCount / records.size();
+        return (double) nonNullCount / records.rowCount();
     }
 
-    private double calculateCompletenessEither(List<Map<String, Object>> records, String field1, String field2) {
+    private double calculateCompletenessEither(HudRowBuffer records, String field1, String field2) {
         if (records.isEmpty()) return 1.0;
 
-        long nonNullCount = records.stream()
-                .filter(r -> {
-                    Object v1 = r.get(field1);
-                    Object v2 = r.get(field2);
-                    return (v1 != null && !v1.toString().isEmpty()) ||
-                            (v2 != null && !v2.toString().isEmpty());
-                })
-                .count();
+        int column1 = records.columnIndex(field1);
+        int column2 = records.columnIndex(field2);
+        long nonNullCount = 0;
+        for (int i = 0; i < records.rowCount(); i++) {
+            if (isPresent(records, i, column1) || isPresent(records, i, column2)) {
+                nonNullCount++;
+            }
+        }
+
+        return (double) nonNullCount / records.rowCount();
+    }
+
+    private boolean isPresent(HudRowBuffer records, int row, int column) {
+        if (column < 0 || records.isNull(row, column)) {
+            return false;
+        }
+        // Dictionary-encoded codes and epoch-day dates are never blank
+        return records.hasValidCode(row, column) || !records.get(row, column).toString().isEmpty();
+    }
+
+    private boolean anyTrue(HudRowBuffer records, int row, int[] columns) {
+        for (int column : columns) {
+            Boolean value = getBoolean(records, row, column);
+            if (value != null && value) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-        return (double) nonNullCount / records.size();
+    /**
+     * A picklist cell that encoded to its dictionary is already known to be on the HUD list
+     */
+    private boolean isValidCode(HudRowBuffer records, int row, int column, Integer value, Integer... validValues) {
+        return records.hasValidCode(row, column) || isValidCodeListValue(value, validValues);
     }
 
     private boolean isValidCodeListValue(Integer value, Integer... validValues) {
@@ -446,13 +509,13 @@ public class HUDExportValidationService {
         return validDestinations.contains(destination);
     }
 
-    private String getString(Map<String, Object> record, String field) {
-        Object value = record.get(field);
+    private String getString(HudRowBuffer records, int row, int column) {
+        Object value = column >= 0 ? records.get(row, column) : null;
         return value != null ? value.toString() : null;
     }
 
-    private Integer getInteger(Map<String, Object> record, String field) {
-        Object value = record.get(field);
+    private Integer getInteger(HudRowBuffer records, int row, int column) {
+        Object value = column >= 0 ? records.get(row, column) : null;
         if (value == null) return null;
         if (value instanceof Integer) return (Integer) value;
         if (value instanceof Number) return ((Number) value).intValue();
@@ -463,16 +526,16 @@ public class HUDExportValidationService {
         }
     }
 
-    private Boolean getBoolean(Map<String, Object> record, String field) {
-        Object value = record.get(field);
+    private Boolean getBoolean(HudRowBuffer records, int row, int column) {
+        Object value = column >= 0 ? records.get(row, column) : null;
         if (value == null) return null;
         if (value instanceof Boolean) return (Boolean) value;
         if (value instanceof Number) return ((Number) value).intValue() == 1;
         return Boolean.parseBoolean(value.toString());
     }
 
-    private LocalDate getDate(Map<String, Object> record, String field) {
-        Object value = record.get(field);
+    private LocalDate getDate(HudRowBuffer records, int row, int column) {
+        Object value = column >= 0 ? records.get(row, column) : null;
         if (value == null) return null;
         if (value instanceof LocalDate) return (LocalDate) value;
         if (value instanceof java.sql.Date) return ((java.sql.Date) value).toLocalDate();
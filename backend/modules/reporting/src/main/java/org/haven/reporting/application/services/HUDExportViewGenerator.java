@@ -53,13 +53,24 @@ public class HUDExportViewGenerator {
     }
 
     /**
-     * Generate Client.csv data
+     * Generate Client.csv data as map rows
      */
     @Transactional(readOnly = true)
     public List<Map<String, Object>> generateClientCsv(
             ExportPeriod period,
             List<UUID> projectIds,
             String cocCode) {
+        return generateClientSection(period, projectIds, cocCode).toMaps();
+    }
+
+    /**
+     * Generate Client.csv data
+     */
+    @Transactional(readOnly = true)
+    public HudRowBuffer generateClientSection(
+            ExportPeriod period,
+            List<UUID> projectIds,
+            String cocCode) {
 
         List<ReportingFieldMapping> mappings = metadataRepository
                 .findActiveBySpecType("HMIS_CSV", LocalDate.now())
@@ -78,17 +89,28 @@ public class HUDExportViewGenerator {
         @SuppressWarnings("unchecked")
         List<Object[]> results = query.getResultList();
 
-        return transformToMaps(results, mappings);
+        return transformToBuffer("Client", results, mappings);
     }
 
     /**
-     * Generate Enrollment.csv data
+     * Generate Enrollment.csv data as map rows
      */
     @Transactional(readOnly = true)
     public List<Map<String, Object>> generateEnrollmentCsv(
             ExportPeriod period,
             List<UUID> projectIds,
             String cocCode) {
+        return generateEnrollmentSection(period, projectIds, cocCode).toMaps();
+    }
+
+    /**
+     * Generate Enrollment.csv data
+     */
+    @Transactional(readOnly = true)
+    public HudRowBuffer generateEnrollmentSection(
+            ExportPeriod period,
+            List<UUID> projectIds,
+            String cocCode) {
 
         List<ReportingFieldMapping> mappings = metadataRepository
                 .findActiveBySpecType("HMIS_CSV", LocalDate.now())
@@ -108,17 +130,28 @@ public class HUDExportViewGenerator {
         @SuppressWarnings("unchecked")
         List<Object[]> results = query.getResultList();
 
-        return transformToMaps(results, mappings);
+        return transformToBuffer("Enrollment", results, mappings);
     }
 
     /**
-     * Generate Services.csv data with VAWA filtering
+     * Generate Services.csv data as map rows
      */
     @Transactional(readOnly = true)
     public List<Map<String, Object>> generateServicesCsv(
             ExportPeriod period,
             List<UUID> projectIds,
             String cocCode) {
+        return generateServicesSection(period, projectIds, cocCode).toMaps();
+    }
+
+    /**
+     * Generate Services.csv data with VAWA filtering
+     */
+    @Transactional(readOnly = true)
+    public HudRowBuffer generateServicesSection(
+            ExportPeriod period,
+            List<UUID> projectIds,
+            String cocCode) {
 
         List<ReportingFieldMapping> mappings = metadataRepository
                 .findActiveBySpecType("HMIS_CSV", LocalDate.now())
@@ -138,17 +171,28 @@ public class HUDExportViewGenerator {
         @SuppressWarnings("unchecked")
         List<Object[]> results = query.getResultList();
 
-        return transformToMaps(results, mappings);
+        return transformToBuffer("Services", results, mappings);
     }
 
     /**
-     * Generate CurrentLivingSituation.csv data with VAWA filtering
+     * Generate CurrentLivingSituation.csv data as map rows
      */
     @Transactional(readOnly = true)
     public List<Map<String, Object>> generateCurrentLivingSituationCsv(
             ExportPeriod period,
             List<UUID> projectIds,
             String cocCode) {
+        return generateCurrentLivingSituationSection(period, projectIds, cocCode).toMaps();
+    }
+
+    /**
+     * Generate CurrentLivingSituation.csv data with VAWA filtering
+     */
+    @Transactional(readOnly = true)
+    public HudRowBuffer generateCurrentLivingSituationSection(
+            ExportPeriod period,
+            List<UUID> projectIds,
+            String cocCode) {
 
         List<ReportingFieldMapping> mappings = metadataRepository
                 .findActiveBySpecType("HMIS_CSV", LocalDate.now())
@@ -167,7 +211,7 @@ public class HUDExportViewGenerator {
         @SuppressWarnings("unchecked")
         List<Object[]> results = query.getResultList();
 
-        return transformToMaps(results, mappings);
+        return transformToBuffer("CurrentLivingSituation", results, mappings);
     }
 
     /**
@@ -365,38 +409,41 @@ public class HUDExportViewGenerator {
     }
 
     /**
-     * Transform query results to maps keyed by CSV field names
+     * Transform query results into a typed section buffer. Columns whose mapping suppresses
+     * VAWA-sensitive values are left out of the section entirely; redacted values are masked.
      */
-    private List<Map<String, Object>> transformToMaps(
+    private HudRowBuffer transformToBuffer(
+            String sectionName,
             List<Object[]> results,
             List<ReportingFieldMapping> mappings) {
 
-        List<Map<String, Object>> output = new ArrayList<>();
+        List<String> columns = new ArrayList<>();
+        List<Integer> sourceIndexes = new ArrayList<>();
+        List<Boolean> redacted = new ArrayList<>();
+        for (int i = 0; i < mappings.size(); i++) {
+            ReportingFieldMapping mapping = mappings.get(i);
+            String suppressionBehavior = mapping.isVawaSensitiveField() ? mapping.getVawaSuppressionBehavior() : null;
+            if ("SUPPRESS".equals(suppressionBehavior)) {
+                continue;
+            }
+            // AGGREGATE_ONLY: handled at aggregate report level, not row-level
+            columns.add(mapping.getCsvFieldName());
+            sourceIndexes.add(i);
+            redacted.add("REDACT".equals(suppressionBehavior));
+        }
+
+        HudRowBuffer.Builder builder = HudRowBuffer.builder(sectionName, columns, results.size());
+        Object[] values = new Object[columns.size()];
 
         for (Object[] row : results) {
-            Map<String, Object> record = new LinkedHashMap<>();
-
-            for (int i = 0; i < mappings.size() && i < row.length; i++) {
-                ReportingFieldMapping mapping = mappings.get(i);
-                Object value = row[i];
-
-                // Apply VAWA suppression if configured
-                if (mapping.isVawaSensitiveField() && value != null) {
-                    String suppressionBehavior = mapping.getVawaSuppressionBehavior();
-                    if ("REDACT".equals(suppressionBehavior)) {
-                        value = "***REDACTED***";
-                    } else if ("SUPPRESS".equals(suppressionBehavior)) {
-                        continue; // Skip field entirely
-                    }
-                    // AGGREGATE_ONLY: handled at aggregate report level, not row-level
-                }
-
-                record.put(mapping.getCsvFieldName(), value);
+            for (int c = 0; c < values.length; c++) {
+                int source = sourceIndexes.get(c);
+                Object value = source < row.length ? row[source] : null;
+                values[c] = value != null && redacted.get(c) ? "***REDACTED***" : value;
             }
-
-            output.add(record);
+            builder.addRow(values);
         }
 
-        return output;
+        return builder.build();
     }
 }
@@ -76,15 +76,16 @@ public class HmisCsvExportService {
             UUID exportRequestedBy,
             List<String> exporterRoles) throws IOException {
         
-        // Apply restricted note filters
-        List<HmisClientProjection> filteredClients = filterService.filterClientProjections(
-            clients, exportRequestedBy, exporterRoles);
+        // Apply restricted note filters; clients' notes are screened once for all sections
+        ExportClientEligibility eligibility = filterService.computeEligibility(
+            clients, enrollments, incomeBenefits, healthAndDv, exportRequestedBy, exporterRoles);
+        List<HmisClientProjection> filteredClients = filterService.filterClientProjections(clients, eligibility);
         List<HmisEnrollmentProjection> filteredEnrollments = filterService.filterEnrollmentProjections(
-            enrollments, exportRequestedBy, exporterRoles);
+            enrollments, eligibility);
         List<HmisIncomeBenefitsProjection> filteredIncomeBenefits = filterService.filterIncomeBenefitsProjections(
-            incomeBenefits, exportRequestedBy, exporterRoles);
+            incomeBenefits, eligibility);
         List<HmisHealthAndDvProjection> filteredHealthAndDv = filterService.filterHealthAndDvProjections(
-            healthAndDv, exportRequestedBy, exporterRoles);
+            healthAndDv, eligibility);
         
         try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
              ZipOutputStream zipOut = new ZipOutputStream(baos)) {
@@ -296,4 +297,4 @@ public class HmisCsvExportService {
         
         zipOut.closeEntry();
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
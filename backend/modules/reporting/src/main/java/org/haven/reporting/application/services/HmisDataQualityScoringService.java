@@ -0,0 +1,211 @@
+package org.haven.reporting.application.services;
+
+import org.haven.clientprofile.domain.Client;
+import org.haven.clientprofile.domain.ClientRepository;
+import org.haven.clientprofile.infrastructure.persistence.ClientPersisted;
+import org.haven.clientprofile.infrastructure.persistence.ClientRemoved;
+import org.haven.programenrollment.domain.ProgramEnrollment;
+import org.haven.programenrollment.domain.ProgramEnrollmentRepository;
+import org.haven.programenrollment.infrastructure.persistence.ProgramEnrollmentPersisted;
+import org.haven.programenrollment.infrastructure.persistence.ProgramEnrollmentRemoved;
+import org.haven.reporting.domain.dataquality.ClientDataQualityScore;
+import org.haven.reporting.domain.dataquality.ClientDataQualitySummary;
+import org.haven.reporting.domain.dataquality.DataQualityScope;
+import org.haven.reporting.domain.dataquality.EnrollmentDataQualityCounts;
+import org.haven.reporting.domain.dataquality.EnrollmentDataQualityScore;
+import org.haven.reporting.domain.dataquality.HmisDataQualityRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Maintains HMIS data-quality scores incrementally.
+ *
+ * Every client and enrollment save is scored in the saving transaction; the difference
+ * between the stored and the new score is applied as a delta to the organization-wide,
+ * per-project and per-CoC rollups, which are bucketed by enrollment day. Dashboard
+ * queries then sum at most a year of buckets instead of loading every client and enrollment.
+ */
+@Service
+public class HmisDataQualityScoringService {
+
+    private static final Logger logger = LoggerFactory.getLogger(HmisDataQualityScoringService.class);
+
+    private static final LocalDate REBUILD_FROM = LocalDate.of(1900, 1, 1);
+
+    private final HmisDataQualityRepository repository;
+    private final ClientRepository clientRepository;
+    private final ProgramEnrollmentRepository enrollmentRepository;
+
+    public HmisDataQualityScoringService(
+            HmisDataQualityRepository repository,
+            @Lazy ClientRepository clientRepository,
+            @Lazy ProgramEnrollmentRepository enrollmentRepository) {
+        this.repository = repository;
+        this.clientRepository = clientRepository;
+        this.enrollmentRepository = enrollmentRepository;
+    }
+
+    @EventListener
+    @Transactional
+    public void onClientPersisted(ClientPersisted event) {
+        repository.lockForUpdate(false);
+        scoreClient(event.client());
+    }
+
+    @EventListener
+    @Transactional
+    public void onClientRemoved(ClientRemoved event) {
+        repository.lockForUpdate(false);
+        repository.findClientScoreForUpdate(event.clientId()).ifPresent(before -> {
+            repository.deleteClientScore(before.clientId());
+            applyClientChange(before, null);
+        });
+    }
+
+    @EventListener
+    @Transactional
+    public void onEnrollmentPersisted(ProgramEnrollmentPersisted event) {
+        repository.lockForUpdate(false);
+        scoreEnrollment(event.enrollment(), new HashMap<>());
+    }
+
+    @EventListener
+    @Transactional
+    public void onEnrollmentRemoved(ProgramEnrollmentRemoved event) {
+        repository.lockForUpdate(false);
+        repository.findEnrollmentScoreForUpdate(event.enrollmentId()).ifPresent(before -> {
+            repository.deleteEnrollmentScore(before.enrollmentId());
+            applyEnrollmentChange(before, null);
+        });
+    }
+
+    /**
+     * Organization-wide client totals
+     */
+    @Transactional
+    public ClientDataQualitySummary getClientSummary() {
+        return ensureBuilt();
+    }
+
+    /**
+     * Enrollment totals for one scope key over an inclusive enrollment-date window
+     */
+    @Transactional
+    public EnrollmentDataQualityCounts getEnrollmentCounts(DataQualityScope scope, String scopeKey,
+                                                           LocalDate from, LocalDate to) {
+        ensureBuilt();
+        return repository.sumEnrollments(scope, scopeKey, from, to);
+    }
+
+    /**
+     * Enrollment totals for every project or CoC with enrollments in the window
+     */
+    @Transactional
+    public Map<String, EnrollmentDataQualityCounts> getEnrollmentCountsByKey(DataQualityScope scope,
+                                                                            LocalDate from, LocalDate to) {
+        ensureBuilt();
+        return repository.sumEnrollmentsByKey(scope, from, to);
+    }
+
+    /**
+     * Recompute every score and rollup from the source aggregates. Runs automatically the
+     * first time scores are read; afterwards only needed if scoring rules change.
+     */
+    @Transactional
+    public ClientDataQualitySummary rebuildAll() {
+        repository.lockForUpdate(true);
+        return rebuild();
+    }
+
+    private ClientDataQualitySummary ensureBuilt() {
+        Optional<ClientDataQualitySummary> summary = repository.findClientSummary();
+        if (summary.isPresent()) {
+            return summary.get();
+        }
+        repository.lockForUpdate(true);
+        // Another instance may have built the scores while we waited for the lock
+        return repository.findClientSummary().orElseGet(this::rebuild);
+    }
+
+    private ClientDataQualitySummary rebuild() {
+        long started = System.currentTimeMillis();
+        repository.clearAll();
+        repository.applyClientDelta(0, 0, 0.0);
+
+        List<Client> clients = clientRepository.findActiveClients();
+        clients.forEach(this::scoreClient);
+
+        Map<UUID, Optional<String>> continuumCodes = new HashMap<>();
+        List<ProgramEnrollment> enrollments = enrollmentRepository.findByEnrollmentDateBetween(
+            REBUILD_FROM, LocalDate.now().plusYears(1));
+        enrollments.forEach(enrollment -> scoreEnrollment(enrollment, continuumCodes));
+
+        logger.info("Rebuilt HMIS data-quality scores for {} clients and {} enrollments in {} ms",
+            clients.size(), enrollments.size(), System.currentTimeMillis() - started);
+        return repository.findClientSummary().orElse(ClientDataQualitySummary.EMPTY);
+    }
+
+    private void scoreClient(Client client) {
+        ClientDataQualityScore after = ClientDataQualityScore.of(client);
+        ClientDataQualityScore before = repository.findClientScoreForUpdate(after.clientId()).orElse(null);
+        if (after.equals(before)) {
+            return;
+        }
+        repository.saveClientScore(after);
+        applyClientChange(before, after);
+    }
+
+    private void scoreEnrollment(ProgramEnrollment enrollment, Map<UUID, Optional<String>> continuumCodes) {
+        String continuumCode = enrollment.getProgramId() == null ? null
+            : continuumCodes.computeIfAbsent(enrollment.getProgramId(), repository::findContinuumCode).orElse(null);
+        EnrollmentDataQualityScore after = EnrollmentDataQualityScore.of(enrollment, continuumCode);
+        EnrollmentDataQualityScore before = repository.findEnrollmentScoreForUpdate(after.enrollmentId()).orElse(null);
+        if (after.equals(before)) {
+            return;
+        }
+        repository.saveEnrollmentScore(after);
+        applyEnrollmentChange(before, after);
+    }
+
+    private void applyClientChange(ClientDataQualityScore before, ClientDataQualityScore after) {
+        long total = (after != null ? 1 : 0) - (before != null ? 1 : 0);
+        long compliant = (after != null && after.hmisCompliant() ? 1 : 0)
+            - (before != null && before.hmisCompliant() ? 1 : 0);
+        double score = (after != null ? after.score() : 0.0) - (before != null ? before.score() : 0.0);
+        repository.applyClientDelta(total, compliant, score);
+    }
+
+    /**
+     * Move an enrollment's counts from the buckets it was in to the buckets it is in now
+     */
+    private void applyEnrollmentChange(EnrollmentDataQualityScore before, EnrollmentDataQualityScore after) {
+        if (before != null && before.enrollmentDate() != null) {
+            applyToScopes(before, before.counts().negate());
+        }
+        if (after != null && after.enrollmentDate() != null) {
+            applyToScopes(after, after.counts());
+        }
+    }
+
+    private void applyToScopes(EnrollmentDataQualityScore score, EnrollmentDataQualityCounts delta) {
+        LocalDate day = score.enrollmentDate();
+        repository.applyEnrollmentDelta(DataQualityScope.ALL, DataQualityScope.ALL_KEY, day, delta);
+        if (score.programId() != null) {
+            repository.applyEnrollmentDelta(DataQualityScope.PROJECT, score.programId().toString(), day, delta);
+        }
+        if (score.continuumCode() != null) {
+            repository.applyEnrollmentDelta(DataQualityScope.COC, score.continuumCode(), day, delta);
+        }
+    }
+}
@@ -4,6 +4,9 @@ import org.haven.clientprofile.domain.Client;
 import org.haven.clientprofile.domain.ClientRepository;
 import org.haven.programenrollment.domain.ProgramEnrollment;
 import org.haven.programenrollment.domain.ProgramEnrollmentRepository;
+import org.haven.reporting.domain.dataquality.ClientDataQualitySummary;
+import org.haven.reporting.domain.dataquality.DataQualityScope;
+import org.haven.reporting.domain.dataquality.EnrollmentDataQualityCounts;
 import org.haven.reporting.domain.hmis.*;
 import org.haven.reporting.domain.sage.SageAggregateData;
 import org.haven.shared.vo.hmis.*;
@@ -28,16 +31,19 @@ public class HmisIntegrationService {
     private final ProgramEnrollmentRepository enrollmentRepository;
     private final HmisCsvExportService csvExportService;
     private final SageAggregationService sageService;
+    private final HmisDataQualityScoringService dataQualityScoringService;
 
     public HmisIntegrationService(
             ClientRepository clientRepository,
             @Lazy ProgramEnrollmentRepository enrollmentRepository,
             HmisCsvExportService csvExportService,
-            SageAggregationService sageService) {
+            SageAggregationService sageService,
+            HmisDataQualityScoringService dataQualityScoringService) {
         this.clientRepository = clientRepository;
         this.enrollmentRepository = enrollmentRepository;
         this.csvExportService = csvExportService;
         this.sageService = sageService;
+        this.dataQualityScoringService = dataQualityScoringService;
     }
 
     /**
@@ -284,85 +290,53 @@ public class HmisIntegrationService {
 
     /**
      * Validate HMIS data quality across the system
+     * Read from the incrementally maintained scores rather than rescanning clients and enrollments
      */
     public HmisDataQualityReport validateHmisDataQuality() {
-        // Use active clients as proxy for all clients for data quality reporting
-        List<Client> activeClients = clientRepository.findActiveClients();
-        
-        // Use all enrollments within a broad date range as proxy for all enrollments
-        LocalDate yearAgo = LocalDate.now().minusYears(1);
-        LocalDate today = LocalDate.now();
-        List<ProgramEnrollment> recentEnrollments = enrollmentRepository.findByEnrollmentDateBetween(yearAgo, today);
-        
-        int totalClients = activeClients.size();
-        int hmisCompliantClients = (int) activeClients.stream()
-            .filter(Client::isHmisCompliant)
-            .count();
-        
-        int totalEnrollments = recentEnrollments.size();
-        int hmisCompliantEnrollments = (int) recentEnrollments.stream()
-            .filter(ProgramEnrollment::meetsHmisDataQuality)
-            .count();
-        
-        double avgClientDataQuality = activeClients.stream()
-            .mapToDouble(client -> client.getHmisDataQualityScore() != null ? client.getHmisDataQualityScore() : 0)
-            .average()
-            .orElse(0.0);
+        ClientDataQualitySummary clients = dataQualityScoringService.getClientSummary();
+        EnrollmentDataQualityCounts enrollments = recentEnrollmentCounts(DataQualityScope.ALL, DataQualityScope.ALL_KEY);
         
         return new HmisDataQualityReport(
-            totalClients,
-            hmisCompliantClients,
-            totalEnrollments,
-            hmisCompliantEnrollments,
-            avgClientDataQuality
+            (int) clients.totalClients(),
+            (int) clients.compliantClients(),
+            (int) enrollments.totalEnrollments(),
+            (int) enrollments.compliantEnrollments(),
+            clients.averageScore()
         );
     }
     
+    /**
+     * Enrollment data quality for one project (program id) or CoC over the last year
+     */
+    public EnrollmentDataQualityCounts validateEnrollmentDataQuality(DataQualityScope scope, String scopeKey) {
+        return recentEnrollmentCounts(scope, scopeKey);
+    }
+    
     /**
      * Validate Joint TH/RRH data quality specifically
      * Ensures proper linkage, household ID consistency, and RRH move-in dates
      */
     public JointThRrhDataQualityReport validateJointThRrhDataQuality() {
-        LocalDate yearAgo = LocalDate.now().minusYears(1);
-        LocalDate today = LocalDate.now();
-        List<ProgramEnrollment> recentEnrollments = enrollmentRepository.findByEnrollmentDateBetween(yearAgo, today);
-        
-        // Filter for joint TH/RRH enrollments
-        List<ProgramEnrollment> linkedEnrollments = recentEnrollments.stream()
-            .filter(ProgramEnrollment::isLinkedEnrollment)
-            .collect(Collectors.toList());
-        
-        List<ProgramEnrollment> rrhEnrollments = linkedEnrollments.stream()
-            .filter(e -> e.getProjectType() != null && e.getProjectType().isRapidRehousing())
-            .collect(Collectors.toList());
+        EnrollmentDataQualityCounts enrollments = recentEnrollmentCounts(DataQualityScope.ALL, DataQualityScope.ALL_KEY);
         
-        // Data quality checks
-        int totalLinkedEnrollments = linkedEnrollments.size();
-        int rrhWithMoveInDate = (int) rrhEnrollments.stream()
-            .filter(ProgramEnrollment::hasResidentialMoveIn)
-            .count();
-        int consistentHouseholdIds = validateHouseholdIdConsistency(linkedEnrollments);
-        int validTransitionDates = validateTransitionDates(linkedEnrollments);
+        int totalLinkedEnrollments = (int) enrollments.linkedEnrollments();
+        // Household ID and transition date checks need the predecessor enrollment;
+        // until that lookup exists every linked enrollment is counted as consistent and valid
+        int consistentHouseholdIds = totalLinkedEnrollments;
+        int validTransitionDates = totalLinkedEnrollments;
         
         return new JointThRrhDataQualityReport(
             totalLinkedEnrollments,
-            rrhEnrollments.size(),
-            rrhWithMoveInDate,
+            (int) enrollments.rrhLinkedEnrollments(),
+            (int) enrollments.rrhLinkedWithMoveIn(),
             consistentHouseholdIds,
             validTransitionDates
         );
     }
     
-    private int validateHouseholdIdConsistency(List<ProgramEnrollment> linkedEnrollments) {
-        // This would validate that TH and RRH enrollments share the same household ID
-        // For now, assume all are consistent (would need predecessor lookup)
-        return linkedEnrollments.size();
-    }
-    
-    private int validateTransitionDates(List<ProgramEnrollment> linkedEnrollments) {
-        // This would validate that RRH enrollment date is after TH enrollment
-        // For now, assume all are valid (would need predecessor lookup)
-        return linkedEnrollments.size();
+    private EnrollmentDataQualityCounts recentEnrollmentCounts(DataQualityScope scope, String scopeKey) {
+        LocalDate today = LocalDate.now();
+        return dataQualityScoringService.getEnrollmentCounts(scope, scopeKey, today.minusYears(1), today);
     }
 
     /**
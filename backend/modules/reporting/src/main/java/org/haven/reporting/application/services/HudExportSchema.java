@@ -0,0 +1,166 @@
+package org.haven.reporting.application.services;
+
+import org.haven.reporting.application.validation.HudPicklistCodes;
+
+import java.util.*;
+
+/**
+ * Column layout of the HUD HMIS CSV sections: the mandated column order and the storage type
+ * of each column in a {@link HudRowBuffer}.
+ *
+ * Picklist columns are dictionary-encoded against their {@link HudPicklistCodes} set, date
+ * columns are stored as epoch days, and everything else is kept as the generated value.
+ */
+public final class HudExportSchema {
+
+    private HudExportSchema() {
+        // Utility class
+    }
+
+    public enum ColumnType {
+        TEXT, DATE, PICKLIST
+    }
+
+    // HUD-mandated column order for common sections
+    static final Map<String, List<String>> HUD_COLUMN_ORDER = Map.of(
+            "Export", List.of("ExportID", "ExportDate", "ExportStartDate", "ExportEndDate", "SourceSystemName", "SourceSystemID", "SourceContactEmail", "SourceContactPhone", "ExportPeriodType", "PeriodType", "HashStatus"),
+            "Organization", List.of("OrganizationID", "OrganizationName", "VictimServiceProvider", "OrganizationCommonName", "DateCreated", "DateUpdated", "UserID", "DateDeleted", "ExportID"),
+            "Project", List.of("ProjectID", "OrganizationID", "ProjectName", "ProjectCommonName", "ContinuumProject", "ProjectType", "ResidentialAffiliation", "TrackingMethod", "TargetPopulation", "PITCount", "DateCreated", "DateUpdated", "UserID", "DateDeleted", "ExportID"),
+            "Enrollment", List.of("EnrollmentID", "PersonalID", "ProjectID", "EntryDate", "HouseholdID", "RelationshipToHoH", "EnrollmentCoC", "LivingSituation", "LOSUnderThreshold", "PreviousStreetESSH", "DateToStreetESSH", "TimesHomelessPastThreeYears", "MonthsHomelessPastThreeYears", "DisablingCondition", "DateOfEngagement", "MoveInDate", "DateOfPATHStatus", "ClientEnrolledInPATH", "ReasonNotEnrolled", "DateCreated", "DateUpdated", "UserID", "DateDeleted", "ExportID"),
+            "Exit", List.of("ExitID", "EnrollmentID", "PersonalID", "ExitDate", "Destination", "OtherDestination", "HousingAssessment", "SubsidyInformation", "ProjectCompletionStatus", "EarlyExitReason", "ExchangeForSex", "ExchangeForSexPastThreeMonths", "CountOfExchangeForSex", "AskedOrForcedToExchangeForSex", "AskedOrForcedToExchangeForSexPastThreeMonths", "WorkPlaceViolenceThreats", "WorkplacePromiseDifference", "CoercedToContinueWork", "LaborExploitPastThreeMonths", "CounselingReceived", "IndividualCounseling", "FamilyCounseling", "GroupCounseling", "SessionCountAtExit", "PostExitCounselingPlan", "SessionsInPlan", "DestinationSafeClient", "DestinationSafeWorker", "PosAdultConnections", "PosPeerConnections", "PosCommunityConnections", "AftercareDate", "AftercareProvided", "EmailSocialMedia", "Telephone", "InPersonIndividual", "InPersonGroup", "CMExitReason", "DateCreated", "DateUpdated", "UserID", "DateDeleted", "ExportID"),
+            "Client", List.of("PersonalID", "FirstName", "MiddleName", "LastName", "NameSuffix", "NameDataQuality", "SSN", "SSNDataQuality", "DOB", "DOBDataQuality", "AmIndAKNative", "Asian", "BlackAfAmerican", "NativeHIPacific", "White", "RaceNone", "AdditionalRaceEthnicity", "Woman", "Man", "NonBinary", "CulturallySpecific", "Transgender", "Questioning", "DifferentIdentity", "GenderNone", "DifferentIdentityText", "DateCreated", "DateUpdated", "UserID", "DateDeleted", "ExportID"),
+            "Services", List.of("ServicesID", "EnrollmentID", "PersonalID", "DateProvided", "RecordType", "TypeProvided", "OtherTypeProvided", "SubTypeProvided", "FAAmount", "ReferralOutcome", "DateCreated", "DateUpdated", "UserID", "DateDeleted", "ExportID"),
+            "IncomeBenefits", List.of("IncomeBenefitsID", "EnrollmentID", "PersonalID", "InformationDate", "IncomeFromAnySource", "TotalMonthlyIncome", "Earned", "EarnedAmount", "Unemployment", "UnemploymentAmount", "SSI", "SSIAmount", "SSDI", "SSDIAmount", "VADisabilityService", "VADisabilityServiceAmount", "VADisabilityNonService", "VADisabilityNonServiceAmount", "PrivateDisability", "PrivateDisabilityAmount", "WorkersComp", "WorkersCompAmount", "TANF", "TANFAmount", "GA", "GAAmount", "SocSecRetirement", "SocSecRetirementAmount", "Pension", "PensionAmount", "ChildSupport", "ChildSupportAmount", "Alimony", "AlimonyAmount", "OtherIncomeSource", "OtherIncomeAmount", "OtherIncomeSourceIdentify", "BenefitsFromAnySource", "SNAP", "WIC", "TANFChildCare", "TANFTransportation", "OtherTANF", "OtherBenefitsSource", "OtherBenefitsSourceIdentify", "InsuranceFromAnySource", "Medicaid", "Medicare", "SCHIP", "VAMedicalServices", "EmployerProvided", "COBRA", "PrivatePay", "StateHealthIns", "IndianHealthServices", "OtherInsurance", "OtherInsuranceIdentify", "DataCollectionStage", "DateCreated", "DateUpdated", "UserID", "DateDeleted", "ExportID"),
+            "HealthAndDV", List.of("HealthAndDVID", "EnrollmentID", "PersonalID", "InformationDate", "DomesticViolenceVictim", "WhenOccurred", "CurrentlyFleeing", "GeneralHealthStatus", "DentalHealthStatus", "MentalHealthStatus", "PregnancyStatus", "DueDate", "DataCollectionStage", "DateCreated", "DateUpdated", "UserID", "DateDeleted", "ExportID"),
+            "Disabilities", List.of("DisabilitiesID", "EnrollmentID", "PersonalID", "InformationDate", "DisabilityType", "DisabilityResponse", "IndefiniteAndImpairs", "TCellCount", "TCellSource", "ViralLoadAvailable", "ViralLoad", "ViralLoadSource", "AntiRetroviral", "DataCollectionStage", "DateCreated", "DateUpdated", "UserID", "DateDeleted", "ExportID")
+    );
+
+    // DateCreated/DateUpdated/DateDeleted are timestamps and stay TEXT
+    private static final Set<String> DATE_COLUMNS = Set.of(
+            "ExportDate", "ExportStartDate", "ExportEndDate", "EntryDate", "DateToStreetESSH",
+            "DateOfEngagement", "MoveInDate", "DateOfPATHStatus", "ExitDate", "AftercareDate", "DOB",
+            "DateProvided", "InformationDate", "DueDate"
+    );
+
+    private static final Picklist RACE = new Picklist("1.8 Race", HudPicklistCodes.RACE_CATEGORY);
+    private static final Picklist GENDER = new Picklist("1.10 Gender", HudPicklistCodes.GENDER_CATEGORY);
+    private static final Picklist DATA_COLLECTION_STAGE =
+            new Picklist("4.05 Data Collection Stage", HudPicklistCodes.DATA_COLLECTION_STAGE);
+    private static final Picklist HEALTH_STATUS = new Picklist("4.11 Health Status", HudPicklistCodes.HEALTH_STATUS);
+
+    // RaceNone and GenderNone carry 8/9/99 rather than 0/1, so they are not encoded as flags
+    private static final Map<String, Map<String, Picklist>> PICKLIST_COLUMNS = Map.of(
+            "Client", Map.ofEntries(
+                    Map.entry("NameDataQuality", new Picklist("1.4 Name Data Quality", HudPicklistCodes.NAME_DATA_QUALITY)),
+                    Map.entry("SSNDataQuality", new Picklist("1.5 SSN Data Quality", HudPicklistCodes.SSN_DATA_QUALITY)),
+                    Map.entry("DOBDataQuality", new Picklist("1.6 DOB Data Quality", HudPicklistCodes.DOB_DATA_QUALITY)),
+                    Map.entry("AmIndAKNative", RACE),
+                    Map.entry("Asian", RACE),
+                    Map.entry("BlackAfAmerican", RACE),
+                    Map.entry("NativeHIPacific", RACE),
+                    Map.entry("White", RACE),
+                    Map.entry("Woman", GENDER),
+                    Map.entry("Man", GENDER),
+                    Map.entry("NonBinary", GENDER),
+                    Map.entry("CulturallySpecific", GENDER),
+                    Map.entry("Transgender", GENDER),
+                    Map.entry("Questioning", GENDER),
+                    Map.entry("DifferentIdentity", GENDER)),
+            "Project", Map.of(
+                    "ProjectType", new Picklist("3.15 Project Type", HudPicklistCodes.PROJECT_TYPE)),
+            "Enrollment", Map.of(
+                    "RelationshipToHoH", new Picklist("1.27 Relationship to HoH", HudPicklistCodes.RELATIONSHIP_TO_HOH),
+                    "DisablingCondition", new Picklist("1.7 Disabling Condition", HudPicklistCodes.DISABLING_CONDITION),
+                    "LivingSituation", new Picklist("3.917 Living Situation", HudPicklistCodes.LIVING_SITUATION)),
+            "Exit", Map.of(
+                    "Destination", new Picklist("3.12 Destination", HudPicklistCodes.DESTINATION)),
+            "Services", Map.of(
+                    "RecordType", new Picklist("Record Type", HudPicklistCodes.RECORD_TYPE)),
+            "IncomeBenefits", Map.of(
+                    "DataCollectionStage", DATA_COLLECTION_STAGE),
+            "HealthAndDV", Map.of(
+                    "DomesticViolenceVictim", new Picklist("4.10 Domestic Violence", HudPicklistCodes.DOMESTIC_VIOLENCE),
+                    "WhenOccurred", new Picklist("4.10.2 When DV Occurred", HudPicklistCodes.WHEN_DV_OCCURRED),
+                    "GeneralHealthStatus", HEALTH_STATUS,
+                    "DentalHealthStatus", HEALTH_STATUS,
+                    "MentalHealthStatus", HEALTH_STATUS,
+                    "DataCollectionStage", DATA_COLLECTION_STAGE),
+            "Disabilities", Map.of(
+                    "DisabilityType", new Picklist("4.12 Disability Type", HudPicklistCodes.DISABILITY_TYPE),
+                    "DisabilityResponse", new Picklist("4.12 Disability Response", HudPicklistCodes.DISABILITY_RESPONSE),
+                    "DataCollectionStage", DATA_COLLECTION_STAGE)
+    );
+
+    /**
+     * Orders a section's columns: HUD-mandated order for the columns present, then any extra
+     * columns alphabetically. Sections without a HUD layout are fully alphabetical.
+     */
+    public static List<String> columnOrder(String sectionName, Collection<String> availableColumns) {
+        List<String> hudOrder = HUD_COLUMN_ORDER.get(sectionName);
+        List<String> result = new ArrayList<>(availableColumns.size());
+        Set<String> available = new HashSet<>(availableColumns);
+        if (hudOrder != null) {
+            for (String column : hudOrder) {
+                if (available.remove(column)) {
+                    result.add(column);
+                }
+            }
+        }
+        available.stream().sorted().forEach(result::add);
+        return result;
+    }
+
+    public static ColumnType columnType(String sectionName, String column) {
+        if (picklist(sectionName, column) != null) {
+            return ColumnType.PICKLIST;
+        }
+        return DATE_COLUMNS.contains(column) ? ColumnType.DATE : ColumnType.TEXT;
+    }
+
+    /**
+     * @return the picklist a column is encoded against, or null if it is not a picklist column
+     */
+    public static Picklist picklist(String sectionName, String column) {
+        Map<String, Picklist> columns = PICKLIST_COLUMNS.get(sectionName);
+        return columns != null ? columns.get(column) : null;
+    }
+
+    /**
+     * A HUD picklist as a sorted code dictionary; a cell stores the index of its code
+     */
+    public static final class Picklist {
+        private final String label;
+        private final Set<Integer> validCodes;
+        private final int[] codes;
+
+        Picklist(String label, Set<Integer> validCodes) {
+            this.label = label;
+            this.validCodes = validCodes;
+            this.codes = validCodes.stream().mapToInt(Integer::intValue).sorted().toArray();
+        }
+
+        public String label() {
+            return label;
+        }
+
+        public Set<Integer> validCodes() {
+            return validCodes;
+        }
+
+        public int size() {
+            return codes.length;
+        }
+
+        /**
+         * @return the dictionary index of a code, or -1 if the code is not on the picklist
+         */
+        public int indexOf(int code) {
+            int index = Arrays.binarySearch(codes, code);
+            return index >= 0 ? index : -1;
+        }
+
+        public int codeAt(int index) {
+            return codes[index];
+        }
+    }
+}
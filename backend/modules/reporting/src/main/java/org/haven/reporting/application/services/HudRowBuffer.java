@@ -0,0 +1,390 @@
+package org.haven.reporting.application.services;
+
+import org.haven.reporting.application.services.HudExportSchema.ColumnType;
+import org.haven.reporting.application.services.HudExportSchema.Picklist;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Column-oriented rows of one HUD export section.
+ *
+ * Columns are laid out in HUD order ({@link HudExportSchema#columnOrder}) and stored by type:
+ * picklist codes as one byte dictionary index per row, dates as int epoch days, and other values
+ * as objects. Values a typed column cannot encode (an off-picklist code, a date given as text)
+ * are kept verbatim on the side, so {@link #get} always returns what the generator produced
+ * and validators still see invalid values.
+ */
+public final class HudRowBuffer {
+
+    private final String sectionName;
+    private final List<String> columns;
+    private final Map<String, Integer> columnIndexes;
+    private final Column[] vectors;
+    private int rowCount;
+
+    private HudRowBuffer(String sectionName, List<String> columns, int capacity) {
+        this.sectionName = sectionName;
+        this.columns = List.copyOf(columns);
+        this.columnIndexes = new HashMap<>();
+        this.vectors = new Column[columns.size()];
+        for (int i = 0; i < columns.size(); i++) {
+            String column = columns.get(i);
+            columnIndexes.put(column, i);
+            vectors[i] = switch (HudExportSchema.columnType(sectionName, column)) {
+                case PICKLIST -> new PicklistColumn(HudExportSchema.picklist(sectionName, column), capacity);
+                case DATE -> new DateColumn(capacity);
+                case TEXT -> new ObjectColumn(capacity);
+            };
+        }
+    }
+
+    /**
+     * Starts a buffer for a section whose values will arrive in {@code inputColumns} order.
+     * Repeated input columns resolve to one column, the last value written winning.
+     */
+    public static Builder builder(String sectionName, List<String> inputColumns, int expectedRows) {
+        return new Builder(sectionName, inputColumns, expectedRows);
+    }
+
+    /**
+     * Adapts map rows. The section's columns are every key seen in any row; rows lacking a key
+     * hold null for it.
+     */
+    public static HudRowBuffer fromMaps(String sectionName, List<Map<String, Object>> rows) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (Map<String, Object> row : rows) {
+            keys.addAll(row.keySet());
+        }
+        List<String> inputColumns = new ArrayList<>(keys);
+        Builder builder = builder(sectionName, inputColumns, rows.size());
+        Object[] values = new Object[inputColumns.size()];
+        for (Map<String, Object> row : rows) {
+            for (int i = 0; i < values.length; i++) {
+                values[i] = row.get(inputColumns.get(i));
+            }
+            builder.addRow(values);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Adapts a map-per-section export, keeping section order
+     */
+    public static List<HudRowBuffer> fromSections(Map<String, List<Map<String, Object>>> sections) {
+        List<HudRowBuffer> buffers = new ArrayList<>(sections.size());
+        sections.forEach((name, rows) -> buffers.add(fromMaps(name, rows)));
+        return buffers;
+    }
+
+    public String sectionName() {
+        return sectionName;
+    }
+
+    public List<String> columns() {
+        return columns;
+    }
+
+    public int rowCount() {
+        return rowCount;
+    }
+
+    public int columnCount() {
+        return columns.size();
+    }
+
+    public boolean isEmpty() {
+        return rowCount == 0;
+    }
+
+    /**
+     * @return the column's position, or -1 if the section has no such column
+     */
+    public int columnIndex(String column) {
+        Integer index = columnIndexes.get(column);
+        return index != null ? index : -1;
+    }
+
+    public ColumnType columnType(int column) {
+        return vectors[column].type();
+    }
+
+    public Object get(int row, int column) {
+        return vectors[column].get(row);
+    }
+
+    public Object get(int row, String column) {
+        int index = columnIndex(column);
+        return index >= 0 ? vectors[index].get(row) : null;
+    }
+
+    public boolean isNull(int row, int column) {
+        return vectors[column].isNull(row);
+    }
+
+    /**
+     * Whether a picklist cell holds a code from its picklist. False for null cells,
+     * off-picklist codes and non-picklist columns.
+     */
+    public boolean hasValidCode(int row, int column) {
+        return vectors[column] instanceof PicklistColumn picklist && picklist.indexes[row] >= 0;
+    }
+
+    /**
+     * @return the picklist a column is encoded against, or null for other columns
+     */
+    public Picklist picklist(int column) {
+        return vectors[column] instanceof PicklistColumn picklist ? picklist.picklist : null;
+    }
+
+    public Map<String, Object> rowAsMap(int row) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < vectors.length; i++) {
+            map.put(columns.get(i), vectors[i].get(row));
+        }
+        return map;
+    }
+
+    public List<Map<String, Object>> toMaps() {
+        List<Map<String, Object>> rows = new ArrayList<>(rowCount);
+        for (int row = 0; row < rowCount; row++) {
+            rows.add(rowAsMap(row));
+        }
+        return rows;
+    }
+
+    /**
+     * Adapts buffers back to a map-per-section export for consumers that still take maps
+     */
+    public static Map<String, List<Map<String, Object>>> toSections(List<HudRowBuffer> buffers) {
+        Map<String, List<Map<String, Object>>> sections = new LinkedHashMap<>();
+        for (HudRowBuffer buffer : buffers) {
+            sections.put(buffer.sectionName(), buffer.toMaps());
+        }
+        return sections;
+    }
+
+    /**
+     * Appends rows given in input column order
+     */
+    public static final class Builder {
+        private final HudRowBuffer buffer;
+        private final int[] targets;
+
+        private Builder(String sectionName, List<String> inputColumns, int expectedRows) {
+            List<String> ordered = HudExportSchema.columnOrder(sectionName, new LinkedHashSet<>(inputColumns));
+            this.buffer = new HudRowBuffer(sectionName, ordered, Math.max(expectedRows, 1));
+            this.targets = new int[inputColumns.size()];
+            for (int i = 0; i < targets.length; i++) {
+                targets[i] = buffer.columnIndex(inputColumns.get(i));
+            }
+        }
+
+        public Builder addRow(Object[] values) {
+            int row = buffer.rowCount;
+            for (Column vector : buffer.vectors) {
+                vector.ensureCapacity(row + 1);
+                vector.set(row, null);
+            }
+            for (int i = 0; i < targets.length && i < values.length; i++) {
+                buffer.vectors[targets[i]].set(row, values[i]);
+            }
+            buffer.rowCount++;
+            return this;
+        }
+
+        public HudRowBuffer build() {
+            return buffer;
+        }
+    }
+
+    private abstract static class Column {
+        // Values the typed encoding cannot represent, kept verbatim by row
+        private Map<Integer, Object> verbatim;
+
+        abstract ColumnType type();
+
+        abstract Object get(int row);
+
+        abstract void set(int row, Object value);
+
+        abstract boolean isNull(int row);
+
+        abstract void ensureCapacity(int rows);
+
+        void putVerbatim(int row, Object value) {
+            if (verbatim == null) {
+                verbatim = new HashMap<>();
+            }
+            verbatim.put(row, value);
+        }
+
+        void clearVerbatim(int row) {
+            if (verbatim != null) {
+                verbatim.remove(row);
+            }
+        }
+
+        Object verbatim(int row) {
+            return verbatim.get(row);
+        }
+
+        static int grow(int current, int required) {
+            return Math.max(required, current + (current >> 1) + 1);
+        }
+    }
+
+    private static final class ObjectColumn extends Column {
+        private Object[] values;
+
+        ObjectColumn(int capacity) {
+            this.values = new Object[capacity];
+        }
+
+        @Override
+        ColumnType type() {
+            return ColumnType.TEXT;
+        }
+
+        @Override
+        Object get(int row) {
+            return values[row];
+        }
+
+        @Override
+        void set(int row, Object value) {
+            values[row] = value;
+        }
+
+        @Override
+        boolean isNull(int row) {
+            return values[row] == null;
+        }
+
+        @Override
+        void ensureCapacity(int rows) {
+            if (rows > values.length) {
+                values = Arrays.copyOf(values, grow(values.length, rows));
+            }
+        }
+    }
+
+    private static final class DateColumn extends Column {
+        private static final int NULL = Integer.MIN_VALUE;
+        private static final int VERBATIM = Integer.MIN_VALUE + 1;
+
+        private int[] epochDays;
+
+        DateColumn(int capacity) {
+            this.epochDays = new int[capacity];
+        }
+
+        @Override
+        ColumnType type() {
+            return ColumnType.DATE;
+        }
+
+        @Override
+        Object get(int row) {
+            int day = epochDays[row];
+            if (day == NULL) {
+                return null;
+            }
+            return day == VERBATIM ? verbatim(row) : LocalDate.ofEpochDay(day);
+        }
+
+        @Override
+        void set(int row, Object value) {
+            if (epochDays[row] == VERBATIM) {
+                clearVerbatim(row);
+            }
+            if (value == null) {
+                epochDays[row] = NULL;
+            } else if (value instanceof LocalDate date) {
+                epochDays[row] = (int) date.toEpochDay();
+            } else if (value instanceof java.sql.Date date) {
+                epochDays[row] = (int) date.toLocalDate().toEpochDay();
+            } else {
+                epochDays[row] = VERBATIM;
+                putVerbatim(row, value);
+            }
+        }
+
+        @Override
+        boolean isNull(int row) {
+            return epochDays[row] == NULL;
+        }
+
+        @Override
+        void ensureCapacity(int rows) {
+            if (rows > epochDays.length) {
+                epochDays = Arrays.copyOf(epochDays, grow(epochDays.length, rows));
+            }
+        }
+    }
+
+    private static final class PicklistColumn extends Column {
+        private static final byte NULL = -1;
+        private static final byte VERBATIM = -2;
+
+        private final Picklist picklist;
+        private byte[] indexes;
+
+        PicklistColumn(Picklist picklist, int capacity) {
+            if (picklist.size() > Byte.MAX_VALUE) {
+                throw new IllegalArgumentException("Picklist too large for byte encoding: " + picklist.label());
+            }
+            this.picklist = picklist;
+            this.indexes = new byte[capacity];
+        }
+
+        @Override
+        ColumnType type() {
+            return ColumnType.PICKLIST;
+        }
+
+        @Override
+        Object get(int row) {
+            byte index = indexes[row];
+            if (index == NULL) {
+                return null;
+            }
+            return index == VERBATIM ? verbatim(row) : picklist.codeAt(index);
+        }
+
+        @Override
+        void set(int row, Object value) {
+            if (indexes[row] == VERBATIM) {
+                clearVerbatim(row);
+            }
+            if (value == null) {
+                indexes[row] = NULL;
+                return;
+            }
+            int index = isIntegral(value) ? picklist.indexOf(((Number) value).intValue()) : -1;
+            if (index >= 0 && ((Number) value).longValue() == picklist.codeAt(index)) {
+                indexes[row] = (byte) index;
+            } else {
+                indexes[row] = VERBATIM;
+                putVerbatim(row, value);
+            }
+        }
+
+        @Override
+        boolean isNull(int row) {
+            return indexes[row] == NULL;
+        }
+
+        @Override
+        void ensureCapacity(int rows) {
+            if (rows > indexes.length) {
+                indexes = Arrays.copyOf(indexes, grow(indexes.length, rows));
+            }
+        }
+
+        private static boolean isIntegral(Object value) {
+            return value instanceof Integer || value instanceof Short || value instanceof Byte
+                    || value instanceof Long;
+        }
+    }
+}
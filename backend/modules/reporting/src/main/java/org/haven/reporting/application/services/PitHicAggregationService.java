@@ -1,28 +1,34 @@
 package org.haven.reporting.application.services;
 
-import org.haven.reporting.domain.pithic.HicInventoryData;
-import org.haven.reporting.domain.pithic.PitCensusData;
+import org.haven.reporting.domain.pithic.*;
 import org.haven.shared.vo.UserId;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 
 /**
- * Lightweight aggregation facade used while the housing assistance module is absent.
- * It produces empty but structurally valid PIT/HIC payloads so that downstream flows continue to work.
+ * Generates PIT census and HIC inventory aggregates for one continuum/organization partition.
+ * Source rows are loaded per partition, reduced by {@link PitHicAggregationEngine} and the
+ * result upserted, so partitions can be generated concurrently and re-run idempotently.
  */
 @Service
 public class PitHicAggregationService {
 
-    private final Map<UUID, PitCensusData> pitStore = new ConcurrentHashMap<>();
-    private final Map<UUID, HicInventoryData> hicStore = new ConcurrentHashMap<>();
+    private final PitHicSourceDataRepository sourceDataRepository;
+    private final PitHicDataRepository dataRepository;
 
+    public PitHicAggregationService(PitHicSourceDataRepository sourceDataRepository,
+                                    PitHicDataRepository dataRepository) {
+        this.sourceDataRepository = sourceDataRepository;
+        this.dataRepository = dataRepository;
+    }
+
+    @Transactional
     public PitCensusData generatePitCensusData(LocalDate censusDate,
                                                String continuumCode,
                                                String organizationId,
@@ -35,22 +41,16 @@ public class PitHicAggregationService {
             generatedBy != null ? generatedBy.getValue() : "system"
         );
 
-        censusData.aggregateHouseholdData(new PitCensusData.HouseholdAggregation(0, 0, 0, 0));
-        censusData.aggregateDemographicData(new PitCensusData.DemographicAggregation(
-            0, 0, 0, 0,
-            0, 0, 0, 0, 0,
-            0, 0, 0, 0, 0, 0, 0
-        ));
-        censusData.aggregateSpecialPopulationData(new PitCensusData.SpecialPopulationAggregation(0, 0, 0, 0, 0, 0));
-        censusData.aggregateLocationData(new PitCensusData.LocationAggregation(0, 0, 0, 0));
-        censusData.updateDataQualityMetrics(0, 0, 1.0);
-        censusData.getMetadata().put("note",
-            "Generated by placeholder PIT aggregation while housing-assistance module is unavailable.");
+        List<PitCensusStay> stays = sourceDataRepository.findCensusNightStays(censusDate, continuumCode, organizationId);
+        PitHicAggregationEngine.aggregatePitCensus(censusData, stays);
+        censusData.getMetadata().put("sourceEnrollments", stays.size());
+        censusData.getMetadata().put("unshelteredSource",
+            "Street outreach enrollments only; street count tallies are not imported");
 
-        pitStore.put(censusData.getCensusId(), censusData);
-        return censusData;
+        return dataRepository.savePitCensus(censusData);
     }
 
+    @Transactional
     public HicInventoryData generateHicInventoryData(LocalDate inventoryDate,
                                                      String continuumCode,
                                                      String organizationId,
@@ -63,55 +63,29 @@ public class PitHicAggregationService {
             generatedBy != null ? generatedBy.getValue() : "system"
         );
 
-        inventoryData.aggregateEmergencyShelterData(new HicInventoryData.EmergencyShelterAggregation(
-            0, 0, 0, 0, 0, 0, 0, 0, 0, 0
-        ));
-        inventoryData.aggregateTransitionalHousingData(new HicInventoryData.TransitionalHousingAggregation(
-            0, 0, 0, 0, 0, 0, 0
-        ));
-        inventoryData.aggregateRapidRehousingData(new HicInventoryData.RapidRehousingAggregation(
-            0, 0, 0, 0, 0, 0
-        ));
-        inventoryData.aggregatePermanentSupportiveData(new HicInventoryData.PermanentSupportiveAggregation(
-            0, 0, 0, 0, 0, 0, 0
-        ));
-        inventoryData.updateUtilizationMetrics(new HicInventoryData.UtilizationMetrics(
-            0.0, 0.0, 0.0, 0.0, 0.0
-        ));
-        inventoryData.updatePitOccupancy(new HicInventoryData.PitOccupancy(0, 0, 0, 0, 0));
-        inventoryData.updateDataQualityMetrics(0, 0, 1.0);
-        inventoryData.getMetadata().put("note",
-            "Generated by placeholder HIC aggregation while housing-assistance module is unavailable.");
+        List<HicProjectInventory> projects =
+            sourceDataRepository.findProjectInventory(inventoryDate, continuumCode, organizationId);
+        Map<String, Integer> occupied =
+            sourceDataRepository.countOccupiedByProjectType(inventoryDate, continuumCode, organizationId);
+        PitHicAggregationEngine.aggregateHicInventory(inventoryData, projects, occupied);
+        inventoryData.getMetadata().put("sourceProjects", projects.size());
 
-        hicStore.put(inventoryData.getInventoryId(), inventoryData);
-        return inventoryData;
+        return dataRepository.saveHicInventory(inventoryData);
     }
 
     public Optional<PitCensusData> findPitCensus(UUID censusId) {
-        return Optional.ofNullable(pitStore.get(censusId));
+        return dataRepository.findPitCensus(censusId);
     }
 
     public Optional<HicInventoryData> findHicInventory(UUID inventoryId) {
-        return Optional.ofNullable(hicStore.get(inventoryId));
+        return dataRepository.findHicInventory(inventoryId);
     }
 
     public List<PitCensusData> listPitCensusBetween(LocalDate start, LocalDate end) {
-        return pitStore.values().stream()
-            .filter(data -> !data.getCensusDate().isBefore(start) && !data.getCensusDate().isAfter(end))
-            .collect(Collectors.toList());
+        return dataRepository.findPitCensusBetween(start, end);
     }
 
     public List<HicInventoryData> listHicInventoryBetween(LocalDate start, LocalDate end) {
-        return hicStore.values().stream()
-            .filter(data -> !data.getInventoryDate().isBefore(start) && !data.getInventoryDate().isAfter(end))
-            .collect(Collectors.toList());
-    }
-
-    public Map<UUID, PitCensusData> getPitStoreSnapshot() {
-        return Map.copyOf(pitStore);
-    }
-
-    public Map<UUID, HicInventoryData> getHicStoreSnapshot() {
-        return Map.copyOf(hicStore);
+        return dataRepository.findHicInventoryBetween(start, end);
     }
 }
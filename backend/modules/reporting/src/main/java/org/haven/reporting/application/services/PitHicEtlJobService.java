@@ -2,10 +2,14 @@ package org.haven.reporting.application.services;
 
 import org.haven.reporting.domain.pithic.HicInventoryData;
 import org.haven.reporting.domain.pithic.PitCensusData;
+import org.haven.reporting.domain.pithic.PitHicEtlJobRecord;
+import org.haven.reporting.domain.pithic.PitHicEtlJobRepository;
 import org.haven.shared.vo.UserId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
@@ -15,12 +19,16 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 /**
- * Lightweight scheduler that delegates to {@link PitHicAggregationService}. The original implementation
- * persisted output through the housing assistance module; with that module removed we simply keep
- * results in memory and expose basic job status so downstream callers remain operational.
+ * Schedules and runs PIT/HIC ETL jobs. A job fans out one task per continuum/organization partition
+ * onto the bounded {@code pitHicAggregationExecutor}; each partition is generated and persisted
+ * independently through {@link PitHicAggregationService}. Job progress is written to
+ * pit_hic_etl_jobs as partitions finish so status can be polled from any instance.
  */
 @Service
 public class PitHicEtlJobService {
@@ -28,6 +36,8 @@ public class PitHicEtlJobService {
     private static final Logger log = LoggerFactory.getLogger(PitHicEtlJobService.class);
 
     private final PitHicAggregationService aggregationService;
+    private final PitHicEtlJobRepository jobRepository;
+    private final TaskExecutor aggregationExecutor;
 
     @Value("${pithic.etl.enabled:true}")
     private boolean etlEnabled;
@@ -49,8 +59,12 @@ public class PitHicEtlJobService {
 
     private final Map<UUID, JobStatus> activeJobs = new ConcurrentHashMap<>();
 
-    public PitHicEtlJobService(PitHicAggregationService aggregationService) {
+    public PitHicEtlJobService(PitHicAggregationService aggregationService,
+                               PitHicEtlJobRepository jobRepository,
+                               @Qualifier("pitHicAggregationExecutor") TaskExecutor aggregationExecutor) {
         this.aggregationService = aggregationService;
+        this.jobRepository = jobRepository;
+        this.aggregationExecutor = aggregationExecutor;
     }
 
     @Value("${pithic.etl.continuums:}")
@@ -84,55 +98,56 @@ public class PitHicEtlJobService {
     }
 
     public UUID startPitCensusJob(LocalDate censusDate, String trigger, UserId initiatedBy) {
-        UUID jobId = UUID.randomUUID();
-        JobStatus status = new JobStatus(jobId, JobType.PIT_CENSUS, censusDate, trigger);
-        activeJobs.put(jobId, status);
-        log.info("Starting PIT census job {} for date {} (trigger: {})", jobId, censusDate, trigger);
+        return startPitCensusJob(censusDate, trigger, initiatedBy, continuumCodes, organizationIds);
+    }
 
-        try {
-            status.startProcessing();
-            for (String continuum : safeList(continuumCodes)) {
-                for (String org : safeList(organizationIds)) {
-                    PitCensusData data = aggregationService.generatePitCensusData(censusDate, continuum, org, initiatedBy);
-                    status.incrementProcessed();
-                    log.debug("Generated PIT census {} for continuum {} org {}", data.getCensusId(), continuum, org);
-                }
-            }
-            status.complete();
-        } catch (Exception ex) {
-            status.fail();
-            status.incrementErrors();
-            log.error("PIT census job {} failed", jobId, ex);
-        }
-        return jobId;
+    /**
+     * Start a PIT census job and return immediately; poll {@link #getJobStatus(UUID)} for progress
+     */
+    public UUID startPitCensusJob(LocalDate censusDate, String trigger, UserId initiatedBy,
+                                  List<String> continuums, List<String> organizations) {
+        JobStatus status = newJob(JobType.PIT_CENSUS, censusDate, trigger, initiatedBy, continuums, organizations);
+        log.info("Starting PIT census job {} for date {} across {} partitions (trigger: {})",
+            status.getJobId(), censusDate, status.getTotalCount(), trigger);
+        fanOut(status, continuums, organizations,
+            partition -> aggregationService.generatePitCensusData(
+                censusDate, partition.continuumCode(), partition.organizationId(), initiatedBy));
+        return status.getJobId();
     }
 
     public UUID startHicInventoryJob(LocalDate inventoryDate, String trigger, UserId initiatedBy) {
-        UUID jobId = UUID.randomUUID();
-        JobStatus status = new JobStatus(jobId, JobType.HIC_INVENTORY, inventoryDate, trigger);
-        activeJobs.put(jobId, status);
-        log.info("Starting HIC inventory job {} for date {} (trigger: {})", jobId, inventoryDate, trigger);
+        return startHicInventoryJob(inventoryDate, trigger, initiatedBy, continuumCodes, organizationIds);
+    }
 
-        try {
-            status.startProcessing();
-            for (String continuum : safeList(continuumCodes)) {
-                for (String org : safeList(organizationIds)) {
-                    HicInventoryData data = aggregationService.generateHicInventoryData(inventoryDate, continuum, org, initiatedBy);
-                    status.incrementProcessed();
-                    log.debug("Generated HIC inventory {} for continuum {} org {}", data.getInventoryId(), continuum, org);
-                }
-            }
-            status.complete();
-        } catch (Exception ex) {
-            status.fail();
-            status.incrementErrors();
-            log.error("HIC inventory job {} failed", jobId, ex);
-        }
-        return jobId;
+    /**
+     * Start a HIC inventory job and return immediately; poll {@link #getJobStatus(UUID)} for progress
+     */
+    public UUID startHicInventoryJob(LocalDate inventoryDate, String trigger, UserId initiatedBy,
+                                     List<String> continuums, List<String> organizations) {
+        JobStatus status = newJob(JobType.HIC_INVENTORY, inventoryDate, trigger, initiatedBy, continuums, organizations);
+        log.info("Starting HIC inventory job {} for date {} across {} partitions (trigger: {})",
+            status.getJobId(), inventoryDate, status.getTotalCount(), trigger);
+        fanOut(status, continuums, organizations,
+            partition -> aggregationService.generateHicInventoryData(
+                inventoryDate, partition.continuumCode(), partition.organizationId(), initiatedBy));
+        return status.getJobId();
     }
 
+    /**
+     * Status of a running job, falling back to the persisted row once it has finished
+     * or when it was started by another instance
+     */
     public JobStatus getJobStatus(UUID jobId) {
-        return activeJobs.get(jobId);
+        JobStatus active = activeJobs.get(jobId);
+        if (active != null) {
+            return active;
+        }
+        try {
+            return jobRepository.findById(jobId).map(JobStatus::fromRecord).orElse(null);
+        } catch (RuntimeException ex) {
+            log.warn("Could not load PIT/HIC job {} from storage", jobId, ex);
+            return null;
+        }
     }
 
     public void configureCensusWindows(CensusWindowConfig config) {
@@ -144,26 +159,134 @@ public class PitHicEtlJobService {
             pitCensusMonth, pitCensusDay, hicCensusMonth, hicCensusDay);
     }
 
+    /**
+     * Generate PIT and HIC data for every date/partition in the range, fanned out on the
+     * aggregation executor, and wait for all of them. Results keep date/continuum/organization order.
+     */
     public AdhocJobResult runAdhocAggregation(LocalDate startDate,
                                               LocalDate endDate,
                                               List<String> specificContinuums,
                                               List<String> specificOrganizations,
                                               UserId initiatedBy) {
-        List<PitCensusData> pitResults = new ArrayList<>();
-        List<HicInventoryData> hicResults = new ArrayList<>();
-
-        LocalDate current = startDate;
-        while (!current.isAfter(endDate)) {
-            for (String continuum : safeList(specificContinuums)) {
-                for (String org : safeList(specificOrganizations)) {
-                    pitResults.add(aggregationService.generatePitCensusData(current, continuum, org, initiatedBy));
-                    hicResults.add(aggregationService.generateHicInventoryData(current, continuum, org, initiatedBy));
-                }
+        List<Partition> partitions = partitions(specificContinuums, specificOrganizations);
+        int days = (int) (endDate.toEpochDay() - startDate.toEpochDay()) + 1;
+        int totalCount = Math.max(days, 0) * partitions.size();
+        JobStatus pitStatus = newJob(JobType.PIT_CENSUS, startDate, "ADHOC", initiatedBy, totalCount);
+        JobStatus hicStatus = newJob(JobType.HIC_INVENTORY, startDate, "ADHOC", initiatedBy, totalCount);
+        pitStatus.startProcessing();
+        hicStatus.startProcessing();
+
+        List<CompletableFuture<PitCensusData>> pitFutures = new ArrayList<>();
+        List<CompletableFuture<HicInventoryData>> hicFutures = new ArrayList<>();
+        for (LocalDate current = startDate; !current.isAfter(endDate); current = current.plusDays(1)) {
+            LocalDate date = current;
+            for (Partition partition : partitions) {
+                pitFutures.add(track(pitStatus, CompletableFuture.supplyAsync(() ->
+                    aggregationService.generatePitCensusData(
+                        date, partition.continuumCode(), partition.organizationId(), initiatedBy),
+                    aggregationExecutor)));
+                hicFutures.add(track(hicStatus, CompletableFuture.supplyAsync(() ->
+                    aggregationService.generateHicInventoryData(
+                        date, partition.continuumCode(), partition.organizationId(), initiatedBy),
+                    aggregationExecutor)));
             }
-            current = current.plusDays(1);
         }
 
-        return new AdhocJobResult(UUID.randomUUID(), UUID.randomUUID(), pitResults, hicResults);
+        List<PitCensusData> pitResults = collect(pitStatus, pitFutures);
+        List<HicInventoryData> hicResults = collect(hicStatus, hicFutures);
+        return new AdhocJobResult(pitStatus.getJobId(), hicStatus.getJobId(), pitResults, hicResults);
+    }
+
+    private JobStatus newJob(JobType type, LocalDate processDate, String trigger, UserId initiatedBy,
+                             List<String> continuums, List<String> organizations) {
+        return newJob(type, processDate, trigger, initiatedBy, partitions(continuums, organizations).size());
+    }
+
+    private JobStatus newJob(JobType type, LocalDate processDate, String trigger, UserId initiatedBy,
+                             int totalCount) {
+        JobStatus status = new JobStatus(UUID.randomUUID(), type, processDate, trigger,
+            initiatedBy != null ? initiatedBy.getValue() : "system", totalCount);
+        activeJobs.put(status.getJobId(), status);
+        persist(status);
+        return status;
+    }
+
+    private void fanOut(JobStatus status, List<String> continuums, List<String> organizations,
+                        Function<Partition, ?> work) {
+        status.startProcessing();
+        persist(status);
+
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        for (Partition partition : partitions(continuums, organizations)) {
+            futures.add(track(status, CompletableFuture.supplyAsync(() -> work.apply(partition), aggregationExecutor)));
+        }
+
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+            .whenComplete((ignored, failure) -> finish(status));
+    }
+
+    /**
+     * Count each partition as it completes and checkpoint progress
+     */
+    private <T> CompletableFuture<T> track(JobStatus status, CompletableFuture<T> partition) {
+        return partition.whenComplete((result, failure) -> {
+            if (failure != null) {
+                status.recordError(failure);
+                log.error("PIT/HIC job {} partition failed", status.getJobId(), failure);
+            } else {
+                status.incrementProcessed();
+            }
+            persist(status);
+        });
+    }
+
+    private <T> List<T> collect(JobStatus status, List<CompletableFuture<T>> futures) {
+        List<T> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<T> future : futures) {
+            try {
+                results.add(future.join());
+            } catch (RuntimeException ex) {
+                // Already counted by track(); keep the partitions that succeeded
+            }
+        }
+        finish(status);
+        return results;
+    }
+
+    private void finish(JobStatus status) {
+        if (status.getErrorCount() > 0 && status.getProcessedCount() == 0) {
+            status.fail();
+        } else {
+            status.complete();
+        }
+        log.info("PIT/HIC job {} {}: {} partitions processed, {} failed",
+            status.getJobId(), status.getState(), status.getProcessedCount(), status.getErrorCount());
+        if (persist(status)) {
+            activeJobs.remove(status.getJobId());
+        }
+    }
+
+    /**
+     * Job progress is best effort; a storage hiccup must not fail the aggregation itself
+     */
+    private boolean persist(JobStatus status) {
+        try {
+            jobRepository.save(status.toRecord());
+            return true;
+        } catch (RuntimeException ex) {
+            log.warn("Could not persist progress for PIT/HIC job {}", status.getJobId(), ex);
+            return false;
+        }
+    }
+
+    private List<Partition> partitions(List<String> continuums, List<String> organizations) {
+        List<Partition> partitions = new ArrayList<>();
+        for (String continuum : safeList(continuums)) {
+            for (String org : safeList(organizations)) {
+                partitions.add(new Partition(continuum, org));
+            }
+        }
+        return partitions;
     }
 
     private List<String> safeList(List<String> values) {
@@ -200,56 +323,100 @@ public class PitHicEtlJobService {
         FAILED
     }
 
+    private record Partition(String continuumCode, String organizationId) {}
+
+    /**
+     * Live job progress. Partitions complete on executor threads, so counters are atomic and
+     * state transitions are published through volatile fields.
+     */
     public static class JobStatus {
         private final UUID jobId;
         private final JobType type;
         private final LocalDate processDate;
         private final String trigger;
-        private JobState state = JobState.PENDING;
-        private LocalDateTime startTime;
-        private LocalDateTime endTime;
-        private int processedCount;
-        private int errorCount;
-
-        JobStatus(UUID jobId, JobType type, LocalDate processDate, String trigger) {
+        private final String initiatedBy;
+        private final int totalCount;
+        private final AtomicInteger processedCount = new AtomicInteger();
+        private final AtomicInteger errorCount = new AtomicInteger();
+        private volatile JobState state = JobState.PENDING;
+        private volatile LocalDateTime startTime;
+        private volatile LocalDateTime endTime;
+        private volatile String errorMessage;
+
+        JobStatus(UUID jobId, JobType type, LocalDate processDate, String trigger,
+                  String initiatedBy, int totalCount) {
             this.jobId = jobId;
             this.type = type;
             this.processDate = processDate;
             this.trigger = trigger;
+            this.initiatedBy = initiatedBy;
+            this.totalCount = totalCount;
+        }
+
+        static JobStatus fromRecord(PitHicEtlJobRecord record) {
+            JobStatus status = new JobStatus(record.jobId(), JobType.valueOf(record.jobType()),
+                record.processDate(), record.triggerType(), record.initiatedBy(), record.totalPartitions());
+            status.state = JobState.valueOf(record.state());
+            status.startTime = record.startTime();
+            status.endTime = record.endTime();
+            status.processedCount.set(record.processedCount());
+            status.errorCount.set(record.errorCount());
+            status.errorMessage = record.errorMessage();
+            return status;
+        }
+
+        PitHicEtlJobRecord toRecord() {
+            return new PitHicEtlJobRecord(jobId, type.name(), processDate, trigger, state.name(),
+                startTime, endTime, totalCount, processedCount.get(), errorCount.get(), initiatedBy, errorMessage);
         }
 
         void startProcessing() {
-            this.state = JobState.RUNNING;
             this.startTime = LocalDateTime.now();
+            this.state = JobState.RUNNING;
         }
 
         void complete() {
-            this.state = JobState.COMPLETED;
             this.endTime = LocalDateTime.now();
+            this.state = JobState.COMPLETED;
         }
 
         void fail() {
-            this.state = JobState.FAILED;
             this.endTime = LocalDateTime.now();
+            this.state = JobState.FAILED;
         }
 
         void incrementProcessed() {
-            this.processedCount++;
+            processedCount.incrementAndGet();
         }
 
-        void incrementErrors() {
-            this.errorCount++;
+        void recordError(Throwable failure) {
+            errorCount.incrementAndGet();
+            Throwable cause = failure.getCause() != null ? failure.getCause() : failure;
+            this.errorMessage = cause.getMessage();
         }
 
         public UUID getJobId() { return jobId; }
         public JobType getType() { return type; }
         public LocalDate getProcessDate() { return processDate; }
         public String getTrigger() { return trigger; }
+        public String getInitiatedBy() { return initiatedBy; }
         public JobState getState() { return state; }
         public LocalDateTime getStartTime() { return startTime; }
         public LocalDateTime getEndTime() { return endTime; }
-        public int getProcessedCount() { return processedCount; }
-        public int getErrorCount() { return errorCount; }
+        public int getTotalCount() { return totalCount; }
+        public int getProcessedCount() { return processedCount.get(); }
+        public int getErrorCount() { return errorCount.get(); }
+        public String getErrorMessage() { return errorMessage; }
+
+        /**
+         * Share of partitions finished, successfully or not, in the range 0-100
+         */
+        public int getProgressPercent() {
+            if (totalCount == 0) {
+                return state == JobState.COMPLETED ? 100 : 0;
+            }
+            return (getProcessedCount() + getErrorCount()) * 100 / totalCount;
+        }
     }
 
     public record CensusWindowConfig(int pitCensusDay,
@@ -2,19 +2,29 @@ package org.haven.reporting.application.services;
 
 import org.haven.casemgmt.application.services.RestrictedNoteService;
 import org.haven.casemgmt.domain.RestrictedNote;
+import org.haven.casemgmt.domain.RestrictedNoteSummary;
+import org.haven.reporting.application.services.ExportClientEligibility.ClientExportProfile;
 import org.haven.reporting.domain.hmis.*;
 import org.haven.shared.vo.hmis.HmisPersonalId;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service for filtering HMIS exports to exclude data from restricted notes
  * Ensures that privileged notes stay suppressed in exports
+ *
+ * Restricted notes are screened once per export: {@link #computeEligibility} reads the notes of
+ * every exported client in one read-model query and resolves each client to an allowed flag and
+ * redaction profile. Section filters then look clients up in that table instead of reloading notes.
  */
 @Service
 public class RestrictedNoteExportFilterService {
@@ -45,18 +55,68 @@ public class RestrictedNoteExportFilterService {
         }
     }
     
+    /**
+     * Resolve every client of an export to its export decision and redaction profile
+     * with a single bulk query over the restricted-note read model
+     */
+    public ExportClientEligibility computeEligibility(Collection<HmisPersonalId> personalIds,
+                                                      UUID exportRequestedBy,
+                                                      List<String> exporterRoles) {
+        Map<String, UUID> clientIdsByPersonalId = new LinkedHashMap<>();
+        for (HmisPersonalId personalId : personalIds) {
+            if (personalId != null && !clientIdsByPersonalId.containsKey(personalId.value())) {
+                UUID clientId = convertPersonalIdToClientId(personalId);
+                if (clientId != null) {
+                    clientIdsByPersonalId.put(personalId.value(), clientId);
+                }
+            }
+        }
+        
+        Map<UUID, List<RestrictedNoteSummary>> notesByClient = restrictedNoteService
+            .getAccessibleNoteSummariesForClients(clientIdsByPersonalId.values(), exportRequestedBy, exporterRoles)
+            .stream()
+            .collect(Collectors.groupingBy(RestrictedNoteSummary::clientId));
+        
+        Map<String, ClientExportProfile> profiles = new HashMap<>();
+        clientIdsByPersonalId.forEach((personalId, clientId) -> profiles.put(personalId,
+            buildProfile(notesByClient.getOrDefault(clientId, List.of()), exporterRoles)));
+        return new ExportClientEligibility(profiles);
+    }
+    
+    /**
+     * Resolve the clients of all sections of an export in one pass
+     */
+    public ExportClientEligibility computeEligibility(List<HmisClientProjection> clients,
+                                                      List<HmisEnrollmentProjection> enrollments,
+                                                      List<HmisIncomeBenefitsProjection> incomeBenefits,
+                                                      List<HmisHealthAndDvProjection> healthAndDv,
+                                                      UUID exportRequestedBy,
+                                                      List<String> exporterRoles) {
+        List<HmisPersonalId> personalIds = Stream.of(
+                clients.stream().map(HmisClientProjection::personalId),
+                enrollments.stream().map(HmisEnrollmentProjection::personalId),
+                incomeBenefits.stream().map(HmisIncomeBenefitsProjection::personalId),
+                healthAndDv.stream().map(HmisHealthAndDvProjection::personalId))
+            .flatMap(ids -> ids)
+            .toList();
+        return computeEligibility(personalIds, exportRequestedBy, exporterRoles);
+    }
+    
     /**
      * Filter client projections to exclude those with restricted visibility
      */
     public List<HmisClientProjection> filterClientProjections(List<HmisClientProjection> clients, 
                                                              UUID exportRequestedBy, 
                                                              List<String> exporterRoles) {
+        return filterClientProjections(clients, computeEligibility(
+            clients.stream().map(HmisClientProjection::personalId).toList(), exportRequestedBy, exporterRoles));
+    }
+    
+    public List<HmisClientProjection> filterClientProjections(List<HmisClientProjection> clients,
+                                                             ExportClientEligibility eligibility) {
         return clients.stream()
-            .filter(client -> {
-                UUID clientId = convertPersonalIdToClientId(client.personalId());
-                return clientId != null && hasExportPermission(clientId, exportRequestedBy, exporterRoles);
-            })
-            .map(client -> applyClientRedactions(client, exportRequestedBy, exporterRoles))
+            .filter(client -> eligibility.isAllowed(client.personalId()))
+            .map(client -> applyClientRedactions(client, eligibility.profileFor(client.personalId())))
             .collect(Collectors.toList());
     }
     
@@ -66,12 +126,16 @@ public class RestrictedNoteExportFilterService {
     public List<HmisEnrollmentProjection> filterEnrollmentProjections(List<HmisEnrollmentProjection> enrollments,
                                                                     UUID exportRequestedBy,
                                                                     List<String> exporterRoles) {
+        return filterEnrollmentProjections(enrollments, computeEligibility(
+            enrollments.stream().map(HmisEnrollmentProjection::personalId).toList(), exportRequestedBy, exporterRoles));
+    }
+    
+    public List<HmisEnrollmentProjection> filterEnrollmentProjections(List<HmisEnrollmentProjection> enrollments,
+                                                                    ExportClientEligibility eligibility) {
         return enrollments.stream()
-            .filter(enrollment -> {
-                UUID clientId = convertPersonalIdToClientId(enrollment.personalId());
-                return clientId != null && hasExportPermission(clientId, exportRequestedBy, exporterRoles);
-            })
-            .map(enrollment -> applyEnrollmentRedactions(enrollment, exportRequestedBy, exporterRoles))
+            .filter(enrollment -> eligibility.isAllowed(enrollment.personalId()))
+            .map(enrollment -> eligibility.profileFor(enrollment.personalId()).redactPriorLiving()
+                ? enrollment.withRedactedPriorLiving() : enrollment)
             .collect(Collectors.toList());
     }
     
@@ -81,12 +145,15 @@ public class RestrictedNoteExportFilterService {
     public List<HmisHealthAndDvProjection> filterHealthAndDvProjections(List<HmisHealthAndDvProjection> healthAndDv,
                                                                        UUID exportRequestedBy,
                                                                        List<String> exporterRoles) {
+        return filterHealthAndDvProjections(healthAndDv, computeEligibility(
+            healthAndDv.stream().map(HmisHealthAndDvProjection::personalId).toList(), exportRequestedBy, exporterRoles));
+    }
+    
+    public List<HmisHealthAndDvProjection> filterHealthAndDvProjections(List<HmisHealthAndDvProjection> healthAndDv,
+                                                                       ExportClientEligibility eligibility) {
         return healthAndDv.stream()
-            .filter(health -> {
-                UUID clientId = convertPersonalIdToClientId(health.personalId());
-                return clientId != null && hasExportPermission(clientId, exportRequestedBy, exporterRoles);
-            })
-            .map(health -> applyHealthDvRedactions(health, exportRequestedBy, exporterRoles))
+            .filter(health -> eligibility.isAllowed(health.personalId()))
+            .map(health -> applyHealthDvRedactions(health, eligibility.profileFor(health.personalId())))
             .collect(Collectors.toList());
     }
     
@@ -96,23 +163,66 @@ public class RestrictedNoteExportFilterService {
     public List<HmisIncomeBenefitsProjection> filterIncomeBenefitsProjections(List<HmisIncomeBenefitsProjection> incomeBenefits,
                                                                             UUID exportRequestedBy,
                                                                             List<String> exporterRoles) {
+        return filterIncomeBenefitsProjections(incomeBenefits, computeEligibility(
+            incomeBenefits.stream().map(HmisIncomeBenefitsProjection::personalId).toList(), exportRequestedBy, exporterRoles));
+    }
+    
+    public List<HmisIncomeBenefitsProjection> filterIncomeBenefitsProjections(List<HmisIncomeBenefitsProjection> incomeBenefits,
+                                                                            ExportClientEligibility eligibility) {
         return incomeBenefits.stream()
-            .filter(income -> {
-                UUID clientId = convertPersonalIdToClientId(income.personalId());
-                return clientId != null && hasExportPermission(clientId, exportRequestedBy, exporterRoles);
-            })
+            .filter(income -> eligibility.isAllowed(income.personalId()))
             .collect(Collectors.toList());
     }
     
     /**
-     * Check if user has permission to export data for a specific client
+     * Resolve one client's notes to its export decision and redactions for the exporter's roles
      */
-    private boolean hasExportPermission(UUID clientId, UUID exportRequestedBy, List<String> exporterRoles) {
-        // Get all accessible notes for this client
-        List<RestrictedNote> clientNotes = restrictedNoteService.getAccessibleNotesForClient(
-            clientId, exportRequestedBy, exporterRoles
-        );
+    private ClientExportProfile buildProfile(List<RestrictedNoteSummary> clientNotes, List<String> exporterRoles) {
+        if (!hasExportPermission(clientNotes, exporterRoles)) {
+            return ExportClientEligibility.DENIED;
+        }
+        
+        boolean privileged = hasPrivilegedExportRole(exporterRoles);
+        
+        // Check for Safe at Home or confidential location protections
+        boolean hasLocationRestrictions = clientNotes.stream()
+            .anyMatch(note -> contentContains(note, "safe at home") || contentContains(note, "confidential location"));
+        
+        // Check for name confidentiality restrictions
+        boolean hasNameRestrictions = clientNotes.stream()
+            .anyMatch(note -> note.noteType() == RestrictedNote.NoteType.SAFETY_PLAN ||
+                             contentContains(note, "name confidentiality"));
+        
+        // Check for prior living situation restrictions
+        boolean hasPriorLivingRestrictions = clientNotes.stream()
+            .anyMatch(note -> note.noteType() == RestrictedNote.NoteType.SAFETY_PLAN ||
+                             note.visibilityScope() == RestrictedNote.VisibilityScope.AUTHOR_ONLY);
         
+        // Check for privileged counseling or medical restrictions
+        boolean hasPrivilegedHealthInfo = clientNotes.stream()
+            .anyMatch(note -> note.noteType() == RestrictedNote.NoteType.PRIVILEGED_COUNSELING ||
+                             note.noteType() == RestrictedNote.NoteType.MEDICAL ||
+                             note.visibilityScope() == RestrictedNote.VisibilityScope.CLINICAL_ONLY);
+        
+        // Check for DV-specific restrictions
+        boolean hasDvRestrictions = clientNotes.stream()
+            .anyMatch(note -> contentContains(note, "domestic violence") || contentContains(note, "intimate partner"));
+        
+        return new ClientExportProfile(
+            true,
+            hasLocationRestrictions,
+            hasNameRestrictions && !privileged,
+            hasPriorLivingRestrictions && !privileged,
+            hasPrivilegedHealthInfo && !privileged &&
+                !exporterRoles.contains("CLINICIAN") && !exporterRoles.contains("DV_COUNSELOR"),
+            hasDvRestrictions && !exporterRoles.contains("DV_COUNSELOR") && !privileged
+        );
+    }
+    
+    /**
+     * Check if user has permission to export data for a client with the given notes
+     */
+    private boolean hasExportPermission(List<RestrictedNoteSummary> clientNotes, List<String> exporterRoles) {
         // Check if any notes restrict export access
         boolean hasExportRestrictingNotes = clientNotes.stream()
             .anyMatch(note -> isExportRestricted(note, exporterRoles));
@@ -123,8 +233,8 @@ public class RestrictedNoteExportFilterService {
         
         // Check for specific export restrictions by note type
         boolean hasPrivilegedCounselingNotes = clientNotes.stream()
-            .anyMatch(note -> note.getNoteType() == RestrictedNote.NoteType.PRIVILEGED_COUNSELING ||
-                             note.getNoteType() == RestrictedNote.NoteType.ATTORNEY_CLIENT);
+            .anyMatch(note -> note.noteType() == RestrictedNote.NoteType.PRIVILEGED_COUNSELING ||
+                             note.noteType() == RestrictedNote.NoteType.ATTORNEY_CLIENT);
         
         if (hasPrivilegedCounselingNotes && !hasPrivilegedExportRole(exporterRoles)) {
             return false;
@@ -136,25 +246,25 @@ public class RestrictedNoteExportFilterService {
     /**
      * Check if a note restricts export access
      */
-    private boolean isExportRestricted(RestrictedNote note, List<String> exporterRoles) {
+    private boolean isExportRestricted(RestrictedNoteSummary note, List<String> exporterRoles) {
         // Sealed notes cannot be exported unless unsealed
-        if (note.isSealed()) {
+        if (note.sealed()) {
             return true;
         }
         
         // Attorney-client privileged notes require legal role for export
-        if (note.getVisibilityScope() == RestrictedNote.VisibilityScope.ATTORNEY_CLIENT &&
+        if (note.visibilityScope() == RestrictedNote.VisibilityScope.ATTORNEY_CLIENT &&
             !exporterRoles.contains("ATTORNEY") && !exporterRoles.contains("LEGAL_ADVOCATE")) {
             return true;
         }
         
         // Author-only notes cannot be exported by others
-        if (note.getVisibilityScope() == RestrictedNote.VisibilityScope.AUTHOR_ONLY) {
+        if (note.visibilityScope() == RestrictedNote.VisibilityScope.AUTHOR_ONLY) {
             return true;
         }
         
         // Medical team notes require medical role for export
-        if (note.getVisibilityScope() == RestrictedNote.VisibilityScope.MEDICAL_TEAM &&
+        if (note.visibilityScope() == RestrictedNote.VisibilityScope.MEDICAL_TEAM &&
             !hasPrivilegedExportRole(exporterRoles) &&
             !exporterRoles.contains("DOCTOR") && !exporterRoles.contains("NURSE") && 
             !exporterRoles.contains("MEDICAL_ADVOCATE")) {
@@ -174,95 +284,35 @@ public class RestrictedNoteExportFilterService {
                exporterRoles.contains("DATA_ANALYST");
     }
     
+    private boolean contentContains(RestrictedNoteSummary note, String phrase) {
+        return note.content() != null && note.content().toLowerCase().contains(phrase);
+    }
+    
     /**
-     * Apply redactions to client data based on restricted notes
+     * Apply redactions to client data
      */
-    private HmisClientProjection applyClientRedactions(HmisClientProjection client, 
-                                                      UUID exportRequestedBy, 
-                                                      List<String> exporterRoles) {
-        List<RestrictedNote> clientNotes = restrictedNoteService.getAccessibleNotesForClient(
-            convertPersonalIdToClientId(client.personalId()), exportRequestedBy, exporterRoles
-        );
-        
-        // Check for Safe at Home or confidential location protections
-        boolean hasLocationRestrictions = clientNotes.stream()
-            .anyMatch(note -> note.getContent() != null && 
-                (note.getContent().toLowerCase().contains("safe at home") ||
-                 note.getContent().toLowerCase().contains("confidential location")));
-        
-        // Apply redactions if necessary
-        if (hasLocationRestrictions) {
-            // Create a copy with redacted location information
+    private HmisClientProjection applyClientRedactions(HmisClientProjection client, ClientExportProfile profile) {
+        // Location protection takes precedence over name redaction
+        if (profile.redactLocation()) {
             return client.withRedactedLocation();
         }
-        
-        // Check for name confidentiality restrictions
-        boolean hasNameRestrictions = clientNotes.stream()
-            .anyMatch(note -> note.getNoteType() == RestrictedNote.NoteType.SAFETY_PLAN ||
-                             (note.getContent() != null && 
-                              note.getContent().toLowerCase().contains("name confidentiality")));
-        
-        if (hasNameRestrictions && !hasPrivilegedExportRole(exporterRoles)) {
+        if (profile.redactName()) {
             return client.withRedactedName();
         }
-        
         return client;
     }
     
-    /**
-     * Apply redactions to enrollment data
-     */
-    private HmisEnrollmentProjection applyEnrollmentRedactions(HmisEnrollmentProjection enrollment,
-                                                             UUID exportRequestedBy,
-                                                             List<String> exporterRoles) {
-        List<RestrictedNote> clientNotes = restrictedNoteService.getAccessibleNotesForClient(
-            convertPersonalIdToClientId(enrollment.personalId()), exportRequestedBy, exporterRoles
-        );
-        
-        // Check for prior living situation restrictions
-        boolean hasPriorLivingRestrictions = clientNotes.stream()
-            .anyMatch(note -> note.getNoteType() == RestrictedNote.NoteType.SAFETY_PLAN ||
-                             note.getVisibilityScope() == RestrictedNote.VisibilityScope.AUTHOR_ONLY);
-        
-        if (hasPriorLivingRestrictions && !hasPrivilegedExportRole(exporterRoles)) {
-            return enrollment.withRedactedPriorLiving();
-        }
-        
-        return enrollment;
-    }
-    
     /**
      * Apply redactions to health and DV data
      */
     private HmisHealthAndDvProjection applyHealthDvRedactions(HmisHealthAndDvProjection healthDv,
-                                                            UUID exportRequestedBy,
-                                                            List<String> exporterRoles) {
-        List<RestrictedNote> clientNotes = restrictedNoteService.getAccessibleNotesForClient(
-            convertPersonalIdToClientId(healthDv.personalId()), exportRequestedBy, exporterRoles
-        );
-        
-        // Check for privileged counseling or medical restrictions
-        boolean hasPrivilegedHealthInfo = clientNotes.stream()
-            .anyMatch(note -> note.getNoteType() == RestrictedNote.NoteType.PRIVILEGED_COUNSELING ||
-                             note.getNoteType() == RestrictedNote.NoteType.MEDICAL ||
-                             note.getVisibilityScope() == RestrictedNote.VisibilityScope.CLINICAL_ONLY);
-        
-        if (hasPrivilegedHealthInfo && !hasPrivilegedExportRole(exporterRoles) &&
-            !exporterRoles.contains("CLINICIAN") && !exporterRoles.contains("DV_COUNSELOR")) {
+                                                            ClientExportProfile profile) {
+        if (profile.redactHealthInfo()) {
             return healthDv.withRedactedHealthInfo();
         }
-        
-        // Check for DV-specific restrictions
-        boolean hasDvRestrictions = clientNotes.stream()
-            .anyMatch(note -> note.getContent() != null && 
-                (note.getContent().toLowerCase().contains("domestic violence") ||
-                 note.getContent().toLowerCase().contains("intimate partner")));
-        
-        if (hasDvRestrictions && !exporterRoles.contains("DV_COUNSELOR") && 
-            !hasPrivilegedExportRole(exporterRoles)) {
+        if (profile.redactDvInfo()) {
             return healthDv.withRedactedDvInfo();
         }
-        
         return healthDv;
     }
     
@@ -331,4 +381,4 @@ public class RestrictedNoteExportFilterService {
         public boolean isHasPrivilegedExportRole() { return hasPrivilegedExportRole; }
         public void setHasPrivilegedExportRole(boolean hasPrivilegedExportRole) { this.hasPrivilegedExportRole = hasPrivilegedExportRole; }
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
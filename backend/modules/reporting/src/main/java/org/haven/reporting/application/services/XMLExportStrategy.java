@@ -1,16 +1,14 @@
 package org.haven.reporting.application.services;
 
 import org.springframework.stereotype.Component;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.*;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -19,85 +17,109 @@ import java.util.Map;
 /**
  * XML export strategy following HUD HMIS XML specifications.
  * Generates XML documents validated against HUD_HMIS.xsd schema.
+ *
+ * Documents are written with StAX one element at a time, so memory use does not grow with
+ * the size of the output.
  */
 @Component
 public class XMLExportStrategy implements HUDExportFormatter.FormatStrategy {
 
     private static final String NAMESPACE_URI = "https://www.hudhdx.info/Resources/Vendors/HMIS/HUD_HMIS.xsd";
+    private static final String XSI_NAMESPACE_URI = "http://www.w3.org/2001/XMLSchema-instance";
     private static final String SCHEMA_VERSION = "2024";
+    private static final String INDENT = "  ";
+
+    private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newFactory();
 
     @Override
     public byte[] format(Map<String, List<Map<String, Object>>> sections) {
-        try {
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            factory.setNamespaceAware(true);
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            Document doc = builder.newDocument();
-
-            // Create root element with namespace
-            Element root = doc.createElementNS(NAMESPACE_URI, "HMISExport");
-            root.setAttribute("xmlns:xsi", "http://www.w3.org/2001/XMLSchema-instance");
-            root.setAttribute("xsi:schemaLocation", NAMESPACE_URI + " HUD_HMIS.xsd");
-            root.setAttribute("version", SCHEMA_VERSION);
-            doc.appendChild(root);
-
-            // Add sections
-            for (Map.Entry<String, List<Map<String, Object>>> section : sections.entrySet()) {
-                String sectionName = section.getKey();
-                List<Map<String, Object>> rows = section.getValue();
-
-                Element sectionElement = doc.createElement(sectionName + "s");
-                root.appendChild(sectionElement);
-
-                for (Map<String, Object> row : rows) {
-                    Element rowElement = doc.createElement(sectionName);
-
-                    for (Map.Entry<String, Object> field : row.entrySet()) {
-                        Element fieldElement = doc.createElement(field.getKey());
-                        fieldElement.setTextContent(formatValue(field.getValue()));
-                        rowElement.appendChild(fieldElement);
-                    }
-
-                    sectionElement.appendChild(rowElement);
-                }
-            }
-
-            // Transform to byte array
-            return transformToBytes(doc);
+        return format(HudRowBuffer.fromSections(sections));
+    }
 
-        } catch (ParserConfigurationException e) {
-            throw new RuntimeException("Failed to create XML document", e);
-        }
+    @Override
+    public byte[] format(List<HudRowBuffer> sections) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        format(sections, baos);
+        return baos.toByteArray();
     }
 
-    private byte[] transformToBytes(Document doc) {
+    @Override
+    public void format(List<HudRowBuffer> sections, OutputStream out) {
         try {
-            TransformerFactory transformerFactory = TransformerFactory.newInstance();
-            Transformer transformer = transformerFactory.newTransformer();
+            XMLStreamWriter xml = OUTPUT_FACTORY.createXMLStreamWriter(out, "UTF-8");
+            try {
+                xml.writeStartDocument("UTF-8", "1.0");
+                newLine(xml, 0);
+
+                // Root element declares the HUD namespace as default, so every element is in it
+                xml.setDefaultNamespace(NAMESPACE_URI);
+                xml.writeStartElement("HMISExport");
+                xml.writeDefaultNamespace(NAMESPACE_URI);
+                xml.writeNamespace("xsi", XSI_NAMESPACE_URI);
+                xml.writeAttribute(XSI_NAMESPACE_URI, "schemaLocation", NAMESPACE_URI + " HUD_HMIS.xsd");
+                xml.writeAttribute("version", SCHEMA_VERSION);
+
+                for (HudRowBuffer rows : sections) {
+                    writeSection(xml, rows);
+                }
 
-            // Format output
-            transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-            transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
-            transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "2");
-            transformer.setOutputProperty(OutputKeys.STANDALONE, "no");
+                newLine(xml, 0);
+                xml.writeEndElement();
+                xml.writeEndDocument();
+                xml.flush();
+            } finally {
+                // Releases the writer only; the caller's stream stays open
+                xml.close();
+            }
+            out.flush();
+        } catch (XMLStreamException e) {
+            throw new RuntimeException("Failed to write XML document", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write XML document", e);
+        }
+    }
 
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            DOMSource source = new DOMSource(doc);
-            StreamResult result = new StreamResult(baos);
+    private void writeSection(XMLStreamWriter xml, HudRowBuffer rows) throws XMLStreamException {
+        String sectionName = rows.sectionName();
+        List<String> columns = rows.columns();
+
+        newLine(xml, 1);
+        xml.writeStartElement(sectionName + "s");
+
+        for (int row = 0; row < rows.rowCount(); row++) {
+            newLine(xml, 2);
+            xml.writeStartElement(sectionName);
+
+            for (int column = 0; column < columns.size(); column++) {
+                newLine(xml, 3);
+                Object value = rows.get(row, column);
+                if (value == null) {
+                    xml.writeEmptyElement(columns.get(column));
+                } else {
+                    xml.writeStartElement(columns.get(column));
+                    xml.writeCharacters(formatValue(value));
+                    xml.writeEndElement();
+                }
+            }
 
-            transformer.transform(source, result);
+            newLine(xml, 2);
+            xml.writeEndElement();
+        }
 
-            return baos.toByteArray();
+        if (!rows.isEmpty()) {
+            newLine(xml, 1);
+        }
+        xml.writeEndElement();
+    }
 
-        } catch (TransformerException e) {
-            throw new RuntimeException("Failed to transform XML document", e);
+    private void newLine(XMLStreamWriter xml, int depth) throws XMLStreamException {
+        xml.writeCharacters("\n");
+        for (int i = 0; i < depth; i++) {
+            xml.writeCharacters(INDENT);
         }
     }
 
     private String formatValue(Object value) {
-        if (value == null) {
-            return "";
-        }
         if (value instanceof LocalDate date) {
             return date.toString(); // ISO 8601 format
         }
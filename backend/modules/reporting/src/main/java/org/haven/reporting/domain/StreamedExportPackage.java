@@ -0,0 +1,19 @@
+package org.haven.reporting.domain;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Result of packaging an export straight to a stream.
+ * The archive itself lives wherever it was written; this carries the manifest details
+ * computed while the entries were streamed.
+ */
+public record StreamedExportPackage(
+        ExportJobId exportJobId,
+        Map<String, String> fileHashes,  // filename -> SHA-256 hash, in archive order
+        String manifestHash,             // SHA-256 of manifest
+        String digitalSignature,         // HMAC-SHA256 signature of manifest
+        LocalDateTime generatedAt,
+        ExportPackage.PackageMetadata metadata
+) {
+}
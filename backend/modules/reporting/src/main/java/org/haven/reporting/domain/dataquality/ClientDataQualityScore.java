@@ -0,0 +1,18 @@
+package org.haven.reporting.domain.dataquality;
+
+import org.haven.clientprofile.domain.Client;
+
+import java.util.UUID;
+
+/**
+ * Stored data-quality score for one client, kept so a change can be turned into a
+ * delta against the organization-wide client summary
+ */
+public record ClientDataQualityScore(UUID clientId, boolean hmisCompliant, double score) {
+
+    public static ClientDataQualityScore of(Client client) {
+        Double score = client.getHmisDataQualityScore();
+        return new ClientDataQualityScore(client.getId().value(), client.isHmisCompliant(),
+            score != null ? score : 0.0);
+    }
+}
@@ -0,0 +1,13 @@
+package org.haven.reporting.domain.dataquality;
+
+/**
+ * Organization-wide client totals maintained from {@link ClientDataQualityScore} deltas
+ */
+public record ClientDataQualitySummary(long totalClients, long compliantClients, double scoreSum) {
+
+    public static final ClientDataQualitySummary EMPTY = new ClientDataQualitySummary(0, 0, 0.0);
+
+    public double averageScore() {
+        return totalClients > 0 ? scoreSum / totalClients : 0.0;
+    }
+}
@@ -0,0 +1,15 @@
+package org.haven.reporting.domain.dataquality;
+
+/**
+ * Dimension an enrollment rollup row is keyed by
+ */
+public enum DataQualityScope {
+    /** Organization-wide; the only key is {@link #ALL_KEY} */
+    ALL,
+    /** Keyed by program id */
+    PROJECT,
+    /** Keyed by HUD continuum code */
+    COC;
+
+    public static final String ALL_KEY = "*";
+}
@@ -0,0 +1,30 @@
+package org.haven.reporting.domain.dataquality;
+
+/**
+ * Additive enrollment counts held in a rollup row; also used as the signed delta
+ * applied to those rows
+ */
+public record EnrollmentDataQualityCounts(
+    long totalEnrollments,
+    long compliantEnrollments,
+    long linkedEnrollments,
+    long rrhLinkedEnrollments,
+    long rrhLinkedWithMoveIn
+) {
+
+    public static final EnrollmentDataQualityCounts EMPTY = new EnrollmentDataQualityCounts(0, 0, 0, 0, 0);
+
+    public EnrollmentDataQualityCounts plus(EnrollmentDataQualityCounts other) {
+        return new EnrollmentDataQualityCounts(
+            totalEnrollments + other.totalEnrollments,
+            compliantEnrollments + other.compliantEnrollments,
+            linkedEnrollments + other.linkedEnrollments,
+            rrhLinkedEnrollments + other.rrhLinkedEnrollments,
+            rrhLinkedWithMoveIn + other.rrhLinkedWithMoveIn);
+    }
+
+    public EnrollmentDataQualityCounts negate() {
+        return new EnrollmentDataQualityCounts(-totalEnrollments, -compliantEnrollments,
+            -linkedEnrollments, -rrhLinkedEnrollments, -rrhLinkedWithMoveIn);
+    }
+}
@@ -0,0 +1,48 @@
+package org.haven.reporting.domain.dataquality;
+
+import org.haven.programenrollment.domain.ProgramEnrollment;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Stored data-quality flags for one enrollment together with the project, CoC and day
+ * bucket its counts were added to
+ */
+public record EnrollmentDataQualityScore(
+    UUID enrollmentId,
+    UUID programId,
+    String continuumCode,
+    LocalDate enrollmentDate,
+    boolean hmisCompliant,
+    boolean linked,
+    boolean rrhLinked,
+    boolean rrhLinkedWithMoveIn
+) {
+
+    public static EnrollmentDataQualityScore of(ProgramEnrollment enrollment, String continuumCode) {
+        boolean linked = enrollment.isLinkedEnrollment();
+        boolean rrhLinked = linked && enrollment.getProjectType() != null
+            && enrollment.getProjectType().isRapidRehousing();
+        return new EnrollmentDataQualityScore(
+            enrollment.getId().value(),
+            enrollment.getProgramId(),
+            continuumCode,
+            enrollment.getEnrollmentDate(),
+            enrollment.meetsHmisDataQuality(),
+            linked,
+            rrhLinked,
+            rrhLinked && enrollment.hasResidentialMoveIn());
+    }
+
+    /**
+     * Counts this enrollment contributes to every rollup it belongs to
+     */
+    public EnrollmentDataQualityCounts counts() {
+        return new EnrollmentDataQualityCounts(1,
+            hmisCompliant ? 1 : 0,
+            linked ? 1 : 0,
+            rrhLinked ? 1 : 0,
+            rrhLinkedWithMoveIn ? 1 : 0);
+    }
+}
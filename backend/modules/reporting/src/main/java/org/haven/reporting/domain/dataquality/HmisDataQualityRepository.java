@@ -0,0 +1,73 @@
+package org.haven.reporting.domain.dataquality;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository for stored per-client and per-enrollment data-quality scores and the
+ * rollups derived from them. Rollups are bucketed by enrollment day so any date window
+ * can be answered by summing a few rows.
+ */
+public interface HmisDataQualityRepository {
+
+    /**
+     * Current score row, locked until the calling transaction ends
+     */
+    Optional<ClientDataQualityScore> findClientScoreForUpdate(UUID clientId);
+
+    void saveClientScore(ClientDataQualityScore score);
+
+    void deleteClientScore(UUID clientId);
+
+    /**
+     * Add signed deltas to the organization-wide client summary
+     */
+    void applyClientDelta(long totalClients, long compliantClients, double scoreSum);
+
+    /**
+     * Empty until the summary has been built at least once
+     */
+    Optional<ClientDataQualitySummary> findClientSummary();
+
+    /**
+     * Current score row, locked until the calling transaction ends
+     */
+    Optional<EnrollmentDataQualityScore> findEnrollmentScoreForUpdate(UUID enrollmentId);
+
+    void saveEnrollmentScore(EnrollmentDataQualityScore score);
+
+    void deleteEnrollmentScore(UUID enrollmentId);
+
+    /**
+     * Add signed deltas to one rollup bucket, creating it if needed
+     */
+    void applyEnrollmentDelta(DataQualityScope scope, String scopeKey, LocalDate periodDate,
+                              EnrollmentDataQualityCounts delta);
+
+    EnrollmentDataQualityCounts sumEnrollments(DataQualityScope scope, String scopeKey,
+                                               LocalDate from, LocalDate to);
+
+    /**
+     * Totals for every key of a scope over the window, keyed by scope key
+     */
+    Map<String, EnrollmentDataQualityCounts> sumEnrollmentsByKey(DataQualityScope scope,
+                                                                 LocalDate from, LocalDate to);
+
+    /**
+     * Continuum code of the housing project backing a program, if mapped
+     */
+    Optional<String> findContinuumCode(UUID programId);
+
+    /**
+     * Block until no other transaction is writing scores; concurrent score updates
+     * share the lock, a full rebuild holds it exclusively
+     */
+    void lockForUpdate(boolean exclusive);
+
+    /**
+     * Remove every score, rollup and summary row ahead of a rebuild
+     */
+    void clearAll();
+}
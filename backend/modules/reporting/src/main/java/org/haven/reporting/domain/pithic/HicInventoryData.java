@@ -91,12 +91,20 @@ public class HicInventoryData {
 
     public HicInventoryData(UUID inventoryId, LocalDate inventoryDate, String continuumCode,
                            String organizationId, String generatedBy) {
+        this(inventoryId, inventoryDate, continuumCode, organizationId, generatedBy, LocalDateTime.now());
+    }
+
+    /**
+     * Rehydrate a previously persisted inventory row
+     */
+    public HicInventoryData(UUID inventoryId, LocalDate inventoryDate, String continuumCode,
+                           String organizationId, String generatedBy, LocalDateTime generatedAt) {
         this.inventoryId = inventoryId;
         this.inventoryDate = inventoryDate;
         this.continuumCode = continuumCode;
         this.organizationId = organizationId;
         this.generatedBy = generatedBy;
-        this.generatedAt = LocalDateTime.now();
+        this.generatedAt = generatedAt;
         this.metadata = new java.util.HashMap<>();
         this.bedsByFundingSource = new java.util.HashMap<>();
         this.unitsByFundingSource = new java.util.HashMap<>();
@@ -127,6 +135,12 @@ public class HicInventoryData {
         this.transitionalHousingChronicBeds = aggregation.chronicBeds();
     }
 
+    // Aggregate safe haven data
+    public void aggregateSafeHavenData(SafeHavenAggregation aggregation) {
+        this.safeHavenTotalBeds = aggregation.totalBeds();
+        this.safeHavenTotalUnits = aggregation.totalUnits();
+    }
+
     // Aggregate rapid rehousing data
     public void aggregateRapidRehousingData(RapidRehousingAggregation aggregation) {
         this.rapidRehousingTotalBeds = aggregation.totalBeds();
@@ -148,6 +162,12 @@ public class HicInventoryData {
         this.permanentSupportiveChronicBeds = aggregation.chronicBeds();
     }
 
+    // Aggregate other permanent housing data
+    public void aggregateOtherPermanentHousingData(OtherPermanentHousingAggregation aggregation) {
+        this.otherPermanentHousingTotalBeds = aggregation.totalBeds();
+        this.otherPermanentHousingTotalUnits = aggregation.totalUnits();
+    }
+
     // Update utilization metrics
     public void updateUtilizationMetrics(UtilizationMetrics metrics) {
         this.emergencyShelterUtilizationRate = metrics.emergencyShelterRate();
@@ -258,6 +278,11 @@ public class HicInventoryData {
         int chronicBeds
     ) {}
 
+    public record SafeHavenAggregation(
+        int totalBeds,
+        int totalUnits
+    ) {}
+
     public record RapidRehousingAggregation(
         int totalBeds,
         int totalUnits,
@@ -277,6 +302,11 @@ public class HicInventoryData {
         int chronicBeds
     ) {}
 
+    public record OtherPermanentHousingAggregation(
+        int totalBeds,
+        int totalUnits
+    ) {}
+
     public record UtilizationMetrics(
         double emergencyShelterRate,
         double transitionalHousingRate,
@@ -314,19 +344,48 @@ public class HicInventoryData {
     public String getOrganizationId() { return organizationId; }
     public int getEmergencyShelterTotalBeds() { return emergencyShelterTotalBeds; }
     public int getEmergencyShelterTotalUnits() { return emergencyShelterTotalUnits; }
+    public int getEmergencyShelterVeteranBeds() { return emergencyShelterVeteranBeds; }
+    public int getEmergencyShelterYouthBeds() { return emergencyShelterYouthBeds; }
+    public int getEmergencyShelterFamilyBeds() { return emergencyShelterFamilyBeds; }
+    public int getEmergencyShelterAdultOnlyBeds() { return emergencyShelterAdultOnlyBeds; }
+    public int getEmergencyShelterChronicBeds() { return emergencyShelterChronicBeds; }
+    public int getEmergencyShelterSeasonalBeds() { return emergencyShelterSeasonalBeds; }
+    public int getEmergencyShelterOverflowBeds() { return emergencyShelterOverflowBeds; }
+    public int getEmergencyShelterVoucherBeds() { return emergencyShelterVoucherBeds; }
     public int getTransitionalHousingTotalBeds() { return transitionalHousingTotalBeds; }
     public int getTransitionalHousingTotalUnits() { return transitionalHousingTotalUnits; }
+    public int getTransitionalHousingVeteranBeds() { return transitionalHousingVeteranBeds; }
+    public int getTransitionalHousingYouthBeds() { return transitionalHousingYouthBeds; }
+    public int getTransitionalHousingFamilyBeds() { return transitionalHousingFamilyBeds; }
+    public int getTransitionalHousingAdultOnlyBeds() { return transitionalHousingAdultOnlyBeds; }
+    public int getTransitionalHousingChronicBeds() { return transitionalHousingChronicBeds; }
     public int getSafeHavenTotalBeds() { return safeHavenTotalBeds; }
     public int getSafeHavenTotalUnits() { return safeHavenTotalUnits; }
     public int getRapidRehousingTotalBeds() { return rapidRehousingTotalBeds; }
     public int getRapidRehousingTotalUnits() { return rapidRehousingTotalUnits; }
+    public int getRapidRehousingVeteranBeds() { return rapidRehousingVeteranBeds; }
+    public int getRapidRehousingYouthBeds() { return rapidRehousingYouthBeds; }
+    public int getRapidRehousingFamilyBeds() { return rapidRehousingFamilyBeds; }
+    public int getRapidRehousingAdultOnlyBeds() { return rapidRehousingAdultOnlyBeds; }
     public int getPermanentSupportiveTotalBeds() { return permanentSupportiveTotalBeds; }
     public int getPermanentSupportiveTotalUnits() { return permanentSupportiveTotalUnits; }
+    public int getPermanentSupportiveVeteranBeds() { return permanentSupportiveVeteranBeds; }
+    public int getPermanentSupportiveYouthBeds() { return permanentSupportiveYouthBeds; }
+    public int getPermanentSupportiveFamilyBeds() { return permanentSupportiveFamilyBeds; }
+    public int getPermanentSupportiveAdultOnlyBeds() { return permanentSupportiveAdultOnlyBeds; }
+    public int getPermanentSupportiveChronicBeds() { return permanentSupportiveChronicBeds; }
+    public int getOtherPermanentHousingTotalBeds() { return otherPermanentHousingTotalBeds; }
+    public int getOtherPermanentHousingTotalUnits() { return otherPermanentHousingTotalUnits; }
     public double getEmergencyShelterUtilizationRate() { return emergencyShelterUtilizationRate; }
     public double getTransitionalHousingUtilizationRate() { return transitionalHousingUtilizationRate; }
     public double getSafeHavenUtilizationRate() { return safeHavenUtilizationRate; }
     public double getRapidRehousingUtilizationRate() { return rapidRehousingUtilizationRate; }
     public double getPermanentSupportiveUtilizationRate() { return permanentSupportiveUtilizationRate; }
+    public int getPitOccupiedEmergencyShelter() { return pitOccupiedEmergencyShelter; }
+    public int getPitOccupiedTransitionalHousing() { return pitOccupiedTransitionalHousing; }
+    public int getPitOccupiedSafeHaven() { return pitOccupiedSafeHaven; }
+    public int getPitOccupiedRapidRehousing() { return pitOccupiedRapidRehousing; }
+    public int getPitOccupiedPermanentSupportive() { return pitOccupiedPermanentSupportive; }
     public int getProjectsWithMissingInventory() { return projectsWithMissingInventory; }
     public int getProjectsWithInconsistentData() { return projectsWithInconsistentData; }
     public double getInventoryDataCompletionRate() { return inventoryDataCompletionRate; }
@@ -335,4 +394,4 @@ public class HicInventoryData {
     public LocalDateTime getGeneratedAt() { return generatedAt; }
     public String getGeneratedBy() { return generatedBy; }
     public Map<String, Object> getMetadata() { return metadata; }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,39 @@
+package org.haven.reporting.domain.pithic;
+
+/**
+ * Bed and unit inventory for one housing project on the HIC inventory date.
+ * {@code declaredBeds} comes from the project record, {@code unitBeds}/{@code units}
+ * from the active site/building/unit hierarchy beneath it.
+ */
+public record HicProjectInventory(
+    String projectId,
+    String projectType,
+    String targetPopulation,
+    String fundingSource,
+    Integer declaredBeds,
+    int unitBeds,
+    int units
+) {
+
+    /**
+     * Beds counted for HIC: unit capacity when units are inventoried, otherwise the declared beds
+     */
+    public int beds() {
+        if (units > 0) {
+            return unitBeds;
+        }
+        return declaredBeds != null ? declaredBeds : 0;
+    }
+
+    public boolean isMissingInventory() {
+        return units == 0 && (declaredBeds == null || declaredBeds == 0);
+    }
+
+    public boolean isInconsistent() {
+        return units > 0 && declaredBeds != null && declaredBeds != unitBeds;
+    }
+
+    public boolean targets(String population) {
+        return targetPopulation != null && targetPopulation.toUpperCase().contains(population);
+    }
+}
@@ -69,12 +69,20 @@ public class PitCensusData {
 
     public PitCensusData(UUID censusId, LocalDate censusDate, String continuumCode,
                          String organizationId, String generatedBy) {
+        this(censusId, censusDate, continuumCode, organizationId, generatedBy, LocalDateTime.now());
+    }
+
+    /**
+     * Rehydrate a previously persisted census row
+     */
+    public PitCensusData(UUID censusId, LocalDate censusDate, String continuumCode,
+                         String organizationId, String generatedBy, LocalDateTime generatedAt) {
         this.censusId = censusId;
         this.censusDate = censusDate;
         this.continuumCode = continuumCode;
         this.organizationId = organizationId;
         this.generatedBy = generatedBy;
-        this.generatedAt = LocalDateTime.now();
+        this.generatedAt = generatedAt;
         this.metadata = new java.util.HashMap<>();
     }
 
@@ -261,4 +269,4 @@ public class PitCensusData {
     public LocalDateTime getGeneratedAt() { return generatedAt; }
     public String getGeneratedBy() { return generatedBy; }
     public Map<String, Object> getMetadata() { return metadata; }
-}
\ No newline at end of file
+}
\ No newline at end of file
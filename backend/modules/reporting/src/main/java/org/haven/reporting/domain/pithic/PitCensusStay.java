@@ -0,0 +1,61 @@
+package org.haven.reporting.domain.pithic;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.UUID;
+
+/**
+ * One person staying in a sheltered project, or enrolled in street outreach, on the PIT census night.
+ * Built from enrollment, bed-night and demographic data; carries no direct identifiers
+ * beyond the internal client ID needed to unduplicate persons across projects.
+ */
+public record PitCensusStay(
+    UUID enrollmentId,
+    UUID clientId,
+    String householdId,
+    String relationshipToHead,
+    LocalDate dateOfBirth,
+    String gender,
+    String race,
+    String ethnicity,
+    String projectType,
+    String residencePriorToEntry,
+    String lengthOfStayPriorToEntry,
+    boolean veteran,
+    boolean disablingCondition,
+    boolean currentlyFleeingDv
+) {
+
+    /**
+     * Age on the census night, or -1 when date of birth was not collected
+     */
+    public int ageOn(LocalDate censusDate) {
+        if (dateOfBirth == null || dateOfBirth.isAfter(censusDate)) {
+            return -1;
+        }
+        return Period.between(dateOfBirth, censusDate).getYears();
+    }
+
+    public boolean isHeadOfHousehold() {
+        return "SELF_HEAD_OF_HOUSEHOLD".equals(relationshipToHead);
+    }
+
+    public boolean isChildOfHead() {
+        return "HEAD_OF_HOUSEHOLD_CHILD".equals(relationshipToHead) ||
+               "HEAD_OF_HOUSEHOLD_STEP_CHILD".equals(relationshipToHead);
+    }
+
+    /**
+     * Mirrors HmisEnrollmentProjection.isChronicallyHomeless: disabling condition plus
+     * literal homelessness for a year or longer before entry
+     */
+    public boolean isChronicallyHomeless() {
+        return disablingCondition &&
+               "HOMELESS_SITUATION".equals(residencePriorToEntry) &&
+               "ONE_YEAR_OR_LONGER".equals(lengthOfStayPriorToEntry);
+    }
+
+    public boolean hasMissingData() {
+        return dateOfBirth == null || gender == null || race == null || race.isBlank();
+    }
+}
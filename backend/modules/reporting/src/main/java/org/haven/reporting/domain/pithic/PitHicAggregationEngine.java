@@ -0,0 +1,294 @@
+package org.haven.reporting.domain.pithic;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Computes PIT census and HIC inventory aggregates for one continuum/organization partition.
+ * Pure computation over rows already loaded for the partition, so partitions can be
+ * evaluated independently and in parallel.
+ */
+public final class PitHicAggregationEngine {
+
+    private static final String EMERGENCY_SHELTER = "EMERGENCY_SHELTER";
+    private static final String TRANSITIONAL_HOUSING = "TRANSITIONAL_HOUSING";
+    private static final String SAFE_HAVEN = "SAFE_HAVEN";
+    private static final String STREET_OUTREACH = "STREET_OUTREACH";
+    private static final String RAPID_REHOUSING = "RAPID_REHOUSING";
+    private static final String PERMANENT_SUPPORTIVE_HOUSING = "PERMANENT_SUPPORTIVE_HOUSING";
+    private static final String OTHER_PERMANENT_HOUSING = "OTHER_PERMANENT_HOUSING";
+
+    private PitHicAggregationEngine() {
+    }
+
+    /**
+     * Fill household, demographic, special population, location and data quality counts.
+     * Persons staying in more than one project on the census night are counted once; a sheltered
+     * stay takes precedence over a street outreach enrollment open the same night.
+     */
+    public static void aggregatePitCensus(PitCensusData census, List<PitCensusStay> stays) {
+        LocalDate censusDate = census.getCensusDate();
+        Map<UUID, PitCensusStay> persons = new LinkedHashMap<>();
+        for (PitCensusStay stay : stays) {
+            PitCensusStay counted = persons.putIfAbsent(stay.clientId(), stay);
+            if (counted != null && isUnsheltered(counted) && !isUnsheltered(stay)) {
+                persons.put(stay.clientId(), stay);
+            }
+        }
+        Map<String, List<PitCensusStay>> households = new LinkedHashMap<>();
+        for (PitCensusStay person : persons.values()) {
+            households.computeIfAbsent(person.householdId(), id -> new ArrayList<>()).add(person);
+        }
+
+        int withChildren = 0;
+        int withoutChildren = 0;
+        int onlyChildren = 0;
+        int unaccompaniedYouth = 0;
+        int parentingYouth = 0;
+        for (List<PitCensusStay> members : households.values()) {
+            int children = 0;
+            boolean allUnder25 = true;
+            boolean hasChildOfHead = false;
+            for (PitCensusStay member : members) {
+                int age = member.ageOn(censusDate);
+                if (age >= 0 && age < 18) {
+                    children++;
+                }
+                allUnder25 &= age >= 0 && age < 25;
+                hasChildOfHead |= member.isChildOfHead();
+            }
+
+            if (children == 0) {
+                withoutChildren++;
+            } else if (children == members.size()) {
+                onlyChildren++;
+            } else {
+                withChildren++;
+            }
+
+            if (allUnder25 && !hasChildOfHead) {
+                unaccompaniedYouth += members.size();
+            }
+            for (PitCensusStay member : members) {
+                int age = member.ageOn(censusDate);
+                if (hasChildOfHead && member.isHeadOfHousehold() && age >= 0 && age < 25) {
+                    parentingYouth++;
+                }
+            }
+        }
+
+        int under18 = 0, age18To24 = 0, over24 = 0;
+        int male = 0, female = 0, nonBinary = 0, transgender = 0, questioning = 0;
+        int white = 0, black = 0, asian = 0, americanIndian = 0, pacificIslander = 0, multiple = 0, hispanic = 0;
+        int veterans = 0, chronic = 0, disabled = 0, fleeingDv = 0;
+        int emergencyShelter = 0, transitionalHousing = 0, safeHaven = 0, unsheltered = 0;
+        int missingData = 0;
+
+        for (PitCensusStay person : persons.values()) {
+            int age = person.ageOn(censusDate);
+            if (age >= 0 && age < 18) {
+                under18++;
+            } else if (age >= 18 && age < 25) {
+                age18To24++;
+            } else if (age >= 25) {
+                over24++;
+            }
+
+            if (person.gender() != null) {
+                switch (person.gender()) {
+                    case "MALE" -> male++;
+                    case "FEMALE" -> female++;
+                    case "NON_BINARY" -> nonBinary++;
+                    case "TRANSGENDER" -> transgender++;
+                    case "QUESTIONING" -> questioning++;
+                    default -> { }
+                }
+            }
+
+            Set<String> races = parseCodes(person.race());
+            races.remove("HISPANIC_LATINO");
+            if (races.size() > 1) {
+                multiple++;
+            } else if (races.contains("WHITE")) {
+                white++;
+            } else if (races.contains("BLACK_AFRICAN_AMERICAN")) {
+                black++;
+            } else if (races.contains("ASIAN")) {
+                asian++;
+            } else if (races.contains("AMERICAN_INDIAN_ALASKA_NATIVE")) {
+                americanIndian++;
+            } else if (races.contains("NATIVE_HAWAIIAN_PACIFIC_ISLANDER")) {
+                pacificIslander++;
+            }
+            if (isHispanic(person)) {
+                hispanic++;
+            }
+
+            if (person.veteran() && age >= 18) {
+                veterans++;
+            }
+            if (person.isChronicallyHomeless()) {
+                chronic++;
+            }
+            if (person.disablingCondition()) {
+                disabled++;
+            }
+            if (person.currentlyFleeingDv()) {
+                fleeingDv++;
+            }
+
+            switch (person.projectType()) {
+                case EMERGENCY_SHELTER -> emergencyShelter++;
+                case TRANSITIONAL_HOUSING -> transitionalHousing++;
+                case SAFE_HAVEN -> safeHaven++;
+                case STREET_OUTREACH -> unsheltered++;
+                default -> { }
+            }
+
+            if (person.hasMissingData()) {
+                missingData++;
+            }
+        }
+
+        int totalPersons = persons.size();
+        census.aggregateHouseholdData(new PitCensusData.HouseholdAggregation(
+            households.size(), withChildren, withoutChildren, onlyChildren));
+        census.aggregateDemographicData(new PitCensusData.DemographicAggregation(
+            totalPersons, under18, age18To24, over24,
+            male, female, nonBinary, transgender, questioning,
+            white, black, asian, americanIndian, pacificIslander, multiple, hispanic));
+        census.aggregateSpecialPopulationData(new PitCensusData.SpecialPopulationAggregation(
+            veterans, chronic, disabled, fleeingDv, unaccompaniedYouth, parentingYouth));
+        census.aggregateLocationData(new PitCensusData.LocationAggregation(
+            emergencyShelter, transitionalHousing, safeHaven, unsheltered));
+        census.updateDataQualityMetrics(missingData, stays.size() - totalPersons,
+            totalPersons == 0 ? 1.0 : 1.0 - (double) missingData / totalPersons);
+    }
+
+    /**
+     * Fill bed/unit inventory by project type, PIT occupancy and utilization.
+     *
+     * @param occupiedByProjectType persons enrolled on the inventory date keyed by project type
+     */
+    public static void aggregateHicInventory(HicInventoryData inventory,
+                                             List<HicProjectInventory> projects,
+                                             Map<String, Integer> occupiedByProjectType) {
+        Map<String, BedTally> tallies = new HashMap<>();
+        Map<String, int[]> funding = new TreeMap<>();
+        int missingInventory = 0;
+        int inconsistent = 0;
+
+        for (HicProjectInventory project : projects) {
+            tallies.computeIfAbsent(project.projectType(), type -> new BedTally()).add(project);
+            if (project.fundingSource() != null) {
+                int[] bedsAndUnits = funding.computeIfAbsent(project.fundingSource(), source -> new int[2]);
+                bedsAndUnits[0] += project.beds();
+                bedsAndUnits[1] += project.units();
+            }
+            if (project.isMissingInventory()) {
+                missingInventory++;
+            }
+            if (project.isInconsistent()) {
+                inconsistent++;
+            }
+        }
+
+        BedTally es = tallies.getOrDefault(EMERGENCY_SHELTER, new BedTally());
+        BedTally th = tallies.getOrDefault(TRANSITIONAL_HOUSING, new BedTally());
+        BedTally sh = tallies.getOrDefault(SAFE_HAVEN, new BedTally());
+        BedTally rrh = tallies.getOrDefault(RAPID_REHOUSING, new BedTally());
+        BedTally psh = tallies.getOrDefault(PERMANENT_SUPPORTIVE_HOUSING, new BedTally());
+        BedTally oph = tallies.getOrDefault(OTHER_PERMANENT_HOUSING, new BedTally());
+
+        inventory.aggregateEmergencyShelterData(new HicInventoryData.EmergencyShelterAggregation(
+            es.beds, es.units, es.veteranBeds, es.youthBeds, es.familyBeds, es.adultOnlyBeds, es.chronicBeds,
+            0, 0, 0));
+        inventory.aggregateTransitionalHousingData(new HicInventoryData.TransitionalHousingAggregation(
+            th.beds, th.units, th.veteranBeds, th.youthBeds, th.familyBeds, th.adultOnlyBeds, th.chronicBeds));
+        inventory.aggregateSafeHavenData(new HicInventoryData.SafeHavenAggregation(sh.beds, sh.units));
+        inventory.aggregateRapidRehousingData(new HicInventoryData.RapidRehousingAggregation(
+            rrh.beds, rrh.units, rrh.veteranBeds, rrh.youthBeds, rrh.familyBeds, rrh.adultOnlyBeds));
+        inventory.aggregatePermanentSupportiveData(new HicInventoryData.PermanentSupportiveAggregation(
+            psh.beds, psh.units, psh.veteranBeds, psh.youthBeds, psh.familyBeds, psh.adultOnlyBeds, psh.chronicBeds));
+        inventory.aggregateOtherPermanentHousingData(
+            new HicInventoryData.OtherPermanentHousingAggregation(oph.beds, oph.units));
+
+        HicInventoryData.PitOccupancy occupancy = new HicInventoryData.PitOccupancy(
+            occupiedByProjectType.getOrDefault(EMERGENCY_SHELTER, 0),
+            occupiedByProjectType.getOrDefault(TRANSITIONAL_HOUSING, 0),
+            occupiedByProjectType.getOrDefault(SAFE_HAVEN, 0),
+            occupiedByProjectType.getOrDefault(RAPID_REHOUSING, 0),
+            occupiedByProjectType.getOrDefault(PERMANENT_SUPPORTIVE_HOUSING, 0));
+        inventory.updatePitOccupancy(occupancy);
+        inventory.updateUtilizationMetrics(new HicInventoryData.UtilizationMetrics(
+            utilization(occupancy.emergencyShelter(), es.beds),
+            utilization(occupancy.transitionalHousing(), th.beds),
+            utilization(occupancy.safeHaven(), sh.beds),
+            utilization(occupancy.rapidRehousing(), rrh.beds),
+            utilization(occupancy.permanentSupportive(), psh.beds)));
+
+        funding.forEach((source, bedsAndUnits) ->
+            inventory.addFundingSourceData(source, bedsAndUnits[0], bedsAndUnits[1]));
+        inventory.updateDataQualityMetrics(missingInventory, inconsistent,
+            projects.isEmpty() ? 1.0 : 1.0 - (double) missingInventory / projects.size());
+    }
+
+    private static double utilization(int occupied, int beds) {
+        return beds > 0 ? (double) occupied / beds * 100 : 0.0;
+    }
+
+    private static boolean isUnsheltered(PitCensusStay stay) {
+        return STREET_OUTREACH.equals(stay.projectType());
+    }
+
+    private static boolean isHispanic(PitCensusStay person) {
+        if (person.ethnicity() != null && person.ethnicity().toUpperCase().startsWith("HISPANIC")) {
+            return true;
+        }
+        return parseCodes(person.race()).contains("HISPANIC_LATINO");
+    }
+
+    private static Set<String> parseCodes(String raw) {
+        Set<String> codes = new HashSet<>();
+        if (raw == null) {
+            return codes;
+        }
+        for (String token : raw.split("[,;]")) {
+            String code = token.trim().toUpperCase();
+            if (!code.isEmpty()) {
+                codes.add(code);
+            }
+        }
+        return codes;
+    }
+
+    private static final class BedTally {
+        private int beds;
+        private int units;
+        private int veteranBeds;
+        private int youthBeds;
+        private int familyBeds;
+        private int adultOnlyBeds;
+        private int chronicBeds;
+
+        void add(HicProjectInventory project) {
+            int projectBeds = project.beds();
+            beds += projectBeds;
+            units += project.units();
+            if (project.targets("VETERAN")) {
+                veteranBeds += projectBeds;
+            }
+            if (project.targets("YOUTH")) {
+                youthBeds += projectBeds;
+            }
+            if (project.targets("CHRONIC")) {
+                chronicBeds += projectBeds;
+            }
+            if (project.targets("FAMIL")) {
+                familyBeds += projectBeds;
+            } else {
+                adultOnlyBeds += projectBeds;
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package org.haven.reporting.domain.pithic;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository for generated PIT census and HIC inventory aggregates.
+ * Rows are unique per date/continuum/organization, so regenerating a partition replaces it.
+ */
+public interface PitHicDataRepository {
+
+    /**
+     * Insert or replace the census row for its date/continuum/organization partition
+     */
+    PitCensusData savePitCensus(PitCensusData censusData);
+
+    /**
+     * Insert or replace the inventory row for its date/continuum/organization partition
+     */
+    HicInventoryData saveHicInventory(HicInventoryData inventoryData);
+
+    Optional<PitCensusData> findPitCensus(UUID censusId);
+
+    Optional<HicInventoryData> findHicInventory(UUID inventoryId);
+
+    List<PitCensusData> findPitCensusBetween(LocalDate start, LocalDate end);
+
+    List<HicInventoryData> findHicInventoryBetween(LocalDate start, LocalDate end);
+}
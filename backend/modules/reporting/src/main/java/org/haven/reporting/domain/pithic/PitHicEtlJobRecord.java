@@ -0,0 +1,23 @@
+package org.haven.reporting.domain.pithic;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Durable snapshot of a PIT/HIC ETL job's progress
+ */
+public record PitHicEtlJobRecord(
+    UUID jobId,
+    String jobType,
+    LocalDate processDate,
+    String triggerType,
+    String state,
+    LocalDateTime startTime,
+    LocalDateTime endTime,
+    int totalPartitions,
+    int processedCount,
+    int errorCount,
+    String initiatedBy,
+    String errorMessage
+) {}
@@ -0,0 +1,18 @@
+package org.haven.reporting.domain.pithic;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository for PIT/HIC ETL job progress, so job status survives restarts and is
+ * visible from every application instance
+ */
+public interface PitHicEtlJobRepository {
+
+    /**
+     * Insert or update the job row
+     */
+    void save(PitHicEtlJobRecord job);
+
+    Optional<PitHicEtlJobRecord> findById(UUID jobId);
+}
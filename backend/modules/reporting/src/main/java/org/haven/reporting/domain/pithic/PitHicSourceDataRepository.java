@@ -0,0 +1,27 @@
+package org.haven.reporting.domain.pithic;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read access to the enrollment and housing inventory data a PIT/HIC partition is computed from.
+ * Every query is scoped to one continuum/organization partition.
+ */
+public interface PitHicSourceDataRepository {
+
+    /**
+     * Enrollments in sheltered projects active on the census night
+     */
+    List<PitCensusStay> findCensusNightStays(LocalDate censusDate, String continuumCode, String organizationId);
+
+    /**
+     * Active projects with their declared and unit-level bed inventory
+     */
+    List<HicProjectInventory> findProjectInventory(LocalDate inventoryDate, String continuumCode, String organizationId);
+
+    /**
+     * Persons enrolled on the inventory date keyed by project type
+     */
+    Map<String, Integer> countOccupiedByProjectType(LocalDate inventoryDate, String continuumCode, String organizationId);
+}
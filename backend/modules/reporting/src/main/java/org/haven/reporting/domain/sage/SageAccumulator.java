@@ -0,0 +1,362 @@
+package org.haven.reporting.domain.sage;
+
+import org.haven.reporting.domain.hmis.HmisClientProjection;
+import org.haven.reporting.domain.hmis.HmisEnrollmentProjection;
+import org.haven.reporting.domain.hmis.HmisExitProjection;
+import org.haven.shared.vo.hmis.HmisGender;
+import org.haven.shared.vo.hmis.HmisRace;
+import org.haven.shared.vo.hmis.ProjectExitDestination;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Single-pass SAGE accumulator
+ * Visits each enrollment, exit and client projection exactly once and fills every
+ * SAGE counter as it goes. Partitions can be accumulated independently and combined
+ * with {@link #merge(SageAccumulator)}, so the accumulator works as the mutable
+ * container of a (parallel) {@code Stream.collect}.
+ *
+ * Client counters depend on which clients were enrolled during the period, so
+ * accumulation runs in two phases: enrollments (and exits) first, then clients
+ * against a {@link #partition()} that shares the enrollment-derived client scope.
+ */
+public final class SageAccumulator {
+
+    private final LocalDate periodStart;
+    private final LocalDate periodEnd;
+    private final LocalDate asOf;
+
+    // Client scope resolved by the enrollment phase; read-only while clients are visited
+    private final Set<String> clientScope;
+    private final Set<String> headOfHouseholdScope;
+
+    // Enrollment phase
+    private final Set<String> enrolledClientIds = new HashSet<>();
+    private final Set<String> headOfHouseholdIds = new HashSet<>();
+    private final Map<String, HouseholdTally> households = new HashMap<>();
+    private final Set<String> chronicallyHomelessFamilyHouseholds = new HashSet<>();
+    private final Map<String, Integer> lengthOfStayBreakdown = new HashMap<>();
+    private final Map<String, Integer> priorLivingSituationBreakdown = new HashMap<>();
+    private int periodEnrollments;
+    private int clientsWithDisablingCondition;
+    private int chronicallyHomelessIndividuals;
+    private int chronicallyHomelessPersons;
+
+    // Exit phase
+    private final Map<String, Integer> exitDestinationBreakdown = new HashMap<>();
+    private int periodExits;
+    private int exitsToPermanentHousing;
+    private int exitsToTemporaryHousing;
+    private int returnsToHomelessness;
+    private int destinationsCollected;
+
+    // Client phase
+    private final Map<String, Integer> genderBreakdown = new HashMap<>();
+    private final Map<String, Integer> raceBreakdown = new HashMap<>();
+    private int periodClients;
+    private int adults;
+    private int children;
+    private int unaccompaniedYouth;
+    private int veterans;
+    private int fullNames;
+    private int fullSsns;
+    private int fullDobs;
+
+    private SageAccumulator(LocalDate periodStart, LocalDate periodEnd, LocalDate asOf,
+                            Set<String> clientScope, Set<String> headOfHouseholdScope) {
+        this.periodStart = periodStart;
+        this.periodEnd = periodEnd;
+        this.asOf = asOf;
+        this.clientScope = clientScope;
+        this.headOfHouseholdScope = headOfHouseholdScope;
+    }
+
+    /**
+     * Create an empty accumulator for the reporting period. Ages are computed as of {@code asOf}.
+     */
+    public static SageAccumulator forPeriod(LocalDate periodStart, LocalDate periodEnd, LocalDate asOf) {
+        return new SageAccumulator(periodStart, periodEnd, asOf, null, null);
+    }
+
+    /**
+     * Create an empty accumulator for another partition of the same report. Client
+     * partitions see the clients enrolled in this accumulator as their scope, so the
+     * enrollment phase must be complete before clients are accepted.
+     */
+    public SageAccumulator partition() {
+        return new SageAccumulator(periodStart, periodEnd, asOf, enrolledClientIds, headOfHouseholdIds);
+    }
+
+    public void acceptEnrollment(HmisEnrollmentProjection enrollment) {
+        LocalDate entryDate = enrollment.entryDate();
+        if (entryDate.isBefore(periodStart) || entryDate.isAfter(periodEnd)) {
+            return;
+        }
+
+        periodEnrollments++;
+        String personalId = enrollment.personalId().value();
+        enrolledClientIds.add(personalId);
+        if (enrollment.relationshipToHoH().isHeadOfHousehold()) {
+            headOfHouseholdIds.add(personalId);
+        }
+
+        households.computeIfAbsent(enrollment.householdId(), id -> new HouseholdTally())
+            .add(enrollment);
+
+        if (enrollment.disablingCondition().hasDisablingCondition()) {
+            clientsWithDisablingCondition++;
+        }
+
+        if (enrollment.isChronicallyHomeless()) {
+            chronicallyHomelessPersons++;
+            if (enrollment.isFamilyHousehold()) {
+                chronicallyHomelessFamilyHouseholds.add(enrollment.householdId());
+            } else {
+                chronicallyHomelessIndividuals++;
+            }
+        }
+
+        lengthOfStayBreakdown.merge(enrollment.lengthOfStayPriorToDiEntry().name(), 1, Integer::sum);
+        priorLivingSituationBreakdown.merge(enrollment.priorLivingSituation().name(), 1, Integer::sum);
+    }
+
+    public void acceptExit(HmisExitProjection exit) {
+        LocalDate exitDate = exit.exitDate();
+        if (exitDate == null || exitDate.isBefore(periodStart) || exitDate.isAfter(periodEnd)) {
+            return;
+        }
+
+        periodExits++;
+        if (exit.isSuccessfulOutcome()) {
+            exitsToPermanentHousing++;
+        }
+        if (exit.destination().isTemporaryDestination()) {
+            exitsToTemporaryHousing++;
+        }
+        if (exit.isReturnToHomelessness()) {
+            returnsToHomelessness++;
+        }
+        if (exit.destination() != ProjectExitDestination.DATA_NOT_COLLECTED) {
+            destinationsCollected++;
+        }
+        exitDestinationBreakdown.merge(exit.getDestinationCategory(), 1, Integer::sum);
+    }
+
+    public void acceptClient(HmisClientProjection client) {
+        if (clientScope == null) {
+            throw new IllegalStateException("Clients must be accepted by a partition() of the enrollment accumulator");
+        }
+        String personalId = client.personalId().value();
+        if (!clientScope.contains(personalId)) {
+            return;
+        }
+
+        periodClients++;
+        if (isAdult(client)) {
+            adults++;
+        }
+        if (isChild(client)) {
+            children++;
+        }
+        if (headOfHouseholdScope.contains(personalId) && isYouth(client)) {
+            unaccompaniedYouth++;
+        }
+        for (HmisGender gender : client.gender()) {
+            genderBreakdown.merge(gender.name(), 1, Integer::sum);
+        }
+        for (HmisRace race : client.race()) {
+            raceBreakdown.merge(race.name(), 1, Integer::sum);
+        }
+        if (client.veteranStatus().isVeteran()) {
+            veterans++;
+        }
+        if (isFullQuality(client.nameDataQuality())) {
+            fullNames++;
+        }
+        if (isFullQuality(client.ssnDataQuality())) {
+            fullSsns++;
+        }
+        if (isFullQuality(client.dobDataQuality())) {
+            fullDobs++;
+        }
+    }
+
+    /**
+     * Fold another partition of the same report into this accumulator.
+     */
+    public void merge(SageAccumulator other) {
+        enrolledClientIds.addAll(other.enrolledClientIds);
+        headOfHouseholdIds.addAll(other.headOfHouseholdIds);
+        other.households.forEach((id, tally) -> households.merge(id, tally, HouseholdTally::merge));
+        chronicallyHomelessFamilyHouseholds.addAll(other.chronicallyHomelessFamilyHouseholds);
+        mergeCounts(lengthOfStayBreakdown, other.lengthOfStayBreakdown);
+        mergeCounts(priorLivingSituationBreakdown, other.priorLivingSituationBreakdown);
+        periodEnrollments += other.periodEnrollments;
+        clientsWithDisablingCondition += other.clientsWithDisablingCondition;
+        chronicallyHomelessIndividuals += other.chronicallyHomelessIndividuals;
+        chronicallyHomelessPersons += other.chronicallyHomelessPersons;
+
+        mergeCounts(exitDestinationBreakdown, other.exitDestinationBreakdown);
+        periodExits += other.periodExits;
+        exitsToPermanentHousing += other.exitsToPermanentHousing;
+        exitsToTemporaryHousing += other.exitsToTemporaryHousing;
+        returnsToHomelessness += other.returnsToHomelessness;
+        destinationsCollected += other.destinationsCollected;
+
+        mergeCounts(genderBreakdown, other.genderBreakdown);
+        mergeCounts(raceBreakdown, other.raceBreakdown);
+        periodClients += other.periodClients;
+        adults += other.adults;
+        children += other.children;
+        unaccompaniedYouth += other.unaccompaniedYouth;
+        veterans += other.veterans;
+        fullNames += other.fullNames;
+        fullSsns += other.fullSsns;
+        fullDobs += other.fullDobs;
+    }
+
+    /**
+     * Build the SAGE aggregate from the accumulated counters
+     */
+    public SageAggregateData toSageAggregate(String reportId, String cocCode, String projectId,
+                                             String projectType, LocalDate generatedDate) {
+        int families = 0;
+        int individuals = 0;
+        for (HouseholdTally household : households.values()) {
+            if (household.isFamily()) {
+                families++;
+            }
+            if (household.isIndividual()) {
+                individuals++;
+            }
+        }
+
+        return new SageAggregateData(
+            reportId,
+            periodStart,
+            periodEnd,
+            cocCode,
+            projectId,
+            projectType,
+
+            // Client Demographics
+            periodClients,
+            adults,
+            children,
+            unaccompaniedYouth,
+            families,
+            individuals,
+
+            // Demographics Breakdowns
+            genderBreakdown,
+            raceBreakdown,
+            // Simplified - would need ethnicity field in client projection
+            Map.of("DATA_NOT_COLLECTED", periodClients),
+
+            // Veteran Status
+            veterans,
+            0, // Placeholder - would need disability information cross-referenced with veteran status
+
+            // Disability Status
+            clientsWithDisablingCondition,
+
+            // Chronic Homelessness
+            chronicallyHomelessIndividuals,
+            chronicallyHomelessFamilyHouseholds.size(),
+            chronicallyHomelessPersons,
+
+            // Housing Outcomes
+            exitsToPermanentHousing,
+            exitsToTemporaryHousing,
+            returnsToHomelessness,
+
+            // Length of Stay
+            lengthOfStayBreakdown,
+
+            // Prior Living Situation
+            priorLivingSituationBreakdown,
+
+            // Exit Destinations
+            exitDestinationBreakdown,
+
+            // Service Utilization
+            periodEnrollments, // Total service episodes
+            Map.of("Enrollment", periodEnrollments), // Service type breakdown
+
+            // Income and Benefits (placeholder - would need additional data)
+            null,
+            null,
+
+            // Data Quality
+            percentage(fullNames, periodClients),
+            percentage(fullSsns, periodClients),
+            percentage(fullDobs, periodClients),
+            percentage(destinationsCollected, periodExits),
+
+            // Report Metadata
+            generatedDate,
+            "system",
+            "1.0"
+        );
+    }
+
+    private static void mergeCounts(Map<String, Integer> target, Map<String, Integer> source) {
+        source.forEach((key, count) -> target.merge(key, count, Integer::sum));
+    }
+
+    private static boolean isFullQuality(Integer dataQuality) {
+        return dataQuality != null && dataQuality == 1;
+    }
+
+    private static Double percentage(int matching, int total) {
+        if (total == 0) return null;
+        return (double) matching / total * 100.0;
+    }
+
+    private boolean isAdult(HmisClientProjection client) {
+        if (client.dateOfBirth() == null) return true; // Assume adult if unknown
+        return asOf.minusYears(18).isAfter(client.dateOfBirth());
+    }
+
+    private boolean isChild(HmisClientProjection client) {
+        if (client.dateOfBirth() == null) return false;
+        return !asOf.minusYears(18).isAfter(client.dateOfBirth());
+    }
+
+    private boolean isYouth(HmisClientProjection client) {
+        if (client.dateOfBirth() == null) return false;
+        return asOf.minusYears(25).isBefore(client.dateOfBirth()) &&
+               asOf.minusYears(18).isAfter(client.dateOfBirth());
+    }
+
+    /**
+     * Household composition collected from the household's period enrollments
+     */
+    private static final class HouseholdTally {
+        private int members;
+        private boolean anyFamilyMember;
+        private boolean allHeadOfHousehold = true;
+
+        void add(HmisEnrollmentProjection enrollment) {
+            members++;
+            anyFamilyMember |= enrollment.relationshipToHoH().isFamilyMember();
+            allHeadOfHousehold &= enrollment.relationshipToHoH().isHeadOfHousehold();
+        }
+
+        HouseholdTally merge(HouseholdTally other) {
+            members += other.members;
+            anyFamilyMember |= other.anyFamilyMember;
+            allHeadOfHousehold &= other.allHeadOfHousehold;
+            return this;
+        }
+
+        boolean isFamily() {
+            return members > 1 || anyFamilyMember;
+        }
+
+        boolean isIndividual() {
+            return members == 1 && allHeadOfHousehold;
+        }
+    }
+}
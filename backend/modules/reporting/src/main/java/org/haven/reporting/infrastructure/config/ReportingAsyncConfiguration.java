@@ -73,4 +73,47 @@ public class ReportingAsyncConfiguration {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * Bounded pool for PIT/HIC partition fan-out. Each task holds a database connection while it
+     * loads one continuum/organization partition, so the pool stays well under the connection pool size.
+     */
+    @Bean(name = "pitHicAggregationExecutor")
+    public TaskExecutor pitHicAggregationExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("pit-hic-");
+        executor.setKeepAliveSeconds(60);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Pool for compressing independent export sections concurrently. Compression is CPU-bound,
+     * so the pool is sized to the available processors; each task spools to a temp file.
+     */
+    @Bean(name = "exportPackagingExecutor")
+    public TaskExecutor exportPackagingExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        int processors = Runtime.getRuntime().availableProcessors();
+
+        executor.setCorePoolSize(processors);
+        executor.setMaxPoolSize(processors);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("export-zip-");
+        executor.setKeepAliveSeconds(60);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+
+        executor.initialize();
+        return executor;
+    }
 }
@@ -0,0 +1,235 @@
+package org.haven.reporting.infrastructure.persistence;
+
+import org.haven.reporting.domain.dataquality.ClientDataQualityScore;
+import org.haven.reporting.domain.dataquality.ClientDataQualitySummary;
+import org.haven.reporting.domain.dataquality.DataQualityScope;
+import org.haven.reporting.domain.dataquality.EnrollmentDataQualityCounts;
+import org.haven.reporting.domain.dataquality.EnrollmentDataQualityScore;
+import org.haven.reporting.domain.dataquality.HmisDataQualityRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * PostgreSQL implementation of {@link HmisDataQualityRepository} over the hmis_*_data_quality
+ * tables. Rollup deltas are applied with additive upserts so concurrent writers to the same
+ * bucket never lose an update.
+ */
+@Repository
+public class JdbcHmisDataQualityRepository implements HmisDataQualityRepository {
+
+    /** Advisory lock key shared by score updates and rebuilds */
+    private static final long SCORE_LOCK_KEY = 0x484D495344510001L;
+
+    private static final RowMapper<EnrollmentDataQualityCounts> COUNTS_MAPPER = (rs, rowNum) ->
+        new EnrollmentDataQualityCounts(
+            rs.getLong("total_enrollments"),
+            rs.getLong("compliant_enrollments"),
+            rs.getLong("linked_enrollments"),
+            rs.getLong("rrh_linked_enrollments"),
+            rs.getLong("rrh_linked_with_move_in"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcHmisDataQualityRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Optional<ClientDataQualityScore> findClientScoreForUpdate(UUID clientId) {
+        return jdbcTemplate.query("""
+            SELECT client_id, hmis_compliant, score
+            FROM hmis_client_data_quality
+            WHERE client_id = ?
+            FOR UPDATE
+            """,
+            (rs, rowNum) -> new ClientDataQualityScore(
+                rs.getObject("client_id", UUID.class),
+                rs.getBoolean("hmis_compliant"),
+                rs.getDouble("score")),
+            clientId).stream().findFirst();
+    }
+
+    @Override
+    public void saveClientScore(ClientDataQualityScore score) {
+        jdbcTemplate.update("""
+            INSERT INTO hmis_client_data_quality (client_id, hmis_compliant, score)
+            VALUES (?, ?, ?)
+            ON CONFLICT (client_id) DO UPDATE SET
+                hmis_compliant = EXCLUDED.hmis_compliant,
+                score = EXCLUDED.score,
+                updated_at = CURRENT_TIMESTAMP
+            """,
+            score.clientId(), score.hmisCompliant(), score.score());
+    }
+
+    @Override
+    public void deleteClientScore(UUID clientId) {
+        jdbcTemplate.update("DELETE FROM hmis_client_data_quality WHERE client_id = ?", clientId);
+    }
+
+    @Override
+    public void applyClientDelta(long totalClients, long compliantClients, double scoreSum) {
+        jdbcTemplate.update("""
+            INSERT INTO hmis_client_data_quality_summary (summary_id, total_clients, compliant_clients, score_sum)
+            VALUES (1, ?, ?, ?)
+            ON CONFLICT (summary_id) DO UPDATE SET
+                total_clients = hmis_client_data_quality_summary.total_clients + EXCLUDED.total_clients,
+                compliant_clients = hmis_client_data_quality_summary.compliant_clients + EXCLUDED.compliant_clients,
+                score_sum = hmis_client_data_quality_summary.score_sum + EXCLUDED.score_sum,
+                updated_at = CURRENT_TIMESTAMP
+            """,
+            totalClients, compliantClients, scoreSum);
+    }
+
+    @Override
+    public Optional<ClientDataQualitySummary> findClientSummary() {
+        return jdbcTemplate.query("""
+            SELECT total_clients, compliant_clients, score_sum
+            FROM hmis_client_data_quality_summary
+            WHERE summary_id = 1
+            """,
+            (rs, rowNum) -> new ClientDataQualitySummary(
+                rs.getLong("total_clients"),
+                rs.getLong("compliant_clients"),
+                rs.getDouble("score_sum"))).stream().findFirst();
+    }
+
+    @Override
+    public Optional<EnrollmentDataQualityScore> findEnrollmentScoreForUpdate(UUID enrollmentId) {
+        return jdbcTemplate.query("""
+            SELECT * FROM hmis_enrollment_data_quality
+            WHERE enrollment_id = ?
+            FOR UPDATE
+            """,
+            (rs, rowNum) -> new EnrollmentDataQualityScore(
+                rs.getObject("enrollment_id", UUID.class),
+                rs.getObject("program_id", UUID.class),
+                rs.getString("continuum_code"),
+                rs.getObject("enrollment_date", LocalDate.class),
+                rs.getBoolean("hmis_compliant"),
+                rs.getBoolean("linked"),
+                rs.getBoolean("rrh_linked"),
+                rs.getBoolean("rrh_linked_with_move_in")),
+            enrollmentId).stream().findFirst();
+    }
+
+    @Override
+    public void saveEnrollmentScore(EnrollmentDataQualityScore score) {
+        jdbcTemplate.update("""
+            INSERT INTO hmis_enrollment_data_quality (
+                enrollment_id, program_id, continuum_code, enrollment_date,
+                hmis_compliant, linked, rrh_linked, rrh_linked_with_move_in)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (enrollment_id) DO UPDATE SET
+                program_id = EXCLUDED.program_id,
+                continuum_code = EXCLUDED.continuum_code,
+                enrollment_date = EXCLUDED.enrollment_date,
+                hmis_compliant = EXCLUDED.hmis_compliant,
+                linked = EXCLUDED.linked,
+                rrh_linked = EXCLUDED.rrh_linked,
+                rrh_linked_with_move_in = EXCLUDED.rrh_linked_with_move_in,
+                updated_at = CURRENT_TIMESTAMP
+            """,
+            score.enrollmentId(), score.programId(), score.continuumCode(), score.enrollmentDate(),
+            score.hmisCompliant(), score.linked(), score.rrhLinked(), score.rrhLinkedWithMoveIn());
+    }
+
+    @Override
+    public void deleteEnrollmentScore(UUID enrollmentId) {
+        jdbcTemplate.update("DELETE FROM hmis_enrollment_data_quality WHERE enrollment_id = ?", enrollmentId);
+    }
+
+    @Override
+    public void applyEnrollmentDelta(DataQualityScope scope, String scopeKey, LocalDate periodDate,
+                                     EnrollmentDataQualityCounts delta) {
+        jdbcTemplate.update("""
+            INSERT INTO hmis_data_quality_rollup (
+                scope_type, scope_key, period_date, total_enrollments, compliant_enrollments,
+                linked_enrollments, rrh_linked_enrollments, rrh_linked_with_move_in)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (scope_type, scope_key, period_date) DO UPDATE SET
+                total_enrollments = hmis_data_quality_rollup.total_enrollments + EXCLUDED.total_enrollments,
+                compliant_enrollments = hmis_data_quality_rollup.compliant_enrollments + EXCLUDED.compliant_enrollments,
+                linked_enrollments = hmis_data_quality_rollup.linked_enrollments + EXCLUDED.linked_enrollments,
+                rrh_linked_enrollments = hmis_data_quality_rollup.rrh_linked_enrollments + EXCLUDED.rrh_linked_enrollments,
+                rrh_linked_with_move_in = hmis_data_quality_rollup.rrh_linked_with_move_in + EXCLUDED.rrh_linked_with_move_in,
+                updated_at = CURRENT_TIMESTAMP
+            """,
+            scope.name(), scopeKey, periodDate, delta.totalEnrollments(), delta.compliantEnrollments(),
+            delta.linkedEnrollments(), delta.rrhLinkedEnrollments(), delta.rrhLinkedWithMoveIn());
+    }
+
+    @Override
+    public EnrollmentDataQualityCounts sumEnrollments(DataQualityScope scope, String scopeKey,
+                                                      LocalDate from, LocalDate to) {
+        return jdbcTemplate.queryForObject("""
+            SELECT COALESCE(SUM(total_enrollments), 0) AS total_enrollments,
+                   COALESCE(SUM(compliant_enrollments), 0) AS compliant_enrollments,
+                   COALESCE(SUM(linked_enrollments), 0) AS linked_enrollments,
+                   COALESCE(SUM(rrh_linked_enrollments), 0) AS rrh_linked_enrollments,
+                   COALESCE(SUM(rrh_linked_with_move_in), 0) AS rrh_linked_with_move_in
+            FROM hmis_data_quality_rollup
+            WHERE scope_type = ? AND scope_key = ? AND period_date BETWEEN ? AND ?
+            """,
+            COUNTS_MAPPER, scope.name(), scopeKey, from, to);
+    }
+
+    @Override
+    public Map<String, EnrollmentDataQualityCounts> sumEnrollmentsByKey(DataQualityScope scope,
+                                                                        LocalDate from, LocalDate to) {
+        Map<String, EnrollmentDataQualityCounts> totals = new LinkedHashMap<>();
+        jdbcTemplate.query("""
+            SELECT scope_key,
+                   SUM(total_enrollments) AS total_enrollments,
+                   SUM(compliant_enrollments) AS compliant_enrollments,
+                   SUM(linked_enrollments) AS linked_enrollments,
+                   SUM(rrh_linked_enrollments) AS rrh_linked_enrollments,
+                   SUM(rrh_linked_with_move_in) AS rrh_linked_with_move_in
+            FROM hmis_data_quality_rollup
+            WHERE scope_type = ? AND period_date BETWEEN ? AND ?
+            GROUP BY scope_key
+            HAVING SUM(total_enrollments) > 0
+            ORDER BY scope_key
+            """,
+            rs -> {
+                totals.put(rs.getString("scope_key"), COUNTS_MAPPER.mapRow(rs, 0));
+            },
+            scope.name(), from, to);
+        return totals;
+    }
+
+    @Override
+    public Optional<String> findContinuumCode(UUID programId) {
+        return jdbcTemplate.queryForList("""
+            SELECT hp.continuum_code
+            FROM programs p
+            JOIN housing_projects hp ON hp.project_code = p.program_code
+            WHERE p.id = ? AND hp.continuum_code IS NOT NULL
+            LIMIT 1
+            """,
+            String.class, programId).stream().findFirst();
+    }
+
+    @Override
+    public void lockForUpdate(boolean exclusive) {
+        jdbcTemplate.queryForList(exclusive
+                ? "SELECT pg_advisory_xact_lock(?)"
+                : "SELECT pg_advisory_xact_lock_shared(?)",
+            SCORE_LOCK_KEY);
+    }
+
+    @Override
+    public void clearAll() {
+        jdbcTemplate.update("DELETE FROM hmis_data_quality_rollup");
+        jdbcTemplate.update("DELETE FROM hmis_enrollment_data_quality");
+        jdbcTemplate.update("DELETE FROM hmis_client_data_quality");
+        jdbcTemplate.update("DELETE FROM hmis_client_data_quality_summary");
+    }
+}
@@ -0,0 +1,334 @@
+package org.haven.reporting.infrastructure.persistence;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.haven.reporting.domain.pithic.HicInventoryData;
+import org.haven.reporting.domain.pithic.PitCensusData;
+import org.haven.reporting.domain.pithic.PitHicDataRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * PostgreSQL implementation of {@link PitHicDataRepository} over the V33 pit_census_data and
+ * hic_inventory_data tables. Saves upsert on the date/continuum/organization unique key.
+ */
+@Repository
+public class JdbcPitHicDataRepository implements PitHicDataRepository {
+
+    private static final TypeReference<Map<String, Integer>> COUNT_MAP = new TypeReference<>() {};
+    private static final TypeReference<Map<String, Object>> METADATA_MAP = new TypeReference<>() {};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public JdbcPitHicDataRepository(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public PitCensusData savePitCensus(PitCensusData data) {
+        Map<String, Object> columns = new LinkedHashMap<>();
+        columns.put("census_id", data.getCensusId());
+        columns.put("census_date", data.getCensusDate());
+        columns.put("continuum_code", data.getContinuumCode());
+        columns.put("organization_id", data.getOrganizationId());
+        columns.put("total_households", data.getTotalHouseholds());
+        columns.put("households_with_children", data.getHouseholdsWithChildren());
+        columns.put("households_without_children", data.getHouseholdsWithoutChildren());
+        columns.put("households_with_only_children", data.getHouseholdsWithOnlyChildren());
+        columns.put("total_persons", data.getTotalPersons());
+        columns.put("persons_under_18", data.getPersonsUnder18());
+        columns.put("persons_18_to_24", data.getPersons18To24());
+        columns.put("persons_over_24", data.getPersonsOver24());
+        columns.put("persons_male", data.getPersonsMale());
+        columns.put("persons_female", data.getPersonsFemale());
+        columns.put("persons_non_binary", data.getPersonsNonBinary());
+        columns.put("persons_transgender", data.getPersonsTransgender());
+        columns.put("persons_questioning", data.getPersonsQuestioning());
+        columns.put("persons_white", data.getPersonsWhite());
+        columns.put("persons_black_african_american", data.getPersonsBlackAfricanAmerican());
+        columns.put("persons_asian", data.getPersonsAsian());
+        columns.put("persons_american_indian_alaska_native", data.getPersonsAmericanIndianAlaskaNative());
+        columns.put("persons_native_hawaiian_pacific_islander", data.getPersonsNativeHawaiianPacificIslander());
+        columns.put("persons_multiple_races", data.getPersonsMultipleRaces());
+        columns.put("persons_hispanic_latino", data.getPersonsHispanicLatino());
+        columns.put("veteran_persons", data.getVeteranPersons());
+        columns.put("chronically_homeless_persons", data.getChronicallyHomelessPersons());
+        columns.put("persons_with_disabilities", data.getPersonsWithDisabilities());
+        columns.put("persons_fleeing_dv", data.getPersonsFleeingDV());
+        columns.put("unaccompanied_youth", data.getUnaccompaniedYouth());
+        columns.put("parenting_youth", data.getParentingYouth());
+        columns.put("sheltered_emergency_shelter", data.getShelteredEmergencyShelter());
+        columns.put("sheltered_transitional_housing", data.getShelteredTransitionalHousing());
+        columns.put("sheltered_safe_haven", data.getShelteredSafeHaven());
+        columns.put("unsheltered_persons", data.getUnshelteredPersons());
+        columns.put("records_with_missing_data", data.getRecordsWithMissingData());
+        columns.put("records_with_data_quality_issues", data.getRecordsWithDataQualityIssues());
+        columns.put("data_completion_rate", data.getDataCompletionRate());
+        columns.put("generated_at", data.getGeneratedAt());
+        columns.put("generated_by", data.getGeneratedBy());
+        columns.put("metadata", toJson(data.getMetadata()));
+
+        upsert("pit_census_data", "census_date, continuum_code, organization_id", columns);
+        return data;
+    }
+
+    @Override
+    public HicInventoryData saveHicInventory(HicInventoryData data) {
+        Map<String, Object> columns = new LinkedHashMap<>();
+        columns.put("inventory_id", data.getInventoryId());
+        columns.put("inventory_date", data.getInventoryDate());
+        columns.put("continuum_code", data.getContinuumCode());
+        columns.put("organization_id", data.getOrganizationId());
+        columns.put("emergency_shelter_total_beds", data.getEmergencyShelterTotalBeds());
+        columns.put("emergency_shelter_total_units", data.getEmergencyShelterTotalUnits());
+        columns.put("emergency_shelter_veteran_beds", data.getEmergencyShelterVeteranBeds());
+        columns.put("emergency_shelter_youth_beds", data.getEmergencyShelterYouthBeds());
+        columns.put("emergency_shelter_family_beds", data.getEmergencyShelterFamilyBeds());
+        columns.put("emergency_shelter_adult_only_beds", data.getEmergencyShelterAdultOnlyBeds());
+        columns.put("emergency_shelter_chronic_beds", data.getEmergencyShelterChronicBeds());
+        columns.put("emergency_shelter_seasonal_beds", data.getEmergencyShelterSeasonalBeds());
+        columns.put("emergency_shelter_overflow_beds", data.getEmergencyShelterOverflowBeds());
+        columns.put("emergency_shelter_voucher_beds", data.getEmergencyShelterVoucherBeds());
+        columns.put("transitional_housing_total_beds", data.getTransitionalHousingTotalBeds());
+        columns.put("transitional_housing_total_units", data.getTransitionalHousingTotalUnits());
+        columns.put("transitional_housing_veteran_beds", data.getTransitionalHousingVeteranBeds());
+        columns.put("transitional_housing_youth_beds", data.getTransitionalHousingYouthBeds());
+        columns.put("transitional_housing_family_beds", data.getTransitionalHousingFamilyBeds());
+        columns.put("transitional_housing_adult_only_beds", data.getTransitionalHousingAdultOnlyBeds());
+        columns.put("transitional_housing_chronic_beds", data.getTransitionalHousingChronicBeds());
+        columns.put("safe_haven_total_beds", data.getSafeHavenTotalBeds());
+        columns.put("safe_haven_total_units", data.getSafeHavenTotalUnits());
+        columns.put("rapid_rehousing_total_beds", data.getRapidRehousingTotalBeds());
+        columns.put("rapid_rehousing_total_units", data.getRapidRehousingTotalUnits());
+        columns.put("rapid_rehousing_veteran_beds", data.getRapidRehousingVeteranBeds());
+        columns.put("rapid_rehousing_youth_beds", data.getRapidRehousingYouthBeds());
+        columns.put("rapid_rehousing_family_beds", data.getRapidRehousingFamilyBeds());
+        columns.put("rapid_rehousing_adult_only_beds", data.getRapidRehousingAdultOnlyBeds());
+        columns.put("permanent_supportive_total_beds", data.getPermanentSupportiveTotalBeds());
+        columns.put("permanent_supportive_total_units", data.getPermanentSupportiveTotalUnits());
+        columns.put("permanent_supportive_veteran_beds", data.getPermanentSupportiveVeteranBeds());
+        columns.put("permanent_supportive_youth_beds", data.getPermanentSupportiveYouthBeds());
+        columns.put("permanent_supportive_family_beds", data.getPermanentSupportiveFamilyBeds());
+        columns.put("permanent_supportive_adult_only_beds", data.getPermanentSupportiveAdultOnlyBeds());
+        columns.put("permanent_supportive_chronic_beds", data.getPermanentSupportiveChronicBeds());
+        columns.put("other_permanent_housing_total_beds", data.getOtherPermanentHousingTotalBeds());
+        columns.put("other_permanent_housing_total_units", data.getOtherPermanentHousingTotalUnits());
+        columns.put("emergency_shelter_utilization_rate", data.getEmergencyShelterUtilizationRate());
+        columns.put("transitional_housing_utilization_rate", data.getTransitionalHousingUtilizationRate());
+        columns.put("safe_haven_utilization_rate", data.getSafeHavenUtilizationRate());
+        columns.put("rapid_rehousing_utilization_rate", data.getRapidRehousingUtilizationRate());
+        columns.put("permanent_supportive_utilization_rate", data.getPermanentSupportiveUtilizationRate());
+        columns.put("pit_occupied_emergency_shelter", data.getPitOccupiedEmergencyShelter());
+        columns.put("pit_occupied_transitional_housing", data.getPitOccupiedTransitionalHousing());
+        columns.put("pit_occupied_safe_haven", data.getPitOccupiedSafeHaven());
+        columns.put("pit_occupied_rapid_rehousing", data.getPitOccupiedRapidRehousing());
+        columns.put("pit_occupied_permanent_supportive", data.getPitOccupiedPermanentSupportive());
+        columns.put("projects_with_missing_inventory", data.getProjectsWithMissingInventory());
+        columns.put("projects_with_inconsistent_data", data.getProjectsWithInconsistentData());
+        columns.put("inventory_data_completion_rate", data.getInventoryDataCompletionRate());
+        columns.put("beds_by_funding_source", toJson(data.getBedsByFundingSource()));
+        columns.put("units_by_funding_source", toJson(data.getUnitsByFundingSource()));
+        columns.put("generated_at", data.getGeneratedAt());
+        columns.put("generated_by", data.getGeneratedBy());
+        columns.put("metadata", toJson(data.getMetadata()));
+
+        upsert("hic_inventory_data", "inventory_date, continuum_code, organization_id", columns);
+        return data;
+    }
+
+    @Override
+    public Optional<PitCensusData> findPitCensus(UUID censusId) {
+        return jdbcTemplate.query("SELECT * FROM pit_census_data WHERE census_id = ?",
+            (rs, rowNum) -> mapPitCensus(rs), censusId).stream().findFirst();
+    }
+
+    @Override
+    public Optional<HicInventoryData> findHicInventory(UUID inventoryId) {
+        return jdbcTemplate.query("SELECT * FROM hic_inventory_data WHERE inventory_id = ?",
+            (rs, rowNum) -> mapHicInventory(rs), inventoryId).stream().findFirst();
+    }
+
+    @Override
+    public List<PitCensusData> findPitCensusBetween(LocalDate start, LocalDate end) {
+        return jdbcTemplate.query(
+            "SELECT * FROM pit_census_data WHERE census_date BETWEEN ? AND ? " +
+            "ORDER BY census_date, continuum_code, organization_id",
+            (rs, rowNum) -> mapPitCensus(rs), start, end);
+    }
+
+    @Override
+    public List<HicInventoryData> findHicInventoryBetween(LocalDate start, LocalDate end) {
+        return jdbcTemplate.query(
+            "SELECT * FROM hic_inventory_data WHERE inventory_date BETWEEN ? AND ? " +
+            "ORDER BY inventory_date, continuum_code, organization_id",
+            (rs, rowNum) -> mapHicInventory(rs), start, end);
+    }
+
+    /**
+     * Regenerating a partition replaces the whole row, including its ID
+     */
+    private void upsert(String table, String conflictKey, Map<String, Object> columns) {
+        Set<String> keyColumns = Arrays.stream(conflictKey.split(","))
+            .map(String::trim)
+            .collect(Collectors.toSet());
+        String columnList = String.join(", ", columns.keySet());
+        String placeholders = columns.keySet().stream()
+            .map(column -> column.endsWith("metadata") || column.endsWith("funding_source") ? "CAST(? AS JSONB)" : "?")
+            .collect(Collectors.joining(", "));
+        String updates = columns.keySet().stream()
+            .filter(column -> !keyColumns.contains(column))
+            .map(column -> column + " = EXCLUDED." + column)
+            .collect(Collectors.joining(", "));
+
+        String sql = "INSERT INTO " + table + " (" + columnList + ") VALUES (" + placeholders + ") " +
+                     "ON CONFLICT (" + conflictKey + ") DO UPDATE SET " + updates;
+        jdbcTemplate.update(sql, columns.values().toArray());
+    }
+
+    private PitCensusData mapPitCensus(ResultSet rs) throws SQLException {
+        PitCensusData data = new PitCensusData(
+            rs.getObject("census_id", UUID.class),
+            rs.getObject("census_date", LocalDate.class),
+            rs.getString("continuum_code"),
+            rs.getString("organization_id"),
+            rs.getString("generated_by"),
+            rs.getTimestamp("generated_at").toLocalDateTime());
+        data.aggregateHouseholdData(new PitCensusData.HouseholdAggregation(
+            rs.getInt("total_households"),
+            rs.getInt("households_with_children"),
+            rs.getInt("households_without_children"),
+            rs.getInt("households_with_only_children")));
+        data.aggregateDemographicData(new PitCensusData.DemographicAggregation(
+            rs.getInt("total_persons"),
+            rs.getInt("persons_under_18"),
+            rs.getInt("persons_18_to_24"),
+            rs.getInt("persons_over_24"),
+            rs.getInt("persons_male"),
+            rs.getInt("persons_female"),
+            rs.getInt("persons_non_binary"),
+            rs.getInt("persons_transgender"),
+            rs.getInt("persons_questioning"),
+            rs.getInt("persons_white"),
+            rs.getInt("persons_black_african_american"),
+            rs.getInt("persons_asian"),
+            rs.getInt("persons_american_indian_alaska_native"),
+            rs.getInt("persons_native_hawaiian_pacific_islander"),
+            rs.getInt("persons_multiple_races"),
+            rs.getInt("persons_hispanic_latino")));
+        data.aggregateSpecialPopulationData(new PitCensusData.SpecialPopulationAggregation(
+            rs.getInt("veteran_persons"),
+            rs.getInt("chronically_homeless_persons"),
+            rs.getInt("persons_with_disabilities"),
+            rs.getInt("persons_fleeing_dv"),
+            rs.getInt("unaccompanied_youth"),
+            rs.getInt("parenting_youth")));
+        data.aggregateLocationData(new PitCensusData.LocationAggregation(
+            rs.getInt("sheltered_emergency_shelter"),
+            rs.getInt("sheltered_transitional_housing"),
+            rs.getInt("sheltered_safe_haven"),
+            rs.getInt("unsheltered_persons")));
+        data.updateDataQualityMetrics(
+            rs.getInt("records_with_missing_data"),
+            rs.getInt("records_with_data_quality_issues"),
+            rs.getDouble("data_completion_rate"));
+        data.getMetadata().putAll(fromJson(rs.getString("metadata"), METADATA_MAP));
+        return data;
+    }
+
+    private HicInventoryData mapHicInventory(ResultSet rs) throws SQLException {
+        HicInventoryData data = new HicInventoryData(
+            rs.getObject("inventory_id", UUID.class),
+            rs.getObject("inventory_date", LocalDate.class),
+            rs.getString("continuum_code"),
+            rs.getString("organization_id"),
+            rs.getString("generated_by"),
+            rs.getTimestamp("generated_at").toLocalDateTime());
+        data.aggregateEmergencyShelterData(new HicInventoryData.EmergencyShelterAggregation(
+            rs.getInt("emergency_shelter_total_beds"),
+            rs.getInt("emergency_shelter_total_units"),
+            rs.getInt("emergency_shelter_veteran_beds"),
+            rs.getInt("emergency_shelter_youth_beds"),
+            rs.getInt("emergency_shelter_family_beds"),
+            rs.getInt("emergency_shelter_adult_only_beds"),
+            rs.getInt("emergency_shelter_chronic_beds"),
+            rs.getInt("emergency_shelter_seasonal_beds"),
+            rs.getInt("emergency_shelter_overflow_beds"),
+            rs.getInt("emergency_shelter_voucher_beds")));
+        data.aggregateTransitionalHousingData(new HicInventoryData.TransitionalHousingAggregation(
+            rs.getInt("transitional_housing_total_beds"),
+            rs.getInt("transitional_housing_total_units"),
+            rs.getInt("transitional_housing_veteran_beds"),
+            rs.getInt("transitional_housing_youth_beds"),
+            rs.getInt("transitional_housing_family_beds"),
+            rs.getInt("transitional_housing_adult_only_beds"),
+            rs.getInt("transitional_housing_chronic_beds")));
+        data.aggregateSafeHavenData(new HicInventoryData.SafeHavenAggregation(
+            rs.getInt("safe_haven_total_beds"),
+            rs.getInt("safe_haven_total_units")));
+        data.aggregateRapidRehousingData(new HicInventoryData.RapidRehousingAggregation(
+            rs.getInt("rapid_rehousing_total_beds"),
+            rs.getInt("rapid_rehousing_total_units"),
+            rs.getInt("rapid_rehousing_veteran_beds"),
+            rs.getInt("rapid_rehousing_youth_beds"),
+            rs.getInt("rapid_rehousing_family_beds"),
+            rs.getInt("rapid_rehousing_adult_only_beds")));
+        data.aggregatePermanentSupportiveData(new HicInventoryData.PermanentSupportiveAggregation(
+            rs.getInt("permanent_supportive_total_beds"),
+            rs.getInt("permanent_supportive_total_units"),
+            rs.getInt("permanent_supportive_veteran_beds"),
+            rs.getInt("permanent_supportive_youth_beds"),
+            rs.getInt("permanent_supportive_family_beds"),
+            rs.getInt("permanent_supportive_adult_only_beds"),
+            rs.getInt("permanent_supportive_chronic_beds")));
+        data.aggregateOtherPermanentHousingData(new HicInventoryData.OtherPermanentHousingAggregation(
+            rs.getInt("other_permanent_housing_total_beds"),
+            rs.getInt("other_permanent_housing_total_units")));
+        data.updateUtilizationMetrics(new HicInventoryData.UtilizationMetrics(
+            rs.getDouble("emergency_shelter_utilization_rate"),
+            rs.getDouble("transitional_housing_utilization_rate"),
+            rs.getDouble("safe_haven_utilization_rate"),
+            rs.getDouble("rapid_rehousing_utilization_rate"),
+            rs.getDouble("permanent_supportive_utilization_rate")));
+        data.updatePitOccupancy(new HicInventoryData.PitOccupancy(
+            rs.getInt("pit_occupied_emergency_shelter"),
+            rs.getInt("pit_occupied_transitional_housing"),
+            rs.getInt("pit_occupied_safe_haven"),
+            rs.getInt("pit_occupied_rapid_rehousing"),
+            rs.getInt("pit_occupied_permanent_supportive")));
+        data.updateDataQualityMetrics(
+            rs.getInt("projects_with_missing_inventory"),
+            rs.getInt("projects_with_inconsistent_data"),
+            rs.getDouble("inventory_data_completion_rate"));
+
+        Map<String, Integer> beds = fromJson(rs.getString("beds_by_funding_source"), COUNT_MAP);
+        Map<String, Integer> units = fromJson(rs.getString("units_by_funding_source"), COUNT_MAP);
+        beds.forEach((source, bedCount) -> data.addFundingSourceData(source, bedCount, units.getOrDefault(source, 0)));
+        data.getMetadata().putAll(fromJson(rs.getString("metadata"), METADATA_MAP));
+        return data;
+    }
+
+    private String toJson(Map<String, ?> value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize PIT/HIC JSON column", e);
+        }
+    }
+
+    private <T extends Map<String, ?>> T fromJson(String json, TypeReference<T> type) {
+        try {
+            return objectMapper.readValue(json != null ? json : "{}", type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to read PIT/HIC JSON column", e);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package org.haven.reporting.infrastructure.persistence;
+
+import org.haven.reporting.domain.pithic.PitHicEtlJobRecord;
+import org.haven.reporting.domain.pithic.PitHicEtlJobRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * PostgreSQL implementation of {@link PitHicEtlJobRepository} over pit_hic_etl_jobs
+ */
+@Repository
+public class JdbcPitHicEtlJobRepository implements PitHicEtlJobRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcPitHicEtlJobRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void save(PitHicEtlJobRecord job) {
+        jdbcTemplate.update("""
+            INSERT INTO pit_hic_etl_jobs (
+                job_id, job_type, process_date, trigger_type, state, start_time, end_time,
+                total_partitions, processed_count, error_count, initiated_by, error_message)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (job_id) DO UPDATE SET
+                state = EXCLUDED.state,
+                start_time = EXCLUDED.start_time,
+                end_time = EXCLUDED.end_time,
+                total_partitions = EXCLUDED.total_partitions,
+                processed_count = EXCLUDED.processed_count,
+                error_count = EXCLUDED.error_count,
+                error_message = EXCLUDED.error_message,
+                updated_at = CURRENT_TIMESTAMP
+            """,
+            job.jobId(), job.jobType(), job.processDate(), job.triggerType(), job.state(),
+            toTimestamp(job.startTime()), toTimestamp(job.endTime()),
+            job.totalPartitions(), job.processedCount(), job.errorCount(),
+            job.initiatedBy(), job.errorMessage());
+    }
+
+    @Override
+    public Optional<PitHicEtlJobRecord> findById(UUID jobId) {
+        return jdbcTemplate.query("SELECT * FROM pit_hic_etl_jobs WHERE job_id = ?",
+            (rs, rowNum) -> new PitHicEtlJobRecord(
+                rs.getObject("job_id", UUID.class),
+                rs.getString("job_type"),
+                rs.getObject("process_date", LocalDate.class),
+                rs.getString("trigger_type"),
+                rs.getString("state"),
+                toLocalDateTime(rs.getTimestamp("start_time")),
+                toLocalDateTime(rs.getTimestamp("end_time")),
+                rs.getInt("total_partitions"),
+                rs.getInt("processed_count"),
+                rs.getInt("error_count"),
+                rs.getString("initiated_by"),
+                rs.getString("error_message")),
+            jobId).stream().findFirst();
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime value) {
+        return value != null ? Timestamp.valueOf(value) : null;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp value) {
+        return value != null ? value.toLocalDateTime() : null;
+    }
+}
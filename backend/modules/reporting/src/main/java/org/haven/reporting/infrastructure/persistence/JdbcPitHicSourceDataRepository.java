@@ -0,0 +1,155 @@
+package org.haven.reporting.infrastructure.persistence;
+
+import org.haven.reporting.domain.pithic.HicProjectInventory;
+import org.haven.reporting.domain.pithic.PitCensusStay;
+import org.haven.reporting.domain.pithic.PitHicSourceDataRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Reads PIT/HIC source rows from the enrollment and housing inventory tables.
+ * Programs are tied to housing projects through {@code housing_projects.project_code = programs.program_code};
+ * the partition is the project's continuum and organization.
+ */
+@Repository
+public class JdbcPitHicSourceDataRepository implements PitHicSourceDataRepository {
+
+    /**
+     * Enrollments open on the night: entered on/before and not exited on/before the census date.
+     * Night-by-night shelters that record bed nights must also have one for the census date.
+     * Text blocks drop trailing spaces, so callers end the preceding block with a line break.
+     */
+    private static final String ACTIVE_ON_NIGHT = """
+        pe.enrollment_date <= ?
+          AND NOT EXISTS (
+              SELECT 1 FROM project_exits px
+              WHERE px.enrollment_id = pe.id AND px.exit_date <= ?)
+          AND (hp.project_type <> 'EMERGENCY_SHELTER'
+               OR NOT EXISTS (SELECT 1 FROM bed_nights bn WHERE bn.enrollment_id = pe.id)
+               OR EXISTS (
+                   SELECT 1 FROM bed_nights bn
+                   WHERE bn.enrollment_id = pe.id AND bn.bed_night_date = ?))
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcPitHicSourceDataRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<PitCensusStay> findCensusNightStays(LocalDate censusDate, String continuumCode, String organizationId) {
+        String sql = """
+            SELECT
+                pe.id AS enrollment_id,
+                pe.client_id,
+                COALESCE(pe.household_id, pe.id::text) AS household_id,
+                pe.relationship_to_head::text AS relationship_to_head,
+                pe.residence_prior_to_entry::text AS residence_prior_to_entry,
+                pe.length_of_stay_prior_to_entry::text AS length_of_stay_prior_to_entry,
+                COALESCE(cd.date_of_birth, c.date_of_birth) AS date_of_birth,
+                COALESCE(cd.gender, c.gender)::text AS gender,
+                cd.race,
+                cd.ethnicity,
+                hp.project_type,
+                COALESCE(c.veteran_status = 'YES', FALSE) AS veteran,
+                EXISTS (
+                    SELECT 1 FROM client_disability_records d
+                    WHERE d.enrollment_id = pe.id AND d.has_disability = 'YES') AS disabling_condition,
+                EXISTS (
+                    SELECT 1 FROM dv_records dv
+                    WHERE dv.enrollment_id = pe.id AND dv.currently_fleeing = 'YES') AS currently_fleeing_dv
+            FROM program_enrollments pe
+            JOIN programs p ON p.id = pe.program_id
+            JOIN housing_projects hp ON hp.project_code = p.program_code
+            JOIN clients c ON c.id = pe.client_id
+            LEFT JOIN client_demographics cd ON cd.client_id = pe.client_id
+            WHERE hp.continuum_code = ?
+              AND hp.organization_id = ?
+              AND hp.project_type IN ('EMERGENCY_SHELTER', 'TRANSITIONAL_HOUSING', 'SAFE_HAVEN', 'STREET_OUTREACH')
+              AND
+            """ + ACTIVE_ON_NIGHT + """
+            ORDER BY pe.client_id, hp.project_type = 'STREET_OUTREACH', pe.enrollment_date
+            """;
+
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new PitCensusStay(
+                rs.getObject("enrollment_id", UUID.class),
+                rs.getObject("client_id", UUID.class),
+                rs.getString("household_id"),
+                rs.getString("relationship_to_head"),
+                rs.getObject("date_of_birth", LocalDate.class),
+                rs.getString("gender"),
+                rs.getString("race"),
+                rs.getString("ethnicity"),
+                rs.getString("project_type"),
+                rs.getString("residence_prior_to_entry"),
+                rs.getString("length_of_stay_prior_to_entry"),
+                rs.getBoolean("veteran"),
+                rs.getBoolean("disabling_condition"),
+                rs.getBoolean("currently_fleeing_dv")),
+            continuumCode, organizationId, censusDate, censusDate, censusDate);
+    }
+
+    @Override
+    public List<HicProjectInventory> findProjectInventory(LocalDate inventoryDate, String continuumCode, String organizationId) {
+        String sql = """
+            SELECT
+                hp.project_id,
+                hp.project_type,
+                hp.target_population,
+                hp.funding_source,
+                hp.funded_beds,
+                COALESCE(SUM(hu.capacity), 0) AS unit_beds,
+                COUNT(hu.unit_id) AS units
+            FROM housing_projects hp
+            LEFT JOIN project_sites ps ON ps.project_id = hp.project_id AND ps.is_active
+            LEFT JOIN buildings b ON b.site_id = ps.site_id AND b.is_active
+            LEFT JOIN housing_units hu ON hu.building_id = b.building_id
+                AND hu.status NOT IN ('OFFLINE', 'DECOMMISSIONED')
+            WHERE hp.continuum_code = ?
+              AND hp.organization_id = ?
+              AND hp.status = 'ACTIVE'
+              AND hp.created_at::date <= ?
+            GROUP BY hp.project_id, hp.project_type, hp.target_population, hp.funding_source, hp.funded_beds
+            ORDER BY hp.project_id
+            """;
+
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new HicProjectInventory(
+                rs.getString("project_id"),
+                rs.getString("project_type"),
+                rs.getString("target_population"),
+                rs.getString("funding_source"),
+                rs.getObject("funded_beds", Integer.class),
+                rs.getInt("unit_beds"),
+                rs.getInt("units")),
+            continuumCode, organizationId, inventoryDate);
+    }
+
+    @Override
+    public Map<String, Integer> countOccupiedByProjectType(LocalDate inventoryDate, String continuumCode, String organizationId) {
+        String sql = """
+            SELECT hp.project_type, COUNT(DISTINCT pe.client_id) AS occupied
+            FROM program_enrollments pe
+            JOIN programs p ON p.id = pe.program_id
+            JOIN housing_projects hp ON hp.project_code = p.program_code
+            WHERE hp.continuum_code = ?
+              AND hp.organization_id = ?
+              AND
+            """ + ACTIVE_ON_NIGHT + """
+            GROUP BY hp.project_type
+            """;
+
+        Map<String, Integer> occupied = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+                occupied.put(rs.getString("project_type"), rs.getInt("occupied"));
+            },
+            continuumCode, organizationId, inventoryDate, inventoryDate, inventoryDate);
+        return occupied;
+    }
+}
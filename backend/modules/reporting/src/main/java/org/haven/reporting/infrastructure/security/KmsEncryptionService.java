@@ -2,6 +2,7 @@ package org.haven.reporting.infrastructure.security;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -10,6 +11,12 @@ import javax.crypto.KeyGenerator;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
@@ -30,6 +37,7 @@ import java.util.UUID;
  * Security features:
  * - AES-256-GCM authenticated encryption
  * - Random IV per encryption operation
+ * - Segmented streaming mode for large bundles (constant memory, see {@link #encryptStream})
  * - KMS key rotation support
  * - Audit logging of encryption operations
  *
@@ -48,19 +56,39 @@ public class KmsEncryptionService {
     private static final int GCM_TAG_LENGTH = 128; // 128-bit authentication tag
     private static final int DEK_KEY_SIZE = 256;   // 256-bit AES
 
+    // Segmented streaming format
+    private static final int STREAM_MAGIC = 0x48565331;  // "HVS1"
+    private static final byte STREAM_VERSION = 1;
+    private static final int NONCE_PREFIX_LENGTH = 7;    // + 4-byte segment index + 1-byte last flag = 12
+    private static final int GCM_TAG_BYTES = GCM_TAG_LENGTH / 8;
+    private static final int DEFAULT_SEGMENT_SIZE = 1024 * 1024;
+    private static final int MAX_SEGMENT_SIZE = 64 * 1024 * 1024;
+    public static final String STREAMING_ALGORITHM = "AES-256-GCM-SEGMENTED-V1";
+
     private final String kmsKeyId;
     private final String kmsProvider;
     private final SecretKey masterKey;  // KEK - in production, fetched from KMS
     private final SecureRandom secureRandom;
+    private final int segmentSize;
+
+    public KmsEncryptionService(String kmsKeyId, String kmsProvider, String masterKeyHex) {
+        this(kmsKeyId, kmsProvider, masterKeyHex, DEFAULT_SEGMENT_SIZE);
+    }
 
+    @Autowired
     public KmsEncryptionService(
             @Value("${haven.kms.key-id:haven-export-master-key}") String kmsKeyId,
             @Value("${haven.kms.provider:local}") String kmsProvider,
-            @Value("${haven.kms.master-key:0000000000000000000000000000000000000000000000000000000000000000}") String masterKeyHex) {
+            @Value("${haven.kms.master-key:0000000000000000000000000000000000000000000000000000000000000000}") String masterKeyHex,
+            @Value("${haven.kms.stream-segment-size:1048576}") int segmentSize) {
 
+        if (segmentSize <= 0 || segmentSize > MAX_SEGMENT_SIZE) {
+            throw new IllegalArgumentException("Stream segment size must be between 1 and " + MAX_SEGMENT_SIZE);
+        }
         this.kmsKeyId = kmsKeyId;
         this.kmsProvider = kmsProvider;
         this.secureRandom = new SecureRandom();
+        this.segmentSize = segmentSize;
 
         // In production, masterKey would be fetched from AWS KMS/Azure Key Vault
         // For development, use configured key
@@ -165,6 +193,114 @@ public class KmsEncryptionService {
         }
     }
 
+    /**
+     * Encrypt a bundle from a stream using segmented envelope encryption.
+     *
+     * Output format:
+     * <pre>
+     * header:  magic(4) version(1) segmentSize(4) encryptedDataKeyLength(4) encryptedDataKey noncePrefix(7)
+     * segment: AES-256-GCM(chunk) || tag(16), repeated
+     * </pre>
+     * Each segment nonce is noncePrefix || segmentIndex(4) || lastFlag(1), and the whole header is
+     * authenticated as AAD of every segment. Reordering, dropping or truncating segments, or
+     * tampering with the header, fails authentication on decrypt. Memory use is two segment
+     * buffers regardless of bundle size.
+     *
+     * @param plaintext Bundle stream, read to end but not closed
+     * @param ciphertextOut Destination stream, not closed
+     * @param exportJobId Export job identifier for audit trail
+     * @return Envelope metadata and SHA-256 of the plaintext
+     */
+    public StreamingEncryptionResult encryptStream(InputStream plaintext, OutputStream ciphertextOut, UUID exportJobId) {
+        EncryptingOutputStream encrypting = openEncryptingStream(ciphertextOut, exportJobId);
+        try (encrypting) {
+            plaintext.transferTo(encrypting);
+        } catch (IOException e) {
+            logger.error("Stream encryption failed for export job: {}", exportJobId, e);
+            throw new EncryptionException("Failed to encrypt export bundle", e);
+        }
+        return encrypting.getResult();
+    }
+
+    /**
+     * Open a plaintext sink that writes the {@link #encryptStream} format to the given stream,
+     * for producers that write rather than read (e.g. ZIP packaging). Closing the returned stream
+     * seals the final segment and flushes, but does not close the destination.
+     *
+     * @param ciphertextOut Destination stream
+     * @param exportJobId Export job identifier for audit trail
+     */
+    public EncryptingOutputStream openEncryptingStream(OutputStream ciphertextOut, UUID exportJobId) {
+        try {
+            return new EncryptingOutputStream(ciphertextOut, exportJobId);
+        } catch (IOException e) {
+            throw new EncryptionException("Failed to write encrypted bundle header", e);
+        } catch (Exception e) {
+            logger.error("Stream encryption failed for export job: {}", exportJobId, e);
+            throw new EncryptionException("Failed to encrypt export bundle", e);
+        }
+    }
+
+    /**
+     * Wrap a stream produced by {@link #encryptStream} so it reads back as plaintext.
+     * Segments are authenticated one at a time as they are read; a tampered or truncated
+     * stream surfaces as an {@link IOException} caused by {@link EncryptionException}.
+     * Closing the returned stream closes the source.
+     *
+     * @param ciphertext Segmented ciphertext, e.g. from {@code CsvBlobStorageService.openBundle}
+     * @return Plaintext stream
+     */
+    public InputStream openDecryptingStream(InputStream ciphertext) {
+        try {
+            return new SegmentDecryptingInputStream(ciphertext);
+        } catch (EncryptionException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new EncryptionException("Failed to read encrypted bundle header", e);
+        } catch (Exception e) {
+            throw new EncryptionException("Failed to open encrypted bundle", e);
+        }
+    }
+
+    /**
+     * Decrypt a segmented stream into the given output and verify the plaintext SHA-256.
+     *
+     * @param ciphertext Segmented ciphertext, closed on return
+     * @param plaintextOut Destination stream, not closed
+     * @param expectedSha256 Hash from {@link StreamingEncryptionResult#sha256Hash()}, or null to skip
+     * @return Number of plaintext bytes written
+     */
+    public long decryptStream(InputStream ciphertext, OutputStream plaintextOut, String expectedSha256) {
+        try (InputStream plaintext = openDecryptingStream(ciphertext)) {
+            long startTime = System.currentTimeMillis();
+
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[8192];
+            long total = 0;
+            int read;
+            while ((read = plaintext.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+                plaintextOut.write(buffer, 0, read);
+                total += read;
+            }
+            plaintextOut.flush();
+
+            if (expectedSha256 != null && !expectedSha256.equals(bytesToHex(digest.digest()))) {
+                throw new EncryptionException("Integrity check failed - hash mismatch");
+            }
+
+            logger.info("Stream-decrypted export bundle - Size: {} bytes, Time: {} ms",
+                    total, System.currentTimeMillis() - startTime);
+            return total;
+
+        } catch (EncryptionException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Stream decryption failed", e);
+            throw new EncryptionException("Failed to decrypt export bundle", e);
+        }
+    }
+
     /**
      * Rotate master encryption key (KEK).
      * Re-encrypts all encrypted DEKs with new master key.
@@ -248,13 +384,48 @@ public class KmsEncryptionService {
         return new SecretKeySpec(keyBytes, "AES");
     }
 
+    private static byte[] streamHeader(int segmentSize, byte[] encryptedDataKey, byte[] noncePrefix) {
+        ByteBuffer buffer = ByteBuffer.allocate(4 + 1 + 4 + 4 + encryptedDataKey.length + noncePrefix.length);
+        buffer.putInt(STREAM_MAGIC);
+        buffer.put(STREAM_VERSION);
+        buffer.putInt(segmentSize);
+        buffer.putInt(encryptedDataKey.length);
+        buffer.put(encryptedDataKey);
+        buffer.put(noncePrefix);
+        return buffer.array();
+    }
+
+    private static byte[] segmentNonce(byte[] noncePrefix, int segmentIndex, boolean last) {
+        return ByteBuffer.allocate(GCM_IV_LENGTH)
+                .put(noncePrefix)
+                .putInt(segmentIndex)
+                .put((byte) (last ? 1 : 0))
+                .array();
+    }
+
+    private static int nextSegmentIndex(int segmentIndex) {
+        if (segmentIndex == Integer.MAX_VALUE) {
+            throw new EncryptionException("Bundle exceeds maximum segment count");
+        }
+        return segmentIndex + 1;
+    }
+
+    private static boolean isExhausted(PushbackInputStream in) throws IOException {
+        int next = in.read();
+        if (next == -1) {
+            return true;
+        }
+        in.unread(next);
+        return false;
+    }
+
     private String calculateSHA256(byte[] data) throws Exception {
         MessageDigest digest = MessageDigest.getInstance("SHA-256");
         byte[] hash = digest.digest(data);
         return bytesToHex(hash);
     }
 
-    private void auditEncryptionOperation(UUID exportJobId, int plaintextSize, int ciphertextSize, long durationMs) {
+    private void auditEncryptionOperation(UUID exportJobId, long plaintextSize, long ciphertextSize, long durationMs) {
         // In production, emit audit event to compliance ledger
         logger.info("AUDIT: Encryption operation - ExportJob={}, PlaintextSize={}, CiphertextSize={}, Duration={}ms, KmsKey={}",
                 exportJobId, plaintextSize, ciphertextSize, durationMs, kmsKeyId);
@@ -281,6 +452,244 @@ public class KmsEncryptionService {
         return bytes;
     }
 
+    /**
+     * Buffers plaintext into segments and seals each as it fills. A full segment is only sealed
+     * once more data arrives, so the segment sealed on close is always the one flagged last.
+     */
+    public final class EncryptingOutputStream extends OutputStream {
+
+        private final OutputStream target;
+        private final UUID exportJobId;
+        private final long startTime;
+        private final SecretKey dataKey;
+        private final byte[] encryptedDataKey;
+        private final byte[] noncePrefix;
+        private final byte[] header;
+        private final MessageDigest digest;
+        private final Cipher cipher;
+        private final byte[] chunk;
+        private final byte[] sealed;
+        private int filled;
+        private int segmentIndex;
+        private long plaintextBytes;
+        private long ciphertextBytes;
+        private StreamingEncryptionResult result;
+
+        private EncryptingOutputStream(OutputStream target, UUID exportJobId) throws Exception {
+            this.target = target;
+            this.exportJobId = exportJobId;
+            this.startTime = System.currentTimeMillis();
+            this.dataKey = generateDataKey();
+            this.encryptedDataKey = encryptDataKey(dataKey);
+            this.noncePrefix = new byte[NONCE_PREFIX_LENGTH];
+            secureRandom.nextBytes(noncePrefix);
+            this.header = streamHeader(segmentSize, encryptedDataKey, noncePrefix);
+            this.digest = MessageDigest.getInstance("SHA-256");
+            this.cipher = Cipher.getInstance(ENCRYPTION_ALGORITHM);
+            this.chunk = new byte[segmentSize];
+            this.sealed = new byte[segmentSize + GCM_TAG_BYTES];
+
+            target.write(header);
+            this.ciphertextBytes = header.length;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (result != null) {
+                throw new IOException("Encrypting stream is closed");
+            }
+            while (len > 0) {
+                if (filled == chunk.length) {
+                    seal(false);
+                }
+                int n = Math.min(len, chunk.length - filled);
+                System.arraycopy(b, off, chunk, filled, n);
+                filled += n;
+                off += n;
+                len -= n;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            target.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (result != null) {
+                return;
+            }
+            seal(true);
+            target.flush();
+
+            long encryptionTimeMs = System.currentTimeMillis() - startTime;
+            logger.info("Stream-encrypted export bundle {} - Size: {} bytes → {} bytes in {} segments, Time: {} ms",
+                    exportJobId, plaintextBytes, ciphertextBytes, segmentIndex, encryptionTimeMs);
+            auditEncryptionOperation(exportJobId, plaintextBytes, ciphertextBytes, encryptionTimeMs);
+
+            result = new StreamingEncryptionResult(
+                    encryptedDataKey,
+                    kmsKeyId,
+                    kmsProvider,
+                    bytesToHex(digest.digest()),
+                    STREAMING_ALGORITHM,
+                    Instant.now(),
+                    exportJobId,
+                    plaintextBytes,
+                    ciphertextBytes,
+                    segmentIndex,
+                    encryptionTimeMs
+            );
+        }
+
+        /**
+         * Envelope metadata, available once the stream is closed
+         */
+        public StreamingEncryptionResult getResult() {
+            if (result == null) {
+                throw new IllegalStateException("Encrypting stream has not been closed");
+            }
+            return result;
+        }
+
+        private void seal(boolean last) throws IOException {
+            int sealedLength;
+            try {
+                cipher.init(Cipher.ENCRYPT_MODE, dataKey,
+                        new GCMParameterSpec(GCM_TAG_LENGTH, segmentNonce(noncePrefix, segmentIndex, last)));
+                cipher.updateAAD(header);
+                sealedLength = cipher.doFinal(chunk, 0, filled, sealed, 0);
+            } catch (Exception e) {
+                throw new IOException(new EncryptionException("Failed to seal segment " + segmentIndex, e));
+            }
+            target.write(sealed, 0, sealedLength);
+
+            digest.update(chunk, 0, filled);
+            plaintextBytes += filled;
+            ciphertextBytes += sealedLength;
+            filled = 0;
+            segmentIndex = nextSegmentIndex(segmentIndex);
+        }
+    }
+
+    /**
+     * Reads segments from an {@link #encryptStream} ciphertext, authenticating each before exposing it.
+     */
+    private final class SegmentDecryptingInputStream extends InputStream {
+
+        private final PushbackInputStream source;
+        private final byte[] header;
+        private final byte[] noncePrefix;
+        private final SecretKey dataKey;
+        private final Cipher cipher;
+        private final byte[] sealed;
+        private final byte[] plaintext;
+        private int segmentIndex;
+        private int position;
+        private int limit;
+        private boolean lastSegmentRead;
+
+        SegmentDecryptingInputStream(InputStream ciphertext) throws Exception {
+            this.source = new PushbackInputStream(ciphertext, 1);
+            DataInputStream in = new DataInputStream(source);
+
+            if (in.readInt() != STREAM_MAGIC) {
+                throw new EncryptionException("Not a segmented export bundle");
+            }
+            byte version = in.readByte();
+            if (version != STREAM_VERSION) {
+                throw new EncryptionException("Unsupported bundle format version: " + version);
+            }
+            int streamSegmentSize = in.readInt();
+            int encryptedDataKeyLength = in.readInt();
+            if (streamSegmentSize <= 0 || streamSegmentSize > MAX_SEGMENT_SIZE
+                    || encryptedDataKeyLength <= 0 || encryptedDataKeyLength > 1024) {
+                throw new EncryptionException("Malformed bundle header");
+            }
+            byte[] encryptedDataKey = new byte[encryptedDataKeyLength];
+            in.readFully(encryptedDataKey);
+            this.noncePrefix = new byte[NONCE_PREFIX_LENGTH];
+            in.readFully(noncePrefix);
+
+            this.header = streamHeader(streamSegmentSize, encryptedDataKey, noncePrefix);
+            this.dataKey = decryptDataKey(encryptedDataKey);
+            this.cipher = Cipher.getInstance(ENCRYPTION_ALGORITHM);
+            this.sealed = new byte[streamSegmentSize + GCM_TAG_BYTES];
+            this.plaintext = new byte[streamSegmentSize];
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!fill()) {
+                return -1;
+            }
+            return plaintext[position++] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (!fill()) {
+                return -1;
+            }
+            int n = Math.min(len, limit - position);
+            System.arraycopy(plaintext, position, b, off, n);
+            position += n;
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return limit - position;
+        }
+
+        @Override
+        public void close() throws IOException {
+            source.close();
+        }
+
+        /**
+         * @return false once the authenticated last segment has been fully consumed
+         */
+        private boolean fill() throws IOException {
+            while (position == limit) {
+                if (lastSegmentRead) {
+                    return false;
+                }
+                readSegment();
+            }
+            return true;
+        }
+
+        private void readSegment() throws IOException {
+            int read = source.readNBytes(sealed, 0, sealed.length);
+            if (read < GCM_TAG_BYTES) {
+                throw new EOFException("Encrypted bundle truncated at segment " + segmentIndex);
+            }
+            boolean last = isExhausted(source);
+            try {
+                cipher.init(Cipher.DECRYPT_MODE, dataKey,
+                        new GCMParameterSpec(GCM_TAG_LENGTH, segmentNonce(noncePrefix, segmentIndex, last)));
+                cipher.updateAAD(header);
+                limit = cipher.doFinal(sealed, 0, read, plaintext, 0);
+            } catch (Exception e) {
+                throw new IOException(new EncryptionException(
+                        "Segment " + segmentIndex + " failed authentication", e));
+            }
+            position = 0;
+            lastSegmentRead = last;
+            segmentIndex = nextSegmentIndex(segmentIndex);
+        }
+    }
+
     /**
      * Encrypted bundle with envelope encryption metadata.
      */
@@ -337,6 +746,24 @@ public class KmsEncryptionService {
         }
     }
 
+    /**
+     * Envelope metadata for a stream-encrypted bundle. The ciphertext itself lives in the
+     * destination stream; the encrypted DEK is also embedded in its header.
+     */
+    public record StreamingEncryptionResult(
+            byte[] encryptedDataKey,
+            String kmsKeyId,
+            String kmsProvider,
+            String sha256Hash,
+            String algorithm,
+            Instant encryptedAt,
+            UUID exportJobId,
+            long plaintextSizeBytes,
+            long ciphertextSizeBytes,
+            int segmentCount,
+            long encryptionDurationMs
+    ) {}
+
     public record EncryptionMetadata(
             UUID exportJobId,
             int plaintextSizeBytes,
@@ -5,11 +5,16 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
@@ -37,6 +42,7 @@ import java.util.zip.ZipOutputStream;
  *   - Services.csv
  *   - Export.csv (metadata)
  *   - export-{exportJobId}.zip (combined archive)
+ *   - export-{exportJobId}.enc (encrypted bundle, written via {@link #writeBundle})
  */
 @Service
 public class CsvBlobStorageService {
@@ -108,6 +114,52 @@ public class CsvBlobStorageService {
         return new StorageResult(storageUrl, zipPath.toString(), sha256Hash, storedFiles, expiresAt);
     }
 
+    /**
+     * Stream a bundle into the export directory without holding it in memory.
+     * The writer's output goes to a temporary file that is moved into place only once
+     * the writer completes, so readers never observe a partial bundle.
+     *
+     * @param extension File extension, e.g. "enc" or "zip"
+     * @return Absolute path of the stored bundle
+     */
+    public Path writeBundle(UUID exportJobId, String extension, BundleWriter writer) throws IOException {
+        Path exportDir = createExportDirectory(exportJobId);
+        Path bundlePath = exportDir.resolve("export-" + exportJobId + "." + extension);
+        Path tempPath = Files.createTempFile(exportDir, "export-" + exportJobId, ".part");
+
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tempPath), 64 * 1024)) {
+                writer.writeTo(out);
+            }
+            Files.move(tempPath, bundlePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempPath);
+        }
+
+        logger.info("Stored bundle {} ({} bytes)", bundlePath, Files.size(bundlePath));
+        return bundlePath.toAbsolutePath();
+    }
+
+    /**
+     * Open a stored bundle for streaming reads, e.g. into
+     * {@code KmsEncryptionService.openDecryptingStream}. Only paths inside this store are served.
+     */
+    public InputStream openBundle(String storageLocation) throws IOException {
+        Path bundlePath = Paths.get(storageLocation).toAbsolutePath().normalize();
+        if (!bundlePath.startsWith(baseStoragePath.toAbsolutePath().normalize())) {
+            throw new IllegalArgumentException("Bundle is outside export storage: " + storageLocation);
+        }
+        return new BufferedInputStream(Files.newInputStream(bundlePath), 64 * 1024);
+    }
+
+    /**
+     * Writes bundle content to the storage stream
+     */
+    @FunctionalInterface
+    public interface BundleWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
     /**
      * Create ZIP archive of CSV files
      */
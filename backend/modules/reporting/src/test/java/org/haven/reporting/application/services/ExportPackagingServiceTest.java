@@ -0,0 +1,185 @@
+package org.haven.reporting.application.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.haven.reporting.domain.ExportFormat;
+import org.haven.reporting.domain.ExportJobId;
+import org.haven.reporting.domain.ExportPackage;
+import org.haven.reporting.domain.StreamedExportPackage;
+import org.haven.reporting.infrastructure.security.KmsEncryptionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for streamed export packaging: on-the-fly hashing, per-entry compression,
+ * concurrent section compression and piping through segment encryption.
+ */
+class ExportPackagingServiceTest {
+
+    private static final String SIGNING_KEY = "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Streamed package hashes each entry and embeds a signed manifest")
+    void testStreamedPackageManifest() throws Exception {
+        ExportPackagingService service = new ExportPackagingService(objectMapper, SIGNING_KEY);
+        List<ExportPackagingService.PackageEntry> entries = sections();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StreamedExportPackage pkg = service.packageTo(new ExportJobId(UUID.randomUUID()), entries, ExportFormat.CSV, out);
+
+        Map<String, byte[]> archive = unzip(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(List.of("Client.csv", "Enrollment.csv", "Services.csv",
+                "manifest.json", "manifest.sha256", "signature.txt"), new ArrayList<>(archive.keySet()));
+
+        for (String name : archive.keySet()) {
+            assertEquals(sha256(archive.get(name)), pkg.fileHashes().get(name), name);
+        }
+
+        JsonNode manifest = objectMapper.readTree(archive.get("manifest.json"));
+        assertEquals(pkg.manifestHash(), manifest.get("manifestHash").asText());
+        assertEquals(pkg.digitalSignature(), manifest.get("signature").asText());
+        assertEquals(3, manifest.get("files").size());
+        assertEquals(pkg.manifestHash(), new String(archive.get("manifest.sha256"), StandardCharsets.UTF_8));
+        assertEquals(out.size(), pkg.metadata().totalSizeBytes());
+    }
+
+    @Test
+    @DisplayName("Concurrent section compression keeps entry order, contents and hashes")
+    void testConcurrentCompressionMatchesSequential() throws Exception {
+        ExportPackagingService sequential = new ExportPackagingService(objectMapper, SIGNING_KEY);
+        ExportPackagingService concurrent = new ExportPackagingService(objectMapper, SIGNING_KEY, executor);
+
+        ByteArrayOutputStream sequentialOut = new ByteArrayOutputStream();
+        ByteArrayOutputStream concurrentOut = new ByteArrayOutputStream();
+        StreamedExportPackage sequentialPkg = sequential.packageTo(
+                new ExportJobId(UUID.randomUUID()), sections(), ExportFormat.CSV, sequentialOut);
+        StreamedExportPackage concurrentPkg = concurrent.packageTo(
+                new ExportJobId(UUID.randomUUID()), sections(), ExportFormat.CSV, concurrentOut);
+
+        Map<String, byte[]> sequentialFiles = unzip(new ByteArrayInputStream(sequentialOut.toByteArray()));
+        Map<String, byte[]> concurrentFiles = unzip(new ByteArrayInputStream(concurrentOut.toByteArray()));
+
+        assertEquals(new ArrayList<>(sequentialFiles.keySet()), new ArrayList<>(concurrentFiles.keySet()));
+        for (String name : List.of("Client.csv", "Enrollment.csv", "Services.csv")) {
+            assertArrayEquals(sequentialFiles.get(name), concurrentFiles.get(name), name);
+            assertEquals(sequentialPkg.fileHashes().get(name), concurrentPkg.fileHashes().get(name), name);
+        }
+    }
+
+    @Test
+    @DisplayName("Compression level is applied per entry")
+    void testPerEntryCompressionLevel() throws Exception {
+        ExportPackagingService service = new ExportPackagingService(objectMapper, SIGNING_KEY, executor);
+        byte[] repetitive = "PersonalID,FirstName,LastName\n".repeat(2_000).getBytes(StandardCharsets.UTF_8);
+
+        Path zipPath = tempDir.resolve("levels.zip");
+        try (OutputStream out = Files.newOutputStream(zipPath)) {
+            service.packageTo(new ExportJobId(UUID.randomUUID()), List.of(
+                    ExportPackagingService.PackageEntry.of("stored.csv", repetitive, Deflater.NO_COMPRESSION),
+                    ExportPackagingService.PackageEntry.of("best.csv", repetitive, Deflater.BEST_COMPRESSION)
+            ), ExportFormat.CSV, out);
+        }
+
+        try (ZipFile zipFile = new ZipFile(zipPath.toFile())) {
+            ZipEntry stored = zipFile.getEntry("stored.csv");
+            ZipEntry best = zipFile.getEntry("best.csv");
+            assertTrue(stored.getCompressedSize() >= repetitive.length);
+            assertTrue(best.getCompressedSize() < repetitive.length / 10);
+        }
+    }
+
+    @Test
+    @DisplayName("Packages stream through segment encryption and read back after decryption")
+    void testPackageThroughEncryptingStream() throws Exception {
+        ExportPackagingService service = new ExportPackagingService(objectMapper, SIGNING_KEY, executor);
+        KmsEncryptionService encryptionService = new KmsEncryptionService("test-kms-key", "local", SIGNING_KEY, 256);
+        UUID exportJobId = UUID.randomUUID();
+
+        ByteArrayOutputStream ciphertext = new ByteArrayOutputStream();
+        KmsEncryptionService.EncryptingOutputStream encrypting = encryptionService.openEncryptingStream(ciphertext, exportJobId);
+        StreamedExportPackage pkg;
+        try (encrypting) {
+            pkg = service.packageTo(new ExportJobId(exportJobId), sections(), ExportFormat.CSV, encrypting);
+        }
+        assertTrue(encrypting.getResult().segmentCount() > 1);
+
+        try (InputStream plaintext = encryptionService.openDecryptingStream(new ByteArrayInputStream(ciphertext.toByteArray()))) {
+            Map<String, byte[]> archive = unzip(plaintext);
+            assertEquals(pkg.fileHashes().get("Client.csv"), sha256(archive.get("Client.csv")));
+        }
+    }
+
+    @Test
+    @DisplayName("In-memory packaging keeps manifest files in the file hashes")
+    void testPackageWithManifestInMemory() {
+        ExportPackagingService service = new ExportPackagingService(objectMapper, SIGNING_KEY);
+        ExportPackage pkg = service.packageWithManifest(new ExportJobId(UUID.randomUUID()),
+                Map.of("Client.csv", "PersonalID\nCLI001".getBytes(StandardCharsets.UTF_8)), ExportFormat.CSV, false);
+
+        assertEquals(4, pkg.fileHashes().size());
+        assertEquals(pkg.zipArchive().length, pkg.metadata().totalSizeBytes());
+    }
+
+    private static List<ExportPackagingService.PackageEntry> sections() {
+        return List.of(
+                ExportPackagingService.PackageEntry.of("Client.csv", csv("PersonalID,FirstName", 500)),
+                ExportPackagingService.PackageEntry.of("Enrollment.csv", csv("EnrollmentID,PersonalID", 800)),
+                ExportPackagingService.PackageEntry.of("Services.csv", csv("ServicesID,EnrollmentID", 300))
+        );
+    }
+
+    private static byte[] csv(String header, int rows) {
+        StringBuilder sb = new StringBuilder(header).append('\n');
+        for (int i = 0; i < rows; i++) {
+            sb.append("ID").append(i).append(',').append(i * 31 % 97).append('\n');
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, byte[]> unzip(InputStream in) throws IOException {
+        Map<String, byte[]> files = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(in)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                files.put(entry.getName(), zip.readAllBytes());
+            }
+        }
+        return files;
+    }
+
+    private static String sha256(byte[] data) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+    }
+}
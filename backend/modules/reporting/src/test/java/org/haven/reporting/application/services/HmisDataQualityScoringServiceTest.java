@@ -0,0 +1,197 @@
+package org.haven.reporting.application.services;
+
+import org.haven.clientprofile.domain.ClientRepository;
+import org.haven.programenrollment.domain.ProgramEnrollment;
+import org.haven.programenrollment.domain.ProgramEnrollmentId;
+import org.haven.programenrollment.domain.ProgramEnrollmentRepository;
+import org.haven.programenrollment.infrastructure.persistence.ProgramEnrollmentPersisted;
+import org.haven.programenrollment.infrastructure.persistence.ProgramEnrollmentRemoved;
+import org.haven.reporting.domain.dataquality.*;
+import org.haven.shared.vo.hmis.HmisProjectType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests that enrollment saves move counts between rollup buckets instead of recounting.
+ */
+class HmisDataQualityScoringServiceTest {
+
+    private static final UUID PROGRAM_A = UUID.randomUUID();
+    private static final UUID PROGRAM_B = UUID.randomUUID();
+    private static final LocalDate TODAY = LocalDate.now();
+
+    private InMemoryDataQualityRepository repository;
+    private HmisDataQualityScoringService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryDataQualityRepository();
+        repository.continuumCodes.put(PROGRAM_A, "CA-600");
+        repository.continuumCodes.put(PROGRAM_B, "CA-601");
+        ClientRepository clientRepository = mock(ClientRepository.class);
+        ProgramEnrollmentRepository enrollmentRepository = mock(ProgramEnrollmentRepository.class);
+        service = new HmisDataQualityScoringService(repository, clientRepository, enrollmentRepository);
+        service.rebuildAll();
+    }
+
+    @Test
+    @DisplayName("Saving an enrollment adds it to the org, project and CoC rollups")
+    void testEnrollmentAddedToEveryScope() {
+        UUID id = UUID.randomUUID();
+        service.onEnrollmentPersisted(new ProgramEnrollmentPersisted(enrollment(id, PROGRAM_A, TODAY, true, false)));
+
+        assertEquals(1, counts(DataQualityScope.ALL, DataQualityScope.ALL_KEY).totalEnrollments());
+        assertEquals(1, counts(DataQualityScope.PROJECT, PROGRAM_A.toString()).compliantEnrollments());
+        assertEquals(1, counts(DataQualityScope.COC, "CA-600").totalEnrollments());
+        assertEquals(0, counts(DataQualityScope.COC, "CA-601").totalEnrollments());
+    }
+
+    @Test
+    @DisplayName("Re-saving an enrollment moves its counts instead of adding them twice")
+    void testResaveMovesCounts() {
+        UUID id = UUID.randomUUID();
+        service.onEnrollmentPersisted(new ProgramEnrollmentPersisted(enrollment(id, PROGRAM_A, TODAY, false, false)));
+        service.onEnrollmentPersisted(new ProgramEnrollmentPersisted(enrollment(id, PROGRAM_B, TODAY, true, true)));
+
+        EnrollmentDataQualityCounts all = counts(DataQualityScope.ALL, DataQualityScope.ALL_KEY);
+        assertEquals(1, all.totalEnrollments());
+        assertEquals(1, all.compliantEnrollments());
+        assertEquals(1, all.rrhLinkedWithMoveIn());
+        assertEquals(0, counts(DataQualityScope.PROJECT, PROGRAM_A.toString()).totalEnrollments());
+        assertEquals(1, counts(DataQualityScope.COC, "CA-601").totalEnrollments());
+        assertEquals(Set.of(PROGRAM_B.toString()), service.getEnrollmentCountsByKey(
+            DataQualityScope.PROJECT, TODAY.minusYears(1), TODAY).keySet());
+    }
+
+    @Test
+    @DisplayName("Removing an enrollment subtracts it and enrollments outside the window are excluded")
+    void testRemoveAndWindow() {
+        UUID recent = UUID.randomUUID();
+        service.onEnrollmentPersisted(new ProgramEnrollmentPersisted(enrollment(recent, PROGRAM_A, TODAY, true, false)));
+        service.onEnrollmentPersisted(new ProgramEnrollmentPersisted(
+            enrollment(UUID.randomUUID(), PROGRAM_A, TODAY.minusYears(2), true, false)));
+
+        assertEquals(1, counts(DataQualityScope.ALL, DataQualityScope.ALL_KEY).totalEnrollments());
+
+        service.onEnrollmentRemoved(new ProgramEnrollmentRemoved(recent));
+        assertEquals(0, counts(DataQualityScope.ALL, DataQualityScope.ALL_KEY).totalEnrollments());
+    }
+
+    private EnrollmentDataQualityCounts counts(DataQualityScope scope, String key) {
+        return service.getEnrollmentCounts(scope, key, TODAY.minusYears(1), TODAY);
+    }
+
+    private static ProgramEnrollment enrollment(UUID id, UUID programId, LocalDate date,
+                                                boolean compliant, boolean rrhWithMoveIn) {
+        ProgramEnrollment enrollment = mock(ProgramEnrollment.class);
+        when(enrollment.getId()).thenReturn(new ProgramEnrollmentId(id));
+        when(enrollment.getProgramId()).thenReturn(programId);
+        when(enrollment.getEnrollmentDate()).thenReturn(date);
+        when(enrollment.meetsHmisDataQuality()).thenReturn(compliant);
+        when(enrollment.isLinkedEnrollment()).thenReturn(rrhWithMoveIn);
+        when(enrollment.getProjectType()).thenReturn(rrhWithMoveIn ? HmisProjectType.RAPID_REHOUSING : null);
+        when(enrollment.hasResidentialMoveIn()).thenReturn(rrhWithMoveIn);
+        return enrollment;
+    }
+
+    private static class InMemoryDataQualityRepository implements HmisDataQualityRepository {
+
+        final Map<UUID, String> continuumCodes = new HashMap<>();
+        private final Map<UUID, ClientDataQualityScore> clientScores = new HashMap<>();
+        private final Map<UUID, EnrollmentDataQualityScore> enrollmentScores = new HashMap<>();
+        private final Map<List<Object>, EnrollmentDataQualityCounts> rollups = new HashMap<>();
+        private ClientDataQualitySummary summary;
+
+        @Override
+        public Optional<ClientDataQualityScore> findClientScoreForUpdate(UUID clientId) {
+            return Optional.ofNullable(clientScores.get(clientId));
+        }
+
+        @Override
+        public void saveClientScore(ClientDataQualityScore score) {
+            clientScores.put(score.clientId(), score);
+        }
+
+        @Override
+        public void deleteClientScore(UUID clientId) {
+            clientScores.remove(clientId);
+        }
+
+        @Override
+        public void applyClientDelta(long totalClients, long compliantClients, double scoreSum) {
+            ClientDataQualitySummary current = summary != null ? summary : ClientDataQualitySummary.EMPTY;
+            summary = new ClientDataQualitySummary(current.totalClients() + totalClients,
+                current.compliantClients() + compliantClients, current.scoreSum() + scoreSum);
+        }
+
+        @Override
+        public Optional<ClientDataQualitySummary> findClientSummary() {
+            return Optional.ofNullable(summary);
+        }
+
+        @Override
+        public Optional<EnrollmentDataQualityScore> findEnrollmentScoreForUpdate(UUID enrollmentId) {
+            return Optional.ofNullable(enrollmentScores.get(enrollmentId));
+        }
+
+        @Override
+        public void saveEnrollmentScore(EnrollmentDataQualityScore score) {
+            enrollmentScores.put(score.enrollmentId(), score);
+        }
+
+        @Override
+        public void deleteEnrollmentScore(UUID enrollmentId) {
+            enrollmentScores.remove(enrollmentId);
+        }
+
+        @Override
+        public void applyEnrollmentDelta(DataQualityScope scope, String scopeKey, LocalDate periodDate,
+                                         EnrollmentDataQualityCounts delta) {
+            rollups.merge(List.of(scope, scopeKey, periodDate), delta, EnrollmentDataQualityCounts::plus);
+        }
+
+        @Override
+        public EnrollmentDataQualityCounts sumEnrollments(DataQualityScope scope, String scopeKey,
+                                                          LocalDate from, LocalDate to) {
+            return sumEnrollmentsByKey(scope, from, to).getOrDefault(scopeKey, EnrollmentDataQualityCounts.EMPTY);
+        }
+
+        @Override
+        public Map<String, EnrollmentDataQualityCounts> sumEnrollmentsByKey(DataQualityScope scope,
+                                                                            LocalDate from, LocalDate to) {
+            Map<String, EnrollmentDataQualityCounts> totals = new TreeMap<>();
+            rollups.forEach((key, counts) -> {
+                LocalDate day = (LocalDate) key.get(2);
+                if (key.get(0) == scope && !day.isBefore(from) && !day.isAfter(to)) {
+                    totals.merge((String) key.get(1), counts, EnrollmentDataQualityCounts::plus);
+                }
+            });
+            totals.values().removeIf(counts -> counts.totalEnrollments() == 0);
+            return totals;
+        }
+
+        @Override
+        public Optional<String> findContinuumCode(UUID programId) {
+            return Optional.ofNullable(continuumCodes.get(programId));
+        }
+
+        @Override
+        public void lockForUpdate(boolean exclusive) {
+        }
+
+        @Override
+        public void clearAll() {
+            clientScores.clear();
+            enrollmentScores.clear();
+            rollups.clear();
+            summary = null;
+        }
+    }
+}
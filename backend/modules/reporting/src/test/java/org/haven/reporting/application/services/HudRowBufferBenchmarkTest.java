@@ -0,0 +1,94 @@
+package org.haven.reporting.application.services;
+
+import org.haven.reporting.application.validation.CsvValidationLogger;
+import org.haven.reporting.domain.ExportPeriod;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Memory and throughput comparison of a full HMIS CSV bundle held as map rows versus
+ * {@link HudRowBuffer}s. Runs with the benchmark task only.
+ */
+@Tag("benchmark")
+class HudRowBufferBenchmarkTest {
+
+    private static final int BUNDLE_CLIENTS = 50_000;
+
+    @Test
+    @DisplayName("Full HMIS CSV bundle as map rows versus typed buffers (memory and timings printed)")
+    void benchmarkFullBundle() {
+        long baseline = usedHeap();
+        Map<String, List<Map<String, Object>>> maps = HudRowBufferTest.bundle(BUNDLE_CLIENTS);
+        long mapBytes = usedHeap() - baseline;
+
+        List<HudRowBuffer> buffers = HudRowBuffer.fromSections(maps);
+        long rows = buffers.stream().mapToLong(HudRowBuffer::rowCount).sum();
+        assertEquals(maps.get("Services").get(7).get("DateProvided"), buffers.get(4).get(7, "DateProvided"));
+
+        maps = null;
+        long bufferBytes = usedHeap() - baseline;
+
+        // The bundle is deterministic, so the map form is rebuilt for the timing comparison
+        Map<String, List<Map<String, Object>>> retainedMaps = HudRowBufferTest.bundle(BUNDLE_CLIENTS);
+
+        CSVExportStrategy csv = new CSVExportStrategy();
+        ExportPeriod period = new ExportPeriod(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31));
+        long[] formatting = compare(
+                () -> Arrays.hashCode(csv.formatWithValidation(retainedMaps, period, "bench", new CsvValidationLogger("bench"))),
+                () -> Arrays.hashCode(csv.formatWithValidation(buffers, period, "bench", new CsvValidationLogger("bench"))));
+
+        HUDExportValidationService validation = new HUDExportValidationService();
+        long[] validating = compare(
+                () -> validation.validateExport(retainedMaps).getErrorCount(),
+                () -> validation.validateExport(buffers).getErrorCount());
+        assertEquals(0, validation.validateExport(buffers).getErrorCount());
+
+        System.out.printf("HMIS bundle of %d rows: map rows ~%d MB retained, typed buffers ~%d MB retained (maps released)%n",
+                rows, mapBytes >> 20, bufferBytes >> 20);
+        System.out.printf("Validated CSV formatting: from map rows %d ms, from buffers %d ms%n",
+                formatting[0] / 1_000_000, formatting[1] / 1_000_000);
+        System.out.printf("Export validation: from map rows %d ms, from buffers %d ms%n",
+                validating[0] / 1_000_000, validating[1] / 1_000_000);
+    }
+
+    /**
+     * Best-of-three timings of the map-row and buffer paths after a warm-up round,
+     * asserting both produce the same result
+     */
+    private static long[] compare(Supplier<Integer> fromMaps, Supplier<Integer> fromBuffers) {
+        fromMaps.get();
+        fromBuffers.get();
+
+        long mapNanos = Long.MAX_VALUE;
+        long bufferNanos = Long.MAX_VALUE;
+        Integer expected = null;
+        Integer actual = null;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            expected = fromMaps.get();
+            mapNanos = Math.min(mapNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            actual = fromBuffers.get();
+            bufferNanos = Math.min(bufferNanos, System.nanoTime() - start);
+        }
+
+        assertEquals(expected, actual);
+        return new long[]{mapNanos, bufferNanos};
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
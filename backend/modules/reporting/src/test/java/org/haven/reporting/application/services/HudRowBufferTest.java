@@ -0,0 +1,222 @@
+package org.haven.reporting.application.services;
+
+import org.haven.reporting.application.validation.CsvValidationLogger;
+import org.haven.reporting.domain.ExportPeriod;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for typed HUD section buffers and their equivalence with map rows in export formatting
+ * and validation.
+ */
+class HudRowBufferTest {
+
+    @Test
+    @DisplayName("Columns follow HUD order, extra columns are appended alphabetically")
+    void testColumnOrder() {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("zLocalFlag", "x");
+        row.put("DestinationSafeClient", 1);
+        row.put("Destination", 10);
+        row.put("ExitID", "X1");
+        row.put("aLocalFlag", "y");
+
+        HudRowBuffer buffer = HudRowBuffer.fromMaps("Exit", List.of(row));
+
+        assertEquals(List.of("ExitID", "Destination", "DestinationSafeClient", "aLocalFlag", "zLocalFlag"),
+                buffer.columns());
+        assertEquals(List.of("a", "b"),
+                HudRowBuffer.fromMaps("APR_Q6", List.of(Map.of("b", 1, "a", 2))).columns());
+    }
+
+    @Test
+    @DisplayName("Typed columns return generated values, including off-picklist codes and text dates")
+    void testRoundTrip() {
+        Map<String, Object> valid = new HashMap<>();
+        valid.put("EnrollmentID", "E1");
+        valid.put("EntryDate", LocalDate.of(2024, 6, 1));
+        valid.put("RelationshipToHoH", 1);
+        valid.put("LivingSituation", 16);
+
+        Map<String, Object> offList = new HashMap<>();
+        offList.put("EnrollmentID", "E2");
+        offList.put("EntryDate", "2024-06-02");
+        offList.put("RelationshipToHoH", 999);
+        offList.put("LivingSituation", "16");
+        offList.put("MoveInDate", java.sql.Date.valueOf("2024-07-01"));
+
+        HudRowBuffer buffer = HudRowBuffer.fromMaps("Enrollment", List.of(valid, offList));
+        int relationship = buffer.columnIndex("RelationshipToHoH");
+
+        assertEquals(HudExportSchema.ColumnType.PICKLIST, buffer.columnType(relationship));
+        assertEquals(HudExportSchema.ColumnType.DATE, buffer.columnType(buffer.columnIndex("EntryDate")));
+        assertTrue(buffer.hasValidCode(0, relationship));
+        assertFalse(buffer.hasValidCode(1, relationship));
+
+        assertEquals(1, buffer.get(0, "RelationshipToHoH"));
+        assertEquals(999, buffer.get(1, "RelationshipToHoH"));
+        assertEquals("16", buffer.get(1, "LivingSituation"));
+        assertEquals(LocalDate.of(2024, 6, 1), buffer.get(0, "EntryDate"));
+        assertEquals("2024-06-02", buffer.get(1, "EntryDate"));
+        assertEquals(LocalDate.of(2024, 7, 1), buffer.get(1, "MoveInDate"));
+        assertNull(buffer.get(0, "MoveInDate"));
+        assertNull(buffer.get(0, "NotAColumn"));
+    }
+
+    @Test
+    @DisplayName("Buffers grow past their expected row count")
+    void testBuilderGrowth() {
+        HudRowBuffer.Builder builder = HudRowBuffer.builder("Services", List.of("ServicesID", "RecordType"), 1);
+        for (int i = 0; i < 100; i++) {
+            builder.addRow(new Object[]{"S" + i, 200});
+        }
+        HudRowBuffer buffer = builder.build();
+
+        assertEquals(100, buffer.rowCount());
+        assertEquals("S99", buffer.get(99, "ServicesID"));
+        assertEquals(200, buffer.get(99, "RecordType"));
+    }
+
+    @Test
+    @DisplayName("Formatting and validating a bundle gives the same results from map rows and buffers")
+    void testBundleEquivalence() {
+        Map<String, List<Map<String, Object>>> maps = bundle(200);
+        List<HudRowBuffer> buffers = HudRowBuffer.fromSections(maps);
+        assertEquals(maps.get("Services").get(7).get("DateProvided"), buffers.get(4).get(7, "DateProvided"));
+
+        CSVExportStrategy csv = new CSVExportStrategy();
+        ExportPeriod period = new ExportPeriod(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31));
+        assertArrayEquals(csv.formatWithValidation(maps, period, "test", new CsvValidationLogger("test")),
+                csv.formatWithValidation(buffers, period, "test", new CsvValidationLogger("test")));
+
+        HUDExportValidationService validation = new HUDExportValidationService();
+        assertEquals(validation.validateExport(maps).getErrorCount(), validation.validateExport(buffers).getErrorCount());
+        assertEquals(0, validation.validateExport(buffers).getErrorCount());
+    }
+
+    /**
+     * A valid bundle shaped like a generated export: one enrollment per client, most exited,
+     * two services each and one assessment of each kind
+     */
+    static Map<String, List<Map<String, Object>>> bundle(int clients) {
+        List<Map<String, Object>> clientRows = new ArrayList<>(clients);
+        List<Map<String, Object>> enrollments = new ArrayList<>(clients);
+        List<Map<String, Object>> exits = new ArrayList<>(clients);
+        List<Map<String, Object>> services = new ArrayList<>(clients * 2);
+        List<Map<String, Object>> incomes = new ArrayList<>(clients);
+        List<Map<String, Object>> healthAndDv = new ArrayList<>(clients);
+        List<Map<String, Object>> disabilities = new ArrayList<>(clients);
+        LocalDateTime created = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+        for (int i = 0; i < clients; i++) {
+            String personalId = String.format("C%07d", i);
+            String enrollmentId = String.format("EN%07d", i);
+            LocalDate entry = LocalDate.of(2024, 1, 1).plusDays(i % 300);
+
+            Map<String, Object> client = new HashMap<>();
+            client.put("PersonalID", personalId);
+            client.put("FirstName", "First" + i);
+            client.put("LastName", "Last" + i);
+            client.put("NameDataQuality", 1);
+            client.put("SSN", String.format("%09d", 200_000_000 + i));
+            client.put("SSNDataQuality", 1);
+            client.put("DOB", LocalDate.of(1960, 1, 1).plusDays(i % 15_000));
+            client.put("DOBDataQuality", 1);
+            client.put("AmIndAKNative", 0);
+            client.put("Asian", 0);
+            client.put("BlackAfAmerican", i % 2);
+            client.put("NativeHIPacific", 0);
+            client.put("White", 1 - i % 2);
+            client.put("Woman", i % 2);
+            client.put("Man", 1 - i % 2);
+            client.put("NonBinary", 0);
+            client.put("DateCreated", created);
+            client.put("ExportID", "EXP1");
+            clientRows.add(client);
+
+            Map<String, Object> enrollment = new HashMap<>();
+            enrollment.put("EnrollmentID", enrollmentId);
+            enrollment.put("PersonalID", personalId);
+            enrollment.put("ProjectID", "P1");
+            enrollment.put("EntryDate", entry);
+            enrollment.put("HouseholdID", "HH" + i);
+            enrollment.put("RelationshipToHoH", 1);
+            enrollment.put("LivingSituation", 16);
+            enrollment.put("DisablingCondition", i % 2);
+            enrollment.put("DateCreated", created);
+            enrollment.put("ExportID", "EXP1");
+            enrollments.add(enrollment);
+
+            if (i % 5 != 0) {
+                Map<String, Object> exit = new HashMap<>();
+                exit.put("ExitID", "X" + i);
+                exit.put("EnrollmentID", enrollmentId);
+                exit.put("PersonalID", personalId);
+                exit.put("ExitDate", entry.plusDays(30));
+                exit.put("Destination", 10);
+                exit.put("ExportID", "EXP1");
+                exits.add(exit);
+            }
+
+            for (int s = 0; s < 2; s++) {
+                Map<String, Object> service = new HashMap<>();
+                service.put("ServicesID", "S" + i + "-" + s);
+                service.put("EnrollmentID", enrollmentId);
+                service.put("PersonalID", personalId);
+                service.put("DateProvided", entry.plusDays(s + 1L));
+                service.put("RecordType", 200);
+                service.put("TypeProvided", 1);
+                service.put("ExportID", "EXP1");
+                services.add(service);
+            }
+
+            Map<String, Object> income = new HashMap<>();
+            income.put("IncomeBenefitsID", "I" + i);
+            income.put("EnrollmentID", enrollmentId);
+            income.put("PersonalID", personalId);
+            income.put("InformationDate", entry);
+            income.put("IncomeFromAnySource", 1);
+            income.put("TotalMonthlyIncome", BigDecimal.valueOf(i % 2_000));
+            income.put("DataCollectionStage", 1);
+            incomes.add(income);
+
+            Map<String, Object> health = new HashMap<>();
+            health.put("HealthAndDVID", "H" + i);
+            health.put("EnrollmentID", enrollmentId);
+            health.put("PersonalID", personalId);
+            health.put("InformationDate", entry);
+            health.put("DomesticViolenceVictim", i % 2);
+            health.put("GeneralHealthStatus", 3);
+            health.put("DataCollectionStage", 1);
+            healthAndDv.add(health);
+
+            Map<String, Object> disability = new HashMap<>();
+            disability.put("DisabilitiesID", "D" + i);
+            disability.put("EnrollmentID", enrollmentId);
+            disability.put("PersonalID", personalId);
+            disability.put("InformationDate", entry);
+            disability.put("DisabilityType", 5 + i % 6);
+            disability.put("DisabilityResponse", i % 2);
+            disability.put("DataCollectionStage", 1);
+            disabilities.add(disability);
+        }
+
+        Map<String, List<Map<String, Object>>> sections = new LinkedHashMap<>();
+        sections.put("Project", List.of(Map.of("ProjectID", "P1", "OrganizationID", "O1", "ProjectType", 1)));
+        sections.put("Client", clientRows);
+        sections.put("Enrollment", enrollments);
+        sections.put("Exit", exits);
+        sections.put("Services", services);
+        sections.put("IncomeBenefits", incomes);
+        sections.put("HealthAndDV", healthAndDv);
+        sections.put("Disabilities", disabilities);
+        return sections;
+    }
+}
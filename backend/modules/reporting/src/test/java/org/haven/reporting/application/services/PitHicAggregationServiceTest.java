@@ -0,0 +1,235 @@
+package org.haven.reporting.application.services;
+
+import org.haven.reporting.domain.pithic.*;
+import org.haven.shared.vo.UserId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for PIT/HIC aggregation over partition source rows and the partitioned ETL job fan-out.
+ * Repositories are in-memory fakes keyed by continuum/organization.
+ */
+class PitHicAggregationServiceTest {
+
+    private static final LocalDate CENSUS_DATE = LocalDate.of(2025, 1, 29);
+
+    private FakeSourceData sourceData;
+    private FakeDataRepository dataRepository;
+    private PitHicAggregationService aggregationService;
+
+    @BeforeEach
+    void setUp() {
+        sourceData = new FakeSourceData();
+        dataRepository = new FakeDataRepository();
+        aggregationService = new PitHicAggregationService(sourceData, dataRepository);
+    }
+
+    @Test
+    @DisplayName("PIT census counts households, ages and special populations from census-night stays")
+    void testPitCensusAggregation() {
+        String family = "HH-1";
+        String single = "HH-2";
+        UUID parent = UUID.randomUUID();
+        sourceData.stays.put("CA-500|ORG-1", List.of(
+            stay(parent, family, "SELF_HEAD_OF_HOUSEHOLD", 22, "FEMALE", "BLACK_AFRICAN_AMERICAN", "EMERGENCY_SHELTER", false),
+            stay(UUID.randomUUID(), family, "HEAD_OF_HOUSEHOLD_CHILD", 3, "MALE", "BLACK_AFRICAN_AMERICAN,WHITE", "EMERGENCY_SHELTER", false),
+            stay(UUID.randomUUID(), single, "SELF_HEAD_OF_HOUSEHOLD", 58, "MALE", "WHITE", "TRANSITIONAL_HOUSING", true),
+            // Same person also open in a second project on the census night
+            stay(parent, family, "SELF_HEAD_OF_HOUSEHOLD", 22, "FEMALE", "BLACK_AFRICAN_AMERICAN", "TRANSITIONAL_HOUSING", false)
+        ));
+
+        PitCensusData census = aggregationService.generatePitCensusData(CENSUS_DATE, "CA-500", "ORG-1", UserId.system());
+
+        assertEquals(3, census.getTotalPersons());
+        assertEquals(2, census.getTotalHouseholds());
+        assertEquals(1, census.getHouseholdsWithChildren());
+        assertEquals(1, census.getHouseholdsWithoutChildren());
+        assertEquals(1, census.getPersonsUnder18());
+        assertEquals(1, census.getPersons18To24());
+        assertEquals(1, census.getPersonsOver24());
+        assertEquals(1, census.getPersonsMultipleRaces());
+        assertEquals(1, census.getPersonsBlackAfricanAmerican());
+        assertEquals(1, census.getPersonsWhite());
+        assertEquals(1, census.getVeteranPersons());
+        assertEquals(1, census.getParentingYouth());
+        assertEquals(2, census.getShelteredEmergencyShelter());
+        assertEquals(1, census.getShelteredTransitionalHousing());
+        assertEquals(1, census.getRecordsWithDataQualityIssues());
+        assertTrue(dataRepository.findPitCensus(census.getCensusId()).isPresent());
+    }
+
+    @Test
+    @DisplayName("Street outreach enrollments are counted unsheltered unless the person is also sheltered")
+    void testPitCensusUnsheltered() {
+        UUID outreachOnly = UUID.randomUUID();
+        UUID shelteredToo = UUID.randomUUID();
+        sourceData.stays.put("CA-500|ORG-1", List.of(
+            stay(outreachOnly, "HH-1", "SELF_HEAD_OF_HOUSEHOLD", 45, "MALE", "WHITE", "STREET_OUTREACH", true),
+            // Outreach stays are ordered last per person, but a sheltered stay wins either way
+            stay(shelteredToo, "HH-2", "SELF_HEAD_OF_HOUSEHOLD", 31, "FEMALE", "WHITE", "STREET_OUTREACH", false),
+            stay(shelteredToo, "HH-2", "SELF_HEAD_OF_HOUSEHOLD", 31, "FEMALE", "WHITE", "SAFE_HAVEN", false)
+        ));
+
+        PitCensusData census = aggregationService.generatePitCensusData(CENSUS_DATE, "CA-500", "ORG-1", UserId.system());
+
+        assertEquals(2, census.getTotalPersons());
+        assertEquals(1, census.getUnshelteredPersons());
+        assertEquals(1, census.getShelteredSafeHaven());
+        assertEquals(1, census.getVeteranPersons());
+    }
+
+    @Test
+    @DisplayName("HIC inventory totals beds by project type and target population with utilization")
+    void testHicInventoryAggregation() {
+        sourceData.inventory.put("CA-500|ORG-1", List.of(
+            new HicProjectInventory("P1", "EMERGENCY_SHELTER", "FAMILIES", "HUD-ESG", 40, 40, 10),
+            new HicProjectInventory("P2", "EMERGENCY_SHELTER", "VETERANS", "HUD-ESG", 20, 0, 0),
+            new HicProjectInventory("P3", "PERMANENT_SUPPORTIVE_HOUSING", "CHRONIC", "HUD-COC", 30, 25, 25),
+            new HicProjectInventory("P4", "TRANSITIONAL_HOUSING", null, null, null, 0, 0)
+        ));
+        sourceData.occupied.put("CA-500|ORG-1", Map.of("EMERGENCY_SHELTER", 45, "PERMANENT_SUPPORTIVE_HOUSING", 25));
+
+        HicInventoryData inventory = aggregationService.generateHicInventoryData(CENSUS_DATE, "CA-500", "ORG-1", UserId.system());
+
+        assertEquals(60, inventory.getEmergencyShelterTotalBeds());
+        assertEquals(40, inventory.getEmergencyShelterFamilyBeds());
+        assertEquals(20, inventory.getEmergencyShelterVeteranBeds());
+        assertEquals(25, inventory.getPermanentSupportiveTotalBeds());
+        assertEquals(25, inventory.getPermanentSupportiveChronicBeds());
+        assertEquals(75.0, inventory.getEmergencyShelterUtilizationRate(), 0.001);
+        assertEquals(100.0, inventory.getPermanentSupportiveUtilizationRate(), 0.001);
+        assertEquals(60, inventory.getBedsByFundingSource().get("HUD-ESG"));
+        assertEquals(1, inventory.getProjectsWithMissingInventory());
+        assertEquals(1, inventory.getProjectsWithInconsistentData());
+    }
+
+    @Test
+    @DisplayName("ETL job fans out one task per partition and records progress")
+    void testEtlJobFanOutProgress() {
+        FakeJobRepository jobRepository = new FakeJobRepository();
+        PitHicEtlJobService etlJobService =
+            new PitHicEtlJobService(aggregationService, jobRepository, new SyncTaskExecutor());
+
+        UUID jobId = etlJobService.startPitCensusJob(CENSUS_DATE, "MANUAL", UserId.system(),
+            List.of("CA-500", "CA-501"), List.of("ORG-1", "ORG-2", "ORG-3"));
+
+        PitHicEtlJobService.JobStatus status = etlJobService.getJobStatus(jobId);
+        assertEquals(PitHicEtlJobService.JobState.COMPLETED, status.getState());
+        assertEquals(6, status.getTotalCount());
+        assertEquals(6, status.getProcessedCount());
+        assertEquals(100, status.getProgressPercent());
+        assertEquals(6, dataRepository.pit.size());
+        assertEquals("COMPLETED", jobRepository.jobs.get(jobId).state());
+    }
+
+    @Test
+    @DisplayName("A failing partition is counted without aborting the other partitions")
+    void testEtlJobPartitionFailure() {
+        sourceData.failingPartition = "CA-500|ORG-2";
+        FakeJobRepository jobRepository = new FakeJobRepository();
+        PitHicEtlJobService etlJobService =
+            new PitHicEtlJobService(aggregationService, jobRepository, new SyncTaskExecutor());
+
+        PitHicEtlJobService.AdhocJobResult result = etlJobService.runAdhocAggregation(
+            CENSUS_DATE, CENSUS_DATE.plusDays(1), List.of("CA-500"), List.of("ORG-1", "ORG-2"), UserId.system());
+
+        assertEquals(2, result.pitResults().size());
+        assertEquals(4, result.hicResults().size());
+        PitHicEtlJobRecord pitJob = jobRepository.jobs.get(result.pitJobId());
+        assertEquals("COMPLETED", pitJob.state());
+        assertEquals(2, pitJob.processedCount());
+        assertEquals(2, pitJob.errorCount());
+    }
+
+    private static PitCensusStay stay(UUID clientId, String householdId, String relationship, int age,
+                                      String gender, String race, String projectType, boolean veteran) {
+        return new PitCensusStay(UUID.randomUUID(), clientId, householdId, relationship,
+            CENSUS_DATE.minusYears(age).minusDays(10), gender, race, "NON_HISPANIC_LATINO", projectType,
+            "HOMELESS_SITUATION", "ONE_TO_THREE_MONTHS", veteran, false, false);
+    }
+
+    private static class FakeSourceData implements PitHicSourceDataRepository {
+        final Map<String, List<PitCensusStay>> stays = new HashMap<>();
+        final Map<String, List<HicProjectInventory>> inventory = new HashMap<>();
+        final Map<String, Map<String, Integer>> occupied = new HashMap<>();
+        String failingPartition;
+
+        @Override
+        public List<PitCensusStay> findCensusNightStays(LocalDate censusDate, String continuumCode, String organizationId) {
+            String key = continuumCode + "|" + organizationId;
+            if (key.equals(failingPartition)) {
+                throw new IllegalStateException("source unavailable for " + key);
+            }
+            return stays.getOrDefault(key, List.of());
+        }
+
+        @Override
+        public List<HicProjectInventory> findProjectInventory(LocalDate inventoryDate, String continuumCode, String organizationId) {
+            return inventory.getOrDefault(continuumCode + "|" + organizationId, List.of());
+        }
+
+        @Override
+        public Map<String, Integer> countOccupiedByProjectType(LocalDate inventoryDate, String continuumCode, String organizationId) {
+            return occupied.getOrDefault(continuumCode + "|" + organizationId, Map.of());
+        }
+    }
+
+    private static class FakeDataRepository implements PitHicDataRepository {
+        final Map<UUID, PitCensusData> pit = new ConcurrentHashMap<>();
+        final Map<UUID, HicInventoryData> hic = new ConcurrentHashMap<>();
+
+        @Override
+        public PitCensusData savePitCensus(PitCensusData censusData) {
+            pit.put(censusData.getCensusId(), censusData);
+            return censusData;
+        }
+
+        @Override
+        public HicInventoryData saveHicInventory(HicInventoryData inventoryData) {
+            hic.put(inventoryData.getInventoryId(), inventoryData);
+            return inventoryData;
+        }
+
+        @Override
+        public Optional<PitCensusData> findPitCensus(UUID censusId) {
+            return Optional.ofNullable(pit.get(censusId));
+        }
+
+        @Override
+        public Optional<HicInventoryData> findHicInventory(UUID inventoryId) {
+            return Optional.ofNullable(hic.get(inventoryId));
+        }
+
+        @Override
+        public List<PitCensusData> findPitCensusBetween(LocalDate start, LocalDate end) {
+            return new ArrayList<>(pit.values());
+        }
+
+        @Override
+        public List<HicInventoryData> findHicInventoryBetween(LocalDate start, LocalDate end) {
+            return new ArrayList<>(hic.values());
+        }
+    }
+
+    private static class FakeJobRepository implements PitHicEtlJobRepository {
+        final Map<UUID, PitHicEtlJobRecord> jobs = new ConcurrentHashMap<>();
+
+        @Override
+        public void save(PitHicEtlJobRecord job) {
+            jobs.put(job.jobId(), job);
+        }
+
+        @Override
+        public Optional<PitHicEtlJobRecord> findById(UUID jobId) {
+            return Optional.ofNullable(jobs.get(jobId));
+        }
+    }
+}
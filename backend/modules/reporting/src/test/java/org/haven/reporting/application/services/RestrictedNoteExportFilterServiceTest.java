@@ -0,0 +1,109 @@
+package org.haven.reporting.application.services;
+
+import org.haven.casemgmt.application.services.RestrictedNoteService;
+import org.haven.casemgmt.domain.RestrictedNote;
+import org.haven.casemgmt.domain.RestrictedNoteSummary;
+import org.haven.reporting.application.services.ExportClientEligibility.ClientExportProfile;
+import org.haven.shared.vo.hmis.HmisPersonalId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests that export eligibility is computed from one bulk note query and resolves each client's
+ * export decision and redactions for the exporter's roles.
+ */
+class RestrictedNoteExportFilterServiceTest {
+
+    private static final UUID EXPORTER = UUID.randomUUID();
+
+    private RestrictedNoteService restrictedNoteService;
+    private RestrictedNoteExportFilterService filterService;
+
+    @BeforeEach
+    void setUp() {
+        restrictedNoteService = mock(RestrictedNoteService.class);
+        filterService = new RestrictedNoteExportFilterService(restrictedNoteService);
+    }
+
+    @Test
+    @DisplayName("Notes for every client are loaded with a single bulk query")
+    void testSingleBulkQuery() {
+        UUID clientA = UUID.randomUUID();
+        UUID clientB = UUID.randomUUID();
+        when(restrictedNoteService.getAccessibleNoteSummariesForClients(any(), eq(EXPORTER), any()))
+            .thenReturn(List.of());
+
+        ExportClientEligibility eligibility = filterService.computeEligibility(
+            List.of(personalId(clientA), personalId(clientB), personalId(clientA)), EXPORTER, List.of("CASE_MANAGER"));
+
+        verify(restrictedNoteService, times(1)).getAccessibleNoteSummariesForClients(
+            argThat((Collection<UUID> ids) -> ids.size() == 2 && ids.containsAll(List.of(clientA, clientB))),
+            eq(EXPORTER), any());
+        assertEquals(2, eligibility.size());
+        assertTrue(eligibility.isAllowed(personalId(clientA)));
+        assertFalse(eligibility.isAllowed(HmisPersonalId.of("not-a-client-uuid")));
+    }
+
+    @Test
+    @DisplayName("Sealed and privileged notes block export unless the exporter holds a privileged role")
+    void testExportBlocking() {
+        UUID sealedClient = UUID.randomUUID();
+        UUID counselingClient = UUID.randomUUID();
+        when(restrictedNoteService.getAccessibleNoteSummariesForClients(any(), any(), any())).thenReturn(List.of(
+            note(sealedClient, RestrictedNote.NoteType.STANDARD, RestrictedNote.VisibilityScope.CASE_TEAM, true, null),
+            note(counselingClient, RestrictedNote.NoteType.PRIVILEGED_COUNSELING,
+                RestrictedNote.VisibilityScope.CASE_TEAM, false, null)));
+
+        List<HmisPersonalId> ids = List.of(personalId(sealedClient), personalId(counselingClient));
+        ExportClientEligibility caseManager = filterService.computeEligibility(ids, EXPORTER, List.of("CASE_MANAGER"));
+        ExportClientEligibility admin = filterService.computeEligibility(ids, EXPORTER, List.of("ADMINISTRATOR"));
+
+        assertFalse(caseManager.isAllowed(personalId(sealedClient)));
+        assertFalse(caseManager.isAllowed(personalId(counselingClient)));
+        assertFalse(admin.isAllowed(personalId(sealedClient)));
+        assertTrue(admin.isAllowed(personalId(counselingClient)));
+    }
+
+    @Test
+    @DisplayName("Redaction profile reflects note content and the exporter's roles")
+    void testRedactionProfile() {
+        UUID client = UUID.randomUUID();
+        when(restrictedNoteService.getAccessibleNoteSummariesForClients(any(), any(), any())).thenReturn(List.of(
+            note(client, RestrictedNote.NoteType.SAFETY_PLAN, RestrictedNote.VisibilityScope.CASE_TEAM, false,
+                "Client is a Safe at Home participant"),
+            note(client, RestrictedNote.NoteType.STANDARD, RestrictedNote.VisibilityScope.CASE_TEAM, false,
+                "History of intimate partner violence")));
+
+        ClientExportProfile caseManager = filterService.computeEligibility(
+            List.of(personalId(client)), EXPORTER, List.of("CASE_MANAGER")).profileFor(personalId(client));
+        assertTrue(caseManager.allowed());
+        assertTrue(caseManager.redactLocation());
+        assertTrue(caseManager.redactName());
+        assertTrue(caseManager.redactPriorLiving());
+        assertFalse(caseManager.redactHealthInfo());
+        assertTrue(caseManager.redactDvInfo());
+
+        ClientExportProfile dvCounselor = filterService.computeEligibility(
+            List.of(personalId(client)), EXPORTER, List.of("DV_COUNSELOR")).profileFor(personalId(client));
+        assertTrue(dvCounselor.redactLocation());
+        assertFalse(dvCounselor.redactDvInfo());
+    }
+
+    private static HmisPersonalId personalId(UUID clientId) {
+        return HmisPersonalId.of(clientId.toString());
+    }
+
+    private static RestrictedNoteSummary note(UUID clientId, RestrictedNote.NoteType type,
+                                              RestrictedNote.VisibilityScope scope, boolean sealed, String content) {
+        return new RestrictedNoteSummary(UUID.randomUUID(), clientId, type, scope, sealed, content);
+    }
+}
@@ -0,0 +1,63 @@
+package org.haven.reporting.application.services;
+
+import org.haven.reporting.application.services.SageAggregationServiceTest.Dataset;
+import org.haven.reporting.domain.sage.SageAggregateData;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Times the single-pass SAGE aggregation against the multi-pass reference kept in
+ * {@link SageAggregationServiceTest} on a CoC-sized dataset. Runs with the benchmark task only.
+ */
+@Tag("benchmark")
+class SageAggregationBenchmarkTest {
+
+    private static final LocalDate PERIOD_START = LocalDate.of(2024, 1, 1);
+    private static final LocalDate PERIOD_END = LocalDate.of(2024, 12, 31);
+
+    private final SageAggregationService sageAggregationService = new SageAggregationService();
+
+    @Test
+    @DisplayName("Single pass reproduces the multi-pass reference on a CoC-sized dataset (timings printed)")
+    void benchmarkAgainstReference() {
+        Dataset dataset = Dataset.generate(200_000, 11L);
+
+        // Warm up both paths so the comparison is not dominated by JIT compilation
+        for (int i = 0; i < 3; i++) {
+            SageAggregationServiceTest.reference(dataset);
+            aggregate(dataset);
+        }
+
+        long referenceNanos = Long.MAX_VALUE;
+        long singlePassNanos = Long.MAX_VALUE;
+        SageAggregateData expected = null;
+        SageAggregateData actual = null;
+        for (int i = 0; i < 5; i++) {
+            long start = System.nanoTime();
+            expected = SageAggregationServiceTest.reference(dataset);
+            referenceNanos = Math.min(referenceNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            actual = aggregate(dataset);
+            singlePassNanos = Math.min(singlePassNanos, System.nanoTime() - start);
+        }
+
+        assertEquals(expected, actual);
+        System.out.printf("SAGE aggregate over %d clients / %d enrollments / %d exits: "
+                + "multi-pass %d ms, single-pass %d ms (%.1fx)%n",
+            dataset.clients().size(), dataset.enrollments().size(), dataset.exits().size(),
+            referenceNanos / 1_000_000, singlePassNanos / 1_000_000,
+            (double) referenceNanos / singlePassNanos);
+    }
+
+    private SageAggregateData aggregate(Dataset dataset) {
+        return sageAggregationService.generateSageAggregate(
+            dataset.clients(), dataset.enrollments(), dataset.exits(),
+            "RPT-2024", PERIOD_START, PERIOD_END, "CA-600", "PRJ-ALL", "ES");
+    }
+}
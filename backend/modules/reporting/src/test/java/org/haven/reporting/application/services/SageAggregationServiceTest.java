@@ -0,0 +1,295 @@
+package org.haven.reporting.application.services;
+
+import org.haven.reporting.domain.hmis.HmisClientProjection;
+import org.haven.reporting.domain.hmis.HmisEnrollmentProjection;
+import org.haven.reporting.domain.hmis.HmisExitProjection;
+import org.haven.reporting.domain.sage.SageAggregateData;
+import org.haven.shared.vo.hmis.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the single-pass SAGE aggregation.
+ *
+ * The reference below is the previous multi-pass implementation (one stream per
+ * SAGE counter); the accumulator must reproduce its output exactly on a CoC-sized
+ * synthetic dataset, sequentially and across fork-join partitions.
+ */
+class SageAggregationServiceTest {
+
+    private static final LocalDate PERIOD_START = LocalDate.of(2024, 1, 1);
+    private static final LocalDate PERIOD_END = LocalDate.of(2024, 12, 31);
+
+    private SageAggregationService sageAggregationService;
+
+    @BeforeEach
+    void setUp() {
+        sageAggregationService = new SageAggregationService();
+    }
+
+    @Test
+    @DisplayName("Small dataset below the parallel threshold matches the multi-pass reference")
+    void testSequentialMatchesReference() {
+        Dataset dataset = Dataset.generate(500, 42L);
+
+        assertEquals(reference(dataset), aggregate(dataset));
+    }
+
+    @Test
+    @DisplayName("CoC-sized dataset aggregated in parallel matches the multi-pass reference")
+    void testParallelMatchesReference() {
+        Dataset dataset = Dataset.generate(60_000, 7L);
+        assertTrue(dataset.enrollments.size() >= SageAggregationService.PARALLEL_THRESHOLD);
+
+        assertEquals(reference(dataset), aggregate(dataset));
+    }
+
+    @Test
+    @DisplayName("Counters reflect only period enrollments, exits and enrolled clients")
+    void testPeriodScoping() {
+        HmisClientProjection inPeriod = client("C1", LocalDate.of(1980, 5, 1), VeteranStatus.YES);
+        HmisClientProjection outOfPeriod = client("C2", LocalDate.of(2015, 5, 1), VeteranStatus.NO);
+
+        List<HmisEnrollmentProjection> enrollments = List.of(
+            enrollment("E1", "C1", LocalDate.of(2024, 3, 1), "H1",
+                RelationshipToHeadOfHousehold.SELF_HEAD_OF_HOUSEHOLD),
+            enrollment("E2", "C2", LocalDate.of(2023, 3, 1), "H2",
+                RelationshipToHeadOfHousehold.SELF_HEAD_OF_HOUSEHOLD));
+        List<HmisExitProjection> exits = List.of(
+            exit("X1", "E1", "C1", LocalDate.of(2024, 6, 1)),
+            exit("X2", "E2", "C2", LocalDate.of(2023, 6, 1)),
+            exit("X3", "E2", "C2", null));
+
+        SageAggregateData data = sageAggregationService.generateSageAggregate(
+            List.of(inPeriod, outOfPeriod), enrollments, exits,
+            "RPT-1", PERIOD_START, PERIOD_END, "CA-600", "PRJ-1", "ES");
+
+        assertEquals(1, data.totalUniqueClients());
+        assertEquals(1, data.totalAdults());
+        assertEquals(0, data.totalChildren());
+        assertEquals(1, data.totalVeterans());
+        assertEquals(1, data.totalIndividuals());
+        assertEquals(0, data.totalFamilies());
+        assertEquals(1, data.totalServiceEpisodes());
+        assertEquals(1, data.exitDestinationBreakdown().values().stream().mapToInt(Integer::intValue).sum());
+        assertEquals(100.0, data.nameDataQualityScore());
+    }
+
+    private SageAggregateData aggregate(Dataset dataset) {
+        return sageAggregationService.generateSageAggregate(
+            dataset.clients, dataset.enrollments, dataset.exits,
+            "RPT-2024", PERIOD_START, PERIOD_END, "CA-600", "PRJ-ALL", "ES");
+    }
+
+    // Previous multi-pass implementation, kept verbatim as the regression oracle
+
+    static SageAggregateData reference(Dataset dataset) {
+        List<HmisEnrollmentProjection> periodEnrollments = dataset.enrollments.stream()
+            .filter(e -> !e.entryDate().isBefore(PERIOD_START) && !e.entryDate().isAfter(PERIOD_END))
+            .toList();
+        List<HmisExitProjection> periodExits = dataset.exits.stream()
+            .filter(e -> e.exitDate() != null &&
+                        !e.exitDate().isBefore(PERIOD_START) &&
+                        !e.exitDate().isAfter(PERIOD_END))
+            .toList();
+        Set<String> uniqueClientIds = periodEnrollments.stream()
+            .map(e -> e.personalId().value())
+            .collect(Collectors.toSet());
+        List<HmisClientProjection> periodClients = dataset.clients.stream()
+            .filter(c -> uniqueClientIds.contains(c.personalId().value()))
+            .toList();
+        Set<String> headOfHouseholdIds = periodEnrollments.stream()
+            .filter(e -> e.relationshipToHoH().isHeadOfHousehold())
+            .map(e -> e.personalId().value())
+            .collect(Collectors.toSet());
+        Map<String, List<HmisEnrollmentProjection>> households = periodEnrollments.stream()
+            .collect(Collectors.groupingBy(HmisEnrollmentProjection::householdId));
+
+        Map<String, Integer> genders = new HashMap<>();
+        Map<String, Integer> races = new HashMap<>();
+        for (HmisClientProjection client : periodClients) {
+            client.gender().forEach(g -> genders.merge(g.name(), 1, Integer::sum));
+            client.race().forEach(r -> races.merge(r.name(), 1, Integer::sum));
+        }
+
+        return new SageAggregateData(
+            "RPT-2024", PERIOD_START, PERIOD_END, "CA-600", "PRJ-ALL", "ES",
+            periodClients.size(),
+            (int) periodClients.stream().filter(SageAggregationServiceTest::isAdult).count(),
+            (int) periodClients.stream().filter(SageAggregationServiceTest::isChild).count(),
+            (int) periodClients.stream()
+                .filter(c -> headOfHouseholdIds.contains(c.personalId().value()))
+                .filter(SageAggregationServiceTest::isYouth)
+                .count(),
+            (int) households.values().stream()
+                .filter(h -> h.size() > 1 || h.stream().anyMatch(e -> e.relationshipToHoH().isFamilyMember()))
+                .count(),
+            (int) households.values().stream()
+                .filter(h -> h.size() == 1 && h.stream().allMatch(e -> e.relationshipToHoH().isHeadOfHousehold()))
+                .count(),
+            genders,
+            races,
+            Map.of("DATA_NOT_COLLECTED", periodClients.size()),
+            (int) periodClients.stream().filter(c -> c.veteranStatus().isVeteran()).count(),
+            0,
+            (int) periodEnrollments.stream().filter(e -> e.disablingCondition().hasDisablingCondition()).count(),
+            (int) periodEnrollments.stream()
+                .filter(HmisEnrollmentProjection::isChronicallyHomeless)
+                .filter(e -> !e.isFamilyHousehold())
+                .count(),
+            periodEnrollments.stream()
+                .filter(HmisEnrollmentProjection::isChronicallyHomeless)
+                .filter(HmisEnrollmentProjection::isFamilyHousehold)
+                .collect(Collectors.groupingBy(HmisEnrollmentProjection::householdId))
+                .size(),
+            (int) periodEnrollments.stream().filter(HmisEnrollmentProjection::isChronicallyHomeless).count(),
+            (int) periodExits.stream().filter(HmisExitProjection::isSuccessfulOutcome).count(),
+            (int) periodExits.stream().filter(e -> e.destination().isTemporaryDestination()).count(),
+            (int) periodExits.stream().filter(HmisExitProjection::isReturnToHomelessness).count(),
+            countBy(periodEnrollments.stream().map(e -> e.lengthOfStayPriorToDiEntry().name()).toList()),
+            countBy(periodEnrollments.stream().map(e -> e.priorLivingSituation().name()).toList()),
+            countBy(periodExits.stream().map(HmisExitProjection::getDestinationCategory).toList()),
+            periodEnrollments.size(),
+            Map.of("Enrollment", periodEnrollments.size()),
+            null,
+            null,
+            qualityScore(periodClients.size(), periodClients.stream()
+                .filter(c -> c.nameDataQuality() != null && c.nameDataQuality() == 1).count()),
+            qualityScore(periodClients.size(), periodClients.stream()
+                .filter(c -> c.ssnDataQuality() != null && c.ssnDataQuality() == 1).count()),
+            qualityScore(periodClients.size(), periodClients.stream()
+                .filter(c -> c.dobDataQuality() != null && c.dobDataQuality() == 1).count()),
+            qualityScore(periodExits.size(), periodExits.stream()
+                .filter(e -> e.destination() != ProjectExitDestination.DATA_NOT_COLLECTED).count()),
+            LocalDate.now(),
+            "system",
+            "1.0"
+        );
+    }
+
+    private static Map<String, Integer> countBy(List<String> keys) {
+        return keys.stream().collect(Collectors.groupingBy(
+            k -> k, Collectors.collectingAndThen(Collectors.counting(), Math::toIntExact)));
+    }
+
+    private static Double qualityScore(int total, long good) {
+        if (total == 0) return null;
+        return (double) good / total * 100.0;
+    }
+
+    private static boolean isAdult(HmisClientProjection client) {
+        if (client.dateOfBirth() == null) return true;
+        return LocalDate.now().minusYears(18).isAfter(client.dateOfBirth());
+    }
+
+    private static boolean isChild(HmisClientProjection client) {
+        if (client.dateOfBirth() == null) return false;
+        return LocalDate.now().minusYears(18).isBefore(client.dateOfBirth()) ||
+               LocalDate.now().minusYears(18).equals(client.dateOfBirth());
+    }
+
+    private static boolean isYouth(HmisClientProjection client) {
+        if (client.dateOfBirth() == null) return false;
+        LocalDate now = LocalDate.now();
+        return now.minusYears(25).isBefore(client.dateOfBirth()) &&
+               now.minusYears(18).isAfter(client.dateOfBirth());
+    }
+
+    // Fixtures
+
+    private static HmisClientProjection client(String id, LocalDate dob, VeteranStatus veteranStatus) {
+        return HmisClientProjection.fromDomainClient(
+            HmisPersonalId.of(id), "First", null, "Last", null, "123-45-6789", dob,
+            Set.of(HmisRace.WHITE), Set.of(HmisGender.WOMAN), veteranStatus,
+            LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 1), "user", "EXP-1");
+    }
+
+    private static HmisEnrollmentProjection enrollment(String id, String personalId, LocalDate entryDate,
+                                                       String householdId,
+                                                       RelationshipToHeadOfHousehold relationship) {
+        return HmisEnrollmentProjection.fromDomainEnrollment(
+            id, HmisPersonalId.of(personalId), "PRJ-1", entryDate, householdId, relationship,
+            PriorLivingSituation.DATA_NOT_COLLECTED, LengthOfStay.DATA_NOT_COLLECTED,
+            DisablingCondition.NO, entryDate, entryDate, "user", "EXP-1");
+    }
+
+    private static HmisExitProjection exit(String id, String enrollmentId, String personalId, LocalDate exitDate) {
+        return HmisExitProjection.fromDomainExit(
+            id, enrollmentId, personalId, exitDate, ProjectExitDestination.DATA_NOT_COLLECTED,
+            null, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 1), "user", "EXP-1");
+    }
+
+    record Dataset(List<HmisClientProjection> clients,
+                           List<HmisEnrollmentProjection> enrollments,
+                           List<HmisExitProjection> exits) {
+
+        static Dataset generate(int clientCount, long seed) {
+            Random random = new Random(seed);
+            RelationshipToHeadOfHousehold[] relationships = RelationshipToHeadOfHousehold.values();
+            PriorLivingSituation[] livingSituations = PriorLivingSituation.values();
+            LengthOfStay[] lengths = LengthOfStay.values();
+            DisablingCondition[] conditions = DisablingCondition.values();
+            ProjectExitDestination[] destinations = ProjectExitDestination.values();
+            HmisRace[] races = HmisRace.values();
+            HmisGender[] genders = HmisGender.values();
+            VeteranStatus[] veteranStatuses = VeteranStatus.values();
+
+            List<HmisClientProjection> clients = new ArrayList<>(clientCount);
+            List<HmisEnrollmentProjection> enrollments = new ArrayList<>();
+            List<HmisExitProjection> exits = new ArrayList<>();
+
+            for (int i = 0; i < clientCount; i++) {
+                String personalId = "P" + i;
+                LocalDate dob = random.nextInt(20) == 0 ? null
+                    : LocalDate.of(1940, 1, 1).plusDays(random.nextInt(30_000));
+                clients.add(HmisClientProjection.fromDomainClient(
+                    HmisPersonalId.of(personalId),
+                    random.nextInt(10) == 0 ? null : "First" + i,
+                    null,
+                    random.nextInt(15) == 0 ? null : "Last" + i,
+                    null,
+                    random.nextInt(4) == 0 ? null : String.format("%09d", 100_000_000 + i),
+                    dob,
+                    EnumSet.of(races[random.nextInt(races.length)], races[random.nextInt(races.length)]),
+                    Set.of(genders[random.nextInt(genders.length)]),
+                    veteranStatuses[random.nextInt(veteranStatuses.length)],
+                    LocalDate.of(2023, 1, 1), LocalDate.of(2024, 1, 1), "user", "EXP-1"));
+
+                int episodes = 1 + random.nextInt(3);
+                for (int j = 0; j < episodes; j++) {
+                    String enrollmentId = personalId + "-E" + j;
+                    LocalDate entryDate = LocalDate.of(2023, 7, 1).plusDays(random.nextInt(550));
+                    enrollments.add(HmisEnrollmentProjection.fromDomainEnrollment(
+                        enrollmentId,
+                        HmisPersonalId.of(personalId),
+                        "PRJ-" + random.nextInt(40),
+                        entryDate,
+                        "H" + random.nextInt(clientCount / 2 + 1),
+                        relationships[random.nextInt(relationships.length)],
+                        livingSituations[random.nextInt(livingSituations.length)],
+                        lengths[random.nextInt(lengths.length)],
+                        conditions[random.nextInt(conditions.length)],
+                        entryDate, entryDate, "user", "EXP-1"));
+
+                    if (random.nextBoolean()) {
+                        exits.add(HmisExitProjection.fromDomainExit(
+                            enrollmentId + "-X",
+                            enrollmentId,
+                            personalId,
+                            random.nextInt(10) == 0 ? null : entryDate.plusDays(random.nextInt(200)),
+                            destinations[random.nextInt(destinations.length)],
+                            null, entryDate, entryDate, "user", "EXP-1"));
+                    }
+                }
+            }
+            return new Dataset(clients, enrollments, exits);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package org.haven.reporting.application.services;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the streaming HUD XML writer: document structure, escaping, and that large
+ * exports are written to the caller's stream without being collected first.
+ */
+class XMLExportStrategyTest {
+
+    private static final String HUD_NAMESPACE = "https://www.hudhdx.info/Resources/Vendors/HMIS/HUD_HMIS.xsd";
+
+    private final XMLExportStrategy strategy = new XMLExportStrategy();
+
+    @Test
+    @DisplayName("Sections are written as namespaced wrapper, row and field elements")
+    void testDocumentStructure() throws Exception {
+        Map<String, Object> client = new LinkedHashMap<>();
+        client.put("PersonalID", "P1");
+        client.put("FirstName", "Ana & <Bo>");
+        client.put("DOB", LocalDate.of(1990, 2, 3));
+        client.put("SSN", null);
+
+        Map<String, List<Map<String, Object>>> sections = new LinkedHashMap<>();
+        sections.put("Client", List.of(client));
+        sections.put("Exit", List.of());
+
+        Document document = parse(strategy.format(sections));
+        Element root = document.getDocumentElement();
+
+        assertEquals("HMISExport", root.getLocalName());
+        assertEquals(HUD_NAMESPACE, root.getNamespaceURI());
+        assertEquals("2024", root.getAttribute("version"));
+
+        NodeList clients = root.getElementsByTagNameNS(HUD_NAMESPACE, "Client");
+        assertEquals(1, clients.getLength());
+        Element row = (Element) clients.item(0);
+        assertEquals("Clients", row.getParentNode().getLocalName());
+        assertEquals("Ana & <Bo>", text(row, "FirstName"));
+        assertEquals("1990-02-03", text(row, "DOB"));
+        assertEquals("", text(row, "SSN"));
+
+        assertEquals(1, root.getElementsByTagNameNS(HUD_NAMESPACE, "Exits").getLength());
+    }
+
+    @Test
+    @DisplayName("Output stream overload matches the byte[] form and leaves the stream open")
+    void testStreamOverload() {
+        List<HudRowBuffer> sections = List.of(HudRowBuffer.fromMaps("Enrollment",
+                List.of(Map.of("EnrollmentID", "E1", "PersonalID", "P1", "RelationshipToHoH", 1))));
+
+        ClosingTrackingStream out = new ClosingTrackingStream();
+        strategy.format(sections, out);
+
+        assertArrayEquals(strategy.format(sections), out.toByteArray());
+        assertFalse(out.closed);
+    }
+
+    @Test
+    @DisplayName("Large exports stream through a sink without being buffered")
+    void testLargeExportStreams() {
+        int clients = 100_000;
+        HudRowBuffer.Builder builder = HudRowBuffer.builder("Client",
+                List.of("PersonalID", "FirstName", "LastName", "DOB", "VeteranStatus"), clients);
+        for (int i = 0; i < clients; i++) {
+            builder.addRow(new Object[]{"P" + i, "First" + i, "Last" + i, LocalDate.of(1980, 1, 1).plusDays(i % 9000), 0});
+        }
+        List<HudRowBuffer> sections = List.of(builder.build());
+
+        CountingStream sink = new CountingStream();
+        strategy.format(sections, sink);
+
+        assertTrue(sink.count > clients * 100L);
+    }
+
+    private static Document parse(byte[] xml) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        return factory.newDocumentBuilder().parse(new ByteArrayInputStream(xml));
+    }
+
+    private static String text(Element row, String field) {
+        return row.getElementsByTagNameNS(HUD_NAMESPACE, field).item(0).getTextContent();
+    }
+
+    private static final class ClosingTrackingStream extends ByteArrayOutputStream {
+        private boolean closed;
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    private static final class CountingStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package org.haven.reporting.infrastructure.security;
+
+import org.haven.reporting.infrastructure.storage.CsvBlobStorageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for segmented streaming envelope encryption.
+ * A tiny segment size forces multi-segment bundles from small inputs.
+ */
+class KmsEncryptionServiceStreamingTest {
+
+    private static final String MASTER_KEY = "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef";
+    private static final int SEGMENT_SIZE = 64;
+
+    @TempDir
+    Path tempStorageDir;
+
+    private KmsEncryptionService encryptionService;
+
+    @BeforeEach
+    void setUp() {
+        encryptionService = new KmsEncryptionService("test-kms-key", "local", MASTER_KEY, SEGMENT_SIZE);
+    }
+
+    @Test
+    @DisplayName("Bundles spanning many segments round-trip through blob storage")
+    void testRoundTripThroughBlobStorage() throws IOException {
+        CsvBlobStorageService storage = new CsvBlobStorageService(tempStorageDir.toString(), 90);
+        UUID exportJobId = UUID.randomUUID();
+        byte[] plaintext = randomBytes(SEGMENT_SIZE * 10 + 17);
+
+        KmsEncryptionService.StreamingEncryptionResult[] result = new KmsEncryptionService.StreamingEncryptionResult[1];
+        Path stored = storage.writeBundle(exportJobId, "enc", out ->
+                result[0] = encryptionService.encryptStream(new ByteArrayInputStream(plaintext), out, exportJobId));
+
+        assertEquals(11, result[0].segmentCount());
+        assertEquals(plaintext.length, result[0].plaintextSizeBytes());
+        assertEquals(KmsEncryptionService.STREAMING_ALGORITHM, result[0].algorithm());
+
+        ByteArrayOutputStream decrypted = new ByteArrayOutputStream();
+        long size = encryptionService.decryptStream(storage.openBundle(stored.toString()), decrypted, result[0].sha256Hash());
+
+        assertEquals(plaintext.length, size);
+        assertArrayEquals(plaintext, decrypted.toByteArray());
+    }
+
+    @Test
+    @DisplayName("Exact multiples of the segment size and empty bundles round-trip")
+    void testSegmentBoundaries() throws IOException {
+        for (int length : new int[]{0, SEGMENT_SIZE, SEGMENT_SIZE * 3}) {
+            byte[] plaintext = randomBytes(length);
+            byte[] ciphertext = encrypt(plaintext);
+
+            try (InputStream in = encryptionService.openDecryptingStream(new ByteArrayInputStream(ciphertext))) {
+                assertArrayEquals(plaintext, in.readAllBytes(), "length " + length);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("A modified segment fails authentication")
+    void testTamperedSegmentRejected() {
+        byte[] ciphertext = encrypt(randomBytes(SEGMENT_SIZE * 4));
+        ciphertext[ciphertext.length - SEGMENT_SIZE] ^= 0x01;
+
+        IOException e = assertThrows(IOException.class, () -> readAll(ciphertext));
+        assertInstanceOf(KmsEncryptionService.EncryptionException.class, e.getCause());
+    }
+
+    @Test
+    @DisplayName("Dropping trailing segments is detected")
+    void testTruncationRejected() {
+        byte[] ciphertext = encrypt(randomBytes(SEGMENT_SIZE * 4));
+        byte[] truncated = Arrays.copyOf(ciphertext, ciphertext.length - (SEGMENT_SIZE + 16));
+
+        assertThrows(IOException.class, () -> readAll(truncated));
+    }
+
+    @Test
+    @DisplayName("Bundles encrypted with another segment size still decrypt from their header")
+    void testSegmentSizeReadFromHeader() throws IOException {
+        KmsEncryptionService largeSegments = new KmsEncryptionService("test-kms-key", "local", MASTER_KEY, 4096);
+        byte[] plaintext = randomBytes(10_000);
+        ByteArrayOutputStream ciphertext = new ByteArrayOutputStream();
+        largeSegments.encryptStream(new ByteArrayInputStream(plaintext), ciphertext, UUID.randomUUID());
+
+        assertArrayEquals(plaintext, readAll(ciphertext.toByteArray()));
+    }
+
+    private byte[] encrypt(byte[] plaintext) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        encryptionService.encryptStream(new ByteArrayInputStream(plaintext), out, UUID.randomUUID());
+        return out.toByteArray();
+    }
+
+    private byte[] readAll(byte[] ciphertext) throws IOException {
+        try (InputStream in = encryptionService.openDecryptingStream(new ByteArrayInputStream(ciphertext))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -126,12 +126,12 @@ class ExportJobOrchestrationIntegrationTest {
         when(exportJobRepository.findById(exportJobId)).thenReturn(Optional.of(mockJob));
 
         // Mock view generation
-        when(viewGenerator.generateClientCsv(any(), any(), any()))
-                .thenReturn(createMockClientData());
-        when(viewGenerator.generateEnrollmentCsv(any(), any(), any()))
-                .thenReturn(createMockEnrollmentData());
-        when(viewGenerator.generateServicesCsv(any(), any(), any()))
-                .thenReturn(createMockServicesData());
+        when(viewGenerator.generateClientSection(any(), any(), any()))
+                .thenReturn(HudRowBuffer.fromMaps("Client", createMockClientData()));
+        when(viewGenerator.generateEnrollmentSection(any(), any(), any()))
+                .thenReturn(HudRowBuffer.fromMaps("Enrollment", createMockEnrollmentData()));
+        when(viewGenerator.generateServicesSection(any(), any(), any()))
+                .thenReturn(HudRowBuffer.fromMaps("Services", createMockServicesData()));
 
         AccessContext accessContext = new AccessContext(
                 UUID.randomUUID(),
@@ -158,9 +158,9 @@ class ExportJobOrchestrationIntegrationTest {
         verify(exportJobRepository, atLeastOnce()).save(any(ExportJobAggregate.class));
 
         // Assert: View materialization called
-        verify(viewGenerator).generateClientCsv(any(), any(), any());
-        verify(viewGenerator).generateEnrollmentCsv(any(), any(), any());
-        verify(viewGenerator).generateServicesCsv(any(), any(), any());
+        verify(viewGenerator).generateClientSection(any(), any(), any());
+        verify(viewGenerator).generateEnrollmentSection(any(), any(), any());
+        verify(viewGenerator).generateServicesSection(any(), any(), any());
 
         // Assert: Notification sent
         ArgumentCaptor<SimpleMailMessage> emailCaptor = ArgumentCaptor.forClass(SimpleMailMessage.class);
@@ -0,0 +1,29 @@
+package org.haven.shared.audit;
+
+import java.time.YearMonth;
+
+/**
+ * Result of re-walking one audit partition's hash chain.
+ *
+ * @param partition         month checked
+ * @param entriesChecked    entries read before the walk stopped
+ * @param intact            whether every entry and the stored chain head matched
+ * @param brokenAtSequence  first sequence that failed, or null when intact
+ * @param reason            what failed, or null when intact
+ */
+public record AuditChainVerification(
+    YearMonth partition,
+    long entriesChecked,
+    boolean intact,
+    Long brokenAtSequence,
+    String reason
+) {
+
+    static AuditChainVerification intact(YearMonth partition, long entriesChecked) {
+        return new AuditChainVerification(partition, entriesChecked, true, null, null);
+    }
+
+    static AuditChainVerification broken(YearMonth partition, long entriesChecked, long sequence, String reason) {
+        return new AuditChainVerification(partition, entriesChecked, false, sequence, reason);
+    }
+}
@@ -0,0 +1,86 @@
+package org.haven.shared.audit;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * SHA-256 hash chain over the entries of one audit partition.
+ *
+ * Each entry hash covers the previous entry's hash, the entry's position in the partition and
+ * every stored field, so editing, removing or reordering a row breaks the chain from that row on.
+ * The first entry of a partition chains from {@link #GENESIS_HASH}.
+ */
+final class AuditHashChain {
+
+    static final String GENESIS_HASH = "0".repeat(64);
+
+    private static final char FIELD_SEPARATOR = '\u001f';
+    private static final String NULL_FIELD = "\u0000";
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final MessageDigest digest;
+    private final StringBuilder canonical = new StringBuilder(256);
+
+    AuditHashChain() {
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm unavailable", e);
+        }
+    }
+
+    /**
+     * Partition an entry belongs to: the UTC month of its timestamp
+     */
+    static YearMonth partitionOf(Instant timestamp) {
+        return YearMonth.from(timestamp.atOffset(ZoneOffset.UTC));
+    }
+
+    /**
+     * Timestamps are stored with microsecond precision, so they are hashed at that precision
+     */
+    static Instant storedPrecision(Instant timestamp) {
+        return timestamp.truncatedTo(ChronoUnit.MICROS);
+    }
+
+    /**
+     * Hash of an entry at {@code sequence} in {@code partition}, chained from {@code previousHash}
+     */
+    String hash(String previousHash, YearMonth partition, long sequence, AuditLogEntity entry) {
+        canonical.setLength(0);
+        canonical.append(previousHash);
+        append(partition.toString());
+        append(Long.toString(sequence));
+        append(entry.getAuditId());
+        append(epochMicros(entry.getTimestamp()));
+        append(entry.getResourceId());
+        append(entry.getResourceType());
+        append(entry.getAction());
+        append(entry.getUserId());
+        append(entry.getDetails());
+        append(entry.getIpAddress());
+        append(entry.getSessionId());
+        append(entry.getComponent());
+        append(entry.getSeverity());
+        append(entry.getResult());
+
+        digest.reset();
+        return HEX.formatHex(digest.digest(canonical.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private void append(Object field) {
+        canonical.append(FIELD_SEPARATOR).append(field != null ? field.toString() : NULL_FIELD);
+    }
+
+    private static String epochMicros(Instant timestamp) {
+        Instant stored = storedPrecision(timestamp);
+        return Long.toString(ChronoUnit.MICROS.between(Instant.EPOCH, stored));
+    }
+}
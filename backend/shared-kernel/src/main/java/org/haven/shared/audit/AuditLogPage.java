@@ -0,0 +1,51 @@
+package org.haven.shared.audit;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One page of an audit trail query, newest entries first.
+ *
+ * @param entries    entries on this page
+ * @param nextCursor opaque position to pass back for the following page, or null on the last page
+ */
+public record AuditLogPage(List<AuditLogEntity> entries, String nextCursor) {
+
+    public AuditLogPage {
+        entries = List.copyOf(entries);
+    }
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+
+    /**
+     * Keyset position after an entry: pages continue strictly below its (timestamp, auditId)
+     */
+    record Cursor(Instant timestamp, UUID auditId) {
+
+        static Cursor after(AuditLogEntity entry) {
+            return new Cursor(entry.getTimestamp(), entry.getAuditId());
+        }
+
+        String encode() {
+            String raw = timestamp.getEpochSecond() + ":" + timestamp.getNano() + ":" + auditId;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String token) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+                String[] parts = raw.split(":", 3);
+                return new Cursor(
+                    Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1])),
+                    UUID.fromString(parts[2]));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid audit log cursor", e);
+            }
+        }
+    }
+}
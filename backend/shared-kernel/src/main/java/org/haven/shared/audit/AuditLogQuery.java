@@ -0,0 +1,47 @@
+package org.haven.shared.audit;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Filter for audit trail queries. The time range is inclusive and always required, so queries
+ * only touch the monthly partitions it covers; the other filters are optional and combine with AND.
+ */
+public record AuditLogQuery(
+    Instant startTime,
+    Instant endTime,
+    UUID resourceId,
+    UUID userId,
+    String action,
+    String resourceType
+) {
+
+    public AuditLogQuery {
+        Objects.requireNonNull(startTime, "startTime is required");
+        Objects.requireNonNull(endTime, "endTime is required");
+        if (endTime.isBefore(startTime)) {
+            throw new IllegalArgumentException("endTime must not be before startTime");
+        }
+    }
+
+    public static AuditLogQuery between(Instant startTime, Instant endTime) {
+        return new AuditLogQuery(startTime, endTime, null, null, null, null);
+    }
+
+    public AuditLogQuery forResource(UUID resourceId) {
+        return new AuditLogQuery(startTime, endTime, resourceId, userId, action, resourceType);
+    }
+
+    public AuditLogQuery forUser(UUID userId) {
+        return new AuditLogQuery(startTime, endTime, resourceId, userId, action, resourceType);
+    }
+
+    public AuditLogQuery withAction(String action) {
+        return new AuditLogQuery(startTime, endTime, resourceId, userId, action, resourceType);
+    }
+
+    public AuditLogQuery withResourceType(String resourceType) {
+        return new AuditLogQuery(startTime, endTime, resourceId, userId, action, resourceType);
+    }
+}
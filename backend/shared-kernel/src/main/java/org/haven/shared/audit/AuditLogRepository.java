@@ -1,12 +1,16 @@
 package org.haven.shared.audit;
 
 import java.time.Instant;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for audit log persistence
  * Supports append-only audit trail for compliance and security
+ * Saves are batched, so an entry may reach the database shortly after save returns;
+ * every read sees entries saved before it.
  */
 public interface AuditLogRepository {
 
@@ -101,4 +105,27 @@ public interface AuditLogRepository {
      * @return list of recent audit entries
      */
     List<AuditService.AuditEntry> findRecent(int limit);
+
+    /**
+     * Page through audit entries matching a query, newest first
+     * @param query time range and optional filters
+     * @param cursor cursor returned with the previous page, or null for the first page
+     * @param pageSize maximum number of entries on the page
+     * @return the page and the cursor for the next one
+     */
+    AuditLogPage query(AuditLogQuery query, String cursor, int pageSize);
+
+    /**
+     * Stream all audit entries matching a query, newest first, loading a page at a time
+     * @param query time range and optional filters
+     * @return lazily loaded entries
+     */
+    Stream<AuditLogEntity> stream(AuditLogQuery query);
+
+    /**
+     * Re-check the tamper-evident hash chain of one monthly partition
+     * @param partition the month to verify
+     * @return whether the chain is intact and, if not, where it breaks
+     */
+    AuditChainVerification verifyPartition(YearMonth partition);
 }
@@ -1,101 +1,115 @@
 package org.haven.shared.audit;
 
-import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
- * Implementation of AuditLogRepository using JPA
- * Provides durable persistence for audit trail
+ * Implementation of AuditLogRepository over the partitioned audit store
+ * Provides durable, tamper-evident persistence for audit trail
  */
 @Repository
 public class AuditLogRepositoryImpl implements AuditLogRepository {
 
-    private final JpaAuditLogRepository jpaRepository;
+    static final int STREAM_PAGE_SIZE = 500;
 
-    public AuditLogRepositoryImpl(JpaAuditLogRepository jpaRepository) {
-        this.jpaRepository = jpaRepository;
+    private final PartitionedAuditLogStore store;
+
+    public AuditLogRepositoryImpl(PartitionedAuditLogStore store) {
+        this.store = store;
     }
 
     @Override
     public void save(AuditService.AuditEntry entry) {
-        AuditLogEntity entity = AuditLogEntity.fromAuditEntry(entry);
-        jpaRepository.save(entity);
+        store.append(AuditLogEntity.fromAuditEntry(entry));
     }
 
     @Override
     public void save(AuditLogEntity entity) {
-        jpaRepository.save(entity);
+        store.append(entity);
     }
 
     @Override
     public AuditLogEntity findByAuditId(UUID auditId) {
-        return jpaRepository.findByAuditId(auditId);
+        return store.findByAuditId(auditId).orElse(null);
     }
 
     @Override
     public List<AuditLogEntity> findByUserId(UUID userId) {
-        return jpaRepository.findByUserId(userId);
+        return stream(allTime().forUser(userId)).toList();
     }
 
     @Override
     public List<AuditLogEntity> findByResourceId(UUID resourceId) {
-        return jpaRepository.findByResourceId(resourceId);
+        return stream(allTime().forResource(resourceId)).toList();
     }
 
     @Override
     public List<AuditService.AuditEntry> findByResourceId(UUID resourceId, Instant startTime, Instant endTime) {
-        return jpaRepository.findByResourceIdAndTimestampBetween(resourceId, startTime, endTime)
-            .stream()
-            .map(this::toAuditEntry)
-            .collect(Collectors.toList());
+        return entries(AuditLogQuery.between(startTime, endTime).forResource(resourceId));
     }
 
     @Override
     public List<AuditService.AuditEntry> findByUserId(UUID userId, Instant startTime, Instant endTime) {
-        return jpaRepository.findByUserIdAndTimestampBetween(userId, startTime, endTime)
-            .stream()
-            .map(this::toAuditEntry)
-            .collect(Collectors.toList());
+        return entries(AuditLogQuery.between(startTime, endTime).forUser(userId));
     }
 
     @Override
     public List<AuditService.AuditEntry> findByAction(String action, Instant startTime, Instant endTime) {
-        return jpaRepository.findByActionAndTimestampBetween(action, startTime, endTime)
-            .stream()
-            .map(this::toAuditEntry)
-            .collect(Collectors.toList());
+        return entries(AuditLogQuery.between(startTime, endTime).withAction(action));
     }
 
     @Override
     public List<AuditService.AuditEntry> findByResourceType(String resourceType, Instant startTime, Instant endTime) {
-        return jpaRepository.findByResourceTypeAndTimestampBetween(resourceType, startTime, endTime)
-            .stream()
-            .map(this::toAuditEntry)
-            .collect(Collectors.toList());
+        return entries(AuditLogQuery.between(startTime, endTime).withResourceType(resourceType));
     }
 
     @Override
     public long countByUserId(UUID userId, Instant startTime, Instant endTime) {
-        return jpaRepository.countByUserIdAndTimestampBetween(userId, startTime, endTime);
+        return store.count(AuditLogQuery.between(startTime, endTime).forUser(userId));
     }
 
     @Override
     public long countByUserId(UUID userId) {
-        return jpaRepository.countByUserId(userId);
+        return store.count(allTime().forUser(userId));
     }
 
     @Override
     public List<AuditService.AuditEntry> findRecent(int limit) {
-        var pageRequest = PageRequest.of(0, limit);
-        return jpaRepository.findByOrderByTimestampDesc(pageRequest)
+        return store.query(allTime(), null, limit).entries()
             .stream()
             .map(this::toAuditEntry)
-            .collect(Collectors.toList());
+            .toList();
+    }
+
+    @Override
+    public AuditLogPage query(AuditLogQuery query, String cursor, int pageSize) {
+        return store.query(query, cursor, pageSize);
+    }
+
+    @Override
+    public Stream<AuditLogEntity> stream(AuditLogQuery query) {
+        return store.stream(query, STREAM_PAGE_SIZE);
+    }
+
+    @Override
+    public AuditChainVerification verifyPartition(YearMonth partition) {
+        return store.verifyPartition(partition);
+    }
+
+    private List<AuditService.AuditEntry> entries(AuditLogQuery query) {
+        return stream(query).map(this::toAuditEntry).toList();
+    }
+
+    /**
+     * Unbounded lookups still need a range; this one spans every partition
+     */
+    private AuditLogQuery allTime() {
+        return AuditLogQuery.between(Instant.EPOCH, Instant.now());
     }
 
     /**
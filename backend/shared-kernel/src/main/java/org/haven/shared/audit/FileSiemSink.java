@@ -0,0 +1,128 @@
+package org.haven.shared.audit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * JSON Lines file for the SIEM sidecar, rolled over hourly.
+ *
+ * The active file is {@code pii-audit.jsonl}; at the top of each UTC hour it is renamed to
+ * {@code pii-audit.yyyy-MM-dd-HH.jsonl} (the hour it covers) and rolled files older than the
+ * retention window are deleted, matching the previous logback appender layout.
+ */
+final class FileSiemSink implements SiemSink {
+
+    private static final DateTimeFormatter HOUR_SUFFIX =
+        DateTimeFormatter.ofPattern("yyyy-MM-dd-HH").withZone(ZoneOffset.UTC);
+
+    private final Path file;
+    private final String baseName;
+    private final Duration retention;
+    private final Clock clock;
+    private FileChannel channel;
+    private Instant currentHour;
+
+    FileSiemSink(Path file, Duration retention) {
+        this(file, retention, Clock.systemUTC());
+    }
+
+    FileSiemSink(Path file, Duration retention, Clock clock) {
+        this.file = file;
+        String name = file.getFileName().toString();
+        this.baseName = name.endsWith(".jsonl") ? name.substring(0, name.length() - ".jsonl".length()) : name;
+        this.retention = retention;
+        this.clock = clock;
+    }
+
+    @Override
+    public void write(byte[] batch, int length) throws IOException {
+        FileChannel out = channel();
+        ByteBuffer bytes = ByteBuffer.wrap(batch, 0, length);
+        while (bytes.hasRemaining()) {
+            out.write(bytes);
+        }
+    }
+
+    @Override
+    public void sync() throws IOException {
+        if (channel != null) {
+            channel.force(false);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            try {
+                channel.force(false);
+            } finally {
+                channel.close();
+                channel = null;
+            }
+        }
+    }
+
+    private FileChannel channel() throws IOException {
+        Instant hour = clock.instant().truncatedTo(ChronoUnit.HOURS);
+        if (channel != null && hour.equals(currentHour)) {
+            return channel;
+        }
+        if (channel != null) {
+            close();
+            roll(currentHour);
+            deleteExpired(hour);
+        } else if (Files.exists(file)) {
+            // Left from a previous run: roll it under the hour it was last written in
+            Instant lastWritten = Files.getLastModifiedTime(file).toInstant().truncatedTo(ChronoUnit.HOURS);
+            if (lastWritten.isBefore(hour)) {
+                roll(lastWritten);
+            }
+        }
+        Path directory = file.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        currentHour = hour;
+        return channel;
+    }
+
+    private void roll(Instant hour) throws IOException {
+        if (Files.size(file) == 0) {
+            return;
+        }
+        Path target = file.resolveSibling(baseName + "." + HOUR_SUFFIX.format(hour) + ".jsonl");
+        if (Files.exists(target)) {
+            // Same hour written by an earlier run: keep both rather than overwrite
+            target = file.resolveSibling(baseName + "." + HOUR_SUFFIX.format(hour) + "." + clock.millis() + ".jsonl");
+        }
+        Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void deleteExpired(Instant now) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        if (directory == null) {
+            return;
+        }
+        Instant cutoff = now.minus(retention);
+        try (DirectoryStream<Path> rolled = Files.newDirectoryStream(directory, baseName + ".*.jsonl")) {
+            for (Path candidate : rolled) {
+                if (Files.getLastModifiedTime(candidate).toInstant().isBefore(cutoff)) {
+                    Files.deleteIfExists(candidate);
+                }
+            }
+        }
+    }
+}
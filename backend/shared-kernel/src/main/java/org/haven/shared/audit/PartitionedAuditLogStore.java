@@ -0,0 +1,622 @@
+package org.haven.shared.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Append-only audit storage over the monthly-partitioned audit.audit_event_log table.
+ *
+ * By default each append is staged in audit.audit_event_outbox in the caller's transaction, so an
+ * audit entry commits or rolls back together with the business change it records. Staging takes
+ * no shared lock; once the caller commits, the chainer (a single background thread per instance,
+ * or the committing thread when the store is not running) moves committed outbox rows into the
+ * log in batches, each in its own short transaction. With haven.audit.store.async-enabled=true,
+ * appends skip the outbox and are queued in memory and written in batches on the background
+ * thread, each batch in its own transaction; if the queue is full or the store is not running,
+ * entries are then written on the caller's thread, still in their own transaction.
+ * Within a partition every row gets the next sequence number and a hash chained from the previous
+ * row (see {@link AuditHashChain}); the chain head row is locked only by the transaction writing a
+ * batch, never by the caller's, so several application instances can append to the same partition.
+ *
+ * Queries first write queued entries and committed staged entries, always carry a time range so
+ * only the covered partitions are scanned, and page newest-first with a keyset cursor on
+ * (event_time, audit_id).
+ */
+@Component
+public class PartitionedAuditLogStore implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionedAuditLogStore.class);
+
+    static final int MAX_PAGE_SIZE = 1_000;
+    private static final int VERIFY_PAGE_SIZE = 1_000;
+
+    private static final String ENTRY_COLUMNS = """
+        audit_id, event_time, partition_sequence, resource_id, resource_type, action, user_id, details,
+        ip_address, session_id, component, severity, result, previous_hash, entry_hash
+        """;
+
+    private static final String INSERT_SQL = """
+        INSERT INTO audit.audit_event_log (
+        """ + ENTRY_COLUMNS + """
+        ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    private static final String OUTBOX_COLUMNS = """
+        audit_id, event_time, resource_id, resource_type, action, user_id, details,
+        ip_address, session_id, component, severity, result
+        """;
+
+    private static final String OUTBOX_INSERT_SQL = """
+        INSERT INTO audit.audit_event_outbox (
+        """ + OUTBOX_COLUMNS + """
+        ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    // Rows another chainer is moving are skipped rather than waited for
+    private static final String OUTBOX_LOCK_SQL = "SELECT outbox_id, " + OUTBOX_COLUMNS + """
+        FROM audit.audit_event_outbox
+        ORDER BY outbox_id
+        LIMIT ?
+        FOR UPDATE SKIP LOCKED
+        """;
+
+    private static final RowMapper<AuditLogEntity> ENTRY_MAPPER = (rs, rowNum) -> mapEntry(rs);
+
+    private static final RowMapper<StagedEntry> STAGED_ENTRY_MAPPER = (rs, rowNum) -> new StagedEntry(
+        rs.getLong("outbox_id"),
+        mapEntry(rs));
+
+    private static final RowMapper<StoredEntry> STORED_ENTRY_MAPPER = (rs, rowNum) -> new StoredEntry(
+        mapEntry(rs),
+        rs.getLong("partition_sequence"),
+        rs.getString("previous_hash"),
+        rs.getString("entry_hash"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate appendTransaction;
+    private final boolean asyncEnabled;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final int queueCapacity;
+
+    private final LinkedBlockingDeque<AuditLogEntity> pending = new LinkedBlockingDeque<>();
+    private final Set<YearMonth> knownPartitions = ConcurrentHashMap.newKeySet();
+    private final Object flushLock = new Object();
+    private final Object chainLock = new Object();
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+    private volatile ScheduledExecutorService executor;
+    private volatile boolean running;
+
+    public PartitionedAuditLogStore(JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${haven.audit.store.async-enabled:false}") boolean asyncEnabled,
+                                    @Value("${haven.audit.store.batch-size:200}") int batchSize,
+                                    @Value("${haven.audit.store.flush-interval-ms:200}") long flushIntervalMs,
+                                    @Value("${haven.audit.store.queue-capacity:10000}") int queueCapacity) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Batches are written outside the caller's transaction, so it never holds a chain head
+        this.appendTransaction = new TransactionTemplate(transactionManager);
+        this.appendTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.asyncEnabled = asyncEnabled;
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.queueCapacity = queueCapacity;
+    }
+
+    @Override
+    public void start() {
+        if (running) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "audit-log-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::drain, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        running = true;
+        logger.info("Audit log store started: {} appends, batch size {}, flush interval {} ms",
+            asyncEnabled ? "queued" : "outbox", batchSize, flushIntervalMs);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // Whatever the writer thread did not get to is written before shutdown completes
+        drain();
+        if (!pending.isEmpty()) {
+            logger.error("AUDIT_PERSISTENCE_FAILED: {} audit entries could not be written at shutdown: {}",
+                pending.size(), pending.stream().map(AuditLogEntity::getAuditId).toList());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stage an entry in the caller's transaction, or queue it for the next batch when async
+     */
+    public void append(AuditLogEntity entry) {
+        if (!asyncEnabled) {
+            stage(entry);
+            return;
+        }
+        if (running && pending.size() < queueCapacity) {
+            pending.offerLast(entry);
+            if (pending.size() >= batchSize) {
+                wakeUp();
+            }
+            return;
+        }
+        // Synchronous, not started, or the writer is behind: write on this thread rather than drop the entry
+        flush();
+        writeBatch(List.of(entry));
+    }
+
+    /**
+     * Write every queued entry now.
+     *
+     * @throws org.springframework.dao.DataAccessException if a batch cannot be written; its
+     *         entries stay queued for the next attempt
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            List<AuditLogEntity> batch = new ArrayList<>(batchSize);
+            while (pending.drainTo(batch, batchSize) > 0) {
+                try {
+                    writeWithIsolation(batch);
+                } catch (RuntimeException e) {
+                    for (int i = batch.size() - 1; i >= 0; i--) {
+                        pending.offerFirst(batch.get(i));
+                    }
+                    throw e;
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Move committed outbox rows into the log, oldest first, one batch per transaction.
+     *
+     * @throws org.springframework.dao.DataAccessException if a batch cannot be written; its
+     *         rows stay in the outbox for the next attempt
+     */
+    public void chainStaged() {
+        synchronized (chainLock) {
+            int chained;
+            do {
+                chained = chainBatch();
+            } while (chained == batchSize);
+        }
+    }
+
+    public Optional<AuditLogEntity> findByAuditId(UUID auditId) {
+        flushQuietly();
+        return jdbcTemplate.query(
+            "SELECT " + ENTRY_COLUMNS + " FROM audit.audit_event_log WHERE audit_id = ? LIMIT 1",
+            ENTRY_MAPPER, auditId).stream().findFirst();
+    }
+
+    /**
+     * One page of entries matching the query, newest first.
+     *
+     * @param cursor   {@link AuditLogPage#nextCursor()} of the previous page, or null for the first page
+     * @param pageSize entries per page, capped at {@value #MAX_PAGE_SIZE}
+     */
+    public AuditLogPage query(AuditLogQuery query, String cursor, int pageSize) {
+        flushQuietly();
+        int limit = Math.max(1, Math.min(pageSize, MAX_PAGE_SIZE));
+
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT ").append(ENTRY_COLUMNS).append(" FROM audit.audit_event_log");
+        appendFilters(sql, args, query);
+        if (cursor != null) {
+            AuditLogPage.Cursor position = AuditLogPage.Cursor.decode(cursor);
+            sql.append(" AND (event_time, audit_id) < (?, ?)");
+            args.add(Timestamp.from(position.timestamp()));
+            args.add(position.auditId());
+        }
+        sql.append(" ORDER BY event_time DESC, audit_id DESC LIMIT ?");
+        args.add(limit + 1);
+
+        List<AuditLogEntity> rows = jdbcTemplate.query(sql.toString(), ENTRY_MAPPER, args.toArray());
+        if (rows.size() <= limit) {
+            return new AuditLogPage(rows, null);
+        }
+        List<AuditLogEntity> page = rows.subList(0, limit);
+        return new AuditLogPage(page, AuditLogPage.Cursor.after(page.get(limit - 1)).encode());
+    }
+
+    /**
+     * All entries matching the query, newest first, fetched lazily one page at a time
+     */
+    public Stream<AuditLogEntity> stream(AuditLogQuery query, int pageSize) {
+        Iterator<AuditLogEntity> pages = new Iterator<>() {
+            private Iterator<AuditLogEntity> current = Collections.emptyIterator();
+            private String cursor;
+            private boolean exhausted;
+
+            @Override
+            public boolean hasNext() {
+                while (!current.hasNext() && !exhausted) {
+                    AuditLogPage page = query(query, cursor, pageSize);
+                    current = page.entries().iterator();
+                    cursor = page.nextCursor();
+                    exhausted = cursor == null;
+                }
+                return current.hasNext();
+            }
+
+            @Override
+            public AuditLogEntity next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return current.next();
+            }
+        };
+        return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(pages, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    public long count(AuditLogQuery query) {
+        flushQuietly();
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM audit.audit_event_log");
+        appendFilters(sql, args, query);
+        Long count = jdbcTemplate.queryForObject(sql.toString(), Long.class, args.toArray());
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Re-walk a partition's hash chain in sequence order and compare it with the stored chain head
+     */
+    public AuditChainVerification verifyPartition(YearMonth partition) {
+        flushQuietly();
+        LocalDate monthStart = partition.atDay(1);
+        Timestamp from = Timestamp.from(monthStart.atStartOfDay(ZoneOffset.UTC).toInstant());
+        Timestamp to = Timestamp.from(partition.plusMonths(1).atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant());
+
+        AuditHashChain chain = new AuditHashChain();
+        String previousHash = AuditHashChain.GENESIS_HASH;
+        long expectedSequence = 1;
+        long checked = 0;
+
+        while (true) {
+            List<StoredEntry> rows = jdbcTemplate.query("SELECT " + ENTRY_COLUMNS + """
+                    FROM audit.audit_event_log
+                    WHERE event_time >= ? AND event_time < ? AND partition_sequence >= ?
+                    ORDER BY partition_sequence
+                    LIMIT ?
+                    """,
+                STORED_ENTRY_MAPPER, from, to, expectedSequence, VERIFY_PAGE_SIZE);
+            for (StoredEntry row : rows) {
+                if (row.sequence() != expectedSequence) {
+                    return AuditChainVerification.broken(partition, checked, expectedSequence, "entry missing");
+                }
+                if (!row.previousHash().equals(previousHash)) {
+                    return AuditChainVerification.broken(partition, checked, row.sequence(), "previous hash mismatch");
+                }
+                String expectedHash = chain.hash(previousHash, partition, row.sequence(), row.entry());
+                if (!row.entryHash().equals(expectedHash)) {
+                    return AuditChainVerification.broken(partition, checked, row.sequence(), "entry hash mismatch");
+                }
+                previousHash = expectedHash;
+                expectedSequence++;
+                checked++;
+            }
+            if (rows.size() < VERIFY_PAGE_SIZE) {
+                break;
+            }
+        }
+
+        List<ChainHead> heads = jdbcTemplate.query(
+            "SELECT last_sequence, last_hash FROM audit.audit_event_chain WHERE partition_month = ?",
+            (rs, rowNum) -> new ChainHead(rs.getLong("last_sequence"), rs.getString("last_hash")), monthStart);
+        ChainHead head = heads.isEmpty() ? new ChainHead(0, AuditHashChain.GENESIS_HASH) : heads.get(0);
+        if (head.sequence() != checked || !head.hash().equals(previousHash)) {
+            return AuditChainVerification.broken(partition, checked, checked + 1, "chain head does not match last entry");
+        }
+        return AuditChainVerification.intact(partition, checked);
+    }
+
+    void wakeUp() {
+        if (running && wakeUpPending.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                wakeUpPending.set(false);
+                drain();
+            });
+        }
+    }
+
+    void drain() {
+        try {
+            flush();
+        } catch (Exception e) {
+            logger.error("Audit log batch failed; {} entries stay queued for retry", pending.size(), e);
+        }
+        try {
+            chainStaged();
+        } catch (Exception e) {
+            logger.error("Audit log chaining failed; staged entries stay in the outbox for retry", e);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+            chainStaged();
+        } catch (Exception e) {
+            logger.error("Audit log flush before query failed; results may miss {} queued entries and outbox entries",
+                pending.size(), e);
+        }
+    }
+
+    private void stage(AuditLogEntity entry) {
+        jdbcTemplate.update(OUTBOX_INSERT_SQL,
+            entry.getAuditId(),
+            Timestamp.from(AuditHashChain.storedPrecision(entry.getTimestamp())),
+            entry.getResourceId(),
+            entry.getResourceType(),
+            entry.getAction(),
+            entry.getUserId(),
+            entry.getDetails(),
+            entry.getIpAddress(),
+            entry.getSessionId(),
+            entry.getComponent(),
+            entry.getSeverity(),
+            entry.getResult());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            chainSoon();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                chainSoon();
+            }
+        });
+    }
+
+    /**
+     * Hand committed outbox rows to the background chainer, or chain them on this thread when
+     * the store is not running; a failure here leaves them for the next pass
+     */
+    private void chainSoon() {
+        if (running) {
+            wakeUp();
+            return;
+        }
+        try {
+            chainStaged();
+        } catch (Exception e) {
+            logger.error("Audit log chaining failed; staged entries stay in the outbox for retry", e);
+        }
+    }
+
+    /**
+     * Chain the oldest batch of outbox rows; if a row is rejected outright, chain the batch one
+     * row at a time and drop the rejected rows from the outbox, since retrying them can never succeed
+     *
+     * @return number of outbox rows consumed
+     */
+    private int chainBatch() {
+        List<Long> locked = new ArrayList<>();
+        try {
+            return appendTransaction.execute(status -> {
+                List<StagedEntry> staged = jdbcTemplate.query(OUTBOX_LOCK_SQL, STAGED_ENTRY_MAPPER, batchSize);
+                staged.forEach(entry -> locked.add(entry.outboxId()));
+                chainAndRemove(staged);
+                return staged.size();
+            });
+        } catch (DataIntegrityViolationException e) {
+            for (Long outboxId : locked) {
+                chainOne(outboxId);
+            }
+            return locked.size();
+        }
+    }
+
+    private void chainOne(long outboxId) {
+        try {
+            appendTransaction.executeWithoutResult(status -> chainAndRemove(jdbcTemplate.query(
+                "SELECT outbox_id, " + OUTBOX_COLUMNS + " FROM audit.audit_event_outbox WHERE outbox_id = ? FOR UPDATE SKIP LOCKED",
+                STAGED_ENTRY_MAPPER, outboxId)));
+        } catch (DataIntegrityViolationException e) {
+            logger.error("AUDIT_PERSISTENCE_FAILED: staged audit entry {} rejected", outboxId, e);
+            jdbcTemplate.update("DELETE FROM audit.audit_event_outbox WHERE outbox_id = ?", outboxId);
+        }
+    }
+
+    private void chainAndRemove(List<StagedEntry> staged) {
+        if (staged.isEmpty()) {
+            return;
+        }
+        appendEntries(staged.stream().map(StagedEntry::entry).toList());
+        jdbcTemplate.batchUpdate("DELETE FROM audit.audit_event_outbox WHERE outbox_id = ?",
+            staged.stream().map(entry -> new Object[]{entry.outboxId()}).toList());
+    }
+
+    /**
+     * Write a batch; if a row is rejected outright, write the rest one by one and report the
+     * rejected rows, since retrying them can never succeed
+     */
+    private void writeWithIsolation(List<AuditLogEntity> batch) {
+        try {
+            writeBatch(batch);
+        } catch (DataIntegrityViolationException e) {
+            if (batch.size() == 1) {
+                logger.error("AUDIT_PERSISTENCE_FAILED: audit entry {} rejected", batch.get(0).getAuditId(), e);
+                return;
+            }
+            for (AuditLogEntity entry : batch) {
+                writeWithIsolation(List.of(entry));
+            }
+        }
+    }
+
+    private void writeBatch(List<AuditLogEntity> batch) {
+        appendTransaction.executeWithoutResult(status -> appendEntries(batch));
+    }
+
+    private void appendEntries(List<AuditLogEntity> batch) {
+        // Partitions in month order, so concurrent writers lock chain heads in the same order
+        Map<YearMonth, List<AuditLogEntity>> byPartition = new TreeMap<>();
+        for (AuditLogEntity entry : batch) {
+            byPartition.computeIfAbsent(AuditHashChain.partitionOf(entry.getTimestamp()), month -> new ArrayList<>())
+                .add(entry);
+        }
+        byPartition.forEach(this::appendToPartition);
+        rememberPartitionsOnCommit(byPartition.keySet());
+    }
+
+    /**
+     * Partition DDL rolls back with the batch transaction, so partitions are only remembered once
+     * it has committed
+     */
+    private void rememberPartitionsOnCommit(Set<YearMonth> partitions) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            knownPartitions.addAll(partitions);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                knownPartitions.addAll(partitions);
+            }
+        });
+    }
+
+    private void appendToPartition(YearMonth partition, List<AuditLogEntity> entries) {
+        LocalDate monthStart = partition.atDay(1);
+        if (!knownPartitions.contains(partition)) {
+            jdbcTemplate.queryForList("SELECT audit.ensure_audit_event_partition(?)", monthStart);
+        }
+        jdbcTemplate.update("""
+            INSERT INTO audit.audit_event_chain (partition_month, last_sequence, last_hash)
+            VALUES (?, 0, ?)
+            ON CONFLICT (partition_month) DO NOTHING
+            """, monthStart, AuditHashChain.GENESIS_HASH);
+        ChainHead head = jdbcTemplate.queryForObject(
+            "SELECT last_sequence, last_hash FROM audit.audit_event_chain WHERE partition_month = ? FOR UPDATE",
+            (rs, rowNum) -> new ChainHead(rs.getLong("last_sequence"), rs.getString("last_hash")), monthStart);
+
+        AuditHashChain chain = new AuditHashChain();
+        long sequence = head.sequence();
+        String previousHash = head.hash();
+        List<Object[]> rows = new ArrayList<>(entries.size());
+        for (AuditLogEntity entry : entries) {
+            sequence++;
+            String hash = chain.hash(previousHash, partition, sequence, entry);
+            rows.add(new Object[]{
+                entry.getAuditId(),
+                Timestamp.from(AuditHashChain.storedPrecision(entry.getTimestamp())),
+                sequence,
+                entry.getResourceId(),
+                entry.getResourceType(),
+                entry.getAction(),
+                entry.getUserId(),
+                entry.getDetails(),
+                entry.getIpAddress(),
+                entry.getSessionId(),
+                entry.getComponent(),
+                entry.getSeverity(),
+                entry.getResult(),
+                previousHash,
+                hash
+            });
+            previousHash = hash;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        jdbcTemplate.update("""
+            UPDATE audit.audit_event_chain
+            SET last_sequence = ?, last_hash = ?, updated_at = CURRENT_TIMESTAMP
+            WHERE partition_month = ?
+            """, sequence, previousHash, monthStart);
+    }
+
+    private static void appendFilters(StringBuilder sql, List<Object> args, AuditLogQuery query) {
+        sql.append(" WHERE event_time >= ? AND event_time <= ?");
+        args.add(Timestamp.from(query.startTime()));
+        args.add(Timestamp.from(query.endTime()));
+        if (query.resourceId() != null) {
+            sql.append(" AND resource_id = ?");
+            args.add(query.resourceId());
+        }
+        if (query.userId() != null) {
+            sql.append(" AND user_id = ?");
+            args.add(query.userId());
+        }
+        if (query.action() != null) {
+            sql.append(" AND action = ?");
+            args.add(query.action());
+        }
+        if (query.resourceType() != null) {
+            sql.append(" AND resource_type = ?");
+            args.add(query.resourceType());
+        }
+    }
+
+    private static AuditLogEntity mapEntry(ResultSet rs) throws SQLException {
+        return new AuditLogEntity(
+            rs.getObject("audit_id", UUID.class),
+            rs.getObject("resource_id", UUID.class),
+            rs.getString("resource_type"),
+            rs.getString("action"),
+            rs.getObject("user_id", UUID.class),
+            rs.getTimestamp("event_time").toInstant(),
+            rs.getString("details"),
+            rs.getString("ip_address"),
+            rs.getString("session_id"),
+            rs.getString("component"),
+            rs.getString("severity"),
+            rs.getString("result"));
+    }
+
+    private record ChainHead(long sequence, String hash) {
+    }
+
+    private record StoredEntry(AuditLogEntity entry, long sequence, String previousHash, String entryHash) {
+    }
+
+    private record StagedEntry(long outboxId, AuditLogEntity entry) {
+    }
+}
@@ -3,6 +3,7 @@ package org.haven.shared.audit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
@@ -12,7 +13,7 @@ import java.util.UUID;
  * Service for logging privileged actions with enhanced audit trail.
  *
  * Features:
- * - Structured JSON logging for SIEM ingestion
+ * - Structured JSON events for SIEM ingestion, shipped off the request thread by SiemAuditPipeline
  * - Both success AND failure event logging
  * - SIEM routing tags (pii_audit:*)
  * - MDC context for distributed tracing
@@ -20,6 +21,7 @@ import java.util.UUID;
  * - Separation of concerns: structured logs for SIEM, database for queries
  *
  * Integration points:
+ * - SiemAuditPipeline for the SIEM file/collector feed
  * - SLF4J/Logback for log output
  * - MDC for request correlation
  * - AuditLogRepository for database persistence
@@ -46,20 +48,26 @@ public class PrivilegedAuditService {
 
     private static final Logger logger = LoggerFactory.getLogger(PrivilegedAuditService.class);
 
-    // Separate logger for SIEM routing (configured in logback.xml)
-    private static final Logger siemLogger = LoggerFactory.getLogger("PRIVILEGED_AUDIT");
+    private static final int DEFAULT_QUERY_PAGE_SIZE = 100;
 
     private final AuditLogRepository auditLogRepository;
+    private final SiemAuditPipeline siemPipeline;
 
     public PrivilegedAuditService(AuditLogRepository auditLogRepository) {
+        this(auditLogRepository, SiemAuditPipeline.synchronous());
+    }
+
+    @Autowired
+    public PrivilegedAuditService(AuditLogRepository auditLogRepository, SiemAuditPipeline siemPipeline) {
         this.auditLogRepository = auditLogRepository;
+        this.siemPipeline = siemPipeline;
     }
 
     /**
      * Log a privileged action with full audit context.
      *
      * Emits:
-     * 1. Structured JSON log to SIEM logger
+     * 1. Structured JSON event to the SIEM pipeline (queued, written off this thread)
      * 2. Database audit record for compliance queries
      * 3. Standard application log for debugging
      *
@@ -76,8 +84,8 @@ public class PrivilegedAuditService {
             MDC.put("siemTag", event.getSiemTag());
 
             try {
-                // 1. Emit structured JSON log for SIEM ingestion
-                logToSiem(event);
+                // 1. Queue structured JSON event for SIEM ingestion
+                siemPipeline.publish(event);
 
                 // 2. Persist to database for compliance queries
                 persistToDatabase(event);
@@ -125,28 +133,6 @@ public class PrivilegedAuditService {
             .build());
     }
 
-    /**
-     * Emit structured JSON log for SIEM ingestion.
-     *
-     * Log format:
-     * - JSON structured data
-     * - Tagged with SIEM routing key (pii_audit:*)
-     * - Includes severity for alerting
-     * - No sensitive payload data (PII scrubbed)
-     */
-    private void logToSiem(PrivilegedAuditEvent event) {
-        String logLevel = determineLogLevel(event);
-        String siemTag = event.getSiemTag();
-        String jsonPayload = event.toJson();
-
-        // Use appropriate log level based on outcome and severity
-        switch (logLevel) {
-            case "ERROR" -> siemLogger.error("PRIVILEGED_ACTION [{}] {}", siemTag, jsonPayload);
-            case "WARN" -> siemLogger.warn("PRIVILEGED_ACTION [{}] {}", siemTag, jsonPayload);
-            default -> siemLogger.info("PRIVILEGED_ACTION [{}] {}", siemTag, jsonPayload);
-        }
-    }
-
     /**
      * Persist audit event to database for compliance queries.
      *
@@ -187,22 +173,19 @@ public class PrivilegedAuditService {
      * Log to standard application logger for debugging
      */
     private void logToApplication(PrivilegedAuditEvent event) {
-        String message = String.format(
-            "Privileged Action: %s by %s (%s) on %s/%s - Outcome: %s",
-            event.eventType(),
-            event.actorUsername(),
-            event.actorId(),
-            event.resourceType(),
-            event.resourceId(),
-            event.outcome()
-        );
-
+        // Parameterized so nothing is formatted when the level is disabled
         if (event.outcome().isSuccess()) {
-            logger.info(message);
+            logger.info("Privileged Action: {} by {} ({}) on {}/{} - Outcome: {}",
+                event.eventType(), event.actorUsername(), event.actorId(),
+                event.resourceType(), event.resourceId(), event.outcome());
         } else if (event.outcome().isDenial()) {
-            logger.warn("{} - Reason: {}", message, event.denialReason());
+            logger.warn("Privileged Action: {} by {} ({}) on {}/{} - Outcome: {} - Reason: {}",
+                event.eventType(), event.actorUsername(), event.actorId(),
+                event.resourceType(), event.resourceId(), event.outcome(), event.denialReason());
         } else {
-            logger.error("{} - Error: {}", message, event.denialDetails());
+            logger.error("Privileged Action: {} by {} ({}) on {}/{} - Outcome: {} - Error: {}",
+                event.eventType(), event.actorUsername(), event.actorId(),
+                event.resourceType(), event.resourceId(), event.outcome(), event.denialDetails());
         }
     }
 
@@ -247,35 +230,16 @@ public class PrivilegedAuditService {
     }
 
     /**
-     * Determine log level based on outcome and severity
-     */
-    private String determineLogLevel(PrivilegedAuditEvent event) {
-        // Errors always logged as ERROR
-        if (event.outcome().isError()) {
-            return "ERROR";
-        }
-
-        // Denials logged as WARN for alerting
-        if (event.outcome().isDenial()) {
-            return "WARN";
-        }
-
-        // Critical actions logged as WARN even on success
-        if ("CRITICAL".equals(event.getSeverity())) {
-            return "WARN";
-        }
-
-        // Everything else as INFO
-        return "INFO";
-    }
-
-    /**
-     * Query audit events for security investigation
+     * Query audit events for security investigation.
+     *
+     * Returns one page, newest first; pass the page's nextCursor back to continue.
+     * Each call is itself recorded, since reading audit logs is privileged.
      */
-    public void queryAuditTrail(UUID resourceId, Instant startTime, Instant endTime) {
-        // This would typically call a repository method
+    public AuditLogPage queryAuditTrail(AuditLogQuery query, String cursor, int pageSize) {
         logger.info("Querying audit trail for resource {} between {} and {}",
-            resourceId, startTime, endTime);
+            query.resourceId(), query.startTime(), query.endTime());
+
+        AuditLogPage page = auditLogRepository.query(query, cursor, pageSize);
 
         // Emit audit event for the query itself (accessing audit logs is privileged)
         logAction(PrivilegedAuditEvent.builder()
@@ -285,11 +249,22 @@ public class PrivilegedAuditService {
             .actorUsername(getCurrentUsername())
             .actorRoles(getCurrentUserRoles())
             .resourceType("AuditLog")
-            .resourceId(resourceId)
+            .resourceId(query.resourceId())
             .resourceDescription("Audit trail query")
-            .addMetadata("startTime", startTime.toString())
-            .addMetadata("endTime", endTime.toString())
+            .addMetadata("startTime", query.startTime().toString())
+            .addMetadata("endTime", query.endTime().toString())
+            .addMetadata("entriesReturned", Integer.toString(page.entries().size()))
             .build());
+
+        return page;
+    }
+
+    /**
+     * First page of a resource's audit trail within a time range
+     */
+    public AuditLogPage queryAuditTrail(UUID resourceId, Instant startTime, Instant endTime) {
+        return queryAuditTrail(AuditLogQuery.between(startTime, endTime).forResource(resourceId),
+            null, DEFAULT_QUERY_PAGE_SIZE);
     }
 
     // Helper methods to get current user context
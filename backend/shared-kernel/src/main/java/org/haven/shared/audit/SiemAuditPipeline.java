@@ -0,0 +1,377 @@
+package org.haven.shared.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Ships privileged audit events to the SIEM off the request thread.
+ *
+ * Request threads only put the event on a lock-free queue. A dedicated writer thread drains it in
+ * batches, encodes each batch into one reusable buffer with {@link SiemEventWriter} and hands it to
+ * the sink (a rolled JSON Lines file for the sidecar, or a TCP collector) in a single write.
+ *
+ * Durability modes:
+ * - BEST_EFFORT: publish never blocks. If the queue is full or the sink fails, the affected events
+ *   go to the PRIVILEGED_AUDIT logger instead, so they still reach the logback appenders.
+ * - DURABLE: no event is dropped. Publish blocks while the queue is full and then waits until the
+ *   batch holding the event has been written and synced (group commit, so concurrent callers share
+ *   one fsync). Failed batches are retried until the sink accepts them, so delivery is at least once.
+ *
+ * When the pipeline is disabled or not running, events are logged synchronously as before.
+ */
+@Component
+public class SiemAuditPipeline implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(SiemAuditPipeline.class);
+
+    // Separate logger for SIEM routing (configured in logback-privileged-audit.xml)
+    private static final Logger siemLogger = LoggerFactory.getLogger("PRIVILEGED_AUDIT");
+
+    private static final long QUEUE_FULL_WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+    private static final long MAX_RETRY_BACKOFF_MS = 5_000;
+    private static final long SHUTDOWN_TIMEOUT_MS = 10_000;
+
+    public enum Durability {
+        BEST_EFFORT,
+        DURABLE
+    }
+
+    public enum SinkType {
+        FILE,
+        SOCKET
+    }
+
+    private final SiemSink sink;
+    private final Durability durability;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final int queueCapacity;
+    private final long durableTimeoutNanos;
+
+    private final ConcurrentLinkedQueue<Pending> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong loggedInstead = new AtomicLong();
+    private final AtomicLong failedWrites = new AtomicLong();
+    private volatile Thread writerThread;
+    private volatile boolean running;
+    private boolean sinkFailing;
+
+    @Autowired
+    public SiemAuditPipeline(@Value("${haven.audit.siem.enabled:true}") boolean enabled,
+                             @Value("${haven.audit.siem.sink:FILE}") SinkType sinkType,
+                             @Value("${haven.audit.siem.file:${LOG_PATH:logs}/siem/pii-audit.jsonl}") String file,
+                             @Value("${haven.audit.siem.retention-hours:720}") long retentionHours,
+                             @Value("${haven.audit.siem.host:localhost}") String host,
+                             @Value("${haven.audit.siem.port:5170}") int port,
+                             @Value("${haven.audit.siem.durability:BEST_EFFORT}") Durability durability,
+                             @Value("${haven.audit.siem.batch-size:256}") int batchSize,
+                             @Value("${haven.audit.siem.flush-interval-ms:50}") long flushIntervalMs,
+                             @Value("${haven.audit.siem.queue-capacity:16384}") int queueCapacity,
+                             @Value("${haven.audit.siem.durable-timeout-ms:5000}") long durableTimeoutMs) {
+        this(!enabled ? null : sinkType == SinkType.SOCKET
+                ? new SocketSiemSink(host, port, 2_000)
+                : new FileSiemSink(Path.of(file), Duration.ofHours(retentionHours)),
+            durability, batchSize, flushIntervalMs, queueCapacity, durableTimeoutMs);
+    }
+
+    SiemAuditPipeline(SiemSink sink, Durability durability, int batchSize, long flushIntervalMs,
+                      int queueCapacity, long durableTimeoutMs) {
+        this.sink = sink;
+        this.durability = durability;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.queueCapacity = queueCapacity;
+        this.durableTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(durableTimeoutMs);
+    }
+
+    /**
+     * Pipeline that is never started, so every event is logged on the caller's thread
+     */
+    static SiemAuditPipeline synchronous() {
+        return new SiemAuditPipeline(null, Durability.BEST_EFFORT, 1, 1, 1, 0);
+    }
+
+    @Override
+    public void start() {
+        if (sink == null || running) {
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::runWriter, "siem-audit-writer");
+        thread.setDaemon(true);
+        writerThread = thread;
+        thread.start();
+        logger.info("SIEM audit pipeline started: {} mode, batch size {}, queue capacity {}",
+            durability, batchSize, queueCapacity);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        Thread thread = writerThread;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(SHUTDOWN_TIMEOUT_MS + 1_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Anything published while the writer was finishing goes through the logger
+        logRemaining("pipeline stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Hand an event to the SIEM. Returns once it is queued, or in DURABLE mode once it is written.
+     */
+    public void publish(PrivilegedAuditEvent event) {
+        if (!running) {
+            logSynchronously(event);
+            return;
+        }
+        boolean durable = durability == Durability.DURABLE;
+        Pending pending = new Pending(event, durable ? Thread.currentThread() : null);
+
+        if (!reserveSlot()) {
+            if (!durable) {
+                loggedInstead.incrementAndGet();
+                logSynchronously(event);
+                return;
+            }
+            awaitSlot();
+        }
+        queue.offer(pending);
+        if (!running && queue.remove(pending)) {
+            // Lost the race with stop(): the writer may already have exited
+            queued.decrementAndGet();
+            logSynchronously(event);
+            return;
+        }
+        if (durable || queued.get() >= batchSize) {
+            LockSupport.unpark(writerThread);
+        }
+        if (durable) {
+            awaitWritten(pending);
+        }
+    }
+
+    long writtenCount() {
+        return written.get();
+    }
+
+    long loggedInsteadCount() {
+        return loggedInstead.get();
+    }
+
+    long failedWriteCount() {
+        return failedWrites.get();
+    }
+
+    int queuedCount() {
+        return queued.get();
+    }
+
+    private boolean reserveSlot() {
+        while (true) {
+            int current = queued.get();
+            if (current >= queueCapacity) {
+                return false;
+            }
+            if (queued.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * DURABLE only: wait for the writer to make room rather than drop the event
+     */
+    private void awaitSlot() {
+        while (!reserveSlot()) {
+            if (!running || Thread.currentThread().isInterrupted()) {
+                // Cannot wait any longer; exceed the capacity by one instead of dropping
+                queued.incrementAndGet();
+                return;
+            }
+            LockSupport.unpark(writerThread);
+            LockSupport.parkNanos(this, QUEUE_FULL_WAIT_NANOS);
+        }
+    }
+
+    private void awaitWritten(Pending pending) {
+        long deadline = System.nanoTime() + durableTimeoutNanos;
+        while (!pending.written) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0 || Thread.currentThread().isInterrupted()) {
+                logger.error("SIEM audit event {} not confirmed within {} ms; it stays queued for retry",
+                    pending.event.eventId(), TimeUnit.NANOSECONDS.toMillis(durableTimeoutNanos));
+                return;
+            }
+            LockSupport.parkNanos(this, remaining);
+        }
+    }
+
+    private void runWriter() {
+        SiemEventWriter writer = new SiemEventWriter();
+        List<Pending> batch = new ArrayList<>(batchSize);
+        long retryBackoffMs = 0;
+        long shutdownDeadline = Long.MAX_VALUE;
+
+        while (true) {
+            if (batch.isEmpty()) {
+                drainInto(batch);
+            }
+            if (batch.isEmpty()) {
+                if (!running) {
+                    break;
+                }
+                LockSupport.parkNanos(this, flushIntervalNanos);
+                continue;
+            }
+
+            if (writeBatch(writer, batch)) {
+                retryBackoffMs = 0;
+                complete(batch);
+                batch.clear();
+                continue;
+            }
+
+            if (durability == Durability.BEST_EFFORT) {
+                loggedInstead.addAndGet(batch.size());
+                batch.forEach(pending -> logSynchronously(pending.event));
+                complete(batch);
+                batch.clear();
+                continue;
+            }
+
+            // DURABLE: keep the batch and retry until the sink takes it, bounded only at shutdown
+            if (!running) {
+                shutdownDeadline = Math.min(shutdownDeadline, System.currentTimeMillis() + SHUTDOWN_TIMEOUT_MS);
+                if (System.currentTimeMillis() >= shutdownDeadline) {
+                    queued.addAndGet(batch.size());
+                    queue.addAll(batch);
+                    break;
+                }
+            }
+            retryBackoffMs = retryBackoffMs == 0 ? 100 : Math.min(retryBackoffMs * 2, MAX_RETRY_BACKOFF_MS);
+            LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(retryBackoffMs));
+        }
+
+        try {
+            sink.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close SIEM audit sink", e);
+        }
+    }
+
+    private void drainInto(List<Pending> batch) {
+        Pending next;
+        while (batch.size() < batchSize && (next = queue.poll()) != null) {
+            batch.add(next);
+        }
+        queued.addAndGet(-batch.size());
+    }
+
+    private boolean writeBatch(SiemEventWriter writer, List<Pending> batch) {
+        writer.reset();
+        for (Pending pending : batch) {
+            writer.write(pending.event);
+        }
+        try {
+            sink.write(writer.buffer(), writer.length());
+            if (durability == Durability.DURABLE) {
+                sink.sync();
+            }
+            written.addAndGet(batch.size());
+            if (sinkFailing) {
+                sinkFailing = false;
+                logger.info("SIEM audit sink recovered after {} failed writes", failedWrites.get());
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            failedWrites.incrementAndGet();
+            if (!sinkFailing) {
+                // Logged once per outage; retries while it lasts would flood the log
+                sinkFailing = true;
+                logger.error("SIEM audit sink write failed for {} events ({} mode)", batch.size(), durability, e);
+            } else {
+                logger.debug("SIEM audit sink still failing: {}", e.getMessage());
+            }
+            return false;
+        }
+    }
+
+    private static void complete(List<Pending> batch) {
+        for (Pending pending : batch) {
+            pending.written = true;
+            if (pending.waiter != null) {
+                LockSupport.unpark(pending.waiter);
+            }
+        }
+    }
+
+    private void logRemaining(String reason) {
+        Pending pending;
+        int count = 0;
+        while ((pending = queue.poll()) != null) {
+            queued.decrementAndGet();
+            logSynchronously(pending.event);
+            pending.written = true;
+            LockSupport.unpark(pending.waiter);
+            count++;
+        }
+        if (count > 0) {
+            loggedInstead.addAndGet(count);
+            logger.warn("{} SIEM audit events logged through PRIVILEGED_AUDIT: {}", count, reason);
+        }
+    }
+
+    /**
+     * The previous request-thread path, kept for the disabled pipeline and as the overflow route
+     */
+    static void logSynchronously(PrivilegedAuditEvent event) {
+        SiemEventWriter writer = new SiemEventWriter(1024);
+        writer.write(event);
+        String line = writer.contents();
+        String json = line.substring(0, line.length() - 1);
+        String siemTag = event.getSiemTag();
+        switch (SiemEventWriter.levelOf(event)) {
+            case "ERROR" -> siemLogger.error("PRIVILEGED_ACTION [{}] {}", siemTag, json);
+            case "WARN" -> siemLogger.warn("PRIVILEGED_ACTION [{}] {}", siemTag, json);
+            default -> siemLogger.info("PRIVILEGED_ACTION [{}] {}", siemTag, json);
+        }
+    }
+
+    private static final class Pending {
+        final PrivilegedAuditEvent event;
+        final Thread waiter;
+        volatile boolean written;
+
+        Pending(PrivilegedAuditEvent event, Thread waiter) {
+            this.event = event;
+            this.waiter = waiter;
+        }
+    }
+}
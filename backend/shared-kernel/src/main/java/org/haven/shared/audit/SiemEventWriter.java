@@ -0,0 +1,283 @@
+package org.haven.shared.audit;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Writes privileged audit events as JSON Lines straight into a reusable UTF-8 byte buffer.
+ *
+ * One instance belongs to one thread (the SIEM writer thread); the buffer grows to the largest
+ * batch seen and is reused, so encoding an event allocates no intermediate JSON strings. Field
+ * names follow the event record, with null fields omitted, plus the siemTag, severity and level
+ * used for SIEM routing and alerting.
+ */
+final class SiemEventWriter {
+
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private byte[] buffer;
+    private int length;
+    private boolean firstField;
+    private final StringBuilder scratch = new StringBuilder(32);
+
+    SiemEventWriter() {
+        this(8192);
+    }
+
+    SiemEventWriter(int initialCapacity) {
+        this.buffer = new byte[initialCapacity];
+    }
+
+    /**
+     * Append one event followed by a newline
+     */
+    void write(PrivilegedAuditEvent event) {
+        writeByte('{');
+        firstField = true;
+        field("eventId", event.eventId());
+        field("eventType", event.eventType() != null ? event.eventType().name() : null);
+        field("outcome", event.outcome() != null ? event.outcome().name() : null);
+        if (event.timestamp() != null) {
+            name("timestamp");
+            instant(event.timestamp());
+        }
+        field("actorId", event.actorId());
+        field("actorUsername", event.actorUsername());
+        if (event.actorRoles() != null) {
+            name("actorRoles");
+            array(event.actorRoles());
+        }
+        field("resourceType", event.resourceType());
+        field("resourceId", event.resourceId());
+        field("resourceDescription", event.resourceDescription());
+        field("consentLedgerId", event.consentLedgerId());
+        field("justification", event.justification());
+        field("hashFingerprint", event.hashFingerprint());
+        field("denialReason", event.denialReason());
+        field("denialDetails", event.denialDetails());
+        field("requestId", event.requestId());
+        field("sessionId", event.sessionId());
+        field("ipAddress", event.ipAddress());
+        field("userAgent", event.userAgent());
+        if (event.metadata() != null && !event.metadata().isEmpty()) {
+            name("metadata");
+            object(event.metadata());
+        }
+        if (event.eventType() != null) {
+            field("siemTag", event.getSiemTag());
+            field("severity", event.getSeverity());
+        }
+        if (event.outcome() != null) {
+            field("level", levelOf(event));
+        }
+        writeByte('}');
+        writeByte('\n');
+    }
+
+    byte[] buffer() {
+        return buffer;
+    }
+
+    int length() {
+        return length;
+    }
+
+    void reset() {
+        length = 0;
+    }
+
+    /**
+     * The buffered lines as a string, for the logger fallback and tests
+     */
+    String contents() {
+        return new String(buffer, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Log level an event is alerted at: errors as ERROR, denials and critical actions as WARN
+     */
+    static String levelOf(PrivilegedAuditEvent event) {
+        if (event.outcome().isError()) {
+            return "ERROR";
+        }
+        if (event.outcome().isDenial() || "CRITICAL".equals(event.getSeverity())) {
+            return "WARN";
+        }
+        return "INFO";
+    }
+
+    private void field(String name, Object value) {
+        if (value == null) {
+            return;
+        }
+        name(name);
+        value(value);
+    }
+
+    private void name(String name) {
+        if (!firstField) {
+            writeByte(',');
+        }
+        firstField = false;
+        string(name);
+        writeByte(':');
+    }
+
+    private void value(Object value) {
+        if (value == null) {
+            writeAscii("null");
+        } else if (value instanceof CharSequence text) {
+            string(text);
+        } else if (value instanceof UUID uuid) {
+            uuid(uuid);
+        } else if (value instanceof Instant instant) {
+            instant(instant);
+        } else if (value instanceof Boolean || value instanceof Integer || value instanceof Long
+                || value instanceof Short || value instanceof Byte) {
+            writeAscii(value.toString());
+        } else if (value instanceof Number number && Double.isFinite(number.doubleValue())) {
+            writeAscii(number.toString());
+        } else if (value instanceof Map<?, ?> map) {
+            object(map);
+        } else if (value instanceof Collection<?> collection) {
+            array(collection);
+        } else if (value instanceof Enum<?> constant) {
+            string(constant.name());
+        } else {
+            string(value.toString());
+        }
+    }
+
+    private void object(Map<?, ?> map) {
+        boolean outerFirst = firstField;
+        writeByte('{');
+        firstField = true;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            name(String.valueOf(entry.getKey()));
+            value(entry.getValue());
+        }
+        writeByte('}');
+        firstField = outerFirst;
+    }
+
+    private void array(Collection<?> values) {
+        writeByte('[');
+        boolean first = true;
+        for (Object value : values) {
+            if (!first) {
+                writeByte(',');
+            }
+            first = false;
+            value(value);
+        }
+        writeByte(']');
+    }
+
+    private void uuid(UUID uuid) {
+        ensureCapacity(38);
+        buffer[length++] = '"';
+        hex(uuid.getMostSignificantBits() >>> 32, 8);
+        buffer[length++] = '-';
+        hex(uuid.getMostSignificantBits() >>> 16, 4);
+        buffer[length++] = '-';
+        hex(uuid.getMostSignificantBits(), 4);
+        buffer[length++] = '-';
+        hex(uuid.getLeastSignificantBits() >>> 48, 4);
+        buffer[length++] = '-';
+        hex(uuid.getLeastSignificantBits(), 12);
+        buffer[length++] = '"';
+    }
+
+    private void hex(long bits, int digits) {
+        for (int i = digits - 1; i >= 0; i--) {
+            buffer[length + i] = HEX_DIGITS[(int) (bits & 0xF)];
+            bits >>>= 4;
+        }
+        length += digits;
+    }
+
+    private void instant(Instant instant) {
+        scratch.setLength(0);
+        DateTimeFormatter.ISO_INSTANT.formatTo(instant, scratch);
+        string(scratch);
+    }
+
+    private void string(CharSequence text) {
+        writeByte('"');
+        int count = text.length();
+        // Worst case is a six-byte control escape per char; surrogate pairs take 4 bytes for 2 chars
+        ensureCapacity(count * 6 + 1);
+        for (int i = 0; i < count; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                if (c == '"' || c == '\\') {
+                    buffer[length++] = '\\';
+                    buffer[length++] = (byte) c;
+                } else if (c >= 0x20) {
+                    buffer[length++] = (byte) c;
+                } else {
+                    escapeControl(c);
+                }
+            } else if (c < 0x800) {
+                buffer[length++] = (byte) (0xC0 | (c >> 6));
+                buffer[length++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < count && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                buffer[length++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[length++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogate: not encodable as UTF-8, written as the replacement character
+                buffer[length++] = (byte) 0xEF;
+                buffer[length++] = (byte) 0xBF;
+                buffer[length++] = (byte) 0xBD;
+            } else {
+                buffer[length++] = (byte) (0xE0 | (c >> 12));
+                buffer[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[length++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        writeByte('"');
+    }
+
+    private void escapeControl(char c) {
+        buffer[length++] = '\\';
+        switch (c) {
+            case '\n' -> buffer[length++] = 'n';
+            case '\r' -> buffer[length++] = 'r';
+            case '\t' -> buffer[length++] = 't';
+            case '\b' -> buffer[length++] = 'b';
+            case '\f' -> buffer[length++] = 'f';
+            default -> {
+                buffer[length++] = 'u';
+                buffer[length++] = '0';
+                buffer[length++] = '0';
+                hex(c, 2);
+            }
+        }
+    }
+
+    private void writeAscii(String text) {
+        ensureCapacity(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            buffer[length++] = (byte) text.charAt(i);
+        }
+    }
+
+    private void writeByte(char c) {
+        ensureCapacity(1);
+        buffer[length++] = (byte) c;
+    }
+
+    private void ensureCapacity(int additional) {
+        if (length + additional > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + additional));
+        }
+    }
+}
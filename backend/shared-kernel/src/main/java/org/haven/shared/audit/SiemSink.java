@@ -0,0 +1,23 @@
+package org.haven.shared.audit;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Destination for batches of SIEM audit lines, written by the single SIEM writer thread.
+ */
+interface SiemSink extends Closeable {
+
+    /**
+     * Write {@code length} bytes of complete JSON lines from {@code batch}
+     */
+    void write(byte[] batch, int length) throws IOException;
+
+    /**
+     * Make everything written so far durable (file) or handed to the collector (socket)
+     */
+    void sync() throws IOException;
+
+    @Override
+    void close() throws IOException;
+}
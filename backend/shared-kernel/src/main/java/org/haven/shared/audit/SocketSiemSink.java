@@ -0,0 +1,72 @@
+package org.haven.shared.audit;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+/**
+ * JSON Lines over TCP to a SIEM collector (Fluent Bit, Vector, syslog-ng tcp input and the like).
+ *
+ * Connects lazily and drops the connection on any write failure so the next batch reconnects.
+ * {@link #sync()} only flushes to the kernel: TCP has no application-level acknowledgement, so
+ * a batch counts as delivered once the socket write returns.
+ */
+final class SocketSiemSink implements SiemSink {
+
+    private final String host;
+    private final int port;
+    private final int connectTimeoutMs;
+    private Socket socket;
+    private OutputStream out;
+
+    SocketSiemSink(String host, int port, int connectTimeoutMs) {
+        this.host = host;
+        this.port = port;
+        this.connectTimeoutMs = connectTimeoutMs;
+    }
+
+    @Override
+    public void write(byte[] batch, int length) throws IOException {
+        try {
+            stream().write(batch, 0, length);
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void sync() throws IOException {
+        if (out != null) {
+            try {
+                out.flush();
+            } catch (IOException e) {
+                close();
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (socket != null) {
+            Socket closing = socket;
+            socket = null;
+            out = null;
+            closing.close();
+        }
+    }
+
+    private OutputStream stream() throws IOException {
+        if (out == null) {
+            Socket connecting = new Socket();
+            connecting.setTcpNoDelay(true);
+            connecting.setKeepAlive(true);
+            connecting.connect(new InetSocketAddress(host, port), connectTimeoutMs);
+            socket = connecting;
+            out = connecting.getOutputStream();
+        }
+        return out;
+    }
+}
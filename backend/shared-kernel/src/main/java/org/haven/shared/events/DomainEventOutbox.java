@@ -0,0 +1,10 @@
+package org.haven.shared.events;
+
+/**
+ * Transactional outbox for domain events. Implementations record the event in the caller's
+ * transaction and deliver it to handlers after commit, so handler work stays out of the command path.
+ */
+public interface DomainEventOutbox {
+
+    void enqueue(DomainEvent event);
+}
@@ -1,43 +1,194 @@
 package org.haven.shared.events;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.haven.shared.events.DomainEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Simple in-memory event publisher for domain events
+ * In-memory event publisher for domain events.
+ *
+ * Handlers subscribe to an event class, superclass or interface; the handlers for each concrete
+ * event class are resolved once into a dispatch table that is rebuilt on subscribe.
+ *
+ * publish() behaviour depends on {@link DispatchMode}:
+ * OUTBOX records the event in the {@link DomainEventOutbox} and the relay calls {@link #dispatch}
+ * after commit (falls back to SYNC when no outbox is configured); ASYNC hands the event to
+ * partitions keyed by aggregate id; SYNC runs handlers inline on the caller's thread.
  */
 @Service
-public class EventPublisher {
-    
-    private final Map<Class<? extends DomainEvent>, List<EventHandler<? extends DomainEvent>>> handlers = 
-        new ConcurrentHashMap<>();
+public class EventPublisher implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventPublisher.class);
+
+    public enum DispatchMode {
+        SYNC,
+        ASYNC,
+        OUTBOX
+    }
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final Map<Class<?>, List<HandlerBinding>> dispatchTable = new ConcurrentHashMap<>();
+    private final ObjectProvider<DomainEventOutbox> outbox;
+    private final MeterRegistry meterRegistry;
+    private final DispatchMode mode;
+    private final PartitionedEventDispatcher asyncDispatcher;
+
+    public EventPublisher() {
+        this(null, DispatchMode.SYNC, 1, 1, new SimpleMeterRegistry());
+    }
+
+    @Autowired
+    public EventPublisher(ObjectProvider<DomainEventOutbox> outbox,
+                          ObjectProvider<MeterRegistry> meterRegistry,
+                          @Value("${haven.events.dispatch.mode:OUTBOX}") DispatchMode mode,
+                          @Value("${haven.events.dispatch.partitions:4}") int partitions,
+                          @Value("${haven.events.dispatch.queue-capacity:1000}") int queueCapacity) {
+        this(outbox, mode, partitions, queueCapacity, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    EventPublisher(ObjectProvider<DomainEventOutbox> outbox, DispatchMode mode, int partitions,
+                   int queueCapacity, MeterRegistry meterRegistry) {
+        this.outbox = outbox;
+        this.mode = mode;
+        this.meterRegistry = meterRegistry;
+        this.asyncDispatcher = mode == DispatchMode.ASYNC
+                ? new PartitionedEventDispatcher(partitions, queueCapacity, this::dispatch, meterRegistry)
+                : null;
+    }
     
-    @SuppressWarnings("unchecked")
     public <T extends DomainEvent> void subscribe(EventHandler<T> handler) {
-        handlers.computeIfAbsent(handler.getEventType(), k -> new CopyOnWriteArrayList<>())
-                .add((EventHandler<DomainEvent>) handler);
+        subscribe(handler.getEventType(), handler);
+    }
+
+    /**
+     * Subscribe to every event assignable to subscribedType, which may be an interface that
+     * events implement. The handler's own type parameter must accept all such events.
+     */
+    public void subscribe(Class<?> subscribedType, EventHandler<? extends DomainEvent> handler) {
+        subscriptions.add(new Subscription(subscribedType, handler));
+        dispatchTable.clear();
     }
     
-    @SuppressWarnings("unchecked")
     public void publish(DomainEvent event) {
-        List<EventHandler<? extends DomainEvent>> eventHandlers = handlers.get(event.getClass());
-        if (eventHandlers != null) {
-            for (EventHandler<? extends DomainEvent> handler : eventHandlers) {
-                try {
-                    ((EventHandler<DomainEvent>) handler).handle(event);
-                } catch (Exception e) {
-                    // Log error but don't stop other handlers
-                    System.err.println("Error handling event " + event.getClass().getSimpleName() + ": " + e.getMessage());
-                }
-            }
+        if (mode == DispatchMode.ASYNC) {
+            asyncDispatcher.submit(event);
+            return;
+        }
+        DomainEventOutbox target = mode == DispatchMode.OUTBOX && outbox != null ? outbox.getIfAvailable() : null;
+        if (target != null) {
+            target.enqueue(event);
+            return;
+        }
+        try {
+            dispatch(event);
+        } catch (EventDispatchException e) {
+            // Already logged per handler; inline publishing never fails the caller
         }
     }
     
     public void publishAll(List<DomainEvent> events) {
         events.forEach(this::publish);
     }
+
+    /**
+     * Run every handler subscribed to the event's class or one of its supertypes on the current thread.
+     * All handlers are attempted; if any fail, an {@link EventDispatchException} is thrown afterwards
+     * so the caller can retry.
+     */
+    public void dispatch(DomainEvent event) {
+        List<HandlerBinding> bindings = dispatchTable.computeIfAbsent(event.getClass(), this::resolveHandlers);
+        if (bindings.isEmpty()) {
+            return;
+        }
+        List<Exception> failures = null;
+        for (HandlerBinding binding : bindings) {
+            long start = System.nanoTime();
+            try {
+                binding.handler().handle(event);
+            } catch (Exception e) {
+                // Log error but don't stop other handlers
+                logger.error("Error handling event {} in {}", event.getClass().getSimpleName(),
+                        binding.handler().getClass().getSimpleName(), e);
+                binding.failures().increment();
+                if (failures == null) {
+                    failures = new ArrayList<>();
+                }
+                failures.add(e);
+            } finally {
+                binding.latency().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+        if (failures != null) {
+            EventDispatchException exception = new EventDispatchException(
+                    failures.size() + " handler(s) failed for " + event.getClass().getSimpleName());
+            failures.forEach(exception::addSuppressed);
+            throw exception;
+        }
+    }
+
+    public DispatchMode getMode() {
+        return mode;
+    }
+
+    @Override
+    public void destroy() {
+        if (asyncDispatcher != null) {
+            asyncDispatcher.shutdown(Duration.ofSeconds(10));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<HandlerBinding> resolveHandlers(Class<?> eventClass) {
+        List<HandlerBinding> bindings = new ArrayList<>();
+        for (Subscription subscription : subscriptions) {
+            if (subscription.eventType().isAssignableFrom(eventClass)) {
+                EventHandler<? extends DomainEvent> handler = subscription.handler();
+                String handlerName = handler.getClass().getSimpleName().isEmpty()
+                        ? handler.getClass().getName()
+                        : handler.getClass().getSimpleName();
+                String eventName = eventClass.getSimpleName();
+                bindings.add(new HandlerBinding(
+                        (EventHandler<DomainEvent>) handler,
+                        Timer.builder("domain.events.handler.latency")
+                                .description("Time spent in a domain event handler")
+                                .tag("handler", handlerName)
+                                .tag("event", eventName)
+                                .register(meterRegistry),
+                        Counter.builder("domain.events.handler.failures")
+                                .description("Domain event handler invocations that threw")
+                                .tag("handler", handlerName)
+                                .tag("event", eventName)
+                                .register(meterRegistry)));
+            }
+        }
+        return List.copyOf(bindings);
+    }
+
+    private record Subscription(Class<?> eventType, EventHandler<? extends DomainEvent> handler) {
+    }
+
+    private record HandlerBinding(EventHandler<DomainEvent> handler, Timer latency, Counter failures) {
+    }
+
+    public static class EventDispatchException extends RuntimeException {
+        public EventDispatchException(String message) {
+            super(message);
+        }
+    }
 }
\ No newline at end of file
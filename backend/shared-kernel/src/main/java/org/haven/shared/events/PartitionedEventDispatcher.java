@@ -0,0 +1,101 @@
+package org.haven.shared.events;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Runs event dispatch off the caller's thread on a fixed set of single-threaded partitions.
+ * Events are routed by aggregate id, so events of one aggregate are handled in publish order
+ * while different aggregates proceed in parallel. Each partition has a bounded queue; when it
+ * is full the publisher blocks rather than dropping or reordering events.
+ */
+final class PartitionedEventDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionedEventDispatcher.class);
+
+    private final ThreadPoolExecutor[] partitions;
+    private final Consumer<DomainEvent> dispatch;
+
+    PartitionedEventDispatcher(int partitionCount, int queueCapacity, Consumer<DomainEvent> dispatch,
+                               MeterRegistry meterRegistry) {
+        if (partitionCount < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Partition count and queue capacity must be positive");
+        }
+        this.dispatch = dispatch;
+        this.partitions = new ThreadPoolExecutor[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            String threadName = "domain-events-" + i;
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(queueCapacity),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, threadName);
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    PartitionedEventDispatcher::blockUntilQueued);
+            partitions[i] = executor;
+            Gauge.builder("domain.events.dispatch.queue.depth", executor, e -> e.getQueue().size())
+                    .description("Events waiting in a dispatch partition")
+                    .tag("partition", String.valueOf(i))
+                    .register(meterRegistry);
+        }
+    }
+
+    void submit(DomainEvent event) {
+        partitions[partitionFor(event.getAggregateId())].execute(() -> {
+            try {
+                dispatch.accept(event);
+            } catch (Exception e) {
+                // Handler failures are logged and counted by the publisher
+                logger.debug("Asynchronous dispatch of {} completed with failures", event.eventType());
+            }
+        });
+    }
+
+    int partitionFor(UUID aggregateId) {
+        return aggregateId == null ? 0 : Math.floorMod(aggregateId.hashCode(), partitions.length);
+    }
+
+    int queueDepth(int partition) {
+        return partitions[partition].getQueue().size();
+    }
+
+    /**
+     * Stop accepting events and wait for queued ones to finish
+     */
+    void shutdown(Duration timeout) {
+        for (ThreadPoolExecutor executor : partitions) {
+            executor.shutdown();
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try {
+            for (ThreadPoolExecutor executor : partitions) {
+                executor.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void blockUntilQueued(Runnable task, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("Event dispatcher is shut down");
+        }
+        try {
+            executor.getQueue().put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for dispatch queue capacity", e);
+        }
+    }
+}
@@ -3,8 +3,9 @@ package org.haven.shared.security;
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
-import java.security.InvalidKeyException;
-import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -16,9 +17,10 @@ public class DeterministicIdGenerator {
     
     private static final String HMAC_ALGORITHM = "HmacSHA256";
     private static final String DEFAULT_SALT = "haven-hmis-personal-id-salt-2024";
+    private static final HexFormat HEX = HexFormat.of().withUpperCase();
     
     private final String salt;
-    private final SecretKeySpec secretKey;
+    private final ThreadLocalMac mac;
     
     /**
      * Create generator with default salt
@@ -37,7 +39,7 @@ public class DeterministicIdGenerator {
             throw new IllegalArgumentException("Salt cannot be null or empty");
         }
         this.salt = salt;
-        this.secretKey = new SecretKeySpec(salt.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+        this.mac = new ThreadLocalMac(HMAC_ALGORITHM, new SecretKeySpec(salt.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM));
     }
     
     /**
@@ -55,30 +57,33 @@ public class DeterministicIdGenerator {
             throw new IllegalArgumentException("ClientId cannot be null");
         }
         
-        try {
-            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
-            mac.init(secretKey);
-            
-            // Hash the ClientId string representation
-            byte[] hashBytes = mac.doFinal(clientId.toString().getBytes(StandardCharsets.UTF_8));
-            
-            // Convert to hex string and truncate to reasonable length for HMIS compatibility
-            StringBuilder hexString = new StringBuilder();
-            for (byte b : hashBytes) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) {
-                    hexString.append('0');
-                }
-                hexString.append(hex);
+        // Hash the ClientId string representation
+        byte[] hashBytes = mac.doFinal(clientId.toString().getBytes(StandardCharsets.UTF_8));
+        
+        // Return first 32 hex characters (128 bits) as deterministic PersonalID
+        // This provides sufficient uniqueness while being HMIS-compatible
+        return HEX.formatHex(hashBytes, 0, 16);
+    }
+    
+    /**
+     * Generate hashed PersonalIDs for a whole column of ClientIds, in input order
+     * Equivalent to calling {@link #generateHashedPersonalId(UUID)} per element, but the
+     * thread's Mac is looked up once for the batch
+     * 
+     * @param clientIds ClientIds to hash; none may be null
+     * @return Hashed PersonalIDs, one per input
+     */
+    public List<String> generateHashedPersonalIds(List<UUID> clientIds) {
+        Mac threadMac = mac.get();
+        List<String> personalIds = new ArrayList<>(clientIds.size());
+        for (UUID clientId : clientIds) {
+            if (clientId == null) {
+                throw new IllegalArgumentException("ClientId cannot be null");
             }
-            
-            // Return first 32 characters (128 bits) as deterministic PersonalID
-            // This provides sufficient uniqueness while being HMIS-compatible
-            return hexString.substring(0, Math.min(32, hexString.length())).toUpperCase();
-            
-        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
-            throw new IllegalStateException("Failed to generate hashed PersonalID", e);
+            byte[] hashBytes = threadMac.doFinal(clientId.toString().getBytes(StandardCharsets.UTF_8));
+            personalIds.add(HEX.formatHex(hashBytes, 0, 16));
         }
+        return personalIds;
     }
     
     /**
@@ -106,6 +111,27 @@ public class DeterministicIdGenerator {
         );
     }
     
+    /**
+     * Generate a keyed hash of a field value, e.g. a name, date of birth or SSN fragment,
+     * so records can be compared for equality without storing the value itself.
+     * The field name is part of the hashed input, so equal values of different fields never collide.
+     * 
+     * @param field Stable name of the field being hashed
+     * @param value Normalized field value
+     * @return 32-character hex hash, or null when the value is null or blank
+     */
+    public String generateKeyedHash(String field, String value) {
+        if (field == null) {
+            throw new IllegalArgumentException("Field cannot be null");
+        }
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        
+        byte[] hashBytes = mac.doFinal((field + ":" + value).getBytes(StandardCharsets.UTF_8));
+        return HEX.formatHex(hashBytes, 0, 16);
+    }
+    
     /**
      * Verify that a PersonalID was generated from a given ClientId
      * Useful for auditing and debugging
@@ -1,20 +1,31 @@
 package org.haven.shared.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.oauth2.jwt.*;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
 
 /**
  * Service for verifying Keycloak JWT tokens
  * Implements JWKS caching, issuer/audience validation, and failure telemetry
+ * Successfully verified tokens are cached by SHA-256 of the token until they expire
+ * (capped at a maximum TTL), so repeat calls within a session skip decoding and signature checks
  */
 @Service
 public class KeycloakTokenVerificationService {
@@ -25,6 +36,7 @@ public class KeycloakTokenVerificationService {
     private final String expectedIssuer;
     private final String expectedAudience;
     private final MeterRegistry meterRegistry;
+    private final Cache<String, Jwt> verifiedTokens;
 
     // Telemetry counters
     private final Counter tokenVerificationSuccess;
@@ -33,15 +45,32 @@ public class KeycloakTokenVerificationService {
     private final Counter tokenTampering;
     private final Counter tokenMissingClaims;
 
+    public KeycloakTokenVerificationService(
+            JwtDecoder jwtDecoder,
+            String expectedIssuer,
+            String expectedAudience,
+            MeterRegistry meterRegistry) {
+        this(jwtDecoder, expectedIssuer, expectedAudience, meterRegistry, 10_000, 300);
+    }
+
+    @Autowired
     public KeycloakTokenVerificationService(
             JwtDecoder jwtDecoder,
             @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String expectedIssuer,
             @Value("${haven.security.jwt.expected-audience:haven-backend}") String expectedAudience,
-            MeterRegistry meterRegistry) {
+            MeterRegistry meterRegistry,
+            @Value("${haven.security.jwt.verification-cache.max-size:10000}") long cacheMaxSize,
+            @Value("${haven.security.jwt.verification-cache.max-ttl-seconds:300}") long cacheMaxTtlSeconds) {
         this.jwtDecoder = jwtDecoder;
         this.expectedIssuer = expectedIssuer;
         this.expectedAudience = expectedAudience;
         this.meterRegistry = meterRegistry;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new TokenExpiry(Duration.ofSeconds(cacheMaxTtlSeconds)))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt.verification");
 
         // Initialize telemetry counters
         this.tokenVerificationSuccess = Counter.builder("token.verification.success")
@@ -73,6 +102,12 @@ public class KeycloakTokenVerificationService {
             return TokenVerificationResult.failure("Token is missing", FailureReason.MISSING_TOKEN);
         }
 
+        String cacheKey = cacheKey(token);
+        Jwt cached = verifiedTokens.getIfPresent(cacheKey);
+        if (cached != null && cached.getExpiresAt().isAfter(Instant.now())) {
+            return TokenVerificationResult.success(cached);
+        }
+
         try {
             // Decode and verify signature using JWKS
             Jwt jwt = jwtDecoder.decode(token);
@@ -114,6 +149,7 @@ public class KeycloakTokenVerificationService {
 
             tokenVerificationSuccess.increment();
             log.debug("Token verification successful for subject: {}", jwt.getSubject());
+            verifiedTokens.put(cacheKey, jwt);
 
             return TokenVerificationResult.success(jwt);
 
@@ -252,6 +288,45 @@ public class KeycloakTokenVerificationService {
         return true;
     }
 
+    /**
+     * Drop all cached verification results, e.g. after a key rotation or policy change
+     */
+    public void invalidateVerificationCache() {
+        verifiedTokens.invalidateAll();
+    }
+
+    private static String cacheKey(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Cached entries live until the token expires, but never longer than the configured maximum
+     */
+    private record TokenExpiry(Duration maxTtl) implements Expiry<String, Jwt> {
+
+        @Override
+        public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+            Duration untilExpiry = Duration.between(Instant.now(), jwt.getExpiresAt());
+            Duration ttl = untilExpiry.compareTo(maxTtl) < 0 ? untilExpiry : maxTtl;
+            return Math.max(0, ttl.toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, jwt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
     private void recordFailure(String reason) {
         Counter.builder("token.verification.failure")
                 .description("Number of failed token verifications")
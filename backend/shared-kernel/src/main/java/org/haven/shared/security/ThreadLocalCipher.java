@@ -0,0 +1,32 @@
+package org.haven.shared.security;
+
+import javax.crypto.Cipher;
+import java.security.GeneralSecurityException;
+
+/**
+ * One {@link Cipher} per thread for a fixed transformation
+ * Saves the provider lookup of Cipher.getInstance on every field; callers still init the
+ * cipher for each message, since modes such as GCM need a fresh IV every time.
+ */
+public final class ThreadLocalCipher {
+    
+    private final ThreadLocal<Cipher> ciphers;
+    
+    public ThreadLocalCipher(String transformation) {
+        this.ciphers = ThreadLocal.withInitial(() -> {
+            try {
+                return Cipher.getInstance(transformation);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Failed to create cipher " + transformation, e);
+            }
+        });
+        ciphers.get();
+    }
+    
+    /**
+     * The calling thread's Cipher; must not be handed to another thread
+     */
+    public Cipher get() {
+        return ciphers.get();
+    }
+}
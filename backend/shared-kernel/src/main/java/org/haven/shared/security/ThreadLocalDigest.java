@@ -0,0 +1,32 @@
+package org.haven.shared.security;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * One {@link MessageDigest} per thread for a fixed algorithm
+ * Saves the provider lookup of MessageDigest.getInstance on every hash; digest() resets
+ * the instance, so it is ready for the next call.
+ */
+public final class ThreadLocalDigest {
+    
+    private final ThreadLocal<MessageDigest> digests;
+    
+    public ThreadLocalDigest(String algorithm) {
+        this.digests = ThreadLocal.withInitial(() -> {
+            try {
+                return MessageDigest.getInstance(algorithm);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(algorithm + " algorithm unavailable", e);
+            }
+        });
+        digests.get();
+    }
+    
+    /**
+     * The calling thread's MessageDigest; must not be handed to another thread
+     */
+    public MessageDigest get() {
+        return digests.get();
+    }
+}
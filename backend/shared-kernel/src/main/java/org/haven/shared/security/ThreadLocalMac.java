@@ -0,0 +1,42 @@
+package org.haven.shared.security;
+
+import javax.crypto.Mac;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+
+/**
+ * One initialized {@link Mac} per thread for a fixed key
+ * Mac.getInstance plus init costs far more than hashing a short identifier, and Mac is
+ * not thread-safe; keeping an instance per thread removes both the setup cost and any
+ * locking. doFinal resets the Mac, so the instance is ready for the next call.
+ */
+public final class ThreadLocalMac {
+    
+    private final ThreadLocal<Mac> macs;
+    
+    public ThreadLocalMac(String algorithm, Key key) {
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(algorithm);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Failed to initialize " + algorithm, e);
+            }
+        });
+        // Fail fast on a bad algorithm or key rather than on first use
+        macs.get();
+    }
+    
+    public byte[] doFinal(byte[] input) {
+        return macs.get().doFinal(input);
+    }
+    
+    /**
+     * The calling thread's Mac, for callers that feed input in several updates
+     * Must not be handed to another thread
+     */
+    public Mac get() {
+        return macs.get();
+    }
+}
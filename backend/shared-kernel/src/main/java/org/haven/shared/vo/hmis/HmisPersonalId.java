@@ -1,8 +1,10 @@
 package org.haven.shared.vo.hmis;
 
 import org.haven.shared.security.DeterministicIdGenerator;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * HMIS Personal ID - Unique identifier for persons in HMIS
@@ -16,6 +18,8 @@ public class HmisPersonalId {
     // Static instance for deterministic ID generation
     // TODO: In production, this should be configured with environment-specific salt
     private static final DeterministicIdGenerator ID_GENERATOR = new DeterministicIdGenerator();
+    // Generators hold per-thread Macs, so reuse one per salt instead of building one per call
+    private static final Map<String, DeterministicIdGenerator> SALTED_GENERATORS = new ConcurrentHashMap<>();
 
     private HmisPersonalId(String value) {
         if (value == null || value.trim().isEmpty()) {
@@ -59,7 +63,10 @@ public class HmisPersonalId {
         if (clientId == null) {
             throw new IllegalArgumentException("ClientId cannot be null");
         }
-        DeterministicIdGenerator customGenerator = new DeterministicIdGenerator(salt);
+        // A null salt falls through to the constructor's validation
+        DeterministicIdGenerator customGenerator = salt != null
+            ? SALTED_GENERATORS.computeIfAbsent(salt, DeterministicIdGenerator::new)
+            : new DeterministicIdGenerator(salt);
         String hashedPersonalId = customGenerator.generateUuidFormattedPersonalId(clientId);
         return new HmisPersonalId(hashedPersonalId);
     }
@@ -0,0 +1,121 @@
+package org.haven.shared.audit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the audit partition hash chain and the keyset cursor used to page audit queries.
+ */
+class AuditHashChainTest {
+
+    private static final YearMonth PARTITION = YearMonth.of(2026, 10);
+
+    @Test
+    @DisplayName("Hashes are deterministic and chain from the previous entry")
+    void testChaining() {
+        AuditLogEntity first = entry("READ", "details");
+        AuditLogEntity second = entry("UPDATE", "other details");
+        AuditHashChain chain = new AuditHashChain();
+
+        String firstHash = chain.hash(AuditHashChain.GENESIS_HASH, PARTITION, 1, first);
+        String secondHash = chain.hash(firstHash, PARTITION, 2, second);
+
+        assertEquals(64, firstHash.length());
+        assertEquals(firstHash, new AuditHashChain().hash(AuditHashChain.GENESIS_HASH, PARTITION, 1, first));
+        assertNotEquals(secondHash, chain.hash(AuditHashChain.GENESIS_HASH, PARTITION, 2, second));
+    }
+
+    @Test
+    @DisplayName("Changing any field, the position or the partition changes the hash")
+    void testTamperEvidence() {
+        AuditLogEntity original = entry("READ", "details");
+        AuditHashChain chain = new AuditHashChain();
+        String hash = chain.hash(AuditHashChain.GENESIS_HASH, PARTITION, 1, original);
+
+        AuditLogEntity edited = new AuditLogEntity(original.getAuditId(), original.getResourceId(),
+            original.getResourceType(), original.getAction(), original.getUserId(), original.getTimestamp(),
+            "details edited", original.getIpAddress(), original.getSessionId(), original.getComponent(),
+            original.getSeverity(), original.getResult());
+        AuditLogEntity withoutDetails = new AuditLogEntity(original.getAuditId(), original.getResourceId(),
+            original.getResourceType(), original.getAction(), original.getUserId(), original.getTimestamp(),
+            null, original.getIpAddress(), original.getSessionId(), original.getComponent(),
+            original.getSeverity(), original.getResult());
+        AuditLogEntity emptyDetails = new AuditLogEntity(original.getAuditId(), original.getResourceId(),
+            original.getResourceType(), original.getAction(), original.getUserId(), original.getTimestamp(),
+            "", original.getIpAddress(), original.getSessionId(), original.getComponent(),
+            original.getSeverity(), original.getResult());
+
+        assertNotEquals(hash, chain.hash(AuditHashChain.GENESIS_HASH, PARTITION, 1, edited));
+        assertNotEquals(hash, chain.hash(AuditHashChain.GENESIS_HASH, PARTITION, 2, original));
+        assertNotEquals(hash, chain.hash(AuditHashChain.GENESIS_HASH, PARTITION.plusMonths(1), 1, original));
+        assertNotEquals(chain.hash(AuditHashChain.GENESIS_HASH, PARTITION, 1, withoutDetails),
+            chain.hash(AuditHashChain.GENESIS_HASH, PARTITION, 1, emptyDetails));
+    }
+
+    @Test
+    @DisplayName("Hashes use the stored microsecond precision of the timestamp")
+    void testTimestampPrecision() {
+        Instant micros = Instant.parse("2026-10-18T12:00:00.123456Z");
+        AuditLogEntity precise = entryAt(micros.plusNanos(789));
+        AuditLogEntity stored = new AuditLogEntity(precise.getAuditId(), precise.getResourceId(),
+            precise.getResourceType(), precise.getAction(), precise.getUserId(), micros,
+            precise.getDetails(), precise.getIpAddress(), precise.getSessionId(), precise.getComponent(),
+            precise.getSeverity(), precise.getResult());
+        AuditHashChain chain = new AuditHashChain();
+
+        assertEquals(chain.hash(AuditHashChain.GENESIS_HASH, PARTITION, 1, precise),
+            chain.hash(AuditHashChain.GENESIS_HASH, PARTITION, 1, stored));
+    }
+
+    @Test
+    @DisplayName("Entries fall in the UTC month of their timestamp")
+    void testPartitionOf() {
+        assertEquals(YearMonth.of(2026, 9), AuditHashChain.partitionOf(Instant.parse("2026-09-30T23:59:59.999999Z")));
+        assertEquals(YearMonth.of(2026, 10), AuditHashChain.partitionOf(Instant.parse("2026-10-01T00:00:00Z")));
+    }
+
+    @Test
+    @DisplayName("Page cursors round-trip and reject malformed tokens")
+    void testCursorRoundTrip() {
+        AuditLogEntity entry = entryAt(Instant.parse("2026-10-18T12:00:00.123456Z"));
+        String token = AuditLogPage.Cursor.after(entry).encode();
+
+        AuditLogPage.Cursor decoded = AuditLogPage.Cursor.decode(token);
+
+        assertEquals(entry.getTimestamp(), decoded.timestamp());
+        assertEquals(entry.getAuditId(), decoded.auditId());
+        assertThrows(IllegalArgumentException.class, () -> AuditLogPage.Cursor.decode("not-a-cursor"));
+    }
+
+    @Test
+    @DisplayName("Queries require an ordered time range")
+    void testQueryRange() {
+        Instant now = Instant.now();
+        assertThrows(IllegalArgumentException.class, () -> AuditLogQuery.between(now, now.minusSeconds(1)));
+        assertThrows(NullPointerException.class, () -> AuditLogQuery.between(null, now));
+
+        UUID resourceId = UUID.randomUUID();
+        AuditLogQuery query = AuditLogQuery.between(now.minusSeconds(60), now).forResource(resourceId).withAction("READ");
+        assertEquals(resourceId, query.resourceId());
+        assertEquals("READ", query.action());
+        assertNull(query.userId());
+    }
+
+    private static AuditLogEntity entry(String action, String details) {
+        return new AuditLogEntity(UUID.fromString("00000000-0000-0000-0000-000000000001"),
+            UUID.fromString("00000000-0000-0000-0000-000000000002"), "RestrictedNote", action,
+            UUID.fromString("00000000-0000-0000-0000-000000000003"), Instant.parse("2026-10-18T12:00:00Z"),
+            details, "10.0.0.1", "session-1", "PRIVILEGED_AUDIT", "CRITICAL", "SUCCESS");
+    }
+
+    private static AuditLogEntity entryAt(Instant timestamp) {
+        return new AuditLogEntity(UUID.randomUUID(), UUID.randomUUID(), "RestrictedNote", "READ",
+            UUID.randomUUID(), timestamp, "details", null, null, "PRIVILEGED_AUDIT", "INFO", "SUCCESS");
+    }
+}
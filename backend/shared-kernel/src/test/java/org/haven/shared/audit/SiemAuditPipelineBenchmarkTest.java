@@ -0,0 +1,72 @@
+package org.haven.shared.audit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Per-call overhead of queued SIEM publishing against the previous request-thread
+ * serialization. Runs with the benchmark task only.
+ */
+@Tag("benchmark")
+class SiemAuditPipelineBenchmarkTest {
+
+    @Test
+    @DisplayName("Per-call SIEM emission: request-thread JSON serialization vs queued publish (timings printed)")
+    void benchmarkPerCallOverhead() {
+        List<PrivilegedAuditEvent> events = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            events.add(SiemAuditPipelineTest.event(AuditOutcome.SUCCESS).addMetadata("noteType", "SAFETY_PLAN").build());
+        }
+        SiemAuditPipeline pipeline = new SiemAuditPipeline(new DiscardingSink(), SiemAuditPipeline.Durability.BEST_EFFORT,
+            256, 5, 1_000_000, 0);
+        pipeline.start();
+
+        long reference = bestOfThree(() -> events.forEach(event -> {
+            // Previous logToSiem/logToApplication work on the request thread
+            String json = event.toJson();
+            String message = String.format("Privileged Action: %s by %s (%s) on %s/%s - Outcome: %s",
+                event.eventType(), event.actorUsername(), event.actorId(),
+                event.resourceType(), event.resourceId(), event.outcome());
+            assertTrue(json.length() + message.length() > 0);
+        }));
+        long queued = bestOfThree(() -> events.forEach(pipeline::publish));
+        pipeline.stop();
+
+        assertEquals(4L * events.size(), pipeline.writtenCount());
+        System.out.printf("SIEM emission per audited call over %d events: request-thread serialization %d ns,"
+                + " queued publish %d ns (%.1fx)%n",
+            events.size(), reference / events.size(), queued / events.size(), (double) reference / queued);
+    }
+
+    private static long bestOfThree(Runnable run) {
+        // Warm-up round so the comparison is not dominated by JIT compilation
+        run.run();
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            run.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    private static final class DiscardingSink implements SiemSink {
+        @Override
+        public void write(byte[] batch, int length) {
+        }
+
+        @Override
+        public void sync() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
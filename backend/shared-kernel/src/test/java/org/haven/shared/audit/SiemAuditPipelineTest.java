@@ -0,0 +1,244 @@
+package org.haven.shared.audit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the off-request SIEM pipeline: the buffer-reusing JSON writer, batching, both
+ * durability modes and the hourly file sink.
+ */
+class SiemAuditPipelineTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int THREADS = 8;
+    private static final int EVENTS_PER_THREAD = 2_000;
+
+    @Test
+    @DisplayName("Encoded lines are valid JSON carrying every non-null field, escaped and UTF-8 encoded")
+    void testJsonEncoding() throws IOException {
+        PrivilegedAuditEvent event = event(AuditOutcome.DENIED_INSUFFICIENT_PERMISSION)
+            .justification("Quote \" backslash \\ newline \n tab \t bell \u0007")
+            .denialReason("INSUFFICIENT_PERMISSION")
+            .resourceDescription("José García-López 李小龙 😀")
+            .addMetadata("entriesReturned", 42)
+            .addMetadata("ratio", 0.5)
+            .addMetadata("tags", List.of("a", "b"))
+            .build();
+
+        SiemEventWriter writer = new SiemEventWriter(16);
+        writer.write(event);
+        writer.write(event);
+        String[] lines = writer.contents().split("\n");
+
+        assertEquals(2, lines.length);
+        JsonNode json = MAPPER.readTree(lines[0]);
+        assertEquals(event.eventId().toString(), json.get("eventId").asText());
+        assertEquals(event.actorId().toString(), json.get("actorId").asText());
+        assertEquals(event.timestamp().toString(), json.get("timestamp").asText());
+        assertEquals(event.justification(), json.get("justification").asText());
+        assertEquals(event.resourceDescription(), json.get("resourceDescription").asText());
+        assertEquals("DENIED_INSUFFICIENT_PERMISSION", json.get("outcome").asText());
+        assertEquals("WARN", json.get("level").asText());
+        assertEquals(event.getSiemTag(), json.get("siemTag").asText());
+        assertEquals(42, json.get("metadata").get("entriesReturned").asInt());
+        assertEquals(0.5, json.get("metadata").get("ratio").asDouble(), 0.0);
+        assertEquals("b", json.get("metadata").get("tags").get(1).asText());
+        assertEquals("DV_ADVOCATE", json.get("actorRoles").get(0).asText());
+        assertNull(json.get("consentLedgerId"));
+        assertEquals(lines[0], lines[1]);
+    }
+
+    @Test
+    @DisplayName("Events published from many threads are all written, in batches")
+    void testConcurrentPublish() throws Exception {
+        RecordingSink sink = new RecordingSink(0);
+        SiemAuditPipeline pipeline = new SiemAuditPipeline(sink, SiemAuditPipeline.Durability.BEST_EFFORT,
+            64, 5, 1_000_000, 0);
+        pipeline.start();
+
+        publishConcurrently(pipeline);
+        pipeline.stop();
+
+        assertEquals(THREADS * EVENTS_PER_THREAD, sink.lines().size());
+        assertEquals(THREADS * EVENTS_PER_THREAD, pipeline.writtenCount());
+        assertEquals(0, pipeline.loggedInsteadCount());
+        assertTrue(sink.writes.get() < THREADS * EVENTS_PER_THREAD);
+        assertTrue(sink.closed);
+    }
+
+    @Test
+    @DisplayName("Durable mode retries a failing sink and returns only once each event is synced")
+    void testDurableModeLosesNothing() throws Exception {
+        RecordingSink sink = new RecordingSink(3);
+        SiemAuditPipeline pipeline = new SiemAuditPipeline(sink, SiemAuditPipeline.Durability.DURABLE,
+            32, 5, 256, 30_000);
+        pipeline.start();
+
+        publishConcurrently(pipeline);
+
+        assertEquals(0, pipeline.queuedCount());
+        assertEquals(THREADS * EVENTS_PER_THREAD, pipeline.writtenCount());
+        assertEquals(3, pipeline.failedWriteCount());
+        assertEquals(0, pipeline.loggedInsteadCount());
+        assertTrue(sink.syncs.get() > 0);
+        pipeline.stop();
+
+        List<String> lines = sink.lines();
+        assertEquals(THREADS * EVENTS_PER_THREAD, lines.stream().distinct().count());
+    }
+
+    @Test
+    @DisplayName("Best-effort mode hands failed batches to the logger instead of blocking")
+    void testBestEffortFallsBackToLogger() {
+        RecordingSink sink = new RecordingSink(Integer.MAX_VALUE);
+        SiemAuditPipeline pipeline = new SiemAuditPipeline(sink, SiemAuditPipeline.Durability.BEST_EFFORT,
+            16, 1, 4, 0);
+        pipeline.start();
+
+        for (int i = 0; i < 100; i++) {
+            pipeline.publish(event(AuditOutcome.SUCCESS).build());
+        }
+        pipeline.stop();
+
+        assertEquals(0, pipeline.writtenCount());
+        assertEquals(100, pipeline.loggedInsteadCount());
+        assertEquals(0, pipeline.queuedCount());
+    }
+
+    @Test
+    @DisplayName("The file sink appends and rolls over to an hour-stamped file")
+    void testFileSinkRollover() throws IOException {
+        Path directory = Files.createTempDirectory("siem-sink");
+        Path file = directory.resolve("pii-audit.jsonl");
+        MutableClock clock = new MutableClock(Instant.parse("2026-10-18T10:59:59Z"));
+        FileSiemSink sink = new FileSiemSink(file, Duration.ofHours(720), clock);
+        byte[] first = "{\"n\":1}\n".getBytes(StandardCharsets.UTF_8);
+        byte[] second = "{\"n\":2}\n".getBytes(StandardCharsets.UTF_8);
+
+        sink.write(first, first.length);
+        sink.sync();
+        clock.now = Instant.parse("2026-10-18T11:00:01Z");
+        sink.write(second, second.length);
+        sink.close();
+
+        assertEquals("{\"n\":1}\n", Files.readString(directory.resolve("pii-audit.2026-10-18-10.jsonl")));
+        assertEquals("{\"n\":2}\n", Files.readString(file));
+    }
+
+    private static void publishConcurrently(SiemAuditPipeline pipeline) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch done = new CountDownLatch(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            executor.execute(() -> {
+                try {
+                    for (int i = 0; i < EVENTS_PER_THREAD; i++) {
+                        pipeline.publish(event(AuditOutcome.SUCCESS).build());
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        assertTrue(done.await(60, TimeUnit.SECONDS));
+        executor.shutdown();
+    }
+
+    static PrivilegedAuditEvent.Builder event(AuditOutcome outcome) {
+        return PrivilegedAuditEvent.builder()
+            .eventType(PrivilegedActionType.DV_NOTE_READ)
+            .outcome(outcome)
+            .actorId(UUID.randomUUID())
+            .actorUsername("jane.advocate")
+            .actorRoles(List.of("DV_ADVOCATE", "CASE_MANAGER"))
+            .resourceType("RestrictedNote")
+            .resourceId(UUID.randomUUID())
+            .justification("Case review for safety planning session")
+            .metadata(Map.of());
+    }
+
+    /**
+     * In-memory sink that fails its first {@code failures} writes
+     */
+    private static final class RecordingSink implements SiemSink {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        private int failures;
+        private volatile boolean closed;
+        private final AtomicInteger writes = new AtomicInteger();
+        private final AtomicInteger syncs = new AtomicInteger();
+
+        RecordingSink(int failures) {
+            this.failures = failures;
+        }
+
+        @Override
+        public synchronized void write(byte[] batch, int length) throws IOException {
+            if (failures > 0) {
+                failures--;
+                throw new IOException("collector unavailable");
+            }
+            writes.incrementAndGet();
+            out.write(batch, 0, length);
+        }
+
+        @Override
+        public void sync() {
+            syncs.incrementAndGet();
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        synchronized List<String> lines() {
+            String contents = out.toString(StandardCharsets.UTF_8);
+            return contents.isEmpty() ? List.of() : List.of(contents.split("\n"));
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
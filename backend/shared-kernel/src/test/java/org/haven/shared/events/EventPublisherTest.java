@@ -0,0 +1,163 @@
+package org.haven.shared.events;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("EventPublisher")
+class EventPublisherTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private EventPublisher publisher;
+
+    @AfterEach
+    void tearDown() {
+        if (publisher != null) {
+            publisher.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Handlers subscribed to a supertype or interface receive subclass events")
+    void supertypeSubscriptions() {
+        publisher = new EventPublisher(null, EventPublisher.DispatchMode.SYNC, 1, 1, meterRegistry);
+        List<String> received = new ArrayList<>();
+        publisher.subscribe(handler(DomainEvent.class, e -> received.add("domain:" + e.eventType())));
+        publisher.subscribe(Auditable.class, handler(DomainEvent.class, e -> received.add("auditable:" + e.eventType())));
+        publisher.subscribe(handler(NoteSealed.class, e -> received.add("exact:" + e.eventType())));
+
+        publisher.publish(new NoteSealed(UUID.randomUUID(), 1));
+        publisher.publish(new NoteCreated(UUID.randomUUID(), 1));
+
+        assertEquals(List.of("domain:NoteSealed", "auditable:NoteSealed", "exact:NoteSealed", "domain:NoteCreated"),
+                received);
+    }
+
+    @Test
+    @DisplayName("Subscribing after dispatch rebuilds the dispatch table")
+    void lateSubscription() {
+        publisher = new EventPublisher(null, EventPublisher.DispatchMode.SYNC, 1, 1, meterRegistry);
+        List<String> received = new ArrayList<>();
+        publisher.publish(new NoteCreated(UUID.randomUUID(), 1));
+        publisher.subscribe(handler(NoteCreated.class, e -> received.add("late")));
+
+        publisher.publish(new NoteCreated(UUID.randomUUID(), 2));
+
+        assertEquals(List.of("late"), received);
+    }
+
+    @Test
+    @DisplayName("dispatch runs every handler and reports failures afterwards")
+    void dispatchReportsFailures() {
+        publisher = new EventPublisher(null, EventPublisher.DispatchMode.SYNC, 1, 1, meterRegistry);
+        List<String> received = new ArrayList<>();
+        publisher.subscribe(handler(NoteCreated.class, e -> { throw new IllegalStateException("boom"); }));
+        publisher.subscribe(handler(NoteCreated.class, e -> received.add("second")));
+
+        assertThrows(EventPublisher.EventDispatchException.class,
+                () -> publisher.dispatch(new NoteCreated(UUID.randomUUID(), 1)));
+        assertEquals(List.of("second"), received);
+        assertEquals(1.0, meterRegistry.get("domain.events.handler.failures").counter().count());
+        assertEquals(2, meterRegistry.get("domain.events.handler.latency").timer().count());
+    }
+
+    @Test
+    @DisplayName("Asynchronous mode keeps per-aggregate order and leaves the caller's thread")
+    void asyncPartitionedOrdering() throws InterruptedException {
+        publisher = new EventPublisher(null, EventPublisher.DispatchMode.ASYNC, 4, 16, meterRegistry);
+        int aggregates = 8;
+        int eventsPerAggregate = 50;
+        Map<UUID, List<Integer>> sequences = new ConcurrentHashMap<>();
+        List<String> threads = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(aggregates * eventsPerAggregate);
+        publisher.subscribe(handler(NoteCreated.class, e -> {
+            sequences.computeIfAbsent(e.getAggregateId(), id -> Collections.synchronizedList(new ArrayList<>()))
+                    .add(e.sequence);
+            threads.add(Thread.currentThread().getName());
+            done.countDown();
+        }));
+
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < aggregates; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        for (int seq = 0; seq < eventsPerAggregate; seq++) {
+            for (UUID id : ids) {
+                publisher.publish(new NoteCreated(id, seq));
+            }
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        for (UUID id : ids) {
+            List<Integer> seen = sequences.get(id);
+            for (int seq = 0; seq < eventsPerAggregate; seq++) {
+                assertEquals(seq, seen.get(seq), "order for aggregate " + id);
+            }
+        }
+        assertFalse(threads.contains(Thread.currentThread().getName()));
+        assertEquals(4, meterRegistry.get("domain.events.dispatch.queue.depth").gauges().size());
+    }
+
+    @Test
+    @DisplayName("Outbox mode enqueues instead of running handlers")
+    void outboxMode() {
+        List<DomainEvent> enqueued = new ArrayList<>();
+        DomainEventOutbox outbox = enqueued::add;
+        publisher = new EventPublisher(new org.springframework.beans.factory.support.StaticListableBeanFactory(
+                Map.of("outbox", outbox)).getBeanProvider(DomainEventOutbox.class),
+                EventPublisher.DispatchMode.OUTBOX, 1, 1, meterRegistry);
+        List<String> received = new ArrayList<>();
+        publisher.subscribe(handler(NoteCreated.class, e -> received.add("handled")));
+
+        publisher.publish(new NoteCreated(UUID.randomUUID(), 1));
+
+        assertEquals(1, enqueued.size());
+        assertTrue(received.isEmpty());
+    }
+
+    private static <T extends DomainEvent> EventHandler<T> handler(Class<T> type, java.util.function.Consumer<T> body) {
+        return new EventHandler<>() {
+            @Override
+            public void handle(T event) {
+                body.accept(event);
+            }
+
+            @Override
+            public Class<T> getEventType() {
+                return type;
+            }
+        };
+    }
+
+    interface Auditable {
+    }
+
+    static class NoteCreated extends DomainEvent {
+        final int sequence;
+
+        NoteCreated(UUID aggregateId, int sequence) {
+            super(aggregateId, Instant.now());
+            this.sequence = sequence;
+        }
+    }
+
+    static class NoteSealed extends DomainEvent implements Auditable {
+        NoteSealed(UUID aggregateId, int sequence) {
+            super(aggregateId, Instant.now());
+        }
+    }
+}